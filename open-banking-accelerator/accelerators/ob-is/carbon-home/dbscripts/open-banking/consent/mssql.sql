@@ -102,3 +102,18 @@ CREATE TABLE OB_CONSENT_HISTORY (
   EFFECTIVE_TIMESTAMP BIGINT NOT NULL,
   PRIMARY KEY (TABLE_ID,RECORD_ID,HISTORY_ID)
 );
+
+CREATE TABLE OB_CONSENT_EXPIRY_INDEX (
+  CONSENT_ID        VARCHAR(255) NOT NULL,
+  EXPIRY_TIME       BIGINT NOT NULL,
+  PRIMARY KEY(CONSENT_ID),
+  CONSTRAINT FK_OB_CONSENT_EXPIRY_INDEX FOREIGN KEY (CONSENT_ID) REFERENCES OB_CONSENT (CONSENT_ID) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_OB_CONSENT_EXPIRY_TIME ON OB_CONSENT_EXPIRY_INDEX (EXPIRY_TIME);
+
+-- Used in the retention database to track the consents synced by the retention data sync job
+CREATE TABLE OB_RETENTION_SYNC_CHECKPOINT (
+  CONSENT_ID        VARCHAR(255) NOT NULL,
+  PRIMARY KEY(CONSENT_ID)
+);
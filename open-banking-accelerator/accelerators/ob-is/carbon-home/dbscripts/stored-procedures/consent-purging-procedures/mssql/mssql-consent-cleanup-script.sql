@@ -492,6 +492,19 @@ BEGIN
 				END
 
 
+                -- ------------------------------------------------------
+                -- BATCH DELETE OB_CONSENT_EXPIRY_INDEX
+                -- ------------------------------------------------------
+
+				DELETE OB_CONSENT_EXPIRY_INDEX where CONSENT_ID in (select CONSENT_ID from  BATCH_OB_CONSENT);
+				SELECT  @deleteCount= @@rowcount;
+
+				IF (@enableLog = 1)
+				BEGIN
+				SELECT '[' + convert(varchar, getdate(), 121) + '] BATCH DELETE FINISHED ON OB_CONSENT_EXPIRY_INDEX WITH : '+CAST(@deleteCount as varchar);
+				END
+
+
                 -- ------------------------------------------------------
                 -- BATCH DELETE OB_CONSENT
                 -- ------------------------------------------------------
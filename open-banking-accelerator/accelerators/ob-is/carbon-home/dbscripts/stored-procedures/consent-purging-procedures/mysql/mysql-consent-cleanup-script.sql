@@ -432,6 +432,16 @@ BEGIN
                 SELECT 'BATCH DELETE FINISHED FOR OB_CONSENT_AUTH_RESOURCE :' AS 'TRACE LOG',  row_count();
             END IF;
 
+            -- ------------------------------------------------------
+            -- BATCH DELETE OB_CONSENT_EXPIRY_INDEX
+            -- ------------------------------------------------------
+            DELETE A FROM OB_CONSENT_EXPIRY_INDEX AS A INNER JOIN BATCH_OB_CONSENT AS B ON A.CONSENT_ID = B.CONSENT_ID;
+
+            IF (enableLog AND logLevel IN ('TRACE'))
+            THEN
+                SELECT 'BATCH DELETE FINISHED FOR OB_CONSENT_EXPIRY_INDEX :' AS 'TRACE LOG',  row_count();
+            END IF;
+
             -- ------------------------------------------------------
             -- BATCH DELETE OB_CONSENT
             -- ------------------------------------------------------
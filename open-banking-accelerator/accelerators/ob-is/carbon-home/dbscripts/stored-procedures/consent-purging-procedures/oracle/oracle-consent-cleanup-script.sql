@@ -534,6 +534,22 @@ LOOP
               COMMIT;
           END IF;
 
+          -- ------------------------------------------------------
+          -- BATCH DELETE OB_CONSENT_EXPIRY_INDEX
+          -- ------------------------------------------------------
+          IF ((batchCount > 0))
+          THEN
+              EXECUTE IMMEDIATE 'DELETE OB_CONSENT_EXPIRY_INDEX where CONSENT_ID in (select CONSENT_ID from  BATCH_OB_CONSENT)';
+              deleteCount:= sql%rowcount;
+          COMMIT;
+          END IF;
+
+          IF (enableLog)
+          THEN
+              EXECUTE IMMEDIATE 'INSERT INTO LOG_WSO2_OB_CONSENT_CLEANUP_SP (TIMESTAMP,LOG) VALUES (TO_CHAR( SYSTIMESTAMP, ''DD.MM.YYYY HH24:MI:SS:FF4''),''BATCH DELETE FINISHED ON OB_CONSENT_EXPIRY_INDEX WITH : '||deleteCount||''')';
+              COMMIT;
+          END IF;
+
           -- ------------------------------------------------------
           -- BATCH DELETE OB_CONSENT
           -- ------------------------------------------------------
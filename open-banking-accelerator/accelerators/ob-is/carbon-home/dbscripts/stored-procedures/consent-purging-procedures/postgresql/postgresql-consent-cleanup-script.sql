@@ -495,6 +495,17 @@ LOOP
         RAISE NOTICE 'BATCH DELETE FINISHED ON ob_consent_auth_resource WITH : %',deleteCount;
         END IF;
 
+        -- ------------------------------------------------------
+        -- BATCH DELETE OB_CONSENT_EXPIRY_INDEX
+        -- ------------------------------------------------------
+        DELETE FROM ob_consent_expiry_index where CONSENT_ID in (select CONSENT_ID from batch_ob_consent);
+        GET diagnostics deleteCount := ROW_COUNT;
+		COMMIT;
+
+        IF (enableLog AND logLevel IN ('DEBUG','TRACE')) THEN
+        RAISE NOTICE 'BATCH DELETE FINISHED ON ob_consent_expiry_index WITH : %',deleteCount;
+        END IF;
+
         -- ------------------------------------------------------
         -- BATCH DELETE OB_CONSENT
         -- ------------------------------------------------------
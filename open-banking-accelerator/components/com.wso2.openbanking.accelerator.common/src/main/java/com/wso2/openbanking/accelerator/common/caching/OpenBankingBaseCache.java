@@ -18,6 +18,9 @@
 
 package com.wso2.openbanking.accelerator.common.caching;
 
+import com.wso2.openbanking.accelerator.common.caching.metrics.OpenBankingCacheMetrics;
+import com.wso2.openbanking.accelerator.common.caching.metrics.OpenBankingCacheMetricsRegistry;
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -29,10 +32,19 @@ import javax.cache.CacheBuilder;
 import javax.cache.CacheConfiguration;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import javax.cache.Status;
 
 /**
  * Abstract cache manager for Open Banking.
  *
+ * Entries are served from a bounded in-process near cache first and from the Carbon cache next. Loads of a missing
+ * key through {@link #getFromCacheOrRetrieve} are collapsed so that concurrent callers share a single retrieval.
+ * Hits, misses, loads and near cache evictions are recorded in {@link OpenBankingCacheMetrics}.
+ *
+ * The near cache is not invalidated across the cluster. An entry removed on one node can still be served by the
+ * other nodes until their near cache entry expires, which is after Common.Cache.NearCache.ExpiryInSeconds (30
+ * seconds by default) or the expiry of the cache, whichever is shorter.
+ *
  * @param <K>
  * @param <V>
  */
@@ -40,6 +52,9 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
 
     private static final String BASE_CACHE_KEY = "OB_BASE_CACHE";
     private final String cacheName;
+    private volatile Cache<K, V> baseCache;
+    private volatile OpenBankingNearCache<K, V> nearCache;
+    private final OpenBankingCacheMetrics metrics;
 
     private static final Log log = LogFactory.getLog(OpenBankingBaseCache.class);
 
@@ -59,6 +74,7 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
     public OpenBankingBaseCache(String cacheName) {
 
         this.cacheName = cacheName;
+        this.metrics = OpenBankingCacheMetricsRegistry.getInstance().register(cacheName);
 
         if (log.isDebugEnabled()) {
             log.debug(String.format("Base Cache initialized for %s", cacheName.replaceAll("[\r\n]", "")));
@@ -75,23 +91,27 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
      */
     public V getFromCacheOrRetrieve(K key, OnDemandRetriever onDemandRetriever) throws OpenBankingException {
 
-        Cache<K, V> cache = getBaseCache();
+        V cachedValue = getFromCache(key);
+        if (cachedValue != null) {
+            return cachedValue;
+        }
 
-        if (cache.containsKey(key)) {
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Cache Entry `%s` not available in cache %s",
+                    key.toString().replaceAll("[\r\n]", ""), cacheName.replaceAll("[\r\n]", "")));
+        }
 
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Found cache entry `%s` in cache %s",
-                        key.toString().replaceAll("[\r\n]", ""), cacheName.replaceAll("[\r\n]", "")));
-            }
-            return cache.get(key);
-        } else {
+        return getNearCache().getOrLoad(key, () -> {
 
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Cache Entry `%s` not available in cache %s",
-                        key.toString().replaceAll("[\r\n]", ""), cacheName.replaceAll("[\r\n]", "")));
+            long loadStartTime = System.nanoTime();
+            V value;
+            try {
+                value = (V) onDemandRetriever.get();
+            } catch (OpenBankingException | RuntimeException e) {
+                metrics.recordLoad(System.nanoTime() - loadStartTime, false);
+                throw e;
             }
-
-            V value = (V) onDemandRetriever.get();
+            metrics.recordLoad(System.nanoTime() - loadStartTime, true);
 
             if (log.isDebugEnabled()) {
                 log.debug(String.format("On demand retrieved `%s` for %s",
@@ -101,8 +121,7 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
             removeFromCache(key);
             addToCache(key, value);
             return value;
-        }
-
+        });
     }
 
     /**
@@ -113,20 +132,26 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
      */
     public V getFromCache(K key) {
 
-        Cache<K, V> cache = getBaseCache();
-
-        if (cache.containsKey(key)) {
+        V value = getNearCache().get(key);
 
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Found cache entry `%s` in cache %s",
-                        key.toString().replaceAll("[\r\n]", ""), cacheName.replaceAll("[\r\n]", "")));
+        if (value == null) {
+            value = getBaseCache().get(key);
+            if (value != null) {
+                getNearCache().put(key, value);
             }
-            return cache.get(key);
-        } else {
+        }
 
+        if (value == null) {
+            metrics.recordMiss();
             return null;
         }
 
+        metrics.recordHit();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Found cache entry `%s` in cache %s",
+                    key.toString().replaceAll("[\r\n]", ""), cacheName.replaceAll("[\r\n]", "")));
+        }
+        return value;
     }
 
     /**
@@ -144,6 +169,7 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
 
         Cache<K, V> cache = getBaseCache();
         cache.put(key, value);
+        getNearCache().put(key, value);
     }
 
     /**
@@ -158,17 +184,40 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
                     cacheName.replaceAll("[\r\n]", "")));
         }
 
+        getNearCache().invalidate(key);
         Cache<K, V> cache = getBaseCache();
         cache.remove(key);
     }
 
     /**
-     * Get Cache for instance.
+     * Get Cache for instance. The resolved cache is reused until Carbon stops it.
      *
      * @return
      */
     private Cache<K, V> getBaseCache() {
 
+        Cache<K, V> cache = baseCache;
+        if (cache != null && Status.STARTED == cache.getStatus()) {
+            return cache;
+        }
+
+        synchronized (this) {
+            cache = baseCache;
+            if (cache == null || Status.STARTED != cache.getStatus()) {
+                cache = resolveBaseCache();
+                baseCache = cache;
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Look up the cache from the OB base cache manager or build it if it is not available.
+     *
+     * @return
+     */
+    private Cache<K, V> resolveBaseCache() {
+
         CacheManager cacheManager = Caching.getCacheManager(BASE_CACHE_KEY);
 
         Iterable<Cache<?, ?>> availableCaches = cacheManager.getCaches();
@@ -194,6 +243,59 @@ public abstract class OpenBankingBaseCache<K extends OpenBankingBaseCacheKey, V>
 
     }
 
+    /**
+     * Get the near cache for instance. Entries never outlive the near cache expiry or the expiry configured for the
+     * Carbon cache.
+     *
+     * @return near cache.
+     */
+    private OpenBankingNearCache<K, V> getNearCache() {
+
+        OpenBankingNearCache<K, V> cache = nearCache;
+        if (cache != null) {
+            return cache;
+        }
+
+        synchronized (this) {
+            if (nearCache == null) {
+                OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
+                long maximumWeight = configParser.isNearCacheEnabled() ? configParser.getNearCacheMaximumWeight() : 0;
+                long expirySeconds = TimeUnit.MINUTES.toSeconds(
+                        Math.min(getCacheAccessExpiryMinutes(), getCacheModifiedExpiryMinutes()));
+                if (configParser.getNearCacheExpiryInSeconds() > 0) {
+                    expirySeconds = Math.min(expirySeconds, configParser.getNearCacheExpiryInSeconds());
+                }
+                OpenBankingNearCache<K, V> newNearCache = new OpenBankingNearCache<>(maximumWeight, expirySeconds,
+                        TimeUnit.SECONDS, this::getNearCacheEntryWeight, metrics::recordEvictions);
+                metrics.setSizeSupplier(newNearCache::size);
+                nearCache = newNearCache;
+            }
+            return nearCache;
+        }
+    }
+
+    /**
+     * Get the metrics of the cache. The size reported is the number of entries held in the near cache.
+     *
+     * @return cache metrics.
+     */
+    public OpenBankingCacheMetrics getCacheMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * Get the weight of an entry in the near cache. Caches holding large values can override this to bound the near
+     * cache by an estimate of the value size instead of the entry count.
+     *
+     * @param key   cache key.
+     * @param value cached value.
+     * @return weight of the entry.
+     */
+    protected long getNearCacheEntryWeight(K key, V value) {
+
+        return 1;
+    }
 
     /**
      * Get Cache expiry time upon access in minutes.
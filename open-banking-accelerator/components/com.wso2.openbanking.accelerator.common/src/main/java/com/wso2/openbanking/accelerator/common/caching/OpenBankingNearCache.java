@@ -0,0 +1,345 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.caching;
+
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Bounded in-process cache placed in front of the Carbon cache used by {@link OpenBankingBaseCache}.
+ *
+ * Entries are kept in lock-striped, access ordered segments and are evicted in least recently used order once the
+ * total weight of a segment exceeds its share of the maximum weight. Entries expire a fixed time after they were
+ * written. Concurrent loads of the same key are collapsed into a single load through {@link #getOrLoad}.
+ *
+ * @param <K> Key of the cache.
+ * @param <V> Value of the cache.
+ */
+public class OpenBankingNearCache<K, V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment<K, V>[] segments;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlightLoads = new ConcurrentHashMap<>();
+    private final ToLongBiFunction<K, V> weigher;
+    private final LongConsumer evictionListener;
+    private final long maximumSegmentWeight;
+    private final long expiryNanos;
+    private final boolean enabled;
+
+    /**
+     * Loader used to retrieve a value when it is not available in the cache.
+     *
+     * @param <V> Value of the cache.
+     */
+    public interface Loader<V> {
+
+        V load() throws OpenBankingException;
+    }
+
+    /**
+     * Initialize the near cache.
+     *
+     * @param maximumWeight maximum total weight of the cached entries. A value less than 1 disables storing entries,
+     *                      while concurrent loads are still collapsed.
+     * @param expiry        time an entry is kept after it is written.
+     * @param unit          time unit of the expiry.
+     * @param weigher       function to calculate the weight of an entry.
+     */
+    public OpenBankingNearCache(long maximumWeight, long expiry, TimeUnit unit, ToLongBiFunction<K, V> weigher) {
+
+        this(maximumWeight, expiry, unit, weigher, evictedCount -> { });
+    }
+
+    /**
+     * Initialize the near cache.
+     *
+     * @param maximumWeight    maximum total weight of the cached entries. A value less than 1 disables storing
+     *                         entries, while concurrent loads are still collapsed.
+     * @param expiry           time an entry is kept after it is written.
+     * @param unit             time unit of the expiry.
+     * @param weigher          function to calculate the weight of an entry.
+     * @param evictionListener listener notified with the number of entries removed due to size or expiry.
+     */
+    @SuppressWarnings("unchecked")
+    public OpenBankingNearCache(long maximumWeight, long expiry, TimeUnit unit, ToLongBiFunction<K, V> weigher,
+                                LongConsumer evictionListener) {
+
+        this.enabled = maximumWeight > 0 && expiry > 0;
+        this.maximumSegmentWeight = Math.max(1, maximumWeight / SEGMENT_COUNT);
+        this.expiryNanos = unit.toNanos(expiry);
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * Get a value from the near cache.
+     *
+     * @param key cache key.
+     * @return cached value or null if the entry is not available or has expired.
+     */
+    public V get(K key) {
+
+        if (!enabled) {
+            return null;
+        }
+        return segmentFor(key).get(key, System.nanoTime(), evictionListener);
+    }
+
+    /**
+     * Add a value to the near cache. Null values and entries heavier than the segment capacity are not stored.
+     *
+     * @param key   cache key.
+     * @param value value to be cached.
+     */
+    public void put(K key, V value) {
+
+        if (!enabled) {
+            return;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        if (value == null) {
+            segment.remove(key);
+            return;
+        }
+        long weight = weigher.applyAsLong(key, value);
+        if (weight > maximumSegmentWeight) {
+            segment.remove(key);
+            return;
+        }
+        int evictedCount = segment.put(key, new Entry<>(value, weight, System.nanoTime() + expiryNanos),
+                maximumSegmentWeight);
+        if (evictedCount > 0) {
+            evictionListener.accept(evictedCount);
+        }
+    }
+
+    /**
+     * Remove a value from the near cache.
+     *
+     * @param key cache key.
+     */
+    public void invalidate(K key) {
+
+        if (enabled) {
+            segmentFor(key).remove(key);
+        }
+    }
+
+    /**
+     * Remove all values from the near cache.
+     */
+    public void invalidateAll() {
+
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Get the value from the near cache or load it. When several threads miss the same key at the same time only one
+     * of them invokes the loader and the others wait for its result.
+     *
+     * @param key    cache key.
+     * @param loader loader to invoke when the value is not cached. The loader is responsible for storing the value.
+     * @return cached or loaded value.
+     * @throws OpenBankingException if the loader fails.
+     */
+    public V getOrLoad(K key, Loader<V> loader) throws OpenBankingException {
+
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlightLoad = inFlightLoads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            return awaitLoad(inFlightLoad);
+        }
+
+        try {
+            // Another thread may have completed a load between the cache miss and the claim.
+            value = get(key);
+            if (value == null) {
+                value = loader.load();
+            }
+            load.complete(value);
+            return value;
+        } catch (OpenBankingException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, load);
+        }
+    }
+
+    /**
+     * Get the number of entries in the near cache.
+     *
+     * @return number of entries.
+     */
+    public int size() {
+
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Get the total weight of the entries in the near cache.
+     *
+     * @return total weight.
+     */
+    public long weight() {
+
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    private V awaitLoad(CompletableFuture<V> inFlightLoad) throws OpenBankingException {
+
+        try {
+            return inFlightLoad.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenBankingException("Interrupted while waiting for the cache entry to be loaded", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof OpenBankingException) {
+                throw (OpenBankingException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OpenBankingException("Unable to load the cache entry", cause);
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Access ordered partition of the near cache guarded by its own lock.
+     */
+    private static final class Segment<K, V> {
+
+        private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        synchronized V get(K key, long now, LongConsumer evictionListener) {
+
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - now <= 0) {
+                entries.remove(key);
+                weight -= entry.weight;
+                evictionListener.accept(1);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized int put(K key, Entry<V> entry, long maximumWeight) {
+
+            Entry<V> previous = entries.put(key, entry);
+            weight += entry.weight;
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+
+            int evictedCount = 0;
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (weight > maximumWeight && iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> eldest = iterator.next();
+                if (eldest.getValue() == entry) {
+                    continue;
+                }
+                weight -= eldest.getValue().weight;
+                iterator.remove();
+                evictedCount++;
+            }
+            return evictedCount;
+        }
+
+        synchronized void remove(K key) {
+
+            Entry<V> previous = entries.remove(key);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+        }
+
+        synchronized void clear() {
+
+            entries.clear();
+            weight = 0;
+        }
+
+        synchronized int size() {
+
+            return entries.size();
+        }
+
+        synchronized long weight() {
+
+            return weight;
+        }
+    }
+
+    /**
+     * Near cache entry.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long weight;
+        private final long expiresAt;
+
+        Entry(V value, long weight, long expiresAt) {
+
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
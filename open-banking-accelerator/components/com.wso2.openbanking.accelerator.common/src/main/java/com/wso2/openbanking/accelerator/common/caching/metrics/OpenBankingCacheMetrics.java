@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.caching.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Hit, miss, load and eviction counters of an open banking cache.
+ */
+public class OpenBankingCacheMetrics implements OpenBankingCacheMetricsMXBean {
+
+    private static final long[] LOAD_TIME_BUCKET_BOUNDS_MILLIS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final String cacheName;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder[] loadTimeHistogram = new LongAdder[LOAD_TIME_BUCKET_BOUNDS_MILLIS.length + 1];
+    private volatile LongSupplier sizeSupplier = () -> 0;
+
+    public OpenBankingCacheMetrics(String cacheName) {
+
+        this.cacheName = cacheName;
+        for (int i = 0; i < loadTimeHistogram.length; i++) {
+            loadTimeHistogram[i] = new LongAdder();
+        }
+    }
+
+    public void recordHit() {
+
+        hitCount.increment();
+    }
+
+    public void recordMiss() {
+
+        missCount.increment();
+    }
+
+    /**
+     * Record a completed load.
+     *
+     * @param loadTimeNanos time taken for the load in nanoseconds.
+     * @param successful    whether the load returned a value.
+     */
+    public void recordLoad(long loadTimeNanos, boolean successful) {
+
+        if (successful) {
+            loadCount.increment();
+        } else {
+            loadFailureCount.increment();
+        }
+        totalLoadTimeNanos.add(loadTimeNanos);
+
+        long loadTimeMillis = TimeUnit.NANOSECONDS.toMillis(loadTimeNanos);
+        int bucket = 0;
+        while (bucket < LOAD_TIME_BUCKET_BOUNDS_MILLIS.length &&
+                loadTimeMillis > LOAD_TIME_BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        loadTimeHistogram[bucket].increment();
+    }
+
+    public void recordEvictions(long count) {
+
+        evictionCount.add(count);
+    }
+
+    /**
+     * Set the supplier used to read the current number of entries of the cache.
+     *
+     * @param sizeSupplier size supplier.
+     */
+    public void setSizeSupplier(LongSupplier sizeSupplier) {
+
+        this.sizeSupplier = sizeSupplier;
+    }
+
+    @Override
+    public String getCacheName() {
+
+        return cacheName;
+    }
+
+    @Override
+    public long getHitCount() {
+
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+
+        return missCount.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public long getLoadCount() {
+
+        return loadCount.sum();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+
+        return loadFailureCount.sum();
+    }
+
+    @Override
+    public double getAverageLoadTimeMillis() {
+
+        long loads = getLoadCount() + getLoadFailureCount();
+        return loads == 0 ? 0 : (double) totalLoadTimeNanos.sum() / loads / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public Map<String, Long> getLoadTimeHistogram() {
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < LOAD_TIME_BUCKET_BOUNDS_MILLIS.length; i++) {
+            histogram.put("<=" + LOAD_TIME_BUCKET_BOUNDS_MILLIS[i] + "ms", loadTimeHistogram[i].sum());
+        }
+        histogram.put(">" + LOAD_TIME_BUCKET_BOUNDS_MILLIS[LOAD_TIME_BUCKET_BOUNDS_MILLIS.length - 1] + "ms",
+                loadTimeHistogram[LOAD_TIME_BUCKET_BOUNDS_MILLIS.length].sum());
+        return histogram;
+    }
+
+    @Override
+    public long getEvictionCount() {
+
+        return evictionCount.sum();
+    }
+
+    @Override
+    public long getSize() {
+
+        return sizeSupplier.getAsLong();
+    }
+
+    @Override
+    public void reset() {
+
+        hitCount.reset();
+        missCount.reset();
+        loadCount.reset();
+        loadFailureCount.reset();
+        totalLoadTimeNanos.reset();
+        evictionCount.reset();
+        for (LongAdder bucket : loadTimeHistogram) {
+            bucket.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("cache=%s, size=%d, hits=%d, misses=%d, hitRatio=%.3f, loads=%d, loadFailures=%d, " +
+                        "averageLoadTimeMillis=%.3f, loadTimeHistogram=%s, evictions=%d", cacheName, getSize(),
+                getHitCount(), getMissCount(), getHitRatio(), getLoadCount(), getLoadFailureCount(),
+                getAverageLoadTimeMillis(), getLoadTimeHistogram(), getEvictionCount());
+    }
+}
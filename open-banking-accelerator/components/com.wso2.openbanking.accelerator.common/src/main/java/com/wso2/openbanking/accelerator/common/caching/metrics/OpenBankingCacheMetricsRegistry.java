@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.caching.metrics;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry holding the metrics of the open banking caches.
+ * Metrics are registered as MBeans and can be written to the log periodically, based on the configuration.
+ */
+public class OpenBankingCacheMetricsRegistry implements OpenBankingCacheMetricsService {
+
+    private static final Log log = LogFactory.getLog(OpenBankingCacheMetricsRegistry.class);
+    private static final String MBEAN_NAME_FORMAT = "com.wso2.openbanking:type=Cache,name=%s";
+    private static volatile OpenBankingCacheMetricsRegistry instance;
+
+    private final Map<String, OpenBankingCacheMetrics> cacheMetrics = new ConcurrentHashMap<>();
+    private final boolean jmxEnabled;
+
+    private OpenBankingCacheMetricsRegistry() {
+
+        OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
+        this.jmxEnabled = configParser.isCacheMetricsJmxEnabled();
+
+        int logIntervalMinutes = configParser.getCacheMetricsLogIntervalInMinutes();
+        if (logIntervalMinutes > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ob-cache-metrics-logger");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::logCacheMetrics, logIntervalMinutes, logIntervalMinutes,
+                    TimeUnit.MINUTES);
+        }
+    }
+
+    public static OpenBankingCacheMetricsRegistry getInstance() {
+
+        if (instance == null) {
+            synchronized (OpenBankingCacheMetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new OpenBankingCacheMetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the metrics of a cache, registering them on first use. Cache instances sharing a name share the metrics.
+     *
+     * @param cacheName name of the cache.
+     * @return cache metrics.
+     */
+    public OpenBankingCacheMetrics register(String cacheName) {
+
+        return cacheMetrics.computeIfAbsent(cacheName, name -> {
+            OpenBankingCacheMetrics metrics = new OpenBankingCacheMetrics(name);
+            if (jmxEnabled) {
+                registerMBean(metrics);
+            }
+            return metrics;
+        });
+    }
+
+    @Override
+    public Map<String, OpenBankingCacheMetrics> getCacheMetrics() {
+
+        return Collections.unmodifiableMap(cacheMetrics);
+    }
+
+    @Override
+    public OpenBankingCacheMetrics getCacheMetrics(String cacheName) {
+
+        return cacheMetrics.get(cacheName);
+    }
+
+    @Override
+    public void logCacheMetrics() {
+
+        for (OpenBankingCacheMetrics metrics : cacheMetrics.values()) {
+            try {
+                log.info("Open banking cache metrics: " + metrics.toString().replaceAll("[\r\n]", ""));
+            } catch (RuntimeException e) {
+                // Reading the size of a distributed cache can fail while the cluster is unavailable.
+                log.warn("Unable to read the metrics of cache " +
+                        metrics.getCacheName().replaceAll("[\r\n]", ""), e);
+            }
+        }
+    }
+
+    private void registerMBean(OpenBankingCacheMetrics metrics) {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(String.format(MBEAN_NAME_FORMAT,
+                    ObjectName.quote(metrics.getCacheName())));
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(metrics, objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Unable to register the metrics MBean of cache " +
+                    metrics.getCacheName().replaceAll("[\r\n]", ""), e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.caching.metrics;
+
+import java.util.Map;
+
+/**
+ * Interface to expose the metrics of the open banking caches as an OSGi Service.
+ */
+public interface OpenBankingCacheMetricsService {
+
+    /**
+     * Get the metrics of all the registered caches.
+     *
+     * @return map of cache name to cache metrics.
+     */
+    Map<String, OpenBankingCacheMetrics> getCacheMetrics();
+
+    /**
+     * Get the metrics of a cache.
+     *
+     * @param cacheName name of the cache.
+     * @return cache metrics or null if the cache is not registered.
+     */
+    OpenBankingCacheMetrics getCacheMetrics(String cacheName);
+
+    /**
+     * Write the metrics of all the registered caches to the log.
+     */
+    void logCacheMetrics();
+}
@@ -840,6 +840,63 @@ public class OpenBankingConfigParser {
                 ((String) getConfigElementFromKey(OpenBankingConstants.CONSENT_RETENTION_DATA_DB_SYNC_CRON)).trim();
     }
 
+    /**
+     * Method to determine whether the retention data is synced to the retention database in chunks of consents.
+     * @return true if chunked sync is enabled
+     */
+    public boolean isRetentionDataChunkedSyncEnabled() {
+
+        return getConfigElementFromKey(OpenBankingConstants.IS_CONSENT_RETENTION_DATA_CHUNKED_SYNC_ENABLED) == null ?
+                false : Boolean.parseBoolean(getConfigElementFromKey(
+                        OpenBankingConstants.IS_CONSENT_RETENTION_DATA_CHUNKED_SYNC_ENABLED).toString().trim());
+    }
+
+    /**
+     * Method to get the number of consents synced to the retention database in a single transaction.
+     * @return chunk size, default value is 500
+     */
+    public int getRetentionDataSyncChunkSize() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_RETENTION_DATA_SYNC_CHUNK_SIZE) == null ? 500 :
+                Integer.parseInt(getConfigElementFromKey(
+                        OpenBankingConstants.CONSENT_RETENTION_DATA_SYNC_CHUNK_SIZE).toString().trim());
+    }
+
+    /**
+     * Method to get the number of consents read in a single page when streaming consent search results.
+     * @return fetch size, default value is 100
+     */
+    public int getConsentSearchFetchSize() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_SEARCH_FETCH_SIZE) == null ? 100 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.CONSENT_SEARCH_FETCH_SIZE)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to get the time the total count of a consent search is cached for, to be reused while paging through
+     * the search results.
+     * @return expiry time in seconds, default value is 30. The total count is not cached if the value is 0
+     */
+    public int getConsentSearchTotalCountCacheExpiry() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_SEARCH_TOTAL_COUNT_CACHE_EXPIRY) == null ? 30 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.CONSENT_SEARCH_TOTAL_COUNT_CACHE_EXPIRY)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to check whether the detailed consents of a consent search are read with a query per table for the
+     * matching consent IDs, instead of a single query joining all the consent tables.
+     * @return true if batched retrieval is enabled, default value is false
+     */
+    public boolean isConsentSearchBatchedRetrievalEnabled() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_SEARCH_BATCHED_RETRIEVAL) == null ? false :
+                (Boolean.parseBoolean(getConfigElementFromKey(
+                        OpenBankingConstants.CONSENT_SEARCH_BATCHED_RETRIEVAL).toString().trim()));
+    }
+
     /**
      * Truststore dynamic loading interval.
      *
@@ -954,6 +1011,84 @@ public class OpenBankingConfigParser {
                         OpenBankingConstants.IS_CONSENT_PERIODICAL_EXPIRATION_ENABLED).toString().trim()));
     }
 
+    /**
+     * Method to get isEnabled config for the bulk update mode of the periodical consent expiration job.
+     * @return bulk consent expiration is enabled
+     */
+    public boolean isConsentBulkExpirationEnabled() {
+
+        return getConfigElementFromKey(OpenBankingConstants.IS_CONSENT_BULK_EXPIRATION_ENABLED) == null ? false :
+                Boolean.parseBoolean(getConfigElementFromKey(
+                        OpenBankingConstants.IS_CONSENT_BULK_EXPIRATION_ENABLED).toString().trim());
+    }
+
+    /**
+     * Method to get the number of expired consents updated in a single transaction by the bulk expiration job.
+     * @return chunk size, default value is 500
+     */
+    public int getConsentBulkExpirationChunkSize() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_BULK_EXPIRATION_CHUNK_SIZE) == null ? 500 :
+                Integer.parseInt(getConfigElementFromKey(
+                        OpenBankingConstants.CONSENT_BULK_EXPIRATION_CHUNK_SIZE).toString().trim());
+    }
+
+    /**
+     * Method to get the number of chunks updated in parallel by the bulk expiration job.
+     * @return parallelism, default value is 4
+     */
+    public int getConsentBulkExpirationParallelism() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_BULK_EXPIRATION_PARALLELISM) == null ? 4 :
+                Integer.parseInt(getConfigElementFromKey(
+                        OpenBankingConstants.CONSENT_BULK_EXPIRATION_PARALLELISM).toString().trim());
+    }
+
+    /**
+     * Method to get isEnabled config for the consent expiry index. When enabled, consent expiry times are indexed
+     * and consents are expired by a timing wheel close to their expiry time.
+     * @return consent expiry index is enabled
+     */
+    public boolean isConsentExpiryIndexEnabled() {
+
+        return getConfigElementFromKey(OpenBankingConstants.IS_CONSENT_EXPIRY_INDEX_ENABLED) == null ? false :
+                Boolean.parseBoolean(getConfigElementFromKey(
+                        OpenBankingConstants.IS_CONSENT_EXPIRY_INDEX_ENABLED).toString().trim());
+    }
+
+    /**
+     * Method to get the interval in seconds in which the due consent expiry index entries are loaded.
+     * @return load interval, default value is 10
+     */
+    public int getConsentExpiryIndexLoadInterval() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_EXPIRY_INDEX_LOAD_INTERVAL) == null ? 10 :
+                Integer.parseInt(getConfigElementFromKey(
+                        OpenBankingConstants.CONSENT_EXPIRY_INDEX_LOAD_INTERVAL).toString().trim());
+    }
+
+    /**
+     * Method to get the maximum number of consent expiry index entries loaded at once.
+     * @return load limit, default value is 10000
+     */
+    public int getConsentExpiryIndexLoadLimit() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONSENT_EXPIRY_INDEX_LOAD_LIMIT) == null ? 10000 :
+                Integer.parseInt(getConfigElementFromKey(
+                        OpenBankingConstants.CONSENT_EXPIRY_INDEX_LOAD_LIMIT).toString().trim());
+    }
+
+    /**
+     * Method to get whether the consent expiry index should be rebuilt from the consent attributes on startup.
+     * @return rebuild on startup is enabled
+     */
+    public boolean isConsentExpiryIndexRebuildOnStartupEnabled() {
+
+        return getConfigElementFromKey(OpenBankingConstants.IS_CONSENT_EXPIRY_INDEX_REBUILD_ON_STARTUP) == null ?
+                false : Boolean.parseBoolean(getConfigElementFromKey(
+                        OpenBankingConstants.IS_CONSENT_EXPIRY_INDEX_REBUILD_ON_STARTUP).toString().trim());
+    }
+
     public boolean isConsentAmendmentHistoryEnabled() {
 
         return getConfigElementFromKey(OpenBankingConstants.IS_CONSENT_AMENDMENT_HISTORY_ENABLED) == null ? false :
@@ -1007,6 +1142,31 @@ public class OpenBankingConfigParser {
         }
     }
 
+    /**
+     * ConnectionPool idle connection timeout in seconds. Pooled connections idle for longer are evicted.
+     *
+     * @return idle connection timeout, default value is 30
+     */
+    public int getConnectionPoolIdleConnectionTimeout() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONNECTION_POOL_IDLE_CONNECTION_TIMEOUT) == null ? 30 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.CONNECTION_POOL_IDLE_CONNECTION_TIMEOUT)
+                        .toString().trim());
+    }
+
+    /**
+     * ConnectionPool eviction interval in seconds. Idle connections are evicted and the trust store is checked
+     * for changes in each interval.
+     *
+     * @return eviction interval, default value is 5
+     */
+    public int getConnectionPoolEvictionInterval() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CONNECTION_POOL_EVICTION_INTERVAL) == null ? 5 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.CONNECTION_POOL_EVICTION_INTERVAL)
+                        .toString().trim());
+    }
+
     private void buildServiceActivatorSubscribers() {
         OMElement serviceActivatorElement = rootElement.getFirstChildWithName(
                 new QName(OpenBankingConstants.OB_CONFIG_QNAME, OpenBankingConstants.SERVICE_ACTIVATOR_TAG));
@@ -1095,6 +1255,126 @@ public class OpenBankingConfigParser {
                 ((String) getConfigElementFromKey(OpenBankingConstants.COMMON_IDENTITY_CACHE_ACCESS_EXPIRY)).trim();
     }
 
+    /**
+     * Method to determine whether the in-process near cache of the open banking caches is enabled.
+     *
+     * @return boolean value indicating the state
+     */
+    public boolean isNearCacheEnabled() {
+
+        return getConfigElementFromKey(OpenBankingConstants.NEAR_CACHE_ENABLED) == null ||
+                Boolean.parseBoolean(getConfigElementFromKey(OpenBankingConstants.NEAR_CACHE_ENABLED)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to get the maximum weight of the near cache of each open banking cache.
+     * Every entry weighs 1 unless the cache defines its own weight, hence this is the entry count by default.
+     *
+     * @return maximum weight of a near cache
+     */
+    public long getNearCacheMaximumWeight() {
+
+        return getConfigElementFromKey(OpenBankingConstants.NEAR_CACHE_MAXIMUM_WEIGHT) == null ? 10000 :
+                Long.parseLong(getConfigElementFromKey(OpenBankingConstants.NEAR_CACHE_MAXIMUM_WEIGHT)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to get the time a near cache entry is kept after it is written, which bounds how long an entry removed
+     * on another node can still be served. The expiry is capped to the expiry of the cache itself. Zero means the
+     * expiry of the cache is used.
+     *
+     * @return near cache expiry in seconds, 30 by default
+     */
+    public int getNearCacheExpiryInSeconds() {
+
+        return getConfigElementFromKey(OpenBankingConstants.NEAR_CACHE_EXPIRY_IN_SECONDS) == null ? 30 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.NEAR_CACHE_EXPIRY_IN_SECONDS)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to determine whether the open banking cache metrics should be registered as MBeans.
+     *
+     * @return boolean value indicating the state
+     */
+    public boolean isCacheMetricsJmxEnabled() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CACHE_METRICS_JMX_ENABLED) == null ||
+                Boolean.parseBoolean(getConfigElementFromKey(OpenBankingConstants.CACHE_METRICS_JMX_ENABLED)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to get the interval in which the open banking cache metrics are written to the log.
+     *
+     * @return interval in minutes, zero if the metrics should not be logged
+     */
+    public int getCacheMetricsLogIntervalInMinutes() {
+
+        return getConfigElementFromKey(OpenBankingConstants.CACHE_METRICS_LOG_INTERVAL_IN_MINUTES) == null ? 0 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.CACHE_METRICS_LOG_INTERVAL_IN_MINUTES)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to get the maximum number of events handed to the event executors at once.
+     *
+     * @return event batch size
+     */
+    public int getEventBatchSize() {
+
+        return getConfigElementFromKey(OpenBankingConstants.EVENT_BATCH_SIZE) == null ? 100 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.EVENT_BATCH_SIZE).toString().trim());
+    }
+
+    /**
+     * Method to get the policy applied when the event queue is full.
+     *
+     * @return backpressure policy name, DropNewest by default
+     */
+    public String getEventBackpressurePolicy() {
+
+        return getConfigElementFromKey(OpenBankingConstants.EVENT_BACKPRESSURE_POLICY) == null ? "DropNewest" :
+                getConfigElementFromKey(OpenBankingConstants.EVENT_BACKPRESSURE_POLICY).toString().trim();
+    }
+
+    /**
+     * Method to get the time a publisher waits for room in the event queue under the block policy.
+     *
+     * @return block timeout in milliseconds
+     */
+    public long getEventBlockTimeoutInMillis() {
+
+        return getConfigElementFromKey(OpenBankingConstants.EVENT_BLOCK_TIMEOUT_IN_MILLIS) == null ? 1000 :
+                Long.parseLong(getConfigElementFromKey(OpenBankingConstants.EVENT_BLOCK_TIMEOUT_IN_MILLIS)
+                        .toString().trim());
+    }
+
+    /**
+     * Method to get the directory events are spilled to when the event queue is full.
+     *
+     * @return spill directory path, null if not configured
+     */
+    public String getEventSpillDirectory() {
+
+        return getConfigElementFromKey(OpenBankingConstants.EVENT_SPILL_DIRECTORY) == null ? null :
+                getConfigElementFromKey(OpenBankingConstants.EVENT_SPILL_DIRECTORY).toString().trim();
+    }
+
+    /**
+     * Method to get the size of a segment file of the event overflow journal.
+     *
+     * @return segment size in megabytes
+     */
+    public int getEventSpillSegmentSizeInMB() {
+
+        return getConfigElementFromKey(OpenBankingConstants.EVENT_SPILL_SEGMENT_SIZE_IN_MB) == null ? 16 :
+                Integer.parseInt(getConfigElementFromKey(OpenBankingConstants.EVENT_SPILL_SEGMENT_SIZE_IN_MB)
+                        .toString().trim());
+    }
+
     /**
      * Alias of the signing certificate in Production Environment.
      *
@@ -1374,6 +1654,39 @@ public class OpenBankingConfigParser {
                 OpenBankingConstants.EVENT_NOTIFICATION_THREADPOOL_SIZE).toString().trim()));
     }
 
+    /**
+     * Method to get MAX_CONCURRENT_REQUESTS_PER_HOST config for realtime event notifications.
+     *
+     * @return integer maximum number of notifications sent to a callback host at once
+     */
+    public int getRealtimeEventNotificationMaxConcurrentRequestsPerHost() {
+        return getConfigElementFromKey(OpenBankingConstants.MAX_CONCURRENT_REQUESTS_PER_HOST)
+                == null ? 10 : (Integer.parseInt(getConfigElementFromKey(
+                OpenBankingConstants.MAX_CONCURRENT_REQUESTS_PER_HOST).toString().trim()));
+    }
+
+    /**
+     * Method to get HOST_CIRCUIT_BREAKER_FAILURE_THRESHOLD config for realtime event notifications.
+     *
+     * @return integer number of consecutive failures of a callback host to open its circuit breaker
+     */
+    public int getRealtimeEventNotificationHostCircuitBreakerFailureThreshold() {
+        return getConfigElementFromKey(OpenBankingConstants.HOST_CIRCUIT_BREAKER_FAILURE_THRESHOLD)
+                == null ? 5 : (Integer.parseInt(getConfigElementFromKey(
+                OpenBankingConstants.HOST_CIRCUIT_BREAKER_FAILURE_THRESHOLD).toString().trim()));
+    }
+
+    /**
+     * Method to get HOST_CIRCUIT_BREAKER_OPEN_TIMEOUT_IN_SECONDS config for realtime event notifications.
+     *
+     * @return integer time the circuit breaker of a callback host stays open before a trial request
+     */
+    public int getRealtimeEventNotificationHostCircuitBreakerOpenTimeoutInSeconds() {
+        return getConfigElementFromKey(OpenBankingConstants.HOST_CIRCUIT_BREAKER_OPEN_TIMEOUT_IN_SECONDS)
+                == null ? 60 : (Integer.parseInt(getConfigElementFromKey(
+                OpenBankingConstants.HOST_CIRCUIT_BREAKER_OPEN_TIMEOUT_IN_SECONDS).toString().trim()));
+    }
+
     /**
      * Method to get EVENT_NOTIFICATION_GENERATOR config for event notifications.
      *
@@ -52,6 +52,11 @@ public class OpenBankingConstants {
     public static final String AUTH_SERVLET_EXTENSION = "Identity.AuthenticationWebApp.ServletExtension";
     public static final String COMMON_IDENTITY_CACHE_ACCESS_EXPIRY = "Common.Identity.Cache.CacheAccessExpiry";
     public static final String COMMON_IDENTITY_CACHE_MODIFY_EXPIRY = "Common.Identity.Cache.CacheModifiedExpiry";
+    public static final String NEAR_CACHE_ENABLED = "Common.Cache.NearCache.Enabled";
+    public static final String NEAR_CACHE_MAXIMUM_WEIGHT = "Common.Cache.NearCache.MaximumWeight";
+    public static final String NEAR_CACHE_EXPIRY_IN_SECONDS = "Common.Cache.NearCache.ExpiryInSeconds";
+    public static final String CACHE_METRICS_JMX_ENABLED = "Common.Cache.Metrics.JMXEnabled";
+    public static final String CACHE_METRICS_LOG_INTERVAL_IN_MINUTES = "Common.Cache.Metrics.LogIntervalInMinutes";
     public static final String JWKS_ENDPOINT_NAME = "DCR.JWKSEndpointName";
     public static final String SP_METADATA_FILTER_EXTENSION =
             "Identity.ApplicationInformationEndpoint.SPMetadataFilterExtension";
@@ -99,6 +104,28 @@ public class OpenBankingConstants {
             ".CertificateManagement.CertificateRevocationValidationEnabled";
     public static final String CERTIFICATE_REVOCATION_VALIDATION_EXCLUDED_ISSUERS = "Gateway" +
             ".CertificateManagement.RevocationValidationExcludedIssuers.IssuerDN";
+    public static final String ASYNC_REVOCATION_VALIDATION_ENABLED = "Gateway" +
+            ".CertificateManagement.AsyncRevocationValidation.Enabled";
+    public static final String ASYNC_REVOCATION_VALIDATION_REFRESH_AHEAD_TIME = "Gateway" +
+            ".CertificateManagement.AsyncRevocationValidation.RefreshAheadTime";
+    public static final String ASYNC_REVOCATION_VALIDATION_STALE_GRACE_PERIOD = "Gateway" +
+            ".CertificateManagement.AsyncRevocationValidation.StaleGracePeriod";
+    public static final String ASYNC_REVOCATION_VALIDATION_WORKER_THREAD_COUNT = "Gateway" +
+            ".CertificateManagement.AsyncRevocationValidation.WorkerThreadCount";
+    public static final String CRL_STORE_ENABLED = "Gateway" +
+            ".CertificateManagement.CRLStore.Enabled";
+    public static final String CRL_STORE_LOCATION = "Gateway" +
+            ".CertificateManagement.CRLStore.Location";
+    public static final String CRL_STORE_REFRESH_AHEAD_TIME = "Gateway" +
+            ".CertificateManagement.CRLStore.RefreshAheadTime";
+    public static final String OCSP_PREFETCH_ENABLED = "Gateway" +
+            ".CertificateManagement.OCSPPrefetch.Enabled";
+    public static final String OCSP_PREFETCH_INTERVAL = "Gateway" +
+            ".CertificateManagement.OCSPPrefetch.Interval";
+    public static final String OCSP_PREFETCH_REFRESH_AHEAD_TIME = "Gateway" +
+            ".CertificateManagement.OCSPPrefetch.RefreshAheadTime";
+    public static final String OCSP_PREFETCH_MAX_CERTIFICATES = "Gateway" +
+            ".CertificateManagement.OCSPPrefetch.MaxCertificates";
     public static final String TPP_VALIDATION_SERVICE_IMPL_CLASS = "Gateway" +
             ".TPPManagement.TPPValidation.ServiceImplClass";
     public static final String TPP_VALIDATION_ENABLED = "Gateway" +
@@ -137,6 +164,8 @@ public class OpenBankingConstants {
     public static final String TPP_MANAGEMENT_CONFIG_TAG = "TPPManagement";
     public static final String CONNECTION_POOL_MAX_CONNECTIONS = "HTTPConnectionPool.MaxConnections";
     public static final String CONNECTION_POOL_MAX_CONNECTIONS_PER_ROUTE = "HTTPConnectionPool.MaxConnectionsPerRoute";
+    public static final String CONNECTION_POOL_IDLE_CONNECTION_TIMEOUT = "HTTPConnectionPool.IdleConnectionTimeout";
+    public static final String CONNECTION_POOL_EVICTION_INTERVAL = "HTTPConnectionPool.EvictionInterval";
     public static final String PUSH_AUTH_EXPIRY_TIME = "PushAuthorisation.ExpiryTime";
     public static final String PUSH_AUTH_REQUEST_URI_SUBSTRING = "PushAuthorisation.RequestUriSubString";
 
@@ -146,16 +175,40 @@ public class OpenBankingConstants {
     public static final String IS_CONSENT_AMENDMENT_HISTORY_ENABLED = "Consent.AmendmentHistory.Enabled";
     public static final String ELIGIBLE_STATUSES_FOR_CONSENT_EXPIRY =
             "Consent.PeriodicalExpiration.EligibleStatuses";
+    public static final String IS_CONSENT_BULK_EXPIRATION_ENABLED = "Consent.PeriodicalExpiration.BulkUpdate.Enabled";
+    public static final String CONSENT_BULK_EXPIRATION_CHUNK_SIZE =
+            "Consent.PeriodicalExpiration.BulkUpdate.ChunkSize";
+    public static final String CONSENT_BULK_EXPIRATION_PARALLELISM =
+            "Consent.PeriodicalExpiration.BulkUpdate.Parallelism";
+    public static final String IS_CONSENT_EXPIRY_INDEX_ENABLED = "Consent.PeriodicalExpiration.ExpiryIndex.Enabled";
+    public static final String CONSENT_EXPIRY_INDEX_LOAD_INTERVAL =
+            "Consent.PeriodicalExpiration.ExpiryIndex.LoadInterval";
+    public static final String CONSENT_EXPIRY_INDEX_LOAD_LIMIT = "Consent.PeriodicalExpiration.ExpiryIndex.LoadLimit";
+    public static final String IS_CONSENT_EXPIRY_INDEX_REBUILD_ON_STARTUP =
+            "Consent.PeriodicalExpiration.ExpiryIndex.RebuildOnStartup";
     public static final String CONSENT_ID_CLAIM_NAME = "Identity.ConsentIDClaimName";
 
     public static final String EVENT_QUEUE_SIZE = "Event.QueueSize";
     public static final String EVENT_WORKER_THREAD_COUNT = "Event.WorkerThreadCount";
     public static final String EVENT_EXECUTOR = "Event.EventExecutor";
+    public static final String EVENT_BATCH_SIZE = "Event.BatchSize";
+    public static final String EVENT_BACKPRESSURE_POLICY = "Event.BackpressurePolicy";
+    public static final String EVENT_BLOCK_TIMEOUT_IN_MILLIS = "Event.BlockTimeoutInMillis";
+    public static final String EVENT_SPILL_DIRECTORY = "Event.SpillDirectory";
+    public static final String EVENT_SPILL_SEGMENT_SIZE_IN_MB = "Event.SpillSegmentSizeInMB";
 
     // Data Retention Constants
     public static final String IS_CONSENT_DATA_RETENTION_ENABLED = "Consent.DataRetention.Enabled";
     public static final String IS_CONSENT_RETENTION_DATA_DB_SYNC_ENABLED = "Consent.DataRetention.DBSyncEnabled";
     public static final String CONSENT_RETENTION_DATA_DB_SYNC_CRON = "Consent.DataRetention.CronValue";
+    public static final String IS_CONSENT_RETENTION_DATA_CHUNKED_SYNC_ENABLED =
+            "Consent.DataRetention.ChunkedSync.Enabled";
+    public static final String CONSENT_RETENTION_DATA_SYNC_CHUNK_SIZE = "Consent.DataRetention.ChunkedSync.ChunkSize";
+
+    public static final String CONSENT_SEARCH_FETCH_SIZE = "Consent.Search.FetchSize";
+    public static final String CONSENT_SEARCH_TOTAL_COUNT_CACHE_EXPIRY =
+            "Consent.Search.TotalCountCacheExpiry";
+    public static final String CONSENT_SEARCH_BATCHED_RETRIEVAL = "Consent.Search.BatchedRetrieval";
 
     // Service Activator Constants
     public static final String SERVICE_ACTIVATOR_TAG = "ServiceActivator";
@@ -240,6 +293,12 @@ public class OpenBankingConstants {
             = "RealtimeEventNotification.CircuitBreakerOpenTimeoutInSeconds";
     public static final String EVENT_NOTIFICATION_THREADPOOL_SIZE
             = "RealtimeEventNotification.EventNotificationThreadPoolSize";
+    public static final String MAX_CONCURRENT_REQUESTS_PER_HOST
+            = "RealtimeEventNotification.MaxConcurrentRequestsPerHost";
+    public static final String HOST_CIRCUIT_BREAKER_FAILURE_THRESHOLD
+            = "RealtimeEventNotification.HostCircuitBreaker.FailureThreshold";
+    public static final String HOST_CIRCUIT_BREAKER_OPEN_TIMEOUT_IN_SECONDS
+            = "RealtimeEventNotification.HostCircuitBreaker.OpenTimeoutInSeconds";
     public static final String REALTIME_EVENT_NOTIFICATION_REQUEST_GENERATOR
             = "RealtimeEventNotification.RequestGenerator";
     public static final String CONTENT_TYPE_TAG = "Content-Type";
@@ -18,7 +18,12 @@
 
 package com.wso2.openbanking.accelerator.common.distributed.caching;
 
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.wso2.openbanking.accelerator.common.caching.metrics.OpenBankingCacheMetrics;
+import com.wso2.openbanking.accelerator.common.caching.metrics.OpenBankingCacheMetricsRegistry;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -26,12 +31,15 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract cache manager for Open Banking Distributed cache.
+ * Hits, misses and the evictions of entries owned by this member are recorded in {@link OpenBankingCacheMetrics}.
  *
  * @param <K> Key of the cache.
  * @param <V> Value of the cache.
  */
 public abstract class OpenBankingDistributedCache<K extends OpenBankingDistributedCacheKey, V> {
     private final String cacheName;
+    private final OpenBankingCacheMetrics metrics;
+    private volatile boolean evictionListenerAdded;
 
     private static final Log log = LogFactory.getLog(OpenBankingDistributedCache.class);
 
@@ -43,6 +51,8 @@ public abstract class OpenBankingDistributedCache<K extends OpenBankingDistribut
     public OpenBankingDistributedCache(String cacheName) {
 
         this.cacheName = cacheName;
+        this.metrics = OpenBankingCacheMetricsRegistry.getInstance().register(cacheName);
+        this.metrics.setSizeSupplier(() -> isEnabled() ? getBaseCache().size() : 0);
         if (log.isDebugEnabled()) {
             log.debug(String.format("Distributed Cache initialized for %s.", cacheName.replaceAll("[\r\n]", "")));
         }
@@ -61,12 +71,14 @@ public abstract class OpenBankingDistributedCache<K extends OpenBankingDistribut
             IMap<K, V> cache = getBaseCache();
 
             if (cache.containsKey(key)) {
+                metrics.recordHit();
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("Found cache entry `%s` in cache %s.",
                             key.toString().replaceAll("[\r\n]", ""), cacheName.replaceAll("[\r\n]", "")));
                 }
                 return cache.get(key);
             } else {
+                metrics.recordMiss();
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("Cache entry `%s` is not Found in cache %s.",
                             key.toString().replaceAll("[\r\n]", ""), cacheName.replaceAll("[\r\n]", "")));
@@ -98,6 +110,31 @@ public abstract class OpenBankingDistributedCache<K extends OpenBankingDistribut
         }
     }
 
+    /**
+     * Add Object to cache if the key is not already mapped, as a single atomic operation across the cluster.
+     *
+     * @param key        cache key.
+     * @param value      object to be cached.
+     * @param timeToLive time to live of the entry.
+     * @param timeUnit   time unit of the time to live.
+     * @return the object already mapped to the key, or null if the object is added or the cache is disabled.
+     */
+    public V putIfAbsentToCache(K key, V value, long timeToLive, TimeUnit timeUnit) {
+        if (isEnabled()) {
+            IMap<K, V> cache = getBaseCache();
+            V existingValue = cache.putIfAbsent(key, value, timeToLive, timeUnit);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("`%s` %s cache %s.", key.toString().replaceAll("[\r\n]", ""),
+                        existingValue == null ? "added into" : "already exists in",
+                        cacheName.replaceAll("[\r\n]", "")));
+            }
+            return existingValue;
+        } else {
+            log.debug("Distributed cache is Disabled.");
+            return null;
+        }
+    }
+
     /**
      * Remove from cache.
      *
@@ -116,6 +153,56 @@ public abstract class OpenBankingDistributedCache<K extends OpenBankingDistribut
         }
     }
 
+    /**
+     * Remove from cache if the key is mapped to the given object, as a single atomic operation across the cluster.
+     *
+     * @param key   cache key.
+     * @param value object expected to be mapped to the key.
+     * @return true if the object is removed.
+     */
+    public boolean removeFromCache(K key, V value) {
+        if (isEnabled()) {
+            IMap<K, V> cache = getBaseCache();
+            boolean removed = cache.remove(key, value);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("`%s` %s cache %s.", key.toString().replaceAll("[\r\n]", ""),
+                        removed ? "removed from" : "is not removed from", cacheName.replaceAll("[\r\n]", "")));
+            }
+            return removed;
+        } else {
+            log.debug("Distributed cache is Disabled.");
+            return false;
+        }
+    }
+
+    /**
+     * Replace in cache if the key is mapped to the given object, as a single atomic operation across the cluster.
+     * The new object is cached for the time to live of the cache.
+     *
+     * @param key      cache key.
+     * @param oldValue object expected to be mapped to the key.
+     * @param newValue object to be cached.
+     * @return true if the object is replaced.
+     */
+    public boolean replaceInCache(K key, V oldValue, V newValue) {
+        if (isEnabled()) {
+            IMap<K, V> cache = getBaseCache();
+            boolean replaced = cache.replace(key, oldValue, newValue);
+            if (replaced) {
+                // replace does not take a time to live, hence it is set on the replaced entry
+                cache.setTtl(key, getCacheTimeToLiveMinutes(), TimeUnit.MINUTES);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("`%s` %s cache %s.", key.toString().replaceAll("[\r\n]", ""),
+                        replaced ? "replaced in" : "is not replaced in", cacheName.replaceAll("[\r\n]", "")));
+            }
+            return replaced;
+        } else {
+            log.debug("Distributed cache is Disabled.");
+            return false;
+        }
+    }
+
     /**
      * Method to check if the cache is empty.
      *
@@ -125,13 +212,38 @@ public abstract class OpenBankingDistributedCache<K extends OpenBankingDistribut
         return getBaseCache().isEmpty();
     }
 
+    /**
+     * Get the metrics of the cache. The size reported is the cluster wide number of entries.
+     *
+     * @return cache metrics.
+     */
+    public OpenBankingCacheMetrics getCacheMetrics() {
+        return metrics;
+    }
+
     /**
      * Get the clustered cache.
      *
      * @return cache map.
      */
     private IMap<K, V> getBaseCache() {
-        return OpenBankingDistributedMember.of().getHazelcastInstance().getMap(this.cacheName);
+        IMap<K, V> cache = OpenBankingDistributedMember.of().getHazelcastInstance().getMap(this.cacheName);
+        if (!evictionListenerAdded) {
+            addEvictionListener(cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Add a listener counting the entries of this member removed by eviction or expiry.
+     *
+     * @param cache cache map.
+     */
+    private synchronized void addEvictionListener(IMap<K, V> cache) {
+        if (!evictionListenerAdded) {
+            cache.addLocalEntryListener(new EvictionListener());
+            evictionListenerAdded = true;
+        }
     }
 
     /**
@@ -150,4 +262,19 @@ public abstract class OpenBankingDistributedCache<K extends OpenBankingDistribut
      */
     public abstract int getCacheTimeToLiveMinutes();
 
+    /**
+     * Listener recording evicted and expired entries in the cache metrics.
+     */
+    private class EvictionListener implements EntryEvictedListener<K, V>, EntryExpiredListener<K, V> {
+
+        @Override
+        public void entryEvicted(EntryEvent<K, V> event) {
+            metrics.recordEvictions(1);
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<K, V> event) {
+            metrics.recordEvictions(1);
+        }
+    }
 }
@@ -26,6 +26,9 @@ public class OpenBankingDistributedCacheConstants {
     // Distributed cache cluster name.
     public static final String CLUSTER_NAME = "OB_DISTRIBUTED_CACHE";
 
+    // Topic to notify the cluster members of the consents whose cached validation results are outdated.
+    public static final String CONSENT_INVALIDATION_TOPIC = "OB_CONSENT_INVALIDATION";
+
     // Common constants for both TCP and Multicast.
     public static final String ENABLED = "DistributedCache.Enabled";
     public static final String HOST_NAME = "DistributedCache.HostName";
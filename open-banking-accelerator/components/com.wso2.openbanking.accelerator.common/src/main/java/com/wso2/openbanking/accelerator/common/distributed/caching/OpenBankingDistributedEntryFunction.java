@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.distributed.caching;
+
+import java.io.Serializable;
+
+/**
+ * Function to update an entry of a distributed map. The function is serialized and applied on the cluster member
+ * owning the entry, hence the entry is updated atomically across the cluster.
+ *
+ * @param <V> Value type of the map.
+ */
+public interface OpenBankingDistributedEntryFunction<V> extends Serializable {
+
+    /**
+     * Compute the new value of the entry.
+     *
+     * @param currentValue current value of the entry, null if the entry does not exist.
+     * @param currentTime  current time in milliseconds.
+     * @return the new value, or null to remove the entry.
+     */
+    V apply(V currentValue, long currentTime);
+
+    /**
+     * Get the time the new value of the entry is kept for.
+     *
+     * @param newValue    new value of the entry.
+     * @param currentTime current time in milliseconds.
+     * @return time to live in milliseconds, 0 to keep the entry without expiry.
+     */
+    long getTimeToLive(V newValue, long currentTime);
+}
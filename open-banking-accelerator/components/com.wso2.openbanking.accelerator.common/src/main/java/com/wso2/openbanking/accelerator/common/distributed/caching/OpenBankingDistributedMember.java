@@ -25,6 +25,9 @@ import com.hazelcast.config.NetworkConfig;
 import com.hazelcast.config.TcpIpConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.topic.ITopic;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.util.SecurityUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -34,6 +37,8 @@ import org.apache.commons.logging.LogFactory;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedCacheConstants.CLUSTER_NAME;
 import static com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedCacheConstants.DISCOVERY_MECHANISM;
@@ -154,6 +159,104 @@ public class OpenBankingDistributedMember {
         return this.hazelcastInstance;
     }
 
+    /**
+     * Publish a message to a topic of the cluster. The message is delivered to the listeners of all the members,
+     * including this member.
+     *
+     * @param topicName name of the topic.
+     * @param message   message to publish.
+     */
+    public void publish(String topicName, String message) {
+        if (!isEnabled()) {
+            log.debug("Distributed Caching is disabled, hence the message is not published.");
+            return;
+        }
+        ITopic<String> topic = this.hazelcastInstance.getTopic(topicName);
+        topic.publish(message);
+    }
+
+    /**
+     * Add a listener to the messages published to a topic of the cluster.
+     *
+     * @param topicName name of the topic.
+     * @param listener  listener of the messages.
+     * @return true if the listener is added, false if distributed caching is disabled.
+     */
+    public boolean addMessageListener(String topicName, Consumer<String> listener) {
+        if (!isEnabled()) {
+            return false;
+        }
+        ITopic<String> topic = this.hazelcastInstance.getTopic(topicName);
+        topic.addMessageListener(message -> listener.accept(message.getMessageObject()));
+        if (log.isDebugEnabled()) {
+            log.debug("Added a message listener to topic " + topicName.replaceAll("[\r\n]", ""));
+        }
+        return true;
+    }
+
+    /**
+     * Update an entry of a distributed map atomically, by applying the function on the member owning the entry.
+     *
+     * @param mapName  name of the map.
+     * @param key      key of the entry.
+     * @param function function to compute the new value of the entry.
+     * @param <K>      key type.
+     * @param <V>      value type.
+     * @return the new value of the entry, or null if the entry is removed or distributed caching is disabled.
+     */
+    public <K, V> V executeOnEntry(String mapName, K key, OpenBankingDistributedEntryFunction<V> function) {
+        if (!isEnabled()) {
+            log.debug("Distributed Caching is disabled, hence the entry is not updated.");
+            return null;
+        }
+        return this.hazelcastInstance.<K, V>getMap(mapName).executeOnKey(key, new EntryFunctionProcessor<>(function));
+    }
+
+    /**
+     * Get an entry of a distributed map.
+     *
+     * @param mapName name of the map.
+     * @param key     key of the entry.
+     * @param <K>     key type.
+     * @param <V>     value type.
+     * @return value of the entry, or null if the entry does not exist or distributed caching is disabled.
+     */
+    public <K, V> V getEntry(String mapName, K key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return this.hazelcastInstance.<K, V>getMap(mapName).get(key);
+    }
+
+    /**
+     * Remove an entry of a distributed map.
+     *
+     * @param mapName name of the map.
+     * @param key     key of the entry.
+     * @param <K>     key type.
+     * @param <V>     value type.
+     * @return the removed value, or null if the entry does not exist or distributed caching is disabled.
+     */
+    public <K, V> V removeEntry(String mapName, K key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return this.hazelcastInstance.<K, V>getMap(mapName).remove(key);
+    }
+
+    /**
+     * Get the number of entries of a distributed map.
+     *
+     * @param mapName name of the map.
+     * @return number of entries, or 0 if distributed caching is disabled.
+     */
+    public int getEntryCount(String mapName) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        return this.hazelcastInstance.getMap(mapName).size();
+    }
+
     /**
      * Method to set hazelcast properties.
      *
@@ -327,4 +430,84 @@ public class OpenBankingDistributedMember {
             log.debug("\n\tTrusted Interfaces: " + SecurityUtils.sanitize(multicastConfig.getTrustedInterfaces()));
         }
     }
+
+    /**
+     * Entry processor applying an entry function on the member owning the entry. The backups are updated with the
+     * value computed on the owner, instead of applying the function again.
+     *
+     * @param <K> key type.
+     * @param <V> value type.
+     */
+    private static class EntryFunctionProcessor<K, V> implements EntryProcessor<K, V, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final OpenBankingDistributedEntryFunction<V> function;
+        private transient V newValue;
+        private transient long timeToLive;
+
+        EntryFunctionProcessor(OpenBankingDistributedEntryFunction<V> function) {
+            this.function = function;
+        }
+
+        @Override
+        public V process(Map.Entry<K, V> entry) {
+            long currentTime = System.currentTimeMillis();
+            newValue = function.apply(entry.getValue(), currentTime);
+            timeToLive = newValue == null ? 0 : function.getTimeToLive(newValue, currentTime);
+            setValue(entry, newValue, timeToLive);
+            return newValue;
+        }
+
+        @Override
+        public EntryProcessor<K, V, V> getBackupProcessor() {
+            return new EntryBackupProcessor<>(newValue, timeToLive);
+        }
+    }
+
+    /**
+     * Entry processor setting the value computed on the member owning the entry to its backups.
+     *
+     * @param <K> key type.
+     * @param <V> value type.
+     */
+    private static class EntryBackupProcessor<K, V> implements EntryProcessor<K, V, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final V newValue;
+        private final long timeToLive;
+
+        EntryBackupProcessor(V newValue, long timeToLive) {
+            this.newValue = newValue;
+            this.timeToLive = timeToLive;
+        }
+
+        @Override
+        public V process(Map.Entry<K, V> entry) {
+            setValue(entry, newValue, timeToLive);
+            return newValue;
+        }
+    }
+
+    /**
+     * Set the value of an entry. The time to live is rounded up to seconds, since the expiry times of the entries
+     * are kept in seconds by hazelcast.
+     *
+     * @param entry      entry.
+     * @param value      value to set, or null to remove the entry.
+     * @param timeToLive time to live in milliseconds, 0 to keep the entry until it is removed.
+     * @param <K>        key type.
+     * @param <V>        value type.
+     */
+    private static <K, V> void setValue(Map.Entry<K, V> entry, V value, long timeToLive) {
+        if (value == null) {
+            entry.setValue(null);
+        } else if (timeToLive > 0) {
+            long timeToLiveSeconds = (timeToLive + TimeUnit.SECONDS.toMillis(1) - 1) / TimeUnit.SECONDS.toMillis(1);
+            ((ExtendedMapEntry<K, V>) entry).setValue(value, timeToLiveSeconds, TimeUnit.SECONDS);
+        } else {
+            entry.setValue(value);
+        }
+    }
 }
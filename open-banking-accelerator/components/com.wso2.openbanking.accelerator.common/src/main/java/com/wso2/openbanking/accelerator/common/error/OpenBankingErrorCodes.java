@@ -28,6 +28,7 @@ public class OpenBankingErrorCodes {
     public static final String NOT_FOUND_CODE = "404";
     public static final String NOT_ALLOWED_CODE = "405";
     public static final String NOT_ACCEPTABLE_CODE = "406";
+    public static final String CONFLICT_CODE = "409";
     public static final String UNSUPPORTED_MEDIA_TYPE_CODE = "415";
     public static final String SERVER_ERROR_CODE = "500";
 
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.event.executor;
+
+/**
+ * Policies applied by the {@link OBEventQueue} when an event is published while the queue is full.
+ */
+public enum OBEventBackpressurePolicy {
+
+    /**
+     * Drop the published event without waiting for room in the queue.
+     */
+    DROP_NEWEST("DropNewest"),
+
+    /**
+     * Wait for room in the queue up to the configured timeout, then drop the event. The publishing thread, such as a
+     * request thread changing a consent state, is blocked while waiting.
+     */
+    BLOCK("Block"),
+
+    /**
+     * Drop the oldest queued event to make room for the new one.
+     */
+    DROP_OLDEST("DropOldest"),
+
+    /**
+     * Write the event to the overflow journal on disk and hand it to the workers once the queue has drained.
+     */
+    SPILL_TO_DISK("SpillToDisk");
+
+    private final String value;
+
+    OBEventBackpressurePolicy(String value) {
+
+        this.value = value;
+    }
+
+    public String getValue() {
+
+        return value;
+    }
+
+    /**
+     * Get the policy matching the configured value.
+     *
+     * @param value configured policy name, either the configuration value or the enum name.
+     * @return matching policy or {@link #DROP_NEWEST} if the value does not match any policy.
+     */
+    public static OBEventBackpressurePolicy fromValue(String value) {
+
+        if (value != null) {
+            for (OBEventBackpressurePolicy policy : values()) {
+                if (policy.value.equalsIgnoreCase(value.trim()) || policy.name().equalsIgnoreCase(value.trim())) {
+                    return policy;
+                }
+            }
+        }
+        return DROP_NEWEST;
+    }
+}
@@ -20,8 +20,11 @@ package com.wso2.openbanking.accelerator.common.event.executor;
 
 import com.wso2.openbanking.accelerator.common.event.executor.model.OBEvent;
 
+import java.util.List;
+
 /**
  * Open banking event executor interface.
+ * A single executor instance is shared by all the event queue workers, hence implementations should be thread safe.
  */
 public interface OBEventExecutor {
 
@@ -31,4 +34,18 @@ public interface OBEventExecutor {
      * @param obEvent OBEvent which holds event related data
      */
     public void processEvent(OBEvent obEvent);
+
+    /**
+     * This method is used to process a batch of events taken from the event queue.
+     * Executors which can handle several events at once, for example with a single database batch, can override
+     * this method. The default implementation processes the events one by one.
+     *
+     * @param obEvents events in the order they were taken from the queue
+     */
+    default void processEvents(List<OBEvent> obEvents) {
+
+        for (OBEvent obEvent : obEvents) {
+            processEvent(obEvent);
+        }
+    }
 }
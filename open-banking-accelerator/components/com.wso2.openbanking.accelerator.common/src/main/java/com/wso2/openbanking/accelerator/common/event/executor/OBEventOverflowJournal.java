@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.event.executor;
+
+import com.wso2.openbanking.accelerator.common.event.executor.model.OBEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Append only, memory mapped journal holding the events which did not fit in the {@link OBEventQueue}.
+ *
+ * The journal is a sequence of fixed size segment files. Each record is the length of the serialized event, the
+ * CRC32 of the serialized event and the serialized event. The length is written last, so a record is only visible
+ * once it is complete. Events are read in the order they were written, and the position of the oldest event which
+ * has not been processed is kept in a checkpoint file. Events read after the last {@link #commit()} are read again
+ * when the journal is reopened, hence events are delivered at least once across restarts. Fully processed segment
+ * files are deleted.
+ */
+public class OBEventOverflowJournal {
+
+    private static final Log log = LogFactory.getLog(OBEventOverflowJournal.class);
+    private static final String SEGMENT_FILE_PREFIX = "ob-events-";
+    private static final String SEGMENT_FILE_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE_NAME = "ob-events.checkpoint";
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final int CHECKPOINT_SIZE = 12;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final MappedByteBuffer checkpoint;
+    private MappedByteBuffer writeBuffer;
+    private long writeSegment;
+    private int writePosition;
+    private MappedByteBuffer readBuffer;
+    private long readSegment;
+    private int readPosition;
+    private long committedSegment;
+    private int committedPosition;
+    private long pendingCount;
+    private long uncommittedReadCount;
+
+    /**
+     * Open the journal in the given directory, resuming from the last committed position.
+     *
+     * @param directory   directory of the journal files.
+     * @param segmentSize size of a segment file in bytes.
+     * @throws IOException if the journal files cannot be created or read.
+     */
+    public OBEventOverflowJournal(Path directory, int segmentSize) throws IOException {
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_SIZE);
+        }
+        recover();
+    }
+
+    /**
+     * Append an event to the journal.
+     *
+     * @param obEvent event to be written.
+     * @throws IOException if the event cannot be serialized or is larger than a segment.
+     */
+    public synchronized void append(OBEvent obEvent) throws IOException {
+
+        byte[] record = serialize(obEvent);
+        if (RECORD_HEADER_SIZE + record.length + 4 > segmentSize) {
+            throw new IOException("Serialized event of " + record.length + " bytes does not fit in a journal " +
+                    "segment of " + segmentSize + " bytes");
+        }
+        // Keep room for the end of segment marker after the record.
+        if (writePosition + RECORD_HEADER_SIZE + record.length + 4 > segmentSize) {
+            writeBuffer.putInt(writePosition, END_OF_SEGMENT);
+            writeSegment++;
+            writeBuffer = mapSegment(writeSegment);
+            writePosition = 0;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        ByteBuffer recordBuffer = writeBuffer.duplicate();
+        recordBuffer.position(writePosition + RECORD_HEADER_SIZE);
+        recordBuffer.put(record);
+        writeBuffer.putInt(writePosition + 4, (int) crc.getValue());
+        writeBuffer.putInt(writePosition, record.length);
+        writePosition += RECORD_HEADER_SIZE + record.length;
+        pendingCount++;
+    }
+
+    /**
+     * Read the oldest events which have not been read yet. The events are read again after a restart unless
+     * {@link #commit()} is called once they are processed.
+     *
+     * @param maxEvents maximum number of events to read.
+     * @return events in the order they were written.
+     */
+    public synchronized List<OBEvent> poll(int maxEvents) {
+
+        List<OBEvent> events = new ArrayList<>();
+        while (events.size() < maxEvents && pendingCount > 0) {
+            int length = readPosition + 4 > segmentSize ? END_OF_SEGMENT : readBuffer.getInt(readPosition);
+            if (length == END_OF_SEGMENT || (length == 0 && readSegment < writeSegment)) {
+                readSegment++;
+                readBuffer = readSegment == writeSegment ? writeBuffer : mapSegmentQuietly(readSegment);
+                readPosition = 0;
+                if (readBuffer == null) {
+                    discardUnread();
+                }
+                continue;
+            }
+            byte[] record = new byte[length];
+            ByteBuffer recordBuffer = readBuffer.duplicate();
+            recordBuffer.position(readPosition + RECORD_HEADER_SIZE);
+            recordBuffer.get(record);
+            readPosition += RECORD_HEADER_SIZE + length;
+            pendingCount--;
+            uncommittedReadCount++;
+            OBEvent obEvent = deserialize(record);
+            if (obEvent != null) {
+                events.add(obEvent);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Mark the events read so far as processed and delete the segment files which are no longer needed.
+     */
+    public synchronized void commit() {
+
+        checkpoint.putLong(0, readSegment);
+        checkpoint.putInt(8, readPosition);
+        for (long segment = committedSegment; segment < readSegment; segment++) {
+            deleteSegment(segment);
+        }
+        committedSegment = readSegment;
+        committedPosition = readPosition;
+        uncommittedReadCount = 0;
+    }
+
+    /**
+     * Move the read position back to the last committed position, so the events read since then are read again.
+     */
+    public synchronized void rollback() {
+
+        readSegment = committedSegment;
+        readPosition = committedPosition;
+        readBuffer = readSegment == writeSegment ? writeBuffer : mapSegmentQuietly(readSegment);
+        pendingCount += uncommittedReadCount;
+        uncommittedReadCount = 0;
+        if (readBuffer == null) {
+            discardUnread();
+        }
+    }
+
+    /**
+     * Get the number of events which have not been read.
+     *
+     * @return number of events.
+     */
+    public synchronized long size() {
+
+        return pendingCount;
+    }
+
+    public synchronized boolean isEmpty() {
+
+        return pendingCount == 0;
+    }
+
+    /**
+     * Flush the journal to disk.
+     */
+    public synchronized void close() {
+
+        writeBuffer.force();
+        checkpoint.force();
+    }
+
+    private void recover() throws IOException {
+
+        TreeSet<Long> segments = listSegments();
+        long checkpointSegment = checkpoint.getLong(0);
+        int checkpointPosition = checkpoint.getInt(8);
+
+        if (segments.isEmpty()) {
+            readSegment = Math.max(checkpointSegment, 1);
+            readPosition = 0;
+        } else if (segments.contains(checkpointSegment)) {
+            readSegment = checkpointSegment;
+            readPosition = checkpointPosition;
+        } else {
+            readSegment = Math.max(segments.first(), checkpointSegment);
+            readPosition = 0;
+        }
+        for (Long segment : segments.headSet(readSegment)) {
+            deleteSegment(segment);
+        }
+
+        // Count the unread events and find the end of the journal.
+        writeSegment = readSegment;
+        writePosition = readPosition;
+        writeBuffer = mapSegment(writeSegment);
+        while (true) {
+            int length = writePosition + 4 > segmentSize ? END_OF_SEGMENT : writeBuffer.getInt(writePosition);
+            if (length == END_OF_SEGMENT || (length == 0 && segments.higher(writeSegment) != null)) {
+                writeSegment++;
+                writeBuffer = mapSegment(writeSegment);
+                writePosition = 0;
+            } else if (length > 0 && isValidRecord(writeBuffer, writePosition, length)) {
+                writePosition += RECORD_HEADER_SIZE + length;
+                pendingCount++;
+            } else {
+                // Either the end of the journal or a record torn by a crash, which is overwritten by the next append.
+                break;
+            }
+        }
+        for (Long segment : segments.tailSet(writeSegment, false)) {
+            deleteSegment(segment);
+        }
+
+        readBuffer = readSegment == writeSegment ? writeBuffer : mapSegment(readSegment);
+        committedSegment = readSegment;
+        committedPosition = readPosition;
+        if (pendingCount > 0) {
+            log.info("Replaying " + pendingCount + " events from the event overflow journal");
+        }
+    }
+
+    private boolean isValidRecord(MappedByteBuffer buffer, int position, int length) {
+
+        if (position + RECORD_HEADER_SIZE + length > segmentSize) {
+            return false;
+        }
+        byte[] record = new byte[length];
+        ByteBuffer recordBuffer = buffer.duplicate();
+        recordBuffer.position(position + RECORD_HEADER_SIZE);
+        recordBuffer.get(record);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue() == buffer.getInt(position + 4);
+    }
+
+    private TreeSet<Long> listSegments() throws IOException {
+
+        TreeSet<Long> segments = new TreeSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                            fileName.length() - SEGMENT_FILE_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring unexpected file in the event overflow journal directory");
+                }
+            }
+        }
+        return segments;
+    }
+
+    private Path segmentPath(long segment) {
+
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_FILE_PREFIX, segment, SEGMENT_FILE_SUFFIX));
+    }
+
+    private MappedByteBuffer mapSegment(long segment) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private MappedByteBuffer mapSegmentQuietly(long segment) {
+
+        try {
+            return mapSegment(segment);
+        } catch (IOException e) {
+            log.error("Unable to open event overflow journal segment " + segment, e);
+            return null;
+        }
+    }
+
+    private void deleteSegment(long segment) {
+
+        try {
+            Files.deleteIfExists(segmentPath(segment));
+        } catch (IOException e) {
+            log.warn("Unable to delete event overflow journal segment " + segment, e);
+        }
+    }
+
+    private void discardUnread() {
+
+        log.error("Discarding " + pendingCount + " unread events of the event overflow journal");
+        readSegment = writeSegment;
+        readPosition = writePosition;
+        readBuffer = writeBuffer;
+        pendingCount = 0;
+        uncommittedReadCount = 0;
+    }
+
+    private static byte[] serialize(OBEvent obEvent) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(obEvent);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static OBEvent deserialize(byte[] record) {
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(record))) {
+            return (OBEvent) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.error("Unable to read an event from the event overflow journal. Discarding the event", e);
+            return null;
+        }
+    }
+}
@@ -22,45 +22,353 @@ import com.wso2.openbanking.accelerator.common.event.executor.model.OBEvent;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * Open Banking event queue wrapper class wrapping the ArrayBlockingQueue.
+ *
+ * A fixed set of long-lived {@link OBQueueWorker}s drain the queue in batches and hand each batch to the configured
+ * {@link OBEventExecutor}s, which are instantiated once. The {@link OBEventBackpressurePolicy} decides what happens
+ * to an event published while the queue is full. By default, such an event is dropped without blocking the publisher.
+ * Under the spill to disk policy, such events are written to an
+ * {@link OBEventOverflowJournal} and replayed by the workers once the queue has drained, including after a restart.
  */
 public class OBEventQueue {
 
     private static final Log log = LogFactory.getLog(OBEventQueue.class);
+    private static final String MBEAN_NAME = "com.wso2.openbanking:type=EventQueue,name=OBEventQueue";
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 1000;
+    private static final long DROP_LOG_INTERVAL = 1000;
+    private static final int DEFAULT_JOURNAL_SEGMENT_SIZE = 16 * 1024 * 1024;
+
     private final BlockingQueue<OBEvent> eventQueue;
     private final ExecutorService executorService;
+    private final int batchSize;
+    private final OBEventBackpressurePolicy backpressurePolicy;
+    private final long blockTimeoutMillis;
+    private final OBEventOverflowJournal overflowJournal;
+    private final ReentrantLock replayLock = new ReentrantLock();
+    private final OBEventQueueMetrics metrics;
+    private volatile List<OBEventExecutor> obEventExecutors;
+    private volatile boolean running = true;
+    private boolean mBeanRegistered;
 
     public OBEventQueue(int queueSize, int workerThreadCount) {
 
-        // Note : Using a fixed worker thread pool and a bounded queue to control the load on the server
-        executorService = Executors.newFixedThreadPool(workerThreadCount);
-        eventQueue = new ArrayBlockingQueue<>(queueSize);
+        this(queueSize, workerThreadCount, DEFAULT_BATCH_SIZE, OBEventBackpressurePolicy.DROP_NEWEST,
+                DEFAULT_BLOCK_TIMEOUT_MILLIS, null);
+    }
+
+    /**
+     * Initialize the event queue and start the workers.
+     *
+     * @param queueSize          capacity of the in-memory queue.
+     * @param workerThreadCount  number of workers draining the queue.
+     * @param batchSize          maximum number of events handed to the executors at once.
+     * @param backpressurePolicy policy applied when the queue is full.
+     * @param blockTimeoutMillis time a publisher waits for room in the queue under the block policy.
+     * @param spillDirectory     directory of the overflow journal, used with the spill to disk policy.
+     */
+    public OBEventQueue(int queueSize, int workerThreadCount, int batchSize,
+                        OBEventBackpressurePolicy backpressurePolicy, long blockTimeoutMillis, Path spillDirectory) {
+
+        this(queueSize, workerThreadCount, batchSize, backpressurePolicy, blockTimeoutMillis, spillDirectory,
+                DEFAULT_JOURNAL_SEGMENT_SIZE);
+    }
+
+    /**
+     * Initialize the event queue and start the workers.
+     *
+     * @param queueSize          capacity of the in-memory queue.
+     * @param workerThreadCount  number of workers draining the queue.
+     * @param batchSize          maximum number of events handed to the executors at once.
+     * @param backpressurePolicy policy applied when the queue is full.
+     * @param blockTimeoutMillis time a publisher waits for room in the queue under the block policy.
+     * @param spillDirectory     directory of the overflow journal, used with the spill to disk policy.
+     * @param segmentSize        size of an overflow journal segment file in bytes.
+     */
+    public OBEventQueue(int queueSize, int workerThreadCount, int batchSize,
+                        OBEventBackpressurePolicy backpressurePolicy, long blockTimeoutMillis, Path spillDirectory,
+                        int segmentSize) {
+
+        this.eventQueue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.metrics = new OBEventQueueMetrics(eventQueue);
+        this.overflowJournal = OBEventBackpressurePolicy.SPILL_TO_DISK == backpressurePolicy ?
+                openOverflowJournal(spillDirectory, segmentSize) : null;
+        this.backpressurePolicy = OBEventBackpressurePolicy.SPILL_TO_DISK == backpressurePolicy &&
+                overflowJournal == null ? OBEventBackpressurePolicy.BLOCK : backpressurePolicy;
+        if (overflowJournal != null) {
+            metrics.setSpilledDepthSupplier(overflowJournal::size);
+        }
+        registerMBean();
+
+        // Note : Using a fixed set of workers and a bounded queue to control the load on the server
+        AtomicInteger workerIndex = new AtomicInteger();
+        executorService = Executors.newFixedThreadPool(workerThreadCount, runnable -> {
+            Thread thread = new Thread(runnable, "ob-event-worker-" + workerIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerThreadCount; i++) {
+            executorService.execute(new OBQueueWorker(this));
+        }
     }
 
     public void put(OBEvent obEvent) {
 
+        metrics.recordPublished();
+        switch (backpressurePolicy) {
+            case DROP_OLDEST:
+                while (!eventQueue.offer(obEvent)) {
+                    OBEvent droppedEvent = eventQueue.poll();
+                    if (droppedEvent != null) {
+                        recordDrop(droppedEvent);
+                    }
+                }
+                break;
+            case SPILL_TO_DISK:
+                // Events keep going to disk until the spilled events are replayed, to preserve the order.
+                if (overflowJournal.isEmpty() && eventQueue.offer(obEvent)) {
+                    break;
+                }
+                spill(obEvent);
+                break;
+            case BLOCK:
+                if (eventQueue.offer(obEvent)) {
+                    break;
+                }
+                metrics.recordBlocked();
+                try {
+                    if (!eventQueue.offer(obEvent, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        recordDrop(obEvent);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    recordDrop(obEvent);
+                }
+                break;
+            default:
+                if (!eventQueue.offer(obEvent)) {
+                    recordDrop(obEvent);
+                }
+        }
+    }
+
+    /**
+     * Get the metrics of the event queue.
+     *
+     * @return event queue metrics.
+     */
+    public OBEventQueueMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * Set the event executors, which are resolved from the EventExecutors element when the common component is
+     * activated.
+     *
+     * @param obEventExecutors event executors in priority order.
+     */
+    public void setOBEventExecutors(List<OBEventExecutor> obEventExecutors) {
+
+        this.obEventExecutors = Collections.unmodifiableList(new ArrayList<>(obEventExecutors));
+    }
+
+    public OBEventBackpressurePolicy getBackpressurePolicy() {
+
+        return backpressurePolicy;
+    }
+
+    /**
+     * Stop the workers. Events remaining in the queue are not processed.
+     */
+    public void shutdown() {
+
+        running = false;
+        executorService.shutdownNow();
         try {
-            if (eventQueue.offer(obEvent)) {
-                executorService.submit(new OBQueueWorker(eventQueue, executorService));
-            } else {
-                log.error("Event queue is full. Starting to drop events.");
+            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Event queue workers did not stop in time");
             }
-        } catch (RejectedExecutionException e) {
-            log.warn("Task submission failed. Task queue might be full", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        if (overflowJournal != null) {
+            overflowJournal.close();
+        }
+        unregisterMBean();
     }
 
-    @Override
-    protected void finalize() throws Throwable {
-        executorService.shutdown();
-        super.finalize();
+    boolean isRunning() {
+
+        return running;
+    }
+
+    /**
+     * Take the next batch of events from the in-memory queue, waiting for an event up to the given time.
+     *
+     * @param batch   list to add the events to.
+     * @param timeout time to wait for an event.
+     * @param unit    time unit of the timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    void takeBatch(List<OBEvent> batch, long timeout, TimeUnit unit) throws InterruptedException {
+
+        OBEvent obEvent = eventQueue.poll(timeout, unit);
+        if (obEvent != null) {
+            batch.add(obEvent);
+            eventQueue.drainTo(batch, batchSize - 1);
+        }
+    }
+
+    /**
+     * Process the next batch of events from the overflow journal once the in-memory queue has drained. Only one
+     * worker replays at a time, so the journal position is committed only after the events before it are processed.
+     *
+     * @param batch list to add the events to.
+     * @return whether a batch was replayed.
+     */
+    boolean replayOverflowJournal(List<OBEvent> batch) {
+
+        if (overflowJournal == null || overflowJournal.isEmpty() || !eventQueue.isEmpty() ||
+                !replayLock.tryLock()) {
+            return false;
+        }
+        try {
+            batch.addAll(overflowJournal.poll(batchSize));
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+            }
+            overflowJournal.commit();
+            return true;
+        } catch (RuntimeException e) {
+            overflowJournal.rollback();
+            throw e;
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    /**
+     * Hand a batch of events to each of the event executors.
+     *
+     * @param batch events to be processed.
+     */
+    void dispatch(List<OBEvent> batch) {
+
+        List<OBEvent> events = Collections.unmodifiableList(batch);
+        for (OBEventExecutor obEventExecutor : getOBEventExecutors()) {
+            try {
+                obEventExecutor.processEvents(events);
+            } catch (RuntimeException e) {
+                metrics.recordExecutorFailure();
+                log.error("Event executor " + obEventExecutor.getClass().getName() + " failed to process " +
+                        events.size() + " events", e);
+            }
+        }
+        metrics.recordBatch(events.size());
+    }
+
+    int getBatchSize() {
+
+        return batchSize;
+    }
+
+    /**
+     * Get the event executors in the configured priority order.
+     *
+     * @return event executors, empty if they are not set yet.
+     */
+    List<OBEventExecutor> getOBEventExecutors() {
+
+        List<OBEventExecutor> executors = obEventExecutors;
+        return executors != null ? executors : Collections.emptyList();
+    }
+
+    private void spill(OBEvent obEvent) {
+
+        try {
+            overflowJournal.append(obEvent);
+            metrics.recordSpilled();
+        } catch (IOException e) {
+            log.error("Unable to spill event of type " + String.valueOf(obEvent.getEventType())
+                    .replaceAll("[\r\n]", "") + " to disk", e);
+            recordDrop(obEvent);
+        }
+    }
+
+    private void recordDrop(OBEvent obEvent) {
+
+        metrics.recordDropped();
+        long droppedCount = metrics.getDroppedCount();
+        if (droppedCount % DROP_LOG_INTERVAL == 1) {
+            log.error("Event queue is full. Dropped event of type " + String.valueOf(obEvent.getEventType())
+                    .replaceAll("[\r\n]", "") + ". Total dropped events: " + droppedCount);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Event queue is full. Dropped event of type " + String.valueOf(obEvent.getEventType())
+                    .replaceAll("[\r\n]", ""));
+        }
+    }
+
+    private OBEventOverflowJournal openOverflowJournal(Path spillDirectory, int segmentSize) {
+
+        if (spillDirectory == null) {
+            log.error("Event spill directory is not configured. Falling back to the block policy");
+            return null;
+        }
+        try {
+            return new OBEventOverflowJournal(spillDirectory,
+                    segmentSize > 0 ? segmentSize : DEFAULT_JOURNAL_SEGMENT_SIZE);
+        } catch (IOException e) {
+            log.error("Unable to open the event overflow journal. Falling back to the block policy", e);
+            return null;
+        }
+    }
+
+    private void registerMBean() {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(MBEAN_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(metrics, objectName);
+                mBeanRegistered = true;
+            }
+        } catch (JMException e) {
+            log.warn("Unable to register the event queue metrics MBean", e);
+        }
+    }
+
+    private void unregisterMBean() {
+
+        if (!mBeanRegistered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(MBEAN_NAME));
+            mBeanRegistered = false;
+        } catch (JMException e) {
+            log.warn("Unable to unregister the event queue metrics MBean", e);
+        }
     }
 }
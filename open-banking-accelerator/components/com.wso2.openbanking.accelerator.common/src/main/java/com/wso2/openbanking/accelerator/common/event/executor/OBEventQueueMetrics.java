@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.event.executor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Depth, throughput and drop counters of the {@link OBEventQueue}.
+ */
+public class OBEventQueueMetrics implements OBEventQueueMetricsMXBean {
+
+    private final BlockingQueue<?> eventQueue;
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder spilledCount = new LongAdder();
+    private final LongAdder executorFailureCount = new LongAdder();
+    private volatile LongSupplier spilledDepthSupplier = () -> 0;
+
+    public OBEventQueueMetrics(BlockingQueue<?> eventQueue) {
+
+        this.eventQueue = eventQueue;
+    }
+
+    public void recordPublished() {
+
+        publishedCount.increment();
+    }
+
+    public void recordBatch(int batchSize) {
+
+        batchCount.increment();
+        processedCount.add(batchSize);
+    }
+
+    public void recordBlocked() {
+
+        blockedCount.increment();
+    }
+
+    public void recordDropped() {
+
+        droppedCount.increment();
+    }
+
+    public void recordSpilled() {
+
+        spilledCount.increment();
+    }
+
+    public void recordExecutorFailure() {
+
+        executorFailureCount.increment();
+    }
+
+    /**
+     * Set the supplier used to read the number of events waiting on disk.
+     *
+     * @param spilledDepthSupplier spilled depth supplier.
+     */
+    public void setSpilledDepthSupplier(LongSupplier spilledDepthSupplier) {
+
+        this.spilledDepthSupplier = spilledDepthSupplier;
+    }
+
+    @Override
+    public int getQueueDepth() {
+
+        return eventQueue.size();
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+
+        return eventQueue.remainingCapacity();
+    }
+
+    @Override
+    public long getSpilledDepth() {
+
+        return spilledDepthSupplier.getAsLong();
+    }
+
+    @Override
+    public long getPublishedCount() {
+
+        return publishedCount.sum();
+    }
+
+    @Override
+    public long getProcessedCount() {
+
+        return processedCount.sum();
+    }
+
+    @Override
+    public long getBatchCount() {
+
+        return batchCount.sum();
+    }
+
+    @Override
+    public long getBlockedCount() {
+
+        return blockedCount.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+
+        return droppedCount.sum();
+    }
+
+    @Override
+    public long getSpilledCount() {
+
+        return spilledCount.sum();
+    }
+
+    @Override
+    public long getExecutorFailureCount() {
+
+        return executorFailureCount.sum();
+    }
+
+    @Override
+    public void reset() {
+
+        publishedCount.reset();
+        processedCount.reset();
+        batchCount.reset();
+        blockedCount.reset();
+        droppedCount.reset();
+        spilledCount.reset();
+        executorFailureCount.reset();
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("queueDepth=%d, remainingCapacity=%d, spilledDepth=%d, published=%d, processed=%d, " +
+                        "batches=%d, blocked=%d, dropped=%d, spilled=%d, executorFailures=%d", getQueueDepth(),
+                getRemainingCapacity(), getSpilledDepth(), getPublishedCount(), getProcessedCount(),
+                getBatchCount(), getBlockedCount(), getDroppedCount(), getSpilledCount(),
+                getExecutorFailureCount());
+    }
+}
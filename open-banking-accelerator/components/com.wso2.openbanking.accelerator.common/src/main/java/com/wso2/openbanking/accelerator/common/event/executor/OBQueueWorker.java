@@ -19,51 +19,50 @@
 package com.wso2.openbanking.accelerator.common.event.executor;
 
 import com.wso2.openbanking.accelerator.common.event.executor.model.OBEvent;
-import com.wso2.openbanking.accelerator.common.internal.OpenBankingCommonDataHolder;
-import com.wso2.openbanking.accelerator.common.util.OpenBankingUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Open Banking Queue worker implementation to execute events in queue.
+ * The worker runs for the lifetime of the queue and hands the events to the executors in batches.
  */
 public class OBQueueWorker implements Runnable {
 
-    private BlockingQueue<OBEvent> eventQueue;
-    private ExecutorService executorService;
     private static final Log log = LogFactory.getLog(OBQueueWorker.class);
+    private static final long POLL_INTERVAL_MILLIS = 500;
 
-    public OBQueueWorker(BlockingQueue<OBEvent> queue, ExecutorService executorService) {
+    private final OBEventQueue obEventQueue;
 
-        this.eventQueue = queue;
-        this.executorService = executorService;
+    public OBQueueWorker(OBEventQueue obEventQueue) {
+
+        this.obEventQueue = obEventQueue;
     }
 
     @Override
     public void run() {
 
-        ThreadPoolExecutor threadPoolExecutor = ((ThreadPoolExecutor) executorService);
-
-        do {
-            OBEvent event = eventQueue.poll();
-            if (event != null) {
-                Map<Integer, String> obEventExecutors = OpenBankingCommonDataHolder.getInstance().getOBEventExecutors();
-                List<OBEventExecutor> executorList = obEventExecutors.keySet().stream()
-                        .map(integer -> (OBEventExecutor) OpenBankingUtils
-                                .getClassInstanceFromFQN(obEventExecutors.get(integer))).collect(Collectors.toList());
-                for (OBEventExecutor obEventExecutor : executorList) {
-                    obEventExecutor.processEvent(event);
+        List<OBEvent> batch = new ArrayList<>(obEventQueue.getBatchSize());
+        while (obEventQueue.isRunning() && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (obEventQueue.replayOverflowJournal(batch)) {
+                    continue;
+                }
+                obEventQueue.takeBatch(batch, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (!batch.isEmpty()) {
+                    obEventQueue.dispatch(batch);
                 }
-            } else {
-                log.error("OB Event is null");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Keep the worker alive, a failure with one batch should not stop the processing of events.
+                log.error("Error while processing a batch of " + batch.size() + " events", e);
+            } finally {
+                batch.clear();
             }
-        } while (threadPoolExecutor.getActiveCount() == 1 && eventQueue.size() != 0);
+        }
     }
 }
@@ -18,12 +18,16 @@
 
 package com.wso2.openbanking.accelerator.common.event.executor.model;
 
+import java.io.Serializable;
 import java.util.Map;
 
 /**
  * Open Banking event model class.
+ * Events are serialized when they are spilled to disk, hence the event data should be serializable.
  */
-public class OBEvent {
+public class OBEvent implements Serializable {
+
+    private static final long serialVersionUID = 6457851563462837251L;
 
     private String eventType;
     private Map<String, Object> eventData;
@@ -19,7 +19,6 @@
 package com.wso2.openbanking.accelerator.common.identity.retriever;
 
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.util.DefaultResourceRetriever;
 import com.nimbusds.jose.util.Resource;
 import com.nimbusds.jose.util.ResourceRetriever;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
@@ -54,7 +53,7 @@ public class JWKRetriever {
         jwksConnectionTimeout = Integer.parseInt(OpenBankingConfigParser.getInstance()
                 .getJwksRetrieverConnectionTimeout());
         jwksReadTimeout = Integer.parseInt(OpenBankingConfigParser.getInstance().getJwksRetrieverReadTimeout());
-        resourceRetriever = new DefaultResourceRetriever(jwksReadTimeout, jwksConnectionTimeout, jwksSizeLimit);
+        resourceRetriever = new PooledResourceRetriever(jwksConnectionTimeout, jwksReadTimeout, jwksSizeLimit);
     }
 
     /**
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.identity.retriever;
+
+import com.nimbusds.jose.util.BoundedInputStream;
+import com.nimbusds.jose.util.IOUtils;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientRegistry;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Nimbus resource retriever which retrieves the resources through the pooled JWKS https client, so that the
+ * connections to the JWKS endpoints are kept alive across retrievals.
+ */
+public class PooledResourceRetriever implements ResourceRetriever {
+
+    private final RequestConfig requestConfig;
+    private final int sizeLimit;
+
+    /**
+     * Constructor.
+     *
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout    read timeout in milliseconds
+     * @param sizeLimit      maximum size of the retrieved resource in bytes, zero for no limit
+     */
+    public PooledResourceRetriever(int connectTimeout, int readTimeout, int sizeLimit) {
+
+        this.requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .build();
+        this.sizeLimit = sizeLimit;
+    }
+
+    @Override
+    public Resource retrieveResource(URL url) throws IOException {
+
+        HttpGet httpGet;
+        CloseableHttpClient client;
+        try {
+            httpGet = new HttpGet(url.toURI());
+            client = HTTPClientUtils.getPooledHttpsClient(HTTPClientRegistry.Purpose.JWKS);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid resource URL: " + url, e);
+        } catch (OpenBankingException e) {
+            throw new IOException("Error when creating http client.", e);
+        }
+        httpGet.setConfig(requestConfig);
+
+        try (CloseableHttpResponse response = client.execute(httpGet)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode / 100 != 2) {
+                throw new IOException("HTTP " + statusCode + ": " + response.getStatusLine().getReasonPhrase());
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                throw new IOException("Empty response received from resource URL: " + url);
+            }
+            String content;
+            try (InputStream inputStream = sizeLimit > 0 ?
+                    new BoundedInputStream(entity.getContent(), sizeLimit) : entity.getContent()) {
+                content = IOUtils.readInputStreamToString(inputStream, StandardCharsets.UTF_8);
+            }
+            Header contentType = entity.getContentType();
+            return new Resource(content, contentType == null ? null : contentType.getValue());
+        }
+    }
+}
@@ -20,9 +20,17 @@ package com.wso2.openbanking.accelerator.common.internal;
 
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.constant.OpenBankingConstants;
+import com.wso2.openbanking.accelerator.common.event.executor.OBEventBackpressurePolicy;
+import com.wso2.openbanking.accelerator.common.event.executor.OBEventExecutor;
 import com.wso2.openbanking.accelerator.common.event.executor.OBEventQueue;
+import com.wso2.openbanking.accelerator.common.util.CarbonUtils;
+import com.wso2.openbanking.accelerator.common.util.OpenBankingUtils;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -44,14 +52,38 @@ public class OpenBankingCommonDataHolder {
         int workerThreadCount =
                 Integer.parseInt((String) OpenBankingConfigParser.getInstance().getConfiguration()
                         .get(OpenBankingConstants.EVENT_WORKER_THREAD_COUNT));
-        obEventQueue = new OBEventQueue(queueSize, workerThreadCount);
+        OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
+        OBEventBackpressurePolicy backpressurePolicy =
+                OBEventBackpressurePolicy.fromValue(configParser.getEventBackpressurePolicy());
+        Path spillDirectory = null;
+        if (OBEventBackpressurePolicy.SPILL_TO_DISK == backpressurePolicy) {
+            spillDirectory = configParser.getEventSpillDirectory() != null ?
+                    Paths.get(configParser.getEventSpillDirectory()) :
+                    Paths.get(CarbonUtils.getCarbonHome(), "repository", "data", "ob-events");
+        }
+        obEventQueue = new OBEventQueue(queueSize, workerThreadCount, configParser.getEventBatchSize(),
+                backpressurePolicy, configParser.getEventBlockTimeoutInMillis(), spillDirectory,
+                configParser.getEventSpillSegmentSizeInMB() * 1024 * 1024);
         obEventExecutors = OpenBankingConfigParser.getInstance().getOpenBankingEventExecutors();
+        // the executors are instantiated here, so that an invalid executor class fails the activation
+        obEventQueue.setOBEventExecutors(resolveOBEventExecutors(obEventExecutors));
         setCommonCacheAccessExpiry((String) OpenBankingConfigParser.getInstance().getConfiguration()
                 .get(OpenBankingConstants.COMMON_IDENTITY_CACHE_ACCESS_EXPIRY));
         setCommonCacheModifiedExpiry((String) OpenBankingConfigParser.getInstance().getConfiguration()
                 .get(OpenBankingConstants.COMMON_IDENTITY_CACHE_MODIFY_EXPIRY));
     }
 
+    private static List<OBEventExecutor> resolveOBEventExecutors(Map<Integer, String> executorClasses) {
+
+        List<OBEventExecutor> executors = new ArrayList<>();
+        if (executorClasses != null) {
+            for (String executorClass : executorClasses.values()) {
+                executors.add((OBEventExecutor) OpenBankingUtils.getClassInstanceFromFQN(executorClass));
+            }
+        }
+        return executors;
+    }
+
     public static OpenBankingCommonDataHolder getInstance() {
 
         if (instance == null) {
@@ -72,6 +104,7 @@ public class OpenBankingCommonDataHolder {
     public void setOBEventExecutor(Map<Integer, String> obEventExecutors) {
 
         this.obEventExecutors = obEventExecutors;
+        obEventQueue.setOBEventExecutors(resolveOBEventExecutors(obEventExecutors));
     }
 
     public OBEventQueue getOBEventQueue() {
@@ -18,9 +18,12 @@
 
 package com.wso2.openbanking.accelerator.common.internal;
 
+import com.wso2.openbanking.accelerator.common.caching.metrics.OpenBankingCacheMetricsRegistry;
+import com.wso2.openbanking.accelerator.common.caching.metrics.OpenBankingCacheMetricsService;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigurationService;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigurationServiceImpl;
 import com.wso2.openbanking.accelerator.common.event.executor.OBEventQueue;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientRegistry;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.ComponentContext;
@@ -55,6 +58,8 @@ public class OpenBankingCommonServiceComponent {
                 openBankingCommonDataHolder.getOBEventQueue(), null);
         context.getBundleContext().registerService(ApplicationManagementService.class,
                 ApplicationManagementService.getInstance(), null);
+        context.getBundleContext().registerService(OpenBankingCacheMetricsService.class.getName(),
+                OpenBankingCacheMetricsRegistry.getInstance(), null);
 
         log.debug("Open banking common component is activated successfully");
     }
@@ -79,6 +84,11 @@ public class OpenBankingCommonServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        OBEventQueue obEventQueue = OpenBankingCommonDataHolder.getInstance().getOBEventQueue();
+        if (obEventQueue != null) {
+            obEventQueue.shutdown();
+        }
+        HTTPClientRegistry.getInstance().shutdown();
         log.debug("Open banking common component is deactivated");
     }
 }
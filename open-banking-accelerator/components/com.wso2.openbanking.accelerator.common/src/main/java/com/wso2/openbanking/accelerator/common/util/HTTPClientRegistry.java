@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.util;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of long-lived https clients, keyed by the purpose of the client.
+ * 1) Each purpose gets its own connection pool, which is shared by all the callers of the purpose, so that the
+ *    connections and the TLS sessions are reused across requests.
+ * 2) Idle and expired connections are evicted periodically by a single eviction thread.
+ * 3) The trust store file is checked in each eviction run. When it is changed, the clients are replaced with
+ *    clients built from the new trust store and the replaced clients are closed in the next run.
+ */
+public class HTTPClientRegistry {
+
+    private static final Log log = LogFactory.getLog(HTTPClientRegistry.class);
+
+    private static volatile HTTPClientRegistry instance;
+
+    private final Map<Purpose, PooledHttpClient> clients = new ConcurrentHashMap<>();
+    private final List<PooledHttpClient> retiredClients = new ArrayList<>();
+    private final AtomicLong trustStoreReloadCount = new AtomicLong();
+    private ScheduledExecutorService evictionExecutor;
+
+    /**
+     * Purposes for which pooled clients are maintained.
+     */
+    public enum Purpose {
+        OCSP,
+        CRL,
+        CONSENT_VALIDATION,
+        CONSENT_VALIDATION_MTLS,
+        REALTIME_EVENT_NOTIFICATION,
+        JWKS,
+        API_PUBLISHER
+    }
+
+    private HTTPClientRegistry() {
+
+    }
+
+    /**
+     * Get an instance of the HTTPClientRegistry. It implements a double checked locking initialization.
+     *
+     * @return HTTPClientRegistry instance
+     */
+    public static HTTPClientRegistry getInstance() {
+
+        if (instance == null) {
+            synchronized (HTTPClientRegistry.class) {
+                if (instance == null) {
+                    instance = new HTTPClientRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the pooled client of the given purpose. The client is created on the first request. Since the client is
+     * shared, the callers should close the responses instead of the client.
+     *
+     * @param purpose purpose of the client
+     * @return Shared closeable https client
+     * @throws OpenBankingException when the client cannot be created
+     */
+    public CloseableHttpClient getClient(Purpose purpose) throws OpenBankingException {
+
+        PooledHttpClient pooledHttpClient = clients.get(purpose);
+        if (pooledHttpClient == null) {
+            synchronized (this) {
+                pooledHttpClient = clients.get(purpose);
+                if (pooledHttpClient == null) {
+                    pooledHttpClient = new PooledHttpClient(getTrustStoreLastModified(),
+                            createConnectionManager(purpose));
+                    clients.put(purpose, pooledHttpClient);
+                    startEviction();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Created pooled https client for purpose : " + purpose);
+                    }
+                }
+            }
+        }
+        return pooledHttpClient.httpClient;
+    }
+
+    /**
+     * Get the statistics of the connection pool of the given purpose.
+     *
+     * @param purpose purpose of the client
+     * @return leased, pending, available and maximum connection counts, or null if the client is not created yet
+     */
+    public PoolStats getPoolStats(Purpose purpose) {
+
+        PooledHttpClient pooledHttpClient = clients.get(purpose);
+        return pooledHttpClient == null ? null : pooledHttpClient.connectionManager.getTotalStats();
+    }
+
+    /**
+     * Get the number of clients replaced due to trust store changes.
+     *
+     * @return trust store reload count
+     */
+    public long getTrustStoreReloadCount() {
+
+        return trustStoreReloadCount.get();
+    }
+
+    /**
+     * Evict the idle and expired connections, close the clients replaced in the previous run and replace the
+     * clients built from an outdated trust store. Runs on the eviction thread in each eviction interval.
+     */
+    public synchronized void evictConnections() {
+
+        for (PooledHttpClient retiredClient : retiredClients) {
+            retiredClient.close();
+        }
+        retiredClients.clear();
+
+        long trustStoreLastModified = getTrustStoreLastModified();
+        int idleConnectionTimeout = OpenBankingConfigParser.getInstance().getConnectionPoolIdleConnectionTimeout();
+        for (Map.Entry<Purpose, PooledHttpClient> client : clients.entrySet()) {
+            PooledHttpClient pooledHttpClient = client.getValue();
+            if (pooledHttpClient.trustStoreLastModified != trustStoreLastModified) {
+                // in-flight requests of the replaced client are completed before it is closed in the next run
+                clients.remove(client.getKey());
+                retiredClients.add(pooledHttpClient);
+                trustStoreReloadCount.incrementAndGet();
+                log.info("Trust store is changed, hence reloading the pooled https client for purpose : " +
+                        client.getKey());
+                continue;
+            }
+            pooledHttpClient.connectionManager.closeExpiredConnections();
+            pooledHttpClient.connectionManager.closeIdleConnections(idleConnectionTimeout, TimeUnit.SECONDS);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Connection pool statistics of purpose %s : %s", client.getKey(),
+                        pooledHttpClient.connectionManager.getTotalStats()));
+            }
+        }
+    }
+
+    /**
+     * Close all the clients and stop the eviction thread.
+     */
+    public synchronized void shutdown() {
+
+        if (evictionExecutor != null) {
+            evictionExecutor.shutdownNow();
+            evictionExecutor = null;
+        }
+        for (PooledHttpClient pooledHttpClient : clients.values()) {
+            pooledHttpClient.close();
+        }
+        for (PooledHttpClient retiredClient : retiredClients) {
+            retiredClient.close();
+        }
+        clients.clear();
+        retiredClients.clear();
+    }
+
+    private void startEviction() {
+
+        if (evictionExecutor != null) {
+            return;
+        }
+        int evictionInterval = Math.max(1, OpenBankingConfigParser.getInstance().getConnectionPoolEvictionInterval());
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ob-http-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictionExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                evictConnections();
+            } catch (RuntimeException e) {
+                // the exception is not propagated since it would suppress the subsequent runs
+                log.error("Error occurred while evicting pooled https connections", e);
+            }
+        }, evictionInterval, evictionInterval, TimeUnit.SECONDS);
+    }
+
+    private static PoolingHttpClientConnectionManager createConnectionManager(Purpose purpose)
+            throws OpenBankingException {
+
+        if (Purpose.CONSENT_VALIDATION_MTLS == purpose) {
+            // the consent validation calls of the mutual TLS channel present the server certificate
+            return HTTPClientUtils.getMutualTLSPoolingConnectionManager();
+        }
+        PoolingHttpClientConnectionManager connectionManager = HTTPClientUtils.getPoolingConnectionManager();
+        if (Purpose.REALTIME_EVENT_NOTIFICATION == purpose) {
+            // realtime event notifications keep their configured pool size of a connection per each attempt
+            int maxConnections = OpenBankingConfigParser.getInstance().getRealtimeEventNotificationMaxRetries() + 1;
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnections);
+        }
+        return connectionManager;
+    }
+
+    private static long getTrustStoreLastModified() {
+
+        String trustStoreLocation = HTTPClientUtils.getTrustStoreLocation();
+        return trustStoreLocation == null ? 0 : new File(trustStoreLocation).lastModified();
+    }
+
+    /**
+     * Pooled client along with its connection manager and the modified time of the trust store it is built from.
+     */
+    private static class PooledHttpClient {
+
+        private final long trustStoreLastModified;
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final CloseableHttpClient httpClient;
+
+        PooledHttpClient(long trustStoreLastModified, PoolingHttpClientConnectionManager connectionManager) {
+
+            this.trustStoreLastModified = trustStoreLastModified;
+            this.connectionManager = connectionManager;
+            // the connection manager is not shut down even if a caller closes the shared client
+            this.httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setConnectionManagerShared(true)
+                    .build();
+        }
+
+        void close() {
+
+            connectionManager.shutdown();
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.apache.http.conn.ssl.X509HostnameVerifier;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.SSLContexts;
 import org.wso2.carbon.base.ServerConfiguration;
 
@@ -43,6 +44,7 @@ import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 
 import javax.net.ssl.SSLContext;
@@ -57,6 +59,10 @@ public class HTTPClientUtils {
     public static final String HOST_NAME_VERIFIER = "httpclient.hostnameVerifier";
     public static final String HTTP_PROTOCOL = "http";
     public static final String HTTPS_PROTOCOL = "https";
+    private static final String TRUST_STORE_LOCATION = "Security.TrustStore.Location";
+    private static final String KEY_STORE_LOCATION = "Security.KeyStore.Location";
+    private static final String KEY_STORE_PASSWORD = "Security.KeyStore.Password";
+    private static final String KEY_STORE_KEY_PASSWORD = "Security.KeyStore.KeyPassword";
     private static final String[] SUPPORTED_HTTP_PROTOCOLS = {"TLSv1.2"};
     private static final Log log = LogFactory.getLog(DatabaseUtil.class);
 
@@ -68,7 +74,55 @@ public class HTTPClientUtils {
      */
     public static CloseableHttpClient getHttpsClient() throws OpenBankingException {
 
-        SSLConnectionSocketFactory sslsf = createSSLConnectionSocketFactory();
+        return HttpClients.custom().setConnectionManager(getPoolingConnectionManager()).build();
+    }
+
+    /**
+     * Get the long-lived pooled https client registered for the given purpose. The client is shared by all the
+     * callers of the same purpose, hence it should not be closed by the callers.
+     *
+     * @param purpose purpose of the client
+     * @return Shared closeable https client
+     * @throws OpenBankingException OpenBankingException exception
+     */
+    public static CloseableHttpClient getPooledHttpsClient(HTTPClientRegistry.Purpose purpose)
+            throws OpenBankingException {
+
+        return HTTPClientRegistry.getInstance().getClient(purpose);
+    }
+
+    /**
+     * Get a pooling connection manager which trusts the server trust store, configured with the maximum
+     * connection counts of the HTTP connection pool.
+     *
+     * @return PoolingHttpClientConnectionManager
+     * @throws OpenBankingException OpenBankingException exception
+     */
+    public static PoolingHttpClientConnectionManager getPoolingConnectionManager() throws OpenBankingException {
+
+        return createPoolingConnectionManager(createSSLConnectionSocketFactory());
+    }
+
+    /**
+     * Get a pooling connection manager which trusts the server trust store and presents the server key store
+     * certificate as the client certificate, for the internal calls authenticated with mutual TLS.
+     *
+     * @return PoolingHttpClientConnectionManager
+     * @throws OpenBankingException OpenBankingException exception
+     */
+    @Generated(message = "Ignoring because ServerConfiguration cannot be mocked")
+    public static PoolingHttpClientConnectionManager getMutualTLSPoolingConnectionManager()
+            throws OpenBankingException {
+
+        ServerConfiguration serverConfiguration = ServerConfiguration.getInstance();
+        KeyStore keyStore = loadKeyStore(serverConfiguration.getFirstProperty(KEY_STORE_LOCATION),
+                serverConfiguration.getFirstProperty(KEY_STORE_PASSWORD));
+        String keyPassword = serverConfiguration.getFirstProperty(KEY_STORE_KEY_PASSWORD);
+        return createPoolingConnectionManager(createSSLConnectionSocketFactory(keyStore, keyPassword.toCharArray()));
+    }
+
+    private static PoolingHttpClientConnectionManager createPoolingConnectionManager(
+            SSLConnectionSocketFactory sslsf) {
 
         Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
                 .register(HTTP_PROTOCOL, new PlainConnectionSocketFactory())
@@ -84,36 +138,41 @@ public class HTTPClientUtils {
         connectionManager.setDefaultMaxPerRoute(OpenBankingConfigParser.getInstance()
                 .getConnectionPoolMaxConnectionsPerRoute());
 
-        return HttpClients.custom().setConnectionManager(connectionManager).build();
+        return connectionManager;
     }
 
     /**
-     * Get closeable https client to send realtime event notifications.
+     * Get the location of the server trust store.
      *
-     * @return Closeable https client
-     * @throws OpenBankingException OpenBankingException exception
+     * @return trust store location
      */
-    @Generated(message = "Ignoring since method contains no logics")
-    public static CloseableHttpClient getRealtimeEventNotificationHttpsClient() throws OpenBankingException {
+    @Generated(message = "Ignoring because ServerConfiguration cannot be mocked")
+    public static String getTrustStoreLocation() {
 
-        SSLConnectionSocketFactory sslsf = createSSLConnectionSocketFactory();
+        return ServerConfiguration.getInstance().getFirstProperty(TRUST_STORE_LOCATION);
+    }
 
-        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
-                .register(HTTP_PROTOCOL, new PlainConnectionSocketFactory())
-                .register(HTTPS_PROTOCOL, sslsf)
-                .build();
+    /**
+     * Get a SSL context which trusts the server trust store, for the clients which are not built on a blocking
+     * connection manager.
+     *
+     * @return SSLContext
+     * @throws OpenBankingException OpenBankingException exception
+     */
+    @Generated(message = "Ignoring because ServerConfiguration cannot be mocked")
+    public static SSLContext getSSLContext() throws OpenBankingException {
 
-        final PoolingHttpClientConnectionManager connectionManager = (socketFactoryRegistry != null) ?
-                new PoolingHttpClientConnectionManager(socketFactoryRegistry) :
-                new PoolingHttpClientConnectionManager();
+        return createSSLContext(null, null);
+    }
 
-        // configuring default maximum connections
-        connectionManager.setMaxTotal(OpenBankingConfigParser.getInstance()
-                .getRealtimeEventNotificationMaxRetries() + 1);
-        connectionManager.setDefaultMaxPerRoute(OpenBankingConfigParser.getInstance()
-                .getRealtimeEventNotificationMaxRetries() + 1);
+    /**
+     * Get the TLS protocols supported by the https clients.
+     *
+     * @return supported protocols
+     */
+    public static String[] getSupportedHttpProtocols() {
 
-        return HttpClients.custom().setConnectionManager(connectionManager).build();
+        return SUPPORTED_HTTP_PROTOCOLS.clone();
     }
 
     /**
@@ -126,24 +185,60 @@ public class HTTPClientUtils {
     private static SSLConnectionSocketFactory createSSLConnectionSocketFactory()
             throws OpenBankingException {
 
+        return createSSLConnectionSocketFactory(null, null);
+    }
+
+    /**
+     * create a SSL Connection Socket Factory, which presents the key of the given key store as the client
+     * certificate when a key store is given.
+     *
+     * @param keyStore    key store holding the client key, or null to skip the client authentication
+     * @param keyPassword password of the client key
+     * @return SSLConnectionSocketFactory
+     * @throws OpenBankingException
+     */
+    @Generated(message = "Ignoring because ServerConfiguration cannot be mocked")
+    private static SSLConnectionSocketFactory createSSLConnectionSocketFactory(KeyStore keyStore, char[] keyPassword)
+            throws OpenBankingException {
+
+        // Allow TLSv1 protocol only
+        return new SSLConnectionSocketFactory(createSSLContext(keyStore, keyPassword), SUPPORTED_HTTP_PROTOCOLS,
+                null, getX509HostnameVerifier());
+
+    }
+
+    /**
+     * create a SSL context, which trusts the server trust store and presents the key of the given key store as
+     * the client certificate when a key store is given.
+     *
+     * @param keyStore    key store holding the client key, or null to skip the client authentication
+     * @param keyPassword password of the client key
+     * @return SSLContext
+     * @throws OpenBankingException
+     */
+    @Generated(message = "Ignoring because ServerConfiguration cannot be mocked")
+    private static SSLContext createSSLContext(KeyStore keyStore, char[] keyPassword) throws OpenBankingException {
+
         KeyStore trustStore = null;
 
         trustStore = loadKeyStore(
-                ServerConfiguration.getInstance().getFirstProperty("Security.TrustStore.Location"),
+                getTrustStoreLocation(),
                 ServerConfiguration.getInstance().getFirstProperty("Security.TrustStore.Password"));
 
         // Trust own CA and all self-signed certs
         SSLContext sslcontext = null;
         try {
-            sslcontext = SSLContexts.custom().loadTrustMaterial(trustStore, new TrustSelfSignedStrategy()).build();
-        } catch (NoSuchAlgorithmException | KeyManagementException | KeyStoreException e) {
+            SSLContextBuilder sslContextBuilder = SSLContexts.custom()
+                    .loadTrustMaterial(trustStore, new TrustSelfSignedStrategy());
+            if (keyStore != null) {
+                sslContextBuilder.loadKeyMaterial(keyStore, keyPassword);
+            }
+            sslcontext = sslContextBuilder.build();
+        } catch (NoSuchAlgorithmException | KeyManagementException | KeyStoreException |
+                UnrecoverableKeyException e) {
             throw new OpenBankingException("Unable to create the ssl context", e);
         }
-
-        // Allow TLSv1 protocol only
-        return new SSLConnectionSocketFactory(sslcontext, SUPPORTED_HTTP_PROTOCOLS,
-                null, getX509HostnameVerifier());
-
+        return sslcontext;
     }
 
     /**
@@ -440,6 +440,11 @@ public class OBConfigParserTests {
         Assert.assertEquals(openBankingConfigParser.getRealtimeEventNotificationCircuitBreakerOpenTimeoutInSeconds(),
                 600);
         Assert.assertEquals(openBankingConfigParser.getEventNotificationThreadpoolSize(), 20);
+        Assert.assertEquals(openBankingConfigParser.getRealtimeEventNotificationMaxConcurrentRequestsPerHost(), 5);
+        Assert.assertEquals(
+                openBankingConfigParser.getRealtimeEventNotificationHostCircuitBreakerFailureThreshold(), 3);
+        Assert.assertEquals(
+                openBankingConfigParser.getRealtimeEventNotificationHostCircuitBreakerOpenTimeoutInSeconds(), 30);
         Assert.assertEquals(openBankingConfigParser.getRealtimeEventNotificationRequestGenerator(),
                 "com.wso2.openbanking.accelerator.event.notifications.service.realtime" +
                         ".service.DefaultRealtimeEventNotificationRequestGenerator");
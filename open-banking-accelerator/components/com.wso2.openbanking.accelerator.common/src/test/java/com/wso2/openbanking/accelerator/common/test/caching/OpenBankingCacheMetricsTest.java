@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.test.caching;
+
+import com.wso2.openbanking.accelerator.common.caching.OpenBankingNearCache;
+import com.wso2.openbanking.accelerator.common.caching.metrics.OpenBankingCacheMetrics;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test for Open Banking cache metrics.
+ */
+public class OpenBankingCacheMetricsTest {
+
+    @Test
+    public void testHitMissCounters() {
+
+        OpenBankingCacheMetrics metrics = new OpenBankingCacheMetrics("test-cache");
+        metrics.recordHit();
+        metrics.recordHit();
+        metrics.recordHit();
+        metrics.recordMiss();
+
+        Assert.assertEquals(metrics.getHitCount(), 3);
+        Assert.assertEquals(metrics.getMissCount(), 1);
+        Assert.assertEquals(metrics.getHitRatio(), 0.75);
+    }
+
+    @Test
+    public void testLoadTimeHistogram() {
+
+        OpenBankingCacheMetrics metrics = new OpenBankingCacheMetrics("test-cache");
+        metrics.recordLoad(TimeUnit.MICROSECONDS.toNanos(500), true);
+        metrics.recordLoad(TimeUnit.MILLISECONDS.toNanos(30), true);
+        metrics.recordLoad(TimeUnit.SECONDS.toNanos(10), false);
+
+        Map<String, Long> histogram = metrics.getLoadTimeHistogram();
+        Assert.assertEquals(metrics.getLoadCount(), 2);
+        Assert.assertEquals(metrics.getLoadFailureCount(), 1);
+        Assert.assertEquals(histogram.get("<=1ms").longValue(), 1);
+        Assert.assertEquals(histogram.get("<=50ms").longValue(), 1);
+        Assert.assertEquals(histogram.get(">5000ms").longValue(), 1);
+
+        metrics.reset();
+        Assert.assertEquals(metrics.getLoadCount(), 0);
+        Assert.assertEquals(metrics.getAverageLoadTimeMillis(), 0.0);
+    }
+
+    @Test
+    public void testNearCacheEvictionsAreRecorded() throws InterruptedException {
+
+        OpenBankingCacheMetrics metrics = new OpenBankingCacheMetrics("test-cache");
+        OpenBankingNearCache<Integer, String> nearCache = new OpenBankingNearCache<>(16, 10, TimeUnit.MILLISECONDS,
+                (key, value) -> 1, metrics::recordEvictions);
+        metrics.setSizeSupplier(nearCache::size);
+
+        for (int i = 0; i < 100; i++) {
+            nearCache.put(i, "value");
+        }
+        Assert.assertEquals(metrics.getSize() + metrics.getEvictionCount(), 100);
+
+        Thread.sleep(50);
+        for (int i = 0; i < 100; i++) {
+            nearCache.get(i);
+        }
+        Assert.assertEquals(metrics.getSize(), 0);
+        Assert.assertEquals(metrics.getEvictionCount(), 100);
+    }
+}
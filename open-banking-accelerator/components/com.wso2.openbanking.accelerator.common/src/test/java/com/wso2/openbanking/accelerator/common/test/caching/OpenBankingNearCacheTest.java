@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.test.caching;
+
+import com.wso2.openbanking.accelerator.common.caching.OpenBankingNearCache;
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test for Open Banking near cache.
+ */
+public class OpenBankingNearCacheTest {
+
+    @Test
+    public void testPutAndGet() {
+
+        OpenBankingNearCache<String, String> nearCache = new OpenBankingNearCache<>(100, 1, TimeUnit.MINUTES,
+                (key, value) -> 1);
+        nearCache.put("key", "value");
+
+        Assert.assertEquals(nearCache.get("key"), "value");
+        Assert.assertEquals(nearCache.size(), 1);
+
+        nearCache.invalidate("key");
+        Assert.assertNull(nearCache.get("key"));
+        Assert.assertEquals(nearCache.weight(), 0);
+    }
+
+    @Test
+    public void testEntryExpiry() throws InterruptedException {
+
+        OpenBankingNearCache<String, String> nearCache = new OpenBankingNearCache<>(100, 10, TimeUnit.MILLISECONDS,
+                (key, value) -> 1);
+        nearCache.put("key", "value");
+        Thread.sleep(50);
+
+        Assert.assertNull(nearCache.get("key"));
+        Assert.assertEquals(nearCache.size(), 0);
+    }
+
+    @Test
+    public void testWeightBasedEviction() {
+
+        OpenBankingNearCache<Integer, String> nearCache = new OpenBankingNearCache<>(160, 1, TimeUnit.MINUTES,
+                (key, value) -> value.length());
+        for (int i = 0; i < 1000; i++) {
+            nearCache.put(i, "0123456789");
+        }
+
+        Assert.assertTrue(nearCache.weight() <= 160);
+        Assert.assertEquals(nearCache.weight(), nearCache.size() * 10L);
+    }
+
+    @Test
+    public void testDisabledNearCache() {
+
+        OpenBankingNearCache<String, String> nearCache = new OpenBankingNearCache<>(0, 1, TimeUnit.MINUTES,
+                (key, value) -> 1);
+        nearCache.put("key", "value");
+
+        Assert.assertNull(nearCache.get("key"));
+    }
+
+    @Test
+    public void testConcurrentLoadsAreCollapsed() throws Exception {
+
+        OpenBankingNearCache<String, String> nearCache = new OpenBankingNearCache<>(100, 1, TimeUnit.MINUTES,
+                (key, value) -> 1);
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executorService.submit(() -> nearCache.getOrLoad("key", () -> {
+                    loadCount.incrementAndGet();
+                    loadStarted.countDown();
+                    awaitQuietly(releaseLoad);
+                    nearCache.put("key", "value");
+                    return "value";
+                })));
+            }
+            loadStarted.await();
+            Thread.sleep(100);
+            releaseLoad.countDown();
+
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), "value");
+            }
+            Assert.assertEquals(loadCount.get(), 1);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(expectedExceptions = OpenBankingException.class)
+    public void testLoaderFailureIsPropagated() throws OpenBankingException {
+
+        OpenBankingNearCache<String, String> nearCache = new OpenBankingNearCache<>(100, 1, TimeUnit.MINUTES,
+                (key, value) -> 1);
+        nearCache.getOrLoad("key", () -> {
+            throw new OpenBankingException("Unable to load");
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
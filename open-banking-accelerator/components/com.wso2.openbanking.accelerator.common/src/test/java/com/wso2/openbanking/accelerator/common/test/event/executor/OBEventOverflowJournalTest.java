@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.test.event.executor;
+
+import com.wso2.openbanking.accelerator.common.event.executor.OBEventOverflowJournal;
+import com.wso2.openbanking.accelerator.common.event.executor.model.OBEvent;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Test for the Open Banking event overflow journal.
+ */
+public class OBEventOverflowJournalTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Test
+    public void testEventsAreReadInOrder() throws IOException {
+
+        OBEventOverflowJournal journal = new OBEventOverflowJournal(Files.createTempDirectory("ob-events"),
+                SEGMENT_SIZE);
+        for (int i = 0; i < 20; i++) {
+            journal.append(createEvent(i));
+        }
+        Assert.assertEquals(journal.size(), 20);
+
+        List<String> eventTypes = getEventTypes(journal.poll(100));
+        Assert.assertEquals(eventTypes.size(), 20);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(eventTypes.get(i), "event-" + i);
+        }
+        Assert.assertTrue(journal.isEmpty());
+        journal.close();
+    }
+
+    @Test
+    public void testReplayResumesFromCommittedPosition() throws IOException {
+
+        Path directory = Files.createTempDirectory("ob-events");
+        OBEventOverflowJournal journal = new OBEventOverflowJournal(directory, SEGMENT_SIZE);
+        for (int i = 0; i < 10; i++) {
+            journal.append(createEvent(i));
+        }
+        Assert.assertEquals(getEventTypes(journal.poll(4)).get(3), "event-3");
+        journal.commit();
+        // Read but not committed, hence replayed after the restart.
+        Assert.assertEquals(journal.poll(2).size(), 2);
+        journal.close();
+
+        OBEventOverflowJournal reopenedJournal = new OBEventOverflowJournal(directory, SEGMENT_SIZE);
+        Assert.assertEquals(reopenedJournal.size(), 6);
+        reopenedJournal.append(createEvent(10));
+
+        List<String> eventTypes = getEventTypes(reopenedJournal.poll(100));
+        Assert.assertEquals(eventTypes.size(), 7);
+        Assert.assertEquals(eventTypes.get(0), "event-4");
+        Assert.assertEquals(eventTypes.get(6), "event-10");
+        reopenedJournal.commit();
+        reopenedJournal.close();
+
+        Assert.assertEquals(new OBEventOverflowJournal(directory, SEGMENT_SIZE).size(), 0);
+        try (Stream<Path> files = Files.list(directory)) {
+            // Only the checkpoint and the segment currently written remain.
+            Assert.assertEquals(files.count(), 2);
+        }
+    }
+
+    @Test
+    public void testRollbackReadsEventsAgain() throws IOException {
+
+        OBEventOverflowJournal journal = new OBEventOverflowJournal(Files.createTempDirectory("ob-events"),
+                SEGMENT_SIZE);
+        for (int i = 0; i < 5; i++) {
+            journal.append(createEvent(i));
+        }
+        journal.poll(3);
+        journal.rollback();
+        Assert.assertEquals(journal.size(), 5);
+        Assert.assertEquals(getEventTypes(journal.poll(1)).get(0), "event-0");
+        journal.close();
+    }
+
+    private static OBEvent createEvent(int index) {
+
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put("ConsentId", "consent-" + index);
+        return new OBEvent("event-" + index, eventData);
+    }
+
+    private static List<String> getEventTypes(List<OBEvent> events) {
+
+        List<String> eventTypes = new ArrayList<>();
+        for (OBEvent event : events) {
+            eventTypes.add(event.getEventType());
+        }
+        return eventTypes;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.test.event.executor;
+
+import com.wso2.openbanking.accelerator.common.event.executor.OBEventBackpressurePolicy;
+import com.wso2.openbanking.accelerator.common.event.executor.OBEventExecutor;
+import com.wso2.openbanking.accelerator.common.event.executor.OBEventQueue;
+import com.wso2.openbanking.accelerator.common.event.executor.model.OBEvent;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test for the batching and backpressure behaviour of the Open Banking event queue.
+ */
+public class OBEventQueueTest {
+
+    @Test
+    public void testEventsAreProcessedInBatches() throws InterruptedException {
+
+        OBEventQueue obEventQueue = new OBEventQueue(1000, 2);
+        RecordingExecutor executor = new RecordingExecutor(null);
+        obEventQueue.setOBEventExecutors(Collections.singletonList(executor));
+        try {
+            for (int i = 0; i < 500; i++) {
+                obEventQueue.put(new OBEvent("event-" + i, new HashMap<>()));
+            }
+            Assert.assertTrue(executor.awaitEvents(500));
+            Assert.assertEquals(obEventQueue.getMetrics().getPublishedCount(), 500);
+            Assert.assertEquals(obEventQueue.getMetrics().getProcessedCount(), 500);
+            Assert.assertTrue(obEventQueue.getMetrics().getBatchCount() <= 500);
+            Assert.assertEquals(obEventQueue.getMetrics().getDroppedCount(), 0);
+        } finally {
+            obEventQueue.shutdown();
+        }
+    }
+
+    @Test
+    public void testDropNewestPolicyIsDefault() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        OBEventQueue obEventQueue = new OBEventQueue(2, 1);
+        RecordingExecutor executor = new RecordingExecutor(release);
+        obEventQueue.setOBEventExecutors(Collections.singletonList(executor));
+        try {
+            Assert.assertEquals(obEventQueue.getBackpressurePolicy(), OBEventBackpressurePolicy.DROP_NEWEST);
+            obEventQueue.put(new OBEvent("event-0", new HashMap<>()));
+            Assert.assertTrue(executor.started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < 4; i++) {
+                obEventQueue.put(new OBEvent("event-" + i, new HashMap<>()));
+            }
+            Assert.assertEquals(obEventQueue.getMetrics().getDroppedCount(), 1);
+            Assert.assertEquals(obEventQueue.getMetrics().getBlockedCount(), 0);
+            release.countDown();
+
+            Assert.assertTrue(executor.awaitEvents(3));
+            Assert.assertEquals(executor.getEventTypes(), Arrays.asList("event-0", "event-1", "event-2"));
+        } finally {
+            obEventQueue.shutdown();
+        }
+    }
+
+    @Test
+    public void testDropOldestPolicy() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        OBEventQueue obEventQueue = new OBEventQueue(2, 1, 10, OBEventBackpressurePolicy.DROP_OLDEST, 0, null);
+        RecordingExecutor executor = new RecordingExecutor(release);
+        obEventQueue.setOBEventExecutors(Collections.singletonList(executor));
+        try {
+            obEventQueue.put(new OBEvent("event-0", new HashMap<>()));
+            Assert.assertTrue(executor.started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < 4; i++) {
+                obEventQueue.put(new OBEvent("event-" + i, new HashMap<>()));
+            }
+            Assert.assertEquals(obEventQueue.getMetrics().getDroppedCount(), 1);
+            release.countDown();
+
+            Assert.assertTrue(executor.awaitEvents(3));
+            Assert.assertEquals(executor.getEventTypes(), Arrays.asList("event-0", "event-2", "event-3"));
+        } finally {
+            obEventQueue.shutdown();
+        }
+    }
+
+    @Test
+    public void testSpillToDiskPolicy() throws InterruptedException, IOException {
+
+        Path spillDirectory = Files.createTempDirectory("ob-event-spill");
+        CountDownLatch release = new CountDownLatch(1);
+        OBEventQueue obEventQueue = new OBEventQueue(2, 1, 10, OBEventBackpressurePolicy.SPILL_TO_DISK, 0,
+                spillDirectory);
+        RecordingExecutor executor = new RecordingExecutor(release);
+        obEventQueue.setOBEventExecutors(Collections.singletonList(executor));
+        try {
+            Assert.assertEquals(obEventQueue.getBackpressurePolicy(), OBEventBackpressurePolicy.SPILL_TO_DISK);
+            obEventQueue.put(new OBEvent("event-0", new HashMap<>()));
+            Assert.assertTrue(executor.started.await(5, TimeUnit.SECONDS));
+            List<String> expected = new ArrayList<>();
+            expected.add("event-0");
+            for (int i = 1; i < 6; i++) {
+                obEventQueue.put(new OBEvent("event-" + i, new HashMap<>()));
+                expected.add("event-" + i);
+            }
+            Assert.assertEquals(obEventQueue.getMetrics().getSpilledCount(), 3);
+            Assert.assertEquals(obEventQueue.getMetrics().getSpilledDepth(), 3);
+            release.countDown();
+
+            Assert.assertTrue(executor.awaitEvents(6));
+            Assert.assertEquals(executor.getEventTypes(), expected);
+            Assert.assertEquals(obEventQueue.getMetrics().getDroppedCount(), 0);
+            Assert.assertEquals(obEventQueue.getMetrics().getSpilledDepth(), 0);
+        } finally {
+            obEventQueue.shutdown();
+        }
+    }
+
+    /**
+     * Executor recording the processed events, optionally blocking on the first batch.
+     */
+    private static class RecordingExecutor implements OBEventExecutor {
+
+        private final List<String> eventTypes = new ArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingExecutor(CountDownLatch release) {
+
+            this.release = release;
+        }
+
+        @Override
+        public void processEvent(OBEvent obEvent) {
+
+            synchronized (eventTypes) {
+                eventTypes.add(obEvent.getEventType());
+                eventTypes.notifyAll();
+            }
+        }
+
+        @Override
+        public void processEvents(List<OBEvent> obEvents) {
+
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            OBEventExecutor.super.processEvents(obEvents);
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+
+            long deadline = System.currentTimeMillis() + 5000;
+            synchronized (eventTypes) {
+                while (eventTypes.size() < count && System.currentTimeMillis() < deadline) {
+                    eventTypes.wait(100);
+                }
+                return eventTypes.size() == count;
+            }
+        }
+
+        List<String> getEventTypes() {
+
+            synchronized (eventTypes) {
+                return new ArrayList<>(eventTypes);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.common.test.util;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientRegistry;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.Assert;
+import org.testng.IObjectFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Test class for HTTPClientRegistry.
+ */
+@PrepareForTest({HTTPClientUtils.class, OpenBankingConfigParser.class})
+@PowerMockIgnore({"jdk.internal.reflect.*"})
+public class HTTPClientRegistryTest {
+
+    private File trustStore;
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    @BeforeMethod
+    public void initMethod() throws OpenBankingException, IOException {
+
+        trustStore = File.createTempFile("client-truststore", ".jks");
+
+        OpenBankingConfigParser openBankingConfigParserMock = PowerMockito.mock(OpenBankingConfigParser.class);
+        Mockito.doReturn(30).when(openBankingConfigParserMock).getConnectionPoolIdleConnectionTimeout();
+        Mockito.doReturn(5).when(openBankingConfigParserMock).getConnectionPoolEvictionInterval();
+        Mockito.doReturn(3).when(openBankingConfigParserMock).getRealtimeEventNotificationMaxRetries();
+        PowerMockito.mockStatic(OpenBankingConfigParser.class);
+        PowerMockito.when(OpenBankingConfigParser.getInstance()).thenReturn(openBankingConfigParserMock);
+
+        PowerMockito.mockStatic(HTTPClientUtils.class);
+        PowerMockito.when(HTTPClientUtils.getTrustStoreLocation()).thenReturn(trustStore.getAbsolutePath());
+        PowerMockito.when(HTTPClientUtils.getPoolingConnectionManager())
+                .thenAnswer(invocation -> new PoolingHttpClientConnectionManager());
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+
+        HTTPClientRegistry.getInstance().shutdown();
+        trustStore.delete();
+    }
+
+    @Test
+    public void testGetClient() throws OpenBankingException {
+
+        HTTPClientRegistry registry = HTTPClientRegistry.getInstance();
+        CloseableHttpClient ocspClient = registry.getClient(HTTPClientRegistry.Purpose.OCSP);
+
+        Assert.assertNotNull(ocspClient);
+        Assert.assertSame(registry.getClient(HTTPClientRegistry.Purpose.OCSP), ocspClient);
+        Assert.assertNotSame(registry.getClient(HTTPClientRegistry.Purpose.CRL), ocspClient);
+    }
+
+    @Test
+    public void testGetPoolStats() throws OpenBankingException {
+
+        HTTPClientRegistry registry = HTTPClientRegistry.getInstance();
+        Assert.assertNull(registry.getPoolStats(HTTPClientRegistry.Purpose.JWKS));
+
+        registry.getClient(HTTPClientRegistry.Purpose.JWKS);
+        PoolStats poolStats = registry.getPoolStats(HTTPClientRegistry.Purpose.JWKS);
+
+        Assert.assertNotNull(poolStats);
+        Assert.assertEquals(poolStats.getLeased(), 0);
+        Assert.assertEquals(poolStats.getMax(), new PoolingHttpClientConnectionManager().getMaxTotal());
+    }
+
+    @Test
+    public void testRealtimeEventNotificationPoolSize() throws OpenBankingException {
+
+        HTTPClientRegistry registry = HTTPClientRegistry.getInstance();
+        registry.getClient(HTTPClientRegistry.Purpose.REALTIME_EVENT_NOTIFICATION);
+
+        Assert.assertEquals(registry.getPoolStats(HTTPClientRegistry.Purpose.REALTIME_EVENT_NOTIFICATION).getMax(), 4);
+    }
+
+    @Test
+    public void testEvictConnectionsWithUnchangedTrustStore() throws OpenBankingException {
+
+        HTTPClientRegistry registry = HTTPClientRegistry.getInstance();
+        CloseableHttpClient client = registry.getClient(HTTPClientRegistry.Purpose.CONSENT_VALIDATION);
+        long trustStoreReloadCount = registry.getTrustStoreReloadCount();
+
+        registry.evictConnections();
+
+        Assert.assertSame(registry.getClient(HTTPClientRegistry.Purpose.CONSENT_VALIDATION), client);
+        Assert.assertEquals(registry.getTrustStoreReloadCount(), trustStoreReloadCount);
+    }
+
+    @Test
+    public void testEvictConnectionsWithChangedTrustStore() throws OpenBankingException {
+
+        HTTPClientRegistry registry = HTTPClientRegistry.getInstance();
+        CloseableHttpClient client = registry.getClient(HTTPClientRegistry.Purpose.REALTIME_EVENT_NOTIFICATION);
+        long trustStoreReloadCount = registry.getTrustStoreReloadCount();
+
+        Assert.assertTrue(trustStore.setLastModified(trustStore.lastModified() + 10000));
+        registry.evictConnections();
+
+        Assert.assertNotSame(registry.getClient(HTTPClientRegistry.Purpose.REALTIME_EVENT_NOTIFICATION), client);
+        Assert.assertEquals(registry.getTrustStoreReloadCount(), trustStoreReloadCount + 1);
+    }
+}
@@ -35,6 +35,7 @@ import java.util.stream.Collectors;
 public abstract class AbstractRequestRouter {
 
     private Map<String, List<OpenBankingGatewayExecutor>> executorMap = new HashMap<>();
+    private volatile ExecutorRoutingTable routingTable = ExecutorRoutingTable.compile(executorMap);
 
     /**
      * Initiation method of the Router.
@@ -45,13 +46,44 @@ public abstract class AbstractRequestRouter {
 
         Map<String, Map<Integer, String>> executorConfig =
                 GatewayDataHolder.getInstance().getOpenBankingConfigurationService().getExecutors();
+        Map<String, List<OpenBankingGatewayExecutor>> configuredExecutorMap = new HashMap<>();
         executorConfig.keySet().forEach(consentType -> {
             Map<Integer, String> integerStringMap = executorConfig.get(consentType);
             List<OpenBankingGatewayExecutor> executorList = integerStringMap.keySet().stream()
                     .map(integer -> (OpenBankingGatewayExecutor) OpenBankingUtils
                             .getClassInstanceFromFQN(integerStringMap.get(integer))).collect(Collectors.toList());
-            executorMap.put(consentType, executorList);
+            configuredExecutorMap.put(consentType, executorList);
         });
+        setExecutorMap(configuredExecutorMap);
+    }
+
+    /**
+     * Method to obtain the compiled executor chain for the given request context. The executors are elected by
+     * {@link #getExecutorsForRequest(OBAPIRequestContext)}.
+     *
+     * @param requestContext OB Request context
+     * @return executor chain
+     */
+    public ExecutorChain getExecutorChainForRequest(OBAPIRequestContext requestContext) {
+
+        return routingTable.getExecutorChain(getExecutorsForRequest(requestContext));
+    }
+
+    /**
+     * Method to obtain the compiled executor chain for the given response context. The executors are elected by
+     * {@link #getExecutorsForResponse(OBAPIResponseContext)}.
+     *
+     * @param responseContext OB Response context
+     * @return executor chain
+     */
+    public ExecutorChain getExecutorChainForResponse(OBAPIResponseContext responseContext) {
+
+        return routingTable.getExecutorChain(getExecutorsForResponse(responseContext));
+    }
+
+    public ExecutorRoutingTable getRoutingTable() {
+
+        return routingTable;
     }
 
     /**
@@ -79,6 +111,7 @@ public abstract class AbstractRequestRouter {
             Map<String, List<OpenBankingGatewayExecutor>> executorMap) {
 
         this.executorMap = executorMap;
+        this.routingTable = ExecutorRoutingTable.compile(executorMap);
     }
 
 }
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
+import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
+import com.wso2.openbanking.accelerator.gateway.executor.model.OpenBankingExecutorError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable chain of Open Banking executors, compiled per gateway phase. The executors which declare themselves
+ * as no-ops for a phase are left out of the chain of that phase. The time taken and the errors raised by each
+ * executor are recorded, and added to the trace of the request when it is traced.
+ */
+public class ExecutorChain {
+
+    static final ExecutorChain EMPTY = new ExecutorChain(Collections.emptyList());
+
+    private final List<OpenBankingGatewayExecutor> executors;
+    private final OpenBankingGatewayExecutor[][] phaseExecutors;
+    private final String[][] phaseExecutorNames;
+
+    private ExecutorChain(List<OpenBankingGatewayExecutor> executors) {
+
+        this.executors = Collections.unmodifiableList(new ArrayList<>(executors));
+        ExecutorPhase[] phases = ExecutorPhase.values();
+        this.phaseExecutors = new OpenBankingGatewayExecutor[phases.length][];
+        this.phaseExecutorNames = new String[phases.length][];
+        for (ExecutorPhase phase : phases) {
+            OpenBankingGatewayExecutor[] applicableExecutors = executors.stream()
+                    .filter(executor -> !executor.isNoOp(phase))
+                    .toArray(OpenBankingGatewayExecutor[]::new);
+            phaseExecutors[phase.ordinal()] = applicableExecutors;
+            String[] executorNames = new String[applicableExecutors.length];
+            for (int i = 0; i < applicableExecutors.length; i++) {
+                executorNames[i] = applicableExecutors[i].getClass().getSimpleName();
+            }
+            phaseExecutorNames[phase.ordinal()] = executorNames;
+        }
+    }
+
+    /**
+     * Compile the chain of the given executors.
+     *
+     * @param executors executors in the order of invocation
+     * @return compiled executor chain
+     */
+    public static ExecutorChain of(List<OpenBankingGatewayExecutor> executors) {
+
+        return executors == null || executors.isEmpty() ? EMPTY : new ExecutorChain(executors);
+    }
+
+    /**
+     * Invoke the executors of a request phase.
+     *
+     * @param phase               request phase
+     * @param obapiRequestContext OB request context object
+     */
+    public void execute(ExecutorPhase phase, OBAPIRequestContext obapiRequestContext) {
+
+        execute(phase, obapiRequestContext, null);
+    }
+
+    /**
+     * Invoke the executors of a request phase, adding the time taken by each executor to the trace of the request.
+     *
+     * @param phase               request phase
+     * @param obapiRequestContext OB request context object
+     * @param requestTrace        trace of the request, or null if the request is not traced
+     */
+    public void execute(ExecutorPhase phase, OBAPIRequestContext obapiRequestContext,
+                        SlowRequestTracer.RequestTrace requestTrace) {
+
+        OpenBankingGatewayExecutor[] executorsOfPhase = phaseExecutors[phase.ordinal()];
+        String[] executorNames = phaseExecutorNames[phase.ordinal()];
+        ExecutorTimings executorTimings = ExecutorTimings.getInstance();
+        for (int i = 0; i < executorsOfPhase.length; i++) {
+            int errorCount = getErrorCount(obapiRequestContext.getErrors());
+            long startTime = System.nanoTime();
+            try {
+                if (ExecutorPhase.PRE_PROCESS_REQUEST == phase) {
+                    executorsOfPhase[i].preProcessRequest(obapiRequestContext);
+                } else {
+                    executorsOfPhase[i].postProcessRequest(obapiRequestContext);
+                }
+            } finally {
+                record(executorTimings, requestTrace, executorNames[i], phase, System.nanoTime() - startTime);
+            }
+            recordErrors(executorTimings, obapiRequestContext.getErrors(), errorCount, executorNames[i], phase);
+        }
+    }
+
+    /**
+     * Invoke the executors of a response phase.
+     *
+     * @param phase                response phase
+     * @param obapiResponseContext OB response context object
+     */
+    public void execute(ExecutorPhase phase, OBAPIResponseContext obapiResponseContext) {
+
+        execute(phase, obapiResponseContext, null);
+    }
+
+    /**
+     * Invoke the executors of a response phase, adding the time taken by each executor to the trace of the request.
+     *
+     * @param phase                response phase
+     * @param obapiResponseContext OB response context object
+     * @param requestTrace         trace of the request, or null if the request is not traced
+     */
+    public void execute(ExecutorPhase phase, OBAPIResponseContext obapiResponseContext,
+                        SlowRequestTracer.RequestTrace requestTrace) {
+
+        OpenBankingGatewayExecutor[] executorsOfPhase = phaseExecutors[phase.ordinal()];
+        String[] executorNames = phaseExecutorNames[phase.ordinal()];
+        ExecutorTimings executorTimings = ExecutorTimings.getInstance();
+        for (int i = 0; i < executorsOfPhase.length; i++) {
+            int errorCount = getErrorCount(obapiResponseContext.getErrors());
+            long startTime = System.nanoTime();
+            try {
+                if (ExecutorPhase.PRE_PROCESS_RESPONSE == phase) {
+                    executorsOfPhase[i].preProcessResponse(obapiResponseContext);
+                } else {
+                    executorsOfPhase[i].postProcessResponse(obapiResponseContext);
+                }
+            } finally {
+                record(executorTimings, requestTrace, executorNames[i], phase, System.nanoTime() - startTime);
+            }
+            recordErrors(executorTimings, obapiResponseContext.getErrors(), errorCount, executorNames[i], phase);
+        }
+    }
+
+    /**
+     * Get the number of executors invoked in a phase.
+     *
+     * @param phase gateway phase
+     * @return number of executors
+     */
+    public int getExecutorCount(ExecutorPhase phase) {
+
+        return phaseExecutors[phase.ordinal()].length;
+    }
+
+    /**
+     * Get the executors of the chain, including the no-op executors.
+     *
+     * @return unmodifiable list of executors
+     */
+    public List<OpenBankingGatewayExecutor> getExecutors() {
+
+        return executors;
+    }
+
+    private static void record(ExecutorTimings executorTimings, SlowRequestTracer.RequestTrace requestTrace,
+                               String executorName, ExecutorPhase phase, long elapsedNanos) {
+
+        executorTimings.record(executorName, phase, elapsedNanos);
+        if (requestTrace != null) {
+            requestTrace.record(executorName, phase, elapsedNanos);
+        }
+    }
+
+    private static void recordErrors(ExecutorTimings executorTimings, List<OpenBankingExecutorError> errors,
+                                     int previousErrorCount, String executorName, ExecutorPhase phase) {
+
+        // errors added by the executor are appended to the errors of the context
+        for (int i = previousErrorCount; i < getErrorCount(errors); i++) {
+            OpenBankingExecutorError error = errors.get(i);
+            executorTimings.recordError(executorName, phase, error != null ? error.getCode() : null);
+        }
+    }
+
+    private static int getErrorCount(List<OpenBankingExecutorError> errors) {
+
+        return errors == null ? 0 : errors.size();
+    }
+}
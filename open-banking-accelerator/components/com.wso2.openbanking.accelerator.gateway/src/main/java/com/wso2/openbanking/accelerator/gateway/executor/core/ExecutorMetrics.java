@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import com.wso2.openbanking.accelerator.gateway.reporter.OBExecutorMetricsPublisher;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the Open Banking executors, combining the executor timings and the recent slow requests.
+ * Metrics are registered as an MBean, based on the configuration.
+ */
+public class ExecutorMetrics implements ExecutorMetricsMXBean {
+
+    private static final Log log = LogFactory.getLog(ExecutorMetrics.class);
+    private static final String MBEAN_NAME = "com.wso2.openbanking:type=Gateway,name=ExecutorMetrics";
+
+    private final ExecutorTimings executorTimings;
+    private final SlowRequestTracer slowRequestTracer;
+    private final OBExecutorMetricsPublisher metricsPublisher;
+
+    public ExecutorMetrics(ExecutorTimings executorTimings, SlowRequestTracer slowRequestTracer) {
+
+        this(executorTimings, slowRequestTracer, null);
+    }
+
+    /**
+     * Initialize the metrics.
+     *
+     * @param executorTimings   executor timings
+     * @param slowRequestTracer slow request tracer
+     * @param metricsPublisher  publisher of the executor timings, which is reset along with the timings. Can be null
+     */
+    public ExecutorMetrics(ExecutorTimings executorTimings, SlowRequestTracer slowRequestTracer,
+                           OBExecutorMetricsPublisher metricsPublisher) {
+
+        this.executorTimings = executorTimings;
+        this.slowRequestTracer = slowRequestTracer;
+        this.metricsPublisher = metricsPublisher;
+    }
+
+    /**
+     * Register the metrics as an MBean.
+     */
+    public void registerMBean() {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(MBEAN_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Unable to register the executor metrics MBean", e);
+        }
+    }
+
+    /**
+     * Unregister the metrics MBean, if registered.
+     */
+    public void unregisterMBean() {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(MBEAN_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Unable to unregister the executor metrics MBean", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getInvocationCounts() {
+
+        return collect(ExecutorTimings.Timing::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getAverageLatencyMicros() {
+
+        return collect(timing -> TimeUnit.NANOSECONDS.toMicros(timing.getAverageNanos()));
+    }
+
+    @Override
+    public Map<String, Long> getP50LatencyMicros() {
+
+        return collect(timing -> TimeUnit.NANOSECONDS.toMicros(timing.getPercentileNanos(50)));
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyMicros() {
+
+        return collect(timing -> TimeUnit.NANOSECONDS.toMicros(timing.getPercentileNanos(99)));
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatencyMicros() {
+
+        return collect(timing -> TimeUnit.NANOSECONDS.toMicros(timing.getMaxNanos()));
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+
+        return new TreeMap<>(executorTimings.getErrorCounts());
+    }
+
+    @Override
+    public List<String> getSlowRequests() {
+
+        List<String> slowRequests = new ArrayList<>();
+        for (SlowRequestTracer.RequestTrace requestTrace : slowRequestTracer.getSlowRequests()) {
+            slowRequests.add(requestTrace.toString());
+        }
+        return slowRequests;
+    }
+
+    @Override
+    public int getActiveTraceCount() {
+
+        return slowRequestTracer.getActiveTraceCount();
+    }
+
+    @Override
+    public void reset() {
+
+        // the publisher resets the timings along with the counts it published, so that the next interval is not
+        // computed against the counts before the reset
+        if (metricsPublisher != null) {
+            metricsPublisher.reset();
+        } else {
+            executorTimings.reset();
+        }
+        slowRequestTracer.reset();
+    }
+
+    private Map<String, Long> collect(ToLongFunction<ExecutorTimings.Timing> metric) {
+
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, ExecutorTimings.Timing> entry : executorTimings.getTimings().entrySet()) {
+            values.put(entry.getKey(), metric.applyAsLong(entry.getValue()));
+        }
+        return values;
+    }
+}
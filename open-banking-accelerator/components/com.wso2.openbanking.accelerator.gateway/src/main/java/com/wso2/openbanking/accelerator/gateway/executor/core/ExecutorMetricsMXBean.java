@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of the metrics of the Open Banking executors. Latencies are keyed by the executor name and the phase.
+ */
+public interface ExecutorMetricsMXBean {
+
+    Map<String, Long> getInvocationCounts();
+
+    Map<String, Long> getAverageLatencyMicros();
+
+    Map<String, Long> getP50LatencyMicros();
+
+    Map<String, Long> getP99LatencyMicros();
+
+    Map<String, Long> getMaxLatencyMicros();
+
+    Map<String, Long> getErrorCounts();
+
+    List<String> getSlowRequests();
+
+    int getActiveTraceCount();
+
+    void reset();
+}
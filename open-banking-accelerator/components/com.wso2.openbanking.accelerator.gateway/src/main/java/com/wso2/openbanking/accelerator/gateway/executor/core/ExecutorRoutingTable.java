@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing table of the Open Banking executors, compiled when the request router is built. Each configured executor
+ * list is compiled into an immutable executor chain up front, so that the list elected by the router is resolved to
+ * its chain without filtering the executors on each request. The table is replaced as a whole when the executors are
+ * reconfigured.
+ */
+public class ExecutorRoutingTable {
+
+    private final Map<List<OpenBankingGatewayExecutor>, ExecutorChain> executorChains;
+
+    private ExecutorRoutingTable(Map<List<OpenBankingGatewayExecutor>, ExecutorChain> executorChains) {
+
+        this.executorChains = executorChains;
+    }
+
+    /**
+     * Compile the routing table of the configured executors.
+     *
+     * @param executorMap executor lists keyed by the executor type
+     * @return compiled routing table
+     */
+    public static ExecutorRoutingTable compile(Map<String, List<OpenBankingGatewayExecutor>> executorMap) {
+
+        // the lists are matched by identity, as the routers return the configured list instances
+        Map<List<OpenBankingGatewayExecutor>, ExecutorChain> executorChains = new IdentityHashMap<>();
+        if (executorMap != null) {
+            for (List<OpenBankingGatewayExecutor> executors : executorMap.values()) {
+                executorChains.put(executors, ExecutorChain.of(executors));
+            }
+        }
+        return new ExecutorRoutingTable(executorChains);
+    }
+
+    /**
+     * Get the compiled chain of an executor list elected by the router. The lists which are not configured, such
+     * as the ones built by a router on demand, are compiled on each call.
+     *
+     * @param executors executor list
+     * @return executor chain
+     */
+    public ExecutorChain getExecutorChain(List<OpenBankingGatewayExecutor> executors) {
+
+        ExecutorChain executorChain = executorChains.get(executors);
+        return executorChain != null ? executorChain : ExecutorChain.of(executors);
+    }
+}
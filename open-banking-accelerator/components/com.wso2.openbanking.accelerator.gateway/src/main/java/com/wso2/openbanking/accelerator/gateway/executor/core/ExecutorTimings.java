@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings of the Open Banking executors, recorded per executor and gateway phase, to identify the executors which
+ * dominate the gateway mediation latency. The latency distribution of each executor and phase is kept in a
+ * histogram, and the errors raised by the executors are counted by the error code.
+ */
+public class ExecutorTimings {
+
+    private static final Log log = LogFactory.getLog(ExecutorTimings.class);
+    private static final ExecutorTimings instance = new ExecutorTimings();
+
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
+
+    ExecutorTimings() {
+
+    }
+
+    /**
+     * Get the instance of the ExecutorTimings.
+     *
+     * @return ExecutorTimings instance
+     */
+    public static ExecutorTimings getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Record the time taken by an executor to process a phase.
+     *
+     * @param executorName name of the executor
+     * @param phase        gateway phase
+     * @param elapsedNanos time taken in nanoseconds
+     */
+    public void record(String executorName, ExecutorPhase phase, long elapsedNanos) {
+
+        String timingKey = executorName + "." + phase;
+        timings.computeIfAbsent(timingKey, key -> new Timing()).record(elapsedNanos);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("%s took %d microseconds", timingKey,
+                    TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        }
+    }
+
+    /**
+     * Record an error raised by an executor.
+     *
+     * @param executorName name of the executor
+     * @param phase        gateway phase
+     * @param errorCode    code of the error
+     */
+    public void recordError(String executorName, ExecutorPhase phase, String errorCode) {
+
+        errorCounts.computeIfAbsent(errorCode == null ? "unknown" : errorCode, key -> new LongAdder()).increment();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("%s.%s raised the error %s", executorName, phase, errorCode));
+        }
+    }
+
+    /**
+     * Get the recorded timings, keyed by the executor name and the phase.
+     *
+     * @return recorded timings
+     */
+    public Map<String, Timing> getTimings() {
+
+        return Collections.unmodifiableMap(new HashMap<>(timings));
+    }
+
+    /**
+     * Get the number of errors raised by the executors, keyed by the error code.
+     *
+     * @return error counts
+     */
+    public Map<String, Long> getErrorCounts() {
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : errorCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Clear the recorded timings and error counts.
+     */
+    public void reset() {
+
+        timings.clear();
+        errorCounts.clear();
+    }
+
+    /**
+     * Invocation count along with the total, maximum and the distribution of the time taken by an executor in a
+     * phase.
+     */
+    public static class Timing {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        void record(long elapsedNanos) {
+
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            histogram.record(elapsedNanos);
+        }
+
+        public long getCount() {
+
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+
+            return maxNanos.get();
+        }
+
+        public long getAverageNanos() {
+
+            long invocationCount = count.sum();
+            return invocationCount == 0 ? 0 : totalNanos.sum() / invocationCount;
+        }
+
+        public long getPercentileNanos(double percentile) {
+
+            return histogram.getSnapshot().getValueAtPercentile(percentile);
+        }
+
+        public LatencyHistogram.Snapshot getSnapshot() {
+
+            return histogram.getSnapshot();
+        }
+    }
+}
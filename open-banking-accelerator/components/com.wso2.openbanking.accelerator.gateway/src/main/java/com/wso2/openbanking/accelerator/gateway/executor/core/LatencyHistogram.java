@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free latency histogram with log-linear buckets, in the manner of the HDR histogram.
+ * 1) Each power of two range of values is split into a fixed number of linear sub buckets, hence a recorded value
+ *    is resolved within 1/16 of its magnitude, from nanoseconds to minutes, with a constant memory footprint.
+ * 2) A snapshot of the bucket counts can be taken, and the difference of two snapshots gives the distribution of
+ *    the values recorded in between, which is used to report the percentiles per interval.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // values up to 2^42 nanoseconds (around 73 minutes) are resolved, larger values go to the last bucket
+    private static final int MAX_VALUE_BITS = 42;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Record a value.
+     *
+     * @param value value to record, negative values are recorded as 0
+     */
+    public void record(long value) {
+
+        counts.incrementAndGet(getBucketIndex(Math.max(0, value)));
+    }
+
+    /**
+     * Take a snapshot of the recorded values.
+     *
+     * @return snapshot of the histogram
+     */
+    public Snapshot getSnapshot() {
+
+        long[] snapshotCounts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshotCounts[i] = counts.get(i);
+        }
+        return new Snapshot(snapshotCounts);
+    }
+
+    static int getBucketIndex(long value) {
+
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        if (magnitude > MAX_VALUE_BITS - SUB_BUCKET_BITS) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (magnitude - 1)) - SUB_BUCKET_COUNT;
+        return magnitude * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long getBucketUpperBound(int index) {
+
+        int magnitude = index / SUB_BUCKET_COUNT;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        if (magnitude == 0) {
+            return subBucket;
+        }
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << (magnitude - 1)) - 1;
+    }
+
+    /**
+     * Point in time copy of the bucket counts of a histogram.
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long totalCount;
+
+        Snapshot(long[] counts) {
+
+            this.counts = counts;
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        /**
+         * Get the number of recorded values.
+         *
+         * @return number of values
+         */
+        public long getCount() {
+
+            return totalCount;
+        }
+
+        /**
+         * Get the value below which the given percentage of the recorded values fall.
+         *
+         * @param percentile percentile between 0 and 100
+         * @return upper bound of the bucket holding the percentile, or 0 if no values are recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+
+            if (totalCount == 0) {
+                return 0;
+            }
+            long targetCount = Math.max(1, (long) Math.ceil(totalCount * Math.min(100, percentile) / 100));
+            long cumulativeCount = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulativeCount += counts[i];
+                if (cumulativeCount >= targetCount) {
+                    return getBucketUpperBound(i);
+                }
+            }
+            return getBucketUpperBound(counts.length - 1);
+        }
+
+        /**
+         * Get the distribution of the values recorded after an earlier snapshot of the same histogram.
+         *
+         * @param earlier earlier snapshot, or null to return this snapshot
+         * @return snapshot of the values recorded in between
+         */
+        public Snapshot minus(Snapshot earlier) {
+
+            if (earlier == null) {
+                return this;
+            }
+            long[] intervalCounts = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                intervalCounts[i] = Math.max(0, counts[i] - earlier.counts[i]);
+            }
+            return new Snapshot(intervalCounts);
+        }
+    }
+}
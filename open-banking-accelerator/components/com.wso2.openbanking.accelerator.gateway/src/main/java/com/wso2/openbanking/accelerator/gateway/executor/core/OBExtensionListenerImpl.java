@@ -20,7 +20,7 @@ package com.wso2.openbanking.accelerator.gateway.executor.core;
 
 import com.wso2.openbanking.accelerator.common.util.Generated;
 import com.wso2.openbanking.accelerator.data.publisher.common.util.OBDataPublisherUtil;
-import com.wso2.openbanking.accelerator.gateway.cache.GatewayCacheKey;
+import com.wso2.openbanking.accelerator.gateway.executor.idempotency.IdempotencyStore;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
 import com.wso2.openbanking.accelerator.gateway.internal.GatewayDataHolder;
@@ -30,6 +30,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpStatus;
 import org.wso2.carbon.apimgt.common.gateway.dto.ExtensionResponseDTO;
 import org.wso2.carbon.apimgt.common.gateway.dto.ExtensionResponseStatus;
+import org.wso2.carbon.apimgt.common.gateway.dto.MsgInfoDTO;
 import org.wso2.carbon.apimgt.common.gateway.dto.RequestContextDTO;
 import org.wso2.carbon.apimgt.common.gateway.dto.ResponseContextDTO;
 import org.wso2.carbon.apimgt.common.gateway.extensionlistener.ExtensionListener;
@@ -51,21 +52,26 @@ public class OBExtensionListenerImpl implements ExtensionListener {
     @Generated(message = "Ignoring since the method has covered in other tests")
     public ExtensionResponseDTO preProcessRequest(RequestContextDTO requestContextDTO) {
 
+        String messageId = requestContextDTO.getMsgInfo().getMessageId();
         OBAPIRequestContext obapiRequestContext = new OBAPIRequestContext(requestContextDTO, new HashMap<>(),
                 new HashMap<>());
-        for (OpenBankingGatewayExecutor gatewayExecutor :
-                GatewayDataHolder.getInstance().getRequestRouter().getExecutorsForRequest(obapiRequestContext)) {
-            gatewayExecutor.preProcessRequest(obapiRequestContext);
+        try {
+            GatewayDataHolder.getInstance().getRequestRouter().getExecutorChainForRequest(obapiRequestContext)
+                    .execute(ExecutorPhase.PRE_PROCESS_REQUEST, obapiRequestContext,
+                            getRequestTrace(messageId, requestContextDTO.getMsgInfo()));
+        } catch (RuntimeException e) {
+            GatewayDataHolder.getSlowRequestTracer().complete(messageId);
+            throw e;
         }
 
         if (!obapiRequestContext.isError()) {
-            setPropertiesToCache(requestContextDTO.getMsgInfo().getMessageId() +
-                    GatewayConstants.CONTEXT_PROP_CACHE_KEY, obapiRequestContext.getContextProps());
-
-            setPropertiesToCache(requestContextDTO.getMsgInfo().getMessageId() +
-                    GatewayConstants.ANALYTICS_PROP_CACHE_KEY, obapiRequestContext.getAnalyticsData());
+            setPropertiesToStore(messageId, obapiRequestContext.getContextProps(),
+                    obapiRequestContext.getAnalyticsData());
         } else {
             publishAnalyticsData(obapiRequestContext.getAnalyticsData());
+            // the response of a rejected request is not recorded, hence the idempotency key is released
+            IdempotencyStore.releaseClaim(obapiRequestContext.getContextProps());
+            GatewayDataHolder.getSlowRequestTracer().complete(messageId);
         }
         return getResponseDTOForRequest(obapiRequestContext);
     }
@@ -74,26 +80,31 @@ public class OBExtensionListenerImpl implements ExtensionListener {
     @Generated(message = "Ignoring since the method has covered in other tests")
     public ExtensionResponseDTO postProcessRequest(RequestContextDTO requestContextDTO) {
 
-        Map<String, String> contextProps = getPropertiesFromCache(requestContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.CONTEXT_PROP_CACHE_KEY);
-        Map<String, Object> analyticsData = getPropertiesFromCache(requestContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.ANALYTICS_PROP_CACHE_KEY);
+        String messageId = requestContextDTO.getMsgInfo().getMessageId();
+        RequestContextStore requestContextStore = GatewayDataHolder.getRequestContextStore();
+        Map<String, String> contextProps = requestContextStore.getContextProps(messageId);
+        Map<String, Object> analyticsData = requestContextStore.getAnalyticsData(messageId);
 
         OBAPIRequestContext obapiRequestContext =
                 new OBAPIRequestContext(requestContextDTO, contextProps, analyticsData);
-        for (OpenBankingGatewayExecutor gatewayExecutor :
-                GatewayDataHolder.getInstance().getRequestRouter().getExecutorsForRequest(obapiRequestContext)) {
-            gatewayExecutor.postProcessRequest(obapiRequestContext);
+        try {
+            GatewayDataHolder.getInstance().getRequestRouter().getExecutorChainForRequest(obapiRequestContext)
+                    .execute(ExecutorPhase.POST_PROCESS_REQUEST, obapiRequestContext,
+                            getRequestTrace(messageId, requestContextDTO.getMsgInfo()));
+        } catch (RuntimeException e) {
+            requestContextStore.remove(messageId);
+            GatewayDataHolder.getSlowRequestTracer().complete(messageId);
+            throw e;
         }
 
         if (!obapiRequestContext.isError()) {
-            setPropertiesToCache(requestContextDTO.getMsgInfo().getMessageId() +
-                    GatewayConstants.CONTEXT_PROP_CACHE_KEY, obapiRequestContext.getContextProps());
-
-            setPropertiesToCache(requestContextDTO.getMsgInfo().getMessageId() +
-                    GatewayConstants.ANALYTICS_PROP_CACHE_KEY, obapiRequestContext.getAnalyticsData());
+            setPropertiesToStore(messageId, obapiRequestContext.getContextProps(),
+                    obapiRequestContext.getAnalyticsData());
         } else {
             publishAnalyticsData(obapiRequestContext.getAnalyticsData());
+            IdempotencyStore.releaseClaim(obapiRequestContext.getContextProps());
+            requestContextStore.remove(messageId);
+            GatewayDataHolder.getSlowRequestTracer().complete(messageId);
         }
         return getResponseDTOForRequest(obapiRequestContext);
     }
@@ -102,25 +113,30 @@ public class OBExtensionListenerImpl implements ExtensionListener {
     @Generated(message = "Ignoring since the method has covered in other tests")
     public ExtensionResponseDTO preProcessResponse(ResponseContextDTO responseContextDTO) {
 
-        Map<String, String> contextProps = getPropertiesFromCache(responseContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.CONTEXT_PROP_CACHE_KEY);
-        Map<String, Object> analyticsData = getPropertiesFromCache(responseContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.ANALYTICS_PROP_CACHE_KEY);
+        String messageId = responseContextDTO.getMsgInfo().getMessageId();
+        RequestContextStore requestContextStore = GatewayDataHolder.getRequestContextStore();
+        Map<String, String> contextProps = requestContextStore.getContextProps(messageId);
+        Map<String, Object> analyticsData = requestContextStore.getAnalyticsData(messageId);
         OBAPIResponseContext obapiResponseContext =
                 new OBAPIResponseContext(responseContextDTO, contextProps, analyticsData);
-        for (OpenBankingGatewayExecutor gatewayExecutor :
-                GatewayDataHolder.getInstance().getRequestRouter().getExecutorsForResponse(obapiResponseContext)) {
-            gatewayExecutor.preProcessResponse(obapiResponseContext);
+        try {
+            GatewayDataHolder.getInstance().getRequestRouter().getExecutorChainForResponse(obapiResponseContext)
+                    .execute(ExecutorPhase.PRE_PROCESS_RESPONSE, obapiResponseContext,
+                            getRequestTrace(messageId, responseContextDTO.getMsgInfo()));
+        } catch (RuntimeException e) {
+            requestContextStore.remove(messageId);
+            GatewayDataHolder.getSlowRequestTracer().complete(messageId);
+            throw e;
         }
 
         if (!obapiResponseContext.isError()) {
-            setPropertiesToCache(responseContextDTO.getMsgInfo().getMessageId() +
-                    GatewayConstants.CONTEXT_PROP_CACHE_KEY, obapiResponseContext.getContextProps());
-
-            setPropertiesToCache(responseContextDTO.getMsgInfo().getMessageId() +
-                    GatewayConstants.ANALYTICS_PROP_CACHE_KEY, obapiResponseContext.getAnalyticsData());
+            setPropertiesToStore(messageId, obapiResponseContext.getContextProps(),
+                    obapiResponseContext.getAnalyticsData());
         } else {
             publishAnalyticsData(obapiResponseContext.getAnalyticsData());
+            IdempotencyStore.releaseClaim(obapiResponseContext.getContextProps());
+            requestContextStore.remove(messageId);
+            GatewayDataHolder.getSlowRequestTracer().complete(messageId);
         }
         return getResponseDTOForResponse(obapiResponseContext);
     }
@@ -129,22 +145,22 @@ public class OBExtensionListenerImpl implements ExtensionListener {
     @Generated(message = "Ignoring since the method has covered in other tests")
     public ExtensionResponseDTO postProcessResponse(ResponseContextDTO responseContextDTO) {
 
-        Map<String, String> contextProps = getPropertiesFromCache(responseContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.CONTEXT_PROP_CACHE_KEY);
-        Map<String, Object> analyticsData = getPropertiesFromCache(responseContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.ANALYTICS_PROP_CACHE_KEY);
+        String messageId = responseContextDTO.getMsgInfo().getMessageId();
+        RequestContextStore requestContextStore = GatewayDataHolder.getRequestContextStore();
+        Map<String, String> contextProps = requestContextStore.getContextProps(messageId);
+        Map<String, Object> analyticsData = requestContextStore.getAnalyticsData(messageId);
         OBAPIResponseContext obapiResponseContext =
                 new OBAPIResponseContext(responseContextDTO, contextProps, analyticsData);
-        for (OpenBankingGatewayExecutor gatewayExecutor :
-                GatewayDataHolder.getInstance().getRequestRouter().getExecutorsForResponse(obapiResponseContext)) {
-            gatewayExecutor.postProcessResponse(obapiResponseContext);
+        try {
+            GatewayDataHolder.getInstance().getRequestRouter().getExecutorChainForResponse(obapiResponseContext)
+                    .execute(ExecutorPhase.POST_PROCESS_RESPONSE, obapiResponseContext,
+                            getRequestTrace(messageId, responseContextDTO.getMsgInfo()));
+        } finally {
+            GatewayDataHolder.getSlowRequestTracer().complete(messageId);
         }
         publishAnalyticsData(obapiResponseContext.getAnalyticsData());
         ExtensionResponseDTO responseDTOForResponse = getResponseDTOForResponse(obapiResponseContext);
-        removePropertiesFromCache(responseContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.CONTEXT_PROP_CACHE_KEY);
-        removePropertiesFromCache(responseContextDTO.getMsgInfo().getMessageId() +
-                GatewayConstants.ANALYTICS_PROP_CACHE_KEY);
+        requestContextStore.remove(messageId);
         return responseDTOForResponse;
     }
 
@@ -236,37 +252,22 @@ public class OBExtensionListenerImpl implements ExtensionListener {
     }
 
     /**
-     * Method to store properties to cache.
+     * Method to store the context properties and the analytics data of a message.
      *
-     * @param key          unique cache key
-     * @param contextProps properties to store
+     * @param messageId     unique message id
+     * @param contextProps  context properties to store
+     * @param analyticsData analytics data to store
      */
-    private void setPropertiesToCache(String key, Map contextProps) {
+    private void setPropertiesToStore(String messageId, Map<String, String> contextProps,
+                                      Map<String, Object> analyticsData) {
 
-        GatewayDataHolder.getGatewayCache().addToCache(GatewayCacheKey.of(key), contextProps);
+        GatewayDataHolder.getRequestContextStore().put(messageId, contextProps, analyticsData);
     }
 
-    /**
-     * Method to retrieve context properties from cache.
-     *
-     * @param key unique cache key
-     * @return context properties
-     */
-    private Map getPropertiesFromCache(String key) {
-        //Need to implement after adding base cache implementation to the common module.
-        Object cachedObject = GatewayDataHolder.getGatewayCache().getFromCache(GatewayCacheKey.of(key));
-        return cachedObject == null ? new HashMap<>() : (Map) cachedObject;
-    }
+    private SlowRequestTracer.RequestTrace getRequestTrace(String messageId, MsgInfoDTO msgInfoDTO) {
 
-    /**
-     * Method to remove context properties from cache.
-     *
-     * @param key unique cache key
-     * @return context properties
-     */
-    private void removePropertiesFromCache(String key) {
-        //Need to implement after adding base cache implementation to the common module.
-        GatewayDataHolder.getGatewayCache().removeFromCache(GatewayCacheKey.of(key));
+        return GatewayDataHolder.getSlowRequestTracer().getTrace(messageId,
+                msgInfoDTO.getHttpMethod() + " " + msgInfoDTO.getElectedResource());
     }
 
     private void publishAnalyticsData(Map<String, Object> analyticsData) {
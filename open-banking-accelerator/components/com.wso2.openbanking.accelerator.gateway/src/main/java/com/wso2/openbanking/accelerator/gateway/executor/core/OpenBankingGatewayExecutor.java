@@ -53,4 +53,17 @@ public interface OpenBankingGatewayExecutor {
      * @param obapiResponseContext OB response context object
      */
     public void postProcessResponse(OBAPIResponseContext obapiResponseContext);
+
+    /**
+     * Method to declare the phases the executor does nothing in. Such executors are left out of the executor
+     * chains of the phase when the routing table is compiled. Executors which are meant to be extended should
+     * declare the phases for their own class only, since a subclass may act on the other phases.
+     *
+     * @param phase gateway phase
+     * @return true if the executor is a no-op for the phase
+     */
+    default boolean isNoOp(ExecutorPhase phase) {
+
+        return false;
+    }
 }
@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process store of the context properties and the analytics data shared between the request and response
+ * phases of an API call, keyed by the message id.
+ * 1) The contexts are kept in a concurrent map, which locks only the bin of the message id on updates, instead of
+ *    going through the gateway cache on each phase.
+ * 2) The context of a message is removed when its response is processed. The contexts of the messages which never
+ *    reach the response processing are removed by a sweeper once they are not accessed within the timeout.
+ * 3) The number of stored contexts, its peak and the number of swept contexts are exposed for monitoring.
+ */
+public class RequestContextStore {
+
+    private static final Log log = LogFactory.getLog(RequestContextStore.class);
+
+    private final Map<String, RequestContext> requestContexts = new ConcurrentHashMap<>();
+    private final AtomicInteger peakSize = new AtomicInteger();
+    private final AtomicLong sweptCount = new AtomicLong();
+    private final long timeout;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Initialize the store.
+     *
+     * @param timeout       time in milliseconds a context is kept without being accessed
+     * @param sweepInterval interval in milliseconds to sweep the orphaned contexts, 0 to sweep only on demand
+     * @param clock         supplier of the current time in milliseconds
+     */
+    RequestContextStore(long timeout, long sweepInterval, LongSupplier clock) {
+
+        this.timeout = timeout;
+        this.clock = clock;
+        if (sweepInterval > 0) {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ob-request-context-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    /**
+     * Initialize the store with a sweeper running every minute.
+     *
+     * @param timeoutMinutes time in minutes a context is kept without being accessed
+     */
+    public RequestContextStore(int timeoutMinutes) {
+
+        this(TimeUnit.MINUTES.toMillis(timeoutMinutes), TimeUnit.MINUTES.toMillis(1), System::currentTimeMillis);
+    }
+
+    /**
+     * Store the context properties and the analytics data of a message.
+     *
+     * @param messageId     message id
+     * @param contextProps  context properties
+     * @param analyticsData analytics data
+     */
+    public void put(String messageId, Map<String, String> contextProps, Map<String, Object> analyticsData) {
+
+        requestContexts.put(messageId, new RequestContext(contextProps, analyticsData, clock.getAsLong()));
+        int size = requestContexts.size();
+        peakSize.accumulateAndGet(size, Math::max);
+    }
+
+    /**
+     * Get the context properties of a message.
+     *
+     * @param messageId message id
+     * @return context properties, or an empty map if the context of the message is not stored
+     */
+    public Map<String, String> getContextProps(String messageId) {
+
+        RequestContext requestContext = get(messageId);
+        return requestContext == null || requestContext.contextProps == null ?
+                new HashMap<>() : requestContext.contextProps;
+    }
+
+    /**
+     * Get the analytics data of a message.
+     *
+     * @param messageId message id
+     * @return analytics data, or an empty map if the context of the message is not stored
+     */
+    public Map<String, Object> getAnalyticsData(String messageId) {
+
+        RequestContext requestContext = get(messageId);
+        return requestContext == null || requestContext.analyticsData == null ?
+                new HashMap<>() : requestContext.analyticsData;
+    }
+
+    /**
+     * Remove the context of a message.
+     *
+     * @param messageId message id
+     */
+    public void remove(String messageId) {
+
+        requestContexts.remove(messageId);
+    }
+
+    /**
+     * Remove the contexts which are not accessed within the timeout.
+     *
+     * @return number of removed contexts
+     */
+    public int sweep() {
+
+        long expiredTime = clock.getAsLong() - timeout;
+        int removedCount = 0;
+        Iterator<RequestContext> iterator = requestContexts.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().lastAccessTime <= expiredTime) {
+                iterator.remove();
+                removedCount++;
+            }
+        }
+        sweptCount.addAndGet(removedCount);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Swept %d orphaned request contexts. Stored contexts: %d, peak: %d",
+                    removedCount, getSize(), getPeakSize()));
+        }
+        return removedCount;
+    }
+
+    /**
+     * Get the number of stored contexts.
+     *
+     * @return number of stored contexts
+     */
+    public int getSize() {
+
+        return requestContexts.size();
+    }
+
+    /**
+     * Get the maximum number of contexts stored at once.
+     *
+     * @return peak number of stored contexts
+     */
+    public int getPeakSize() {
+
+        return peakSize.get();
+    }
+
+    /**
+     * Get the number of orphaned contexts removed by the sweeper.
+     *
+     * @return number of swept contexts
+     */
+    public long getSweptCount() {
+
+        return sweptCount.get();
+    }
+
+    /**
+     * Stop sweeping the orphaned contexts.
+     */
+    public void shutdown() {
+
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private RequestContext get(String messageId) {
+
+        RequestContext requestContext = requestContexts.get(messageId);
+        if (requestContext != null) {
+            requestContext.lastAccessTime = clock.getAsLong();
+        }
+        return requestContext;
+    }
+
+    /**
+     * Context of a message along with the time it was last accessed.
+     */
+    private static class RequestContext {
+
+        private final Map<String, String> contextProps;
+        private final Map<String, Object> analyticsData;
+        private volatile long lastAccessTime;
+
+        RequestContext(Map<String, String> contextProps, Map<String, Object> analyticsData, long lastAccessTime) {
+
+            this.contextProps = contextProps;
+            this.analyticsData = analyticsData;
+            this.lastAccessTime = lastAccessTime;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracer of the requests which take longer than a threshold in the Open Banking executors.
+ * 1) The time taken by each executor in each phase of a request is added to the trace of the request, keyed by the
+ *    message id, until the response of the request is processed.
+ * 2) The traces of the slow requests are kept in a bounded ring buffer, hence the most recent slow requests are
+ *    available along with the breakdown of the time taken per executor.
+ * 3) The number of active traces is bounded, and the traces of the requests which never complete are evicted once
+ *    they exceed the timeout. Active traces are kept in the order they are started, hence the expired traces are
+ *    evicted from the head without scanning the traces of the requests in flight.
+ */
+public class SlowRequestTracer {
+
+    private static final Log log = LogFactory.getLog(SlowRequestTracer.class);
+    private static final int DEFAULT_MAX_ACTIVE_TRACES = 10000;
+
+    // guarded by itself, in the order the traces are started
+    private final Map<String, RequestTrace> activeTraces = new LinkedHashMap<>();
+    private final RequestTrace[] slowRequests;
+    private final long thresholdNanos;
+    private final int maxActiveTraces;
+    private final long traceTimeout;
+    private final LongSupplier clock;
+    private int nextSlowRequestIndex;
+
+    /**
+     * Initialize the tracer.
+     *
+     * @param thresholdNanos  time in nanoseconds spent in the executors, above which a request is considered slow
+     * @param capacity        number of slow requests kept
+     * @param maxActiveTraces maximum number of requests traced at once
+     * @param traceTimeout    time in milliseconds a trace is kept for a request which does not complete
+     * @param clock           supplier of the current time in milliseconds
+     */
+    SlowRequestTracer(long thresholdNanos, int capacity, int maxActiveTraces, long traceTimeout, LongSupplier clock) {
+
+        this.thresholdNanos = thresholdNanos;
+        this.slowRequests = new RequestTrace[Math.max(1, capacity)];
+        this.maxActiveTraces = maxActiveTraces;
+        this.traceTimeout = traceTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Initialize the tracer.
+     *
+     * @param thresholdMillis     time in milliseconds spent in the executors, above which a request is slow
+     * @param capacity            number of slow requests kept
+     * @param traceTimeoutMinutes time in minutes a trace is kept for a request which does not complete
+     */
+    public SlowRequestTracer(long thresholdMillis, int capacity, int traceTimeoutMinutes) {
+
+        this(TimeUnit.MILLISECONDS.toNanos(thresholdMillis), capacity, DEFAULT_MAX_ACTIVE_TRACES,
+                TimeUnit.MINUTES.toMillis(traceTimeoutMinutes), System::currentTimeMillis);
+    }
+
+    /**
+     * Get the trace of a request, starting it if the request is not traced yet.
+     *
+     * @param messageId message id of the request
+     * @param resource  resource invoked by the request
+     * @return trace of the request, or null if the maximum number of active traces is reached
+     */
+    public RequestTrace getTrace(String messageId, String resource) {
+
+        if (messageId == null) {
+            return null;
+        }
+        synchronized (activeTraces) {
+            RequestTrace requestTrace = activeTraces.get(messageId);
+            if (requestTrace != null) {
+                return requestTrace;
+            }
+            if (activeTraces.size() >= maxActiveTraces && evictExpiredTraces() == 0) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Maximum number of active request traces is reached. Message " + messageId +
+                            " is not traced");
+                }
+                return null;
+            }
+            requestTrace = new RequestTrace(messageId, resource, clock.getAsLong());
+            activeTraces.put(messageId, requestTrace);
+            return requestTrace;
+        }
+    }
+
+    /**
+     * Complete the trace of a request, and keep it if the request is slow.
+     *
+     * @param messageId message id of the request
+     */
+    public void complete(String messageId) {
+
+        if (messageId == null) {
+            return;
+        }
+        RequestTrace requestTrace;
+        synchronized (activeTraces) {
+            requestTrace = activeTraces.remove(messageId);
+        }
+        if (requestTrace == null || requestTrace.getTotalNanos() < thresholdNanos) {
+            return;
+        }
+        synchronized (slowRequests) {
+            slowRequests[nextSlowRequestIndex] = requestTrace;
+            nextSlowRequestIndex = (nextSlowRequestIndex + 1) % slowRequests.length;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Slow request: " + requestTrace);
+        }
+    }
+
+    /**
+     * Get the recent slow requests, slowest first.
+     *
+     * @return traces of the recent slow requests
+     */
+    public List<RequestTrace> getSlowRequests() {
+
+        List<RequestTrace> requestTraces = new ArrayList<>();
+        synchronized (slowRequests) {
+            for (RequestTrace requestTrace : slowRequests) {
+                if (requestTrace != null) {
+                    requestTraces.add(requestTrace);
+                }
+            }
+        }
+        requestTraces.sort(Comparator.comparingLong(RequestTrace::getTotalNanos).reversed());
+        return requestTraces;
+    }
+
+    /**
+     * Get the number of requests being traced.
+     *
+     * @return number of active traces
+     */
+    public int getActiveTraceCount() {
+
+        synchronized (activeTraces) {
+            return activeTraces.size();
+        }
+    }
+
+    /**
+     * Clear the recent slow requests.
+     */
+    public void reset() {
+
+        synchronized (slowRequests) {
+            for (int i = 0; i < slowRequests.length; i++) {
+                slowRequests[i] = null;
+            }
+            nextSlowRequestIndex = 0;
+        }
+    }
+
+    private int evictExpiredTraces() {
+
+        long expiredTime = clock.getAsLong() - traceTimeout;
+        int evictedCount = 0;
+        Iterator<RequestTrace> iterator = activeTraces.values().iterator();
+        while (iterator.hasNext() && iterator.next().startTime <= expiredTime) {
+            iterator.remove();
+            evictedCount++;
+        }
+        return evictedCount;
+    }
+
+    /**
+     * Time taken by each executor in each phase of a request.
+     */
+    public static class RequestTrace {
+
+        private final String messageId;
+        private final String resource;
+        private final long startTime;
+        private final Map<String, Long> executorNanos = new LinkedHashMap<>();
+        private long totalNanos;
+
+        RequestTrace(String messageId, String resource, long startTime) {
+
+            this.messageId = messageId;
+            this.resource = resource;
+            this.startTime = startTime;
+        }
+
+        synchronized void record(String executorName, ExecutorPhase phase, long elapsedNanos) {
+
+            executorNanos.merge(executorName + "." + phase, elapsedNanos, Long::sum);
+            totalNanos += elapsedNanos;
+        }
+
+        public String getMessageId() {
+
+            return messageId;
+        }
+
+        public String getResource() {
+
+            return resource;
+        }
+
+        public long getStartTime() {
+
+            return startTime;
+        }
+
+        public synchronized long getTotalNanos() {
+
+            return totalNanos;
+        }
+
+        /**
+         * Get the time taken in nanoseconds, keyed by the executor name and the phase, in the order of invocation.
+         *
+         * @return time taken per executor and phase
+         */
+        public synchronized Map<String, Long> getExecutorNanos() {
+
+            return new LinkedHashMap<>(executorNanos);
+        }
+
+        @Override
+        public synchronized String toString() {
+
+            StringBuilder breakdown = new StringBuilder();
+            for (Map.Entry<String, Long> entry : executorNanos.entrySet()) {
+                if (breakdown.length() > 0) {
+                    breakdown.append(", ");
+                }
+                breakdown.append(entry.getKey()).append('=')
+                        .append(TimeUnit.NANOSECONDS.toMicros(entry.getValue())).append("us");
+            }
+            return String.format("messageId=%s, resource=%s, startTime=%d, totalMicros=%d, executors=[%s]",
+                    messageId, resource, startTime, TimeUnit.NANOSECONDS.toMicros(totalNanos), breakdown);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.wso2.openbanking.accelerator.common.constant.OpenBankingConstants;
 import com.wso2.openbanking.accelerator.common.error.OpenBankingErrorCodes;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
 import com.wso2.openbanking.accelerator.common.identity.IdentityConstants;
+import com.wso2.openbanking.accelerator.common.util.CertificateUtils;
 import com.wso2.openbanking.accelerator.common.util.Generated;
 import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
 import com.wso2.openbanking.accelerator.common.util.JWTUtils;
@@ -37,7 +38,9 @@ import com.wso2.openbanking.accelerator.gateway.executor.exception.OpenBankingEx
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OpenBankingExecutorError;
+import com.wso2.openbanking.accelerator.gateway.executor.revocation.KnownCertificateRegistry;
 import com.wso2.openbanking.accelerator.gateway.internal.GatewayDataHolder;
+import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
 import com.wso2.openbanking.accelerator.gateway.util.GatewayConstants;
 import com.wso2.openbanking.accelerator.gateway.util.GatewayUtils;
 import net.minidev.json.JSONArray;
@@ -69,9 +72,12 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -530,7 +536,9 @@ public class DCRExecutor implements OpenBankingGatewayExecutor {
                 handleInternalServerError(obapiResponseContext, OpenBankingErrorCodes.REGISTATION_DELETE_ERROR);
             }
         }
-
+        if (!obapiResponseContext.isError()) {
+            updateKnownCertificate(obapiResponseContext);
+        }
     }
 
     /**
@@ -576,6 +584,10 @@ public class DCRExecutor implements OpenBankingGatewayExecutor {
                 return;
             }
         }
+        if (HttpMethod.POST.equalsIgnoreCase(httpMethod) || HttpMethod.PUT.equalsIgnoreCase(httpMethod) ||
+                HttpMethod.DELETE.equalsIgnoreCase(httpMethod)) {
+            addTransportCertificate(obapiRequestContext);
+        }
         char[] adminPassword = (char[]) urlMap.get(GatewayConstants.PASSWORD);
         String basicAuthHeader = GatewayUtils.getBasicAuthHeader(urlMap.get(userName).toString(),
                 String.valueOf(adminPassword));
@@ -610,6 +622,55 @@ public class DCRExecutor implements OpenBankingGatewayExecutor {
         }
     }
 
+    /**
+     * Add the transport certificate of the TPP to the context, so that it is registered to prefetch its OCSP
+     * responses once the registration call succeeds, if the OCSP prefetch is enabled.
+     *
+     * @param obapiRequestContext OB request context object
+     */
+    private void addTransportCertificate(OBAPIRequestContext obapiRequestContext) {
+
+        if (!TPPCertValidatorDataHolder.getInstance().isOCSPPrefetchEnabled()) {
+            return;
+        }
+        Certificate[] clientCerts = obapiRequestContext.getClientCertsLatest();
+        if (clientCerts == null || clientCerts.length == 0) {
+            return;
+        }
+        try {
+            obapiRequestContext.addContextProperty(GatewayConstants.TRANSPORT_CERT_PROP,
+                    Base64.getEncoder().encodeToString(clientCerts[0].getEncoded()));
+        } catch (CertificateEncodingException e) {
+            log.warn("Unable to read the transport certificate of the TPP for the OCSP prefetch", e);
+        }
+    }
+
+    /**
+     * Register the transport certificate of the TPP for the OCSP prefetch when the registration is created or
+     * updated, and unregister it when the registration is deleted.
+     *
+     * @param obapiResponseContext OB response context object
+     */
+    private void updateKnownCertificate(OBAPIResponseContext obapiResponseContext) {
+
+        String transportCert = obapiResponseContext.getContextProperty(GatewayConstants.TRANSPORT_CERT_PROP);
+        if (StringUtils.isEmpty(transportCert)) {
+            return;
+        }
+        String httpMethod = obapiResponseContext.getMsgInfo().getHttpMethod();
+        int statusCode = obapiResponseContext.getStatusCode();
+        try {
+            if ((HttpMethod.POST.equalsIgnoreCase(httpMethod) && HttpStatus.SC_CREATED == statusCode) ||
+                    (HttpMethod.PUT.equalsIgnoreCase(httpMethod) && HttpStatus.SC_OK == statusCode)) {
+                KnownCertificateRegistry.getInstance().register(CertificateUtils.parseCertificate(transportCert));
+            } else if (HttpMethod.DELETE.equalsIgnoreCase(httpMethod) && HttpStatus.SC_NO_CONTENT == statusCode) {
+                KnownCertificateRegistry.getInstance().unregister(CertificateUtils.parseCertificate(transportCert));
+            }
+        } catch (OpenBankingException e) {
+            log.warn("Unable to update the transport certificate of the TPP for the OCSP prefetch", e);
+        }
+    }
+
     private JsonObject getIAMDCRPayload(String uniqueId) {
 
         JsonObject jsonObject = new JsonObject();
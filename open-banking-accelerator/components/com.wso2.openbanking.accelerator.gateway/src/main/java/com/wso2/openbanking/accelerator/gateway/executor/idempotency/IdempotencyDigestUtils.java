@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.idempotency;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility methods to store the idempotent requests and responses in a compact form.
+ * 1) The request is reduced to the SHA-256 digest of its canonical JSON, which is produced with a streaming
+ *    parser instead of building a tree. The members of the objects are sorted by name, the insignificant
+ *    whitespace is removed and the numbers are normalized, so that the payloads equal as JSON trees have the
+ *    same digest.
+ * 2) The response is stored gzip compressed and base64 encoded.
+ */
+public class IdempotencyDigestUtils {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private IdempotencyDigestUtils() {
+
+    }
+
+    /**
+     * Get the SHA-256 digest of the canonical JSON of a payload.
+     *
+     * @param payload JSON payload
+     * @return hex encoded digest
+     * @throws IOException when the payload is not a valid JSON
+     */
+    public static String getDigest(String payload) throws IOException {
+
+        return DigestUtils.sha256Hex(getCanonicalJSON(payload));
+    }
+
+    /**
+     * Get the canonical JSON of a payload.
+     *
+     * @param payload JSON payload
+     * @return canonical JSON
+     * @throws IOException when the payload is not a valid JSON
+     */
+    public static String getCanonicalJSON(String payload) throws IOException {
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new JsonParseException(parser, "No content to canonicalize");
+            }
+            StringBuilder canonicalJSON = new StringBuilder(payload.length());
+            appendValue(parser, token, canonicalJSON);
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Unexpected content after the JSON value");
+            }
+            return canonicalJSON.toString();
+        }
+    }
+
+    /**
+     * Compress a payload with gzip and encode it with base64.
+     *
+     * @param payload payload
+     * @return compressed payload
+     * @throws IOException when the payload cannot be compressed
+     */
+    public static String compress(String payload) throws IOException {
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(payload.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getEncoder().encodeToString(compressed.toByteArray());
+    }
+
+    /**
+     * Decompress a payload compressed with {@link #compress(String)}.
+     *
+     * @param compressedPayload compressed payload
+     * @return payload
+     * @throws IOException when the payload cannot be decompressed
+     */
+    public static String decompress(String compressedPayload) throws IOException {
+
+        byte[] compressed = Base64.getDecoder().decode(compressedPayload);
+        try (InputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = gzipInputStream.read(buffer)) != -1) {
+                payload.write(buffer, 0, length);
+            }
+            return new String(payload.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void appendValue(JsonParser parser, JsonToken token, StringBuilder canonicalJSON)
+            throws IOException {
+
+        switch (token) {
+            case START_OBJECT:
+                // members are buffered per object to be sorted, the last one wins for duplicate names
+                Map<String, String> members = new TreeMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    StringBuilder member = new StringBuilder();
+                    appendValue(parser, parser.nextToken(), member);
+                    members.put(name, member.toString());
+                }
+                canonicalJSON.append('{');
+                boolean firstMember = true;
+                for (Map.Entry<String, String> member : members.entrySet()) {
+                    if (!firstMember) {
+                        canonicalJSON.append(',');
+                    }
+                    appendString(member.getKey(), canonicalJSON);
+                    canonicalJSON.append(':').append(member.getValue());
+                    firstMember = false;
+                }
+                canonicalJSON.append('}');
+                break;
+            case START_ARRAY:
+                canonicalJSON.append('[');
+                JsonToken elementToken = parser.nextToken();
+                boolean firstElement = true;
+                while (elementToken != JsonToken.END_ARRAY) {
+                    if (!firstElement) {
+                        canonicalJSON.append(',');
+                    }
+                    appendValue(parser, elementToken, canonicalJSON);
+                    elementToken = parser.nextToken();
+                    firstElement = false;
+                }
+                canonicalJSON.append(']');
+                break;
+            case VALUE_STRING:
+                appendString(parser.getText(), canonicalJSON);
+                break;
+            case VALUE_NUMBER_INT:
+                canonicalJSON.append(parser.getBigIntegerValue().toString());
+                break;
+            case VALUE_NUMBER_FLOAT:
+                // floating point numbers are compared by their double value, as in the JSON trees
+                canonicalJSON.append(Double.toString(parser.getDoubleValue()));
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+            case VALUE_NULL:
+                canonicalJSON.append(token.asString());
+                break;
+            default:
+                throw new JsonParseException(parser, "Unexpected token " + token);
+        }
+    }
+
+    private static void appendString(String value, StringBuilder canonicalJSON) {
+
+        canonicalJSON.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\') {
+                canonicalJSON.append('\\').append(character);
+            } else if (character < 0x20) {
+                canonicalJSON.append(String.format("\\u%04x", (int) character));
+            } else {
+                canonicalJSON.append(character);
+            }
+        }
+        canonicalJSON.append('"');
+    }
+}
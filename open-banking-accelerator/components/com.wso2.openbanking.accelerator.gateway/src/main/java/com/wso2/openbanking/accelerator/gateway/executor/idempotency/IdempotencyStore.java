@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.idempotency;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.gateway.cache.OpenBankingIdempotencyCacheKey;
+import com.wso2.openbanking.accelerator.gateway.cache.OpenBankingIdempotencyValidationCache;
+import com.wso2.openbanking.accelerator.gateway.util.GatewayConstants;
+import com.wso2.openbanking.accelerator.gateway.util.IdempotencyConstants;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Store of the idempotent requests, which lets a single request per idempotency key reach the backend across
+ * the gateway cluster.
+ * 1) The first request claims the idempotency key by adding an in-flight record to the distributed idempotency
+ *    cache with an atomic put-if-absent. The claim expires after the claim timeout, so that a request which never
+ *    completes does not hold the key.
+ * 2) The later requests with the same key wait, polling the cache, until the response of the first request is
+ *    recorded in place of the claim, and then replay it.
+ * 3) The claim is released when the response of the first request is not recorded, so that the request can be
+ *    retried.
+ * Each claim carries a claim id, and only the claim of the request is replaced or removed, as a single atomic
+ * operation, hence a claim made by another request after the expiry is kept.
+ */
+public class IdempotencyStore {
+
+    private static final Log log = LogFactory.getLog(IdempotencyStore.class);
+
+    private static volatile IdempotencyStore instance;
+
+    private final Backend backend;
+    private final long claimTimeout;
+    private final long waitTimeout;
+    private final long pollInterval;
+    private final LongSupplier clock;
+
+    /**
+     * Cache holding the idempotent requests and responses.
+     */
+    interface Backend {
+
+        HashMap<String, String> get(String key);
+
+        HashMap<String, String> putIfAbsent(String key, HashMap<String, String> value, long timeToLive);
+
+        boolean remove(String key, HashMap<String, String> value);
+
+        boolean replace(String key, HashMap<String, String> oldValue, HashMap<String, String> newValue);
+    }
+
+    /**
+     * Initialize the store.
+     *
+     * @param backend      cache holding the requests and responses
+     * @param claimTimeout time in milliseconds a claim is held
+     * @param waitTimeout  maximum time in milliseconds to wait for the response of a claimed request
+     * @param pollInterval interval in milliseconds to poll for the response of a claimed request
+     * @param clock        supplier of the current time in milliseconds
+     */
+    IdempotencyStore(Backend backend, long claimTimeout, long waitTimeout, long pollInterval, LongSupplier clock) {
+
+        this.backend = backend;
+        this.claimTimeout = claimTimeout;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Get an instance of the IdempotencyStore backed by the idempotency validation cache. It implements a double
+     * checked locking initialization.
+     *
+     * @return IdempotencyStore instance
+     */
+    public static IdempotencyStore getInstance() {
+
+        if (instance == null) {
+            synchronized (IdempotencyStore.class) {
+                if (instance == null) {
+                    Map<String, Object> configuration = OpenBankingConfigParser.getInstance().getConfiguration();
+                    instance = new IdempotencyStore(new CacheBackend(OpenBankingIdempotencyValidationCache
+                            .getInstance()),
+                            TimeUnit.SECONDS.toMillis(getConfig(configuration,
+                                    IdempotencyConstants.IDEMPOTENCY_CLAIM_TIMEOUT, 60)),
+                            getConfig(configuration, IdempotencyConstants.IDEMPOTENCY_CLAIM_WAIT_TIMEOUT, 10000),
+                            Math.max(1, getConfig(configuration,
+                                    IdempotencyConstants.IDEMPOTENCY_CLAIM_POLL_INTERVAL, 100)),
+                            System::currentTimeMillis);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Claim an idempotency key for a request.
+     *
+     * @param key           idempotency cache key
+     * @param requestRecord request record to be compared with the later requests
+     * @param claimId       unique id of the claim
+     * @return null if the key is claimed, otherwise the record already cached against the key
+     */
+    public HashMap<String, String> claim(String key, HashMap<String, String> requestRecord, String claimId) {
+
+        HashMap<String, String> existingRecord = backend.putIfAbsent(key, createClaimRecord(requestRecord, claimId),
+                claimTimeout);
+        if (log.isDebugEnabled()) {
+            log.debug(existingRecord == null ? "Claimed the idempotency key" :
+                    "Idempotency key is already " + (isInFlight(existingRecord) ? "claimed" : "completed"));
+        }
+        return existingRecord;
+    }
+
+    /**
+     * Wait until the response of the claimed request is recorded, or the wait timeout elapses.
+     *
+     * @param key idempotency cache key
+     * @return the completed record, the in-flight record if the wait timed out, or null if the claim is released
+     * or expired
+     */
+    public HashMap<String, String> awaitResponse(String key) {
+
+        long deadline = clock.getAsLong() + waitTimeout;
+        HashMap<String, String> cachedRecord = backend.get(key);
+        while (cachedRecord != null && isInFlight(cachedRecord) && clock.getAsLong() < deadline) {
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            cachedRecord = backend.get(key);
+        }
+        return cachedRecord;
+    }
+
+    /**
+     * Record the response of a claimed request in place of its claim.
+     *
+     * @param key             idempotency cache key
+     * @param requestRecord   request record of the claim
+     * @param claimId         unique id of the claim
+     * @param completedRecord record holding the request and its response
+     * @return true if the response is recorded, false if the claim expired or is replaced by another request
+     */
+    public boolean complete(String key, HashMap<String, String> requestRecord, String claimId,
+                            HashMap<String, String> completedRecord) {
+
+        boolean completed = backend.replace(key, createClaimRecord(requestRecord, claimId), completedRecord);
+        if (log.isDebugEnabled()) {
+            log.debug(completed ? "Recorded the response of the idempotency key" :
+                    "Claim of the idempotency key is no longer held, hence the response is not recorded");
+        }
+        return completed;
+    }
+
+    /**
+     * Record the response of a request in place of the claim held in its context properties.
+     *
+     * @param contextProps    context properties of the request
+     * @param completedRecord record holding the request and its response
+     * @return true if the response is recorded, false if the request does not hold a claim or the claim expired
+     */
+    public boolean complete(Map<String, String> contextProps, HashMap<String, String> completedRecord) {
+
+        return hasClaim(contextProps) && complete(contextProps.get(GatewayConstants.IDEMPOTENCY_CLAIM_KEY),
+                getRequestRecord(contextProps), contextProps.get(GatewayConstants.IDEMPOTENCY_CLAIM_ID),
+                completedRecord);
+    }
+
+    /**
+     * Release the claim of a request whose response is not recorded.
+     *
+     * @param key           idempotency cache key
+     * @param requestRecord request record of the claim
+     * @param claimId       unique id of the claim
+     */
+    public void release(String key, HashMap<String, String> requestRecord, String claimId) {
+
+        if (backend.remove(key, createClaimRecord(requestRecord, claimId))) {
+            log.debug("Released the claim of the idempotency key");
+        }
+    }
+
+    /**
+     * Release the claim of a request whose response is not recorded, if the request claimed its idempotency key.
+     *
+     * @param contextProps context properties of the request
+     */
+    public void release(Map<String, String> contextProps) {
+
+        if (hasClaim(contextProps)) {
+            release(contextProps.get(GatewayConstants.IDEMPOTENCY_CLAIM_KEY), getRequestRecord(contextProps),
+                    contextProps.get(GatewayConstants.IDEMPOTENCY_CLAIM_ID));
+        }
+    }
+
+    /**
+     * Release the claim of a request which failed before its response is recorded, e.g. when a later executor
+     * rejects the request.
+     *
+     * @param contextProps context properties of the request
+     */
+    public static void releaseClaim(Map<String, String> contextProps) {
+
+        if (hasClaim(contextProps)) {
+            getInstance().release(contextProps);
+        }
+    }
+
+    /**
+     * Check whether a request claimed its idempotency key.
+     *
+     * @param contextProps context properties of the request
+     * @return true if the context properties hold a claim
+     */
+    static boolean hasClaim(Map<String, String> contextProps) {
+
+        return contextProps != null && contextProps.get(GatewayConstants.IDEMPOTENCY_CLAIM_ID) != null &&
+                contextProps.get(GatewayConstants.IDEMPOTENCY_CLAIM_KEY) != null;
+    }
+
+    /**
+     * Get the request record of a claim from the context properties of the request.
+     *
+     * @param contextProps context properties of the request
+     * @return request record
+     */
+    private static HashMap<String, String> getRequestRecord(Map<String, String> contextProps) {
+
+        HashMap<String, String> requestRecord = new HashMap<>();
+        if (contextProps.get(GatewayConstants.REQUEST_CACHE_KEY) != null) {
+            requestRecord.put(GatewayConstants.REQUEST_CACHE_KEY, contextProps.get(GatewayConstants.REQUEST_CACHE_KEY));
+        }
+        if (contextProps.get(GatewayConstants.REQUEST_DIGEST_CACHE_KEY) != null) {
+            requestRecord.put(GatewayConstants.REQUEST_DIGEST_CACHE_KEY,
+                    contextProps.get(GatewayConstants.REQUEST_DIGEST_CACHE_KEY));
+        }
+        return requestRecord;
+    }
+
+    /**
+     * Create the claim record of a request. The claim is replaced or removed by its value, hence the same record
+     * is created on claim, on completion and on release.
+     *
+     * @param requestRecord request record
+     * @param claimId       unique id of the claim
+     * @return claim record
+     */
+    private static HashMap<String, String> createClaimRecord(HashMap<String, String> requestRecord, String claimId) {
+
+        HashMap<String, String> claimRecord = new HashMap<>(requestRecord);
+        claimRecord.put(GatewayConstants.IN_FLIGHT_CACHE_KEY, GatewayConstants.TRUE);
+        claimRecord.put(GatewayConstants.IDEMPOTENCY_CLAIM_ID, claimId);
+        return claimRecord;
+    }
+
+    /**
+     * Check whether a cached record is a claim of a request in flight.
+     *
+     * @param cachedRecord cached record
+     * @return true if the response of the request is not recorded yet
+     */
+    public static boolean isInFlight(Map<String, String> cachedRecord) {
+
+        return GatewayConstants.TRUE.equals(cachedRecord.get(GatewayConstants.IN_FLIGHT_CACHE_KEY));
+    }
+
+    private static long getConfig(Map<String, Object> configuration, String key, long defaultValue) {
+
+        Object value = configuration.get(key);
+        return value == null ? defaultValue : Long.parseLong(value.toString());
+    }
+
+    /**
+     * Backend of the distributed idempotency validation cache.
+     */
+    private static class CacheBackend implements Backend {
+
+        private final OpenBankingIdempotencyValidationCache cache;
+
+        CacheBackend(OpenBankingIdempotencyValidationCache cache) {
+
+            this.cache = cache;
+        }
+
+        @Override
+        public HashMap<String, String> get(String key) {
+
+            return cache.getFromCache(OpenBankingIdempotencyCacheKey.of(key));
+        }
+
+        @Override
+        public HashMap<String, String> putIfAbsent(String key, HashMap<String, String> value, long timeToLive) {
+
+            return cache.putIfAbsentToCache(OpenBankingIdempotencyCacheKey.of(key), value, timeToLive,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public boolean remove(String key, HashMap<String, String> value) {
+
+            return cache.removeFromCache(OpenBankingIdempotencyCacheKey.of(key), value);
+        }
+
+        @Override
+        public boolean replace(String key, HashMap<String, String> oldValue, HashMap<String, String> newValue) {
+
+            return cache.replaceInCache(OpenBankingIdempotencyCacheKey.of(key), oldValue, newValue);
+        }
+    }
+}
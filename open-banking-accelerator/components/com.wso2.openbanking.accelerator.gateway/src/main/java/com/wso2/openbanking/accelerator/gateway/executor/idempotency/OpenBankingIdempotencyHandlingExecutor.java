@@ -40,6 +40,7 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Executor to handle Payment Idempotency.
@@ -47,6 +48,7 @@ import java.util.Map;
 public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBankingGatewayExecutor {
 
     private static final Log log = LogFactory.getLog(OpenBankingIdempotencyHandlingExecutor.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private OpenBankingIdempotencyValidationCache openBankingIdempotencyValidationCache =
             OpenBankingIdempotencyValidationCache.getInstance();
     private OpenBankingConfigParser openBankingConfigParser = OpenBankingConfigParser.getInstance();
@@ -115,21 +117,45 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
             }
 
             Map<String, String> cachedObjectMap = getPropertiesFromCache(idempotencyCacheKey);
+            boolean isClaimEnabled = isClaimEnabledFromConfig();
+            String claimId = isClaimEnabled ? UUID.randomUUID().toString() : null;
+            if (cachedObjectMap.isEmpty() && isClaimEnabled) {
+                //Claiming the idempotency key, so that the concurrent requests with the same key wait for this one
+                HashMap<String, String> existingObjectMap = getIdempotencyStore().claim(idempotencyCacheKey,
+                        getRequestRecord(payload), claimId);
+                if (existingObjectMap != null) {
+                    cachedObjectMap = existingObjectMap;
+                }
+            }
             //Check whether the request exists in the cache
             if (!cachedObjectMap.isEmpty()) {
                 log.debug("Handling idempotency through gateway");
 
-                // previous result is present in cache, retrieving request from cache
-                String cachedRequest = cachedObjectMap.get(GatewayConstants.REQUEST_CACHE_KEY);
+                if (IdempotencyStore.isInFlight(cachedObjectMap) && isPayloadSimilar(cachedObjectMap, payload)) {
+                    //A request with the same key is in flight, hence waiting for its response
+                    log.debug("Idempotent request is in flight, waiting for its response");
+                    HashMap<String, String> completedObjectMap = getIdempotencyStore()
+                            .awaitResponse(idempotencyCacheKey);
+                    if (completedObjectMap == null || IdempotencyStore.isInFlight(completedObjectMap)) {
+                        log.error(IdempotencyConstants.Error.EXECUTOR_IDEMPOTENCY_KEY_IN_FLIGHT);
+                        obapiRequestContext.setError(true);
+                        obapiRequestContext.setErrors(handleIdempotencyErrors(obapiRequestContext,
+                                IdempotencyConstants.Error.EXECUTOR_IDEMPOTENCY_KEY_IN_FLIGHT,
+                                IdempotencyConstants.Error.HEADER_INVALID, OpenBankingErrorCodes.CONFLICT_CODE));
+                        return;
+                    }
+                    cachedObjectMap = completedObjectMap;
+                }
+
                 String createdTime = cachedObjectMap.get(GatewayConstants.CREATED_TIME_CACHE_KEY);
                 //Check whether payload received is similar to the payload stored
-                if (isJSONPayloadSimilar(cachedRequest, payload)) {
+                if (isPayloadSimilar(cachedObjectMap, payload)) {
                     log.debug("Payloads are similar for idempotent request");
                     //Payloads are similar, hence checking whether request came within allowed time
                     if (isRequestReceivedWithinAllowedTime(createdTime)) {
                         log.debug("Idempotent request received within allowed time");
                         //Retrieving the response from cache
-                        String cachedResponse = cachedObjectMap.get(GatewayConstants.RESPONSE_CACHE_KEY);
+                        String cachedResponse = getResponseFromCachedObject(cachedObjectMap);
 
                         //Setting payload as modified payload
                         log.debug("Setting cached payload as the response");
@@ -150,7 +176,11 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
             } else {
                 log.debug("Request is not found in cache, adding the request to cache.");
                 //Since request is not in cache, adding the request to the cache against the idempotency key
-                contextProps.put(GatewayConstants.REQUEST_CACHE_KEY, payload);
+                contextProps.putAll(getRequestRecord(payload));
+                if (isClaimEnabled) {
+                    contextProps.put(GatewayConstants.IDEMPOTENCY_CLAIM_ID, claimId);
+                    contextProps.put(GatewayConstants.IDEMPOTENCY_CLAIM_KEY, idempotencyCacheKey);
+                }
             }
         } catch (IOException e) {
             log.error(IdempotencyConstants.Error.EXECUTOR_IDEMPOTENCY_KEY_ERROR, e);
@@ -190,6 +220,7 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
 
         // Validating if the response is a valid idempotency available response.
         if (!isValidIdempotencyResponse(obapiResponseContext)) {
+            releaseClaim(obapiResponseContext);
             return;
         }
 
@@ -214,6 +245,7 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
         String createdTime = getCreatedTimeFromResponse(obapiResponseContext);
         if (createdTime == null) {
             log.error(IdempotencyConstants.Error.DATE_MISSING);
+            releaseClaim(obapiResponseContext);
             return;
         }
 
@@ -224,13 +256,41 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
         String idempotencyCacheKey = consumerKey + "_" + resource + "_" + idempotencyKey;
 
         //Add response and created time to the cache
-        HashMap<String, String> cachedObject = getPropertiesFromCache(idempotencyCacheKey);
+        boolean hasClaim = IdempotencyStore.hasClaim(contextProps);
+        HashMap<String, String> cachedObject = hasClaim ? new HashMap<>() :
+                getPropertiesFromCache(idempotencyCacheKey);
+        cachedObject.remove(GatewayConstants.IN_FLIGHT_CACHE_KEY);
+        cachedObject.remove(GatewayConstants.IDEMPOTENCY_CLAIM_ID);
         if (contextProps.get(GatewayConstants.REQUEST_CACHE_KEY) != null) {
             cachedObject.put(GatewayConstants.REQUEST_CACHE_KEY, contextProps.get(GatewayConstants.REQUEST_CACHE_KEY));
         }
-        cachedObject.put(GatewayConstants.RESPONSE_CACHE_KEY, responsePayload);
+        if (contextProps.get(GatewayConstants.REQUEST_DIGEST_CACHE_KEY) != null) {
+            cachedObject.put(GatewayConstants.REQUEST_DIGEST_CACHE_KEY,
+                    contextProps.get(GatewayConstants.REQUEST_DIGEST_CACHE_KEY));
+        }
+        if (isDigestModeEnabledFromConfig() && responsePayload != null) {
+            try {
+                cachedObject.put(GatewayConstants.COMPRESSED_RESPONSE_CACHE_KEY,
+                        IdempotencyDigestUtils.compress(responsePayload));
+                cachedObject.remove(GatewayConstants.RESPONSE_CACHE_KEY);
+            } catch (IOException e) {
+                log.error("Error while compressing the idempotent response, hence caching it uncompressed", e);
+                cachedObject.put(GatewayConstants.RESPONSE_CACHE_KEY, responsePayload);
+            }
+        } else {
+            cachedObject.put(GatewayConstants.RESPONSE_CACHE_KEY, responsePayload);
+        }
         cachedObject.put(GatewayConstants.CREATED_TIME_CACHE_KEY, createdTime);
 
+        if (hasClaim) {
+            // The response is recorded only in place of the claim of this request, hence a claim taken by another
+            // request after the claim of this request expired is kept
+            if (!getIdempotencyStore().complete(contextProps, cachedObject)) {
+                log.warn("Claim of the idempotency key expired before the response is received, hence the " +
+                        "response is not recorded");
+            }
+            return;
+        }
         log.debug("Setting properties to cache");
         setPropertiesToCache(idempotencyCacheKey, cachedObject);
     }
@@ -245,9 +305,25 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
     protected ArrayList<OpenBankingExecutorError> handleIdempotencyErrors(OBAPIRequestContext obapiRequestContext,
                                                                         String message, String errorCode) {
 
-        OpenBankingExecutorError error = new OpenBankingExecutorError(errorCode,
-                IdempotencyConstants.Error.IDEMPOTENCY_HANDLE_ERROR, message,
+        return handleIdempotencyErrors(obapiRequestContext, message, errorCode,
                 OpenBankingErrorCodes.BAD_REQUEST_CODE);
+    }
+
+    /**
+     * Method to handle errors in Idempotency validation with the given HTTP status code.
+     *
+     * @param obapiRequestContext obapiRequestContext.
+     * @param message             message.
+     * @param errorCode           error code.
+     * @param httpCode            HTTP status code.
+     * @return Arraylist of OpenBankingExecutorError.
+     */
+    protected ArrayList<OpenBankingExecutorError> handleIdempotencyErrors(OBAPIRequestContext obapiRequestContext,
+                                                                        String message, String errorCode,
+                                                                        String httpCode) {
+
+        OpenBankingExecutorError error = new OpenBankingExecutorError(errorCode,
+                IdempotencyConstants.Error.IDEMPOTENCY_HANDLE_ERROR, message, httpCode);
         ArrayList<OpenBankingExecutorError> executorErrors = obapiRequestContext.getErrors();
         executorErrors.add(error);
         return executorErrors;
@@ -278,6 +354,46 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
         return cachedObject == null ? new HashMap<>() : cachedObject;
     }
 
+    /**
+     * Method to get the request record to be compared with the later requests, which is the digest of the payload
+     * in the digest mode, otherwise the payload itself.
+     *
+     * @param payload JSON payload received from current request
+     * @return request record
+     * @throws IOException when the payload cannot be parsed
+     */
+    private HashMap<String, String> getRequestRecord(String payload) throws IOException {
+
+        HashMap<String, String> requestRecord = new HashMap<>();
+        if (isDigestModeEnabledFromConfig()) {
+            requestRecord.put(GatewayConstants.REQUEST_DIGEST_CACHE_KEY, IdempotencyDigestUtils.getDigest(payload));
+        } else {
+            requestRecord.put(GatewayConstants.REQUEST_CACHE_KEY, payload);
+        }
+        return requestRecord;
+    }
+
+    /**
+     * Method to release the claim of the idempotency key when the response is not recorded, so that the request
+     * can be retried.
+     *
+     * @param obapiResponseContext obapiResponseContext.
+     */
+    private void releaseClaim(OBAPIResponseContext obapiResponseContext) {
+
+        getIdempotencyStore().release(obapiResponseContext.getContextProps());
+    }
+
+    /**
+     * Method to get the store claiming the idempotency keys.
+     *
+     * @return IdempotencyStore instance.
+     */
+    protected IdempotencyStore getIdempotencyStore() {
+
+        return IdempotencyStore.getInstance();
+    }
+
     /**
      * Method to compare whether JSON payloads are equal.
      *
@@ -288,11 +404,45 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
      */
     private boolean isJSONPayloadSimilar(String jsonString1, String jsonString2) throws IOException {
 
-        JsonNode expectedNode = new ObjectMapper().readTree(jsonString1);
-        JsonNode actualNode = new ObjectMapper().readTree(jsonString2);
+        JsonNode expectedNode = OBJECT_MAPPER.readTree(jsonString1);
+        JsonNode actualNode = OBJECT_MAPPER.readTree(jsonString2);
         return expectedNode.equals(actualNode);
     }
 
+    /**
+     * Method to compare whether the payload is similar to the cached request. The digest of the request is
+     * compared when it is cached, otherwise the cached request is compared as a JSON payload.
+     *
+     * @param cachedObjectMap cached request and response
+     * @param payload         JSON payload received from current request
+     * @return true if the payloads are similar
+     * @throws IOException when the payloads cannot be parsed
+     */
+    private boolean isPayloadSimilar(Map<String, String> cachedObjectMap, String payload) throws IOException {
+
+        String cachedDigest = cachedObjectMap.get(GatewayConstants.REQUEST_DIGEST_CACHE_KEY);
+        if (cachedDigest != null) {
+            return cachedDigest.equals(IdempotencyDigestUtils.getDigest(payload));
+        }
+        return isJSONPayloadSimilar(cachedObjectMap.get(GatewayConstants.REQUEST_CACHE_KEY), payload);
+    }
+
+    /**
+     * Method to retrieve the response from the cached object, decompressing it if it is cached compressed.
+     *
+     * @param cachedObjectMap cached request and response
+     * @return cached response
+     * @throws IOException when the response cannot be decompressed
+     */
+    private String getResponseFromCachedObject(Map<String, String> cachedObjectMap) throws IOException {
+
+        String compressedResponse = cachedObjectMap.get(GatewayConstants.COMPRESSED_RESPONSE_CACHE_KEY);
+        if (compressedResponse != null) {
+            return IdempotencyDigestUtils.decompress(compressedResponse);
+        }
+        return cachedObjectMap.get(GatewayConstants.RESPONSE_CACHE_KEY);
+    }
+
     /**
      * Method to check whether difference between two dates is less than the configured time.
      *
@@ -331,6 +481,28 @@ public abstract class OpenBankingIdempotencyHandlingExecutor implements OpenBank
         return Boolean.parseBoolean(isIdempotencyEnabled);
     }
 
+    /**
+     * Method to check whether the requests are cached as digests and the responses are cached compressed.
+     *
+     * @return True if the digest mode is enabled, else False.
+     */
+    private boolean isDigestModeEnabledFromConfig() {
+
+        return Boolean.parseBoolean((String) openBankingConfigParser.getConfiguration()
+                .get(IdempotencyConstants.IDEMPOTENCY_DIGEST_MODE));
+    }
+
+    /**
+     * Method to check whether the idempotency keys are claimed by the requests in flight.
+     *
+     * @return True if the in-flight claim is enabled, else False.
+     */
+    private boolean isClaimEnabledFromConfig() {
+
+        return Boolean.parseBoolean((String) openBankingConfigParser.getConfiguration()
+                .get(IdempotencyConstants.IDEMPOTENCY_CLAIM_ENABLED));
+    }
+
     /**
      * Method to get the Idempotency Key from the config.
      *
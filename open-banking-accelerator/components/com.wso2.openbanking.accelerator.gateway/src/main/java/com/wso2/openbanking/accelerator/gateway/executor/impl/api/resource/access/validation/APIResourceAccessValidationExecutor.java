@@ -20,6 +20,7 @@ package com.wso2.openbanking.accelerator.gateway.executor.impl.api.resource.acce
 
 import com.wso2.openbanking.accelerator.common.error.OpenBankingErrorCodes;
 import com.wso2.openbanking.accelerator.common.util.Generated;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorPhase;
 import com.wso2.openbanking.accelerator.gateway.executor.core.OpenBankingGatewayExecutor;
 import com.wso2.openbanking.accelerator.gateway.executor.exception.OpenBankingExecutorException;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
@@ -101,4 +102,10 @@ public class APIResourceAccessValidationExecutor implements OpenBankingGatewayEx
             obapiRequestContext.setErrors(executorErrors);
         }
     }
+
+    @Override
+    public boolean isNoOp(ExecutorPhase phase) {
+
+        return ExecutorPhase.POST_PROCESS_REQUEST != phase && getClass() == APIResourceAccessValidationExecutor.class;
+    }
 }
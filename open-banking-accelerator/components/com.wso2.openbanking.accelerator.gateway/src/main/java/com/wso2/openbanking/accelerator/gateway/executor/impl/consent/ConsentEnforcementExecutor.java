@@ -21,6 +21,7 @@ package com.wso2.openbanking.accelerator.gateway.executor.impl.consent;
 import com.wso2.openbanking.accelerator.common.error.OpenBankingErrorCodes;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
 import com.wso2.openbanking.accelerator.common.util.Generated;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorPhase;
 import com.wso2.openbanking.accelerator.gateway.executor.core.OpenBankingGatewayExecutor;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
@@ -38,6 +39,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.json.JSONObject;
 
 import java.io.FileInputStream;
@@ -52,6 +54,8 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -156,25 +160,59 @@ public class ConsentEnforcementExecutor implements OpenBankingGatewayExecutor {
     }
 
     /**
-     * Method to invoke consent validation service when the JWT payload is provided.
+     * Method to create the body of the validation request according to the configured channel authentication.
+     * The JWS channel signs the payload with the internal key, the HMAC channel signs the payload with the shared
+     * secret and the MTLS channel sends the payload as it is, since the gateway is authenticated at the transport. The
+     * validation endpoint accepts the unsigned payload only when the client certificate is the gateway certificate
+     * trusted at the IS.
      *
-     * @param enforcementJWTPayload JWT Payload
+     * @param payload validation request payload
+     * @return validation request body
+     * @throws OpenBankingException When the HMAC secret is not configured for the HMAC channel.
+     */
+    protected String createValidationRequestBody(String payload) throws OpenBankingException {
+
+        String channel = dataHolder.getConsentValidationChannel();
+        if (GatewayConstants.CONSENT_VALIDATION_CHANNEL_HMAC.equals(channel)) {
+            String secret = dataHolder.getConsentValidationHMACSecret();
+            if (StringUtils.isBlank(secret)) {
+                throw new OpenBankingException("HMAC secret is not configured for the consent validation channel");
+            }
+            return Jwts.builder()
+                    .setPayload(payload)
+                    .signWith(SignatureAlgorithm.HS256, secret.getBytes(StandardCharsets.UTF_8))
+                    .compact();
+        } else if (GatewayConstants.CONSENT_VALIDATION_CHANNEL_MTLS.equals(channel)) {
+            return payload;
+        }
+        return generateJWT(payload);
+    }
+
+    /**
+     * Method to invoke consent validation service when the validation request body is provided.
+     *
+     * @param validationRequestBody JWT or the JSON payload, according to the channel authentication
      * @return Response as a String
      * @throws IOException When failed to invoke the validation endpoint or failed to parse the response.
      */
     @Generated(message = "Ignoring from unit tests since this method require calling external component to function")
-    private String invokeConsentValidationService(String enforcementJWTPayload) throws IOException,
+    private String invokeConsentValidationService(String validationRequestBody) throws IOException,
             OpenBankingException {
 
         HttpPost httpPost = new HttpPost(getValidationEndpoint());
         StringEntity params;
-        params = new StringEntity(enforcementJWTPayload);
+        params = new StringEntity(validationRequestBody);
         httpPost.setEntity(params);
-        httpPost.setHeader(GatewayConstants.CONTENT_TYPE_TAG, GatewayConstants.JWT_CONTENT_TYPE);
+        boolean isMutualTLSChannel = GatewayConstants.CONSENT_VALIDATION_CHANNEL_MTLS.equals(
+                dataHolder.getConsentValidationChannel());
+        httpPost.setHeader(GatewayConstants.CONTENT_TYPE_TAG, isMutualTLSChannel ?
+                GatewayConstants.JSON_CONTENT_TYPE : GatewayConstants.JWT_CONTENT_TYPE);
         String userName = GatewayUtils.getAPIMgtConfig(GatewayConstants.API_KEY_VALIDATOR_USERNAME);
         String password = GatewayUtils.getAPIMgtConfig(GatewayConstants.API_KEY_VALIDATOR_PASSWORD);
         httpPost.setHeader(GatewayConstants.AUTH_HEADER, GatewayUtils.getBasicAuthHeader(userName, password));
-        HttpResponse response = GatewayDataHolder.getHttpClient().execute(httpPost);
+        CloseableHttpClient httpClient = isMutualTLSChannel ? GatewayDataHolder.getMutualTLSHttpClient() :
+                GatewayDataHolder.getHttpClient();
+        HttpResponse response = httpClient.execute(httpPost);
         InputStream in = response.getEntity().getContent();
         return IOUtils.toString(in, String.valueOf(StandardCharsets.UTF_8));
     }
@@ -252,19 +290,19 @@ public class ConsentEnforcementExecutor implements OpenBankingGatewayExecutor {
         additionalParams.put(CLIENT_ID_TAG, obapiRequestContext.getApiRequestInfo().getConsumerKey());
         additionalParams.put(RESOURCE_PARAMS, getResourceParamMap(obapiRequestContext));
 
-        JSONObject validationRequest;
-        if (StringUtils.isNotBlank(obapiRequestContext.getModifiedPayload())) {
-            validationRequest = createValidationRequestPayload(requestHeaders,
-                    obapiRequestContext.getModifiedPayload(), additionalParams);
-        } else {
-            validationRequest = createValidationRequestPayload(requestHeaders,
-                    obapiRequestContext.getRequestPayload(), additionalParams);
-        }
-        String enforcementJWTPayload = generateJWT(validationRequest.toString());
+        String requestPayload = StringUtils.isNotBlank(obapiRequestContext.getModifiedPayload()) ?
+                obapiRequestContext.getModifiedPayload() : obapiRequestContext.getRequestPayload();
+        JSONObject validationRequest = createValidationRequestPayload(requestHeaders, requestPayload,
+                additionalParams);
         JSONObject jsonResponse;
         try {
-            String response = invokeConsentValidationService(enforcementJWTPayload);
-            jsonResponse = new JSONObject(response);
+            if (dataHolder.isConsentValidationCacheEnabled()) {
+                jsonResponse = ConsentValidationCache.getInstance().getOrValidate(obapiRequestContext.getConsentId(),
+                        getDecisionKey(obapiRequestContext, requestHeaders, requestPayload),
+                        () -> validateConsent(validationRequest));
+            } else {
+                jsonResponse = validateConsent(validationRequest);
+            }
         } catch (IOException | OpenBankingException e) {
             handleError(obapiRequestContext, OpenBankingErrorCodes.CONSENT_VALIDATION_REQUEST_FAILURE, e.getMessage(),
                     OpenBankingErrorCodes.SERVER_ERROR_CODE);
@@ -293,6 +331,51 @@ public class ConsentEnforcementExecutor implements OpenBankingGatewayExecutor {
         }
     }
 
+    private JSONObject validateConsent(JSONObject validationRequest) throws IOException, OpenBankingException {
+
+        String response = invokeConsentValidationService(createValidationRequestBody(validationRequest.toString()));
+        return new JSONObject(response);
+    }
+
+    /**
+     * Method to get the key of the validation decision, which covers the request attributes sent for the
+     * validation. Among the headers, only the configured digest headers are covered.
+     *
+     * @param obapiRequestContext OB request context object
+     * @param requestHeaders      Request headers of original request
+     * @param requestPayload      Request payload sent for the validation
+     * @return decision key
+     */
+    protected String getDecisionKey(OBAPIRequestContext obapiRequestContext, Map<String, String> requestHeaders,
+                                    String requestPayload) {
+
+        List<String> attributes = new ArrayList<>();
+        attributes.add(obapiRequestContext.getMsgInfo().getResource());
+        attributes.add(obapiRequestContext.getApiRequestInfo().getContext());
+        attributes.add(obapiRequestContext.getApiRequestInfo().getUsername());
+        attributes.add(obapiRequestContext.getApiRequestInfo().getConsumerKey());
+        attributes.add(requestPayload);
+        for (String headerName : dataHolder.getConsentValidationDigestHeaders()) {
+            attributes.add(headerName.toLowerCase(Locale.ROOT));
+            attributes.add(getHeader(requestHeaders, headerName));
+        }
+        return ConsentValidationCache.getDecisionKey(obapiRequestContext.getMsgInfo().getElectedResource(),
+                obapiRequestContext.getMsgInfo().getHttpMethod(), attributes.toArray(new String[0]));
+    }
+
+    private static String getHeader(Map<String, String> requestHeaders, String headerName) {
+
+        if (requestHeaders.containsKey(headerName)) {
+            return requestHeaders.get(headerName);
+        }
+        for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+            if (headerName.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
     /**
      * Method to construct resource parameter map to invoke the validation service.
      *
@@ -309,4 +392,10 @@ public class ConsentEnforcementExecutor implements OpenBankingGatewayExecutor {
 
         return resourceMap;
     }
+
+    @Override
+    public boolean isNoOp(ExecutorPhase phase) {
+
+        return ExecutorPhase.POST_PROCESS_REQUEST != phase && getClass() == ConsentEnforcementExecutor.class;
+    }
 }
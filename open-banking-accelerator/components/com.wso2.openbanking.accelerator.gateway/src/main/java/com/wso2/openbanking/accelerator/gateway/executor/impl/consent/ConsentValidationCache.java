@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.impl.consent;
+
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedCacheConstants;
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedMember;
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import com.wso2.openbanking.accelerator.gateway.internal.GatewayDataHolder;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Short lived cache of the consent validation results, keyed by the consent id and a decision key derived from
+ * the elected resource, the http method and a digest of the request attributes sent for the validation.
+ * 1) A cached result is served until its time to live elapses, or until the consent is invalidated on a consent
+ *    state change, such as an amendment or a revocation, which is received from the distributed cache cluster.
+ * 2) Identical validations which are in flight at the same time are coalesced into a single call to the consent
+ *    validation service, and the result is shared by the waiting requests.
+ * 3) The failed validation calls are not cached, and a result is not cached if any consent is invalidated while
+ *    it was being validated.
+ */
+public class ConsentValidationCache {
+
+    private static final Log log = LogFactory.getLog(ConsentValidationCache.class);
+    private static final String KEY_SEPARATOR = "|";
+
+    private static volatile ConsentValidationCache instance;
+
+    private final Map<String, Map<String, CachedResult>> results = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<JSONObject>> inFlightValidations = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final long timeToLive;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    /**
+     * Validation call to the consent validation service.
+     */
+    interface ValidationCall {
+
+        JSONObject validate() throws IOException, OpenBankingException;
+    }
+
+    /**
+     * Initialize the cache.
+     *
+     * @param timeToLive time in milliseconds a result is served for
+     * @param maxEntries maximum number of cached results
+     * @param clock      supplier of the current time in milliseconds
+     */
+    ConsentValidationCache(long timeToLive, int maxEntries, LongSupplier clock) {
+
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Get an instance of the ConsentValidationCache. It implements a double checked locking initialization.
+     * The instance is subscribed to the consent invalidations of the distributed cache cluster, if enabled.
+     *
+     * @return ConsentValidationCache instance
+     */
+    public static ConsentValidationCache getInstance() {
+
+        if (instance == null) {
+            synchronized (ConsentValidationCache.class) {
+                if (instance == null) {
+                    GatewayDataHolder gatewayDataHolder = GatewayDataHolder.getInstance();
+                    ConsentValidationCache cache = new ConsentValidationCache(
+                            TimeUnit.SECONDS.toMillis(gatewayDataHolder.getConsentValidationCacheTimeToLive()),
+                            Math.max(1, gatewayDataHolder.getConsentValidationCacheMaxEntries()),
+                            System::currentTimeMillis);
+                    if (!OpenBankingDistributedMember.of().addMessageListener(
+                            OpenBankingDistributedCacheConstants.CONSENT_INVALIDATION_TOPIC, cache::invalidate)) {
+                        log.warn("Distributed Caching is disabled, hence the cached consent validation results are " +
+                                "not invalidated on consent state changes until their time to live elapses");
+                    }
+                    instance = cache;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the decision key of a validation request.
+     *
+     * @param electedResource elected resource of the request
+     * @param httpMethod      http method of the request
+     * @param attributes      other request attributes sent for the validation
+     * @return decision key
+     */
+    public static String getDecisionKey(String electedResource, String httpMethod, String... attributes) {
+
+        StringBuilder digestInput = new StringBuilder();
+        for (String attribute : attributes) {
+            // length prefixed, so that the attribute boundaries are part of the digest
+            String value = attribute == null ? "" : attribute;
+            digestInput.append(attribute == null ? -1 : value.length()).append(':').append(value);
+        }
+        return electedResource + KEY_SEPARATOR + httpMethod + KEY_SEPARATOR + DigestUtils.sha256Hex(
+                digestInput.toString());
+    }
+
+    /**
+     * Get the cached validation result, or validate through the given call. The call is shared by the identical
+     * validations which are in flight at the same time.
+     *
+     * @param consentId      consent id
+     * @param decisionKey    decision key of the validation request
+     * @param validationCall call to the consent validation service
+     * @return validation result
+     * @throws IOException          when failed to invoke the validation service
+     * @throws OpenBankingException when failed to invoke the validation service
+     */
+    public JSONObject getOrValidate(String consentId, String decisionKey, ValidationCall validationCall)
+            throws IOException, OpenBankingException {
+
+        JSONObject cachedResult = get(consentId, decisionKey);
+        if (cachedResult != null) {
+            hitCount.incrementAndGet();
+            return cachedResult;
+        }
+        missCount.incrementAndGet();
+
+        String validationKey = consentId + KEY_SEPARATOR + decisionKey;
+        CompletableFuture<JSONObject> validation = new CompletableFuture<>();
+        CompletableFuture<JSONObject> inFlightValidation = inFlightValidations.putIfAbsent(validationKey,
+                validation);
+        if (inFlightValidation != null) {
+            coalescedCount.incrementAndGet();
+            return await(inFlightValidation);
+        }
+
+        long invalidationCountAtStart = invalidationCount.get();
+        try {
+            JSONObject result = validationCall.validate();
+            if (invalidationCountAtStart == invalidationCount.get()) {
+                put(consentId, decisionKey, result);
+            }
+            validation.complete(result);
+            return result;
+        } catch (IOException | OpenBankingException | RuntimeException e) {
+            validation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightValidations.remove(validationKey, validation);
+        }
+    }
+
+    /**
+     * Remove the cached validation results of a consent.
+     *
+     * @param consentId consent id
+     */
+    public void invalidate(String consentId) {
+
+        if (consentId == null) {
+            return;
+        }
+        invalidationCount.incrementAndGet();
+        Map<String, CachedResult> consentResults = results.remove(consentId);
+        if (consentResults != null) {
+            size.addAndGet(-consentResults.size());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Invalidated the cached validation results of consent " +
+                    consentId.replaceAll("[\r\n]", ""));
+        }
+    }
+
+    /**
+     * Remove all the cached validation results.
+     */
+    public void clear() {
+
+        invalidationCount.incrementAndGet();
+        for (String consentId : results.keySet()) {
+            invalidate(consentId);
+        }
+    }
+
+    /**
+     * Remove the expired validation results.
+     *
+     * @return number of removed results
+     */
+    public int sweep() {
+
+        long currentTime = clock.getAsLong();
+        AtomicInteger removedCount = new AtomicInteger();
+        for (String consentId : results.keySet()) {
+            results.computeIfPresent(consentId, (key, consentResults) -> {
+                Iterator<CachedResult> iterator = consentResults.values().iterator();
+                while (iterator.hasNext()) {
+                    if (currentTime >= iterator.next().expiryTime) {
+                        iterator.remove();
+                        removedCount.incrementAndGet();
+                    }
+                }
+                return consentResults.isEmpty() ? null : consentResults;
+            });
+        }
+        size.addAndGet(-removedCount.get());
+        return removedCount.get();
+    }
+
+    /**
+     * Get the number of cached validation results.
+     *
+     * @return number of cached results
+     */
+    public int getSize() {
+
+        return size.get();
+    }
+
+    /**
+     * Get the number of validations served from the cache.
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of validations not found in the cache.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    /**
+     * Get the number of validations which waited for an identical validation in flight.
+     *
+     * @return coalesced count
+     */
+    public long getCoalescedCount() {
+
+        return coalescedCount.get();
+    }
+
+    private JSONObject get(String consentId, String decisionKey) {
+
+        Map<String, CachedResult> consentResults = results.get(consentId);
+        CachedResult cachedResult = consentResults == null ? null : consentResults.get(decisionKey);
+        if (cachedResult == null || clock.getAsLong() >= cachedResult.expiryTime) {
+            return null;
+        }
+        return cachedResult.result;
+    }
+
+    private void put(String consentId, String decisionKey, JSONObject result) {
+
+        if (size.get() >= maxEntries && sweep() == 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Maximum number of cached consent validation results is reached, hence the result is " +
+                        "not cached");
+            }
+            return;
+        }
+        CachedResult cachedResult = new CachedResult(result, clock.getAsLong() + timeToLive);
+        // updated within the bin lock of the consent, so that the results are not added to an invalidated map
+        results.compute(consentId, (key, consentResults) -> {
+            Map<String, CachedResult> updatedResults = consentResults == null ?
+                    new ConcurrentHashMap<>() : consentResults;
+            if (updatedResults.put(decisionKey, cachedResult) == null) {
+                size.incrementAndGet();
+            }
+            return updatedResults;
+        });
+    }
+
+    private static JSONObject await(CompletableFuture<JSONObject> validation)
+            throws IOException, OpenBankingException {
+
+        try {
+            return validation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenBankingException("Interrupted while waiting for the consent validation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof OpenBankingException) {
+                throw (OpenBankingException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OpenBankingException("Consent validation failed", cause);
+        }
+    }
+
+    /**
+     * Validation result along with the time it expires.
+     */
+    private static class CachedResult {
+
+        private final JSONObject result;
+        private final long expiryTime;
+
+        CachedResult(JSONObject result, long expiryTime) {
+
+            this.result = result;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
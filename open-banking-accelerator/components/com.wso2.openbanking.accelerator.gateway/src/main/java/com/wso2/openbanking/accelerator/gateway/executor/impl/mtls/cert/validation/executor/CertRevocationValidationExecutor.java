@@ -23,10 +23,14 @@ import com.wso2.openbanking.accelerator.common.exception.CertificateValidationEx
 import com.wso2.openbanking.accelerator.common.util.Generated;
 import com.wso2.openbanking.accelerator.gateway.cache.CertificateRevocationCache;
 import com.wso2.openbanking.accelerator.gateway.cache.GatewayCacheKey;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorPhase;
 import com.wso2.openbanking.accelerator.gateway.executor.core.OpenBankingGatewayExecutor;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OpenBankingExecutorError;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import com.wso2.openbanking.accelerator.gateway.executor.service.CertRevocationStatusEngine;
 import com.wso2.openbanking.accelerator.gateway.executor.service.CertValidationService;
 import com.wso2.openbanking.accelerator.gateway.executor.util.CertificateValidationUtils;
 import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
@@ -148,10 +152,15 @@ public class CertRevocationValidationExecutor implements OpenBankingGatewayExecu
     private boolean isCertRevoked(X509Certificate peerCertificate)
             throws CertificateValidationException, CertificateEncodingException {
 
-        // Initializing certificate cache and cache key
-        CertificateRevocationCache certificateRevocationCache = CertificateRevocationCache.getInstance();
         // Generating the certificate thumbprint to use as cache key
         String certificateValidationCacheKeyStr = DigestUtils.sha256Hex(peerCertificate.getEncoded());
+        if (TPPCertValidatorDataHolder.getInstance().isAsyncRevocationValidationEnabled()) {
+            return CertRevocationStatusEngine.getInstance().isRevoked(certificateValidationCacheKeyStr,
+                    () -> getCertRevocationCheckResult(peerCertificate));
+        }
+
+        // Initializing certificate cache and cache key
+        CertificateRevocationCache certificateRevocationCache = CertificateRevocationCache.getInstance();
         GatewayCacheKey certificateValidationCacheKey =
                 GatewayCacheKey.of(certificateValidationCacheKeyStr);
 
@@ -237,6 +246,42 @@ public class CertRevocationValidationExecutor implements OpenBankingGatewayExecu
         return isValid;
     }
 
+    /**
+     * Get the revocation status of the certificate along with its next update time. Used by the asynchronous
+     * revocation validation, which caches the status by itself.
+     *
+     * @param peerCertificate peer certificate
+     * @return revocation check result
+     */
+    private RevocationCheckResult getCertRevocationCheckResult(X509Certificate peerCertificate) {
+
+        TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+
+        if (!tppCertValidatorDataHolder.isCertificateRevocationValidationEnabled() ||
+                peerCertificate.getSubjectDN().getName().equals(peerCertificate.getIssuerDN().getName()) ||
+                tppCertValidatorDataHolder.getCertificateRevocationValidationExcludedIssuers()
+                        .contains(peerCertificate.getIssuerDN().getName())) {
+            LOG.debug("Client certificate revocation validation is skipped");
+            return new RevocationCheckResult(RevocationStatus.GOOD, null);
+        }
+
+        X509Certificate issuerCertificate;
+        try {
+            issuerCertificate = CertificateValidationUtils.getIssuerCertificateFromTruststore(peerCertificate);
+        } catch (CertificateValidationException e) {
+            LOG.error("Issuer certificate retrieving failed for client certificate with" +
+                    " serial number " + peerCertificate.getSerialNumber() + " issued by the CA " +
+                    peerCertificate.getIssuerDN().toString(), e);
+            return new RevocationCheckResult(RevocationStatus.UNKNOWN, null);
+        }
+
+        return CertValidationService.getInstance().getRevocationCheckResult(peerCertificate, issuerCertificate,
+                tppCertValidatorDataHolder.getCertificateRevocationValidationRetryCount(),
+                tppCertValidatorDataHolder.getConnectTimeout(),
+                tppCertValidatorDataHolder.getConnectionRequestTimeout(),
+                tppCertValidatorDataHolder.getSocketTimeout());
+    }
+
     /**
      * Method to handle post response.
      *
@@ -256,4 +301,10 @@ public class CertRevocationValidationExecutor implements OpenBankingGatewayExecu
     public void postProcessRequest(OBAPIRequestContext obapiRequestContext) {
 
     }
+
+    @Override
+    public boolean isNoOp(ExecutorPhase phase) {
+
+        return ExecutorPhase.PRE_PROCESS_REQUEST != phase && getClass() == CertRevocationValidationExecutor.class;
+    }
 }
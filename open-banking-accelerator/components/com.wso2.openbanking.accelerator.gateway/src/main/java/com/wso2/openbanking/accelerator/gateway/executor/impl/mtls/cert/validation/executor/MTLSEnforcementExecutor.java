@@ -20,6 +20,7 @@ package com.wso2.openbanking.accelerator.gateway.executor.impl.mtls.cert.validat
 
 import com.wso2.openbanking.accelerator.common.error.OpenBankingErrorCodes;
 import com.wso2.openbanking.accelerator.common.util.Generated;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorPhase;
 import com.wso2.openbanking.accelerator.gateway.executor.core.OpenBankingGatewayExecutor;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
@@ -113,4 +114,9 @@ public class MTLSEnforcementExecutor implements OpenBankingGatewayExecutor {
 
     }
 
+    @Override
+    public boolean isNoOp(ExecutorPhase phase) {
+
+        return ExecutorPhase.PRE_PROCESS_REQUEST != phase && getClass() == MTLSEnforcementExecutor.class;
+    }
 }
@@ -21,6 +21,7 @@ package com.wso2.openbanking.accelerator.gateway.executor.impl.selfcare.portal;
 import com.wso2.openbanking.accelerator.common.error.OpenBankingErrorCodes;
 import com.wso2.openbanking.accelerator.common.util.Generated;
 import com.wso2.openbanking.accelerator.common.util.JWTUtils;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorPhase;
 import com.wso2.openbanking.accelerator.gateway.executor.core.OpenBankingGatewayExecutor;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
@@ -170,4 +171,10 @@ public class UserPermissionValidationExecutor implements OpenBankingGatewayExecu
         }
         return false;
     }
+
+    @Override
+    public boolean isNoOp(ExecutorPhase phase) {
+
+        return ExecutorPhase.PRE_PROCESS_REQUEST != phase && getClass() == UserPermissionValidationExecutor.class;
+    }
 }
@@ -23,6 +23,7 @@ import com.wso2.openbanking.accelerator.common.exception.CertificateValidationEx
 import com.wso2.openbanking.accelerator.common.exception.TPPValidationException;
 import com.wso2.openbanking.accelerator.common.model.PSD2RoleEnum;
 import com.wso2.openbanking.accelerator.common.util.Generated;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorPhase;
 import com.wso2.openbanking.accelerator.gateway.executor.core.OpenBankingGatewayExecutor;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
@@ -193,4 +194,9 @@ public class APITPPValidationExecutor implements OpenBankingGatewayExecutor {
         return scopes;
     }
 
+    @Override
+    public boolean isNoOp(ExecutorPhase phase) {
+
+        return ExecutorPhase.POST_PROCESS_REQUEST != phase && getClass() == APITPPValidationExecutor.class;
+    }
 }
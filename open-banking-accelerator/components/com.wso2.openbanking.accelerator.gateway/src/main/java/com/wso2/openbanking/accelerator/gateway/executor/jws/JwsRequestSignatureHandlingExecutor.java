@@ -40,6 +40,7 @@ import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
 import com.wso2.openbanking.accelerator.common.identity.retriever.JWKRetriever;
 import com.wso2.openbanking.accelerator.common.identity.retriever.sp.CommonServiceProviderRetriever;
 import com.wso2.openbanking.accelerator.common.util.Generated;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorPhase;
 import com.wso2.openbanking.accelerator.gateway.executor.core.OpenBankingGatewayExecutor;
 import com.wso2.openbanking.accelerator.gateway.executor.exception.OpenBankingExecutorException;
 import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
@@ -624,4 +625,9 @@ public class JwsRequestSignatureHandlingExecutor implements OpenBankingGatewayEx
         return "x-jws-signature";
     }
 
+    @Override
+    public boolean isNoOp(ExecutorPhase phase) {
+
+        return ExecutorPhase.POST_PROCESS_REQUEST != phase && getClass() == JwsRequestSignatureHandlingExecutor.class;
+    }
 }
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.model;
+
+import java.util.Date;
+
+/**
+ * Result of a certificate revocation check, along with the time the revocation information is next updated by the CA.
+ */
+public class RevocationCheckResult {
+
+    private final RevocationStatus status;
+    private final Date nextUpdate;
+
+    public RevocationCheckResult(RevocationStatus status, Date nextUpdate) {
+
+        this.status = status;
+        this.nextUpdate = nextUpdate == null ? null : new Date(nextUpdate.getTime());
+    }
+
+    /**
+     * Get the revocation status.
+     *
+     * @return revocation status
+     */
+    public RevocationStatus getStatus() {
+
+        return status;
+    }
+
+    /**
+     * Get the time the revocation information is next updated by the CA.
+     *
+     * @return next update time, or null if it is not provided by the CA
+     */
+    public Date getNextUpdate() {
+
+        return nextUpdate == null ? null : new Date(nextUpdate.getTime());
+    }
+}
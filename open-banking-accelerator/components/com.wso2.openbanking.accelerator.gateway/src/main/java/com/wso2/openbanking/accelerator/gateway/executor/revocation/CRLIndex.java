@@ -0,0 +1,428 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.revocation;
+
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.x509.Extension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.cert.CRLReason;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of the serial numbers listed in a complete or a delta CRL.
+ * The serial numbers are kept off-heap as sorted fixed length keys, so that a revocation lookup is a binary search
+ * over the keys. The index is written to the disk as a snapshot and read back by memory mapping the snapshot file.
+ */
+class CRLIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x4F42434C;
+    private static final int SNAPSHOT_VERSION = 1;
+    // RFC 5280 limits the serial numbers to 20 octets, longer ones are accommodated by widening the keys
+    private static final int MIN_SERIAL_NUMBER_LENGTH = 20;
+    private static final Comparator<byte[]> KEY_COMPARATOR = CRLIndex::compareKeys;
+
+    private final String issuerDN;
+    private final BigInteger crlNumber;
+    private final BigInteger baseCRLNumber;
+    private final long thisUpdate;
+    private final long nextUpdate;
+    private final List<String> deltaCRLUrls;
+    private final int serialNumberLength;
+    private final ByteBuffer revokedSerialNumbers;
+    private final ByteBuffer removedSerialNumbers;
+
+    private CRLIndex(String issuerDN, BigInteger crlNumber, BigInteger baseCRLNumber, long thisUpdate,
+                     long nextUpdate, List<String> deltaCRLUrls, int serialNumberLength,
+                     ByteBuffer revokedSerialNumbers, ByteBuffer removedSerialNumbers) {
+
+        this.issuerDN = issuerDN;
+        this.crlNumber = crlNumber;
+        this.baseCRLNumber = baseCRLNumber;
+        this.thisUpdate = thisUpdate;
+        this.nextUpdate = nextUpdate;
+        this.deltaCRLUrls = Collections.unmodifiableList(deltaCRLUrls);
+        this.serialNumberLength = serialNumberLength;
+        this.revokedSerialNumbers = revokedSerialNumbers;
+        this.removedSerialNumbers = removedSerialNumbers;
+    }
+
+    /**
+     * Build the index of a CRL. The entries with the removeFromCRL reason, which are listed in delta CRLs to
+     * release a certificate hold, are indexed separately from the revoked entries.
+     *
+     * @param x509CRL      validated CRL
+     * @param deltaCRLUrls delta CRL urls of a complete CRL
+     * @return CRL index
+     * @throws IOException when the CRL number extensions cannot be read
+     */
+    static CRLIndex fromCRL(X509CRL x509CRL, List<String> deltaCRLUrls) throws IOException {
+
+        List<BigInteger> revoked = new ArrayList<>();
+        List<BigInteger> removed = new ArrayList<>();
+        int serialNumberLength = MIN_SERIAL_NUMBER_LENGTH;
+        Set<? extends X509CRLEntry> revokedCertificates = x509CRL.getRevokedCertificates();
+        if (revokedCertificates != null) {
+            for (X509CRLEntry entry : revokedCertificates) {
+                BigInteger serialNumber = entry.getSerialNumber();
+                serialNumberLength = Math.max(serialNumberLength, getMagnitude(serialNumber).length);
+                if (CRLReason.REMOVE_FROM_CRL == entry.getRevocationReason()) {
+                    removed.add(serialNumber);
+                } else {
+                    revoked.add(serialNumber);
+                }
+            }
+        }
+
+        return new CRLIndex(x509CRL.getIssuerX500Principal().getName(),
+                getIntegerExtension(x509CRL, Extension.cRLNumber.getId()),
+                getIntegerExtension(x509CRL, Extension.deltaCRLIndicator.getId()),
+                x509CRL.getThisUpdate().getTime(),
+                x509CRL.getNextUpdate() == null ? 0 : x509CRL.getNextUpdate().getTime(),
+                deltaCRLUrls, serialNumberLength, buildKeys(revoked, serialNumberLength),
+                buildKeys(removed, serialNumberLength));
+    }
+
+    /**
+     * Read an index from its snapshot. The snapshot file is memory mapped, hence the serial numbers are not
+     * loaded to the heap.
+     *
+     * @param snapshot snapshot file
+     * @return CRL index
+     * @throws IOException when the snapshot cannot be read or is not a valid snapshot
+     */
+    static CRLIndex readSnapshot(Path snapshot) throws IOException {
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported CRL snapshot: " + snapshot);
+            }
+            String issuerDN = readString(buffer);
+            BigInteger crlNumber = readBigInteger(buffer);
+            BigInteger baseCRLNumber = readBigInteger(buffer);
+            long thisUpdate = buffer.getLong();
+            long nextUpdate = buffer.getLong();
+            int deltaCRLUrlCount = buffer.getInt();
+            List<String> deltaCRLUrls = new ArrayList<>(deltaCRLUrlCount);
+            for (int i = 0; i < deltaCRLUrlCount; i++) {
+                deltaCRLUrls.add(readString(buffer));
+            }
+            int serialNumberLength = buffer.getInt();
+            int revokedCount = buffer.getInt();
+            int removedCount = buffer.getInt();
+            int keyLength = serialNumberLength + 1;
+
+            ByteBuffer revoked = slice(buffer, buffer.position(), revokedCount * keyLength);
+            ByteBuffer removed = slice(buffer, buffer.position() + revokedCount * keyLength,
+                    removedCount * keyLength);
+            return new CRLIndex(issuerDN, crlNumber, baseCRLNumber, thisUpdate, nextUpdate, deltaCRLUrls,
+                    serialNumberLength, revoked, removed);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted CRL snapshot: " + snapshot, e);
+        }
+    }
+
+    /**
+     * Write the index to a snapshot file. The snapshot is written to a temporary file and moved in place, so that
+     * a partially written snapshot is never read.
+     *
+     * @param snapshot snapshot file
+     * @throws IOException when the snapshot cannot be written
+     */
+    void writeSnapshot(Path snapshot) throws IOException {
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(header)) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            writeString(out, issuerDN);
+            writeBigInteger(out, crlNumber);
+            writeBigInteger(out, baseCRLNumber);
+            out.writeLong(thisUpdate);
+            out.writeLong(nextUpdate);
+            out.writeInt(deltaCRLUrls.size());
+            for (String deltaCRLUrl : deltaCRLUrls) {
+                writeString(out, deltaCRLUrl);
+            }
+            out.writeInt(serialNumberLength);
+            out.writeInt(getRevokedCount());
+            out.writeInt(getRemovedCount());
+        }
+
+        Files.createDirectories(snapshot.toAbsolutePath().getParent());
+        Path temporarySnapshot = Files.createTempFile(snapshot.toAbsolutePath().getParent(),
+                snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporarySnapshot, StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.wrap(header.toByteArray()));
+                writeFully(channel, revokedSerialNumbers.duplicate());
+                writeFully(channel, removedSerialNumbers.duplicate());
+                channel.force(false);
+            }
+            Files.move(temporarySnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporarySnapshot);
+        }
+    }
+
+    /**
+     * Check whether the serial number is listed as revoked.
+     *
+     * @param serialNumber certificate serial number
+     * @return true if listed as revoked
+     */
+    boolean isRevoked(BigInteger serialNumber) {
+
+        return contains(revokedSerialNumbers, serialNumber);
+    }
+
+    /**
+     * Check whether the serial number is listed with the removeFromCRL reason.
+     *
+     * @param serialNumber certificate serial number
+     * @return true if listed as removed
+     */
+    boolean isRemoved(BigInteger serialNumber) {
+
+        return contains(removedSerialNumbers, serialNumber);
+    }
+
+    String getIssuerDN() {
+
+        return issuerDN;
+    }
+
+    BigInteger getCRLNumber() {
+
+        return crlNumber;
+    }
+
+    /**
+     * Get the number of the complete CRL a delta CRL is based on.
+     *
+     * @return base CRL number, or null if the index is of a complete CRL
+     */
+    BigInteger getBaseCRLNumber() {
+
+        return baseCRLNumber;
+    }
+
+    long getThisUpdate() {
+
+        return thisUpdate;
+    }
+
+    long getNextUpdate() {
+
+        return nextUpdate;
+    }
+
+    List<String> getDeltaCRLUrls() {
+
+        return deltaCRLUrls;
+    }
+
+    int getRevokedCount() {
+
+        return revokedSerialNumbers.capacity() / (serialNumberLength + 1);
+    }
+
+    int getRemovedCount() {
+
+        return removedSerialNumbers.capacity() / (serialNumberLength + 1);
+    }
+
+    private boolean contains(ByteBuffer keys, BigInteger serialNumber) {
+
+        byte[] key = toKey(serialNumber, serialNumberLength);
+        if (key == null) {
+            return false;
+        }
+        int low = 0;
+        int high = keys.capacity() / key.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareKey(keys, mid * key.length, key);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int compareKey(ByteBuffer keys, int offset, byte[] key) {
+
+        for (int i = 0; i < key.length; i++) {
+            int comparison = Integer.compare(keys.get(offset + i) & 0xFF, key[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareKeys(byte[] first, byte[] second) {
+
+        for (int i = 0; i < first.length; i++) {
+            int comparison = Integer.compare(first[i] & 0xFF, second[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private static ByteBuffer buildKeys(List<BigInteger> serialNumbers, int serialNumberLength) {
+
+        List<byte[]> keys = new ArrayList<>(serialNumbers.size());
+        for (BigInteger serialNumber : serialNumbers) {
+            keys.add(toKey(serialNumber, serialNumberLength));
+        }
+        keys.sort(KEY_COMPARATOR);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(keys.size() * (serialNumberLength + 1));
+        byte[] previous = null;
+        for (byte[] key : keys) {
+            if (previous == null || compareKeys(previous, key) != 0) {
+                buffer.put(key);
+            }
+            previous = key;
+        }
+        buffer.flip();
+        return buffer.slice();
+    }
+
+    /**
+     * Encode a serial number to a fixed length key, which is the sign followed by the magnitude padded to the
+     * serial number length. Equal serial numbers always map to equal keys.
+     */
+    private static byte[] toKey(BigInteger serialNumber, int serialNumberLength) {
+
+        byte[] magnitude = getMagnitude(serialNumber);
+        if (magnitude.length > serialNumberLength) {
+            return null;
+        }
+        byte[] key = new byte[serialNumberLength + 1];
+        key[0] = (byte) (serialNumber.signum() + 1);
+        System.arraycopy(magnitude, 0, key, key.length - magnitude.length, magnitude.length);
+        return key;
+    }
+
+    private static byte[] getMagnitude(BigInteger serialNumber) {
+
+        byte[] magnitude = serialNumber.abs().toByteArray();
+        if (magnitude.length > 1 && magnitude[0] == 0) {
+            byte[] unsigned = new byte[magnitude.length - 1];
+            System.arraycopy(magnitude, 1, unsigned, 0, unsigned.length);
+            return unsigned;
+        }
+        return magnitude;
+    }
+
+    private static BigInteger getIntegerExtension(X509CRL x509CRL, String oid) throws IOException {
+
+        byte[] extensionValue = x509CRL.getExtensionValue(oid);
+        if (extensionValue == null) {
+            return null;
+        }
+        try {
+            return ASN1Integer.getInstance(ASN1OctetString.getInstance(extensionValue).getOctets()).getValue();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Cannot read the CRL extension " + oid, e);
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(position + length);
+        slice.position(position);
+        return slice.slice();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+        buffer.rewind();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBigInteger(DataOutputStream out, BigInteger value) throws IOException {
+
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.toByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static BigInteger readBigInteger(ByteBuffer buffer) {
+
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new BigInteger(bytes);
+    }
+}
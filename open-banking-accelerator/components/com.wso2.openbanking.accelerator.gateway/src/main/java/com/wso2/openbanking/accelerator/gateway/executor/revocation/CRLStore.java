@@ -0,0 +1,401 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.revocation;
+
+import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
+import com.wso2.openbanking.accelerator.common.util.CarbonUtils;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import com.wso2.openbanking.accelerator.gateway.executor.util.CertificateValidationUtils;
+import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Local store of the CRLs, keyed by the CRL url.
+ * 1) A downloaded CRL is indexed by its revoked serial numbers, hence the revocation lookups are served from the
+ *    index without downloading or parsing the CRL again until its next update time.
+ * 2) Each CRL is refreshed in the background before its next update time. The delta CRLs published in the
+ *    "Freshest CRL" extension of a CRL are downloaded in between, so that the large complete CRL is downloaded
+ *    only when it is reissued.
+ * 3) The indexes are snapshotted to the store location and the snapshots are memory mapped on the first lookup
+ *    after a restart.
+ */
+public class CRLStore {
+
+    private static final Log log = LogFactory.getLog(CRLStore.class);
+    private static final long RETRY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final String COMPLETE_CRL_SNAPSHOT_EXTENSION = ".crl.idx";
+    private static final String DELTA_CRL_SNAPSHOT_EXTENSION = ".delta.idx";
+
+    private static volatile CRLStore instance;
+
+    private final Map<String, StoredCRL> storedCRLs = new ConcurrentHashMap<>();
+    private final Path storeLocation;
+    private final long refreshAheadTime;
+    private final CRLDownloader crlDownloader;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+
+    /**
+     * Downloader of the validated CRLs of an issuer.
+     */
+    interface CRLDownloader {
+
+        X509CRL download(String crlUrl, X509Certificate issuerCert, int retryCount)
+                throws CertificateValidationException;
+    }
+
+    /**
+     * Initialize the store.
+     *
+     * @param storeLocation    directory to write the snapshots to
+     * @param refreshAheadTime time in milliseconds before the next update of a CRL, in which it is refreshed
+     * @param crlDownloader    downloader of the CRLs
+     * @param scheduler        scheduler to run the refreshes, null to refresh only on the lookups
+     * @param clock            supplier of the current time in milliseconds
+     */
+    CRLStore(Path storeLocation, long refreshAheadTime, CRLDownloader crlDownloader,
+             ScheduledExecutorService scheduler, LongSupplier clock) {
+
+        this.storeLocation = storeLocation;
+        this.refreshAheadTime = refreshAheadTime;
+        this.crlDownloader = crlDownloader;
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    /**
+     * Get an instance of the CRLStore. It implements a double checked locking initialization.
+     *
+     * @return CRLStore instance
+     */
+    public static CRLStore getInstance() {
+
+        if (instance == null) {
+            synchronized (CRLStore.class) {
+                if (instance == null) {
+                    TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+                    Path storeLocation = tppCertValidatorDataHolder.getCRLStoreLocation() != null ?
+                            Paths.get(tppCertValidatorDataHolder.getCRLStoreLocation()) :
+                            Paths.get(CarbonUtils.getCarbonHome(), "repository", "data", "ob-crl-store");
+                    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "ob-crl-store-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    instance = new CRLStore(storeLocation,
+                            TimeUnit.SECONDS.toMillis(tppCertValidatorDataHolder.getCRLStoreRefreshAheadTime()),
+                            CRLValidator::downloadCRL, scheduler,
+                            () -> CertificateValidationUtils.getNewDate().getTime());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the revocation status of a certificate from the stored CRL of the given url. The CRL is downloaded if
+     * it is not stored yet, or its stored copy has passed the next update time.
+     *
+     * @param crlUrl     CRL url
+     * @param peerCert   peer certificate
+     * @param issuerCert issuer certificate of the peer
+     * @param retryCount retry count to connect to CRL url and get the CRL
+     * @return revocation check result, or null if the CRL does not have a next update time
+     * @throws CertificateValidationException when the CRL cannot be downloaded or does not belong to the issuer
+     */
+    public RevocationCheckResult getRevocationCheckResult(String crlUrl, X509Certificate peerCert,
+                                                          X509Certificate issuerCert, int retryCount)
+            throws CertificateValidationException {
+
+        StoredCRL storedCRL = storedCRLs.computeIfAbsent(crlUrl, StoredCRL::new);
+        // the latest issuer certificate is kept to verify the CRLs refreshed in the background
+        storedCRL.issuerCert = issuerCert;
+
+        CRLIndex completeCRL = storedCRL.completeCRL;
+        if (!isValid(completeCRL, clock.getAsLong())) {
+            synchronized (storedCRL) {
+                if (!storedCRL.snapshotsLoaded) {
+                    storedCRL.snapshotsLoaded = true;
+                    loadSnapshots(storedCRL);
+                }
+                if (!isValid(storedCRL.completeCRL, clock.getAsLong())) {
+                    refreshCompleteCRL(storedCRL, issuerCert, retryCount);
+                }
+                scheduleRefresh(storedCRL);
+                completeCRL = storedCRL.completeCRL;
+            }
+            if (!isValid(completeCRL, clock.getAsLong())) {
+                return null;
+            }
+        }
+
+        String peerCertIssuerDN = peerCert.getIssuerX500Principal().getName();
+        if (!peerCertIssuerDN.equals(completeCRL.getIssuerDN())) {
+            throw new CertificateValidationException("X509 CRL is not valid. Issuer DN in the peer " +
+                    "certificate: " + peerCertIssuerDN + " does not match with the Issuer DN in the X509 CRL: " +
+                    completeCRL.getIssuerDN());
+        }
+
+        BigInteger serialNumber = peerCert.getSerialNumber();
+        CRLIndex deltaCRL = storedCRL.deltaCRL;
+        long nextUpdate = completeCRL.getNextUpdate();
+        RevocationStatus revocationStatus = completeCRL.isRevoked(serialNumber) ?
+                RevocationStatus.REVOKED : RevocationStatus.GOOD;
+        if (isApplicable(deltaCRL, completeCRL, clock.getAsLong())) {
+            nextUpdate = Math.min(nextUpdate, deltaCRL.getNextUpdate());
+            if (deltaCRL.isRemoved(serialNumber)) {
+                revocationStatus = RevocationStatus.GOOD;
+            } else if (deltaCRL.isRevoked(serialNumber)) {
+                revocationStatus = RevocationStatus.REVOKED;
+            }
+        }
+        return new RevocationCheckResult(revocationStatus, new Date(nextUpdate));
+    }
+
+    /**
+     * Stop refreshing the stored CRLs.
+     */
+    public void shutdown() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void refreshCompleteCRL(StoredCRL storedCRL, X509Certificate issuerCert, int retryCount)
+            throws CertificateValidationException {
+
+        X509CRL x509CRL = crlDownloader.download(storedCRL.crlUrl, issuerCert, retryCount);
+        if (x509CRL == null) {
+            return;
+        }
+        CRLIndex completeCRL;
+        try {
+            completeCRL = CRLIndex.fromCRL(x509CRL, CRLValidator.getDeltaCRLUrls(x509CRL));
+        } catch (IOException e) {
+            throw new CertificateValidationException("Cannot index the CRL downloaded from CRL Url: " +
+                    storedCRL.crlUrl, e);
+        }
+        if (completeCRL.getBaseCRLNumber() != null) {
+            throw new CertificateValidationException("Delta CRL is published in the CRL Url: " + storedCRL.crlUrl);
+        }
+        storedCRL.completeCRL = completeCRL;
+        if (!isApplicable(storedCRL.deltaCRL, completeCRL, clock.getAsLong())) {
+            storedCRL.deltaCRL = null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Stored CRL of CRL Url %s with %d revoked certificates", storedCRL.crlUrl,
+                    completeCRL.getRevokedCount()));
+        }
+        writeSnapshot(completeCRL, getSnapshotPath(storedCRL.crlUrl, COMPLETE_CRL_SNAPSHOT_EXTENSION));
+
+        // a failed delta CRL refresh is retried by the scheduler, while the complete CRL is already usable
+        try {
+            refreshDeltaCRL(storedCRL, issuerCert, retryCount);
+        } catch (CertificateValidationException e) {
+            log.warn("Delta CRL of CRL Url " + storedCRL.crlUrl + " cannot be refreshed", e);
+        }
+    }
+
+    private void refreshDeltaCRL(StoredCRL storedCRL, X509Certificate issuerCert, int retryCount)
+            throws CertificateValidationException {
+
+        CRLIndex completeCRL = storedCRL.completeCRL;
+        for (String deltaCRLUrl : completeCRL.getDeltaCRLUrls()) {
+            X509CRL x509CRL = crlDownloader.download(deltaCRLUrl, issuerCert, retryCount);
+            if (x509CRL == null) {
+                continue;
+            }
+            CRLIndex deltaCRL;
+            try {
+                deltaCRL = CRLIndex.fromCRL(x509CRL, new ArrayList<>());
+            } catch (IOException e) {
+                throw new CertificateValidationException("Cannot index the delta CRL downloaded from CRL Url: " +
+                        deltaCRLUrl, e);
+            }
+            if (isApplicable(deltaCRL, completeCRL, clock.getAsLong())) {
+                storedCRL.deltaCRL = deltaCRL;
+                writeSnapshot(deltaCRL, getSnapshotPath(storedCRL.crlUrl, DELTA_CRL_SNAPSHOT_EXTENSION));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Stored delta CRL of CRL Url %s with %d revoked certificates",
+                            storedCRL.crlUrl, deltaCRL.getRevokedCount()));
+                }
+                return;
+            }
+        }
+    }
+
+    private void refresh(StoredCRL storedCRL) {
+
+        X509Certificate issuerCert = storedCRL.issuerCert;
+        int retryCount = TPPCertValidatorDataHolder.getInstance().getCertificateRevocationValidationRetryCount();
+        synchronized (storedCRL) {
+            try {
+                long currentTime = clock.getAsLong();
+                CRLIndex completeCRL = storedCRL.completeCRL;
+                if (completeCRL == null || currentTime >= completeCRL.getNextUpdate() - refreshAheadTime) {
+                    refreshCompleteCRL(storedCRL, issuerCert, retryCount);
+                } else {
+                    refreshDeltaCRL(storedCRL, issuerCert, retryCount);
+                }
+            } catch (CertificateValidationException | RuntimeException e) {
+                // the exception is not propagated, the refresh is retried and the lookups use the stored CRL
+                log.warn("CRL of CRL Url " + storedCRL.crlUrl + " cannot be refreshed", e);
+            }
+            scheduleRefresh(storedCRL);
+        }
+    }
+
+    /**
+     * Schedule the next refresh of the CRL, before the next update time of the complete or the delta CRL.
+     * Should be called while holding the lock of the stored CRL.
+     */
+    private void scheduleRefresh(StoredCRL storedCRL) {
+
+        if (scheduler == null || scheduler.isShutdown()) {
+            return;
+        }
+        long currentTime = clock.getAsLong();
+        CRLIndex completeCRL = storedCRL.completeCRL;
+        long refreshTime;
+        if (completeCRL == null) {
+            refreshTime = currentTime + RETRY_INTERVAL;
+        } else {
+            refreshTime = completeCRL.getNextUpdate() - refreshAheadTime;
+            CRLIndex deltaCRL = storedCRL.deltaCRL;
+            if (isApplicable(deltaCRL, completeCRL, currentTime)) {
+                refreshTime = Math.min(refreshTime, deltaCRL.getNextUpdate() - refreshAheadTime);
+            } else if (!completeCRL.getDeltaCRLUrls().isEmpty()) {
+                refreshTime = Math.min(refreshTime, currentTime + RETRY_INTERVAL);
+            }
+        }
+        // a refresh which is due but keeps failing is retried in the retry interval
+        if (refreshTime <= currentTime && storedCRL.refreshFuture != null) {
+            refreshTime = currentTime + RETRY_INTERVAL;
+        }
+
+        if (storedCRL.refreshFuture != null) {
+            storedCRL.refreshFuture.cancel(false);
+        }
+        storedCRL.refreshFuture = scheduler.schedule(() -> refresh(storedCRL),
+                Math.max(0, refreshTime - currentTime), TimeUnit.MILLISECONDS);
+    }
+
+    private void loadSnapshots(StoredCRL storedCRL) {
+
+        long currentTime = clock.getAsLong();
+        CRLIndex completeCRL = readSnapshot(getSnapshotPath(storedCRL.crlUrl, COMPLETE_CRL_SNAPSHOT_EXTENSION));
+        if (!isValid(completeCRL, currentTime)) {
+            return;
+        }
+        storedCRL.completeCRL = completeCRL;
+        CRLIndex deltaCRL = readSnapshot(getSnapshotPath(storedCRL.crlUrl, DELTA_CRL_SNAPSHOT_EXTENSION));
+        if (isApplicable(deltaCRL, completeCRL, currentTime)) {
+            storedCRL.deltaCRL = deltaCRL;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded stored CRL of CRL Url " + storedCRL.crlUrl + " from the snapshot");
+        }
+    }
+
+    private CRLIndex readSnapshot(Path snapshot) {
+
+        if (!Files.exists(snapshot)) {
+            return null;
+        }
+        try {
+            return CRLIndex.readSnapshot(snapshot);
+        } catch (IOException e) {
+            log.warn("Cannot read the CRL snapshot " + snapshot + ", hence the CRL is downloaded again", e);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(CRLIndex crlIndex, Path snapshot) {
+
+        try {
+            crlIndex.writeSnapshot(snapshot);
+        } catch (IOException e) {
+            // the stored CRL is still used, only the restart is not warm
+            log.warn("Cannot write the CRL snapshot " + snapshot, e);
+        }
+    }
+
+    private Path getSnapshotPath(String crlUrl, String extension) {
+
+        return storeLocation.resolve(DigestUtils.sha256Hex(crlUrl) + extension);
+    }
+
+    private static boolean isValid(CRLIndex completeCRL, long currentTime) {
+
+        return completeCRL != null && currentTime < completeCRL.getNextUpdate();
+    }
+
+    /**
+     * Check whether a delta CRL can be applied on the complete CRL. A delta CRL is applicable if it is not expired,
+     * its base CRL is the complete CRL or an older one, and it is issued after the complete CRL. A delta CRL issued
+     * before a reissued complete CRL is stale and would undo the revocations of the complete CRL.
+     */
+    private static boolean isApplicable(CRLIndex deltaCRL, CRLIndex completeCRL, long currentTime) {
+
+        return deltaCRL != null && deltaCRL.getBaseCRLNumber() != null && deltaCRL.getCRLNumber() != null &&
+                completeCRL.getCRLNumber() != null && deltaCRL.getIssuerDN().equals(completeCRL.getIssuerDN()) &&
+                deltaCRL.getBaseCRLNumber().compareTo(completeCRL.getCRLNumber()) <= 0 &&
+                deltaCRL.getCRLNumber().compareTo(completeCRL.getCRLNumber()) > 0 &&
+                currentTime < deltaCRL.getNextUpdate();
+    }
+
+    /**
+     * Stored complete and delta CRL of a CRL url.
+     */
+    private static class StoredCRL {
+
+        private final String crlUrl;
+        private volatile CRLIndex completeCRL;
+        private volatile CRLIndex deltaCRL;
+        private volatile X509Certificate issuerCert;
+        private boolean snapshotsLoaded;
+        private ScheduledFuture<?> refreshFuture;
+
+        StoredCRL(String crlUrl) {
+
+            this.crlUrl = crlUrl;
+        }
+    }
+}
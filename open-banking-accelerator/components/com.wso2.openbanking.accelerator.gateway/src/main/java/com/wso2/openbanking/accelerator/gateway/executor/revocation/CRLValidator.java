@@ -20,17 +20,20 @@ package com.wso2.openbanking.accelerator.gateway.executor.revocation;
 
 import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientRegistry;
 import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
 import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
 import com.wso2.openbanking.accelerator.gateway.executor.util.CertificateValidationUtils;
 import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpHost;
-import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
 import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.DERIA5String;
@@ -131,6 +134,32 @@ public class CRLValidator implements RevocationValidator {
                                                           int certificateRevocationProxyPort)
             throws CertificateValidationException {
 
+        return getCRLRevocationCheckResult(peerCert, issuerCert, retryCount, crlUrls,
+                certificateRevocationProxyEnabled, certificateRevocationProxyHost, certificateRevocationProxyPort)
+                .getStatus();
+    }
+
+    /**
+     * Get revocation status of a certificate using CRL Url, along with the next update time of the CRL.
+     *
+     * @param peerCert                          peer certificate
+     * @param issuerCert                        issuer certificate of peer
+     * @param retryCount                        retry count to connect to CRL Url and get the CRL
+     * @param crlUrls                           List of CRL Urls
+     * @param certificateRevocationProxyEnabled whether certificate revocation proxy enabled in the config
+     * @param certificateRevocationProxyHost    certificate revocation proxy host
+     * @param certificateRevocationProxyPort    certificate revocation proxy port
+     * @return Revocation check result of the certificate
+     * @throws CertificateValidationException certificateValidationException
+     */
+    public static RevocationCheckResult getCRLRevocationCheckResult(X509Certificate peerCert,
+                                                                    X509Certificate issuerCert, int retryCount,
+                                                                    List<String> crlUrls,
+                                                                    boolean certificateRevocationProxyEnabled,
+                                                                    String certificateRevocationProxyHost,
+                                                                    int certificateRevocationProxyPort)
+            throws CertificateValidationException {
+
         // Check with distributions points in the list one by one. if one fails go to the other.
         for (String crlUrl : crlUrls) {
             if (log.isDebugEnabled()) {
@@ -139,12 +168,87 @@ public class CRLValidator implements RevocationValidator {
             X509CRL x509CRL = downloadCRLFromWeb(crlUrl, retryCount, peerCert, issuerCert,
                     certificateRevocationProxyEnabled, certificateRevocationProxyHost, certificateRevocationProxyPort);
             if (x509CRL != null) {
-                return getRevocationStatusFromCRL(x509CRL, peerCert);
+                return new RevocationCheckResult(getRevocationStatusFromCRL(x509CRL, peerCert),
+                        x509CRL.getNextUpdate());
+            }
+        }
+        throw new CertificateValidationException("Cannot check revocation status with the certificate");
+    }
+
+    /**
+     * Get revocation status of a certificate from the CRLs kept in the local CRL store. A CRL is downloaded only
+     * when it is not stored yet or its stored copy has passed the next update time.
+     *
+     * @param peerCert   peer certificate
+     * @param issuerCert issuer certificate of peer
+     * @param retryCount retry count to connect to CRL Url and get the CRL
+     * @param crlUrls    List of CRL Urls
+     * @return Revocation check result of the certificate
+     * @throws CertificateValidationException certificateValidationException
+     */
+    private static RevocationCheckResult getCRLRevocationCheckResultFromStore(X509Certificate peerCert,
+                                                                              X509Certificate issuerCert,
+                                                                              int retryCount, List<String> crlUrls)
+            throws CertificateValidationException {
+
+        for (String crlUrl : crlUrls) {
+            RevocationCheckResult revocationCheckResult = CRLStore.getInstance()
+                    .getRevocationCheckResult(crlUrl, peerCert, issuerCert, retryCount);
+            if (revocationCheckResult != null) {
+                return revocationCheckResult;
             }
         }
         throw new CertificateValidationException("Cannot check revocation status with the certificate");
     }
 
+    /**
+     * Download and validate the CRL of the given issuer. Used by the CRL store, which refreshes the CRLs without
+     * a peer certificate at hand.
+     *
+     * @param crlUrl     CRL Url
+     * @param issuerCert issuer certificate of the CRL
+     * @param retryCount retry count to connect to CRL Url and get the CRL
+     * @return X509 CRL, or null if the next update date of the CRL is not available
+     * @throws CertificateValidationException when the CRL cannot be downloaded or is not valid
+     */
+    static X509CRL downloadCRL(String crlUrl, X509Certificate issuerCert, int retryCount)
+            throws CertificateValidationException {
+
+        TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+        X509CRL x509CRL = fetchCRLFromWeb(crlUrl, retryCount,
+                tppCertValidatorDataHolder.isCertificateRevocationProxyEnabled(),
+                tppCertValidatorDataHolder.getCertificateRevocationProxyHost(),
+                tppCertValidatorDataHolder.getCertificateRevocationProxyPort());
+
+        if (!issuerCert.getSubjectX500Principal().equals(x509CRL.getIssuerX500Principal())) {
+            throw new CertificateValidationException("X509 CRL is not valid. Issuer DN in the issuer " +
+                    "certificate: " + issuerCert.getSubjectX500Principal() + " does not match with the Issuer DN " +
+                    "in the X509 CRL: " + x509CRL.getIssuerX500Principal());
+        }
+        verifyX509CRLSignature(x509CRL, issuerCert);
+        if (isValidX509CRLFromNextUpdate(x509CRL, CertificateValidationUtils.getNewDate(),
+                x509CRL.getNextUpdate())) {
+            return x509CRL;
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the delta CRL URLs from the "Freshest CRL" extension of a complete CRL.
+     *
+     * @param x509CRL complete CRL
+     * @return List of delta CRL Urls, empty if the CRL does not have the extension
+     * @throws CertificateValidationException when the extension cannot be read
+     */
+    static List<String> getDeltaCRLUrls(X509CRL x509CRL) throws CertificateValidationException {
+
+        byte[] freshestCRLExtensionValue = x509CRL.getExtensionValue(Extension.freshestCRL.getId());
+        if (freshestCRLExtensionValue == null) {
+            return new ArrayList<>();
+        }
+        return getCrlUrlsFromDistPoint(getCrlDistPoint(freshestCRLExtensionValue));
+    }
+
     /**
      * ****************************************
      * Util methods for CRL Validation.
@@ -174,10 +278,16 @@ public class CRLValidator implements RevocationValidator {
                     x509CRL.getIssuerDN());
         }
 
+        verifyX509CRLSignature(x509CRL, issuerCert);
+        return true;
+    }
+
+    private static void verifyX509CRLSignature(X509CRL x509CRL, X509Certificate issuerCert)
+            throws CertificateValidationException {
+
         // Verify the signature of the CRL.
         try {
             x509CRL.verify(issuerCert.getPublicKey());
-            return true;
         } catch (CRLException | NoSuchAlgorithmException | InvalidKeyException | NoSuchProviderException |
                 SignatureException e) {
             throw new CertificateValidationException("CRL signature cannot be verified", e);
@@ -209,12 +319,24 @@ public class CRLValidator implements RevocationValidator {
                                               String certificateRevocationProxyHost, int certificateRevocationProxyPort)
             throws CertificateValidationException {
 
-        X509CRL x509CRL = null;
+        X509CRL x509CRLDownloaded = fetchCRLFromWeb(crlURL, retryCount, certificateRevocationProxyEnabled,
+                certificateRevocationProxyHost, certificateRevocationProxyPort);
+        if (isValidX509Crl(x509CRLDownloaded, peerCert, issuerCert)) {
+            return x509CRLDownloaded;
+        }
+        return null;
+    }
+
+    private static X509CRL fetchCRLFromWeb(String crlURL, int retryCount, boolean certificateRevocationProxyEnabled,
+                                           String certificateRevocationProxyHost, int certificateRevocationProxyPort)
+            throws CertificateValidationException {
+
+        X509CRL x509CRL;
         if (log.isDebugEnabled()) {
             log.debug("Certificate revocation check proxy enabled: " + certificateRevocationProxyEnabled);
         }
-        try (CloseableHttpClient client = HTTPClientUtils.getHttpsClient()) {
-
+        try {
+            CloseableHttpClient client = HTTPClientUtils.getPooledHttpsClient(HTTPClientRegistry.Purpose.CRL);
             HttpGet httpGet = new HttpGet(crlURL);
             if (certificateRevocationProxyEnabled) {
                 log.debug("Setting certificate revocation proxy started.");
@@ -252,21 +374,22 @@ public class CRLValidator implements RevocationValidator {
                         httpSocketTimeout);
             }
 
-            HttpResponse httpResponse = client.execute(httpGet);
-            //Check errors in response:
-            if (httpResponse.getStatusLine().getStatusCode() / 100 != 2) {
-                throw new CertificateValidationException("Error getting crl response." +
-                        "Response code is " + httpResponse.getStatusLine().getStatusCode());
-            }
-            InputStream in = httpResponse.getEntity().getContent();
-
-            CertificateFactory cf = CertificateFactory.getInstance("X.509");
-            X509CRL x509CRLDownloaded = (X509CRL) cf.generateCRL(in);
-            if (log.isDebugEnabled()) {
-                log.debug("CRL is downloaded from CRL Url: " + crlURL);
-            }
+            // the response is closed to release the connection back to the shared pool
+            try (CloseableHttpResponse httpResponse = client.execute(httpGet)) {
+                //Check errors in response:
+                if (httpResponse.getStatusLine().getStatusCode() / 100 != 2) {
+                    throw new CertificateValidationException("Error getting crl response." +
+                            "Response code is " + httpResponse.getStatusLine().getStatusCode());
+                }
+                InputStream in = httpResponse.getEntity().getContent();
 
-            if (isValidX509Crl(x509CRLDownloaded, peerCert, issuerCert)) {
+                CertificateFactory cf = CertificateFactory.getInstance("X.509");
+                X509CRL x509CRLDownloaded = (X509CRL) cf.generateCRL(in);
+                // the remaining content is consumed, so that the connection can be reused
+                EntityUtils.consume(httpResponse.getEntity());
+                if (log.isDebugEnabled()) {
+                    log.debug("CRL is downloaded from CRL Url: " + crlURL);
+                }
                 x509CRL = x509CRLDownloaded;
             }
         } catch (MalformedURLException e) {
@@ -278,9 +401,8 @@ public class CRLValidator implements RevocationValidator {
                 if (log.isDebugEnabled()) {
                     log.debug("Cant reach CRL Url: " + crlURL + ". Retrying to connect - attempt " + retryCount);
                 }
-                return downloadCRLFromWeb(crlURL, --retryCount, peerCert, issuerCert,
-                        certificateRevocationProxyEnabled, certificateRevocationProxyHost,
-                        certificateRevocationProxyPort);
+                return fetchCRLFromWeb(crlURL, --retryCount, certificateRevocationProxyEnabled,
+                        certificateRevocationProxyHost, certificateRevocationProxyPort);
             }
         } catch (CertificateException e) {
             throw new CertificateValidationException("Error when generating certificate factory.", e);
@@ -307,7 +429,7 @@ public class CRLValidator implements RevocationValidator {
         return cert.getExtensionValue(Extension.cRLDistributionPoints.getId());
     }
 
-    private static CRLDistPoint getCrlDistPoint(byte[] crlDPExtensionValue) throws CertificateValidationException {
+    static CRLDistPoint getCrlDistPoint(byte[] crlDPExtensionValue) throws CertificateValidationException {
 
         //crlDPExtensionValue is encoded in ASN.1 format
         //DER (Distinguished Encoding Rules) is one of ASN.1 encoding rules defined in ITU-T X.690, 2002, specification.
@@ -325,7 +447,7 @@ public class CRLValidator implements RevocationValidator {
         return distPoint;
     }
 
-    private static List<String> getCrlUrlsFromDistPoint(CRLDistPoint distPoint) {
+    static List<String> getCrlUrlsFromDistPoint(CRLDistPoint distPoint) {
 
         List<String> crlUrls = new ArrayList<>();
         //Loop through ASN1Encodable DistributionPoints
@@ -371,10 +493,37 @@ public class CRLValidator implements RevocationValidator {
                 .getCertificateRevocationProxyHost();
 
         List<String> crlUrls = getCRLUrls(peerCert);
+        if (tppCertValidatorDataHolder.isCRLStoreEnabled()) {
+            return getCRLRevocationCheckResultFromStore(peerCert, issuerCert, retryCount, crlUrls).getStatus();
+        }
         return getCRLRevocationStatus(peerCert, issuerCert, retryCount, crlUrls, isCertificateRevocationProxyEnabled,
                 certificateRevocationProxyHost, certificateRevocationProxyPort);
     }
 
+    /**
+     * Checks revocation status (Good, Revoked) of the peer certificate along with the next update time of the CRL.
+     *
+     * @param peerCert   peer certificate
+     * @param issuerCert issuer certificate of the peer
+     * @return revocation check result of the peer certificate
+     * @throws CertificateValidationException certificateValidationException
+     */
+    @Override
+    public RevocationCheckResult checkRevocation(X509Certificate peerCert, X509Certificate issuerCert)
+            throws CertificateValidationException {
+
+        TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+
+        List<String> crlUrls = getCRLUrls(peerCert);
+        if (tppCertValidatorDataHolder.isCRLStoreEnabled()) {
+            return getCRLRevocationCheckResultFromStore(peerCert, issuerCert, retryCount, crlUrls);
+        }
+        return getCRLRevocationCheckResult(peerCert, issuerCert, retryCount, crlUrls,
+                tppCertValidatorDataHolder.isCertificateRevocationProxyEnabled(),
+                tppCertValidatorDataHolder.getCertificateRevocationProxyHost(),
+                tppCertValidatorDataHolder.getCertificateRevocationProxyPort());
+    }
+
     @Override
     public int getRetryCount() {
 
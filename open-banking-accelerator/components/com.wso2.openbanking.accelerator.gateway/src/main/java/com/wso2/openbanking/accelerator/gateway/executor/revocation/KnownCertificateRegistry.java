@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.revocation;
+
+import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import com.wso2.openbanking.accelerator.gateway.executor.util.CertificateValidationUtils;
+import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the known TPP certificates, keyed by the certificate thumbprint.
+ * 1) The transport certificates presented at the TPP onboarding are registered, and their OCSP responses are
+ *    fetched right away, before the first API request of the TPP.
+ * 2) The OCSP responses are fetched again in the background before their next update time, bounded by the
+ *    configured certificate cache expiry. Hence the revocation validation of a known certificate is served from
+ *    the prefetched response without calling the OCSP responder in the request path.
+ * 3) A failed fetch keeps the last prefetched response until it expires, and the expired certificates are
+ *    removed from the registry.
+ * 4) When the registry is full, the least recently used certificate is evicted to register a new certificate.
+ *    The certificates of the deleted registrations are unregistered.
+ */
+public class KnownCertificateRegistry {
+
+    private static final Log log = LogFactory.getLog(KnownCertificateRegistry.class);
+    private static final long RETRY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private static volatile KnownCertificateRegistry instance;
+
+    private final Map<String, KnownCertificate> knownCertificates = new ConcurrentHashMap<>();
+    private final int maxCertificates;
+    private final long maxResponseAge;
+    private final long refreshAheadTime;
+    private final OCSPFetcher ocspFetcher;
+    private final Executor executor;
+    private final LongSupplier clock;
+
+    /**
+     * Fetcher of the OCSP revocation check result of a certificate.
+     */
+    interface OCSPFetcher {
+
+        RevocationCheckResult fetch(X509Certificate peerCert, X509Certificate issuerCert)
+                throws CertificateValidationException;
+    }
+
+    /**
+     * Initialize the registry.
+     *
+     * @param maxCertificates  maximum number of known certificates
+     * @param maxResponseAge   maximum time in milliseconds a prefetched response is served for
+     * @param refreshAheadTime time in milliseconds before the expiry of a prefetched response, in which it is
+     *                         fetched again
+     * @param ocspFetcher      fetcher of the OCSP responses
+     * @param executor         executor to fetch the responses of the newly registered certificates
+     * @param clock            supplier of the current time in milliseconds
+     */
+    KnownCertificateRegistry(int maxCertificates, long maxResponseAge, long refreshAheadTime,
+                             OCSPFetcher ocspFetcher, Executor executor, LongSupplier clock) {
+
+        this.maxCertificates = maxCertificates;
+        this.maxResponseAge = maxResponseAge;
+        this.refreshAheadTime = refreshAheadTime;
+        this.ocspFetcher = ocspFetcher;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Get an instance of the KnownCertificateRegistry. It implements a double checked locking initialization.
+     *
+     * @return KnownCertificateRegistry instance
+     */
+    public static KnownCertificateRegistry getInstance() {
+
+        if (instance == null) {
+            synchronized (KnownCertificateRegistry.class) {
+                if (instance == null) {
+                    TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+                    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "ob-ocsp-prefetch");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    OCSPValidator ocspValidator = new OCSPValidator(
+                            tppCertValidatorDataHolder.getCertificateRevocationValidationRetryCount(),
+                            tppCertValidatorDataHolder.getConnectTimeout(),
+                            tppCertValidatorDataHolder.getConnectionRequestTimeout(),
+                            tppCertValidatorDataHolder.getSocketTimeout());
+                    KnownCertificateRegistry registry = new KnownCertificateRegistry(
+                            Math.max(1, tppCertValidatorDataHolder.getOCSPPrefetchMaxCertificates()),
+                            TimeUnit.SECONDS.toMillis(tppCertValidatorDataHolder.getTppCertRevocationCacheExpiry()),
+                            TimeUnit.SECONDS.toMillis(tppCertValidatorDataHolder.getOCSPPrefetchRefreshAheadTime()),
+                            ocspValidator::checkRevocation, scheduler,
+                            () -> CertificateValidationUtils.getNewDate().getTime());
+                    long prefetchInterval = Math.max(1, tppCertValidatorDataHolder.getOCSPPrefetchInterval());
+                    scheduler.scheduleWithFixedDelay(registry::prefetch, prefetchInterval, prefetchInterval,
+                            TimeUnit.SECONDS);
+                    instance = registry;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Register a known TPP certificate. The issuer of the certificate is retrieved from the truststore, and the
+     * self signed certificates and the certificates of the revocation validation excluded issuers are skipped.
+     *
+     * @param peerCert peer certificate
+     * @return true if the certificate is registered
+     */
+    public boolean register(X509Certificate peerCert) {
+
+        TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+        String issuerDN = peerCert.getIssuerDN().getName();
+        if (peerCert.getSubjectDN().getName().equals(issuerDN) || tppCertValidatorDataHolder
+                .getCertificateRevocationValidationExcludedIssuers().contains(issuerDN)) {
+            return false;
+        }
+        try {
+            return register(peerCert, CertificateValidationUtils.getIssuerCertificateFromTruststore(peerCert));
+        } catch (CertificateValidationException e) {
+            log.warn("Unable to register the certificate with serial number " + peerCert.getSerialNumber() +
+                    " issued by the CA " + issuerDN + " for the OCSP prefetch", e);
+            return false;
+        }
+    }
+
+    /**
+     * Register a known TPP certificate along with its issuer, and fetch its OCSP response.
+     *
+     * @param peerCert   peer certificate
+     * @param issuerCert issuer certificate of the peer
+     * @return true if the certificate is registered
+     */
+    boolean register(X509Certificate peerCert, X509Certificate issuerCert) {
+
+        String thumbprint = getThumbprint(peerCert);
+        if (thumbprint == null) {
+            return false;
+        }
+        KnownCertificate knownCertificate = new KnownCertificate(peerCert, issuerCert, clock.getAsLong());
+        // registrations are rare compared to the lookups, hence only the registrations are serialized
+        synchronized (this) {
+            if (knownCertificates.containsKey(thumbprint)) {
+                return true;
+            }
+            if (knownCertificates.size() >= maxCertificates) {
+                evictLeastRecentlyUsed();
+            }
+            knownCertificates.put(thumbprint, knownCertificate);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Registered the certificate " + thumbprint + " for the OCSP prefetch");
+        }
+        try {
+            executor.execute(() -> fetch(knownCertificate));
+        } catch (RejectedExecutionException e) {
+            log.warn("Unable to prefetch the OCSP response of the certificate " + thumbprint, e);
+        }
+        return true;
+    }
+
+    /**
+     * Unregister a known TPP certificate, so that its OCSP responses are no longer prefetched.
+     *
+     * @param peerCert peer certificate
+     * @return true if the certificate was registered
+     */
+    public boolean unregister(X509Certificate peerCert) {
+
+        String thumbprint = getThumbprint(peerCert);
+        if (thumbprint == null || knownCertificates.remove(thumbprint) == null) {
+            return false;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Unregistered the certificate " + thumbprint + " from the OCSP prefetch");
+        }
+        return true;
+    }
+
+    /**
+     * Get the prefetched OCSP revocation check result of a certificate.
+     *
+     * @param peerCert peer certificate
+     * @return prefetched revocation check result, or null if the certificate is not known or its prefetched
+     * response is expired
+     */
+    public RevocationCheckResult getPrefetchedResult(X509Certificate peerCert) {
+
+        String thumbprint = getThumbprint(peerCert);
+        KnownCertificate knownCertificate = thumbprint != null ? knownCertificates.get(thumbprint) : null;
+        if (knownCertificate == null) {
+            return null;
+        }
+        knownCertificate.lastAccessTime = clock.getAsLong();
+        RevocationCheckResult revocationCheckResult = knownCertificate.revocationCheckResult;
+        if (revocationCheckResult == null || clock.getAsLong() >= knownCertificate.expiryTime) {
+            return null;
+        }
+        return revocationCheckResult;
+    }
+
+    /**
+     * Get the number of known certificates.
+     *
+     * @return number of known certificates
+     */
+    public int getKnownCertificateCount() {
+
+        return knownCertificates.size();
+    }
+
+    /**
+     * Fetch the OCSP responses which are due to be refreshed, and remove the expired certificates.
+     */
+    void prefetch() {
+
+        long currentTime = clock.getAsLong();
+        for (Map.Entry<String, KnownCertificate> entry : knownCertificates.entrySet()) {
+            KnownCertificate knownCertificate = entry.getValue();
+            if (currentTime > knownCertificate.peerCert.getNotAfter().getTime()) {
+                knownCertificates.remove(entry.getKey(), knownCertificate);
+            } else if (currentTime >= knownCertificate.nextFetchTime) {
+                fetch(knownCertificate);
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+
+        Map.Entry<String, KnownCertificate> leastRecentlyUsed = null;
+        for (Map.Entry<String, KnownCertificate> entry : knownCertificates.entrySet()) {
+            if (leastRecentlyUsed == null ||
+                    entry.getValue().lastAccessTime < leastRecentlyUsed.getValue().lastAccessTime) {
+                leastRecentlyUsed = entry;
+            }
+        }
+        if (leastRecentlyUsed != null) {
+            knownCertificates.remove(leastRecentlyUsed.getKey());
+            if (log.isDebugEnabled()) {
+                log.debug("Maximum number of known certificates for the OCSP prefetch is reached, hence evicted " +
+                        "the least recently used certificate " + leastRecentlyUsed.getKey());
+            }
+        }
+    }
+
+    private void fetch(KnownCertificate knownCertificate) {
+
+        if (!knownCertificate.fetching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            RevocationCheckResult revocationCheckResult = ocspFetcher.fetch(knownCertificate.peerCert,
+                    knownCertificate.issuerCert);
+            long fetchedTime = clock.getAsLong();
+            if (RevocationStatus.UNKNOWN == revocationCheckResult.getStatus()) {
+                knownCertificate.nextFetchTime = fetchedTime + RETRY_INTERVAL;
+                return;
+            }
+            long expiryTime = fetchedTime + maxResponseAge;
+            if (revocationCheckResult.getNextUpdate() != null) {
+                expiryTime = Math.min(expiryTime, revocationCheckResult.getNextUpdate().getTime());
+            }
+            knownCertificate.revocationCheckResult = revocationCheckResult;
+            knownCertificate.expiryTime = expiryTime;
+            knownCertificate.nextFetchTime = Math.max(fetchedTime, expiryTime - refreshAheadTime);
+        } catch (CertificateValidationException | RuntimeException e) {
+            // the last prefetched response is served until it expires
+            log.warn("Unable to prefetch the OCSP response of the certificate with serial number " +
+                    knownCertificate.peerCert.getSerialNumber(), e);
+            knownCertificate.nextFetchTime = clock.getAsLong() + RETRY_INTERVAL;
+        } finally {
+            knownCertificate.fetching.set(false);
+        }
+    }
+
+    private static String getThumbprint(X509Certificate certificate) {
+
+        try {
+            return DigestUtils.sha256Hex(certificate.getEncoded());
+        } catch (CertificateEncodingException e) {
+            log.error("Unable to generate the certificate thumbprint", e);
+            return null;
+        }
+    }
+
+    /**
+     * Known certificate along with its prefetched OCSP revocation check result.
+     */
+    private static class KnownCertificate {
+
+        private final X509Certificate peerCert;
+        private final X509Certificate issuerCert;
+        private final AtomicBoolean fetching = new AtomicBoolean();
+        private volatile RevocationCheckResult revocationCheckResult;
+        private volatile long expiryTime;
+        private volatile long nextFetchTime;
+        private volatile long lastAccessTime;
+
+        KnownCertificate(X509Certificate peerCert, X509Certificate issuerCert, long registeredTime) {
+
+            this.peerCert = peerCert;
+            this.issuerCert = issuerCert;
+            this.lastAccessTime = registeredTime;
+        }
+    }
+}
@@ -20,19 +20,22 @@ package com.wso2.openbanking.accelerator.gateway.executor.revocation;
 
 import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientRegistry;
 import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
 import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
 import com.wso2.openbanking.accelerator.gateway.executor.util.CertificateValidationUtils;
 import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpHost;
-import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
 import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.DERIA5String;
 import org.bouncycastle.asn1.DEROctetString;
@@ -186,6 +189,32 @@ public class OCSPValidator implements RevocationValidator {
                                                            int certificateRevocationProxyPort)
             throws CertificateValidationException {
 
+        return getOCSPRevocationCheckResult(peerCert, issuerCert, retryCount, locations,
+                certificateRevocationProxyEnabled, certificateRevocationProxyHost, certificateRevocationProxyPort)
+                .getStatus();
+    }
+
+    /**
+     * Get revocation status of a certificate using OCSP Url, along with the next update time of the OCSP response.
+     *
+     * @param peerCert                          peer certificate
+     * @param issuerCert                        issuer certificate of peer
+     * @param retryCount                        retry count to connect to OCSP Url and get the OCSP response
+     * @param locations                         AIA locations
+     * @param certificateRevocationProxyEnabled whether certificate revocation proxy enabled in the config
+     * @param certificateRevocationProxyHost    certificate revocation proxy host
+     * @param certificateRevocationProxyPort    certificate revocation proxy port
+     * @return Revocation check result of the certificate
+     * @throws CertificateValidationException certificateValidationException
+     */
+    public static RevocationCheckResult getOCSPRevocationCheckResult(X509Certificate peerCert,
+                                                                     X509Certificate issuerCert, int retryCount,
+                                                                     List<String> locations,
+                                                                     boolean certificateRevocationProxyEnabled,
+                                                                     String certificateRevocationProxyHost,
+                                                                     int certificateRevocationProxyPort)
+            throws CertificateValidationException {
+
         OCSPReq request = generateOCSPRequest(issuerCert, peerCert.getSerialNumber());
         for (String serviceUrl : locations) {
             SingleResp[] responses;
@@ -210,7 +239,8 @@ public class OCSPValidator implements RevocationValidator {
             }
 
             if (responses != null && responses.length == 1) {
-                return getRevocationStatusFromOCSP(responses[0]);
+                return new RevocationCheckResult(getRevocationStatusFromOCSP(responses[0]),
+                        responses[0].getNextUpdate());
             }
         }
         throw new CertificateValidationException("Cant get Revocation Status from OCSP using any of the OCSP Urls " +
@@ -280,7 +310,8 @@ public class OCSPValidator implements RevocationValidator {
         if (log.isDebugEnabled()) {
             log.debug("Certificate revocation check proxy enabled: " + certificateRevocationProxyEnabled);
         }
-        try (CloseableHttpClient client = HTTPClientUtils.getHttpsClient()) {
+        try {
+            CloseableHttpClient client = HTTPClientUtils.getPooledHttpsClient(HTTPClientRegistry.Purpose.OCSP);
             HttpPost httpPost = new HttpPost(serviceUrl);
 
             if (certificateRevocationProxyEnabled) {
@@ -321,17 +352,21 @@ public class OCSPValidator implements RevocationValidator {
             }
 
             setRequestProperties(request.getEncoded(), httpPost);
-            HttpResponse httpResponse = client.execute(httpPost);
-
-            //Check errors in response, if response status code is not 200 (success) range, throws exception
-            // eg: if response code is 200 (success) or 201 (accepted) return true,
-            //     if response code is 404 (not found) or 500 throw exception
-            if (httpResponse.getStatusLine().getStatusCode() / 100 != 2) {
-                throw new CertificateValidationException("Error getting ocsp response." +
-                        "Response code is " + httpResponse.getStatusLine().getStatusCode());
+            // the response is closed to release the connection back to the shared pool
+            try (CloseableHttpResponse httpResponse = client.execute(httpPost)) {
+
+                //Check errors in response, if response status code is not 200 (success) range, throws exception
+                // eg: if response code is 200 (success) or 201 (accepted) return true,
+                //     if response code is 404 (not found) or 500 throw exception
+                if (httpResponse.getStatusLine().getStatusCode() / 100 != 2) {
+                    throw new CertificateValidationException("Error getting ocsp response." +
+                            "Response code is " + httpResponse.getStatusLine().getStatusCode());
+                }
+                InputStream in = httpResponse.getEntity().getContent();
+                ocspResp = new OCSPResp(in);
+                // the remaining content is consumed, so that the connection can be reused
+                EntityUtils.consume(httpResponse.getEntity());
             }
-            InputStream in = httpResponse.getEntity().getContent();
-            ocspResp = new OCSPResp(in);
         } catch (IOException e) {
             if (log.isDebugEnabled()) {
                 log.debug("Certificate revocation check failed due to an exception", e);
@@ -408,6 +443,31 @@ public class OCSPValidator implements RevocationValidator {
                 , certificateRevocationProxyHost, certificateRevocationProxyPort);
     }
 
+    /**
+     * Check revocation status of the peer certificate along with the next update time of the OCSP response.
+     *
+     * @param peerCert   peer certificate
+     * @param issuerCert issuer certificate of the peer
+     * @return revocation check result of the peer certificate
+     * @throws CertificateValidationException certificateValidationException
+     */
+    @Override
+    public RevocationCheckResult checkRevocation(X509Certificate peerCert, X509Certificate issuerCert)
+            throws CertificateValidationException {
+
+        if (issuerCert == null) {
+            throw new CertificateValidationException("Issuer Certificate is not available for " +
+                    "OCSP validation");
+        }
+        List<String> locations = getAIALocations(peerCert);
+        TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+
+        return getOCSPRevocationCheckResult(peerCert, issuerCert, retryCount, locations,
+                tppCertValidatorDataHolder.isCertificateRevocationProxyEnabled(),
+                tppCertValidatorDataHolder.getCertificateRevocationProxyHost(),
+                tppCertValidatorDataHolder.getCertificateRevocationProxyPort());
+    }
+
     @Override
     public int getRetryCount() {
 
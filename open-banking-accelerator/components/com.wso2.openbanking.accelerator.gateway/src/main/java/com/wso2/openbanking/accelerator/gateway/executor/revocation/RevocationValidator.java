@@ -19,6 +19,7 @@ package com.wso2.openbanking.accelerator.gateway.executor.revocation;
 
 
 import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
 import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
 
 import java.security.cert.X509Certificate;
@@ -39,6 +40,21 @@ public interface RevocationValidator {
     RevocationStatus checkRevocationStatus(X509Certificate peerCert, X509Certificate issuerCert)
             throws CertificateValidationException;
 
+    /**
+     * Checks revocation status of the peer certificate along with the time the revocation information is next
+     * updated by the CA. Validators which cannot determine the next update time return the status only.
+     *
+     * @param peerCert   peer certificate
+     * @param issuerCert issuer certificate
+     * @return revocation check result
+     * @throws CertificateValidationException when an error occurs while checking the revocation status
+     */
+    default RevocationCheckResult checkRevocation(X509Certificate peerCert, X509Certificate issuerCert)
+            throws CertificateValidationException {
+
+        return new RevocationCheckResult(checkRevocationStatus(peerCert, issuerCert), null);
+    }
+
     /**
      * Get revocation validator retry count.
      *
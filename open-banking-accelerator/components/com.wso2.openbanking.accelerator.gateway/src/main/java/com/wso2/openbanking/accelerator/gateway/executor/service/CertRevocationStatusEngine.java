@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.service;
+
+import com.wso2.openbanking.accelerator.common.caching.OpenBankingNearCache;
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Engine to check the certificate revocation statuses asynchronously, keyed by the certificate thumbprint.
+ * 1) Concurrent lookups of a certificate without a usable status share a single in-flight revocation check.
+ * 2) Good and revoked statuses are cached until the next update time of the OCSP response or the CRL, bounded by
+ *    the configured certificate cache expiry. Unknown statuses are not cached.
+ * 3) Within the refresh ahead time before the expiry, the cached status is served while it is refreshed in the
+ *    background. A good status is also served within the stale grace period after the expiry, so that an
+ *    unreachable OCSP responder or CRL distribution point does not fail the requests of a known good certificate.
+ * 4) The checks run on a bounded pool. When the pool is saturated or a check does not complete within the check
+ *    timeout, the waiting request treats the certificate as revoked.
+ */
+public class CertRevocationStatusEngine {
+
+    private static final Log log = LogFactory.getLog(CertRevocationStatusEngine.class);
+    private static final int MAX_CACHED_REVOCATION_STATUSES = 10000;
+    private static final int MAX_QUEUED_REVOCATION_CHECKS = 1000;
+
+    private static volatile CertRevocationStatusEngine instance;
+
+    private final OpenBankingNearCache<String, RevocationStatusEntry> revocationStatuses;
+    private final Map<String, CompletableFuture<RevocationStatusEntry>> inFlightChecks = new ConcurrentHashMap<>();
+    private final long maxTimeToLive;
+    private final long refreshAheadTime;
+    private final long staleGracePeriod;
+    private final long checkTimeout;
+    private final Executor executor;
+    private final LongSupplier clock;
+
+    /**
+     * Revocation check of a certificate, invoked on a worker thread of the engine.
+     */
+    public interface RevocationCheck {
+
+        /**
+         * Check the revocation status of the certificate.
+         *
+         * @return revocation check result
+         */
+        RevocationCheckResult check();
+    }
+
+    /**
+     * Initialize the engine.
+     *
+     * @param maxTimeToLive    maximum time in milliseconds a status is cached for
+     * @param refreshAheadTime time in milliseconds before the expiry of a status, in which it is refreshed
+     * @param staleGracePeriod time in milliseconds after the expiry of a good status, in which it is still served
+     * @param checkTimeout     time in milliseconds a request waits for the revocation check of the certificate
+     * @param executor         executor to run the revocation checks
+     * @param clock            supplier of the current time in milliseconds
+     */
+    CertRevocationStatusEngine(long maxTimeToLive, long refreshAheadTime, long staleGracePeriod, long checkTimeout,
+                               Executor executor, LongSupplier clock) {
+
+        this.maxTimeToLive = maxTimeToLive;
+        this.refreshAheadTime = refreshAheadTime;
+        this.staleGracePeriod = staleGracePeriod;
+        this.checkTimeout = checkTimeout;
+        this.executor = executor;
+        this.clock = clock;
+        this.revocationStatuses = new OpenBankingNearCache<>(MAX_CACHED_REVOCATION_STATUSES,
+                maxTimeToLive + staleGracePeriod, TimeUnit.MILLISECONDS, (thumbprint, entry) -> 1);
+    }
+
+    /**
+     * Get an instance of the CertRevocationStatusEngine. It implements a double checked locking initialization.
+     *
+     * @return CertRevocationStatusEngine instance
+     */
+    public static CertRevocationStatusEngine getInstance() {
+
+        if (instance == null) {
+            synchronized (CertRevocationStatusEngine.class) {
+                if (instance == null) {
+                    TPPCertValidatorDataHolder tppCertValidatorDataHolder = TPPCertValidatorDataHolder.getInstance();
+                    int workerThreadCount =
+                            Math.max(1, tppCertValidatorDataHolder.getRevocationValidationWorkerThreadCount());
+                    AtomicInteger threadCount = new AtomicInteger();
+                    ExecutorService executor = new ThreadPoolExecutor(workerThreadCount, workerThreadCount, 0L,
+                            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_REVOCATION_CHECKS),
+                            runnable -> {
+                                Thread thread = new Thread(runnable,
+                                        "ob-cert-revocation-check-" + threadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    instance = new CertRevocationStatusEngine(
+                            TimeUnit.SECONDS.toMillis(tppCertValidatorDataHolder.getTppCertRevocationCacheExpiry()),
+                            TimeUnit.SECONDS.toMillis(tppCertValidatorDataHolder.getRevocationStatusRefreshAheadTime()),
+                            TimeUnit.SECONDS.toMillis(tppCertValidatorDataHolder.getRevocationStatusStaleGracePeriod()),
+                            getCheckTimeout(tppCertValidatorDataHolder), executor, System::currentTimeMillis);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Stop the worker threads of the engine. Waiting requests treat their certificates as revoked, and the next
+     * call to getInstance creates a new engine.
+     */
+    public static synchronized void shutdown() {
+
+        CertRevocationStatusEngine engine = instance;
+        instance = null;
+        if (engine != null && engine.executor instanceof ExecutorService) {
+            ((ExecutorService) engine.executor).shutdownNow();
+        }
+    }
+
+    /**
+     * Check whether the certificate is revoked. The cached status is returned if it is usable, otherwise the
+     * calling thread waits for the in-flight revocation check of the certificate.
+     *
+     * @param thumbprint      thumbprint of the certificate
+     * @param revocationCheck check to run when the status of the certificate is not cached or to be refreshed
+     * @return true if the certificate is revoked or its revocation status could not be determined
+     */
+    public boolean isRevoked(String thumbprint, RevocationCheck revocationCheck) {
+
+        long currentTime = clock.getAsLong();
+        RevocationStatusEntry revocationStatusEntry = revocationStatuses.get(thumbprint);
+        if (revocationStatusEntry != null) {
+            if (currentTime < revocationStatusEntry.refreshTime) {
+                return revocationStatusEntry.revoked;
+            }
+            if (currentTime < revocationStatusEntry.expiryTime || (!revocationStatusEntry.revoked &&
+                    currentTime < revocationStatusEntry.expiryTime + staleGracePeriod)) {
+                // the cached status is served while it is refreshed in the background
+                submitCheck(thumbprint, revocationCheck);
+                return revocationStatusEntry.revoked;
+            }
+        }
+
+        try {
+            return submitCheck(thumbprint, revocationCheck).get(checkTimeout, TimeUnit.MILLISECONDS).revoked;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for the certificate revocation check", e);
+            return true;
+        } catch (ExecutionException e) {
+            log.error("Error occurred while checking the certificate revocation status", e);
+            return true;
+        } catch (TimeoutException e) {
+            // the check is left to complete in the background, so that its status is cached for the next requests
+            log.error("Certificate revocation check is not completed within " + checkTimeout + " milliseconds");
+            return true;
+        }
+    }
+
+    /**
+     * Get the number of cached revocation statuses.
+     *
+     * @return number of cached statuses
+     */
+    public int getCachedStatusCount() {
+
+        return revocationStatuses.size();
+    }
+
+    private CompletableFuture<RevocationStatusEntry> submitCheck(String thumbprint,
+                                                                 RevocationCheck revocationCheck) {
+
+        CompletableFuture<RevocationStatusEntry> check = new CompletableFuture<>();
+        CompletableFuture<RevocationStatusEntry> inFlightCheck = inFlightChecks.putIfAbsent(thumbprint, check);
+        if (inFlightCheck != null) {
+            return inFlightCheck;
+        }
+        try {
+            executor.execute(() -> runCheck(thumbprint, revocationCheck, check));
+        } catch (RejectedExecutionException e) {
+            log.warn("Certificate revocation check pool is saturated, hence the check is rejected");
+            inFlightChecks.remove(thumbprint, check);
+            check.completeExceptionally(e);
+        }
+        return check;
+    }
+
+    /**
+     * Get the time a check may take to try each of the configured validators, with all their retries timing out.
+     *
+     * @param tppCertValidatorDataHolder TPP certificate validator data holder
+     * @return check timeout in milliseconds
+     */
+    private static long getCheckTimeout(TPPCertValidatorDataHolder tppCertValidatorDataHolder) {
+
+        int validatorCount = Math.max(1,
+                OpenBankingConfigParser.getInstance().getCertificateRevocationValidators().size());
+        long attemptTimeout = (long) tppCertValidatorDataHolder.getConnectionRequestTimeout() +
+                tppCertValidatorDataHolder.getConnectTimeout() + tppCertValidatorDataHolder.getSocketTimeout();
+        return validatorCount * (tppCertValidatorDataHolder.getCertificateRevocationValidationRetryCount() + 1L) *
+                attemptTimeout;
+    }
+
+    private void runCheck(String thumbprint, RevocationCheck revocationCheck,
+                          CompletableFuture<RevocationStatusEntry> check) {
+
+        try {
+            RevocationCheckResult revocationCheckResult = revocationCheck.check();
+            long checkedTime = clock.getAsLong();
+            long expiryTime = checkedTime + maxTimeToLive;
+            if (revocationCheckResult.getNextUpdate() != null) {
+                expiryTime = Math.min(expiryTime, revocationCheckResult.getNextUpdate().getTime());
+            }
+            RevocationStatusEntry revocationStatusEntry = new RevocationStatusEntry(
+                    RevocationStatus.GOOD != revocationCheckResult.getStatus(),
+                    Math.max(checkedTime, expiryTime - refreshAheadTime), expiryTime);
+
+            // a failed refresh keeps the last known status until it runs out of the grace period
+            if (RevocationStatus.UNKNOWN != revocationCheckResult.getStatus()) {
+                revocationStatuses.put(thumbprint, revocationStatusEntry);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Certificate revocation status of %s is %s, cached until %d", thumbprint,
+                        revocationCheckResult.getStatus(), expiryTime));
+            }
+            check.complete(revocationStatusEntry);
+        } catch (RuntimeException e) {
+            check.completeExceptionally(e);
+        } finally {
+            inFlightChecks.remove(thumbprint, check);
+        }
+    }
+
+    /**
+     * Cached revocation status along with the times it is refreshed and expires at.
+     */
+    private static class RevocationStatusEntry {
+
+        private final boolean revoked;
+        private final long refreshTime;
+        private final long expiryTime;
+
+        RevocationStatusEntry(boolean revoked, long refreshTime, long expiryTime) {
+
+            this.revoked = revoked;
+            this.refreshTime = refreshTime;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
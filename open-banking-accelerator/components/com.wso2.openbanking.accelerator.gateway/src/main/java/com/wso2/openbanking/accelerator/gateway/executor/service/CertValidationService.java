@@ -26,7 +26,9 @@ import com.wso2.openbanking.accelerator.common.util.eidas.certificate.extractor.
 import com.wso2.openbanking.accelerator.common.util.eidas.certificate.extractor.CertificateContentExtractor;
 import com.wso2.openbanking.accelerator.gateway.cache.GatewayCacheKey;
 import com.wso2.openbanking.accelerator.gateway.cache.TppValidationCache;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
 import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import com.wso2.openbanking.accelerator.gateway.executor.revocation.KnownCertificateRegistry;
 import com.wso2.openbanking.accelerator.gateway.executor.revocation.RevocationValidator;
 import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
 import org.apache.commons.lang3.StringUtils;
@@ -38,6 +40,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * CertRevocationValidation Service class is responsible for validating client certificates.
@@ -76,31 +79,9 @@ public class CertValidationService {
     @Deprecated
     public boolean verify(X509Certificate peerCertificate, X509Certificate issuerCertificate, int retryCount) {
 
-        OpenBankingConfigParser openBankingConfigParser = OpenBankingConfigParser.getInstance();
         RevocationValidatorFactory revocationValidatorFactory = new RevocationValidatorFactory();
-        Map<Integer, String> revocationValidators = openBankingConfigParser.getCertificateRevocationValidators();
-
-        // OCSP validation is checked first as it is faster than the CRL validation. Moving to CRL validation
-        // only if an error occurs during the OCSP validation.
-        RevocationValidator[] validators = revocationValidators
-                .entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(Map.Entry::getValue)
-                .map(type -> revocationValidatorFactory.getValidator(type, retryCount))
-                .filter(Objects::nonNull)
-                .toArray(RevocationValidator[]::new);
-
-        for (RevocationValidator validator : validators) {
-            RevocationStatus revocationStatus = isRevoked(validator, peerCertificate, issuerCertificate);
-            if (RevocationStatus.GOOD == revocationStatus) {
-                return true;
-            } else if (RevocationStatus.REVOKED == revocationStatus) {
-                return false;
-            }
-        }
-        log.error("Unable to verify certificate revocation information");
-        return false;
+        return RevocationStatus.GOOD == getRevocationCheckResult(peerCertificate, issuerCertificate,
+                type -> revocationValidatorFactory.getValidator(type, retryCount)).getStatus();
     }
 
     /**
@@ -117,9 +98,44 @@ public class CertValidationService {
     public boolean verify(X509Certificate peerCertificate, X509Certificate issuerCertificate, int retryCount,
                           int connectTimeout, int connectionRequestTimeout, int socketTimeout) {
 
-        OpenBankingConfigParser openBankingConfigParser = OpenBankingConfigParser.getInstance();
+        return RevocationStatus.GOOD == getRevocationCheckResult(peerCertificate, issuerCertificate, retryCount,
+                connectTimeout, connectionRequestTimeout, socketTimeout).getStatus();
+    }
+
+    /**
+     * Check the certificate revocation status along with the time the revocation information is next updated
+     * by the CA. The validators are tried in the configured order until one of them determines the status.
+     *
+     * @param peerCertificate          X509Certificate
+     * @param issuerCertificate        X509Certificate
+     * @param retryCount               retry count
+     * @param connectTimeout           connect timeout
+     * @param connectionRequestTimeout connection request timeout
+     * @param socketTimeout            socket timeout
+     * @return revocation check result, with the UNKNOWN status if none of the validators determined the status
+     */
+    public RevocationCheckResult getRevocationCheckResult(X509Certificate peerCertificate,
+                                                          X509Certificate issuerCertificate, int retryCount,
+                                                          int connectTimeout, int connectionRequestTimeout,
+                                                          int socketTimeout) {
+
+        RevocationCheckResult prefetchedResult = getPrefetchedResult(peerCertificate);
+        if (prefetchedResult != null) {
+            return prefetchedResult;
+        }
+
         RevocationValidatorFactory revocationValidatorFactory = new RevocationValidatorFactory();
-        Map<Integer, String> revocationValidators = openBankingConfigParser.getCertificateRevocationValidators();
+        return getRevocationCheckResult(peerCertificate, issuerCertificate,
+                type -> revocationValidatorFactory.getValidator(type, retryCount, connectTimeout,
+                        connectionRequestTimeout, socketTimeout));
+    }
+
+    private RevocationCheckResult getRevocationCheckResult(X509Certificate peerCertificate,
+                                                           X509Certificate issuerCertificate,
+                                                           Function<String, RevocationValidator> validatorProvider) {
+
+        Map<Integer, String> revocationValidators =
+                OpenBankingConfigParser.getInstance().getCertificateRevocationValidators();
 
         // OCSP validation is checked first as it is faster than the CRL validation. Moving to CRL validation
         // only if an error occurs during the OCSP validation.
@@ -128,35 +144,52 @@ public class CertValidationService {
                 .stream()
                 .sorted(Map.Entry.comparingByKey())
                 .map(Map.Entry::getValue)
-                .map(type -> revocationValidatorFactory.getValidator(type, retryCount, connectTimeout,
-                        connectionRequestTimeout, socketTimeout))
+                .map(validatorProvider)
                 .filter(Objects::nonNull)
                 .toArray(RevocationValidator[]::new);
 
         for (RevocationValidator validator : validators) {
-            RevocationStatus revocationStatus = isRevoked(validator, peerCertificate, issuerCertificate);
-            if (RevocationStatus.GOOD == revocationStatus) {
-                return true;
-            } else if (RevocationStatus.REVOKED == revocationStatus) {
-                return false;
+            RevocationCheckResult revocationCheckResult = checkRevocation(validator, peerCertificate,
+                    issuerCertificate);
+            if (RevocationStatus.UNKNOWN != revocationCheckResult.getStatus()) {
+                return revocationCheckResult;
             }
         }
         log.error("Unable to verify certificate revocation information");
-        return false;
+        return new RevocationCheckResult(RevocationStatus.UNKNOWN, null);
+    }
+
+    /**
+     * Get the prefetched OCSP revocation check result of a known TPP certificate, if the OCSP prefetch is enabled.
+     *
+     * @param peerCertificate X509Certificate
+     * @return prefetched revocation check result, or null if not available
+     */
+    private RevocationCheckResult getPrefetchedResult(X509Certificate peerCertificate) {
+
+        if (!TPPCertValidatorDataHolder.getInstance().isOCSPPrefetchEnabled()) {
+            return null;
+        }
+        RevocationCheckResult prefetchedResult = KnownCertificateRegistry.getInstance()
+                .getPrefetchedResult(peerCertificate);
+        if (prefetchedResult != null && log.isDebugEnabled()) {
+            log.debug("X509 Certificate validation with the prefetched OCSP response");
+        }
+        return prefetchedResult;
     }
 
-    private RevocationStatus isRevoked(RevocationValidator validator, X509Certificate peerCertificate,
-                                       X509Certificate issuerCertificate) {
+    private RevocationCheckResult checkRevocation(RevocationValidator validator, X509Certificate peerCertificate,
+                                                  X509Certificate issuerCertificate) {
 
         if (log.isDebugEnabled()) {
             log.debug("X509 Certificate validation with " + validator.getClass().getSimpleName());
         }
         try {
-            return validator.checkRevocationStatus(peerCertificate, issuerCertificate);
+            return validator.checkRevocation(peerCertificate, issuerCertificate);
         } catch (CertificateValidationException e) {
             log.warn("Unable to validate certificate revocation with " +
                     validator.getClass().getSimpleName(), e);
-            return RevocationStatus.UNKNOWN;
+            return new RevocationCheckResult(RevocationStatus.UNKNOWN, null);
         }
     }
 
@@ -21,13 +21,19 @@ package com.wso2.openbanking.accelerator.gateway.internal;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigurationService;
 import com.wso2.openbanking.accelerator.common.constant.OpenBankingConstants;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientRegistry;
 import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
 import com.wso2.openbanking.accelerator.common.util.OpenBankingUtils;
 import com.wso2.openbanking.accelerator.data.publisher.common.constants.DataPublishingConstants;
 import com.wso2.openbanking.accelerator.gateway.cache.GatewayCache;
 import com.wso2.openbanking.accelerator.gateway.executor.core.AbstractRequestRouter;
+import com.wso2.openbanking.accelerator.gateway.executor.core.RequestContextStore;
+import com.wso2.openbanking.accelerator.gateway.executor.core.SlowRequestTracer;
 import com.wso2.openbanking.accelerator.gateway.throttling.ThrottleDataPublisher;
 import com.wso2.openbanking.accelerator.gateway.util.GatewayConstants;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
@@ -35,8 +41,12 @@ import org.wso2.carbon.apimgt.impl.APIManagerConfigurationService;
 import org.wso2.carbon.base.ServerConfiguration;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -44,9 +54,11 @@ import java.util.Map;
  */
 public class GatewayDataHolder {
 
+    private static final Log log = LogFactory.getLog(GatewayDataHolder.class);
     private static volatile GatewayDataHolder instance;
-    private static volatile CloseableHttpClient httpClient;
     private static volatile GatewayCache gatewayCache;
+    private static volatile RequestContextStore requestContextStore;
+    private static volatile SlowRequestTracer slowRequestTracer;
     private OpenBankingConfigurationService openBankingConfigurationService;
     private Map<String, Object> configurations;
     private APIManagerConfigurationService apiManagerConfigurationService;
@@ -62,6 +74,16 @@ public class GatewayDataHolder {
     private boolean isAPIMAnalyticsEnabled;
     private boolean isOBDataPublishingEnabled;
     private String workerThreadCount;
+    private boolean isExecutorMetricsJMXEnabled;
+    private int executorMetricsPublishInterval;
+    private int slowRequestThreshold = 1000;
+    private int slowRequestBufferSize = 100;
+    private boolean isConsentValidationCacheEnabled;
+    private int consentValidationCacheTimeToLive = 30;
+    private int consentValidationCacheMaxEntries = 10000;
+    private List<String> consentValidationDigestHeaders = new ArrayList<>();
+    private String consentValidationChannel = GatewayConstants.CONSENT_VALIDATION_CHANNEL_JWS;
+    private String consentValidationHMACSecret;
 
     private GatewayDataHolder() {
 
@@ -81,14 +103,23 @@ public class GatewayDataHolder {
 
     public static CloseableHttpClient getHttpClient() throws OpenBankingException {
 
-        if (httpClient == null) {
-            synchronized (GatewayDataHolder.class) {
-                if (httpClient == null) {
-                    httpClient = HTTPClientUtils.getHttpsClient();
-                }
-            }
-        }
-        return httpClient;
+        return HTTPClientUtils.getPooledHttpsClient(HTTPClientRegistry.Purpose.CONSENT_VALIDATION);
+    }
+
+    /**
+     * Get the client of the calls to the API publisher, which does not share the consent validation connections.
+     *
+     * @return pooled https client
+     * @throws OpenBankingException when the client cannot be created
+     */
+    public static CloseableHttpClient getPublisherHttpClient() throws OpenBankingException {
+
+        return HTTPClientUtils.getPooledHttpsClient(HTTPClientRegistry.Purpose.API_PUBLISHER);
+    }
+
+    public static CloseableHttpClient getMutualTLSHttpClient() throws OpenBankingException {
+
+        return HTTPClientUtils.getPooledHttpsClient(HTTPClientRegistry.Purpose.CONSENT_VALIDATION_MTLS);
     }
 
     public static GatewayCache getGatewayCache() {
@@ -107,6 +138,35 @@ public class GatewayDataHolder {
         gatewayCache = cache;
     }
 
+    public static RequestContextStore getRequestContextStore() {
+
+        if (requestContextStore == null) {
+            synchronized (GatewayDataHolder.class) {
+                if (requestContextStore == null) {
+                    // contexts of the messages which never reach the response are kept as long as the cache entries
+                    int timeoutMinutes = getInstance().getGatewayCacheAccessExpiry();
+                    requestContextStore = new RequestContextStore(timeoutMinutes > 0 ? timeoutMinutes : 60);
+                }
+            }
+        }
+        return requestContextStore;
+    }
+
+    public static SlowRequestTracer getSlowRequestTracer() {
+
+        if (slowRequestTracer == null) {
+            synchronized (GatewayDataHolder.class) {
+                if (slowRequestTracer == null) {
+                    GatewayDataHolder gatewayDataHolder = getInstance();
+                    int timeoutMinutes = gatewayDataHolder.getGatewayCacheAccessExpiry();
+                    slowRequestTracer = new SlowRequestTracer(gatewayDataHolder.getSlowRequestThreshold(),
+                            gatewayDataHolder.getSlowRequestBufferSize(), timeoutMinutes > 0 ? timeoutMinutes : 60);
+                }
+            }
+        }
+        return slowRequestTracer;
+    }
+
     public OpenBankingConfigurationService getOpenBankingConfigurationService() {
 
         return openBankingConfigurationService;
@@ -136,6 +196,22 @@ public class GatewayDataHolder {
             setAPIMAnalyticsEnabled((String) configurations.get(DataPublishingConstants.APIM_ANALYTICS_ENABLED));
             setOBDataPublishingEnabled((String) configurations.get(DataPublishingConstants.DATA_PUBLISHING_ENABLED));
             setWorkerThreadCount((String) configurations.get(DataPublishingConstants.WORKER_THREAD_COUNT));
+            setExecutorMetricsJMXEnabled((String) configurations.get(GatewayConstants.EXECUTOR_METRICS_JMX_ENABLED));
+            setExecutorMetricsPublishInterval((String) configurations
+                    .get(GatewayConstants.EXECUTOR_METRICS_PUBLISH_INTERVAL));
+            setSlowRequestThreshold((String) configurations.get(GatewayConstants.SLOW_REQUEST_THRESHOLD));
+            setSlowRequestBufferSize((String) configurations.get(GatewayConstants.SLOW_REQUEST_BUFFER_SIZE));
+            setConsentValidationCacheEnabled((String) configurations
+                    .get(GatewayConstants.CONSENT_VALIDATION_CACHE_ENABLED));
+            setConsentValidationCacheTimeToLive((String) configurations
+                    .get(GatewayConstants.CONSENT_VALIDATION_CACHE_TIME_TO_LIVE));
+            setConsentValidationCacheMaxEntries((String) configurations
+                    .get(GatewayConstants.CONSENT_VALIDATION_CACHE_MAX_ENTRIES));
+            setConsentValidationDigestHeaders((String) configurations
+                    .get(GatewayConstants.CONSENT_VALIDATION_CACHE_DIGEST_HEADERS));
+            setConsentValidationChannel((String) configurations.get(GatewayConstants.CONSENT_VALIDATION_CHANNEL));
+            setConsentValidationHMACSecret((String) configurations
+                    .get(GatewayConstants.CONSENT_VALIDATION_HMAC_SECRET));
         }
     }
 
@@ -342,4 +418,148 @@ public class GatewayDataHolder {
 
         return workerThreadCount;
     }
+
+    public boolean isExecutorMetricsJMXEnabled() {
+
+        return isExecutorMetricsJMXEnabled;
+    }
+
+    public void setExecutorMetricsJMXEnabled(String executorMetricsJMXEnabled) {
+
+        isExecutorMetricsJMXEnabled = Boolean.parseBoolean(executorMetricsJMXEnabled);
+    }
+
+    public int getExecutorMetricsPublishInterval() {
+
+        return executorMetricsPublishInterval;
+    }
+
+    public void setExecutorMetricsPublishInterval(String publishInterval) {
+
+        this.executorMetricsPublishInterval = parseIntConfig(GatewayConstants.EXECUTOR_METRICS_PUBLISH_INTERVAL,
+                publishInterval, 0);
+    }
+
+    public int getSlowRequestThreshold() {
+
+        return slowRequestThreshold;
+    }
+
+    public void setSlowRequestThreshold(String slowRequestThreshold) {
+
+        this.slowRequestThreshold = parseIntConfig(GatewayConstants.SLOW_REQUEST_THRESHOLD, slowRequestThreshold, 1000);
+    }
+
+    public int getSlowRequestBufferSize() {
+
+        return slowRequestBufferSize;
+    }
+
+    public void setSlowRequestBufferSize(String slowRequestBufferSize) {
+
+        this.slowRequestBufferSize = parseIntConfig(GatewayConstants.SLOW_REQUEST_BUFFER_SIZE, slowRequestBufferSize,
+                100);
+    }
+
+    public boolean isConsentValidationCacheEnabled() {
+
+        return isConsentValidationCacheEnabled;
+    }
+
+    public void setConsentValidationCacheEnabled(String consentValidationCacheEnabled) {
+
+        isConsentValidationCacheEnabled = Boolean.parseBoolean(consentValidationCacheEnabled);
+    }
+
+    public int getConsentValidationCacheTimeToLive() {
+
+        return consentValidationCacheTimeToLive;
+    }
+
+    public void setConsentValidationCacheTimeToLive(String timeToLive) {
+
+        this.consentValidationCacheTimeToLive = parseIntConfig(GatewayConstants.CONSENT_VALIDATION_CACHE_TIME_TO_LIVE,
+                timeToLive, 30);
+    }
+
+    public int getConsentValidationCacheMaxEntries() {
+
+        return consentValidationCacheMaxEntries;
+    }
+
+    public void setConsentValidationCacheMaxEntries(String maxEntries) {
+
+        this.consentValidationCacheMaxEntries = parseIntConfig(GatewayConstants.CONSENT_VALIDATION_CACHE_MAX_ENTRIES,
+                maxEntries, 10000);
+    }
+
+    public List<String> getConsentValidationDigestHeaders() {
+
+        return consentValidationDigestHeaders;
+    }
+
+    public void setConsentValidationDigestHeaders(String digestHeaders) {
+
+        List<String> headers = new ArrayList<>();
+        if (StringUtils.isNotBlank(digestHeaders)) {
+            for (String header : digestHeaders.split(",")) {
+                if (StringUtils.isNotBlank(header)) {
+                    headers.add(header.trim());
+                }
+            }
+        }
+        this.consentValidationDigestHeaders = headers;
+    }
+
+    public String getConsentValidationChannel() {
+
+        return consentValidationChannel;
+    }
+
+    public void setConsentValidationChannel(String consentValidationChannel) {
+
+        this.consentValidationChannel = StringUtils.isBlank(consentValidationChannel) ?
+                GatewayConstants.CONSENT_VALIDATION_CHANNEL_JWS :
+                consentValidationChannel.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public String getConsentValidationHMACSecret() {
+
+        return consentValidationHMACSecret;
+    }
+
+    public void setConsentValidationHMACSecret(String consentValidationHMACSecret) {
+
+        this.consentValidationHMACSecret = consentValidationHMACSecret;
+        // HS256 requires a secret of at least 256 bits, the IS rejects the requests signed with a shorter secret
+        if (GatewayConstants.CONSENT_VALIDATION_CHANNEL_HMAC.equals(consentValidationChannel) &&
+                StringUtils.isNotBlank(consentValidationHMACSecret) &&
+                consentValidationHMACSecret.getBytes(StandardCharsets.UTF_8).length <
+                        GatewayConstants.CONSENT_VALIDATION_HMAC_SECRET_MIN_LENGTH) {
+            log.error("Consent validation HMAC secret is shorter than " +
+                    GatewayConstants.CONSENT_VALIDATION_HMAC_SECRET_MIN_LENGTH + " bytes required by HS256");
+        }
+    }
+
+    /**
+     * Parse an integer configuration, falling back to the default value if the configured value is invalid.
+     *
+     * @param configName   name of the configuration
+     * @param value        configured value
+     * @param defaultValue default value
+     * @return parsed value
+     */
+    private static int parseIntConfig(String configName, String value, int defaultValue) {
+
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn(String.format("Invalid value %s configured for %s. Using the default value %d",
+                    value, configName, defaultValue));
+            return defaultValue;
+        }
+    }
 }
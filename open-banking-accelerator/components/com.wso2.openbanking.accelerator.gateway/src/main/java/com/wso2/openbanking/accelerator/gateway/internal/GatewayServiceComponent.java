@@ -19,6 +19,9 @@
 package com.wso2.openbanking.accelerator.gateway.internal;
 
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigurationService;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorMetrics;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorTimings;
+import com.wso2.openbanking.accelerator.gateway.reporter.OBExecutorMetricsPublisher;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.ComponentContext;
@@ -30,6 +33,10 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.apimgt.impl.APIManagerConfigurationService;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service class for executor core.
  */
@@ -40,16 +47,44 @@ import org.wso2.carbon.apimgt.impl.APIManagerConfigurationService;
 public class GatewayServiceComponent {
 
     private static final Log log = LogFactory.getLog(GatewayServiceComponent.class);
+    private ScheduledExecutorService executorMetricsPublisher;
+    private ExecutorMetrics executorMetrics;
 
     @Activate
     protected void activate(ComponentContext context) {
 
+        GatewayDataHolder gatewayDataHolder = GatewayDataHolder.getInstance();
+        OBExecutorMetricsPublisher metricsPublisher = null;
+        int publishInterval = gatewayDataHolder.getExecutorMetricsPublishInterval();
+        if (gatewayDataHolder.isOBDataPublishingEnabled() && publishInterval > 0) {
+            metricsPublisher = new OBExecutorMetricsPublisher(ExecutorTimings.getInstance());
+            executorMetricsPublisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ob-executor-metrics-publisher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executorMetricsPublisher.scheduleAtFixedRate(metricsPublisher, publishInterval, publishInterval,
+                    TimeUnit.SECONDS);
+        }
+        if (gatewayDataHolder.isExecutorMetricsJMXEnabled()) {
+            executorMetrics = new ExecutorMetrics(ExecutorTimings.getInstance(),
+                    GatewayDataHolder.getSlowRequestTracer(), metricsPublisher);
+            executorMetrics.registerMBean();
+        }
         log.debug("Open banking gateway component is activated ");
     }
 
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        if (executorMetrics != null) {
+            executorMetrics.unregisterMBean();
+            executorMetrics = null;
+        }
+        if (executorMetricsPublisher != null) {
+            executorMetricsPublisher.shutdownNow();
+            executorMetricsPublisher = null;
+        }
         log.debug("Open banking gateway component is deactivated ");
     }
 
@@ -20,6 +20,7 @@ package com.wso2.openbanking.accelerator.gateway.internal;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigurationService;
 import com.wso2.openbanking.accelerator.common.constant.OpenBankingConstants;
+import com.wso2.openbanking.accelerator.gateway.executor.service.CertRevocationStatusEngine;
 import com.wso2.openbanking.accelerator.gateway.executor.util.CertificateValidationUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -94,6 +95,8 @@ public class TPPCertValidatorComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
+
+        CertRevocationStatusEngine.shutdown();
         log.debug("Client registration validation handler is deactivated");
     }
 
@@ -45,14 +45,25 @@ public class TPPCertValidatorDataHolder {
     private int connectTimeout;
     private int connectionRequestTimeout;
     private int socketTimeout;
+    private int revocationStatusRefreshAheadTime;
+    private int revocationStatusStaleGracePeriod;
+    private int revocationValidationWorkerThreadCount;
+    private int crlStoreRefreshAheadTime;
+    private int ocspPrefetchInterval;
+    private int ocspPrefetchRefreshAheadTime;
+    private int ocspPrefetchMaxCertificates;
 
     private boolean psd2RoleValidationEnabled;
     private boolean certificateRevocationProxyEnabled;
     private boolean transportCertIssuerValidationEnabled;
     private boolean certificateRevocationValidationEnabled;
+    private boolean asyncRevocationValidationEnabled;
+    private boolean crlStoreEnabled;
+    private boolean ocspPrefetchEnabled;
 
     private String tppValidationServiceImpl;
     private String certificateRevocationProxyHost;
+    private String crlStoreLocation;
 
     private List<String> revocationValidationExcludedIssuersList;
 
@@ -317,6 +328,257 @@ public class TPPCertValidatorDataHolder {
         }
     }
 
+    /**
+     * Check if the certificate revocation statuses are validated asynchronously. If enabled, concurrent validations
+     * of the same certificate share a single revocation check and the cached statuses are refreshed in the
+     * background before they expire.
+     *
+     * @return true if the asynchronous revocation validation is enabled. Default value has been set to false.
+     */
+    public boolean isAsyncRevocationValidationEnabled() {
+
+        return asyncRevocationValidationEnabled;
+    }
+
+    public void setAsyncRevocationValidationEnabled() {
+
+        Object isAsyncRevocationValidationEnabled = this.openBankingConfigurationService.
+                getConfigurations().get(OpenBankingConstants.ASYNC_REVOCATION_VALIDATION_ENABLED);
+        if (isAsyncRevocationValidationEnabled != null) {
+            this.asyncRevocationValidationEnabled = Boolean.parseBoolean((String) isAsyncRevocationValidationEnabled);
+        } else {
+            this.asyncRevocationValidationEnabled = false;
+        }
+    }
+
+    /**
+     * Get the time in seconds before the expiry of a cached revocation status, in which the status is refreshed
+     * in the background.
+     *
+     * @return refresh ahead time. Default value has been set to 60 seconds.
+     */
+    public int getRevocationStatusRefreshAheadTime() {
+
+        return revocationStatusRefreshAheadTime;
+    }
+
+    public void setRevocationStatusRefreshAheadTime() {
+
+        try {
+            Object refreshAheadTime = this.openBankingConfigurationService.getConfigurations()
+                    .get(OpenBankingConstants.ASYNC_REVOCATION_VALIDATION_REFRESH_AHEAD_TIME);
+            this.revocationStatusRefreshAheadTime = refreshAheadTime != null ?
+                    Integer.parseInt((String) refreshAheadTime) : 60;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Error occurred while reading the revocation status refresh ahead time " +
+                    "value in open-banking.xml. caused by, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the time in seconds after the expiry of a cached good revocation status, in which the status is still
+     * served while it could not be refreshed.
+     *
+     * @return stale grace period. Default value has been set to 300 seconds.
+     */
+    public int getRevocationStatusStaleGracePeriod() {
+
+        return revocationStatusStaleGracePeriod;
+    }
+
+    public void setRevocationStatusStaleGracePeriod() {
+
+        try {
+            Object staleGracePeriod = this.openBankingConfigurationService.getConfigurations()
+                    .get(OpenBankingConstants.ASYNC_REVOCATION_VALIDATION_STALE_GRACE_PERIOD);
+            this.revocationStatusStaleGracePeriod = staleGracePeriod != null ?
+                    Integer.parseInt((String) staleGracePeriod) : 300;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Error occurred while reading the revocation status stale grace period " +
+                    "value in open-banking.xml. caused by, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the number of threads used to check the certificate revocation statuses asynchronously.
+     *
+     * @return worker thread count. Default value has been set to 4.
+     */
+    public int getRevocationValidationWorkerThreadCount() {
+
+        return revocationValidationWorkerThreadCount;
+    }
+
+    public void setRevocationValidationWorkerThreadCount() {
+
+        try {
+            Object workerThreadCount = this.openBankingConfigurationService.getConfigurations()
+                    .get(OpenBankingConstants.ASYNC_REVOCATION_VALIDATION_WORKER_THREAD_COUNT);
+            this.revocationValidationWorkerThreadCount = workerThreadCount != null ?
+                    Integer.parseInt((String) workerThreadCount) : 4;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Error occurred while reading the revocation validation worker thread " +
+                    "count value in open-banking.xml. caused by, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check if the downloaded CRLs are kept in the local CRL store. If enabled, the revoked serial numbers of the
+     * CRLs are indexed and snapshotted to the disk, and the CRLs are refreshed in the background.
+     *
+     * @return true if the CRL store is enabled. Default value has been set to false.
+     */
+    public boolean isCRLStoreEnabled() {
+
+        return crlStoreEnabled;
+    }
+
+    public void setCRLStoreEnabled() {
+
+        Object isCRLStoreEnabled = this.openBankingConfigurationService.
+                getConfigurations().get(OpenBankingConstants.CRL_STORE_ENABLED);
+        if (isCRLStoreEnabled != null) {
+            this.crlStoreEnabled = Boolean.parseBoolean((String) isCRLStoreEnabled);
+        } else {
+            this.crlStoreEnabled = false;
+        }
+    }
+
+    /**
+     * Get the directory in which the CRL snapshots are stored.
+     *
+     * @return CRL store location, or null if not configured
+     */
+    public String getCRLStoreLocation() {
+
+        return crlStoreLocation;
+    }
+
+    public void setCRLStoreLocation() {
+
+        Object storeLocation = this.openBankingConfigurationService.getConfigurations()
+                .get(OpenBankingConstants.CRL_STORE_LOCATION);
+        this.crlStoreLocation = storeLocation != null && !((String) storeLocation).trim().isEmpty() ?
+                ((String) storeLocation).trim() : null;
+    }
+
+    /**
+     * Get the time in seconds before the next update of a stored CRL, in which the CRL is refreshed.
+     *
+     * @return CRL refresh ahead time. Default value has been set to 300 seconds.
+     */
+    public int getCRLStoreRefreshAheadTime() {
+
+        return crlStoreRefreshAheadTime;
+    }
+
+    public void setCRLStoreRefreshAheadTime() {
+
+        try {
+            Object refreshAheadTime = this.openBankingConfigurationService.getConfigurations()
+                    .get(OpenBankingConstants.CRL_STORE_REFRESH_AHEAD_TIME);
+            this.crlStoreRefreshAheadTime = refreshAheadTime != null ?
+                    Integer.parseInt((String) refreshAheadTime) : 300;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Error occurred while reading the CRL store refresh ahead time " +
+                    "value in open-banking.xml. caused by, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check if the OCSP responses of the known TPP certificates are prefetched. If enabled, the transport
+     * certificates presented at the TPP onboarding are registered, and their OCSP responses are fetched in the
+     * background so that the revocation validation is served without calling the OCSP responder.
+     *
+     * @return true if the OCSP prefetch is enabled. Default value has been set to false.
+     */
+    public boolean isOCSPPrefetchEnabled() {
+
+        return ocspPrefetchEnabled;
+    }
+
+    public void setOCSPPrefetchEnabled() {
+
+        Object isOCSPPrefetchEnabled = this.openBankingConfigurationService.
+                getConfigurations().get(OpenBankingConstants.OCSP_PREFETCH_ENABLED);
+        if (isOCSPPrefetchEnabled != null) {
+            this.ocspPrefetchEnabled = Boolean.parseBoolean((String) isOCSPPrefetchEnabled);
+        } else {
+            this.ocspPrefetchEnabled = false;
+        }
+    }
+
+    /**
+     * Get the interval in seconds in which the known TPP certificates are checked for the OCSP responses to
+     * prefetch.
+     *
+     * @return OCSP prefetch interval. Default value has been set to 60 seconds.
+     */
+    public int getOCSPPrefetchInterval() {
+
+        return ocspPrefetchInterval;
+    }
+
+    public void setOCSPPrefetchInterval() {
+
+        try {
+            Object prefetchInterval = this.openBankingConfigurationService.getConfigurations()
+                    .get(OpenBankingConstants.OCSP_PREFETCH_INTERVAL);
+            this.ocspPrefetchInterval = prefetchInterval != null ?
+                    Integer.parseInt((String) prefetchInterval) : 60;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Error occurred while reading the OCSP prefetch interval " +
+                    "value in open-banking.xml. caused by, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the time in seconds before the next update of a prefetched OCSP response, in which the response is
+     * fetched again.
+     *
+     * @return OCSP prefetch refresh ahead time. Default value has been set to 300 seconds.
+     */
+    public int getOCSPPrefetchRefreshAheadTime() {
+
+        return ocspPrefetchRefreshAheadTime;
+    }
+
+    public void setOCSPPrefetchRefreshAheadTime() {
+
+        try {
+            Object refreshAheadTime = this.openBankingConfigurationService.getConfigurations()
+                    .get(OpenBankingConstants.OCSP_PREFETCH_REFRESH_AHEAD_TIME);
+            this.ocspPrefetchRefreshAheadTime = refreshAheadTime != null ?
+                    Integer.parseInt((String) refreshAheadTime) : 300;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Error occurred while reading the OCSP prefetch refresh ahead time " +
+                    "value in open-banking.xml. caused by, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the maximum number of known TPP certificates to prefetch the OCSP responses for.
+     *
+     * @return maximum number of known certificates. Default value has been set to 10000.
+     */
+    public int getOCSPPrefetchMaxCertificates() {
+
+        return ocspPrefetchMaxCertificates;
+    }
+
+    public void setOCSPPrefetchMaxCertificates() {
+
+        try {
+            Object maxCertificates = this.openBankingConfigurationService.getConfigurations()
+                    .get(OpenBankingConstants.OCSP_PREFETCH_MAX_CERTIFICATES);
+            this.ocspPrefetchMaxCertificates = maxCertificates != null ?
+                    Integer.parseInt((String) maxCertificates) : 10000;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Error occurred while reading the OCSP prefetch maximum certificates " +
+                    "value in open-banking.xml. caused by, " + e.getMessage());
+        }
+    }
+
     /**
      * Get the certificate revocation validation manager implementation class to validate the revocation status
      * of a certificate.
@@ -471,6 +733,17 @@ public class TPPCertValidatorDataHolder {
         setConnectTimeout();
         setConnectionRequestTimeout();
         setSocketTimeout();
+        setAsyncRevocationValidationEnabled();
+        setRevocationStatusRefreshAheadTime();
+        setRevocationStatusStaleGracePeriod();
+        setRevocationValidationWorkerThreadCount();
+        setCRLStoreEnabled();
+        setCRLStoreLocation();
+        setCRLStoreRefreshAheadTime();
+        setOCSPPrefetchEnabled();
+        setOCSPPrefetchInterval();
+        setOCSPPrefetchRefreshAheadTime();
+        setOCSPPrefetchMaxCertificates();
 
     }
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.reporter;
+
+import com.wso2.openbanking.accelerator.common.util.Generated;
+import com.wso2.openbanking.accelerator.data.publisher.common.util.OBDataPublisherUtil;
+import com.wso2.openbanking.accelerator.gateway.executor.core.ExecutorTimings;
+import com.wso2.openbanking.accelerator.gateway.executor.core.LatencyHistogram;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OB executor metrics publisher worker class. Publishes the latency distribution of each executor and phase, and
+ * the number of errors per error code, recorded since the previous run.
+ */
+public class OBExecutorMetricsPublisher implements Runnable {
+
+    private static final Log log = LogFactory.getLog(OBExecutorMetricsPublisher.class);
+    private static final String EXECUTOR_NAME = "executorName";
+    private static final String PHASE = "phase";
+    private static final String INVOCATION_COUNT = "invocationCount";
+    private static final String P50_LATENCY = "p50Latency";
+    private static final String P99_LATENCY = "p99Latency";
+    private static final String MAX_LATENCY = "maxLatency";
+    private static final String ERROR_CODE = "errorCode";
+    private static final String ERROR_COUNT = "errorCount";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String EXECUTOR_LATENCY_INPUT_STREAM = "ExecutorLatencyInputStream";
+    private static final String EXECUTOR_ERROR_INPUT_STREAM = "ExecutorErrorInputStream";
+    private static final String STREAM_VERSION = "1.0.0";
+
+    private final ExecutorTimings executorTimings;
+    private final Map<String, LatencyHistogram.Snapshot> previousSnapshots = new HashMap<>();
+    private final Map<String, Long> previousErrorCounts = new HashMap<>();
+
+    public OBExecutorMetricsPublisher(ExecutorTimings executorTimings) {
+
+        this.executorTimings = executorTimings;
+    }
+
+    public synchronized void run() {
+
+        try {
+            long timestamp = System.currentTimeMillis();
+            publishLatencies(timestamp);
+            publishErrors(timestamp);
+        } catch (RuntimeException e) {
+            // an exception would cancel the subsequent runs of the scheduled publisher
+            log.error("Error while publishing executor metrics", e);
+        }
+    }
+
+    /**
+     * Reset the executor timings along with the counts published by the previous run, hence the next run publishes
+     * the invocations and errors recorded since the reset.
+     */
+    public synchronized void reset() {
+
+        executorTimings.reset();
+        previousSnapshots.clear();
+        previousErrorCounts.clear();
+    }
+
+    private void publishLatencies(long timestamp) {
+
+        for (Map.Entry<String, ExecutorTimings.Timing> entry : executorTimings.getTimings().entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().getSnapshot();
+            LatencyHistogram.Snapshot intervalSnapshot = snapshot.minus(previousSnapshots.get(entry.getKey()));
+            previousSnapshots.put(entry.getKey(), snapshot);
+            if (intervalSnapshot.getCount() == 0) {
+                continue;
+            }
+            // timings are keyed by the executor name and the phase
+            String timingKey = entry.getKey();
+            int separatorIndex = timingKey.lastIndexOf('.');
+            Map<String, Object> analyticsData = new HashMap<>();
+            analyticsData.put(EXECUTOR_NAME, timingKey.substring(0, separatorIndex));
+            analyticsData.put(PHASE, timingKey.substring(separatorIndex + 1));
+            analyticsData.put(INVOCATION_COUNT, intervalSnapshot.getCount());
+            analyticsData.put(P50_LATENCY, toMicros(intervalSnapshot.getValueAtPercentile(50)));
+            analyticsData.put(P99_LATENCY, toMicros(intervalSnapshot.getValueAtPercentile(99)));
+            analyticsData.put(MAX_LATENCY, toMicros(intervalSnapshot.getValueAtPercentile(100)));
+            analyticsData.put(TIMESTAMP, timestamp);
+            publishLatencyData(analyticsData);
+        }
+    }
+
+    private void publishErrors(long timestamp) {
+
+        for (Map.Entry<String, Long> entry : executorTimings.getErrorCounts().entrySet()) {
+            Long previousErrorCount = previousErrorCounts.put(entry.getKey(), entry.getValue());
+            long errorCount = entry.getValue() - (previousErrorCount != null ? previousErrorCount : 0L);
+            if (errorCount <= 0) {
+                continue;
+            }
+            Map<String, Object> analyticsData = new HashMap<>();
+            analyticsData.put(ERROR_CODE, entry.getKey());
+            analyticsData.put(ERROR_COUNT, errorCount);
+            analyticsData.put(TIMESTAMP, timestamp);
+            publishErrorData(analyticsData);
+        }
+    }
+
+    private static long toMicros(long nanos) {
+
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Generated(message = "This method is already covered")
+    protected void publishLatencyData(Map<String, Object> analyticsData) {
+
+        OBDataPublisherUtil.publishData(EXECUTOR_LATENCY_INPUT_STREAM, STREAM_VERSION, analyticsData);
+    }
+
+    @Generated(message = "This method is already covered")
+    protected void publishErrorData(Map<String, Object> analyticsData) {
+
+        OBDataPublisherUtil.publishData(EXECUTOR_ERROR_INPUT_STREAM, STREAM_VERSION, analyticsData);
+    }
+}
@@ -77,11 +77,27 @@ public class GatewayConstants {
     public static final String API_DATA_STREAM = "APIInputStream";
     public static final String API_DATA_VERSION = "1.0.0";
     public static final String ERROR_STATUS_PROP = "errorStatusCode";
+    public static final String TRANSPORT_CERT_PROP = "transportCertificate";
     public static final String CONSENT_ID_CLAIM_NAME = "Identity.ConsentIDClaimName";
     public static final String REQUEST_ROUTER = "Gateway.RequestRouter";
     public static final String GATEWAY_CACHE_EXPIRY = "Gateway.Cache.GatewayCache.CacheAccessExpiry";
     public static final String GATEWAY_CACHE_MODIFIEDEXPIRY = "Gateway.Cache.GatewayCache.CacheModifiedExpiry";
     public static final String GATEWAY_THROTTLE_DATAPUBLISHER = "Gateway.CustomThrottleDataPublisher";
+    public static final String EXECUTOR_METRICS_JMX_ENABLED = "Gateway.ExecutorMetrics.JMXEnabled";
+    public static final String EXECUTOR_METRICS_PUBLISH_INTERVAL = "Gateway.ExecutorMetrics.PublishInterval";
+    public static final String SLOW_REQUEST_THRESHOLD = "Gateway.ExecutorMetrics.SlowRequestThreshold";
+    public static final String SLOW_REQUEST_BUFFER_SIZE = "Gateway.ExecutorMetrics.SlowRequestBufferSize";
+    public static final String CONSENT_VALIDATION_CACHE_ENABLED = "Gateway.ConsentValidation.Cache.Enabled";
+    public static final String CONSENT_VALIDATION_CACHE_TIME_TO_LIVE = "Gateway.ConsentValidation.Cache.TimeToLive";
+    public static final String CONSENT_VALIDATION_CACHE_MAX_ENTRIES = "Gateway.ConsentValidation.Cache.MaxEntries";
+    public static final String CONSENT_VALIDATION_CACHE_DIGEST_HEADERS =
+            "Gateway.ConsentValidation.Cache.DigestHeaders";
+    public static final String CONSENT_VALIDATION_CHANNEL = "Gateway.ConsentValidation.ChannelAuthentication";
+    public static final String CONSENT_VALIDATION_HMAC_SECRET = "Gateway.ConsentValidation.HMACSecret";
+    public static final int CONSENT_VALIDATION_HMAC_SECRET_MIN_LENGTH = 32;
+    public static final String CONSENT_VALIDATION_CHANNEL_JWS = "JWS";
+    public static final String CONSENT_VALIDATION_CHANNEL_HMAC = "HMAC";
+    public static final String CONSENT_VALIDATION_CHANNEL_MTLS = "MTLS";
 
     public static final String CUSTOMER_CARE_OFFICER_SCOPE = "consents:read_all";
 
@@ -92,6 +108,11 @@ public class GatewayConstants {
     public static final String REQUEST_CACHE_KEY = "Request";
     public static final String CREATED_TIME_CACHE_KEY = "Created_Time";
     public static final String RESPONSE_CACHE_KEY = "Response";
+    public static final String REQUEST_DIGEST_CACHE_KEY = "Request_Digest";
+    public static final String COMPRESSED_RESPONSE_CACHE_KEY = "Compressed_Response";
+    public static final String IN_FLIGHT_CACHE_KEY = "In_Flight";
+    public static final String IDEMPOTENCY_CLAIM_ID = "Idempotency_Claim_Id";
+    public static final String IDEMPOTENCY_CLAIM_KEY = "Idempotency_Claim_Key";
     public static final String TRUE = "true";
     public static final String IDEMPOTENCY_KEY_CACHE_KEY = "Idempotency_Key";
 
@@ -209,7 +209,7 @@ public class GatewayUtils {
         httpGet.setHeader(GatewayConstants.AUTH_HEADER, GatewayUtils.getBasicAuthHeader(userName, password));
         HttpResponse response = null;
         try {
-            response = GatewayDataHolder.getHttpClient().execute(httpGet);
+            response = GatewayDataHolder.getPublisherHttpClient().execute(httpGet);
             InputStream in = response.getEntity().getContent();
             return IOUtils.toString(in, String.valueOf(StandardCharsets.UTF_8));
         } catch (IOException | OpenBankingException e) {
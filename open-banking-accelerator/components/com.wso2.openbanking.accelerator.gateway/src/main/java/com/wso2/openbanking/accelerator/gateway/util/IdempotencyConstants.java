@@ -31,6 +31,11 @@ public class IdempotencyConstants {
             "Gateway.Cache.IdempotencyValidationCache.CacheTimeToLive";
     public static final String IDEMPOTENCY_KEY_HEADER = "Gateway.Idempotency.IdempotencyKeyHeader";
     public static final String IDEMPOTENCY_IS_ENABLED = "Gateway.Idempotency.IsEnabled";
+    public static final String IDEMPOTENCY_DIGEST_MODE = "Gateway.Idempotency.DigestMode";
+    public static final String IDEMPOTENCY_CLAIM_ENABLED = "Gateway.Idempotency.InFlightClaim.Enabled";
+    public static final String IDEMPOTENCY_CLAIM_TIMEOUT = "Gateway.Idempotency.InFlightClaim.Timeout";
+    public static final String IDEMPOTENCY_CLAIM_WAIT_TIMEOUT = "Gateway.Idempotency.InFlightClaim.WaitTimeout";
+    public static final String IDEMPOTENCY_CLAIM_POLL_INTERVAL = "Gateway.Idempotency.InFlightClaim.PollInterval";
 
     public static final String HTTP_STATUS = "httpStatus";
     public static final String PAYLOAD = "payload";
@@ -47,6 +52,8 @@ public class IdempotencyConstants {
         public static final String EXECUTOR_IDEMPOTENCY_KEY_FRAUDULENT =
                 "Idempotency check failed.:Header." + getPathIdemKey();
         public static final String HEADER_INVALID = "Header Invalid";
+        public static final String EXECUTOR_IDEMPOTENCY_KEY_IN_FLIGHT =
+                "A request with the same idempotency key is being processed.:Header." + getPathIdemKey();
         public static final String IDEMPOTENCY_HANDLE_ERROR =
                 "Error occurred while handling the idempotency available request";
 
@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
+import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
+import com.wso2.openbanking.accelerator.gateway.executor.model.OpenBankingExecutorError;
+import com.wso2.openbanking.accelerator.gateway.reporter.OBExecutorMetricsPublisher;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ObjectName;
+
+/**
+ * Test for executor metrics.
+ */
+public class ExecutorMetricsTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long TRACE_TIMEOUT = TimeUnit.MINUTES.toMillis(60);
+
+    private AtomicLong clock;
+    private SlowRequestTracer slowRequestTracer;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(1000000);
+        slowRequestTracer = new SlowRequestTracer(THRESHOLD, 2, 2, TRACE_TIMEOUT, clock::get);
+        ExecutorTimings.getInstance().reset();
+    }
+
+    @Test(description = "when values are recorded, then resolve the percentiles within 1/16 of the value")
+    public void testHistogramPercentiles() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(value));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        Assert.assertEquals(snapshot.getCount(), 1000);
+        assertWithinResolution(snapshot.getValueAtPercentile(50), TimeUnit.MICROSECONDS.toNanos(500));
+        assertWithinResolution(snapshot.getValueAtPercentile(99), TimeUnit.MICROSECONDS.toNanos(990));
+        assertWithinResolution(snapshot.getValueAtPercentile(100), TimeUnit.MICROSECONDS.toNanos(1000));
+        Assert.assertEquals(new LatencyHistogram().getSnapshot().getValueAtPercentile(99), 0);
+    }
+
+    @Test(description = "when a snapshot is subtracted, then return the distribution of the values in between")
+    public void testHistogramSnapshotDifference() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(Long.MAX_VALUE);
+        LatencyHistogram.Snapshot earlier = histogram.getSnapshot();
+        histogram.record(5000);
+
+        LatencyHistogram.Snapshot interval = histogram.getSnapshot().minus(earlier);
+        Assert.assertEquals(interval.getCount(), 1);
+        assertWithinResolution(interval.getValueAtPercentile(50), 5000);
+        Assert.assertEquals(histogram.getSnapshot().minus(null).getCount(), 3);
+    }
+
+    @Test(description = "when an executor adds an error, then count it by the error code")
+    public void testErrorsAreCountedByCode() {
+
+        OBAPIRequestContext obapiRequestContext = Mockito.mock(OBAPIRequestContext.class);
+        ArrayList<OpenBankingExecutorError> errors = new ArrayList<>();
+        Mockito.when(obapiRequestContext.getErrors()).thenReturn(errors);
+        OpenBankingGatewayExecutor failingExecutor = new TestExecutor() {
+
+            @Override
+            public void postProcessRequest(OBAPIRequestContext obapiRequestContext) {
+
+                obapiRequestContext.getErrors().add(new OpenBankingExecutorError("200012", "Consent Enforcement Error",
+                        "Consent is not valid", "401"));
+            }
+        };
+
+        ExecutorChain executorChain = ExecutorChain.of(Arrays.asList(new TestExecutor(), failingExecutor));
+        executorChain.execute(ExecutorPhase.POST_PROCESS_REQUEST, obapiRequestContext);
+        executorChain.execute(ExecutorPhase.POST_PROCESS_REQUEST, obapiRequestContext);
+        executorChain.execute(ExecutorPhase.PRE_PROCESS_RESPONSE, Mockito.mock(OBAPIResponseContext.class));
+
+        Assert.assertEquals(ExecutorTimings.getInstance().getErrorCounts().get("200012").longValue(), 2);
+        Assert.assertEquals(ExecutorTimings.getInstance().getErrorCounts().size(), 1);
+    }
+
+    @Test(description = "when a request is slower than the threshold, then keep its per executor breakdown")
+    public void testSlowRequestIsTraced() {
+
+        SlowRequestTracer.RequestTrace requestTrace = slowRequestTracer.getTrace("message-1", "GET /accounts");
+        requestTrace.record("MTLSEnforcementExecutor", ExecutorPhase.PRE_PROCESS_REQUEST, THRESHOLD / 4);
+        requestTrace.record("ConsentEnforcementExecutor", ExecutorPhase.POST_PROCESS_REQUEST, THRESHOLD);
+        slowRequestTracer.getTrace("message-1", null).record("ConsentEnforcementExecutor",
+                ExecutorPhase.POST_PROCESS_REQUEST, 1);
+        slowRequestTracer.getTrace("message-2", "GET /balances")
+                .record("MTLSEnforcementExecutor", ExecutorPhase.PRE_PROCESS_REQUEST, THRESHOLD - 1);
+
+        slowRequestTracer.complete("message-1");
+        slowRequestTracer.complete("message-2");
+
+        List<SlowRequestTracer.RequestTrace> slowRequests = slowRequestTracer.getSlowRequests();
+        Assert.assertEquals(slowRequests.size(), 1);
+        Assert.assertEquals(slowRequests.get(0).getResource(), "GET /accounts");
+        Assert.assertEquals(slowRequests.get(0).getTotalNanos(), THRESHOLD + THRESHOLD / 4 + 1);
+        Assert.assertEquals(slowRequests.get(0).getExecutorNanos().get(
+                "ConsentEnforcementExecutor.POST_PROCESS_REQUEST").longValue(), THRESHOLD + 1);
+        Assert.assertEquals(slowRequestTracer.getActiveTraceCount(), 0);
+    }
+
+    @Test(description = "when the ring buffer is full, then replace the oldest slow request")
+    public void testSlowRequestsAreBounded() {
+
+        for (int i = 1; i <= 3; i++) {
+            slowRequestTracer.getTrace("message-" + i, "GET /accounts")
+                    .record("JwsRequestSignatureHandlingExecutor", ExecutorPhase.POST_PROCESS_REQUEST, THRESHOLD * i);
+            slowRequestTracer.complete("message-" + i);
+        }
+
+        List<SlowRequestTracer.RequestTrace> slowRequests = slowRequestTracer.getSlowRequests();
+        Assert.assertEquals(slowRequests.size(), 2);
+        Assert.assertEquals(slowRequests.get(0).getMessageId(), "message-3");
+        Assert.assertEquals(slowRequests.get(1).getMessageId(), "message-2");
+    }
+
+    @Test(description = "when the maximum number of active traces is reached, then evict the expired traces")
+    public void testActiveTracesAreBounded() {
+
+        slowRequestTracer.getTrace("message-1", "GET /accounts");
+        slowRequestTracer.getTrace("message-2", "GET /accounts");
+        Assert.assertNull(slowRequestTracer.getTrace("message-3", "GET /accounts"));
+
+        clock.addAndGet(TRACE_TIMEOUT);
+        Assert.assertNotNull(slowRequestTracer.getTrace("message-3", "GET /accounts"));
+        Assert.assertEquals(slowRequestTracer.getActiveTraceCount(), 1);
+    }
+
+    @Test(description = "when the expired traces are evicted, then keep the traces started within the timeout")
+    public void testOnlyExpiredTracesAreEvicted() {
+
+        slowRequestTracer.getTrace("message-1", "GET /accounts");
+        clock.addAndGet(TRACE_TIMEOUT / 2);
+        slowRequestTracer.getTrace("message-2", "GET /accounts");
+        clock.addAndGet(TRACE_TIMEOUT / 2);
+
+        Assert.assertNotNull(slowRequestTracer.getTrace("message-3", "GET /accounts"));
+        Assert.assertEquals(slowRequestTracer.getActiveTraceCount(), 2);
+        Assert.assertNull(slowRequestTracer.getTrace("message-4", "GET /accounts"));
+    }
+
+    @Test(description = "when the metrics are read over JMX, then return the latencies per executor and phase")
+    public void testMetricsView() {
+
+        ExecutorTimings.getInstance().record("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST,
+                TimeUnit.MILLISECONDS.toNanos(2));
+        ExecutorTimings.getInstance().recordError("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, "400");
+        slowRequestTracer.getTrace("message-1", "POST /register")
+                .record("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, THRESHOLD);
+        slowRequestTracer.complete("message-1");
+
+        ExecutorMetrics executorMetrics = new ExecutorMetrics(ExecutorTimings.getInstance(), slowRequestTracer);
+        Assert.assertEquals(executorMetrics.getInvocationCounts().get("DCRExecutor.POST_PROCESS_REQUEST")
+                .longValue(), 1);
+        assertWithinResolution(executorMetrics.getP99LatencyMicros().get("DCRExecutor.POST_PROCESS_REQUEST"),
+                2000);
+        Assert.assertEquals(executorMetrics.getErrorCounts().get("400").longValue(), 1);
+        Assert.assertTrue(executorMetrics.getSlowRequests().get(0).contains("DCRExecutor.POST_PROCESS_REQUEST"));
+
+        executorMetrics.reset();
+        Assert.assertTrue(executorMetrics.getInvocationCounts().isEmpty());
+        Assert.assertTrue(executorMetrics.getSlowRequests().isEmpty());
+    }
+
+    @Test(description = "when the metrics are reset, then publish the invocations recorded since the reset")
+    public void testResetAlsoResetsPublishedCounts() {
+
+        List<Map<String, Object>> publishedData = new ArrayList<>();
+        OBExecutorMetricsPublisher metricsPublisher = new OBExecutorMetricsPublisher(ExecutorTimings.getInstance()) {
+
+            @Override
+            protected void publishLatencyData(Map<String, Object> analyticsData) {
+
+                publishedData.add(analyticsData);
+            }
+
+            @Override
+            protected void publishErrorData(Map<String, Object> analyticsData) {
+
+                publishedData.add(analyticsData);
+            }
+        };
+        ExecutorMetrics executorMetrics = new ExecutorMetrics(ExecutorTimings.getInstance(), slowRequestTracer,
+                metricsPublisher);
+        ExecutorTimings.getInstance().record("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, 1000);
+        ExecutorTimings.getInstance().record("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, 1000);
+        ExecutorTimings.getInstance().recordError("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, "400");
+        ExecutorTimings.getInstance().recordError("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, "400");
+        metricsPublisher.run();
+
+        executorMetrics.reset();
+        ExecutorTimings.getInstance().record("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, 1000);
+        ExecutorTimings.getInstance().recordError("DCRExecutor", ExecutorPhase.POST_PROCESS_REQUEST, "400");
+        publishedData.clear();
+        metricsPublisher.run();
+
+        Assert.assertEquals(publishedData.size(), 2);
+        Assert.assertEquals(publishedData.get(0).get("invocationCount"), 1L);
+        Assert.assertEquals(publishedData.get(1).get("errorCount"), 1L);
+    }
+
+    @Test(description = "when the metrics MBean is unregistered, then remove it from the platform MBean server")
+    public void testMBeanIsUnregistered() throws Exception {
+
+        ExecutorMetrics executorMetrics = new ExecutorMetrics(ExecutorTimings.getInstance(), slowRequestTracer);
+        ObjectName objectName = new ObjectName("com.wso2.openbanking:type=Gateway,name=ExecutorMetrics");
+
+        executorMetrics.registerMBean();
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+        executorMetrics.unregisterMBean();
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
+    private void assertWithinResolution(long actual, long expected) {
+
+        Assert.assertTrue(actual >= expected && actual <= expected + expected / 16,
+                "value " + actual + " is not within the resolution of " + expected);
+    }
+
+    /**
+     * Executor which does nothing in all phases.
+     */
+    private static class TestExecutor implements OpenBankingGatewayExecutor {
+
+        @Override
+        public void preProcessRequest(OBAPIRequestContext obapiRequestContext) {
+
+        }
+
+        @Override
+        public void postProcessRequest(OBAPIRequestContext obapiRequestContext) {
+
+        }
+
+        @Override
+        public void preProcessResponse(OBAPIResponseContext obapiResponseContext) {
+
+        }
+
+        @Override
+        public void postProcessResponse(OBAPIResponseContext obapiResponseContext) {
+
+        }
+    }
+}
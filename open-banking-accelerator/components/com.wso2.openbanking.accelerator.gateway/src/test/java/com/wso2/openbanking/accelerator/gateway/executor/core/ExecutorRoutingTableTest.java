@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIRequestContext;
+import com.wso2.openbanking.accelerator.gateway.executor.model.OBAPIResponseContext;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test for executor routing table.
+ */
+public class ExecutorRoutingTableTest {
+
+    private List<String> invocations;
+    private RecordingExecutor requestExecutor;
+    private RecordingExecutor allPhaseExecutor;
+    private Map<String, List<OpenBankingGatewayExecutor>> executorMap;
+
+    @BeforeMethod
+    public void init() {
+
+        invocations = new ArrayList<>();
+        requestExecutor = new RecordingExecutor("request", ExecutorPhase.POST_PROCESS_REQUEST);
+        allPhaseExecutor = new RecordingExecutor("all", null);
+        executorMap = new HashMap<>();
+        executorMap.put("Default", Arrays.asList(requestExecutor, allPhaseExecutor));
+        ExecutorTimings.getInstance().reset();
+    }
+
+    @Test(description = "when an executor is a no-op for a phase, then leave it out of the chain of the phase")
+    public void testNoOpExecutorsAreFilteredOut() {
+
+        ExecutorChain executorChain = ExecutorChain.of(executorMap.get("Default"));
+
+        Assert.assertEquals(executorChain.getExecutorCount(ExecutorPhase.PRE_PROCESS_REQUEST), 1);
+        Assert.assertEquals(executorChain.getExecutorCount(ExecutorPhase.POST_PROCESS_REQUEST), 2);
+        Assert.assertEquals(executorChain.getExecutors().size(), 2);
+
+        executorChain.execute(ExecutorPhase.PRE_PROCESS_REQUEST, Mockito.mock(OBAPIRequestContext.class));
+        executorChain.execute(ExecutorPhase.POST_PROCESS_REQUEST, Mockito.mock(OBAPIRequestContext.class));
+        executorChain.execute(ExecutorPhase.POST_PROCESS_RESPONSE, Mockito.mock(OBAPIResponseContext.class));
+        Assert.assertEquals(invocations, Arrays.asList("all.PRE_PROCESS_REQUEST", "request.POST_PROCESS_REQUEST",
+                "all.POST_PROCESS_REQUEST", "all.POST_PROCESS_RESPONSE"));
+    }
+
+    @Test(description = "when the executors are invoked, then record the timing per executor and phase")
+    public void testExecutorTimingsAreRecorded() {
+
+        ExecutorChain executorChain = ExecutorChain.of(executorMap.get("Default"));
+        executorChain.execute(ExecutorPhase.POST_PROCESS_REQUEST, Mockito.mock(OBAPIRequestContext.class));
+        executorChain.execute(ExecutorPhase.POST_PROCESS_REQUEST, Mockito.mock(OBAPIRequestContext.class));
+
+        Map<String, ExecutorTimings.Timing> timings = ExecutorTimings.getInstance().getTimings();
+        Assert.assertEquals(timings.get("RecordingExecutor.POST_PROCESS_REQUEST").getCount(), 4);
+        Assert.assertNull(timings.get("RecordingExecutor.PRE_PROCESS_REQUEST"));
+    }
+
+    @Test(description = "when the router elects a configured list, then return its precompiled chain")
+    public void testConfiguredListIsResolvedToCompiledChain() {
+
+        ExecutorRoutingTable routingTable = ExecutorRoutingTable.compile(executorMap);
+
+        Assert.assertSame(routingTable.getExecutorChain(executorMap.get("Default")),
+                routingTable.getExecutorChain(executorMap.get("Default")));
+        Assert.assertSame(routingTable.getExecutorChain(new ArrayList<>()), ExecutorChain.EMPTY);
+        Assert.assertSame(routingTable.getExecutorChain(null), ExecutorChain.EMPTY);
+    }
+
+    @Test(description = "when the router is consulted, then return the compiled chain of the elected list")
+    public void testRouterResolvesElectedListToCompiledChain() {
+
+        CountingRouter router = new CountingRouter();
+        router.setExecutorMap(executorMap);
+
+        ExecutorChain first = router.getExecutorChainForRequest(Mockito.mock(OBAPIRequestContext.class));
+        ExecutorChain second = router.getExecutorChainForResponse(Mockito.mock(OBAPIResponseContext.class));
+
+        Assert.assertSame(first, router.getRoutingTable().getExecutorChain(executorMap.get("Default")));
+        Assert.assertSame(first, second);
+        Assert.assertEquals(router.routingCount.get(), 2);
+    }
+
+    /**
+     * Executor recording its invocations, which is a no-op for all phases except the given one.
+     */
+    private class RecordingExecutor implements OpenBankingGatewayExecutor {
+
+        private final String name;
+        private final ExecutorPhase onlyPhase;
+
+        RecordingExecutor(String name, ExecutorPhase onlyPhase) {
+
+            this.name = name;
+            this.onlyPhase = onlyPhase;
+        }
+
+        @Override
+        public void preProcessRequest(OBAPIRequestContext obapiRequestContext) {
+
+            invocations.add(name + "." + ExecutorPhase.PRE_PROCESS_REQUEST);
+        }
+
+        @Override
+        public void postProcessRequest(OBAPIRequestContext obapiRequestContext) {
+
+            invocations.add(name + "." + ExecutorPhase.POST_PROCESS_REQUEST);
+        }
+
+        @Override
+        public void preProcessResponse(OBAPIResponseContext obapiResponseContext) {
+
+            invocations.add(name + "." + ExecutorPhase.PRE_PROCESS_RESPONSE);
+        }
+
+        @Override
+        public void postProcessResponse(OBAPIResponseContext obapiResponseContext) {
+
+            invocations.add(name + "." + ExecutorPhase.POST_PROCESS_RESPONSE);
+        }
+
+        @Override
+        public boolean isNoOp(ExecutorPhase phase) {
+
+            return onlyPhase != null && onlyPhase != phase;
+        }
+    }
+
+    /**
+     * Router counting the routing decisions.
+     */
+    private static class CountingRouter extends AbstractRequestRouter {
+
+        private final AtomicInteger routingCount = new AtomicInteger();
+
+        @Override
+        public List<OpenBankingGatewayExecutor> getExecutorsForRequest(OBAPIRequestContext requestContext) {
+
+            routingCount.incrementAndGet();
+            return getExecutorMap().get("Default");
+        }
+
+        @Override
+        public List<OpenBankingGatewayExecutor> getExecutorsForResponse(OBAPIResponseContext requestContext) {
+
+            routingCount.incrementAndGet();
+            return getExecutorMap().get("Default");
+        }
+    }
+}
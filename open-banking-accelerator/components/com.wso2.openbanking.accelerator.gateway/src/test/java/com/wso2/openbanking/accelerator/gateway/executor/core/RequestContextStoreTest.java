@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.core;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test for request context store.
+ */
+public class RequestContextStoreTest {
+
+    private static final String MESSAGE_ID = "urn:uuid:2b4d2f2c-6e41-4f5b-9b0a-8d1b6c3f8e21";
+    private static final long TIMEOUT = 60000;
+
+    private AtomicLong clock;
+    private RequestContextStore requestContextStore;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(1000000);
+        requestContextStore = new RequestContextStore(TIMEOUT, 0, clock::get);
+    }
+
+    @Test(description = "when the context is stored, then return it in the later phases")
+    public void testStoredContextIsReturned() {
+
+        Map<String, String> contextProps = new HashMap<>();
+        contextProps.put("consent-id", "1234");
+        Map<String, Object> analyticsData = new HashMap<>();
+        analyticsData.put("statusCode", 200);
+
+        requestContextStore.put(MESSAGE_ID, contextProps, analyticsData);
+
+        Assert.assertEquals(requestContextStore.getContextProps(MESSAGE_ID).get("consent-id"), "1234");
+        Assert.assertEquals(requestContextStore.getAnalyticsData(MESSAGE_ID).get("statusCode"), 200);
+        Assert.assertEquals(requestContextStore.getSize(), 1);
+    }
+
+    @Test(description = "when the context is not stored, then return empty properties")
+    public void testMissingContextReturnsEmptyProperties() {
+
+        Assert.assertTrue(requestContextStore.getContextProps(MESSAGE_ID).isEmpty());
+        Assert.assertTrue(requestContextStore.getAnalyticsData(MESSAGE_ID).isEmpty());
+    }
+
+    @Test(description = "when the response is completed, then remove the context")
+    public void testContextIsRemoved() {
+
+        requestContextStore.put(MESSAGE_ID, Collections.singletonMap("key", "value"), new HashMap<>());
+        requestContextStore.remove(MESSAGE_ID);
+
+        Assert.assertTrue(requestContextStore.getContextProps(MESSAGE_ID).isEmpty());
+        Assert.assertEquals(requestContextStore.getSize(), 0);
+        Assert.assertEquals(requestContextStore.getPeakSize(), 1);
+    }
+
+    @Test(description = "when the context is not accessed within the timeout, then sweep it")
+    public void testOrphanedContextIsSwept() {
+
+        requestContextStore.put(MESSAGE_ID, new HashMap<>(), new HashMap<>());
+        requestContextStore.put("other-message", new HashMap<>(), new HashMap<>());
+
+        clock.addAndGet(TIMEOUT - 1);
+        requestContextStore.getContextProps(MESSAGE_ID);
+        clock.addAndGet(1);
+
+        Assert.assertEquals(requestContextStore.sweep(), 1);
+        Assert.assertEquals(requestContextStore.getSize(), 1);
+        Assert.assertEquals(requestContextStore.getSweptCount(), 1);
+
+        clock.addAndGet(TIMEOUT);
+        Assert.assertEquals(requestContextStore.sweep(), 1);
+        Assert.assertEquals(requestContextStore.getSize(), 0);
+        Assert.assertEquals(requestContextStore.getSweptCount(), 2);
+        Assert.assertEquals(requestContextStore.getPeakSize(), 2);
+    }
+}
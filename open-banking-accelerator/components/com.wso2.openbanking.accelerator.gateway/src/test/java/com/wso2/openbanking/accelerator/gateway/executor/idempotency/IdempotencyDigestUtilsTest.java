@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * Test for idempotency digest utils.
+ */
+public class IdempotencyDigestUtilsTest {
+
+    private static final String PAYMENT_PAYLOAD = "{\"Data\":{\"ConsentId\":\"0bf1e4c4-57e5-4b50-9ec1-5d1a6b1d8f3e\"," +
+            "\"Initiation\":{\"InstructionIdentification\":\"ACME412\",\"InstructedAmount\":" +
+            "{\"Amount\":\"165.88\",\"Currency\":\"GBP\"},\"RemittanceInformation\":{\"Reference\":\"FRESCO-101\"," +
+            "\"Unstructured\":\"Internal ops code 5120101\"}}},\"Risk\":{\"PaymentContextCode\":\"EcommerceGoods\"," +
+            "\"Priority\":1,\"Rate\":1.5,\"Tags\":[\"a\",\"b\"],\"Note\":null,\"Verified\":true}}";
+
+    @DataProvider(name = "similarPayloads")
+    public Object[][] getSimilarPayloads() {
+
+        return new Object[][]{
+                {"{\"a\":1,\"b\":\"x\"}", "{ \"b\" : \"x\",\n \"a\" : 1 }"},
+                {"{\"a\":{\"c\":[1,2],\"b\":true}}", "{\"a\":{\"b\":true,\"c\":[1,2]}}"},
+                {"{\"a\":1.5}", "{\"a\":1.50}"},
+                {"{\"a\":100.0}", "{\"a\":1e2}"},
+                {"{\"a\":\"\\u0041\"}", "{\"a\":\"A\"}"},
+                {"{\"a\":1,\"a\":2}", "{\"a\":2}"}
+        };
+    }
+
+    @DataProvider(name = "differentPayloads")
+    public Object[][] getDifferentPayloads() {
+
+        return new Object[][]{
+                {"{\"a\":1}", "{\"a\":\"1\"}"},
+                {"{\"a\":1}", "{\"a\":1.0}"},
+                {"{\"a\":[1,2]}", "{\"a\":[2,1]}"},
+                {"{\"a\":null}", "{}"},
+                {"{\"a\":\"x\\\"\"}", "{\"a\":\"x\\\\\"}"}
+        };
+    }
+
+    @Test(dataProvider = "similarPayloads", description = "when the payloads are equal as JSON, then match digests")
+    public void testSimilarPayloadsHaveSameDigest(String payload1, String payload2) throws IOException {
+
+        Assert.assertEquals(IdempotencyDigestUtils.getDigest(payload1), IdempotencyDigestUtils.getDigest(payload2));
+        // same as the comparison of the JSON trees
+        Assert.assertTrue(new ObjectMapper().readTree(payload1).equals(new ObjectMapper().readTree(payload2)));
+    }
+
+    @Test(dataProvider = "differentPayloads", description = "when the payloads differ as JSON, then differ digests")
+    public void testDifferentPayloadsHaveDifferentDigests(String payload1, String payload2) throws IOException {
+
+        Assert.assertNotEquals(IdempotencyDigestUtils.getDigest(payload1),
+                IdempotencyDigestUtils.getDigest(payload2));
+        Assert.assertFalse(new ObjectMapper().readTree(payload1).equals(new ObjectMapper().readTree(payload2)));
+    }
+
+    @Test(description = "when the payload is canonicalized, then sort the members and remove the whitespace")
+    public void testCanonicalJSON() throws IOException {
+
+        Assert.assertEquals(IdempotencyDigestUtils.getCanonicalJSON(" {\"b\" : [1, 2.50, \"x\"], \"a\" : " +
+                "{\"d\" : null, \"c\" : false}} "), "{\"a\":{\"c\":false,\"d\":null},\"b\":[1,2.5,\"x\"]}");
+        Assert.assertEquals(IdempotencyDigestUtils.getDigest(PAYMENT_PAYLOAD).length(), 64);
+    }
+
+    @Test(expectedExceptions = IOException.class, description = "when the payload is not a JSON, then fail")
+    public void testInvalidPayloadIsRejected() throws IOException {
+
+        IdempotencyDigestUtils.getDigest("{\"a\":1} trailing");
+    }
+
+    @Test(description = "when the response is compressed, then decompress it to the same response")
+    public void testCompressedResponseIsRestored() throws IOException {
+
+        String compressed = IdempotencyDigestUtils.compress(PAYMENT_PAYLOAD);
+        Assert.assertEquals(IdempotencyDigestUtils.decompress(compressed), PAYMENT_PAYLOAD);
+        Assert.assertEquals(IdempotencyDigestUtils.decompress(IdempotencyDigestUtils.compress("")), "");
+    }
+}
@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.idempotency;
+
+import com.wso2.openbanking.accelerator.gateway.util.GatewayConstants;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test for idempotency store.
+ */
+public class IdempotencyStoreTest {
+
+    private static final String KEY = "consumerKey_/payments_123456";
+    private static final long CLAIM_TIMEOUT = 60000;
+    private static final String CLAIM_ID = "claim-1";
+
+    private AtomicLong clock;
+    private InMemoryBackend backend;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(1000000);
+        backend = new InMemoryBackend();
+    }
+
+    @Test(description = "when the key is not claimed, then claim it for the request in flight")
+    public void testKeyIsClaimedOnce() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+
+        Assert.assertNull(idempotencyStore.claim(KEY, getRequestRecord("{\"amount\":1}"), CLAIM_ID));
+        HashMap<String, String> existingRecord = idempotencyStore.claim(KEY, getRequestRecord("{\"amount\":1}"),
+                CLAIM_ID);
+
+        Assert.assertNotNull(existingRecord);
+        Assert.assertTrue(IdempotencyStore.isInFlight(existingRecord));
+        Assert.assertEquals(existingRecord.get(GatewayConstants.REQUEST_CACHE_KEY), "{\"amount\":1}");
+    }
+
+    @Test(description = "when the requests claim the key concurrently, then only one of them claims it")
+    public void testConcurrentClaimsHaveSingleWinner() throws Exception {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        int requestCount = 16;
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<HashMap<String, String>>> claims = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            claims.add(executorService.submit(() -> {
+                startLatch.await();
+                return idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+            }));
+        }
+        startLatch.countDown();
+
+        int claimedCount = 0;
+        for (Future<HashMap<String, String>> claim : claims) {
+            if (claim.get(10, TimeUnit.SECONDS) == null) {
+                claimedCount++;
+            }
+        }
+        executorService.shutdownNow();
+        Assert.assertEquals(claimedCount, 1);
+    }
+
+    @Test(description = "when the response of the claimed request is recorded, then return it to the waiters")
+    public void testWaiterReceivesRecordedResponse() throws Exception {
+
+        IdempotencyStore idempotencyStore = new IdempotencyStore(backend, CLAIM_TIMEOUT, 10000, 5,
+                System::currentTimeMillis);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+
+        Thread responder = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            HashMap<String, String> completedRecord = getRequestRecord("{}");
+            completedRecord.put(GatewayConstants.RESPONSE_CACHE_KEY, "{\"status\":\"AcceptedSettlementInProcess\"}");
+            backend.records.put(KEY, completedRecord);
+        });
+        responder.start();
+
+        HashMap<String, String> completedRecord = idempotencyStore.awaitResponse(KEY);
+        responder.join();
+        Assert.assertFalse(IdempotencyStore.isInFlight(completedRecord));
+        Assert.assertEquals(completedRecord.get(GatewayConstants.RESPONSE_CACHE_KEY),
+                "{\"status\":\"AcceptedSettlementInProcess\"}");
+    }
+
+    @Test(description = "when the response is not recorded within the wait timeout, then return the claim")
+    public void testWaiterTimesOut() {
+
+        IdempotencyStore idempotencyStore = new IdempotencyStore(backend, CLAIM_TIMEOUT, 20, 5,
+                System::currentTimeMillis);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+
+        Assert.assertTrue(IdempotencyStore.isInFlight(idempotencyStore.awaitResponse(KEY)));
+    }
+
+    @Test(description = "when the claim is not completed within the claim timeout, then let another request claim it")
+    public void testExpiredClaimCanBeClaimedAgain() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+
+        clock.addAndGet(CLAIM_TIMEOUT - 1);
+        Assert.assertNotNull(idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID));
+        clock.addAndGet(1);
+        Assert.assertNull(idempotencyStore.awaitResponse(KEY));
+        Assert.assertNull(idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID));
+    }
+
+    @Test(description = "when the claim is released, then remove only the record in flight")
+    public void testReleaseRemovesOnlyClaim() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+        idempotencyStore.release(KEY, getRequestRecord("{}"), CLAIM_ID);
+        Assert.assertNull(idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID));
+
+        HashMap<String, String> completedRecord = getRequestRecord("{}");
+        completedRecord.put(GatewayConstants.RESPONSE_CACHE_KEY, "{}");
+        backend.records.put(KEY, completedRecord);
+        idempotencyStore.release(KEY, getRequestRecord("{}"), CLAIM_ID);
+        Assert.assertNotNull(backend.get(KEY));
+    }
+
+    @Test(description = "when the claim expired and the key is claimed again, then keep the claim of the new request")
+    public void testReleaseKeepsClaimOfAnotherRequest() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+        clock.addAndGet(CLAIM_TIMEOUT);
+        Assert.assertNull(idempotencyStore.claim(KEY, getRequestRecord("{}"), "claim-2"));
+
+        idempotencyStore.release(KEY, getRequestRecord("{}"), CLAIM_ID);
+        Assert.assertEquals(backend.get(KEY).get(GatewayConstants.IDEMPOTENCY_CLAIM_ID), "claim-2");
+    }
+
+    @Test(description = "when the request holding the claim is rejected, then release the claim from its context")
+    public void testReleaseFromContextProperties() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+
+        Map<String, String> contextProps = new HashMap<>(getRequestRecord("{}"));
+        idempotencyStore.release(contextProps);
+        Assert.assertNotNull(backend.get(KEY));
+
+        contextProps.put(GatewayConstants.IDEMPOTENCY_CLAIM_ID, CLAIM_ID);
+        contextProps.put(GatewayConstants.IDEMPOTENCY_CLAIM_KEY, KEY);
+        idempotencyStore.release(contextProps);
+        Assert.assertNull(backend.get(KEY));
+    }
+
+    @Test(description = "when the claimed request completes, then record its response in place of the claim")
+    public void testCompleteReplacesClaim() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+
+        Assert.assertTrue(idempotencyStore.complete(KEY, getRequestRecord("{}"), CLAIM_ID, getCompletedRecord()));
+        Assert.assertFalse(IdempotencyStore.isInFlight(idempotencyStore.awaitResponse(KEY)));
+        clock.addAndGet(CLAIM_TIMEOUT);
+        Assert.assertEquals(backend.get(KEY), getCompletedRecord());
+    }
+
+    @Test(description = "when the claim expired and the key is claimed again, then do not record the response")
+    public void testCompleteKeepsClaimOfAnotherRequest() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+        Assert.assertFalse(idempotencyStore.complete(KEY, getRequestRecord("{}"), "claim-2", getCompletedRecord()));
+
+        clock.addAndGet(CLAIM_TIMEOUT);
+        Assert.assertNull(idempotencyStore.claim(KEY, getRequestRecord("{}"), "claim-2"));
+        Assert.assertFalse(idempotencyStore.complete(KEY, getRequestRecord("{}"), CLAIM_ID, getCompletedRecord()));
+        Assert.assertEquals(backend.get(KEY).get(GatewayConstants.IDEMPOTENCY_CLAIM_ID), "claim-2");
+    }
+
+    @Test(description = "when the request holding the claim completes, then complete the claim from its context")
+    public void testCompleteFromContextProperties() {
+
+        IdempotencyStore idempotencyStore = createStore(0);
+        idempotencyStore.claim(KEY, getRequestRecord("{}"), CLAIM_ID);
+
+        Map<String, String> contextProps = new HashMap<>(getRequestRecord("{}"));
+        Assert.assertFalse(idempotencyStore.complete(contextProps, getCompletedRecord()));
+
+        contextProps.put(GatewayConstants.IDEMPOTENCY_CLAIM_ID, CLAIM_ID);
+        contextProps.put(GatewayConstants.IDEMPOTENCY_CLAIM_KEY, KEY);
+        Assert.assertTrue(idempotencyStore.complete(contextProps, getCompletedRecord()));
+        Assert.assertEquals(backend.get(KEY), getCompletedRecord());
+    }
+
+    private IdempotencyStore createStore(long waitTimeout) {
+
+        return new IdempotencyStore(backend, CLAIM_TIMEOUT, waitTimeout, 1, clock::get);
+    }
+
+    private static HashMap<String, String> getRequestRecord(String payload) {
+
+        HashMap<String, String> requestRecord = new HashMap<>();
+        requestRecord.put(GatewayConstants.REQUEST_CACHE_KEY, payload);
+        return requestRecord;
+    }
+
+    private static HashMap<String, String> getCompletedRecord() {
+
+        HashMap<String, String> completedRecord = getRequestRecord("{}");
+        completedRecord.put(GatewayConstants.RESPONSE_CACHE_KEY, "{}");
+        return completedRecord;
+    }
+
+    /**
+     * Backend keeping the records in memory, expiring them by the test clock.
+     */
+    private class InMemoryBackend implements IdempotencyStore.Backend {
+
+        private final Map<String, HashMap<String, String>> records = new ConcurrentHashMap<>();
+        private final Map<String, Long> expiryTimes = new ConcurrentHashMap<>();
+
+        @Override
+        public HashMap<String, String> get(String key) {
+
+            Long expiryTime = expiryTimes.get(key);
+            if (expiryTime != null && clock.get() >= expiryTime) {
+                remove(key);
+            }
+            return records.get(key);
+        }
+
+        @Override
+        public HashMap<String, String> putIfAbsent(String key, HashMap<String, String> value, long timeToLive) {
+
+            get(key);
+            HashMap<String, String> existingValue = records.putIfAbsent(key, value);
+            if (existingValue == null) {
+                expiryTimes.put(key, clock.get() + timeToLive);
+            }
+            return existingValue;
+        }
+
+        @Override
+        public boolean remove(String key, HashMap<String, String> value) {
+
+            get(key);
+            if (records.remove(key, value)) {
+                expiryTimes.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean replace(String key, HashMap<String, String> oldValue, HashMap<String, String> newValue) {
+
+            get(key);
+            if (records.replace(key, oldValue, newValue)) {
+                expiryTimes.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        private void remove(String key) {
+
+            records.remove(key);
+            expiryTimes.remove(key);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.impl.consent;
+
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test for consent validation cache.
+ */
+public class ConsentValidationCacheTest {
+
+    private static final String CONSENT_ID = "c7b5bd4c-6a5b-4d1c-9e3e-0f6a1d6c2f10";
+    private static final long TIME_TO_LIVE = 30000;
+
+    private AtomicLong clock;
+    private AtomicInteger validationCount;
+    private ConsentValidationCache consentValidationCache;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(1000000);
+        validationCount = new AtomicInteger();
+        consentValidationCache = new ConsentValidationCache(TIME_TO_LIVE, 10, clock::get);
+    }
+
+    @Test(description = "when the result is cached, then serve it until the time to live elapses")
+    public void testCachedResultIsServedUntilExpiry() throws Exception {
+
+        String decisionKey = getDecisionKey("/accounts", "{}");
+
+        validate(decisionKey, true);
+        clock.addAndGet(TIME_TO_LIVE - 1);
+        Assert.assertTrue(validate(decisionKey, false).getBoolean("isValid"));
+        Assert.assertEquals(validationCount.get(), 1);
+        Assert.assertEquals(consentValidationCache.getHitCount(), 1);
+
+        clock.addAndGet(1);
+        Assert.assertFalse(validate(decisionKey, false).getBoolean("isValid"));
+        Assert.assertEquals(validationCount.get(), 2);
+    }
+
+    @Test(description = "when the consent is invalidated, then validate it again")
+    public void testInvalidatedConsentIsValidatedAgain() throws Exception {
+
+        String decisionKey = getDecisionKey("/accounts", "{}");
+        validate(decisionKey, true);
+        consentValidationCache.invalidate("other-consent");
+        validate(decisionKey, true);
+        Assert.assertEquals(validationCount.get(), 1);
+
+        consentValidationCache.invalidate(CONSENT_ID);
+        Assert.assertEquals(consentValidationCache.getSize(), 0);
+        Assert.assertFalse(validate(decisionKey, false).getBoolean("isValid"));
+        Assert.assertEquals(validationCount.get(), 2);
+    }
+
+    @Test(description = "when the request attributes differ, then keep separate decisions")
+    public void testDecisionKeySeparatesRequests() throws Exception {
+
+        Assert.assertEquals(getDecisionKey("/accounts", "{}"), getDecisionKey("/accounts", "{}"));
+        Assert.assertNotEquals(getDecisionKey("/accounts", "{}"), getDecisionKey("/balances", "{}"));
+        Assert.assertNotEquals(getDecisionKey("/accounts", "{}"), getDecisionKey("/accounts", null));
+        Assert.assertNotEquals(ConsentValidationCache.getDecisionKey("/accounts", "GET", "ab", "c"),
+                ConsentValidationCache.getDecisionKey("/accounts", "GET", "a", "bc"));
+
+        validate(getDecisionKey("/accounts", "{}"), true);
+        validate(getDecisionKey("/balances", "{}"), true);
+        Assert.assertEquals(validationCount.get(), 2);
+        Assert.assertEquals(consentValidationCache.getSize(), 2);
+    }
+
+    @Test(description = "when the validation fails, then do not cache the failure")
+    public void testFailedValidationIsNotCached() throws Exception {
+
+        String decisionKey = getDecisionKey("/accounts", "{}");
+        try {
+            consentValidationCache.getOrValidate(CONSENT_ID, decisionKey, () -> {
+                throw new IOException("Connection refused");
+            });
+            Assert.fail("Validation failure is not propagated");
+        } catch (IOException e) {
+            Assert.assertEquals(e.getMessage(), "Connection refused");
+        }
+        Assert.assertEquals(consentValidationCache.getSize(), 0);
+        validate(decisionKey, true);
+        Assert.assertEquals(validationCount.get(), 1);
+    }
+
+    @Test(description = "when the maximum number of results is reached, then do not cache more")
+    public void testMaxEntriesIsEnforced() throws Exception {
+
+        consentValidationCache = new ConsentValidationCache(TIME_TO_LIVE, 1, clock::get);
+        validate(getDecisionKey("/accounts", "{}"), true);
+        validate(getDecisionKey("/balances", "{}"), true);
+        Assert.assertEquals(consentValidationCache.getSize(), 1);
+
+        clock.addAndGet(TIME_TO_LIVE);
+        validate(getDecisionKey("/balances", "{}"), true);
+        Assert.assertEquals(consentValidationCache.getSize(), 1);
+        validate(getDecisionKey("/balances", "{}"), true);
+        Assert.assertEquals(validationCount.get(), 3);
+    }
+
+    @Test(description = "when identical validations are in flight, then call the validation service once")
+    public void testConcurrentValidationsAreCoalesced() throws Exception {
+
+        int requestCount = 8;
+        String decisionKey = getDecisionKey("/accounts", "{}");
+        CountDownLatch validationStarted = new CountDownLatch(1);
+        CountDownLatch releaseValidation = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        try {
+            List<Future<JSONObject>> results = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                results.add(executorService.submit(() -> consentValidationCache.getOrValidate(CONSENT_ID,
+                        decisionKey, () -> {
+                            validationCount.incrementAndGet();
+                            validationStarted.countDown();
+                            await(releaseValidation);
+                            return getValidationResult(true);
+                        })));
+            }
+            Assert.assertTrue(validationStarted.await(5, TimeUnit.SECONDS));
+            // the later requests either wait for the validation in flight, or are served from the cache
+            long deadline = System.currentTimeMillis() + 5000;
+            while (consentValidationCache.getCoalescedCount() < requestCount - 1 &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            releaseValidation.countDown();
+            for (Future<JSONObject> result : results) {
+                Assert.assertTrue(result.get(5, TimeUnit.SECONDS).getBoolean("isValid"));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assert.assertEquals(validationCount.get(), 1);
+        Assert.assertEquals(consentValidationCache.getCoalescedCount(), requestCount - 1);
+    }
+
+    @Test(description = "when the consent is invalidated during the validation, then do not cache the result")
+    public void testResultIsNotCachedWhenInvalidatedDuringValidation() throws Exception {
+
+        String decisionKey = getDecisionKey("/accounts", "{}");
+        consentValidationCache.getOrValidate(CONSENT_ID, decisionKey, () -> {
+            consentValidationCache.invalidate(CONSENT_ID);
+            return getValidationResult(true);
+        });
+        Assert.assertEquals(consentValidationCache.getSize(), 0);
+    }
+
+    private JSONObject validate(String decisionKey, boolean isValid) throws IOException, OpenBankingException {
+
+        return consentValidationCache.getOrValidate(CONSENT_ID, decisionKey, () -> {
+            validationCount.incrementAndGet();
+            return getValidationResult(isValid);
+        });
+    }
+
+    private static String getDecisionKey(String electedResource, String payload) {
+
+        return ConsentValidationCache.getDecisionKey(electedResource, "GET", "/open-banking/v3.1/aisp",
+                "admin@wso2.com", "client-id", payload);
+    }
+
+    private static JSONObject getValidationResult(boolean isValid) {
+
+        JSONObject validationResult = new JSONObject();
+        validationResult.put("isValid", isValid);
+        return validationResult;
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
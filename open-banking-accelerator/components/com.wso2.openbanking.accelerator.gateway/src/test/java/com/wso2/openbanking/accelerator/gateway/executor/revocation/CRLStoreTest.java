@@ -0,0 +1,313 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.revocation;
+
+import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import org.apache.commons.io.FileUtils;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CRLConverter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.security.auth.x500.X500Principal;
+
+/**
+ * Test for CRL store.
+ */
+public class CRLStoreTest {
+
+    private static final String ISSUER_DN = "CN=Test Issuing CA, O=Test, C=GB";
+    private static final X500Name ISSUER_NAME = X500Name.getInstance(new X500Principal(ISSUER_DN).getEncoded());
+    private static final String CRL_URL = "http://crl.example.com/issuing.crl";
+    private static final String DELTA_CRL_URL = "http://crl.example.com/issuing-delta.crl";
+    private static final long ONE_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private KeyPair issuerKeyPair;
+    private X509Certificate issuerCertificate;
+    private Path storeLocation;
+    private AtomicLong clock;
+    private Map<String, X509CRL> publishedCRLs;
+    private AtomicInteger downloadCount;
+
+    @BeforeClass
+    public void initClass() throws Exception {
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        issuerKeyPair = keyPairGenerator.generateKeyPair();
+        issuerCertificate = Mockito.mock(X509Certificate.class);
+    }
+
+    @BeforeMethod
+    public void initMethod() throws Exception {
+
+        storeLocation = Files.createTempDirectory("ob-crl-store");
+        clock = new AtomicLong(System.currentTimeMillis());
+        publishedCRLs = new HashMap<>();
+        downloadCount = new AtomicInteger();
+    }
+
+    @AfterMethod
+    public void cleanUp() throws Exception {
+
+        FileUtils.deleteDirectory(storeLocation.toFile());
+    }
+
+    @Test(description = "when the CRL is stored, then serve the lookups without downloading it again")
+    public void testLookupIsServedFromStoredCRL() throws Exception {
+
+        Date nextUpdate = new Date(clock.get() + ONE_DAY);
+        publishedCRLs.put(CRL_URL, buildCRL(nextUpdate, 10, null, false, 7, 1000, 123456789));
+        CRLStore crlStore = createStore();
+
+        RevocationCheckResult revoked = crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1000),
+                issuerCertificate, 0);
+        RevocationCheckResult good = crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1001),
+                issuerCertificate, 0);
+
+        Assert.assertEquals(revoked.getStatus(), RevocationStatus.REVOKED);
+        Assert.assertEquals(good.getStatus(), RevocationStatus.GOOD);
+        Assert.assertEquals(good.getNextUpdate().getTime() / 1000, nextUpdate.getTime() / 1000);
+        Assert.assertEquals(downloadCount.get(), 1);
+    }
+
+    @Test(description = "when the delta CRL is published, then apply it on the complete CRL")
+    public void testDeltaCRLIsApplied() throws Exception {
+
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY), 10, null, true, 7, 1000));
+        X509CRL deltaCRL = buildDeltaCRL(new Date(clock.get() + ONE_DAY / 4), 11, 10, 2000, 1000);
+        publishedCRLs.put(DELTA_CRL_URL, deltaCRL);
+        CRLStore crlStore = createStore();
+
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(7), issuerCertificate,
+                0).getStatus(), RevocationStatus.REVOKED);
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(2000), issuerCertificate,
+                0).getStatus(), RevocationStatus.REVOKED);
+        RevocationCheckResult removed = crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1000),
+                issuerCertificate, 0);
+        Assert.assertEquals(removed.getStatus(), RevocationStatus.GOOD);
+        Assert.assertEquals(removed.getNextUpdate().getTime() / 1000, deltaCRL.getNextUpdate().getTime() / 1000);
+        Assert.assertEquals(downloadCount.get(), 2);
+    }
+
+    @Test(description = "when the delta CRL is expired, then use only the complete CRL")
+    public void testExpiredDeltaCRLIsNotApplied() throws Exception {
+
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY), 10, null, true, 1000));
+        publishedCRLs.put(DELTA_CRL_URL, buildDeltaCRL(new Date(clock.get() + ONE_DAY / 4), 11, 10, 2000, 1000));
+        CRLStore crlStore = createStore();
+        crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1), issuerCertificate, 0);
+
+        clock.addAndGet(ONE_DAY / 2);
+
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(2000), issuerCertificate,
+                0).getStatus(), RevocationStatus.GOOD);
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1000), issuerCertificate,
+                0).getStatus(), RevocationStatus.REVOKED);
+    }
+
+    @Test(description = "when the complete CRL is reissued after the delta CRL, then do not apply the stale delta CRL")
+    public void testStaleDeltaCRLIsNotApplied() throws Exception {
+
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY / 2), 10, null, true, 7));
+        publishedCRLs.put(DELTA_CRL_URL, buildDeltaCRL(new Date(clock.get() + ONE_DAY), 11, 10, 2000, 1000));
+        CRLStore crlStore = createStore();
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(2000), issuerCertificate,
+                0).getStatus(), RevocationStatus.REVOKED);
+
+        clock.addAndGet(ONE_DAY / 2);
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY), 12, null, true, 7, 1000));
+
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1000), issuerCertificate,
+                0).getStatus(), RevocationStatus.REVOKED);
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(2000), issuerCertificate,
+                0).getStatus(), RevocationStatus.GOOD);
+
+        CRLStore restartedStore = new CRLStore(storeLocation, 0, (crlUrl, issuerCert, retryCount) -> {
+            throw new CertificateValidationException("CRL Url is not reachable");
+        }, null, clock::get);
+        Assert.assertEquals(restartedStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1000),
+                issuerCertificate, 0).getStatus(), RevocationStatus.REVOKED);
+    }
+
+    @Test(description = "when the stored CRL is expired, then download the CRL again")
+    public void testExpiredCRLIsDownloadedAgain() throws Exception {
+
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY), 10, null, false, 1000));
+        CRLStore crlStore = createStore();
+        crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1), issuerCertificate, 0);
+
+        clock.addAndGet(ONE_DAY);
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY), 11, null, false, 1000, 1001));
+
+        Assert.assertEquals(crlStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1001), issuerCertificate,
+                0).getStatus(), RevocationStatus.REVOKED);
+        Assert.assertEquals(downloadCount.get(), 2);
+    }
+
+    @Test(description = "when the store is restarted, then serve the lookups from the snapshots")
+    public void testStoreIsWarmAfterRestart() throws Exception {
+
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY), 10, null, true, 7, 1000));
+        publishedCRLs.put(DELTA_CRL_URL, buildDeltaCRL(new Date(clock.get() + ONE_DAY / 4), 11, 10, 2000, 1000));
+        createStore().getRevocationCheckResult(CRL_URL, getPeerCertificate(1), issuerCertificate, 0);
+
+        CRLStore restartedStore = new CRLStore(storeLocation, 0, (crlUrl, issuerCert, retryCount) -> {
+            throw new CertificateValidationException("CRL Url is not reachable");
+        }, null, clock::get);
+
+        Assert.assertEquals(restartedStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(7),
+                issuerCertificate, 0).getStatus(), RevocationStatus.REVOKED);
+        Assert.assertEquals(restartedStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(2000),
+                issuerCertificate, 0).getStatus(), RevocationStatus.REVOKED);
+        Assert.assertEquals(restartedStore.getRevocationCheckResult(CRL_URL, getPeerCertificate(1000),
+                issuerCertificate, 0).getStatus(), RevocationStatus.GOOD);
+    }
+
+    @Test(description = "when the CRL is not issued by the issuer of the peer, then throw an exception",
+            expectedExceptions = CertificateValidationException.class)
+    public void testIssuerMismatch() throws Exception {
+
+        publishedCRLs.put(CRL_URL, buildCRL(new Date(clock.get() + ONE_DAY), 10, null, false, 1000));
+        X509Certificate peerCertificate = getPeerCertificate(1000);
+        Mockito.doReturn(new X500Principal("CN=Other Issuing CA, O=Test, C=GB")).when(peerCertificate)
+                .getIssuerX500Principal();
+
+        createStore().getRevocationCheckResult(CRL_URL, peerCertificate, issuerCertificate, 0);
+    }
+
+    @Test(description = "when the CRL index is snapshotted, then read the same serial numbers from the snapshot")
+    public void testCRLIndexSnapshot() throws Exception {
+
+        long[] serialNumbers = new long[1000];
+        for (int i = 0; i < serialNumbers.length; i++) {
+            serialNumbers[i] = (i * 7919L) % 100000 + 1;
+        }
+        X509CRL x509CRL = buildCRL(new Date(clock.get() + ONE_DAY), 10, null, false, serialNumbers);
+        CRLIndex crlIndex = CRLIndex.fromCRL(x509CRL, Collections.singletonList(DELTA_CRL_URL));
+        Path snapshot = storeLocation.resolve("test" + File.separator + "crl.idx");
+        crlIndex.writeSnapshot(snapshot);
+        CRLIndex snapshotIndex = CRLIndex.readSnapshot(snapshot);
+
+        Assert.assertEquals(snapshotIndex.getRevokedCount(), serialNumbers.length);
+        Assert.assertEquals(snapshotIndex.getCRLNumber(), BigInteger.TEN);
+        Assert.assertEquals(snapshotIndex.getDeltaCRLUrls(), crlIndex.getDeltaCRLUrls());
+        Assert.assertEquals(snapshotIndex.getNextUpdate(), crlIndex.getNextUpdate());
+        for (long serialNumber = 1; serialNumber <= 100000; serialNumber += 13) {
+            BigInteger serial = BigInteger.valueOf(serialNumber);
+            boolean revoked = x509CRL.getRevokedCertificate(serial) != null;
+            Assert.assertEquals(crlIndex.isRevoked(serial), revoked);
+            Assert.assertEquals(snapshotIndex.isRevoked(serial), revoked);
+        }
+        Assert.assertFalse(snapshotIndex.isRevoked(BigInteger.ONE.shiftLeft(200)));
+    }
+
+    private CRLStore createStore() {
+
+        return new CRLStore(storeLocation, 0, (crlUrl, issuerCert, retryCount) -> {
+            downloadCount.incrementAndGet();
+            X509CRL x509CRL = publishedCRLs.get(crlUrl);
+            if (x509CRL == null) {
+                throw new CertificateValidationException("Cant reach the CRL Url: " + crlUrl);
+            }
+            return x509CRL;
+        }, null, clock::get);
+    }
+
+    private X509Certificate getPeerCertificate(long serialNumber) {
+
+        X509Certificate peerCertificate = Mockito.mock(X509Certificate.class);
+        Mockito.doReturn(BigInteger.valueOf(serialNumber)).when(peerCertificate).getSerialNumber();
+        Mockito.doReturn(new X500Principal(ISSUER_DN)).when(peerCertificate).getIssuerX500Principal();
+        return peerCertificate;
+    }
+
+    private X509CRL buildCRL(Date nextUpdate, long crlNumber, Long baseCRLNumber, boolean withDeltaCRL,
+                             long... revokedSerialNumbers) throws Exception {
+
+        Date thisUpdate = new Date(clock.get() - TimeUnit.HOURS.toMillis(1));
+        X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(ISSUER_NAME, thisUpdate);
+        crlBuilder.setNextUpdate(nextUpdate);
+        for (long serialNumber : revokedSerialNumbers) {
+            crlBuilder.addCRLEntry(BigInteger.valueOf(serialNumber), thisUpdate, CRLReason.keyCompromise);
+        }
+        crlBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(crlNumber)));
+        if (baseCRLNumber != null) {
+            crlBuilder.addExtension(Extension.deltaCRLIndicator, true,
+                    new CRLNumber(BigInteger.valueOf(baseCRLNumber)));
+        }
+        if (withDeltaCRL) {
+            GeneralNames deltaCRLNames = new GeneralNames(
+                    new GeneralName(GeneralName.uniformResourceIdentifier, DELTA_CRL_URL));
+            crlBuilder.addExtension(Extension.freshestCRL, false, new CRLDistPoint(new DistributionPoint[]{
+                    new DistributionPoint(new DistributionPointName(deltaCRLNames), null, null)}));
+        }
+        return sign(crlBuilder);
+    }
+
+    private X509CRL buildDeltaCRL(Date nextUpdate, long crlNumber, long baseCRLNumber, long revokedSerialNumber,
+                                  long removedSerialNumber) throws Exception {
+
+        Date thisUpdate = new Date(clock.get());
+        X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(ISSUER_NAME, thisUpdate);
+        crlBuilder.setNextUpdate(nextUpdate);
+        crlBuilder.addCRLEntry(BigInteger.valueOf(revokedSerialNumber), thisUpdate, CRLReason.keyCompromise);
+        crlBuilder.addCRLEntry(BigInteger.valueOf(removedSerialNumber), thisUpdate, CRLReason.removeFromCRL);
+        crlBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(crlNumber)));
+        crlBuilder.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(BigInteger.valueOf(baseCRLNumber)));
+        return sign(crlBuilder);
+    }
+
+    private X509CRL sign(X509v2CRLBuilder crlBuilder) throws Exception {
+
+        return new JcaX509CRLConverter().getCRL(crlBuilder.build(
+                new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeyPair.getPrivate())));
+    }
+}
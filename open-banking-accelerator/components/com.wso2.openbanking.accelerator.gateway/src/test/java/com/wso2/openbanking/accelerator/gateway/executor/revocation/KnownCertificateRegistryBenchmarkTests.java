@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.revocation;
+
+import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark comparing the revocation validation latency of the mTLS certificates with and without the OCSP
+ * prefetch. Without the prefetch, each validation calls the OCSP responder, which is simulated with a fixed
+ * latency. The number of certificates and the responder latency can be changed with the
+ * ocsp.prefetch.benchmark.* system properties.
+ */
+public class KnownCertificateRegistryBenchmarkTests {
+
+    private static final Log log = LogFactory.getLog(KnownCertificateRegistryBenchmarkTests.class);
+    private static final int CERTIFICATE_COUNT = Integer.getInteger("ocsp.prefetch.benchmark.certificates", 200);
+    private static final long RESPONDER_LATENCY = Long.getLong("ocsp.prefetch.benchmark.responder.latency", 2);
+
+    private final AtomicInteger responderCallCount = new AtomicInteger();
+    private X509Certificate[] peerCertificates;
+    private X509Certificate issuerCertificate;
+    private KnownCertificateRegistry emptyRegistry;
+    private KnownCertificateRegistry prefetchedRegistry;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        issuerCertificate = Mockito.mock(X509Certificate.class);
+        peerCertificates = new X509Certificate[CERTIFICATE_COUNT];
+        for (int i = 0; i < CERTIFICATE_COUNT; i++) {
+            X509Certificate peerCertificate = Mockito.mock(X509Certificate.class);
+            Mockito.when(peerCertificate.getSerialNumber()).thenReturn(BigInteger.valueOf(i + 1));
+            Mockito.when(peerCertificate.getEncoded()).thenReturn(BigInteger.valueOf(i + 1).toByteArray());
+            Mockito.when(peerCertificate.getNotAfter()).thenReturn(new Date(System.currentTimeMillis() +
+                    TimeUnit.DAYS.toMillis(1)));
+            peerCertificates[i] = peerCertificate;
+        }
+        emptyRegistry = createRegistry();
+        prefetchedRegistry = createRegistry();
+        for (X509Certificate peerCertificate : peerCertificates) {
+            prefetchedRegistry.register(peerCertificate, issuerCertificate);
+        }
+    }
+
+    @Test
+    public void testValidationsReturnSameStatus() throws Exception {
+
+        int responderCallsBefore = responderCallCount.get();
+        for (X509Certificate peerCertificate : peerCertificates) {
+            Assert.assertEquals(validate(prefetchedRegistry, peerCertificate).getStatus(), RevocationStatus.GOOD);
+        }
+        Assert.assertEquals(responderCallCount.get(), responderCallsBefore);
+
+        for (X509Certificate peerCertificate : peerCertificates) {
+            Assert.assertEquals(validate(emptyRegistry, peerCertificate).getStatus(), RevocationStatus.GOOD);
+        }
+        Assert.assertEquals(responderCallCount.get(), responderCallsBefore + CERTIFICATE_COUNT);
+    }
+
+    @Test(dependsOnMethods = "testValidationsReturnSameStatus")
+    public void benchmarkValidationWithPrefetch() throws Exception {
+
+        // a warm up round is run before measuring
+        for (int round = 0; round < 2; round++) {
+            long withoutPrefetch = getP99ValidationLatency(emptyRegistry);
+            long withPrefetch = getP99ValidationLatency(prefetchedRegistry);
+            if (round > 0) {
+                log.info(String.format("Revocation validation of %d certificates with an OCSP responder latency " +
+                                "of %d ms. p99 latency: with prefetch %.3f ms, without prefetch %.3f ms",
+                        CERTIFICATE_COUNT, RESPONDER_LATENCY, toMillis(withPrefetch), toMillis(withoutPrefetch)));
+            }
+        }
+    }
+
+    /**
+     * Validate the revocation status of a certificate the same way as the certificate validation service, which
+     * calls the OCSP responder when the response is not prefetched.
+     */
+    private RevocationCheckResult validate(KnownCertificateRegistry registry, X509Certificate peerCertificate)
+            throws CertificateValidationException {
+
+        RevocationCheckResult revocationCheckResult = registry.getPrefetchedResult(peerCertificate);
+        if (revocationCheckResult == null) {
+            revocationCheckResult = fetch();
+        }
+        return revocationCheckResult;
+    }
+
+    private long getP99ValidationLatency(KnownCertificateRegistry registry) throws Exception {
+
+        long[] latencies = new long[peerCertificates.length];
+        for (int i = 0; i < peerCertificates.length; i++) {
+            long startTime = System.nanoTime();
+            validate(registry, peerCertificates[i]);
+            latencies[i] = System.nanoTime() - startTime;
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+    }
+
+    private KnownCertificateRegistry createRegistry() {
+
+        return new KnownCertificateRegistry(CERTIFICATE_COUNT, TimeUnit.HOURS.toMillis(1),
+                TimeUnit.MINUTES.toMillis(5), (peerCert, issuerCert) -> fetch(), Runnable::run,
+                System::currentTimeMillis);
+    }
+
+    private RevocationCheckResult fetch() {
+
+        responderCallCount.incrementAndGet();
+        try {
+            Thread.sleep(RESPONDER_LATENCY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new RevocationCheckResult(RevocationStatus.GOOD, null);
+    }
+
+    private static double toMillis(long nanos) {
+
+        return nanos / 1_000_000.0;
+    }
+}
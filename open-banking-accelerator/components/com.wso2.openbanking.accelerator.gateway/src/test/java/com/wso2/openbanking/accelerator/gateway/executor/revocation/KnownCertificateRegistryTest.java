@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.revocation;
+
+import com.wso2.openbanking.accelerator.common.exception.CertificateValidationException;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test for known certificate registry.
+ */
+public class KnownCertificateRegistryTest {
+
+    private static final long MAX_RESPONSE_AGE = TimeUnit.HOURS.toMillis(1);
+    private static final long REFRESH_AHEAD_TIME = TimeUnit.MINUTES.toMillis(5);
+
+    private AtomicLong clock;
+    private AtomicInteger fetchCount;
+    private AtomicReference<RevocationStatus> responderStatus;
+    private X509Certificate issuerCertificate;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(System.currentTimeMillis());
+        fetchCount = new AtomicInteger();
+        responderStatus = new AtomicReference<>(RevocationStatus.GOOD);
+        issuerCertificate = Mockito.mock(X509Certificate.class);
+    }
+
+    @Test(description = "when a certificate is registered, then prefetch its OCSP response")
+    public void testRegisteredCertificateIsPrefetched() throws Exception {
+
+        KnownCertificateRegistry registry = createRegistry(10);
+        X509Certificate peerCertificate = getPeerCertificate(1);
+
+        Assert.assertNull(registry.getPrefetchedResult(peerCertificate));
+        Assert.assertTrue(registry.register(peerCertificate, issuerCertificate));
+        Assert.assertTrue(registry.register(peerCertificate, issuerCertificate));
+
+        Assert.assertEquals(registry.getPrefetchedResult(peerCertificate).getStatus(), RevocationStatus.GOOD);
+        Assert.assertEquals(registry.getKnownCertificateCount(), 1);
+        Assert.assertEquals(fetchCount.get(), 1);
+    }
+
+    @Test(description = "when the prefetched response is within the refresh ahead time, then fetch it again")
+    public void testPrefetchRefreshesResponseAheadOfExpiry() throws Exception {
+
+        KnownCertificateRegistry registry = createRegistry(10);
+        X509Certificate peerCertificate = getPeerCertificate(1);
+        registry.register(peerCertificate, issuerCertificate);
+
+        clock.addAndGet(MAX_RESPONSE_AGE - REFRESH_AHEAD_TIME - 1);
+        registry.prefetch();
+        Assert.assertEquals(fetchCount.get(), 1);
+
+        responderStatus.set(RevocationStatus.REVOKED);
+        clock.addAndGet(1);
+        registry.prefetch();
+        Assert.assertEquals(fetchCount.get(), 2);
+        Assert.assertEquals(registry.getPrefetchedResult(peerCertificate).getStatus(), RevocationStatus.REVOKED);
+    }
+
+    @Test(description = "when the next update of the response is before the maximum age, then expire it then")
+    public void testNextUpdateLimitsResponseAge() throws Exception {
+
+        Date nextUpdate = new Date(clock.get() + REFRESH_AHEAD_TIME);
+        KnownCertificateRegistry registry = new KnownCertificateRegistry(10, MAX_RESPONSE_AGE, REFRESH_AHEAD_TIME,
+                (peerCert, issuerCert) -> new RevocationCheckResult(RevocationStatus.GOOD, nextUpdate),
+                Runnable::run, clock::get);
+        X509Certificate peerCertificate = getPeerCertificate(1);
+        registry.register(peerCertificate, issuerCertificate);
+
+        Assert.assertNotNull(registry.getPrefetchedResult(peerCertificate));
+        clock.set(nextUpdate.getTime());
+        Assert.assertNull(registry.getPrefetchedResult(peerCertificate));
+    }
+
+    @Test(description = "when the OCSP responder fails, then serve the last prefetched response until it expires")
+    public void testFailedFetchKeepsLastResponse() throws Exception {
+
+        KnownCertificateRegistry registry = createRegistry(10);
+        X509Certificate peerCertificate = getPeerCertificate(1);
+        registry.register(peerCertificate, issuerCertificate);
+
+        responderStatus.set(null);
+        clock.addAndGet(MAX_RESPONSE_AGE - REFRESH_AHEAD_TIME);
+        registry.prefetch();
+        Assert.assertEquals(fetchCount.get(), 2);
+        Assert.assertEquals(registry.getPrefetchedResult(peerCertificate).getStatus(), RevocationStatus.GOOD);
+
+        clock.addAndGet(REFRESH_AHEAD_TIME);
+        Assert.assertNull(registry.getPrefetchedResult(peerCertificate));
+    }
+
+    @Test(description = "when the certificate is expired, then remove it from the registry")
+    public void testExpiredCertificateIsRemoved() throws Exception {
+
+        KnownCertificateRegistry registry = createRegistry(10);
+        registry.register(getPeerCertificate(1), issuerCertificate);
+
+        clock.addAndGet(TimeUnit.DAYS.toMillis(2));
+        registry.prefetch();
+        Assert.assertEquals(registry.getKnownCertificateCount(), 0);
+    }
+
+    @Test(description = "when the maximum number of certificates is reached, then evict the least recently used")
+    public void testLeastRecentlyUsedCertificateIsEvicted() throws Exception {
+
+        KnownCertificateRegistry registry = createRegistry(2);
+        X509Certificate firstCertificate = getPeerCertificate(1);
+        X509Certificate secondCertificate = getPeerCertificate(2);
+        X509Certificate thirdCertificate = getPeerCertificate(3);
+        registry.register(firstCertificate, issuerCertificate);
+        clock.incrementAndGet();
+        registry.register(secondCertificate, issuerCertificate);
+        clock.incrementAndGet();
+        Assert.assertNotNull(registry.getPrefetchedResult(firstCertificate));
+
+        clock.incrementAndGet();
+        Assert.assertTrue(registry.register(thirdCertificate, issuerCertificate));
+        Assert.assertEquals(registry.getKnownCertificateCount(), 2);
+        Assert.assertNull(registry.getPrefetchedResult(secondCertificate));
+        Assert.assertNotNull(registry.getPrefetchedResult(firstCertificate));
+        Assert.assertNotNull(registry.getPrefetchedResult(thirdCertificate));
+    }
+
+    @Test(description = "when a certificate is unregistered, then stop prefetching its OCSP response")
+    public void testUnregisteredCertificateIsRemoved() throws Exception {
+
+        KnownCertificateRegistry registry = createRegistry(10);
+        X509Certificate peerCertificate = getPeerCertificate(1);
+        registry.register(peerCertificate, issuerCertificate);
+
+        Assert.assertTrue(registry.unregister(peerCertificate));
+        Assert.assertFalse(registry.unregister(peerCertificate));
+        Assert.assertNull(registry.getPrefetchedResult(peerCertificate));
+
+        clock.addAndGet(MAX_RESPONSE_AGE);
+        registry.prefetch();
+        Assert.assertEquals(fetchCount.get(), 1);
+    }
+
+    private KnownCertificateRegistry createRegistry(int maxCertificates) {
+
+        return new KnownCertificateRegistry(maxCertificates, MAX_RESPONSE_AGE, REFRESH_AHEAD_TIME,
+                (peerCert, issuerCert) -> fetch(), Runnable::run, clock::get);
+    }
+
+    private RevocationCheckResult fetch() throws CertificateValidationException {
+
+        fetchCount.incrementAndGet();
+        RevocationStatus revocationStatus = responderStatus.get();
+        if (revocationStatus == null) {
+            throw new CertificateValidationException("OCSP responder is not reachable");
+        }
+        return new RevocationCheckResult(revocationStatus, null);
+    }
+
+    private X509Certificate getPeerCertificate(int serialNumber) throws Exception {
+
+        X509Certificate peerCertificate = Mockito.mock(X509Certificate.class);
+        Mockito.when(peerCertificate.getSerialNumber()).thenReturn(BigInteger.valueOf(serialNumber));
+        Mockito.when(peerCertificate.getEncoded()).thenReturn(BigInteger.valueOf(serialNumber).toByteArray());
+        Mockito.when(peerCertificate.getNotAfter()).thenReturn(new Date(clock.get() + TimeUnit.DAYS.toMillis(1)));
+        return peerCertificate;
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.gateway.executor.service;
+
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test for certificate revocation status engine.
+ */
+public class CertRevocationStatusEngineTest {
+
+    private static final String THUMBPRINT = "thumbprint";
+    private static final long MAX_TIME_TO_LIVE = 3600000;
+    private static final long REFRESH_AHEAD_TIME = 60000;
+    private static final long STALE_GRACE_PERIOD = 300000;
+    private static final long CHECK_TIMEOUT = 10000;
+
+    private AtomicLong clock;
+    private AtomicInteger checkCount;
+    private CertRevocationStatusEngine engine;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(1000000);
+        checkCount = new AtomicInteger();
+        // checks run on the calling thread, hence the background refreshes complete before returning
+        engine = new CertRevocationStatusEngine(MAX_TIME_TO_LIVE, REFRESH_AHEAD_TIME, STALE_GRACE_PERIOD,
+                CHECK_TIMEOUT, Runnable::run, clock::get);
+    }
+
+    @Test(description = "when the status is good, then cache it until the maximum time to live")
+    public void testGoodStatusIsCached() {
+
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        clock.addAndGet(MAX_TIME_TO_LIVE - REFRESH_AHEAD_TIME - 1);
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        Assert.assertEquals(checkCount.get(), 1);
+        Assert.assertEquals(engine.getCachedStatusCount(), 1);
+    }
+
+    @Test(description = "when the status is revoked, then cache it")
+    public void testRevokedStatusIsCached() {
+
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.REVOKED, null)));
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        Assert.assertEquals(checkCount.get(), 1);
+    }
+
+    @Test(description = "when the status is unknown, then treat it as revoked and do not cache it")
+    public void testUnknownStatusIsNotCached() {
+
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.UNKNOWN, null)));
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.UNKNOWN, null)));
+        Assert.assertEquals(checkCount.get(), 2);
+        Assert.assertEquals(engine.getCachedStatusCount(), 0);
+    }
+
+    @Test(description = "when the next update is before the maximum time to live, then refresh at the next update")
+    public void testNextUpdateLimitsTimeToLive() {
+
+        Date nextUpdate = new Date(clock.get() + 2 * REFRESH_AHEAD_TIME);
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, nextUpdate)));
+
+        clock.addAndGet(REFRESH_AHEAD_TIME - 1);
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        Assert.assertEquals(checkCount.get(), 1);
+
+        clock.addAndGet(1);
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        Assert.assertEquals(checkCount.get(), 2);
+    }
+
+    @Test(description = "when the status is within the refresh ahead time, then serve it and refresh it")
+    public void testRefreshAheadServesCachedStatus() {
+
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        clock.addAndGet(MAX_TIME_TO_LIVE - REFRESH_AHEAD_TIME);
+
+        // the cached status is returned, while the refresh caches the revoked status
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.REVOKED, null)));
+        Assert.assertEquals(checkCount.get(), 2);
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+    }
+
+    @Test(description = "when a good status is expired within the grace period, then serve it while refreshing")
+    public void testStaleGoodStatusIsServedWithinGracePeriod() {
+
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        clock.addAndGet(MAX_TIME_TO_LIVE + STALE_GRACE_PERIOD - 1);
+
+        // the failed refresh keeps the last known good status
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.UNKNOWN, null)));
+        Assert.assertEquals(checkCount.get(), 2);
+
+        clock.addAndGet(1);
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.UNKNOWN, null)));
+        Assert.assertEquals(checkCount.get(), 3);
+    }
+
+    @Test(description = "when the revocation check fails, then treat the certificate as revoked")
+    public void testFailedCheckIsTreatedAsRevoked() {
+
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, () -> {
+            throw new IllegalStateException("OCSP responder is not reachable");
+        }));
+        Assert.assertEquals(engine.getCachedStatusCount(), 0);
+    }
+
+    @Test(description = "when the check pool is saturated, then treat the certificate as revoked")
+    public void testRejectedCheckIsTreatedAsRevoked() {
+
+        engine = new CertRevocationStatusEngine(MAX_TIME_TO_LIVE, REFRESH_AHEAD_TIME, STALE_GRACE_PERIOD,
+                CHECK_TIMEOUT, runnable -> {
+                    throw new RejectedExecutionException("Check queue is full");
+                }, clock::get);
+
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        Assert.assertEquals(checkCount.get(), 0);
+    }
+
+    @Test(description = "when the check is not completed within the check timeout, then treat it as revoked")
+    public void testTimedOutCheckIsTreatedAsRevoked() {
+
+        // the checks are held back, hence the request waits until the timeout
+        List<Runnable> pendingChecks = new ArrayList<>();
+        engine = new CertRevocationStatusEngine(MAX_TIME_TO_LIVE, REFRESH_AHEAD_TIME, STALE_GRACE_PERIOD, 10,
+                pendingChecks::add, clock::get);
+
+        Assert.assertTrue(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+
+        // the timed out check still caches its status for the next requests
+        pendingChecks.get(0).run();
+        Assert.assertFalse(engine.isRevoked(THUMBPRINT, check(RevocationStatus.GOOD, null)));
+        Assert.assertEquals(checkCount.get(), 1);
+    }
+
+    @Test(description = "when the status is checked concurrently, then run a single revocation check")
+    public void testConcurrentChecksAreCoalesced() throws Exception {
+
+        ExecutorService checkExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService requestExecutor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch checkStarted = new CountDownLatch(1);
+            CountDownLatch releaseCheck = new CountDownLatch(1);
+            engine = new CertRevocationStatusEngine(MAX_TIME_TO_LIVE, REFRESH_AHEAD_TIME, STALE_GRACE_PERIOD,
+                    CHECK_TIMEOUT, checkExecutor, clock::get);
+            CertRevocationStatusEngine.RevocationCheck blockingCheck = () -> {
+                checkCount.incrementAndGet();
+                checkStarted.countDown();
+                try {
+                    releaseCheck.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new RevocationCheckResult(RevocationStatus.GOOD, null);
+            };
+
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(requestExecutor.submit(() -> engine.isRevoked(THUMBPRINT, blockingCheck)));
+            }
+            Assert.assertTrue(checkStarted.await(10, TimeUnit.SECONDS));
+            releaseCheck.countDown();
+
+            for (Future<Boolean> result : results) {
+                Assert.assertFalse(result.get(10, TimeUnit.SECONDS));
+            }
+            Assert.assertEquals(checkCount.get(), 1);
+        } finally {
+            checkExecutor.shutdownNow();
+            requestExecutor.shutdownNow();
+        }
+    }
+
+    private CertRevocationStatusEngine.RevocationCheck check(RevocationStatus status, Date nextUpdate) {
+
+        return () -> {
+            checkCount.incrementAndGet();
+            return new RevocationCheckResult(status, nextUpdate);
+        };
+    }
+}
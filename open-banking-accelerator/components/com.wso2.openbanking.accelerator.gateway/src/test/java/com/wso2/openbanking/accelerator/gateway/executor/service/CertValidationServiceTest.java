@@ -26,7 +26,9 @@ import com.wso2.openbanking.accelerator.common.exception.TPPValidationException;
 import com.wso2.openbanking.accelerator.common.model.PSD2RoleEnum;
 import com.wso2.openbanking.accelerator.gateway.cache.GatewayCacheKey;
 import com.wso2.openbanking.accelerator.gateway.cache.TppValidationCache;
+import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationCheckResult;
 import com.wso2.openbanking.accelerator.gateway.executor.model.RevocationStatus;
+import com.wso2.openbanking.accelerator.gateway.executor.revocation.KnownCertificateRegistry;
 import com.wso2.openbanking.accelerator.gateway.executor.revocation.OCSPValidator;
 import com.wso2.openbanking.accelerator.gateway.executor.util.TestValidationUtil;
 import com.wso2.openbanking.accelerator.gateway.internal.TPPCertValidatorDataHolder;
@@ -56,7 +58,7 @@ import java.util.Map;
  */
 @PowerMockIgnore("jdk.internal.reflect.*")
 @PrepareForTest({OpenBankingConfigParser.class, OCSPValidator.class, TPPCertValidatorDataHolder.class,
-        TppValidationCache.class})
+        TppValidationCache.class, KnownCertificateRegistry.class})
 public class CertValidationServiceTest {
 
     @Mock
@@ -96,10 +98,10 @@ public class CertValidationServiceTest {
                 .thenReturn(openBankingConfigParser);
 
         PowerMockito.mockStatic(OCSPValidator.class);
-        PowerMockito.when(OCSPValidator.getOCSPRevocationStatus(Mockito.any(X509Certificate.class),
+        PowerMockito.when(OCSPValidator.getOCSPRevocationCheckResult(Mockito.any(X509Certificate.class),
                 Mockito.any(X509Certificate.class), Mockito.anyInt(), Mockito.anyListOf(String.class),
                 Mockito.anyBoolean(), Mockito.anyString(), Mockito.anyInt()))
-                .thenReturn(RevocationStatus.GOOD);
+                .thenReturn(new RevocationCheckResult(RevocationStatus.GOOD, null));
 
         boolean isVerified = this.certValidationService
                 .verify(testPeerCertificate, testPeerCertificateIssuer, 1);
@@ -118,10 +120,10 @@ public class CertValidationServiceTest {
                 .thenReturn(openBankingConfigParser);
 
         PowerMockito.mockStatic(OCSPValidator.class);
-        PowerMockito.when(OCSPValidator.getOCSPRevocationStatus(Mockito.any(X509Certificate.class),
-                        Mockito.any(X509Certificate.class), Mockito.anyInt(), Mockito.anyListOf(String.class),
-                        Mockito.anyBoolean(), Mockito.anyString(), Mockito.anyInt()))
-                .thenReturn(RevocationStatus.GOOD);
+        PowerMockito.when(OCSPValidator.getOCSPRevocationCheckResult(Mockito.any(X509Certificate.class),
+                Mockito.any(X509Certificate.class), Mockito.anyInt(), Mockito.anyListOf(String.class),
+                Mockito.anyBoolean(), Mockito.anyString(), Mockito.anyInt()))
+                .thenReturn(new RevocationCheckResult(RevocationStatus.GOOD, null));
 
         boolean isVerified = this.certValidationService
                 .verify(testPeerCertificate, testPeerCertificateIssuer, 1, 5000,
@@ -141,10 +143,10 @@ public class CertValidationServiceTest {
                 .thenReturn(openBankingConfigParser);
 
         PowerMockito.mockStatic(OCSPValidator.class);
-        PowerMockito.when(OCSPValidator.getOCSPRevocationStatus(Mockito.any(X509Certificate.class),
+        PowerMockito.when(OCSPValidator.getOCSPRevocationCheckResult(Mockito.any(X509Certificate.class),
                 Mockito.any(X509Certificate.class), Mockito.anyInt(), Mockito.anyListOf(String.class),
                 Mockito.anyBoolean(), Mockito.anyString(), Mockito.anyInt()))
-                .thenReturn(RevocationStatus.REVOKED);
+                .thenReturn(new RevocationCheckResult(RevocationStatus.REVOKED, null));
 
         boolean isVerified = this.certValidationService
                 .verify(testPeerCertificate, testPeerCertificateIssuer, 1);
@@ -156,6 +158,40 @@ public class CertValidationServiceTest {
         Assert.assertFalse(isVerifiedUpdated);
     }
 
+    @Test(description = "when the OCSP response is prefetched, then should not call the revocation validators")
+    public void testVerifyWithPrefetchedResult() throws Exception {
+
+        OpenBankingConfigParser configParserMock = Mockito.mock(OpenBankingConfigParser.class);
+        Map<Integer, String> validators = new HashMap<>();
+        validators.put(1, "OCSP");
+        Mockito.when(configParserMock.getCertificateRevocationValidators()).thenReturn(validators);
+        PowerMockito.mockStatic(OpenBankingConfigParser.class);
+        PowerMockito.when(OpenBankingConfigParser.getInstance()).thenReturn(configParserMock);
+
+        TPPCertValidatorDataHolder dataHolderMock = Mockito.mock(TPPCertValidatorDataHolder.class);
+        Mockito.when(dataHolderMock.isOCSPPrefetchEnabled()).thenReturn(true);
+        PowerMockito.mockStatic(TPPCertValidatorDataHolder.class);
+        PowerMockito.when(TPPCertValidatorDataHolder.getInstance()).thenReturn(dataHolderMock);
+
+        KnownCertificateRegistry knownCertificateRegistryMock = Mockito.mock(KnownCertificateRegistry.class);
+        Mockito.when(knownCertificateRegistryMock.getPrefetchedResult(eidasPeerCertificate))
+                .thenReturn(new RevocationCheckResult(RevocationStatus.GOOD, null));
+        PowerMockito.mockStatic(KnownCertificateRegistry.class);
+        PowerMockito.when(KnownCertificateRegistry.getInstance()).thenReturn(knownCertificateRegistryMock);
+
+        // the OCSP responder reports the certificate as revoked, hence a validator call fails the verification
+        PowerMockito.mockStatic(OCSPValidator.class);
+        PowerMockito.when(OCSPValidator.getOCSPRevocationCheckResult(Mockito.any(X509Certificate.class),
+                        Mockito.any(X509Certificate.class), Mockito.anyInt(), Mockito.anyListOf(String.class),
+                        Mockito.anyBoolean(), Mockito.anyString(), Mockito.anyInt()))
+                .thenReturn(new RevocationCheckResult(RevocationStatus.REVOKED, null));
+
+        Assert.assertTrue(certValidationService.verify(eidasPeerCertificate, testPeerCertificateIssuer, 1,
+                5000, 5000, 5000));
+        Mockito.verify(knownCertificateRegistryMock).getPrefetchedResult(eidasPeerCertificate);
+        Mockito.verify(configParserMock, Mockito.never()).getCertificateRevocationValidators();
+    }
+
     @Test(description = "when invalid validator configured, then should return false")
     public void testVerifyWithInvalidValidator() throws Exception {
         Map<Integer, String> validators = new HashMap<>();
@@ -327,25 +363,25 @@ public class CertValidationServiceTest {
     @Test(description = "when valid certificate provided, then should return GOOD revocation status")
     public void testIsRevokedWithValidCert() throws Exception {
         OCSPValidator mockOCSPValidator = Mockito.mock(OCSPValidator.class);
-        Mockito.when(mockOCSPValidator.checkRevocationStatus(Mockito.any(X509Certificate.class),
-                Mockito.any(X509Certificate.class))).thenReturn(RevocationStatus.GOOD);
+        Mockito.when(mockOCSPValidator.checkRevocation(Mockito.any(X509Certificate.class),
+                Mockito.any(X509Certificate.class))).thenReturn(new RevocationCheckResult(RevocationStatus.GOOD, null));
 
-        RevocationStatus result = WhiteboxImpl.invokeMethod(this.certValidationService,
-                "isRevoked", mockOCSPValidator, eidasPeerCertificate, testPeerCertificateIssuer);
+        RevocationCheckResult result = WhiteboxImpl.invokeMethod(this.certValidationService,
+                "checkRevocation", mockOCSPValidator, eidasPeerCertificate, testPeerCertificateIssuer);
 
-        Assert.assertSame(result, RevocationStatus.GOOD);
+        Assert.assertSame(result.getStatus(), RevocationStatus.GOOD);
     }
 
     @Test(description = "when valid certificate provided, then should return UNKNOWN revocation status")
     public void testIsRevokedWithInvalidCert() throws Exception {
         OCSPValidator mockOCSPValidator = Mockito.mock(OCSPValidator.class);
-        Mockito.when(mockOCSPValidator.checkRevocationStatus(Mockito.any(X509Certificate.class),
+        Mockito.when(mockOCSPValidator.checkRevocation(Mockito.any(X509Certificate.class),
                 Mockito.any(X509Certificate.class))).thenThrow(CertificateValidationException.class);
 
-        RevocationStatus result = WhiteboxImpl.invokeMethod(this.certValidationService,
-                "isRevoked", mockOCSPValidator, eidasPeerCertificate, testPeerCertificateIssuer);
+        RevocationCheckResult result = WhiteboxImpl.invokeMethod(this.certValidationService,
+                "checkRevocation", mockOCSPValidator, eidasPeerCertificate, testPeerCertificateIssuer);
 
-        Assert.assertSame(result, RevocationStatus.UNKNOWN);
+        Assert.assertSame(result.getStatus(), RevocationStatus.UNKNOWN);
     }
 
 }
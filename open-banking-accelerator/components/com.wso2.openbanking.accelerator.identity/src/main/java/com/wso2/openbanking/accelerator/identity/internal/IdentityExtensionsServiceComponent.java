@@ -30,7 +30,10 @@ import com.wso2.openbanking.accelerator.identity.interceptor.OBIntrospectionData
 import com.wso2.openbanking.accelerator.identity.keyidprovider.OBKeyIDProvider;
 import com.wso2.openbanking.accelerator.identity.listener.TokenRevocationListener;
 import com.wso2.openbanking.accelerator.identity.listener.application.OBApplicationManagementListener;
+import com.wso2.openbanking.accelerator.identity.util.IdentityCommonConstants;
+import com.wso2.openbanking.accelerator.identity.util.IdentityCommonUtil;
 import com.wso2.openbanking.accelerator.throttler.service.OBThrottleService;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.BundleContext;
@@ -152,6 +155,14 @@ public class IdentityExtensionsServiceComponent {
     public void setConfigService(OpenBankingConfigurationService openBankingConfigurationService) {
 
         IdentityExtensionsDataHolder.getInstance().setOpenBankingConfigurationService(openBankingConfigurationService);
+        Object hmacSecret = openBankingConfigurationService.getConfigurations()
+                .get(IdentityCommonConstants.CONSENT_VALIDATION_HMAC_SECRET);
+        if (hmacSecret != null && StringUtils.isNotBlank(hmacSecret.toString()) &&
+                !IdentityCommonUtil.isValidHMACSecret(hmacSecret.toString())) {
+            log.error("Consent validation HMAC secret is shorter than " +
+                    IdentityCommonConstants.CONSENT_VALIDATION_HMAC_SECRET_MIN_LENGTH + " bytes required by HS256, " +
+                    "hence the HMAC signed consent validation requests are rejected");
+        }
     }
 
     public void unsetConfigService(OpenBankingConfigurationService openBankingConfigurationService) {
@@ -83,6 +83,10 @@ public class IdentityCommonConstants {
     public static final String ACCESS_TOKEN_ID = "accessTokenID";
     public static final String NOT_APPLICABLE = "N/A";
     public static final String CONSENT_JWT_PAYLOAD_VALIDATION = "Consent.Validation.JWTPayloadValidation";
+    public static final String CONSENT_VALIDATION_HMAC_SECRET = "Consent.Validation.HMACSecret";
+    public static final int CONSENT_VALIDATION_HMAC_SECRET_MIN_LENGTH = 32;
+    public static final String CONSENT_VALIDATION_TRUSTED_GATEWAY_CERT_ALIAS =
+            "Consent.Validation.TrustedGatewayCertificateAlias";
 
     public static final String S_HASH = "s_hash";
     public static final String CODE = "code";
@@ -24,6 +24,8 @@ import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.KeyLengthException;
+import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -343,6 +345,101 @@ public class IdentityCommonUtil {
                 .getOrDefault(IdentityCommonConstants.CONSENT_JWT_PAYLOAD_VALIDATION, true)));
     }
 
+    /**
+     * This method returns the configured secret to validate the HMAC signed consent validation requests.
+     * @return secret, or null if not configured or too short to validate HS256 signatures
+     */
+    public static String getConsentValidationHMACSecret() {
+        Object secret = IdentityExtensionsDataHolder.getInstance().getConfigurationMap()
+                .get(IdentityCommonConstants.CONSENT_VALIDATION_HMAC_SECRET);
+        return secret == null || !isValidHMACSecret(secret.toString()) ? null : secret.toString();
+    }
+
+    /**
+     * Check whether a secret can be used to validate the HS256 signatures, which require a secret of at least 256
+     * bits.
+     *
+     * @param secret shared secret
+     * @return true if the secret is not blank and has at least 32 bytes
+     */
+    public static boolean isValidHMACSecret(String secret) {
+
+        return StringUtils.isNotBlank(secret) && secret.getBytes(StandardCharsets.UTF_8).length >=
+                IdentityCommonConstants.CONSENT_VALIDATION_HMAC_SECRET_MIN_LENGTH;
+    }
+
+    /**
+     * Check whether a JWT is signed with a HMAC algorithm.
+     *
+     * @param jwtString JWT string
+     * @return true if the JWT is signed with HS256, HS384 or HS512
+     */
+    public static boolean isHMACSignedJWT(String jwtString) {
+
+        try {
+            return JWSAlgorithm.Family.HMAC_SHA.contains(SignedJWT.parse(jwtString).getHeader().getAlgorithm());
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validate the signature of a HMAC signed JWT with the shared secret.
+     *
+     * @param jwtString JWT string
+     * @param secret    shared secret
+     * @return true if the signature is valid
+     * @throws OpenBankingException if the JWT cannot be parsed
+     */
+    public static boolean validateJWTSignatureWithSecret(String jwtString, String secret)
+            throws OpenBankingException {
+
+        try {
+            JWSVerifier verifier = new MACVerifier(secret.getBytes(StandardCharsets.UTF_8));
+            return SignedJWT.parse(jwtString).verify(verifier);
+        } catch (KeyLengthException e) {
+            // a secret shorter than 256 bits cannot validate a HMAC signature, hence the signature is not valid
+            log.debug("Secret is too short to validate the JWT signature", e);
+            return false;
+        } catch (JOSEException | ParseException e) {
+            throw new OpenBankingException("Error occurred while validating JWT signature", e);
+        }
+    }
+
+    /**
+     * This method returns the trust store alias of the gateway certificate, which authenticates the unsigned consent
+     * validation requests of the gateways configured with the MTLS channel.
+     * @return alias, or null if not configured
+     */
+    public static String getConsentValidationTrustedGatewayCertAlias() {
+        Object alias = IdentityExtensionsDataHolder.getInstance().getConfigurationMap()
+                .get(IdentityCommonConstants.CONSENT_VALIDATION_TRUSTED_GATEWAY_CERT_ALIAS);
+        return alias == null || StringUtils.isBlank(alias.toString()) ? null : alias.toString();
+    }
+
+    /**
+     * Check whether the client certificate of a request is the trusted gateway certificate.
+     *
+     * @param certAttribute client certificate attribute of the request
+     * @return true if the client certificate matches the certificate of the configured alias in the trust store
+     * @throws OpenBankingException if the trust store cannot be loaded
+     */
+    public static boolean isTrustedGatewayCertificate(Object certAttribute) throws OpenBankingException {
+
+        String alias = getConsentValidationTrustedGatewayCertAlias();
+        X509Certificate clientCertificate = getCertificateFromAttribute(certAttribute);
+        if (alias == null || clientCertificate == null) {
+            return false;
+        }
+        Certificate trustedCertificate;
+        try {
+            trustedCertificate = getTrustStore().getCertificate(alias);
+        } catch (Exception e) {
+            throw new OpenBankingException("Error while retrieving certificate from truststore", e);
+        }
+        return clientCertificate.equals(trustedCertificate);
+    }
+
     /**
      * This method returns the configured JWK URI value of the transport certificate.
      * @return
@@ -18,8 +18,10 @@
 
 package com.wso2.openbanking.accelerator.consent.extensions.admin.impl;
 
+import com.wso2.openbanking.accelerator.common.caching.OpenBankingNearCache;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.exception.ConsentManagementException;
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
 import com.wso2.openbanking.accelerator.consent.extensions.admin.model.ConsentAdminData;
 import com.wso2.openbanking.accelerator.consent.extensions.admin.model.ConsentAdminHandler;
 import com.wso2.openbanking.accelerator.consent.extensions.common.ConsentException;
@@ -34,6 +36,7 @@ import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentStatusAuditRecord;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentCoreService;
+import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentSearchPage;
 import com.wso2.openbanking.accelerator.consent.mgt.service.constants.ConsentCoreServiceConstants;
 import com.wso2.openbanking.accelerator.event.notifications.service.handler.EventNotificationPersistenceServiceHandler;
 import net.minidev.json.JSONArray;
@@ -42,9 +45,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Consent admin handler default implementation.
@@ -53,6 +63,9 @@ public class DefaultConsentAdminHandler implements ConsentAdminHandler {
     private static final Log log = LogFactory.getLog(DefaultConsentAdminHandler.class);
     private static final String AUTHORISED = "authorised";
     private static final String FETCH_FROM_RETENTION_DB_QUERY_PARAM = "fetchFromRetentionDatabase";
+    private static final String CONTINUATION_TOKEN_QUERY_PARAM = "continuationToken";
+    private static final int MAX_CACHED_TOTAL_COUNTS = 1000;
+    private static volatile OpenBankingNearCache<String, Integer> totalCountCache;
 
     @Override
     public void handleSearch(ConsentAdminData consentAdminData) throws ConsentException {
@@ -125,12 +138,30 @@ public class DefaultConsentAdminHandler implements ConsentAdminHandler {
             fetchFromRetentionDatabase = Boolean.parseBoolean(validateAndGetQueryParam(queryParams,
                     FETCH_FROM_RETENTION_DB_QUERY_PARAM));
         }
+        // an empty continuation token requests the first page of a continuation token paginated search
+        String continuationToken = validateAndGetQueryParam(queryParams, CONTINUATION_TOKEN_QUERY_PARAM);
+        String nextContinuationToken = null;
         int count, total = 0;
 
         try {
-            ArrayList<DetailedConsentResource> results = ConsentExtensionsDataHolder.getInstance()
-                    .getConsentCoreService().searchDetailedConsents(consentIDs, clientIDs, consentTypes,
-                            consentStatuses, userIDs, fromTime, toTime, limit, offset, fetchFromRetentionDatabase);
+            ArrayList<DetailedConsentResource> results;
+            if (continuationToken != null) {
+                if (limit == null || limit <= 0) {
+                    limit = OpenBankingConfigParser.getInstance().getConsentSearchFetchSize();
+                }
+                offset = null;
+                ConsentSearchPage searchPage = ConsentExtensionsDataHolder.getInstance().getConsentCoreService()
+                        .searchDetailedConsents(consentIDs, clientIDs, consentTypes, consentStatuses, userIDs,
+                                fromTime, toTime, continuationToken, limit, fetchFromRetentionDatabase);
+                results = searchPage.getDetailedConsents();
+                nextContinuationToken = searchPage.getContinuationToken();
+                // the page size is capped, hence the effective limit is reported
+                limit = searchPage.getLimit();
+            } else {
+                results = ConsentExtensionsDataHolder.getInstance().getConsentCoreService().searchDetailedConsents(
+                        consentIDs, clientIDs, consentTypes, consentStatuses, userIDs, fromTime, toTime, limit,
+                        offset, fetchFromRetentionDatabase);
+            }
             JSONArray searchResults = new JSONArray();
             for (DetailedConsentResource result : results) {
                 searchResults.add(ConsentExtensionUtils.detailedConsentToJSON(result));
@@ -139,19 +170,17 @@ public class DefaultConsentAdminHandler implements ConsentAdminHandler {
             count = searchResults.size();
             total = results.size();
         } catch (ConsentManagementException e) {
+            // errors in decoding the continuation token are caused by illegal arguments
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw new ConsentException(ResponseStatus.BAD_REQUEST, e.getMessage());
+            }
             throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
 
         //retrieve the total of the data set queried
         if (limit != null || offset != null) {
-            try {
-                ArrayList<DetailedConsentResource> results = ConsentExtensionsDataHolder.getInstance()
-                        .getConsentCoreService().searchDetailedConsents(consentIDs, clientIDs, consentTypes,
-                                consentStatuses, userIDs, fromTime, toTime, null, null, fetchFromRetentionDatabase);
-                total = results.size();
-            } catch (ConsentManagementException e) {
-                throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, e.getMessage());
-            }
+            total = getTotalConsentCount(consentIDs, clientIDs, consentTypes, consentStatuses, userIDs, fromTime,
+                    toTime, fetchFromRetentionDatabase);
         }
 
         JSONObject metadata = new JSONObject();
@@ -159,12 +188,114 @@ public class DefaultConsentAdminHandler implements ConsentAdminHandler {
         metadata.appendField("offset", offset);
         metadata.appendField("limit", limit);
         metadata.appendField("total", total);
+        if (continuationToken != null) {
+            metadata.appendField(CONTINUATION_TOKEN_QUERY_PARAM, nextContinuationToken);
+        }
 
         response.appendField("metadata", metadata);
         consentAdminData.setResponseStatus(ResponseStatus.OK);
         consentAdminData.setResponsePayload(response);
     }
 
+    @Override
+    public void handleSearchExport(ConsentAdminData consentAdminData, OutputStream outputStream)
+            throws ConsentException {
+
+        Map queryParams = consentAdminData.getQueryParams();
+        boolean fetchFromRetentionDatabase = Boolean.parseBoolean(validateAndGetQueryParam(queryParams,
+                FETCH_FROM_RETENTION_DB_QUERY_PARAM));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try {
+            // each consent is written as a JSON object in a separate line
+            int exportedConsentCount = ConsentExtensionsDataHolder.getInstance().getConsentCoreService()
+                    .streamDetailedConsents(getListQueryParam(queryParams, "consentIDs"),
+                            getListQueryParam(queryParams, "clientIDs"),
+                            getListQueryParam(queryParams, "consentTypes"),
+                            getListQueryParam(queryParams, "consentStatuses"),
+                            getListQueryParam(queryParams, "userIDs"),
+                            getTimeQueryParam(queryParams, "fromTime"), getTimeQueryParam(queryParams, "toTime"),
+                            fetchFromRetentionDatabase,
+                            OpenBankingConfigParser.getInstance().getConsentSearchFetchSize(),
+                            detailedConsent -> {
+                                try {
+                                    writer.write(ConsentExtensionUtils.detailedConsentToJSON(detailedConsent)
+                                            .toJSONString());
+                                    writer.write('\n');
+                                } catch (IOException e) {
+                                    throw new ConsentManagementException("Error occurred while writing the " +
+                                            "consent search export", e);
+                                }
+                                return true;
+                            });
+            writer.flush();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Exported %d consents", exportedConsentCount));
+            }
+        } catch (ConsentManagementException | IOException e) {
+            log.error("Error occurred while exporting the consent search results", e);
+            throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the total number of consents matching the search. The total is cached for a short time, so that it is not
+     * counted again for each page while paging through the search results.
+     */
+    private int getTotalConsentCount(ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                                     ArrayList<String> consentTypes, ArrayList<String> consentStatuses,
+                                     ArrayList<String> userIDs, Long fromTime, Long toTime,
+                                     boolean fetchFromRetentionDatabase) throws ConsentException {
+
+        String cacheKey = String.join("|", String.valueOf(consentIDs), String.valueOf(clientIDs),
+                String.valueOf(consentTypes), String.valueOf(consentStatuses), String.valueOf(userIDs),
+                String.valueOf(fromTime), String.valueOf(toTime), String.valueOf(fetchFromRetentionDatabase));
+        try {
+            return getTotalCountCache().getOrLoad(cacheKey, () -> {
+                Integer totalCount = ConsentExtensionsDataHolder.getInstance().getConsentCoreService()
+                        .countDetailedConsents(consentIDs, clientIDs, consentTypes, consentStatuses, userIDs,
+                                fromTime, toTime, fetchFromRetentionDatabase);
+                getTotalCountCache().put(cacheKey, totalCount);
+                return totalCount;
+            });
+        } catch (OpenBankingException e) {
+            throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    private static OpenBankingNearCache<String, Integer> getTotalCountCache() {
+
+        if (totalCountCache == null) {
+            synchronized (DefaultConsentAdminHandler.class) {
+                if (totalCountCache == null) {
+                    totalCountCache = new OpenBankingNearCache<>(MAX_CACHED_TOTAL_COUNTS,
+                            OpenBankingConfigParser.getInstance().getConsentSearchTotalCountCacheExpiry(),
+                            TimeUnit.SECONDS, (cacheKey, totalCount) -> 1);
+                }
+            }
+        }
+        return totalCountCache;
+    }
+
+    private ArrayList<String> getListQueryParam(Map queryParams, String key) {
+
+        String value = validateAndGetQueryParam(queryParams, key);
+        return value == null ? null : new ArrayList<>(Arrays.asList(value.split(",")));
+    }
+
+    private Long getTimeQueryParam(Map queryParams, String key) {
+
+        String value = validateAndGetQueryParam(queryParams, key);
+        if (value != null) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                log.error("Number format incorrect in search for parameter " + key + ". Ignoring parameter");
+            }
+        }
+        return null;
+    }
+
     private String validateAndGetQueryParam(Map queryParams, String key) {
         if (queryParams.containsKey(key) && (((ArrayList) queryParams.get(key)).get(0) instanceof String)) {
             return (String) ((ArrayList) queryParams.get(key)).get(0);
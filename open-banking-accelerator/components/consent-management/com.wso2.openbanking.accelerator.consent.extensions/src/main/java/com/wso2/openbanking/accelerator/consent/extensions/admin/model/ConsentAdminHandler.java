@@ -19,6 +19,9 @@
 package com.wso2.openbanking.accelerator.consent.extensions.admin.model;
 
 import com.wso2.openbanking.accelerator.consent.extensions.common.ConsentException;
+import com.wso2.openbanking.accelerator.consent.extensions.common.ResponseStatus;
+
+import java.io.OutputStream;
 
 /**
  * Consent admin handler interface.
@@ -60,4 +63,19 @@ public interface ConsentAdminHandler {
      */
     public void handleConsentFileSearch(ConsentAdminData consentAdminData) throws ConsentException;
 
+    /**
+     * Method to handle the consent search export. The search results are written to the output stream as they are
+     * read, hence any number of consents can be exported.
+     * Added as a default method to overcome the issues of existing customers since this was added as an update.
+     *
+     * @param consentAdminData consentAdminData
+     * @param outputStream     output stream of the response
+     * @throws ConsentException thrown if any error occurs in the process
+     */
+    default void handleSearchExport(ConsentAdminData consentAdminData, OutputStream outputStream)
+            throws ConsentException {
+
+        throw new ConsentException(ResponseStatus.METHOD_NOT_ALLOWED, "Consent search export is not supported");
+    }
+
 }
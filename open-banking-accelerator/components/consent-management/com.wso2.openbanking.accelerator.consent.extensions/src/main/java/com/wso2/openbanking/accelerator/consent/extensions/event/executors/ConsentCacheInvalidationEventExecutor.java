@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.extensions.event.executors;
+
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedCacheConstants;
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedMember;
+import com.wso2.openbanking.accelerator.common.event.executor.OBEventExecutor;
+import com.wso2.openbanking.accelerator.common.event.executor.model.OBEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Map;
+
+/**
+ * Open banking event executor to invalidate the consent validation results cached at the gateways.
+ * Each consent state change, including the amendments and the revocations, is published to the consent
+ * invalidation topic of the distributed cache cluster, to which the gateway members are subscribed.
+ */
+public class ConsentCacheInvalidationEventExecutor implements OBEventExecutor {
+
+    private static final Log log = LogFactory.getLog(ConsentCacheInvalidationEventExecutor.class);
+
+    @Override
+    public void processEvent(OBEvent obEvent) {
+
+        Map<String, Object> eventData = obEvent.getEventData();
+        Object consentID = eventData == null ? null : eventData.get("ConsentId");
+        if (consentID == null) {
+            return;
+        }
+
+        OpenBankingDistributedMember distributedMember = OpenBankingDistributedMember.of();
+        if (!distributedMember.isEnabled()) {
+            log.debug("Distributed Caching is disabled, hence the consent validation results are not invalidated.");
+            return;
+        }
+        try {
+            distributedMember.publish(OpenBankingDistributedCacheConstants.CONSENT_INVALIDATION_TOPIC,
+                    consentID.toString());
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Published the invalidation of consentID: %s on state change: %s",
+                        consentID.toString().replaceAll("[\r\n]", ""), obEvent.getEventType()));
+            }
+        } catch (RuntimeException e) {
+            log.error("An error occurred while publishing the consent validation cache invalidation.", e);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigurationSe
 import com.wso2.openbanking.accelerator.consent.extensions.ciba.authenticator.CIBAPushAuthenticator;
 import com.wso2.openbanking.accelerator.consent.extensions.common.ConsentExtensionExporter;
 import com.wso2.openbanking.accelerator.consent.extensions.util.PeriodicalConsentJobActivator;
+import com.wso2.openbanking.accelerator.consent.extensions.util.scheduler.ConsentExpiryWheelScheduler;
 import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentCoreService;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -84,6 +85,7 @@ public class ConsentExtensionsComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        ConsentExpiryWheelScheduler.getInstance().stop();
         log.debug("Open banking Consent Extensions component is deactivated");
     }
 
@@ -22,6 +22,7 @@ package com.wso2.openbanking.accelerator.consent.extensions.util;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.consent.extensions.util.jobs.ExpiredConsentStatusUpdateJob;
 import com.wso2.openbanking.accelerator.consent.extensions.util.jobs.RetentionDatabaseSyncJob;
+import com.wso2.openbanking.accelerator.consent.extensions.util.scheduler.ConsentExpiryWheelScheduler;
 import com.wso2.openbanking.accelerator.consent.extensions.util.scheduler.PeriodicalConsentJobScheduler;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -74,6 +75,12 @@ public class PeriodicalConsentJobActivator {
             }
         }
 
+        if (OpenBankingConfigParser.getInstance().isConsentExpiryIndexEnabled()) {
+            // consents are expired close to their expiry time, while the periodical job reads only the expired
+            // consents to cover any missed ones
+            ConsentExpiryWheelScheduler.getInstance().start();
+        }
+
         if (OpenBankingConfigParser.getInstance().isRetentionDataDBSyncEnabled() &&
                 OpenBankingConfigParser.getInstance().isConsentDataRetentionEnabled()) {
             JobDetail job = newJob(RetentionDatabaseSyncJob.class)
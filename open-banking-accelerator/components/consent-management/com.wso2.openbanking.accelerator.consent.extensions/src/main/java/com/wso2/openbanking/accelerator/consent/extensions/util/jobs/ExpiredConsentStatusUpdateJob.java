@@ -23,6 +23,7 @@ import com.wso2.openbanking.accelerator.common.exception.ConsentManagementExcept
 import com.wso2.openbanking.accelerator.consent.extensions.internal.ConsentExtensionsDataHolder;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.constants.ConsentMgtDAOConstants;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentHistoryResource;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentCoreService;
 import com.wso2.openbanking.accelerator.consent.mgt.service.constants.ConsentCoreServiceConstants;
@@ -35,7 +36,14 @@ import org.quartz.JobExecutionException;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled Task to read and update expired consents in the DB
@@ -43,6 +51,11 @@ import java.util.Map;
  * 2) Check if expired, and collect expired consents
  * 3) Update the expired statues in DB
  * 4) Notify state change to relevant handler.
+ *
+ * When the bulk update is enabled, only the expired consents are read page by page, where the expiry time is compared
+ * in the database. Each page is updated as a chunk in a single transaction using batch statements and the chunks are
+ * updated in parallel on a bounded pool. The bulk update is also used when the consent expiry index is enabled, as the
+ * job then only picks up the consents missed by the expiry scheduler.
  */
 @DisallowConcurrentExecution
 public class ExpiredConsentStatusUpdateJob implements Job {
@@ -74,6 +87,12 @@ public class ExpiredConsentStatusUpdateJob implements Job {
     public static void updateExpiredStatues() throws ConsentManagementException {
 
         log.debug("Expired Consent Status Update Scheduled Task is executing.");
+        OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
+        if (configParser.isConsentBulkExpirationEnabled() || configParser.isConsentExpiryIndexEnabled()) {
+            updateExpiredStatuesInBulk();
+            log.debug("Expired Consent Status Update Scheduled Task is finished.");
+            return;
+        }
         // get consents which has a expiry time attribute
         ArrayList<DetailedConsentResource> consentsEligibleForExpiration =
                 ConsentExtensionsDataHolder.getInstance().getConsentCoreService()
@@ -90,6 +109,89 @@ public class ExpiredConsentStatusUpdateJob implements Job {
         log.debug("Expired Consent Status Update Scheduled Task is finished.");
     }
 
+    /**
+     * Method to update statues of expired consents in chunks. Pages of expired consents are read using the last
+     * consent ID of the previous page and handed to a bounded pool. When all workers are busy and the queue is full,
+     * the reading thread updates the chunk itself, which limits the number of pages held in memory.
+     */
+    public static void updateExpiredStatuesInBulk() throws ConsentManagementException {
+
+        OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
+        int chunkSize = Math.max(1, configParser.getConsentBulkExpirationChunkSize());
+        int parallelism = Math.max(1, configParser.getConsentBulkExpirationParallelism());
+        boolean storeAmendmentHistory = configParser.isConsentAmendmentHistoryEnabled();
+        ConsentCoreService consentCoreService = ConsentExtensionsDataHolder.getInstance().getConsentCoreService();
+        long expiryTime = Instant.now().getEpochSecond();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism), runnable -> {
+                    Thread thread = new Thread(runnable, "ob-consent-expiry-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        List<Future<Integer>> chunkResults = new ArrayList<>();
+        int expiredConsentCount = 0;
+        try {
+            String lastConsentID = null;
+            ArrayList<ConsentResource> expiredConsents;
+            do {
+                expiredConsents = consentCoreService.getExpiredConsents(expirationEligibleConsentStatuses, expiryTime,
+                        lastConsentID, chunkSize);
+                if (expiredConsents.isEmpty()) {
+                    break;
+                }
+                expiredConsentCount += expiredConsents.size();
+                lastConsentID = expiredConsents.get(expiredConsents.size() - 1).getConsentID();
+                ArrayList<ConsentResource> chunk = expiredConsents;
+                chunkResults.add(executor.submit(() -> updateExpiredConsentChunk(consentCoreService, chunk,
+                        storeAmendmentHistory)));
+            } while (expiredConsents.size() == chunkSize);
+
+            int updatedConsentCount = 0;
+            for (Future<Integer> chunkResult : chunkResults) {
+                updatedConsentCount += chunkResult.get();
+            }
+            log.info(String.format("Expired status updated for %d of %d expired consents", updatedConsentCount,
+                    expiredConsentCount));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConsentManagementException("Interrupted while updating status for expired consents", e);
+        } catch (ExecutionException e) {
+            throw new ConsentManagementException("Error occurred while updating status for expired consents",
+                    e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Update the statuses of a chunk of expired consents in a single transaction.
+     *
+     * @param consentCoreService    consent core service
+     * @param expiredConsents       expired consents of the chunk
+     * @param storeAmendmentHistory whether to store the previous status in the consent history
+     * @return number of updated consents
+     */
+    private static int updateExpiredConsentChunk(ConsentCoreService consentCoreService,
+                                                 ArrayList<ConsentResource> expiredConsents,
+                                                 boolean storeAmendmentHistory) {
+
+        try {
+            ArrayList<String> updatedConsentIds = consentCoreService.updateExpiredConsentStatuses(expiredConsents,
+                    expiredConsentStatus, storeAmendmentHistory);
+            if (log.isDebugEnabled()) {
+                log.debug("Expired status updated for consents : " + updatedConsentIds);
+            }
+            return updatedConsentIds.size();
+        } catch (ConsentManagementException e) {
+            log.error(String.format("Error occurred while updating status for %d expired consents starting from " +
+                    "consentId : %s", expiredConsents.size(), expiredConsents.get(0).getConsentID()), e);
+            return 0;
+        }
+    }
+
     /**
      * Check if the consents is expired based on the consent attribute value.
      *
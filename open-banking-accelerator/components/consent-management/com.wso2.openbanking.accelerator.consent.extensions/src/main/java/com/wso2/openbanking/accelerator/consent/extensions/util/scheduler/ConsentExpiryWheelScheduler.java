@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.extensions.util.scheduler;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.common.exception.ConsentManagementException;
+import com.wso2.openbanking.accelerator.consent.extensions.internal.ConsentExtensionsDataHolder;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentResource;
+import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentCoreService;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduler to expire consents close to their expiry time using the consent expiry index.
+ * 1) Load the index entries which fall due within the next load intervals.
+ * 2) Schedule the loaded entries in a hierarchical timing wheel, which is advanced every second.
+ * 3) Expire the consents of the entries which fall due in chunks, and remove them from the index.
+ *
+ * Only the index entries which are about to fall due are read, hence the cost of a tick depends on the number of
+ * expiring consents rather than on the number of consents with an expiry time. The index entries of consents which
+ * failed to expire are kept and loaded again in the next load interval.
+ */
+public class ConsentExpiryWheelScheduler {
+
+    private static final Log log = LogFactory.getLog(ConsentExpiryWheelScheduler.class);
+    private static final long TICK_DURATION_SECONDS = 1;
+    private static final int WHEEL_SIZE = 60;
+    // Oracle only allows 1000 values to be used in a SQL "IN" clause
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    private static volatile ConsentExpiryWheelScheduler instance;
+
+    private final Map<String, Long> scheduledExpiryTimes = new HashMap<>();
+    private HierarchicalTimingWheel<String> timingWheel;
+    private ScheduledExecutorService executor;
+    private ConsentCoreService consentCoreService;
+    private String expiredConsentStatus;
+    private Set<String> eligibleStatuses;
+    private boolean storeAmendmentHistory;
+    private int chunkSize;
+    private int loadInterval;
+    private int loadLimit;
+    private long nextLoadTime;
+
+    private ConsentExpiryWheelScheduler() {
+
+    }
+
+    /**
+     * Get an instance of the ConsentExpiryWheelScheduler. It implements a double checked locking initialization.
+     *
+     * @return ConsentExpiryWheelScheduler instance
+     */
+    public static ConsentExpiryWheelScheduler getInstance() {
+
+        if (instance == null) {
+            synchronized (ConsentExpiryWheelScheduler.class) {
+                if (instance == null) {
+                    instance = new ConsentExpiryWheelScheduler();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start the scheduler. If configured, the consent expiry index is rebuilt from the consent attributes first.
+     */
+    public synchronized void start() {
+
+        if (executor != null) {
+            return;
+        }
+        OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
+        consentCoreService = ConsentExtensionsDataHolder.getInstance().getConsentCoreService();
+        expiredConsentStatus = configParser.getStatusWordingForExpiredConsents();
+        eligibleStatuses = Arrays.stream(configParser.getEligibleStatusesForConsentExpiry().split(","))
+                .filter(status -> !status.isEmpty())
+                .collect(Collectors.toSet());
+        storeAmendmentHistory = configParser.isConsentAmendmentHistoryEnabled();
+        chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(1, configParser.getConsentBulkExpirationChunkSize()));
+        loadInterval = Math.max(1, configParser.getConsentExpiryIndexLoadInterval());
+        loadLimit = Math.max(1, configParser.getConsentExpiryIndexLoadLimit());
+
+        if (configParser.isConsentExpiryIndexRebuildOnStartupEnabled()) {
+            try {
+                int indexedConsentCount = consentCoreService.rebuildConsentExpiryIndex();
+                log.info(String.format("Consent expiry index rebuilt with %d consents", indexedConsentCount));
+            } catch (ConsentManagementException e) {
+                log.error("Error occurred while rebuilding the consent expiry index", e);
+            }
+        }
+
+        timingWheel = new HierarchicalTimingWheel<>(TICK_DURATION_SECONDS, WHEEL_SIZE,
+                Instant.now().getEpochSecond());
+        nextLoadTime = 0;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ob-consent-expiry-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, 0, TICK_DURATION_SECONDS, TimeUnit.SECONDS);
+        if (log.isDebugEnabled()) {
+            log.debug("Consent expiry wheel scheduler started with load interval : " + loadInterval);
+        }
+    }
+
+    /**
+     * Stop the scheduler.
+     */
+    public synchronized void stop() {
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            scheduledExpiryTimes.clear();
+        }
+    }
+
+    /**
+     * Advance the timing wheel to the current time and expire the consents which fell due. Runs on the single
+     * scheduler thread.
+     */
+    private void tick() {
+
+        try {
+            long currentTime = Instant.now().getEpochSecond();
+            Set<String> dueConsentIDs = new LinkedHashSet<>();
+            if (currentTime >= nextLoadTime) {
+                loadDueIndexEntries(currentTime, dueConsentIDs);
+                nextLoadTime = currentTime + loadInterval;
+            }
+            for (String consentID : timingWheel.advanceClock(currentTime)) {
+                // entries of consents whose expiry time was amended after they were scheduled are skipped
+                Long expiryTime = scheduledExpiryTimes.get(consentID);
+                if (expiryTime != null && expiryTime <= currentTime) {
+                    dueConsentIDs.add(consentID);
+                }
+            }
+            if (!dueConsentIDs.isEmpty()) {
+                expireConsents(new ArrayList<>(dueConsentIDs), currentTime);
+            }
+        } catch (ConsentManagementException | RuntimeException e) {
+            // the exception is not propagated since it would suppress the subsequent ticks
+            log.error("Error occurred while expiring indexed consents", e);
+        }
+    }
+
+    private void loadDueIndexEntries(long currentTime, Set<String> dueConsentIDs) throws ConsentManagementException {
+
+        // entries due within two load intervals are loaded, so that none fall due before the next load
+        Map<String, Long> dueIndexEntries = consentCoreService.getConsentExpiryIndexEntries(
+                currentTime + 2L * loadInterval, loadLimit);
+        for (Map.Entry<String, Long> indexEntry : dueIndexEntries.entrySet()) {
+            Long scheduledExpiryTime = scheduledExpiryTimes.put(indexEntry.getKey(), indexEntry.getValue());
+            if (scheduledExpiryTime != null && scheduledExpiryTime.equals(indexEntry.getValue())) {
+                continue;
+            }
+            if (!timingWheel.add(indexEntry.getKey(), indexEntry.getValue())) {
+                dueConsentIDs.add(indexEntry.getKey());
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Loaded %d consent expiry index entries, %d consents are scheduled",
+                    dueIndexEntries.size(), timingWheel.size()));
+        }
+    }
+
+    private void expireConsents(List<String> dueConsentIDs, long currentTime) {
+
+        for (int fromIndex = 0; fromIndex < dueConsentIDs.size(); fromIndex += chunkSize) {
+            ArrayList<String> chunkConsentIDs = new ArrayList<>(dueConsentIDs.subList(fromIndex,
+                    Math.min(fromIndex + chunkSize, dueConsentIDs.size())));
+            try {
+                // consents whose expiry time was amended to a later time are not returned
+                ArrayList<ConsentResource> dueConsents = consentCoreService.getIndexedExpiredConsents(
+                        chunkConsentIDs, currentTime);
+                ArrayList<ConsentResource> expiredConsents = dueConsents.stream()
+                        .filter(consent -> eligibleStatuses.contains(consent.getCurrentStatus()))
+                        .collect(Collectors.toCollection(ArrayList::new));
+                ArrayList<String> updatedConsentIDs = consentCoreService.updateExpiredConsentStatuses(
+                        expiredConsents, expiredConsentStatus, storeAmendmentHistory);
+
+                // due consents which are not eligible for expiration are removed from the index as well
+                consentCoreService.deleteConsentExpiryIndexEntries(dueConsents.stream()
+                        .map(ConsentResource::getConsentID)
+                        .collect(Collectors.toCollection(ArrayList::new)));
+                if (log.isDebugEnabled()) {
+                    log.debug("Expired status updated for consents : " + updatedConsentIDs);
+                }
+            } catch (ConsentManagementException e) {
+                log.error(String.format("Error occurred while updating status for %d indexed expired consents " +
+                        "starting from consentId : %s", chunkConsentIDs.size(), chunkConsentIDs.get(0)), e);
+            } finally {
+                // failed entries are scheduled again once they are loaded from the index
+                chunkConsentIDs.forEach(scheduledExpiryTimes::remove);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.extensions.util.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel which schedules items against an expiry time.
+ * Each wheel has a fixed number of buckets spanning a tick each. Items beyond the span of a wheel are kept in an
+ * overflow wheel whose tick is the span of the lower wheel, and are cascaded down to the lower wheel as the clock
+ * advances. Hence adding an item and advancing the clock by a tick do not depend on the number of scheduled items.
+ * This class is not thread safe.
+ *
+ * @param <T> type of the scheduled items
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickDuration;
+    private final int wheelSize;
+    private final long interval;
+    private final List<List<TimerEntry<T>>> buckets;
+    private long currentTime;
+    private HierarchicalTimingWheel<T> overflowWheel;
+    private int size;
+
+    /**
+     * Create a timing wheel.
+     *
+     * @param tickDuration duration of a bucket, in the same unit as the expiry times
+     * @param wheelSize    number of buckets in each wheel
+     * @param startTime    time to start the clock from
+     */
+    public HierarchicalTimingWheel(long tickDuration, int wheelSize, long startTime) {
+
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size should be positive");
+        }
+        this.tickDuration = tickDuration;
+        this.wheelSize = wheelSize;
+        this.interval = tickDuration * wheelSize;
+        this.currentTime = startTime - (startTime % tickDuration);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedule an item.
+     *
+     * @param item       item to schedule
+     * @param expiryTime time at which the item falls due
+     * @return false if the item is already due, in which case it is not scheduled
+     */
+    public boolean add(T item, long expiryTime) {
+
+        if (place(new TimerEntry<>(item, expiryTime))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Advance the clock to the given time.
+     *
+     * @param time time to advance the clock to
+     * @return the items which fell due on or before the given time
+     */
+    public List<T> advanceClock(long time) {
+
+        List<T> dueItems = new ArrayList<>();
+        for (TimerEntry<T> entry : advance(time)) {
+            dueItems.add(entry.item);
+        }
+        size -= dueItems.size();
+        return dueItems;
+    }
+
+    /**
+     * Returns the number of scheduled items.
+     *
+     * @return number of scheduled items
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Returns the current time of the clock, rounded down to the tick duration.
+     *
+     * @return current time of the clock
+     */
+    public long getCurrentTime() {
+
+        return currentTime;
+    }
+
+    private boolean place(TimerEntry<T> entry) {
+
+        if (entry.expiryTime < currentTime + tickDuration) {
+            return false;
+        }
+        if (entry.expiryTime < currentTime + interval) {
+            buckets.get(getBucketIndex(entry.expiryTime)).add(entry);
+        } else {
+            if (overflowWheel == null) {
+                overflowWheel = new HierarchicalTimingWheel<>(interval, wheelSize, currentTime);
+            }
+            overflowWheel.place(entry);
+        }
+        return true;
+    }
+
+    private List<TimerEntry<T>> advance(long time) {
+
+        List<TimerEntry<T>> dueEntries = new ArrayList<>();
+        while (time >= currentTime + tickDuration) {
+            currentTime += tickDuration;
+            // entries of the overflow wheel which fall within the span of this wheel are cascaded down
+            if (overflowWheel != null) {
+                for (TimerEntry<T> entry : overflowWheel.advance(currentTime)) {
+                    if (!place(entry)) {
+                        dueEntries.add(entry);
+                    }
+                }
+            }
+            int bucketIndex = getBucketIndex(currentTime);
+            List<TimerEntry<T>> bucket = buckets.get(bucketIndex);
+            if (!bucket.isEmpty()) {
+                buckets.set(bucketIndex, new ArrayList<>());
+                for (TimerEntry<T> entry : bucket) {
+                    if (!place(entry)) {
+                        dueEntries.add(entry);
+                    }
+                }
+            }
+        }
+        return dueEntries;
+    }
+
+    private int getBucketIndex(long time) {
+
+        return (int) ((time / tickDuration) % wheelSize);
+    }
+
+    private static final class TimerEntry<T> {
+
+        private final T item;
+        private final long expiryTime;
+
+        private TimerEntry(T item, long expiryTime) {
+
+            this.item = item;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.extensions.util.scheduler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for HierarchicalTimingWheel.
+ */
+public class HierarchicalTimingWheelTests {
+
+    private static final long START_TIME = 1000L;
+
+    @Test
+    public void testItemFallsDueAtExpiryTime() {
+
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1, 10, START_TIME);
+
+        Assert.assertTrue(timingWheel.add("consent1", START_TIME + 5));
+        Assert.assertEquals(timingWheel.size(), 1);
+        Assert.assertTrue(timingWheel.advanceClock(START_TIME + 4).isEmpty());
+        Assert.assertEquals(timingWheel.advanceClock(START_TIME + 5).get(0), "consent1");
+        Assert.assertEquals(timingWheel.size(), 0);
+    }
+
+    @Test
+    public void testAddDueItem() {
+
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1, 10, START_TIME);
+
+        Assert.assertFalse(timingWheel.add("consent1", START_TIME));
+        Assert.assertFalse(timingWheel.add("consent2", START_TIME - 100));
+        Assert.assertEquals(timingWheel.size(), 0);
+    }
+
+    @Test
+    public void testItemsBeyondWheelSpanCascadeDown() {
+
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1, 10, START_TIME);
+
+        timingWheel.add("consent1", START_TIME + 25);
+        timingWheel.add("consent2", START_TIME + 250);
+        timingWheel.add("consent3", START_TIME + 3);
+
+        List<String> dueItems = new ArrayList<>();
+        for (long time = START_TIME + 1; time <= START_TIME + 300; time++) {
+            List<String> itemsDueNow = timingWheel.advanceClock(time);
+            if (time == START_TIME + 3 || time == START_TIME + 25 || time == START_TIME + 250) {
+                Assert.assertEquals(itemsDueNow.size(), 1);
+            } else {
+                Assert.assertTrue(itemsDueNow.isEmpty());
+            }
+            dueItems.addAll(itemsDueNow);
+        }
+        Assert.assertEquals(dueItems.get(0), "consent3");
+        Assert.assertEquals(dueItems.get(1), "consent1");
+        Assert.assertEquals(dueItems.get(2), "consent2");
+        Assert.assertEquals(timingWheel.size(), 0);
+    }
+
+    @Test
+    public void testAdvanceClockOverMultipleTicks() {
+
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(1, 10, START_TIME);
+
+        timingWheel.add("consent1", START_TIME + 2);
+        timingWheel.add("consent2", START_TIME + 15);
+        timingWheel.add("consent3", START_TIME + 500);
+
+        List<String> dueItems = timingWheel.advanceClock(START_TIME + 100);
+        Assert.assertEquals(dueItems.size(), 2);
+        Assert.assertTrue(dueItems.contains("consent1"));
+        Assert.assertTrue(dueItems.contains("consent2"));
+        Assert.assertEquals(timingWheel.size(), 1);
+        Assert.assertEquals(timingWheel.getCurrentTime(), START_TIME + 100);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidWheelSize() {
+
+        new HierarchicalTimingWheel<String>(1, 0, START_TIME);
+    }
+}
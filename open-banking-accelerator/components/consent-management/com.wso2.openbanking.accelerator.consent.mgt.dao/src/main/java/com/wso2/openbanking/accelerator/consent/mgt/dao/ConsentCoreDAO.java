@@ -34,6 +34,7 @@ import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentRe
 
 import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -222,6 +223,20 @@ public interface ConsentCoreDAO {
     Map<String, String> getConsentAttributesByName(Connection connection, String attributeName)
             throws OBConsentDataRetrievalException;
 
+    /**
+     * This method is used to retrieve a page of the consent attributes with the given attribute name, ordered by the
+     * consent ID.
+     *
+     * @param connection connection object
+     * @param attributeName attribute name
+     * @param lastConsentID consent ID after which the attributes are fetched, null to fetch from the beginning
+     * @param limit maximum number of attributes to fetch
+     * @return a map with the consent ID and the related attribute value, in the order of the consent ID
+     * @throws OBConsentDataRetrievalException thrown if any error occurs in the process
+     */
+    Map<String, String> getConsentAttributesByName(Connection connection, String attributeName, String lastConsentID,
+                                                   int limit) throws OBConsentDataRetrievalException;
+
     /**
      * This method is used to retrieve consent id using the attribute name and value.
      *
@@ -451,6 +466,131 @@ public interface ConsentCoreDAO {
                                                            String statusesEligibleForExpiration)
             throws OBConsentDataRetrievalException;
 
+    /**
+     * This method is used to fetch a page of consents whose expiry time attribute is on or before the given time.
+     * Consents are ordered by the consent ID, so the next page can be fetched by passing the last consent ID of the
+     * current page. Only the basic consent data is returned.
+     *
+     * @param connection connection object
+     * @param statusesEligibleForExpiration comma separated statuses eligible for expiration
+     * @param expiryTime expiry time in seconds to compare the expiry time attribute with
+     * @param lastConsentID consent ID after which the consents are fetched, null to fetch from the beginning
+     * @param limit maximum number of consents to fetch
+     * @return list of expired consent resources
+     * @throws OBConsentDataRetrievalException thrown if any error occurs in the process
+     */
+    ArrayList<ConsentResource> getExpiredConsents(Connection connection, String statusesEligibleForExpiration,
+                                                  long expiryTime, String lastConsentID, int limit)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to retrieve the authorization resources of a set of consents in a single query.
+     *
+     * @param connection connection object
+     * @param consentIDs list of consent IDs
+     * @return map of consent ID to the authorization resources of the consent
+     * @throws OBConsentDataRetrievalException thrown if any error occurs in the process
+     */
+    Map<String, ArrayList<AuthorizationResource>> getAuthorizationResourcesByConsentIds(Connection connection,
+                                                                                       List<String> consentIDs)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to update the status of a set of consents in a single batch. A consent is only updated if
+     * its status is still the current status of the given consent resource.
+     *
+     * @param connection connection object
+     * @param consentResources consent resources with the consent ID and the current status
+     * @param newConsentStatus new status of the consents
+     * @param updatedTime updated time in seconds
+     * @return IDs of the updated consents
+     * @throws OBConsentDataUpdationException thrown if any error occurs in the process
+     */
+    ArrayList<String> updateConsentStatuses(Connection connection, List<ConsentResource> consentResources,
+                                            String newConsentStatus, long updatedTime)
+            throws OBConsentDataUpdationException;
+
+    /**
+     * This method is used to store a set of consent status audit records in a single batch.
+     *
+     * @param connection connection object
+     * @param consentStatusAuditRecords consent status audit records to store
+     * @return true if insertion successful
+     * @throws OBConsentDataInsertionException thrown if any error occurs in the process
+     */
+    boolean storeConsentStatusAuditRecords(Connection connection,
+                                           List<ConsentStatusAuditRecord> consentStatusAuditRecords)
+            throws OBConsentDataInsertionException;
+
+    /**
+     * This method is used to store the amendment history of a set of consents in a single batch. The consent ID of
+     * each history resource is used as the record ID and the changed attributes map is stored as the changed values.
+     *
+     * @param connection connection object
+     * @param consentHistoryResources consent history resources to store
+     * @param consentDataType The consent data type stored in the history records
+     * @return true if insertion successful
+     * @throws OBConsentDataInsertionException thrown if any error occurs in the process
+     */
+    boolean storeConsentAmendmentHistories(Connection connection, List<ConsentHistoryResource> consentHistoryResources,
+                                           String consentDataType)
+            throws OBConsentDataInsertionException;
+
+    /**
+     * This method is used to store or replace the consent expiry index entries of the given consents.
+     *
+     * @param connection connection object
+     * @param consentExpiryTimes map of consent IDs and their expiry times in epoch seconds
+     * @return true if insertion successful
+     * @throws OBConsentDataInsertionException thrown if any error occurs in the process
+     */
+    boolean storeConsentExpiryIndexEntries(Connection connection, Map<String, Long> consentExpiryTimes)
+            throws OBConsentDataInsertionException;
+
+    /**
+     * This method is used to delete the consent expiry index entries of the given consents.
+     *
+     * @param connection connection object
+     * @param consentIDs consent IDs to remove from the index
+     * @throws OBConsentDataDeletionException thrown if any error occurs in the process
+     */
+    void deleteConsentExpiryIndexEntries(Connection connection, List<String> consentIDs)
+            throws OBConsentDataDeletionException;
+
+    /**
+     * This method is used to delete all the consent expiry index entries.
+     *
+     * @param connection connection object
+     * @throws OBConsentDataDeletionException thrown if any error occurs in the process
+     */
+    void deleteAllConsentExpiryIndexEntries(Connection connection) throws OBConsentDataDeletionException;
+
+    /**
+     * This method is used to get the consent expiry index entries which are due on or before the given time.
+     *
+     * @param connection connection object
+     * @param expiryTime upper bound of the expiry time in epoch seconds
+     * @param limit maximum number of entries to return
+     * @return map of consent IDs and expiry times ordered by the expiry time
+     * @throws OBConsentDataRetrievalException thrown if any error occurs in the process
+     */
+    Map<String, Long> getConsentExpiryIndexEntries(Connection connection, long expiryTime, int limit)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to get the given consents if their indexed expiry time is on or before the given time.
+     * Oracle only allows 1000 values in an "IN" clause, hence callers should limit the number of consent IDs.
+     *
+     * @param connection connection object
+     * @param consentIDs consent IDs to check
+     * @param expiryTime the current time in epoch seconds
+     * @return the consents which are due for expiration, ordered by the consent ID
+     * @throws OBConsentDataRetrievalException thrown if any error occurs in the process
+     */
+    ArrayList<ConsentResource> getIndexedExpiredConsents(Connection connection, List<String> consentIDs,
+                                                         long expiryTime)
+            throws OBConsentDataRetrievalException;
+
     /**
      * This method is used to delete the consent details completely from consent database.
      * This include deletion of consent attributes, auth resources, consent mappings, audit records and consent file.
@@ -491,4 +631,188 @@ public interface ConsentCoreDAO {
                                                                                 Integer limit, Integer offset,
                                                                                 boolean fetchFromRetentionTable)
             throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to retrieve a page of consent_ids in consent table, ordered by the consent_id.
+     *
+     * @param connection connection object
+     * @param fetchFromRetentionTable boolean value to fetch from retention tables (temporary purged data)
+     * @param lastConsentID consent_id to retrieve the consent_ids after, null to retrieve from the beginning
+     * @param limit maximum number of consent_ids to retrieve
+     * @return returns a list of consent_ids in consent table.
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    ArrayList<String> getListOfConsentIds(Connection connection, boolean fetchFromRetentionTable,
+                                          String lastConsentID, int limit)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to retrieve the detailed consent resources of a set of consents. The consent data is read
+     * with a query per consent table and mapped to the consents, instead of a joined query per consent.
+     *
+     * @param connection connection object
+     * @param consentIDs list of consent IDs
+     * @param fetchFromRetentionTable boolean value to fetch from retention tables (temporary purged data)
+     * @return detailed consent resources of the consents which exist, in the order of the given consent IDs
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    ArrayList<DetailedConsentResource> getDetailedConsentResources(Connection connection, List<String> consentIDs,
+                                                                   boolean fetchFromRetentionTable)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to retrieve the consent files of a set of consents.
+     *
+     * @param connection connection object
+     * @param consentIDs list of consent IDs
+     * @param fetchFromRetentionTable boolean value to fetch from retention tables (temporary purged data)
+     * @return consent files of the consents which have a consent file
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    ArrayList<ConsentFile> getConsentFiles(Connection connection, List<String> consentIDs,
+                                           boolean fetchFromRetentionTable)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to store a set of detailed consent resources with JDBC batches. The consent resources,
+     * attributes, authorization resources and account mappings are stored as they are, including their IDs and
+     * timestamps.
+     *
+     * @param connection connection object
+     * @param detailedConsentResources detailed consent resources to store
+     * @return true if insertion successful
+     * @throws OBConsentDataInsertionException thrown if any error occurs in the process
+     */
+    boolean storeDetailedConsentResources(Connection connection,
+                                          List<DetailedConsentResource> detailedConsentResources)
+            throws OBConsentDataInsertionException;
+
+    /**
+     * This method is used to store a set of consent files in a single batch.
+     *
+     * @param connection connection object
+     * @param consentFiles consent files to store
+     * @return true if insertion successful
+     * @throws OBConsentDataInsertionException thrown if any error occurs in the process
+     */
+    boolean storeConsentFiles(Connection connection, List<ConsentFile> consentFiles)
+            throws OBConsentDataInsertionException;
+
+    /**
+     * This method is used to delete the consent details of a set of consents completely from consent database.
+     * This include deletion of consent attributes, auth resources, consent mappings, audit records and consent file.
+     *
+     * @param connection connection object
+     * @param consentIDs list of consent IDs
+     * @param executeOnRetentionTables boolean value to execute query on retention tables (temporary purged data)
+     * @return number of deleted consents
+     * @throws OBConsentDataDeletionException thrown if a database error occurs
+     */
+    int bulkDeleteConsentData(Connection connection, List<String> consentIDs, boolean executeOnRetentionTables)
+            throws OBConsentDataDeletionException;
+
+    /**
+     * This method is used to store the consent_ids which are synced to the retention database, in the retention
+     * database. The checkpoint is stored in the same transaction as the synced data, hence the consent_ids in the
+     * checkpoint are the synced consents whose retention data may not have been deleted from the consent database.
+     *
+     * @param connection retention database connection object
+     * @param consentIDs list of synced consent IDs
+     * @throws OBConsentDataInsertionException thrown if any error occurs in the process
+     */
+    void storeRetentionSyncCheckpoint(Connection connection, List<String> consentIDs)
+            throws OBConsentDataInsertionException;
+
+    /**
+     * This method is used to retrieve the consent_ids in the retention sync checkpoint.
+     *
+     * @param connection retention database connection object
+     * @return list of consent IDs in the checkpoint
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    ArrayList<String> getRetentionSyncCheckpoint(Connection connection) throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to clear the retention sync checkpoint.
+     *
+     * @param connection retention database connection object
+     * @throws OBConsentDataDeletionException thrown if a database error occurs
+     */
+    void deleteRetentionSyncCheckpoint(Connection connection) throws OBConsentDataDeletionException;
+
+    /**
+     * This method is used to search a page of consents for the given lists of parameters, with keyset pagination on
+     * the updated time and the consent ID. The consents are ordered by the updated time and the consent ID in
+     * descending order. The next page is read by passing the updated time and the consent ID of the last consent of
+     * the current page. The search conditions are the same as the conditions of the searchConsents method.
+     *
+     * @param connection      connection object
+     * @param consentIDs      consent IDs optional list
+     * @param clientIDs       client IDs optional list
+     * @param consentTypes    consent types optional list
+     * @param consentStatuses consent statuses optional list
+     * @param userIDs         user IDs optional list
+     * @param fromTime        from time
+     * @param toTime          to time
+     * @param lastUpdatedTime updated time of the last consent of the previous page, null for the first page
+     * @param lastConsentID   consent ID of the last consent of the previous page, null for the first page
+     * @param limit           maximum number of consents in the page
+     * @return map of consent IDs to updated times of the consents in the page, in the order of the page
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    LinkedHashMap<String, Long> searchConsentIDs(Connection connection, ArrayList<String> consentIDs,
+                                                 ArrayList<String> clientIDs, ArrayList<String> consentTypes,
+                                                 ArrayList<String> consentStatuses, ArrayList<String> userIDs,
+                                                 Long fromTime, Long toTime, Long lastUpdatedTime,
+                                                 String lastConsentID, int limit)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to search detailed consents for the given lists of parameters, the same as the
+     * searchConsents method. Instead of reading the related records of the consents as a single joined result, the
+     * IDs of the matching consents are read first and the consents, authorization resources, consent mappings and
+     * consent attributes are read with a query per table for the IDs. The number of rows read does not multiply with
+     * the number of related records of a consent. The consents are ordered by the updated time and the consent ID in
+     * descending order.
+     *
+     * @param connection      connection object
+     * @param consentIDs      consent IDs optional list
+     * @param clientIDs       client IDs optional list
+     * @param consentTypes    consent types optional list
+     * @param consentStatuses consent statuses optional list
+     * @param userIDs         user IDs optional list
+     * @param fromTime        from time
+     * @param toTime          to time
+     * @param limit           limit
+     * @param offset          offset
+     * @return a list of detailed consent resources according to the provided parameters
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    ArrayList<DetailedConsentResource> searchConsentsWithBatchedQueries(Connection connection,
+                                                                        ArrayList<String> consentIDs,
+                                                                        ArrayList<String> clientIDs,
+                                                                        ArrayList<String> consentTypes,
+                                                                        ArrayList<String> consentStatuses,
+                                                                        ArrayList<String> userIDs, Long fromTime,
+                                                                        Long toTime, Integer limit, Integer offset)
+            throws OBConsentDataRetrievalException;
+
+    /**
+     * This method is used to count the consents matching the given lists of parameters. The search conditions are
+     * the same as the conditions of the searchConsentIDs method.
+     *
+     * @param connection      connection object
+     * @param consentIDs      consent IDs optional list
+     * @param clientIDs       client IDs optional list
+     * @param consentTypes    consent types optional list
+     * @param consentStatuses consent statuses optional list
+     * @param userIDs         user IDs optional list
+     * @param fromTime        from time
+     * @param toTime          to time
+     * @return number of matching consents
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    int countConsents(Connection connection, ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                      ArrayList<String> consentTypes, ArrayList<String> consentStatuses, ArrayList<String> userIDs,
+                      Long fromTime, Long toTime) throws OBConsentDataRetrievalException;
 }
@@ -53,6 +53,7 @@ public class ConsentMgtDAOConstants {
     public static final String PREVIOUS_STATUS = "PREVIOUS_STATUS";
     public static final String REASON = "REASON";
     public static final String EFFECTIVE_TIMESTAMP = "EFFECTIVE_TIMESTAMP";
+    public static final String EXPIRY_TIME = "EXPIRY_TIME";
     public static final String CONSENT_IDS = "consentIDs";
     public static final String CLIENT_IDS = "clientIDs";
     public static final String CONSENT_TYPES = "consentTypes";
@@ -115,6 +116,18 @@ public class ConsentMgtDAOConstants {
             "database for the given attribute key and attribute value";
     public static final String CONSENT_AMENDMENT_HISTORY_RETRIEVE_ERROR_MSG = "Error occurred while retrieving " +
             "consent amendment history records from the database for the given consent ID";
+    public static final String CONSENT_EXPIRY_INDEX_STORE_ERROR_MSG = "Error occurred while storing consent expiry " +
+            "index entries in the database";
+    public static final String CONSENT_EXPIRY_INDEX_DELETE_ERROR_MSG = "Error occurred while deleting consent " +
+            "expiry index entries in the database";
+    public static final String CONSENT_EXPIRY_INDEX_RETRIEVE_ERROR_MSG = "Error occurred while retrieving consent " +
+            "expiry index entries from the database";
+    public static final String RETENTION_SYNC_CHECKPOINT_STORE_ERROR_MSG = "Error occurred while storing the " +
+            "retention sync checkpoint in the database";
+    public static final String RETENTION_SYNC_CHECKPOINT_RETRIEVE_ERROR_MSG = "Error occurred while retrieving the " +
+            "retention sync checkpoint from the database";
+    public static final String RETENTION_SYNC_CHECKPOINT_DELETE_ERROR_MSG = "Error occurred while deleting the " +
+            "retention sync checkpoint in the database";
 
     // Consent Database Table Identifiers
     public static final String TABLE_OB_CONSENT = "OB_CONSENT";
@@ -122,6 +135,8 @@ public class ConsentMgtDAOConstants {
     public static final String TABLE_OB_CONSENT_MAPPING = "OB_CONSENT_MAPPING";
     public static final String TABLE_OB_CONSENT_ATTRIBUTE = "OB_CONSENT_ATTRIBUTE";
     public static final String TABLE_OB_CONSENT_FILE = "OB_CONSENT_FILE";
+    public static final String TABLE_OB_CONSENT_STATUS_AUDIT = "OB_CONSENT_STATUS_AUDIT";
+    public static final String TABLE_OB_CONSENT_EXPIRY_INDEX = "OB_CONSENT_EXPIRY_INDEX";
 
     // Categorizations of the consent data according to the consent db tables to be used in CA history processing
     public static final String TYPE_CONSENT_BASIC_DATA = "ConsentData";
@@ -70,6 +70,8 @@ public class ConsentCoreDAOImpl implements ConsentCoreDAO {
 
     private static Log log = LogFactory.getLog(ConsentCoreDAOImpl.class);
     private static final String GROUP_BY_SEPARATOR = "\\|\\|";
+    // Oracle only allows 1000 values to be used in a SQL "IN" clause
+    private static final int MAX_IN_CLAUSE_SIZE = 1000;
     ConsentMgtCommonDBQueries sqlStatements;
     //Numbers are assigned to each consent DB table & used as the reference for each table when storing CA history
     static final Map<String, String> TABLES_MAP = new HashMap<String, String>() {
@@ -695,6 +697,40 @@ public class ConsentCoreDAOImpl implements ConsentCoreDAO {
         return retrievedConsentAttributesMap;
     }
 
+    @Override
+    public Map<String, String> getConsentAttributesByName(Connection connection, String attributeName,
+                                                          String lastConsentID, int limit)
+            throws OBConsentDataRetrievalException {
+
+        boolean shouldPaginateAfterConsentID = StringUtils.isNotEmpty(lastConsentID);
+        String getConsentAttributesByNamePrepStatement =
+                sqlStatements.getPaginatedConsentAttributesByNamePreparedStatement(shouldPaginateAfterConsentID);
+        Map<String, String> retrievedConsentAttributesMap = new LinkedHashMap<>();
+
+        try (PreparedStatement getConsentAttributesByNamePreparedStmt =
+                     connection.prepareStatement(getConsentAttributesByNamePrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to retrieve a page of consent attributes");
+            int parameterIndex = 0;
+            getConsentAttributesByNamePreparedStmt.setString(++parameterIndex, attributeName);
+            if (shouldPaginateAfterConsentID) {
+                getConsentAttributesByNamePreparedStmt.setString(++parameterIndex, lastConsentID);
+            }
+            getConsentAttributesByNamePreparedStmt.setInt(++parameterIndex, limit);
+
+            try (ResultSet resultSet = getConsentAttributesByNamePreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    retrievedConsentAttributesMap.put(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID),
+                            resultSet.getString(ConsentMgtDAOConstants.ATT_VALUE));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_ATTRIBUTES_RETRIEVE_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants.CONSENT_ATTRIBUTES_RETRIEVE_ERROR_MSG, e);
+        }
+        return retrievedConsentAttributesMap;
+    }
+
     @Override
     public ArrayList<String> getConsentIdByConsentAttributeNameAndValue(Connection connection, String attributeName,
                                                                         String attributeValue)
@@ -1906,6 +1942,421 @@ public class ConsentCoreDAOImpl implements ConsentCoreDAO {
         }
     }
 
+    @Override
+    public ArrayList<ConsentResource> getExpiredConsents(Connection connection, String statusesEligibleForExpiration,
+                                                         long expiryTime, String lastConsentID, int limit)
+            throws OBConsentDataRetrievalException {
+
+        List<String> statusesEligibleForExpirationList = Arrays.stream(statusesEligibleForExpiration.split(","))
+                .filter(status -> !status.isEmpty())
+                .collect(Collectors.toList());
+        boolean shouldPaginateAfterConsentID = StringUtils.isNotEmpty(lastConsentID);
+
+        String expiredConsentsStatement = sqlStatements.getSearchExpiredConsentsPreparedStatement(
+                ConsentDAOUtils.constructStatusesEligibleForExpirationCondition(statusesEligibleForExpirationList),
+                shouldPaginateAfterConsentID);
+        ArrayList<ConsentResource> expiredConsents = new ArrayList<>();
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(expiredConsentsStatement)) {
+
+            log.debug("Setting parameters to prepared statement to fetch expired consents");
+
+            int parameterIndex = 0;
+            preparedStatement.setString(++parameterIndex, ConsentMgtDAOConstants.CONSENT_EXPIRY_TIME_ATTRIBUTE);
+            for (String status : statusesEligibleForExpirationList) {
+                preparedStatement.setString(++parameterIndex, status);
+            }
+            preparedStatement.setString(++parameterIndex, ConsentMgtDAOConstants.CONSENT_EXPIRY_TIME_ATTRIBUTE);
+            preparedStatement.setLong(++parameterIndex, expiryTime);
+            if (shouldPaginateAfterConsentID) {
+                preparedStatement.setString(++parameterIndex, lastConsentID);
+            }
+            preparedStatement.setInt(++parameterIndex, limit);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    expiredConsents.add(getConsentResourceWithoutReceipt(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Error occurred while searching expired consents", e);
+            throw new OBConsentDataRetrievalException("Error occurred while searching expired consents", e);
+        }
+        return expiredConsents;
+    }
+
+    @Override
+    public Map<String, ArrayList<AuthorizationResource>> getAuthorizationResourcesByConsentIds(Connection connection,
+                                                                                              List<String> consentIDs)
+            throws OBConsentDataRetrievalException {
+
+        return getAuthorizationResourcesByConsentIds(connection, consentIDs, false);
+    }
+
+    private Map<String, ArrayList<AuthorizationResource>> getAuthorizationResourcesByConsentIds(
+            Connection connection, List<String> consentIDs, boolean fetchFromRetentionTables)
+            throws OBConsentDataRetrievalException {
+
+        Map<String, ArrayList<AuthorizationResource>> authorizationResources = new HashMap<>();
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return authorizationResources;
+        }
+        String searchAuthorizationResourcesPrepStatement =
+                sqlStatements.getSearchAuthorizationResourcesByConsentIdsPreparedStatement(
+                        ConsentDAOUtils.constructInClausePlaceholders(consentIDs.size()), fetchFromRetentionTables);
+
+        try (PreparedStatement searchAuthorizationResourcesPreparedStmt =
+                     connection.prepareStatement(searchAuthorizationResourcesPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to search authorization resources of consents");
+
+            int parameterIndex = 0;
+            for (String consentID : consentIDs) {
+                searchAuthorizationResourcesPreparedStmt.setString(++parameterIndex, consentID);
+            }
+
+            try (ResultSet resultSet = searchAuthorizationResourcesPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    AuthorizationResource authorizationResource = new AuthorizationResource();
+                    authorizationResource.setAuthorizationID(resultSet.getString(ConsentMgtDAOConstants.AUTH_ID));
+                    authorizationResource.setConsentID(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+                    authorizationResource.setUserID(resultSet.getString(ConsentMgtDAOConstants.USER_ID));
+                    authorizationResource.setAuthorizationStatus(
+                            resultSet.getString(ConsentMgtDAOConstants.AUTH_STATUS));
+                    authorizationResource.setAuthorizationType(resultSet.getString(ConsentMgtDAOConstants.AUTH_TYPE));
+                    authorizationResource.setUpdatedTime(resultSet.getLong(ConsentMgtDAOConstants.UPDATED_TIME));
+                    authorizationResources.computeIfAbsent(authorizationResource.getConsentID(),
+                            consentID -> new ArrayList<>()).add(authorizationResource);
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_AUTHORIZATION_RESOURCE_RETRIEVE_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants
+                    .CONSENT_AUTHORIZATION_RESOURCE_RETRIEVE_ERROR_MSG, e);
+        }
+        return authorizationResources;
+    }
+
+    @Override
+    public ArrayList<String> updateConsentStatuses(Connection connection, List<ConsentResource> consentResources,
+                                                   String newConsentStatus, long updatedTime)
+            throws OBConsentDataUpdationException {
+
+        int[] result;
+        ArrayList<String> updatedConsentIDs = new ArrayList<>();
+        if (CollectionUtils.isEmpty(consentResources)) {
+            return updatedConsentIDs;
+        }
+        String updateConsentStatusPrepStatement = sqlStatements.getUpdateConsentStatusIfUnchangedPreparedStatement();
+
+        try (PreparedStatement updateConsentStatusPreparedStmt =
+                     connection.prepareStatement(updateConsentStatusPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to update consent statuses");
+
+            for (ConsentResource consentResource : consentResources) {
+                updateConsentStatusPreparedStmt.setString(1, newConsentStatus);
+                updateConsentStatusPreparedStmt.setLong(2, updatedTime);
+                updateConsentStatusPreparedStmt.setString(3, consentResource.getConsentID());
+                updateConsentStatusPreparedStmt.setString(4, consentResource.getCurrentStatus());
+                updateConsentStatusPreparedStmt.addBatch();
+            }
+
+            // with result, we can determine which consents were updated
+            result = updateConsentStatusPreparedStmt.executeBatch();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_STATUS_UPDATE_ERROR_MSG, e);
+            throw new OBConsentDataUpdationException(ConsentMgtDAOConstants.CONSENT_STATUS_UPDATE_ERROR_MSG, e);
+        }
+
+        if (result.length != consentResources.size() || IntStream.of(result).anyMatch(value -> value == -3)) {
+            throw new OBConsentDataUpdationException("Failed to update consent statuses properly.");
+        }
+        /*
+           A value of 0 means the status of the consent was changed after it was read, hence it is not updated.
+           A value of -2 means the command completed successfully but the number of rows affected is unknown.
+        */
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] > 0 || result[i] == -2) {
+                updatedConsentIDs.add(consentResources.get(i).getConsentID());
+            }
+        }
+        log.debug("Updated the consent statuses successfully");
+        return updatedConsentIDs;
+    }
+
+    @Override
+    public boolean storeConsentStatusAuditRecords(Connection connection,
+                                                  List<ConsentStatusAuditRecord> consentStatusAuditRecords)
+            throws OBConsentDataInsertionException {
+
+        int[] result;
+        if (CollectionUtils.isEmpty(consentStatusAuditRecords)) {
+            return true;
+        }
+        String storeConsentStatusAuditRecordPrepStatement =
+                sqlStatements.getStoreConsentStatusAuditRecordPreparedStatement();
+
+        try (PreparedStatement storeConsentStatusAuditRecordPreparedStmt =
+                     connection.prepareStatement(storeConsentStatusAuditRecordPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to store consent audit records");
+
+            for (ConsentStatusAuditRecord consentStatusAuditRecord : consentStatusAuditRecords) {
+                if (StringUtils.isEmpty(consentStatusAuditRecord.getStatusAuditID())) {
+                    consentStatusAuditRecord.setStatusAuditID(UUID.randomUUID().toString());
+                }
+                // Unix time in seconds
+                if (consentStatusAuditRecord.getActionTime() == 0) {
+                    consentStatusAuditRecord.setActionTime(System.currentTimeMillis() / 1000);
+                }
+                storeConsentStatusAuditRecordPreparedStmt.setString(1, consentStatusAuditRecord.getStatusAuditID());
+                storeConsentStatusAuditRecordPreparedStmt.setString(2, consentStatusAuditRecord.getConsentID());
+                storeConsentStatusAuditRecordPreparedStmt.setString(3, consentStatusAuditRecord.getCurrentStatus());
+                storeConsentStatusAuditRecordPreparedStmt.setLong(4, consentStatusAuditRecord.getActionTime());
+                storeConsentStatusAuditRecordPreparedStmt.setString(5, consentStatusAuditRecord.getReason());
+                storeConsentStatusAuditRecordPreparedStmt.setString(6, consentStatusAuditRecord.getActionBy());
+                storeConsentStatusAuditRecordPreparedStmt.setString(7, consentStatusAuditRecord.getPreviousStatus());
+                storeConsentStatusAuditRecordPreparedStmt.addBatch();
+            }
+
+            // with result, we can determine whether the insertion was successful or not
+            result = storeConsentStatusAuditRecordPreparedStmt.executeBatch();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.AUDIT_RECORD_STORE_ERROR_MSG, e);
+            throw new OBConsentDataInsertionException(ConsentMgtDAOConstants.AUDIT_RECORD_STORE_ERROR_MSG, e);
+        }
+
+        // An empty array or an array with value -3 means the batch execution is failed
+        if (result.length != 0 && IntStream.of(result).noneMatch(value -> value == -3)) {
+            log.debug("Stored the consent status audit records successfully");
+            return true;
+        } else {
+            throw new OBConsentDataInsertionException("Failed to store consent status audit records properly.");
+        }
+    }
+
+    @Override
+    public boolean storeConsentAmendmentHistories(Connection connection,
+                                                  List<ConsentHistoryResource> consentHistoryResources,
+                                                  String consentDataType)
+            throws OBConsentDataInsertionException {
+
+        int[] result;
+        if (CollectionUtils.isEmpty(consentHistoryResources)) {
+            return true;
+        }
+        String tableID = generateConsentTableId(consentDataType);
+        String insertConsentHistoryPrepStatement = sqlStatements.getInsertConsentHistoryPreparedStatement();
+
+        try (PreparedStatement insertConsentHistoryPreparedStmt =
+                     connection.prepareStatement(insertConsentHistoryPrepStatement)) {
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Setting parameters to prepared statement to store consent amendment " +
+                        "histories of %s", consentDataType));
+            }
+
+            for (ConsentHistoryResource consentHistoryResource : consentHistoryResources) {
+                insertConsentHistoryPreparedStmt.setString(1, tableID);
+                insertConsentHistoryPreparedStmt.setString(2, consentHistoryResource.getConsentID());
+                insertConsentHistoryPreparedStmt.setString(3, consentHistoryResource.getHistoryID());
+                insertConsentHistoryPreparedStmt.setString(4,
+                        JSONValue.toJSONString(consentHistoryResource.getChangedAttributesJsonDataMap()));
+                insertConsentHistoryPreparedStmt.setString(5, consentHistoryResource.getReason());
+                insertConsentHistoryPreparedStmt.setLong(6, consentHistoryResource.getTimestamp());
+                insertConsentHistoryPreparedStmt.addBatch();
+            }
+
+            // with result, we can determine whether the insertion was successful or not
+            result = insertConsentHistoryPreparedStmt.executeBatch();
+        } catch (SQLException e) {
+            log.error("Error while storing consent amendment histories", e);
+            throw new OBConsentDataInsertionException(String.format("Error while storing consent amendment " +
+                    "histories of %s", consentDataType), e);
+        }
+
+        // An empty array or an array with value -3 means the batch execution is failed
+        if (result.length != 0 && IntStream.of(result).noneMatch(value -> value == -3)) {
+            return true;
+        } else {
+            log.error("Failed to store consent amendment history data.");
+            throw new OBConsentDataInsertionException("Failed to store consent amendment histories properly.");
+        }
+    }
+
+    @Override
+    public boolean storeConsentExpiryIndexEntries(Connection connection, Map<String, Long> consentExpiryTimes)
+            throws OBConsentDataInsertionException {
+
+        int[] result;
+        if (consentExpiryTimes == null || consentExpiryTimes.isEmpty()) {
+            return true;
+        }
+        String deleteExpiryIndexEntryPrepStatement = sqlStatements.getDeleteConsentExpiryIndexEntryPreparedStatement();
+        String storeExpiryIndexEntryPrepStatement = sqlStatements.getStoreConsentExpiryIndexEntryPreparedStatement();
+
+        try (PreparedStatement deleteExpiryIndexEntryPreparedStmt =
+                     connection.prepareStatement(deleteExpiryIndexEntryPrepStatement);
+             PreparedStatement storeExpiryIndexEntryPreparedStmt =
+                     connection.prepareStatement(storeExpiryIndexEntryPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to store consent expiry index entries");
+
+            // existing entries are removed first since the expiry time of a consent can be amended
+            for (Map.Entry<String, Long> entry : consentExpiryTimes.entrySet()) {
+                deleteExpiryIndexEntryPreparedStmt.setString(1, entry.getKey());
+                deleteExpiryIndexEntryPreparedStmt.addBatch();
+                storeExpiryIndexEntryPreparedStmt.setString(1, entry.getKey());
+                storeExpiryIndexEntryPreparedStmt.setLong(2, entry.getValue());
+                storeExpiryIndexEntryPreparedStmt.addBatch();
+            }
+            deleteExpiryIndexEntryPreparedStmt.executeBatch();
+
+            // with result, we can determine whether the insertion was successful or not
+            result = storeExpiryIndexEntryPreparedStmt.executeBatch();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_STORE_ERROR_MSG, e);
+            throw new OBConsentDataInsertionException(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_STORE_ERROR_MSG, e);
+        }
+
+        // An empty array or an array with value -3 means the batch execution is failed
+        if (result.length != 0 && IntStream.of(result).noneMatch(value -> value == -3)) {
+            log.debug("Stored the consent expiry index entries successfully");
+            return true;
+        } else {
+            throw new OBConsentDataInsertionException("Failed to store consent expiry index entries properly.");
+        }
+    }
+
+    @Override
+    public void deleteConsentExpiryIndexEntries(Connection connection, List<String> consentIDs)
+            throws OBConsentDataDeletionException {
+
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return;
+        }
+        String deleteExpiryIndexEntryPrepStatement = sqlStatements.getDeleteConsentExpiryIndexEntryPreparedStatement();
+
+        try (PreparedStatement deleteExpiryIndexEntryPreparedStmt =
+                     connection.prepareStatement(deleteExpiryIndexEntryPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to delete consent expiry index entries");
+
+            for (String consentID : consentIDs) {
+                deleteExpiryIndexEntryPreparedStmt.setString(1, consentID);
+                deleteExpiryIndexEntryPreparedStmt.addBatch();
+            }
+            deleteExpiryIndexEntryPreparedStmt.executeBatch();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_DELETE_ERROR_MSG, e);
+            throw new OBConsentDataDeletionException(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_DELETE_ERROR_MSG, e);
+        }
+    }
+
+    @Override
+    public void deleteAllConsentExpiryIndexEntries(Connection connection) throws OBConsentDataDeletionException {
+
+        String deleteAllExpiryIndexEntriesPrepStatement =
+                sqlStatements.getDeleteAllConsentExpiryIndexEntriesPreparedStatement();
+
+        try (PreparedStatement deleteAllExpiryIndexEntriesPreparedStmt =
+                     connection.prepareStatement(deleteAllExpiryIndexEntriesPrepStatement)) {
+            deleteAllExpiryIndexEntriesPreparedStmt.executeUpdate();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_DELETE_ERROR_MSG, e);
+            throw new OBConsentDataDeletionException(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_DELETE_ERROR_MSG, e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getConsentExpiryIndexEntries(Connection connection, long expiryTime, int limit)
+            throws OBConsentDataRetrievalException {
+
+        Map<String, Long> consentExpiryTimes = new LinkedHashMap<>();
+        String searchExpiryIndexEntriesPrepStatement =
+                sqlStatements.getSearchConsentExpiryIndexEntriesPreparedStatement();
+
+        try (PreparedStatement searchExpiryIndexEntriesPreparedStmt =
+                     connection.prepareStatement(searchExpiryIndexEntriesPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to search consent expiry index entries");
+
+            searchExpiryIndexEntriesPreparedStmt.setLong(1, expiryTime);
+            searchExpiryIndexEntriesPreparedStmt.setInt(2, limit);
+
+            try (ResultSet resultSet = searchExpiryIndexEntriesPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    consentExpiryTimes.put(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID),
+                            resultSet.getLong(ConsentMgtDAOConstants.EXPIRY_TIME));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_RETRIEVE_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants.CONSENT_EXPIRY_INDEX_RETRIEVE_ERROR_MSG,
+                    e);
+        }
+        return consentExpiryTimes;
+    }
+
+    @Override
+    public ArrayList<ConsentResource> getIndexedExpiredConsents(Connection connection, List<String> consentIDs,
+                                                                long expiryTime)
+            throws OBConsentDataRetrievalException {
+
+        ArrayList<ConsentResource> expiredConsents = new ArrayList<>();
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return expiredConsents;
+        }
+        String searchIndexedExpiredConsentsPrepStatement = sqlStatements
+                .getSearchIndexedExpiredConsentsPreparedStatement(
+                        ConsentDAOUtils.constructInClausePlaceholders(consentIDs.size()));
+
+        try (PreparedStatement searchIndexedExpiredConsentsPreparedStmt =
+                     connection.prepareStatement(searchIndexedExpiredConsentsPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to fetch indexed expired consents");
+
+            int parameterIndex = 0;
+            for (String consentID : consentIDs) {
+                searchIndexedExpiredConsentsPreparedStmt.setString(++parameterIndex, consentID);
+            }
+            searchIndexedExpiredConsentsPreparedStmt.setLong(++parameterIndex, expiryTime);
+
+            try (ResultSet resultSet = searchIndexedExpiredConsentsPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    expiredConsents.add(getConsentResourceWithoutReceipt(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Error occurred while searching indexed expired consents", e);
+            throw new OBConsentDataRetrievalException("Error occurred while searching indexed expired consents", e);
+        }
+        return expiredConsents;
+    }
+
+    /**
+     * Map the basic consent data of the current row, excluding the receipt, to a consent resource.
+     *
+     * @param resultSet result set positioned at a consent row
+     * @return consent resource
+     * @throws SQLException thrown if a column cannot be read
+     */
+    private ConsentResource getConsentResourceWithoutReceipt(ResultSet resultSet) throws SQLException {
+
+        ConsentResource consentResource = new ConsentResource();
+        consentResource.setConsentID(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+        consentResource.setClientID(resultSet.getString(ConsentMgtDAOConstants.CLIENT_ID));
+        consentResource.setConsentType(resultSet.getString(ConsentMgtDAOConstants.CONSENT_TYPE));
+        consentResource.setCurrentStatus(resultSet.getString(ConsentMgtDAOConstants.CURRENT_STATUS));
+        consentResource.setConsentFrequency(resultSet.getInt(ConsentMgtDAOConstants.CONSENT_FREQUENCY));
+        consentResource.setValidityPeriod(resultSet.getLong(ConsentMgtDAOConstants.VALIDITY_TIME));
+        consentResource.setRecurringIndicator(resultSet.getBoolean(ConsentMgtDAOConstants.RECURRING_INDICATOR));
+        consentResource.setCreatedTime(resultSet.getLong(ConsentMgtDAOConstants.CREATED_TIME));
+        consentResource.setUpdatedTime(resultSet.getLong(ConsentMgtDAOConstants.UPDATED_TIME));
+        return consentResource;
+    }
+
     @Override
     public boolean deleteConsentData(Connection connection, String consentID, boolean executeOnRetentionTables)
             throws OBConsentDataDeletionException {
@@ -1967,6 +2418,16 @@ public class ConsentCoreDAOImpl implements ConsentCoreDAO {
             deleteConsentStatusAuditPreparedStmt.setString(1, consentID);
             deleteConsentStatusAuditPreparedStmt.executeUpdate();
 
+            // deleting consent expiry index entry, which only exists for the consents in the consent tables.
+            if (!executeOnRetentionTables) {
+                log.debug("Setting parameters to prepared statement to delete consent expiry index entry");
+                try (PreparedStatement deleteExpiryIndexEntryPreparedStmt = connection.prepareStatement(
+                        sqlStatements.getDeleteConsentExpiryIndexEntryPreparedStatement())) {
+                    deleteExpiryIndexEntryPreparedStmt.setString(1, consentID);
+                    deleteExpiryIndexEntryPreparedStmt.executeUpdate();
+                }
+            }
+
             // deleting consent resource.
             log.debug("Setting parameters to prepared statement to delete consent resource");
             deleteConsentResourcePreparedStmt.setString(1, consentID);
@@ -2087,6 +2548,637 @@ public class ConsentCoreDAOImpl implements ConsentCoreDAO {
         return retrievedAuditRecords;
     }
 
+    @Override
+    public ArrayList<String> getListOfConsentIds(Connection connection, boolean fetchFromRetentionTable,
+                                                 String lastConsentID, int limit)
+            throws OBConsentDataRetrievalException {
+
+        String getConsentIdsPrepStatement = sqlStatements.getPaginatedListOfConsentIdsPreparedStatement(
+                fetchFromRetentionTable, lastConsentID != null);
+        ArrayList<String> consentIDs = new ArrayList<>();
+
+        try (PreparedStatement getConsentIdsPreparedStmt =
+                     connection.prepareStatement(getConsentIdsPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to retrieve a page of consent IDs");
+
+            int parameterIndex = 0;
+            if (lastConsentID != null) {
+                getConsentIdsPreparedStmt.setString(++parameterIndex, lastConsentID);
+            }
+            getConsentIdsPreparedStmt.setInt(++parameterIndex, limit);
+
+            try (ResultSet resultSet = getConsentIdsPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    consentIDs.add(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_RESOURCE_RETRIEVE_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants.CONSENT_RESOURCE_RETRIEVE_ERROR_MSG, e);
+        }
+        return consentIDs;
+    }
+
+    @Override
+    public ArrayList<DetailedConsentResource> getDetailedConsentResources(Connection connection,
+                                                                          List<String> consentIDs,
+                                                                          boolean fetchFromRetentionTable)
+            throws OBConsentDataRetrievalException {
+
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return new ArrayList<>();
+        }
+        String consentIdsCondition = ConsentDAOUtils.constructInClausePlaceholders(consentIDs.size());
+        Map<String, DetailedConsentResource> detailedConsentResources = new HashMap<>();
+
+        try (PreparedStatement getConsentsPreparedStmt = connection.prepareStatement(sqlStatements
+                .getGetConsentsByConsentIdsPreparedStatement(consentIdsCondition, fetchFromRetentionTable));
+             PreparedStatement getConsentAttributesPreparedStmt = connection.prepareStatement(sqlStatements
+                     .getGetConsentAttributesByConsentIdsPreparedStatement(consentIdsCondition,
+                             fetchFromRetentionTable));
+             PreparedStatement getConsentMappingsPreparedStmt = connection.prepareStatement(sqlStatements
+                     .getGetConsentMappingsByConsentIdsPreparedStatement(consentIdsCondition,
+                             fetchFromRetentionTable))) {
+
+            log.debug("Setting parameters to prepared statements to retrieve detailed consent resources");
+
+            setConsentIDs(getConsentsPreparedStmt, consentIDs);
+            try (ResultSet resultSet = getConsentsPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    DetailedConsentResource detailedConsentResource = new DetailedConsentResource();
+                    detailedConsentResource.setConsentID(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+                    detailedConsentResource.setClientID(resultSet.getString(ConsentMgtDAOConstants.CLIENT_ID));
+                    detailedConsentResource.setReceipt(resultSet.getString(ConsentMgtDAOConstants.RECEIPT));
+                    detailedConsentResource.setCreatedTime(resultSet.getLong(ConsentMgtDAOConstants.CREATED_TIME));
+                    detailedConsentResource.setUpdatedTime(resultSet.getLong(ConsentMgtDAOConstants.UPDATED_TIME));
+                    detailedConsentResource.setConsentType(resultSet.getString(ConsentMgtDAOConstants.CONSENT_TYPE));
+                    detailedConsentResource.setCurrentStatus(
+                            resultSet.getString(ConsentMgtDAOConstants.CURRENT_STATUS));
+                    detailedConsentResource.setConsentFrequency(
+                            resultSet.getInt(ConsentMgtDAOConstants.CONSENT_FREQUENCY));
+                    detailedConsentResource.setValidityPeriod(resultSet.getLong(ConsentMgtDAOConstants.VALIDITY_TIME));
+                    detailedConsentResource.setRecurringIndicator(
+                            resultSet.getBoolean(ConsentMgtDAOConstants.RECURRING_INDICATOR));
+                    detailedConsentResource.setConsentAttributes(new HashMap<>());
+                    detailedConsentResource.setAuthorizationResources(new ArrayList<>());
+                    detailedConsentResource.setConsentMappingResources(new ArrayList<>());
+                    detailedConsentResources.put(detailedConsentResource.getConsentID(), detailedConsentResource);
+                }
+            }
+            if (detailedConsentResources.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            setConsentIDs(getConsentAttributesPreparedStmt, consentIDs);
+            try (ResultSet resultSet = getConsentAttributesPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    DetailedConsentResource detailedConsentResource =
+                            detailedConsentResources.get(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+                    String attributeValue = resultSet.getString(ConsentMgtDAOConstants.ATT_VALUE);
+                    // skip adding all temporary session data to consent attributes
+                    if (detailedConsentResource != null &&
+                            !(JSONValue.isValidJson(attributeValue) && attributeValue.contains(SESSION_DATA_KEY))) {
+                        detailedConsentResource.getConsentAttributes().put(
+                                resultSet.getString(ConsentMgtDAOConstants.ATT_KEY), attributeValue);
+                    }
+                }
+            }
+
+            setConsentIDs(getConsentMappingsPreparedStmt, consentIDs);
+            try (ResultSet resultSet = getConsentMappingsPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    DetailedConsentResource detailedConsentResource =
+                            detailedConsentResources.get(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+                    if (detailedConsentResource != null) {
+                        ConsentMappingResource consentMappingResource = new ConsentMappingResource();
+                        consentMappingResource.setMappingID(resultSet.getString(ConsentMgtDAOConstants.MAPPING_ID));
+                        consentMappingResource.setAuthorizationID(
+                                resultSet.getString(ConsentMgtDAOConstants.AUTH_ID));
+                        consentMappingResource.setAccountID(resultSet.getString(ConsentMgtDAOConstants.ACCOUNT_ID));
+                        consentMappingResource.setPermission(resultSet.getString(ConsentMgtDAOConstants.PERMISSION));
+                        consentMappingResource.setMappingStatus(
+                                resultSet.getString(ConsentMgtDAOConstants.MAPPING_STATUS));
+                        detailedConsentResource.getConsentMappingResources().add(consentMappingResource);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.DETAILED_CONSENT_RESOURCE_RETRIEVE_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants
+                    .DETAILED_CONSENT_RESOURCE_RETRIEVE_ERROR_MSG, e);
+        }
+
+        Map<String, ArrayList<AuthorizationResource>> authorizationResources =
+                getAuthorizationResourcesByConsentIds(connection, consentIDs, fetchFromRetentionTable);
+        ArrayList<DetailedConsentResource> retrievedDetailedConsentResources = new ArrayList<>();
+        for (String consentID : consentIDs) {
+            DetailedConsentResource detailedConsentResource = detailedConsentResources.get(consentID);
+            if (detailedConsentResource != null) {
+                if (authorizationResources.containsKey(consentID)) {
+                    detailedConsentResource.setAuthorizationResources(authorizationResources.get(consentID));
+                }
+                retrievedDetailedConsentResources.add(detailedConsentResource);
+            }
+        }
+        return retrievedDetailedConsentResources;
+    }
+
+    @Override
+    public ArrayList<ConsentFile> getConsentFiles(Connection connection, List<String> consentIDs,
+                                                  boolean fetchFromRetentionTable)
+            throws OBConsentDataRetrievalException {
+
+        ArrayList<ConsentFile> consentFiles = new ArrayList<>();
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return consentFiles;
+        }
+        String getConsentFilesPrepStatement = sqlStatements.getGetConsentFilesByConsentIdsPreparedStatement(
+                ConsentDAOUtils.constructInClausePlaceholders(consentIDs.size()), fetchFromRetentionTable);
+
+        try (PreparedStatement getConsentFilesPreparedStmt =
+                     connection.prepareStatement(getConsentFilesPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to retrieve consent file resources");
+
+            setConsentIDs(getConsentFilesPreparedStmt, consentIDs);
+            try (ResultSet resultSet = getConsentFilesPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    consentFiles.add(new ConsentFile(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID),
+                            resultSet.getString(ConsentMgtDAOConstants.CONSENT_FILE)));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_FILE_RETRIEVE_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants.CONSENT_FILE_RETRIEVE_ERROR_MSG, e);
+        }
+        return consentFiles;
+    }
+
+    @Override
+    public boolean storeDetailedConsentResources(Connection connection,
+                                                 List<DetailedConsentResource> detailedConsentResources)
+            throws OBConsentDataInsertionException {
+
+        if (CollectionUtils.isEmpty(detailedConsentResources)) {
+            return true;
+        }
+
+        try (PreparedStatement storeConsentPreparedStmt =
+                     connection.prepareStatement(sqlStatements.getStoreConsentPreparedStatement());
+             PreparedStatement storeConsentAttributesPreparedStmt =
+                     connection.prepareStatement(sqlStatements.getStoreConsentAttributesPreparedStatement());
+             PreparedStatement storeAuthorizationPreparedStmt =
+                     connection.prepareStatement(sqlStatements.getStoreAuthorizationPreparedStatement());
+             PreparedStatement storeConsentMappingPreparedStmt =
+                     connection.prepareStatement(sqlStatements.getStoreConsentMappingPreparedStatement())) {
+
+            log.debug("Setting parameters to prepared statements to store detailed consent resources");
+
+            int attributeCount = 0;
+            int authorizationCount = 0;
+            int mappingCount = 0;
+            for (DetailedConsentResource detailedConsentResource : detailedConsentResources) {
+                storeConsentPreparedStmt.setString(1, detailedConsentResource.getConsentID());
+                storeConsentPreparedStmt.setString(2, detailedConsentResource.getReceipt());
+                storeConsentPreparedStmt.setLong(3, detailedConsentResource.getCreatedTime());
+                storeConsentPreparedStmt.setLong(4, detailedConsentResource.getUpdatedTime());
+                storeConsentPreparedStmt.setString(5, detailedConsentResource.getClientID());
+                storeConsentPreparedStmt.setString(6, detailedConsentResource.getConsentType());
+                storeConsentPreparedStmt.setString(7, detailedConsentResource.getCurrentStatus());
+                storeConsentPreparedStmt.setLong(8, detailedConsentResource.getConsentFrequency());
+                storeConsentPreparedStmt.setLong(9, detailedConsentResource.getValidityPeriod());
+                storeConsentPreparedStmt.setBoolean(10, detailedConsentResource.isRecurringIndicator());
+                storeConsentPreparedStmt.addBatch();
+
+                if (detailedConsentResource.getConsentAttributes() != null) {
+                    for (Map.Entry<String, String> entry : detailedConsentResource.getConsentAttributes().entrySet()) {
+                        storeConsentAttributesPreparedStmt.setString(1, detailedConsentResource.getConsentID());
+                        storeConsentAttributesPreparedStmt.setString(2, entry.getKey());
+                        storeConsentAttributesPreparedStmt.setString(3, entry.getValue());
+                        storeConsentAttributesPreparedStmt.addBatch();
+                        attributeCount++;
+                    }
+                }
+                if (detailedConsentResource.getAuthorizationResources() != null) {
+                    for (AuthorizationResource authorizationResource :
+                            detailedConsentResource.getAuthorizationResources()) {
+                        if (authorizationResource.getAuthorizationID() == null) {
+                            continue;
+                        }
+                        storeAuthorizationPreparedStmt.setString(1, authorizationResource.getAuthorizationID());
+                        storeAuthorizationPreparedStmt.setString(2, detailedConsentResource.getConsentID());
+                        storeAuthorizationPreparedStmt.setString(3, authorizationResource.getAuthorizationType());
+                        storeAuthorizationPreparedStmt.setString(4, authorizationResource.getUserID());
+                        storeAuthorizationPreparedStmt.setString(5, authorizationResource.getAuthorizationStatus());
+                        storeAuthorizationPreparedStmt.setLong(6, authorizationResource.getUpdatedTime());
+                        storeAuthorizationPreparedStmt.addBatch();
+                        authorizationCount++;
+                    }
+                }
+                if (detailedConsentResource.getConsentMappingResources() != null) {
+                    for (ConsentMappingResource consentMappingResource :
+                            detailedConsentResource.getConsentMappingResources()) {
+                        storeConsentMappingPreparedStmt.setString(1, consentMappingResource.getMappingID());
+                        storeConsentMappingPreparedStmt.setString(2, consentMappingResource.getAuthorizationID());
+                        storeConsentMappingPreparedStmt.setString(3, consentMappingResource.getAccountID());
+                        storeConsentMappingPreparedStmt.setString(4, consentMappingResource.getPermission());
+                        storeConsentMappingPreparedStmt.setString(5, consentMappingResource.getMappingStatus());
+                        storeConsentMappingPreparedStmt.addBatch();
+                        mappingCount++;
+                    }
+                }
+            }
+
+            // the batches are executed in the order of the foreign keys between the consent tables
+            if (!isBatchExecuted(storeConsentPreparedStmt.executeBatch()) ||
+                    (attributeCount > 0 && !isBatchExecuted(storeConsentAttributesPreparedStmt.executeBatch())) ||
+                    (authorizationCount > 0 && !isBatchExecuted(storeAuthorizationPreparedStmt.executeBatch())) ||
+                    (mappingCount > 0 && !isBatchExecuted(storeConsentMappingPreparedStmt.executeBatch()))) {
+                throw new OBConsentDataInsertionException("Failed to store detailed consent resources properly.");
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_RESOURCE_STORE_ERROR_MSG, e);
+            throw new OBConsentDataInsertionException(ConsentMgtDAOConstants.CONSENT_RESOURCE_STORE_ERROR_MSG, e);
+        }
+        log.debug("Stored the detailed consent resources successfully");
+        return true;
+    }
+
+    @Override
+    public boolean storeConsentFiles(Connection connection, List<ConsentFile> consentFiles)
+            throws OBConsentDataInsertionException {
+
+        int[] result;
+        if (CollectionUtils.isEmpty(consentFiles)) {
+            return true;
+        }
+        String storeConsentFilePrepStatement = sqlStatements.getStoreConsentFilePreparedStatement();
+
+        try (PreparedStatement storeConsentFilePreparedStmt =
+                     connection.prepareStatement(storeConsentFilePrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to store consent file resources");
+
+            for (ConsentFile consentFile : consentFiles) {
+                storeConsentFilePreparedStmt.setString(1, consentFile.getConsentID());
+                storeConsentFilePreparedStmt.setString(2, consentFile.getConsentFile());
+                storeConsentFilePreparedStmt.addBatch();
+            }
+
+            // with result, we can determine whether the insertion was successful or not
+            result = storeConsentFilePreparedStmt.executeBatch();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_FILE_STORE_ERROR_MSG, e);
+            throw new OBConsentDataInsertionException(ConsentMgtDAOConstants.CONSENT_FILE_STORE_ERROR_MSG, e);
+        }
+
+        if (isBatchExecuted(result)) {
+            log.debug("Stored the consent file resources successfully");
+            return true;
+        } else {
+            throw new OBConsentDataInsertionException("Failed to store consent file resources properly.");
+        }
+    }
+
+    @Override
+    public int bulkDeleteConsentData(Connection connection, List<String> consentIDs, boolean executeOnRetentionTables)
+            throws OBConsentDataDeletionException {
+
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return 0;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Deleting consent details for %d consents", consentIDs.size()));
+        }
+        String consentIdsCondition = ConsentDAOUtils.constructInClausePlaceholders(consentIDs.size());
+        // the statements are executed in the order of the foreign keys between the consent tables
+        List<String> deleteConsentDataPrepStatements = new ArrayList<>();
+        if (!executeOnRetentionTables) {
+            // the expiry index only exists for the consents in the consent tables
+            deleteConsentDataPrepStatements.add(sqlStatements.getDeleteRecordsByConsentIdsPreparedStatement(
+                    ConsentMgtDAOConstants.TABLE_OB_CONSENT_EXPIRY_INDEX, consentIdsCondition, false));
+        }
+        deleteConsentDataPrepStatements.addAll(Arrays.asList(
+                sqlStatements.getDeleteRecordsByConsentIdsPreparedStatement(
+                        ConsentMgtDAOConstants.TABLE_OB_CONSENT_ATTRIBUTE, consentIdsCondition,
+                        executeOnRetentionTables),
+                sqlStatements.getDeleteRecordsByConsentIdsPreparedStatement(
+                        ConsentMgtDAOConstants.TABLE_OB_CONSENT_FILE, consentIdsCondition, executeOnRetentionTables),
+                sqlStatements.getDeleteConsentMappingsByConsentIdsPreparedStatement(consentIdsCondition,
+                        executeOnRetentionTables),
+                sqlStatements.getDeleteRecordsByConsentIdsPreparedStatement(
+                        ConsentMgtDAOConstants.TABLE_OB_CONSENT_AUTH_RESOURCE, consentIdsCondition,
+                        executeOnRetentionTables),
+                sqlStatements.getDeleteRecordsByConsentIdsPreparedStatement(
+                        ConsentMgtDAOConstants.TABLE_OB_CONSENT_STATUS_AUDIT, consentIdsCondition,
+                        executeOnRetentionTables),
+                sqlStatements.getDeleteRecordsByConsentIdsPreparedStatement(
+                        ConsentMgtDAOConstants.TABLE_OB_CONSENT, consentIdsCondition, executeOnRetentionTables)));
+
+        int deletedConsentCount = 0;
+        try {
+            for (String deleteConsentDataPrepStatement : deleteConsentDataPrepStatements) {
+                try (PreparedStatement deleteConsentDataPreparedStmt =
+                             connection.prepareStatement(deleteConsentDataPrepStatement)) {
+                    setConsentIDs(deleteConsentDataPreparedStmt, consentIDs);
+                    // the consent table is the last one, hence the count is of the deleted consents
+                    deletedConsentCount = deleteConsentDataPreparedStmt.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_DATA_DELETE_ERROR_MSG, e);
+            throw new OBConsentDataDeletionException(ConsentMgtDAOConstants.CONSENT_DATA_DELETE_ERROR_MSG, e);
+        }
+        return deletedConsentCount;
+    }
+
+    @Override
+    public void storeRetentionSyncCheckpoint(Connection connection, List<String> consentIDs)
+            throws OBConsentDataInsertionException {
+
+        int[] result;
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return;
+        }
+        String storeCheckpointPrepStatement = sqlStatements.getStoreRetentionSyncCheckpointPreparedStatement();
+
+        try (PreparedStatement storeCheckpointPreparedStmt =
+                     connection.prepareStatement(storeCheckpointPrepStatement)) {
+
+            for (String consentID : consentIDs) {
+                storeCheckpointPreparedStmt.setString(1, consentID);
+                storeCheckpointPreparedStmt.addBatch();
+            }
+            result = storeCheckpointPreparedStmt.executeBatch();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.RETENTION_SYNC_CHECKPOINT_STORE_ERROR_MSG, e);
+            throw new OBConsentDataInsertionException(ConsentMgtDAOConstants.RETENTION_SYNC_CHECKPOINT_STORE_ERROR_MSG,
+                    e);
+        }
+
+        if (!isBatchExecuted(result)) {
+            throw new OBConsentDataInsertionException("Failed to store the retention sync checkpoint properly.");
+        }
+    }
+
+    @Override
+    public ArrayList<String> getRetentionSyncCheckpoint(Connection connection)
+            throws OBConsentDataRetrievalException {
+
+        ArrayList<String> consentIDs = new ArrayList<>();
+        String getCheckpointPrepStatement = sqlStatements.getGetRetentionSyncCheckpointPreparedStatement();
+
+        try (PreparedStatement getCheckpointPreparedStmt = connection.prepareStatement(getCheckpointPrepStatement);
+             ResultSet resultSet = getCheckpointPreparedStmt.executeQuery()) {
+            while (resultSet.next()) {
+                consentIDs.add(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.RETENTION_SYNC_CHECKPOINT_RETRIEVE_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants
+                    .RETENTION_SYNC_CHECKPOINT_RETRIEVE_ERROR_MSG, e);
+        }
+        return consentIDs;
+    }
+
+    @Override
+    public void deleteRetentionSyncCheckpoint(Connection connection) throws OBConsentDataDeletionException {
+
+        String deleteCheckpointPrepStatement = sqlStatements.getDeleteRetentionSyncCheckpointPreparedStatement();
+
+        try (PreparedStatement deleteCheckpointPreparedStmt =
+                     connection.prepareStatement(deleteCheckpointPrepStatement)) {
+            deleteCheckpointPreparedStmt.executeUpdate();
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.RETENTION_SYNC_CHECKPOINT_DELETE_ERROR_MSG, e);
+            throw new OBConsentDataDeletionException(ConsentMgtDAOConstants.RETENTION_SYNC_CHECKPOINT_DELETE_ERROR_MSG,
+                    e);
+        }
+    }
+
+    @Override
+    public LinkedHashMap<String, Long> searchConsentIDs(Connection connection, ArrayList<String> consentIDs,
+                                                        ArrayList<String> clientIDs, ArrayList<String> consentTypes,
+                                                        ArrayList<String> consentStatuses, ArrayList<String> userIDs,
+                                                        Long fromTime, Long toTime, Long lastUpdatedTime,
+                                                        String lastConsentID, int limit)
+            throws OBConsentDataRetrievalException {
+
+        Map<String, ArrayList> applicableConditionsMap = new HashMap<>();
+        validateAndSetSearchConditions(applicableConditionsMap, consentIDs, clientIDs, consentTypes, consentStatuses);
+        String constructedConditions =
+                ConsentDAOUtils.constructConsentSearchPreparedStatement(applicableConditionsMap);
+
+        String userIDFilterCondition = "";
+        Map<String, ArrayList> userIdMap = new HashMap<>();
+        if (CollectionUtils.isNotEmpty(userIDs)) {
+            userIdMap.put(COLUMNS_MAP.get(ConsentMgtDAOConstants.USER_IDS), userIDs);
+            userIDFilterCondition = ConsentDAOUtils.constructUserIdListFilterCondition(userIdMap);
+        }
+        boolean shouldPaginateAfterKey = lastUpdatedTime != null && lastConsentID != null;
+
+        String searchConsentIdsPrepStatement = sqlStatements.getSearchConsentIdsPreparedStatement(
+                constructedConditions, userIDFilterCondition, shouldPaginateAfterKey);
+        LinkedHashMap<String, Long> consentUpdatedTimes = new LinkedHashMap<>();
+
+        // A forward only result set is read, which is not buffered as a whole by the driver
+        try (PreparedStatement searchConsentIdsPreparedStmt =
+                     connection.prepareStatement(searchConsentIdsPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to search consent IDs");
+
+            int parameterIndex = setConsentSearchConditions(searchConsentIdsPreparedStmt, constructedConditions,
+                    applicableConditionsMap, userIDFilterCondition, userIdMap, fromTime, toTime);
+
+            if (shouldPaginateAfterKey) {
+                searchConsentIdsPreparedStmt.setLong(++parameterIndex, lastUpdatedTime);
+                searchConsentIdsPreparedStmt.setLong(++parameterIndex, lastUpdatedTime);
+                searchConsentIdsPreparedStmt.setString(++parameterIndex, lastConsentID);
+            }
+            searchConsentIdsPreparedStmt.setInt(++parameterIndex, limit);
+            searchConsentIdsPreparedStmt.setFetchSize(limit);
+
+            try (ResultSet resultSet = searchConsentIdsPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    consentUpdatedTimes.put(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID),
+                            resultSet.getLong(ConsentMgtDAOConstants.UPDATED_TIME));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_SEARCH_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants.CONSENT_SEARCH_ERROR_MSG, e);
+        }
+        return consentUpdatedTimes;
+    }
+
+    @Override
+    public ArrayList<DetailedConsentResource> searchConsentsWithBatchedQueries(Connection connection,
+                                                                               ArrayList<String> consentIDs,
+                                                                               ArrayList<String> clientIDs,
+                                                                               ArrayList<String> consentTypes,
+                                                                               ArrayList<String> consentStatuses,
+                                                                               ArrayList<String> userIDs,
+                                                                               Long fromTime, Long toTime,
+                                                                               Integer limit, Integer offset)
+            throws OBConsentDataRetrievalException {
+
+        Map<String, ArrayList> applicableConditionsMap = new HashMap<>();
+        validateAndSetSearchConditions(applicableConditionsMap, consentIDs, clientIDs, consentTypes, consentStatuses);
+        String constructedConditions =
+                ConsentDAOUtils.constructConsentSearchPreparedStatement(applicableConditionsMap);
+
+        String userIDFilterCondition = "";
+        Map<String, ArrayList> userIdMap = new HashMap<>();
+        if (CollectionUtils.isNotEmpty(userIDs)) {
+            userIdMap.put(COLUMNS_MAP.get(ConsentMgtDAOConstants.USER_IDS), userIDs);
+            userIDFilterCondition = ConsentDAOUtils.constructUserIdListFilterCondition(userIdMap);
+        }
+        // Don't offset if the limit is null
+        boolean shouldLimit = limit != null;
+        boolean shouldOffset = shouldLimit && offset != null;
+
+        String searchConsentIdsPrepStatement = sqlStatements.getSearchConsentIdsWithOffsetPreparedStatement(
+                constructedConditions, userIDFilterCondition, shouldLimit, shouldOffset);
+        List<String> searchedConsentIDs = new ArrayList<>();
+
+        // The consent IDs of the page are read first, without joining the related tables
+        try (PreparedStatement searchConsentIdsPreparedStmt =
+                     connection.prepareStatement(searchConsentIdsPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to search consent IDs");
+
+            int parameterIndex = setConsentSearchConditions(searchConsentIdsPreparedStmt, constructedConditions,
+                    applicableConditionsMap, userIDFilterCondition, userIdMap, fromTime, toTime);
+            if (shouldOffset) {
+                searchConsentIdsPreparedStmt.setInt(++parameterIndex,
+                        sqlStatements.isLimitBeforeThanOffset() ? limit : offset);
+                searchConsentIdsPreparedStmt.setInt(++parameterIndex,
+                        sqlStatements.isLimitBeforeThanOffset() ? offset : limit);
+            } else if (shouldLimit) {
+                searchConsentIdsPreparedStmt.setInt(++parameterIndex, limit);
+            }
+
+            try (ResultSet resultSet = searchConsentIdsPreparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    searchedConsentIDs.add(resultSet.getString(ConsentMgtDAOConstants.CONSENT_ID));
+                }
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_SEARCH_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants.CONSENT_SEARCH_ERROR_MSG, e);
+        }
+
+        // The related records are read with a query per table for each chunk and stitched in the order of the IDs
+        ArrayList<DetailedConsentResource> detailedConsentResources = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < searchedConsentIDs.size(); fromIndex += MAX_IN_CLAUSE_SIZE) {
+            detailedConsentResources.addAll(getDetailedConsentResources(connection, searchedConsentIDs.subList(
+                    fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, searchedConsentIDs.size())), false));
+        }
+        return detailedConsentResources;
+    }
+
+    @Override
+    public int countConsents(Connection connection, ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                             ArrayList<String> consentTypes, ArrayList<String> consentStatuses,
+                             ArrayList<String> userIDs, Long fromTime, Long toTime)
+            throws OBConsentDataRetrievalException {
+
+        Map<String, ArrayList> applicableConditionsMap = new HashMap<>();
+        validateAndSetSearchConditions(applicableConditionsMap, consentIDs, clientIDs, consentTypes, consentStatuses);
+        String constructedConditions =
+                ConsentDAOUtils.constructConsentSearchPreparedStatement(applicableConditionsMap);
+
+        String userIDFilterCondition = "";
+        Map<String, ArrayList> userIdMap = new HashMap<>();
+        if (CollectionUtils.isNotEmpty(userIDs)) {
+            userIdMap.put(COLUMNS_MAP.get(ConsentMgtDAOConstants.USER_IDS), userIDs);
+            userIDFilterCondition = ConsentDAOUtils.constructUserIdListFilterCondition(userIdMap);
+        }
+
+        String searchConsentCountPrepStatement = sqlStatements.getSearchConsentCountPreparedStatement(
+                constructedConditions, userIDFilterCondition);
+
+        try (PreparedStatement searchConsentCountPreparedStmt =
+                     connection.prepareStatement(searchConsentCountPrepStatement)) {
+
+            log.debug("Setting parameters to prepared statement to count consents");
+
+            setConsentSearchConditions(searchConsentCountPreparedStmt, constructedConditions,
+                    applicableConditionsMap, userIDFilterCondition, userIdMap, fromTime, toTime);
+
+            try (ResultSet resultSet = searchConsentCountPreparedStmt.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            log.error(ConsentMgtDAOConstants.CONSENT_SEARCH_ERROR_MSG, e);
+            throw new OBConsentDataRetrievalException(ConsentMgtDAOConstants.CONSENT_SEARCH_ERROR_MSG, e);
+        }
+    }
+
+    /**
+     * Set the parameters of the consent search conditions, the time period and the user ID conditions in the order
+     * they are added by {@link ConsentMgtCommonDBQueries#getSearchConsentIdsPreparedStatement}.
+     *
+     * @return index of the last parameter set
+     */
+    private int setConsentSearchConditions(PreparedStatement preparedStatement, String constructedConditions,
+                                           Map<String, ArrayList> applicableConditionsMap,
+                                           String userIDFilterCondition, Map<String, ArrayList> userIdMap,
+                                           Long fromTime, Long toTime) throws SQLException {
+
+        Map<Integer, ArrayList> orderedParamsMap = ConsentDAOUtils
+                .determineOrderOfParamsToSet(constructedConditions, applicableConditionsMap, COLUMNS_MAP);
+        int parameterIndex = setDynamicConsentSearchParameters(preparedStatement, orderedParamsMap, 1) - 1;
+
+        if (fromTime != null) {
+            preparedStatement.setLong(++parameterIndex, fromTime);
+        } else {
+            preparedStatement.setNull(++parameterIndex, Types.BIGINT);
+        }
+        if (toTime != null) {
+            preparedStatement.setLong(++parameterIndex, toTime);
+        } else {
+            preparedStatement.setNull(++parameterIndex, Types.BIGINT);
+        }
+
+        if (!userIdMap.isEmpty()) {
+            Map<Integer, ArrayList> orderedUserIdsMap = ConsentDAOUtils
+                    .determineOrderOfParamsToSet(userIDFilterCondition, userIdMap, COLUMNS_MAP);
+            parameterIndex = setDynamicConsentSearchParameters(preparedStatement, orderedUserIdsMap,
+                    ++parameterIndex) - 1;
+        }
+        return parameterIndex;
+    }
+
+    /**
+     * Set the consent IDs as the parameters of a prepared statement with an IN clause of the consent IDs.
+     *
+     * @param preparedStatement prepared statement
+     * @param consentIDs        consent IDs
+     * @throws SQLException thrown if a parameter cannot be set
+     */
+    private void setConsentIDs(PreparedStatement preparedStatement, List<String> consentIDs) throws SQLException {
+
+        int parameterIndex = 0;
+        for (String consentID : consentIDs) {
+            preparedStatement.setString(++parameterIndex, consentID);
+        }
+    }
+
+    /**
+     * Check whether a batch is executed successfully. An empty array or an array with value -3 means the batch
+     * execution is failed. A value of -2 means the command completed successfully but the number of rows affected
+     * is unknown.
+     *
+     * @param result result of the batch execution
+     * @return true if the batch is executed successfully
+     */
+    private boolean isBatchExecuted(int[] result) {
+
+        return result.length != 0 && IntStream.of(result).noneMatch(value -> value == -3);
+    }
+
     /**
      * Generate the tableID based on the type of the consent data record to be stored in consent history table.
      *
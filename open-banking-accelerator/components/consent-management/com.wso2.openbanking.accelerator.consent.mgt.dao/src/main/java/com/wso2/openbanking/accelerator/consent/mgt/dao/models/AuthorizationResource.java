@@ -19,10 +19,14 @@ package com.wso2.openbanking.accelerator.consent.mgt.dao.models;
 
 import com.wso2.openbanking.accelerator.common.util.Generated;
 
+import java.io.Serializable;
+
 /**
  * Model for the Authorization resource.
  */
-public class AuthorizationResource {
+public class AuthorizationResource implements Serializable {
+
+    private static final long serialVersionUID = 4516873592141386409L;
 
     private String authorizationID;
     private String consentID;
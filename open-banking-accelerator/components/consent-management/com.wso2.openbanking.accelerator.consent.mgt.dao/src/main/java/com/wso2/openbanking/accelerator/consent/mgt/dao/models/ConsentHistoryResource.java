@@ -20,13 +20,16 @@ package com.wso2.openbanking.accelerator.consent.mgt.dao.models;
 
 import com.wso2.openbanking.accelerator.common.util.Generated;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Model for the consent history resource.
  */
-public class ConsentHistoryResource {
+public class ConsentHistoryResource implements Serializable {
+
+    private static final long serialVersionUID = 282781202674426417L;
 
     private String historyID;
     private String consentID;
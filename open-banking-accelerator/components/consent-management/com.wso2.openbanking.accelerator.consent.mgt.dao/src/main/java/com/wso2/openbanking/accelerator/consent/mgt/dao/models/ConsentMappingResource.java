@@ -19,10 +19,14 @@ package com.wso2.openbanking.accelerator.consent.mgt.dao.models;
 
 import com.wso2.openbanking.accelerator.common.util.Generated;
 
+import java.io.Serializable;
+
 /**
  * Model for consent mapping resource.
  */
-public class ConsentMappingResource {
+public class ConsentMappingResource implements Serializable {
+
+    private static final long serialVersionUID = 931028107462591322L;
 
     private String mappingID;
     private String authorizationID;
@@ -19,12 +19,15 @@ package com.wso2.openbanking.accelerator.consent.mgt.dao.models;
 
 import com.wso2.openbanking.accelerator.common.util.Generated;
 
+import java.io.Serializable;
 import java.util.Map;
 
 /**
  * Model for the consent resource.
  */
-public class ConsentResource {
+public class ConsentResource implements Serializable {
+
+    private static final long serialVersionUID = 2897435749927855575L;
 
     private String consentID;
     private String clientID;
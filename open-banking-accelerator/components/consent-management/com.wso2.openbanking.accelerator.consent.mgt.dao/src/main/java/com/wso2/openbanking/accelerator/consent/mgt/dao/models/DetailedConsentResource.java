@@ -20,13 +20,16 @@ package com.wso2.openbanking.accelerator.consent.mgt.dao.models;
 
 import com.wso2.openbanking.accelerator.common.util.Generated;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Map;
 
 /**
  * Model for Detailed Consent Resource.
  */
-public class DetailedConsentResource {
+public class DetailedConsentResource implements Serializable {
+
+    private static final long serialVersionUID = 6752051833888511687L;
 
     private String consentID;
     private String clientID;
@@ -249,6 +249,34 @@ public class ConsentMgtCommonDBQueries {
         return "SELECT CONSENT_ID, ATT_VALUE FROM OB_CONSENT_ATTRIBUTE WHERE ATT_KEY = ?";
     }
 
+    /**
+     * SQL query to get a page of the consent attributes with the given key, ordered by the consent ID.
+     *
+     * @param shouldPaginateAfterConsentID whether to only return attributes of the consents after the given consent ID
+     * @return the constructed prepared statement
+     */
+    public String getPaginatedConsentAttributesByNamePreparedStatement(boolean shouldPaginateAfterConsentID) {
+
+        return getPaginatedConsentAttributesByNameQuery(shouldPaginateAfterConsentID) + " LIMIT ? ";
+    }
+
+    /**
+     * Query to get the consent attributes with the given key without the row limiting clause.
+     *
+     * @param shouldPaginateAfterConsentID whether to only return attributes of the consents after the given consent ID
+     * @return query without the row limiting clause
+     */
+    protected String getPaginatedConsentAttributesByNameQuery(boolean shouldPaginateAfterConsentID) {
+
+        StringBuilder query = new StringBuilder("SELECT CONSENT_ID, ATT_VALUE FROM OB_CONSENT_ATTRIBUTE " +
+                "WHERE ATT_KEY = ? ");
+        if (shouldPaginateAfterConsentID) {
+            query.append("AND CONSENT_ID > ? ");
+        }
+        query.append("ORDER BY CONSENT_ID ");
+        return query.toString();
+    }
+
     public String getConsentIdByConsentAttributeNameAndValuePreparedStatement() {
 
 
@@ -312,6 +340,110 @@ public class ConsentMgtCommonDBQueries {
                 " WHERE  CA.ATT_KEY = ? AND OBC.CURRENT_STATUS IN " + statusesEligibleForExpirationCondition;
     }
 
+    /**
+     * SQL query for get a page of consents whose expiry time attribute is on or before the given time. The expiry
+     * time is compared in the database so that only expired consents are returned, ordered by the consent ID.
+     *
+     * @param statusesEligibleForExpirationCondition placeholders for the statuses eligible for expiration
+     * @param shouldPaginateAfterConsentID           whether to only return consents after the given consent ID
+     * @return the constructed prepared statement
+     */
+    public String getSearchExpiredConsentsPreparedStatement(String statusesEligibleForExpirationCondition,
+                                                            boolean shouldPaginateAfterConsentID) {
+
+        StringBuilder query = new StringBuilder(getSearchExpiredConsentsQuery(statusesEligibleForExpirationCondition,
+                shouldPaginateAfterConsentID));
+        query.append(" LIMIT ? ");
+        return query.toString();
+    }
+
+    /**
+     * Query to search expired consents without the row limiting clause. The expiry time is cast only for the
+     * expiry time attribute rows, since other attribute values may not be numeric.
+     *
+     * @param statusesEligibleForExpirationCondition placeholders for the statuses eligible for expiration
+     * @param shouldPaginateAfterConsentID           whether to only return consents after the given consent ID
+     * @return query without the row limiting clause
+     */
+    protected String getSearchExpiredConsentsQuery(String statusesEligibleForExpirationCondition,
+                                                   boolean shouldPaginateAfterConsentID) {
+
+        StringBuilder query = new StringBuilder("SELECT OBC.CONSENT_ID, OBC.CLIENT_ID, OBC.CONSENT_TYPE, " +
+                "OBC.CURRENT_STATUS, OBC.CONSENT_FREQUENCY, OBC.VALIDITY_TIME, OBC.RECURRING_INDICATOR, " +
+                "OBC.CREATED_TIME, OBC.UPDATED_TIME " +
+                " FROM   OB_CONSENT_ATTRIBUTE CA " +
+                " JOIN   OB_CONSENT OBC " +
+                " ON     CA.CONSENT_ID = OBC.CONSENT_ID " +
+                " WHERE  CA.ATT_KEY = ? AND OBC.CURRENT_STATUS IN " + statusesEligibleForExpirationCondition +
+                " AND CASE CA.ATT_KEY WHEN ? THEN CAST(CA.ATT_VALUE AS DECIMAL(20, 0)) END <= ? ");
+        if (shouldPaginateAfterConsentID) {
+            query.append(" AND OBC.CONSENT_ID > ? ");
+        }
+        query.append(" ORDER BY OBC.CONSENT_ID ");
+        return query.toString();
+    }
+
+    public String getSearchAuthorizationResourcesByConsentIdsPreparedStatement(String consentIdsCondition) {
+
+        return getSearchAuthorizationResourcesByConsentIdsPreparedStatement(consentIdsCondition, false);
+    }
+
+    /**
+     * SQL query to update the status of a consent only if the consent is still in the expected status.
+     *
+     * @return the prepared statement
+     */
+    public String getUpdateConsentStatusIfUnchangedPreparedStatement() {
+
+        return "UPDATE OB_CONSENT SET CURRENT_STATUS = ?, UPDATED_TIME = ? WHERE CONSENT_ID = ? AND " +
+                "CURRENT_STATUS = ?";
+    }
+
+    public String getStoreConsentExpiryIndexEntryPreparedStatement() {
+
+        return "INSERT INTO OB_CONSENT_EXPIRY_INDEX (CONSENT_ID, EXPIRY_TIME) VALUES (?, ?)";
+    }
+
+    public String getDeleteConsentExpiryIndexEntryPreparedStatement() {
+
+        return "DELETE FROM OB_CONSENT_EXPIRY_INDEX WHERE CONSENT_ID = ?";
+    }
+
+    public String getDeleteAllConsentExpiryIndexEntriesPreparedStatement() {
+
+        return "DELETE FROM OB_CONSENT_EXPIRY_INDEX";
+    }
+
+    /**
+     * SQL query to get the consent expiry index entries which are due on or before the given time, ordered by the
+     * expiry time.
+     *
+     * @return the prepared statement
+     */
+    public String getSearchConsentExpiryIndexEntriesPreparedStatement() {
+
+        return "SELECT CONSENT_ID, EXPIRY_TIME FROM OB_CONSENT_EXPIRY_INDEX WHERE EXPIRY_TIME <= ? " +
+                "ORDER BY EXPIRY_TIME LIMIT ?";
+    }
+
+    /**
+     * SQL query to get the given consents if their indexed expiry time is on or before the given time.
+     *
+     * @param consentIdsCondition placeholders for the consent IDs
+     * @return the prepared statement
+     */
+    public String getSearchIndexedExpiredConsentsPreparedStatement(String consentIdsCondition) {
+
+        return "SELECT OBC.CONSENT_ID, OBC.CLIENT_ID, OBC.CONSENT_TYPE, OBC.CURRENT_STATUS, " +
+                "OBC.CONSENT_FREQUENCY, OBC.VALIDITY_TIME, OBC.RECURRING_INDICATOR, OBC.CREATED_TIME, " +
+                "OBC.UPDATED_TIME " +
+                " FROM   OB_CONSENT_EXPIRY_INDEX EI " +
+                " JOIN   OB_CONSENT OBC " +
+                " ON     EI.CONSENT_ID = OBC.CONSENT_ID " +
+                " WHERE  EI.CONSENT_ID IN " + consentIdsCondition + " AND EI.EXPIRY_TIME <= ? " +
+                " ORDER BY OBC.CONSENT_ID ";
+    }
+
     public String getInsertConsentHistoryPreparedStatement() {
 
         return "INSERT INTO OB_CONSENT_HISTORY (TABLE_ID, RECORD_ID, HISTORY_ID, CHANGED_VALUES, " +
@@ -429,6 +561,219 @@ public class ConsentMgtCommonDBQueries {
         return "SELECT CONSENT_ID FROM " + tablePrefix + "OB_CONSENT";
     }
 
+    /**
+     * SQL query to get a page of consent IDs ordered by the consent ID.
+     *
+     * @param fetchFromRetentionTables     whether to fetch from the consent retention data (purged data) tables
+     * @param shouldPaginateAfterConsentID whether to only return consent IDs after the given consent ID
+     * @return the constructed prepared statement
+     */
+    public String getPaginatedListOfConsentIdsPreparedStatement(boolean fetchFromRetentionTables,
+                                                                boolean shouldPaginateAfterConsentID) {
+
+        return getPaginatedListOfConsentIdsQuery(fetchFromRetentionTables, shouldPaginateAfterConsentID) +
+                " LIMIT ? ";
+    }
+
+    /**
+     * Query to get consent IDs ordered by the consent ID without the row limiting clause.
+     *
+     * @param fetchFromRetentionTables     whether to fetch from the consent retention data (purged data) tables
+     * @param shouldPaginateAfterConsentID whether to only return consent IDs after the given consent ID
+     * @return query without the row limiting clause
+     */
+    protected String getPaginatedListOfConsentIdsQuery(boolean fetchFromRetentionTables,
+                                                       boolean shouldPaginateAfterConsentID) {
+
+        StringBuilder query = new StringBuilder("SELECT CONSENT_ID FROM " +
+                getTablePrefix(fetchFromRetentionTables) + "OB_CONSENT ");
+        if (shouldPaginateAfterConsentID) {
+            query.append("WHERE CONSENT_ID > ? ");
+        }
+        query.append("ORDER BY CONSENT_ID ");
+        return query.toString();
+    }
+
+    /**
+     * SQL query to get a page of the IDs and updated times of the consents matching the search conditions, ordered by
+     * the updated time and the consent ID in descending order. The pages are read with keyset pagination on the
+     * updated time and the consent ID, hence the cost of reading a page does not depend on its position.
+     *
+     * @param whereClause            conditions on the consent table
+     * @param userIdFilterClause     conditions on the authorization resources of the consents
+     * @param shouldPaginateAfterKey whether to only return consents after the given updated time and consent ID
+     * @return the constructed prepared statement
+     */
+    public String getSearchConsentIdsPreparedStatement(String whereClause, String userIdFilterClause,
+                                                       boolean shouldPaginateAfterKey) {
+
+        return getSearchConsentIdsQuery(whereClause, userIdFilterClause, shouldPaginateAfterKey) + " LIMIT ? ";
+    }
+
+    /**
+     * Query to get the IDs and updated times of the consents matching the search conditions without the row limiting
+     * clause.
+     *
+     * @param whereClause            conditions on the consent table
+     * @param userIdFilterClause     conditions on the authorization resources of the consents
+     * @param shouldPaginateAfterKey whether to only return consents after the given updated time and consent ID
+     * @return query without the row limiting clause
+     */
+    protected String getSearchConsentIdsQuery(String whereClause, String userIdFilterClause,
+                                              boolean shouldPaginateAfterKey) {
+
+        StringBuilder query = new StringBuilder("SELECT OBC.CONSENT_ID, OBC.UPDATED_TIME ")
+                .append(getSearchConsentsFromClause(whereClause, userIdFilterClause));
+        if (shouldPaginateAfterKey) {
+            query.append("AND (OBC.UPDATED_TIME < ? OR (OBC.UPDATED_TIME = ? AND OBC.CONSENT_ID < ?)) ");
+        }
+        query.append("ORDER BY OBC.UPDATED_TIME DESC, OBC.CONSENT_ID DESC ");
+        return query.toString();
+    }
+
+    /**
+     * SQL query to get the IDs and updated times of the consents matching the search conditions with offset
+     * pagination, in the same order as {@link #getSearchConsentIdsPreparedStatement}.
+     *
+     * @param whereClause        conditions on the consent table
+     * @param userIdFilterClause conditions on the authorization resources of the consents
+     * @param shouldLimit        whether to limit the number of consents
+     * @param shouldOffset       whether to skip consents, only applied along with the limit
+     * @return the constructed prepared statement
+     */
+    public String getSearchConsentIdsWithOffsetPreparedStatement(String whereClause, String userIdFilterClause,
+                                                                 boolean shouldLimit, boolean shouldOffset) {
+
+        String query = getSearchConsentIdsQuery(whereClause, userIdFilterClause, false);
+        if (shouldLimit && shouldOffset) {
+            return query + " LIMIT ? OFFSET ? ";
+        } else if (shouldLimit) {
+            return query + " LIMIT ? ";
+        }
+        return query;
+    }
+
+    /**
+     * SQL query to count the consents matching the search conditions. The same conditions as
+     * {@link #getSearchConsentIdsPreparedStatement} are applied.
+     *
+     * @param whereClause        conditions on the consent table
+     * @param userIdFilterClause conditions on the authorization resources of the consents
+     * @return the constructed prepared statement
+     */
+    public String getSearchConsentCountPreparedStatement(String whereClause, String userIdFilterClause) {
+
+        return "SELECT COUNT(OBC.CONSENT_ID) AS CONSENT_COUNT " +
+                getSearchConsentsFromClause(whereClause, userIdFilterClause);
+    }
+
+    private String getSearchConsentsFromClause(String whereClause, String userIdFilterClause) {
+
+        StringBuilder query = new StringBuilder("FROM " +
+                "(SELECT CONSENT_ID, UPDATED_TIME FROM OB_CONSENT " + whereClause + ") OBC " +
+                "WHERE OBC.UPDATED_TIME >= COALESCE(?, OBC.UPDATED_TIME) " +
+                "AND OBC.UPDATED_TIME <= COALESCE(?, OBC.UPDATED_TIME) ");
+        if (StringUtils.isNotEmpty(userIdFilterClause)) {
+            query.append("AND EXISTS (SELECT 1 FROM OB_CONSENT_AUTH_RESOURCE OCAR " +
+                    "WHERE OCAR.CONSENT_ID = OBC.CONSENT_ID AND ").append(userIdFilterClause).append(") ");
+        }
+        return query.toString();
+    }
+
+    public String getGetConsentsByConsentIdsPreparedStatement(String consentIdsCondition,
+                                                              boolean fetchFromRetentionTables) {
+
+        return "SELECT * FROM " + getTablePrefix(fetchFromRetentionTables) + "OB_CONSENT WHERE CONSENT_ID IN " +
+                consentIdsCondition;
+    }
+
+    public String getGetConsentAttributesByConsentIdsPreparedStatement(String consentIdsCondition,
+                                                                       boolean fetchFromRetentionTables) {
+
+        return "SELECT * FROM " + getTablePrefix(fetchFromRetentionTables) + "OB_CONSENT_ATTRIBUTE WHERE " +
+                "CONSENT_ID IN " + consentIdsCondition;
+    }
+
+    public String getGetConsentFilesByConsentIdsPreparedStatement(String consentIdsCondition,
+                                                                  boolean fetchFromRetentionTables) {
+
+        return "SELECT * FROM " + getTablePrefix(fetchFromRetentionTables) + "OB_CONSENT_FILE WHERE CONSENT_ID IN " +
+                consentIdsCondition;
+    }
+
+    public String getSearchAuthorizationResourcesByConsentIdsPreparedStatement(String consentIdsCondition,
+                                                                               boolean fetchFromRetentionTables) {
+
+        return "SELECT * FROM " + getTablePrefix(fetchFromRetentionTables) + "OB_CONSENT_AUTH_RESOURCE WHERE " +
+                "CONSENT_ID IN " + consentIdsCondition;
+    }
+
+    public String getGetConsentMappingsByConsentIdsPreparedStatement(String consentIdsCondition,
+                                                                     boolean fetchFromRetentionTables) {
+
+        String tablePrefix = getTablePrefix(fetchFromRetentionTables);
+        return "SELECT OBCM.MAPPING_ID, OBCM.AUTH_ID, OBCM.ACCOUNT_ID, OBCM.PERMISSION, OBCM.MAPPING_STATUS, " +
+                "OBAR.CONSENT_ID FROM " + tablePrefix + "OB_CONSENT_MAPPING OBCM INNER JOIN " + tablePrefix +
+                "OB_CONSENT_AUTH_RESOURCE OBAR ON OBCM.AUTH_ID = OBAR.AUTH_ID WHERE OBAR.CONSENT_ID IN " +
+                consentIdsCondition;
+    }
+
+    /**
+     * SQL query to delete the records of the given consents from a consent table, which has a consent ID column.
+     *
+     * @param tableName                consent table name without the retention table prefix
+     * @param consentIdsCondition      placeholders for the consent IDs
+     * @param executeOnRetentionTables whether to execute on the consent retention data (purged data) tables
+     * @return the prepared statement
+     */
+    public String getDeleteRecordsByConsentIdsPreparedStatement(String tableName, String consentIdsCondition,
+                                                                boolean executeOnRetentionTables) {
+
+        return "DELETE FROM " + getTablePrefix(executeOnRetentionTables) + tableName + " WHERE CONSENT_ID IN " +
+                consentIdsCondition;
+    }
+
+    /**
+     * SQL query to delete the consent mappings of the given consents.
+     *
+     * @param consentIdsCondition      placeholders for the consent IDs
+     * @param executeOnRetentionTables whether to execute on the consent retention data (purged data) tables
+     * @return the prepared statement
+     */
+    public String getDeleteConsentMappingsByConsentIdsPreparedStatement(String consentIdsCondition,
+                                                                        boolean executeOnRetentionTables) {
+
+        String tablePrefix = getTablePrefix(executeOnRetentionTables);
+        return "DELETE FROM " + tablePrefix + "OB_CONSENT_MAPPING WHERE AUTH_ID IN (SELECT AUTH_ID FROM " +
+                tablePrefix + "OB_CONSENT_AUTH_RESOURCE WHERE CONSENT_ID IN " + consentIdsCondition + ")";
+    }
+
+    public String getStoreRetentionSyncCheckpointPreparedStatement() {
+
+        return "INSERT INTO OB_RETENTION_SYNC_CHECKPOINT (CONSENT_ID) VALUES (?)";
+    }
+
+    public String getGetRetentionSyncCheckpointPreparedStatement() {
+
+        return "SELECT CONSENT_ID FROM OB_RETENTION_SYNC_CHECKPOINT";
+    }
+
+    public String getDeleteRetentionSyncCheckpointPreparedStatement() {
+
+        return "DELETE FROM OB_RETENTION_SYNC_CHECKPOINT";
+    }
+
+    /**
+     * Get the table prefix to execute on the consent retention data (purged data) tables. (if enabled)
+     *
+     * @param executeOnRetentionTables whether to execute on the consent retention data tables
+     * @return the table prefix
+     */
+    protected String getTablePrefix(boolean executeOnRetentionTables) {
+
+        return executeOnRetentionTables ? ConsentMgtDAOConstants.RETENTION_TABLE_NAME_PREFIX : "";
+    }
+
     /**
      * SQL query for get consent status audit records by consentIds.
      * @param whereClause conditions
@@ -191,6 +191,87 @@ public class ConsentMgtOracleDBQueries extends ConsentMgtCommonDBQueries {
         return query.toString();
     }
 
+    /**
+     * SQL query for get a page of consents whose expiry time attribute is on or before the given time.
+     *
+     * @param statusesEligibleForExpirationCondition placeholders for the statuses eligible for expiration
+     * @param shouldPaginateAfterConsentID           whether to only return consents after the given consent ID
+     * @return the constructed prepared statement
+     */
+    public String getSearchExpiredConsentsPreparedStatement(String statusesEligibleForExpirationCondition,
+                                                            boolean shouldPaginateAfterConsentID) {
+
+        StringBuilder query = new StringBuilder(getSearchExpiredConsentsQuery(statusesEligibleForExpirationCondition,
+                shouldPaginateAfterConsentID));
+        query.append("FETCH NEXT ? ROWS ONLY ");
+        return query.toString();
+    }
+
+    /**
+     * SQL query to get a page of the consent attributes with the given key, ordered by the consent ID.
+     *
+     * @param shouldPaginateAfterConsentID whether to only return attributes of the consents after the given consent ID
+     * @return the constructed prepared statement
+     */
+    public String getPaginatedConsentAttributesByNamePreparedStatement(boolean shouldPaginateAfterConsentID) {
+
+        return getPaginatedConsentAttributesByNameQuery(shouldPaginateAfterConsentID) + "FETCH NEXT ? ROWS ONLY ";
+    }
+
+    /**
+     * SQL query to get the consent expiry index entries which are due on or before the given time, ordered by the
+     * expiry time.
+     *
+     * @return the prepared statement
+     */
+    public String getSearchConsentExpiryIndexEntriesPreparedStatement() {
+
+        return "SELECT CONSENT_ID, EXPIRY_TIME FROM OB_CONSENT_EXPIRY_INDEX WHERE EXPIRY_TIME <= ? " +
+                "ORDER BY EXPIRY_TIME FETCH NEXT ? ROWS ONLY";
+    }
+
+    /**
+     * SQL query to get a page of consent IDs ordered by the consent ID.
+     *
+     * @param fetchFromRetentionTables     whether to fetch from the consent retention data (purged data) tables
+     * @param shouldPaginateAfterConsentID whether to only return consent IDs after the given consent ID
+     * @return the constructed prepared statement
+     */
+    public String getPaginatedListOfConsentIdsPreparedStatement(boolean fetchFromRetentionTables,
+                                                                boolean shouldPaginateAfterConsentID) {
+
+        return getPaginatedListOfConsentIdsQuery(fetchFromRetentionTables, shouldPaginateAfterConsentID) +
+                "FETCH NEXT ? ROWS ONLY";
+    }
+
+    /**
+     * SQL query to get a page of the IDs and updated times of the consents matching the search conditions, ordered by
+     * the updated time and the consent ID in descending order.
+     *
+     * @param whereClause            conditions on the consent table
+     * @param userIdFilterClause     conditions on the authorization resources of the consents
+     * @param shouldPaginateAfterKey whether to only return consents after the given updated time and consent ID
+     * @return the constructed prepared statement
+     */
+    public String getSearchConsentIdsPreparedStatement(String whereClause, String userIdFilterClause,
+                                                       boolean shouldPaginateAfterKey) {
+
+        return getSearchConsentIdsQuery(whereClause, userIdFilterClause, shouldPaginateAfterKey) +
+                "FETCH NEXT ? ROWS ONLY";
+    }
+
+    public String getSearchConsentIdsWithOffsetPreparedStatement(String whereClause, String userIdFilterClause,
+                                                                 boolean shouldLimit, boolean shouldOffset) {
+
+        String query = getSearchConsentIdsQuery(whereClause, userIdFilterClause, false);
+        if (shouldLimit && shouldOffset) {
+            return query + "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        } else if (shouldLimit) {
+            return query + "FETCH NEXT ? ROWS ONLY";
+        }
+        return query;
+    }
+
     /**
      * Util method to get the limit offset order for differentiate oracle and mssql pagination.
      * @return is limit is before in prepared statement than offset
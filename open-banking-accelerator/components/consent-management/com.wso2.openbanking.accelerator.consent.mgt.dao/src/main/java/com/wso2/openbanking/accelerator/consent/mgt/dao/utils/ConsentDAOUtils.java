@@ -255,6 +255,22 @@ public class ConsentDAOUtils {
         return statusesEligibleForExpirationFilterBuilder.toString();
     }
 
+    /**
+     * Method to construct the placeholder list of an IN condition. Ex: " (?,?,?) ".
+     *
+     * @param placeholderCount number of placeholders
+     * @return placeholder list enclosed in parentheses
+     */
+    public static String constructInClausePlaceholders(int placeholderCount) {
+
+        StringBuilder placeHoldersBuilder = new StringBuilder();
+        for (int i = 0; i < placeholderCount; i++) {
+            placeHoldersBuilder.append(DB_OPERATORS_MAP.get(ConsentMgtDAOConstants.PLACEHOLDER));
+        }
+        return SPACE + LEFT_PARENTHESIS + StringUtils.removeEnd(placeHoldersBuilder.toString(), COMMA) +
+                RIGHT_PARENTHESIS + SPACE;
+    }
+
     public static String constructConsentHistoryPreparedStatement(int recordIdCount) {
 
         StringBuilder whereClauseBuilder = new StringBuilder();
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.mgt.dao.impl;
+
+import com.wso2.openbanking.accelerator.consent.mgt.dao.ConsentCoreDAO;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.AuthorizationResource;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentAttributes;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentMappingResource;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentResource;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.queries.ConsentMgtCommonDBQueries;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.util.ConsentMgtDAOTestData;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.util.DAOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Benchmark comparing the retrieval of detailed consents in a consent search with a single joined query and with a
+ * query per table. The number of consents and the number of related records of each consent can be changed with the
+ * consent.search.benchmark.* system properties to compare the strategies on larger fan outs.
+ */
+public class ConsentSearchRetrievalBenchmarkTests {
+
+    private static final Log log = LogFactory.getLog(ConsentSearchRetrievalBenchmarkTests.class);
+    private static final String DB_NAME = "CONSENT_SEARCH_BENCHMARK_DB";
+    private static final int CONSENT_COUNT = Integer.getInteger("consent.search.benchmark.consents", 50);
+    private static final int AUTHORIZATIONS_PER_CONSENT =
+            Integer.getInteger("consent.search.benchmark.authorizations", 2);
+    private static final int MAPPINGS_PER_AUTHORIZATION = Integer.getInteger("consent.search.benchmark.mappings", 5);
+    private static final int ATTRIBUTES_PER_CONSENT = Integer.getInteger("consent.search.benchmark.attributes", 10);
+    private static final int ITERATIONS = Integer.getInteger("consent.search.benchmark.iterations", 5);
+    private static final int PAGE_SIZE = 10;
+
+    private final ArrayList<String> clientIDs = new ArrayList<>(Collections.singletonList(
+            UUID.randomUUID().toString()));
+    private ConsentCoreDAO consentCoreDAO;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeDataSource(DB_NAME, DAOUtils.getFilePath("dbScripts/h2.sql"));
+        consentCoreDAO = new ConsentCoreDAOImpl(new ConsentMgtCommonDBQueries());
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            for (int i = 0; i < CONSENT_COUNT; i++) {
+                ConsentResource consentResource = ConsentMgtDAOTestData.getSampleTestConsentResource();
+                consentResource.setClientID(clientIDs.get(0));
+                String consentID = consentCoreDAO.storeConsentResource(connection, consentResource).getConsentID();
+
+                Map<String, String> attributes = new HashMap<>();
+                for (int j = 0; j < ATTRIBUTES_PER_CONSENT; j++) {
+                    attributes.put("attribute-" + j, "value-" + j);
+                }
+                ConsentAttributes consentAttributes = new ConsentAttributes();
+                consentAttributes.setConsentID(consentID);
+                consentAttributes.setConsentAttributes(attributes);
+                consentCoreDAO.storeConsentAttributes(connection, consentAttributes);
+
+                for (int j = 0; j < AUTHORIZATIONS_PER_CONSENT; j++) {
+                    AuthorizationResource authorizationResource =
+                            ConsentMgtDAOTestData.getSampleTestAuthorizationResource(consentID);
+                    String authorizationID = consentCoreDAO.storeAuthorizationResource(connection,
+                            authorizationResource).getAuthorizationID();
+                    for (int k = 0; k < MAPPINGS_PER_AUTHORIZATION; k++) {
+                        ConsentMappingResource consentMappingResource = ConsentMgtDAOTestData
+                                .getSampleTestConsentMappingResourceWithAccountId(authorizationID, "account-" + k);
+                        consentCoreDAO.storeConsentMappingResource(connection, consentMappingResource);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRetrievalStrategiesReturnSameConsents() throws Exception {
+
+        ArrayList<DetailedConsentResource> joinedDetailedConsents;
+        ArrayList<DetailedConsentResource> batchedDetailedConsents;
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            joinedDetailedConsents = consentCoreDAO.searchConsents(connection, null, clientIDs, null, null,
+                    null, null, null, null, null);
+            batchedDetailedConsents = consentCoreDAO.searchConsentsWithBatchedQueries(connection, null, clientIDs,
+                    null, null, null, null, null, null, null);
+        }
+
+        Assert.assertEquals(joinedDetailedConsents.size(), CONSENT_COUNT);
+        Assert.assertEquals(batchedDetailedConsents.size(), CONSENT_COUNT);
+        Map<String, DetailedConsentResource> joinedDetailedConsentsMap = new HashMap<>();
+        for (DetailedConsentResource detailedConsent : joinedDetailedConsents) {
+            joinedDetailedConsentsMap.put(detailedConsent.getConsentID(), detailedConsent);
+        }
+        for (DetailedConsentResource batchedDetailedConsent : batchedDetailedConsents) {
+            DetailedConsentResource joinedDetailedConsent =
+                    joinedDetailedConsentsMap.get(batchedDetailedConsent.getConsentID());
+            Assert.assertNotNull(joinedDetailedConsent);
+            Assert.assertEquals(batchedDetailedConsent.getConsentAttributes(),
+                    joinedDetailedConsent.getConsentAttributes());
+            Assert.assertEquals(batchedDetailedConsent.getAuthorizationResources().size(),
+                    AUTHORIZATIONS_PER_CONSENT);
+            Assert.assertEquals(batchedDetailedConsent.getConsentMappingResources().size(),
+                    joinedDetailedConsent.getConsentMappingResources().size());
+        }
+    }
+
+    @Test(dependsOnMethods = "testRetrievalStrategiesReturnSameConsents")
+    public void benchmarkRetrievalStrategies() throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            // a warm up round is run for each strategy before measuring
+            for (int round = 0; round < 2; round++) {
+                long joinedSearchTime = 0;
+                long batchedSearchTime = 0;
+                long joinedPageTime = 0;
+                long batchedPageTime = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long startTime = System.nanoTime();
+                    consentCoreDAO.searchConsents(connection, null, clientIDs, null, null, null, null, null,
+                            null, null);
+                    joinedSearchTime += System.nanoTime() - startTime;
+
+                    startTime = System.nanoTime();
+                    consentCoreDAO.searchConsentsWithBatchedQueries(connection, null, clientIDs, null, null, null,
+                            null, null, null, null);
+                    batchedSearchTime += System.nanoTime() - startTime;
+
+                    startTime = System.nanoTime();
+                    consentCoreDAO.searchConsents(connection, null, clientIDs, null, null, null, null, null,
+                            PAGE_SIZE, CONSENT_COUNT / 2);
+                    joinedPageTime += System.nanoTime() - startTime;
+
+                    startTime = System.nanoTime();
+                    consentCoreDAO.searchConsentsWithBatchedQueries(connection, null, clientIDs, null, null, null,
+                            null, null, PAGE_SIZE, CONSENT_COUNT / 2);
+                    batchedPageTime += System.nanoTime() - startTime;
+                }
+                if (round > 0) {
+                    log.info(String.format("Consent search of %d consents with %d authorizations, %d mappings per " +
+                                    "authorization and %d attributes, average over %d iterations. Full search: " +
+                                    "joined %.2f ms, batched %.2f ms. Page of %d: joined %.2f ms, batched %.2f ms",
+                            CONSENT_COUNT, AUTHORIZATIONS_PER_CONSENT, MAPPINGS_PER_AUTHORIZATION,
+                            ATTRIBUTES_PER_CONSENT, ITERATIONS, toAverageMillis(joinedSearchTime),
+                            toAverageMillis(batchedSearchTime), PAGE_SIZE, toAverageMillis(joinedPageTime),
+                            toAverageMillis(batchedPageTime)));
+                }
+            }
+        }
+    }
+
+    private static double toAverageMillis(long totalNanos) {
+
+        return totalNanos / (ITERATIONS * 1_000_000.0);
+    }
+}
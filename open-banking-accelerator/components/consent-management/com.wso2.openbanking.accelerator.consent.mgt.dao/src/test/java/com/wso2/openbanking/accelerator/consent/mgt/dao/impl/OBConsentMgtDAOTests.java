@@ -47,6 +47,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -1207,6 +1210,34 @@ public class OBConsentMgtDAOTests {
                 "-request-id")));
     }
 
+    @Test
+    public void testRetrieveConsentAttributesByNameInPages() throws Exception {
+
+        String attributeName = "paged-attribute-" + UUID.randomUUID();
+        List<String> consentIDs = new ArrayList<>();
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            for (int i = 0; i < 3; i++) {
+                ConsentResource consentResource = consentCoreDAO.storeConsentResource(connection,
+                        ConsentMgtDAOTestData.getSampleTestConsentResource());
+                ConsentAttributes consentAttributes = new ConsentAttributes();
+                consentAttributes.setConsentID(consentResource.getConsentID());
+                consentAttributes.setConsentAttributes(Collections.singletonMap(attributeName, String.valueOf(i)));
+                consentCoreDAO.storeConsentAttributes(connection, consentAttributes);
+                consentIDs.add(consentResource.getConsentID());
+            }
+            Collections.sort(consentIDs);
+
+            // attributes are paginated in the order of the consent ID
+            Map<String, String> firstPage = consentCoreDAO.getConsentAttributesByName(connection, attributeName,
+                    null, 2);
+            Assert.assertEquals(new ArrayList<>(firstPage.keySet()), consentIDs.subList(0, 2));
+            Map<String, String> secondPage = consentCoreDAO.getConsentAttributesByName(connection, attributeName,
+                    consentIDs.get(1), 2);
+            Assert.assertEquals(new ArrayList<>(secondPage.keySet()), consentIDs.subList(2, 3));
+        }
+    }
+
     @Test (expectedExceptions = OBConsentDataRetrievalException.class)
     public void testRetrieveConsentAttributesByNameSQLError() throws Exception {
 
@@ -1985,6 +2016,151 @@ public class OBConsentMgtDAOTests {
                 null, null, null, null, null, null);
     }
 
+    @Test
+    public void testSearchConsentIDsWithKeyset() throws Exception {
+
+        ArrayList<String> consentIDs = new ArrayList<>();
+        ArrayList<String> searchedConsentIDs = new ArrayList<>();
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            storeDataForConsentSearchTest(consentIDs, connection);
+
+            // read the stored consents a page of one consent at a time, continuing after the last consent read
+            Long lastUpdatedTime = null;
+            String lastConsentID = null;
+            LinkedHashMap<String, Long> page;
+            do {
+                page = consentCoreDAO.searchConsentIDs(connection, consentIDs, null, null, null, null, null,
+                        null, lastUpdatedTime, lastConsentID, 1);
+                for (Map.Entry<String, Long> entry : page.entrySet()) {
+                    if (lastUpdatedTime != null) {
+                        Assert.assertTrue(entry.getValue() <= lastUpdatedTime);
+                    }
+                    searchedConsentIDs.add(entry.getKey());
+                    lastUpdatedTime = entry.getValue();
+                    lastConsentID = entry.getKey();
+                }
+            } while (page.size() == 1);
+        }
+
+        Assert.assertEquals(searchedConsentIDs.size(), consentIDs.size());
+        Assert.assertTrue(searchedConsentIDs.containsAll(consentIDs));
+    }
+
+    @Test
+    public void testSearchConsentIDsWithUserIDsList() throws Exception {
+
+        ArrayList<String> consentIDs = new ArrayList<>();
+        LinkedHashMap<String, Long> searchedConsentIDs;
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            storeDataForConsentSearchTest(consentIDs, connection);
+            searchedConsentIDs = consentCoreDAO.searchConsentIDs(connection, consentIDs, null, null, null,
+                    ConsentMgtDAOTestData.SAMPLE_USER_IDS_LIST, null, null, null, null, 10);
+        }
+
+        Assert.assertEquals(searchedConsentIDs.size(), consentIDs.size());
+    }
+
+    @Test
+    public void testSearchConsentsWithBatchedQueries() throws Exception {
+
+        ArrayList<String> consentIDs = new ArrayList<>();
+        ArrayList<DetailedConsentResource> joinedDetailedConsents;
+        ArrayList<DetailedConsentResource> batchedDetailedConsents;
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            storeDataForConsentSearchTest(consentIDs, connection);
+            joinedDetailedConsents = consentCoreDAO.searchConsents(connection, consentIDs, null, null, null,
+                    ConsentMgtDAOTestData.SAMPLE_USER_IDS_LIST, null, null, null, null);
+            batchedDetailedConsents = consentCoreDAO.searchConsentsWithBatchedQueries(connection, consentIDs, null,
+                    null, null, ConsentMgtDAOTestData.SAMPLE_USER_IDS_LIST, null, null, null, null);
+        }
+
+        Assert.assertEquals(batchedDetailedConsents.size(), joinedDetailedConsents.size());
+        Map<String, DetailedConsentResource> joinedDetailedConsentsMap = new HashMap<>();
+        for (DetailedConsentResource detailedConsent : joinedDetailedConsents) {
+            joinedDetailedConsentsMap.put(detailedConsent.getConsentID(), detailedConsent);
+        }
+        for (DetailedConsentResource batchedDetailedConsent : batchedDetailedConsents) {
+            DetailedConsentResource joinedDetailedConsent =
+                    joinedDetailedConsentsMap.get(batchedDetailedConsent.getConsentID());
+            Assert.assertNotNull(joinedDetailedConsent);
+            // temporary session data attributes are not retrieved by the batched queries
+            Assert.assertTrue(joinedDetailedConsent.getConsentAttributes().entrySet()
+                    .containsAll(batchedDetailedConsent.getConsentAttributes().entrySet()));
+            Assert.assertEquals(batchedDetailedConsent.getAuthorizationResources().size(),
+                    joinedDetailedConsent.getAuthorizationResources().size());
+            Assert.assertEquals(batchedDetailedConsent.getConsentMappingResources().size(),
+                    joinedDetailedConsent.getConsentMappingResources().size());
+        }
+    }
+
+    @Test
+    public void testSearchConsentsWithBatchedQueriesWithLimitAndOffset() throws Exception {
+
+        ArrayList<String> consentIDs = new ArrayList<>();
+        ArrayList<DetailedConsentResource> firstPage;
+        ArrayList<DetailedConsentResource> secondPage;
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            storeDataForConsentSearchTest(consentIDs, connection);
+            firstPage = consentCoreDAO.searchConsentsWithBatchedQueries(connection, consentIDs, null, null, null,
+                    null, null, null, 2, 0);
+            secondPage = consentCoreDAO.searchConsentsWithBatchedQueries(connection, consentIDs, null, null, null,
+                    null, null, null, 2, 2);
+        }
+
+        Assert.assertEquals(firstPage.size(), 2);
+        Assert.assertEquals(secondPage.size(), consentIDs.size() - 2);
+        for (DetailedConsentResource detailedConsent : secondPage) {
+            Assert.assertTrue(firstPage.stream().noneMatch(consent ->
+                    consent.getConsentID().equals(detailedConsent.getConsentID())));
+        }
+    }
+
+    @Test (expectedExceptions = OBConsentDataRetrievalException.class)
+    public void testSearchConsentsWithBatchedQueriesSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.searchConsentsWithBatchedQueries(mockedConnection, null, null, null, null, null, null,
+                null, 10, 0);
+    }
+
+    @Test
+    public void testCountConsents() throws Exception {
+
+        ArrayList<String> consentIDs = new ArrayList<>();
+        int consentCount;
+        int userConsentCount;
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            storeDataForConsentSearchTest(consentIDs, connection);
+            consentCount = consentCoreDAO.countConsents(connection, consentIDs, null, null, null, null, null,
+                    null);
+            userConsentCount = consentCoreDAO.countConsents(connection, consentIDs, null, null, null,
+                    ConsentMgtDAOTestData.SAMPLE_USER_IDS_LIST, 0L, Long.MAX_VALUE);
+        }
+
+        Assert.assertEquals(consentCount, consentIDs.size());
+        Assert.assertEquals(userConsentCount, consentIDs.size());
+    }
+
+    @Test (expectedExceptions = OBConsentDataRetrievalException.class)
+    public void testCountConsentsSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.countConsents(mockedConnection, null, null, null, null, null, null, null);
+    }
+
+    @Test (expectedExceptions = OBConsentDataRetrievalException.class)
+    public void testSearchConsentIDsSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.searchConsentIDs(mockedConnection, null, null, null, null, null, null, null,
+                null, null, 10);
+    }
+
     @Test
     public void testSearchConsentAuthorizations() throws Exception {
 
@@ -2543,4 +2719,338 @@ public class OBConsentMgtDAOTests {
         consentCoreDAO.getListOfConsentIds(mockedConnection, false);
 
     }
+
+    @Test
+    public void testBulkExpiredConsentStatusUpdate() throws Exception {
+
+        String eligibleStatus = "bulkExpiryEligible";
+        long currentTime = System.currentTimeMillis() / 1000;
+        ArrayList<String> expiredConsentIDs = new ArrayList<>();
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            for (long expiryTime : new long[]{currentTime - 100, currentTime - 10, currentTime + 1000}) {
+                ConsentResource consentResource = ConsentMgtDAOTestData.getSampleTestConsentResource();
+                consentResource.setCurrentStatus(eligibleStatus);
+                consentResource = consentCoreDAO.storeConsentResource(connection, consentResource);
+
+                Map<String, String> expiryAttributes = new HashMap<>();
+                expiryAttributes.put(ConsentMgtDAOConstants.CONSENT_EXPIRY_TIME_ATTRIBUTE, String.valueOf(expiryTime));
+                ConsentAttributes consentAttributes = new ConsentAttributes();
+                consentAttributes.setConsentID(consentResource.getConsentID());
+                consentAttributes.setConsentAttributes(expiryAttributes);
+                consentCoreDAO.storeConsentAttributes(connection, consentAttributes);
+                consentCoreDAO.storeAuthorizationResource(connection, ConsentMgtDAOTestData
+                        .getSampleTestAuthorizationResource(consentResource.getConsentID()));
+                if (expiryTime < currentTime) {
+                    expiredConsentIDs.add(consentResource.getConsentID());
+                }
+            }
+            expiredConsentIDs.sort(String::compareTo);
+
+            ArrayList<ConsentResource> expiredConsents = consentCoreDAO.getExpiredConsents(connection,
+                    eligibleStatus, currentTime, null, 10);
+            ArrayList<ConsentResource> firstPage = consentCoreDAO.getExpiredConsents(connection,
+                    eligibleStatus, currentTime, null, 1);
+            ArrayList<ConsentResource> secondPage = consentCoreDAO.getExpiredConsents(connection,
+                    eligibleStatus, currentTime, firstPage.get(0).getConsentID(), 1);
+
+            Assert.assertEquals(expiredConsents.size(), 2);
+            Assert.assertEquals(firstPage.get(0).getConsentID(), expiredConsentIDs.get(0));
+            Assert.assertEquals(secondPage.get(0).getConsentID(), expiredConsentIDs.get(1));
+            Assert.assertEquals(expiredConsents.get(0).getCurrentStatus(), eligibleStatus);
+
+            Map<String, ArrayList<AuthorizationResource>> authorizationResources =
+                    consentCoreDAO.getAuthorizationResourcesByConsentIds(connection, expiredConsentIDs);
+            Assert.assertEquals(authorizationResources.size(), 2);
+            Assert.assertEquals(authorizationResources.get(expiredConsentIDs.get(0)).get(0).getUserID(),
+                    ConsentMgtDAOTestData.SAMPLE_USER_ID);
+
+            ArrayList<String> updatedConsentIDs = consentCoreDAO.updateConsentStatuses(connection, expiredConsents,
+                    ConsentMgtDAOTestData.SAMPLE_EXPIRED_STATUS, currentTime);
+            ArrayList<String> reUpdatedConsentIDs = consentCoreDAO.updateConsentStatuses(connection,
+                    expiredConsents, ConsentMgtDAOTestData.SAMPLE_EXPIRED_STATUS, currentTime);
+
+            Assert.assertEquals(updatedConsentIDs, expiredConsentIDs);
+            Assert.assertTrue(reUpdatedConsentIDs.isEmpty());
+            Assert.assertEquals(consentCoreDAO.getConsentResource(connection, expiredConsentIDs.get(0))
+                    .getCurrentStatus(), ConsentMgtDAOTestData.SAMPLE_EXPIRED_STATUS);
+            Assert.assertTrue(consentCoreDAO.getExpiredConsents(connection, eligibleStatus, currentTime, null, 10)
+                    .isEmpty());
+        }
+    }
+
+    @Test (expectedExceptions = OBConsentDataRetrievalException.class)
+    public void testGetExpiredConsentsSQLError() throws Exception {
+
+        Mockito.doReturn(mockedPreparedStatement).when(mockedConnection).prepareStatement(Mockito.anyString());
+        Mockito.doThrow(SQLException.class).when(mockedPreparedStatement).executeQuery();
+        consentCoreDAO.getExpiredConsents(mockedConnection, "Authorized", 0, null, 10);
+    }
+
+    @Test (expectedExceptions = OBConsentDataUpdationException.class)
+    public void testUpdateConsentStatusesSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.updateConsentStatuses(mockedConnection,
+                ConsentMgtDAOTestData.getSampleConsentResourcesList(), ConsentMgtDAOTestData.SAMPLE_EXPIRED_STATUS,
+                0);
+    }
+
+    @Test
+    public void testStoreConsentStatusAuditRecordsAndAmendmentHistories() throws Exception {
+
+        ArrayList<ConsentStatusAuditRecord> retrievedAuditRecords;
+        Map<String, ConsentHistoryResource> retrievedHistory;
+        boolean isAuditRecordsStored;
+        boolean isHistoryStored;
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            ConsentResource storedConsentResource = consentCoreDAO.storeConsentResource(connection,
+                    ConsentMgtDAOTestData.getSampleTestConsentResource());
+            String consentID = storedConsentResource.getConsentID();
+
+            ArrayList<ConsentStatusAuditRecord> auditRecords = new ArrayList<>();
+            auditRecords.add(ConsentMgtDAOTestData.getSampleTestConsentStatusAuditRecord(consentID,
+                    ConsentMgtDAOTestData.SAMPLE_EXPIRED_STATUS));
+            auditRecords.add(ConsentMgtDAOTestData.getSampleTestConsentStatusAuditRecord(consentID,
+                    ConsentMgtDAOTestData.SAMPLE_EXPIRED_STATUS));
+            isAuditRecordsStored = consentCoreDAO.storeConsentStatusAuditRecords(connection, auditRecords);
+
+            ConsentHistoryResource historyResource = new ConsentHistoryResource(consentID,
+                    UUID.randomUUID().toString());
+            historyResource.setTimestamp(ConsentMgtDAOTestData.SAMPLE_UPDATED_TIME);
+            historyResource.setReason(ConsentMgtDAOTestData.SAMPLE_AMENDMENT_REASON);
+            historyResource.getChangedAttributesJsonDataMap().put(ConsentMgtDAOConstants.CURRENT_STATUS,
+                    ConsentMgtDAOTestData.SAMPLE_CURRENT_STATUS);
+            isHistoryStored = consentCoreDAO.storeConsentAmendmentHistories(connection,
+                    Arrays.asList(historyResource), ConsentMgtDAOConstants.TYPE_CONSENT_BASIC_DATA);
+
+            retrievedAuditRecords = consentCoreDAO.getConsentStatusAuditRecords(connection, consentID, null,
+                    null, null, null, null, false);
+            retrievedHistory = consentCoreDAO.retrieveConsentAmendmentHistory(connection,
+                    Arrays.asList(consentID));
+        }
+        Assert.assertTrue(isAuditRecordsStored);
+        Assert.assertTrue(isHistoryStored);
+        Assert.assertEquals(retrievedAuditRecords.size(), 2);
+        Assert.assertEquals(retrievedHistory.size(), 1);
+    }
+
+    @Test (expectedExceptions = OBConsentDataInsertionException.class)
+    public void testStoreConsentStatusAuditRecordsSQLError() throws Exception {
+
+        ArrayList<ConsentStatusAuditRecord> auditRecords = new ArrayList<>();
+        auditRecords.add(ConsentMgtDAOTestData.getSampleTestConsentStatusAuditRecord(
+                ConsentMgtDAOTestData.SAMPLE_CONSENT_ID, ConsentMgtDAOTestData.SAMPLE_EXPIRED_STATUS));
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.storeConsentStatusAuditRecords(mockedConnection, auditRecords);
+    }
+
+    @Test
+    public void testConsentExpiryIndex() throws Exception {
+
+        long currentTime = System.currentTimeMillis() / 1000;
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            consentCoreDAO.deleteAllConsentExpiryIndexEntries(connection);
+            Map<String, Long> indexEntries = new HashMap<>();
+            ArrayList<String> consentIDs = new ArrayList<>();
+            for (long expiryTime : new long[]{currentTime - 10, currentTime - 100, currentTime + 1000}) {
+                ConsentResource consentResource = consentCoreDAO.storeConsentResource(connection,
+                        ConsentMgtDAOTestData.getSampleTestConsentResource());
+                consentIDs.add(consentResource.getConsentID());
+                indexEntries.put(consentResource.getConsentID(), expiryTime);
+            }
+            Assert.assertTrue(consentCoreDAO.storeConsentExpiryIndexEntries(connection, indexEntries));
+
+            Map<String, Long> dueEntries = consentCoreDAO.getConsentExpiryIndexEntries(connection, currentTime, 10);
+            Assert.assertEquals(dueEntries.size(), 2);
+            // due entries are ordered by the expiry time
+            Assert.assertEquals(dueEntries.keySet().iterator().next(), consentIDs.get(1));
+            Assert.assertEquals(consentCoreDAO.getConsentExpiryIndexEntries(connection, currentTime, 1).size(), 1);
+
+            // storing an entry again replaces the expiry time
+            Assert.assertTrue(consentCoreDAO.storeConsentExpiryIndexEntries(connection,
+                    Collections.singletonMap(consentIDs.get(0), currentTime + 500)));
+            ArrayList<ConsentResource> expiredConsents = consentCoreDAO.getIndexedExpiredConsents(connection,
+                    consentIDs, currentTime);
+            Assert.assertEquals(expiredConsents.size(), 1);
+            Assert.assertEquals(expiredConsents.get(0).getConsentID(), consentIDs.get(1));
+            Assert.assertEquals(expiredConsents.get(0).getCurrentStatus(), ConsentMgtDAOTestData
+                    .SAMPLE_CURRENT_STATUS);
+
+            consentCoreDAO.deleteConsentExpiryIndexEntries(connection, Arrays.asList(consentIDs.get(1)));
+            Assert.assertTrue(consentCoreDAO.getConsentExpiryIndexEntries(connection, currentTime, 10).isEmpty());
+            Assert.assertEquals(consentCoreDAO.getConsentExpiryIndexEntries(connection, currentTime + 1000, 10)
+                    .size(), 2);
+
+            consentCoreDAO.deleteAllConsentExpiryIndexEntries(connection);
+            Assert.assertTrue(consentCoreDAO.getConsentExpiryIndexEntries(connection, currentTime + 1000, 10)
+                    .isEmpty());
+        }
+    }
+
+    @Test (expectedExceptions = OBConsentDataInsertionException.class)
+    public void testStoreConsentExpiryIndexEntriesSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.storeConsentExpiryIndexEntries(mockedConnection,
+                Collections.singletonMap(ConsentMgtDAOTestData.SAMPLE_CONSENT_ID, 0L));
+    }
+
+    @Test (expectedExceptions = OBConsentDataRetrievalException.class)
+    public void testGetConsentExpiryIndexEntriesSQLError() throws Exception {
+
+        Mockito.doReturn(mockedPreparedStatement).when(mockedConnection).prepareStatement(Mockito.anyString());
+        Mockito.doThrow(SQLException.class).when(mockedPreparedStatement).executeQuery();
+        consentCoreDAO.getConsentExpiryIndexEntries(mockedConnection, 0, 10);
+    }
+
+    @Test (expectedExceptions = OBConsentDataRetrievalException.class)
+    public void testGetIndexedExpiredConsentsSQLError() throws Exception {
+
+        Mockito.doReturn(mockedPreparedStatement).when(mockedConnection).prepareStatement(Mockito.anyString());
+        Mockito.doThrow(SQLException.class).when(mockedPreparedStatement).executeQuery();
+        consentCoreDAO.getIndexedExpiredConsents(mockedConnection,
+                Arrays.asList(ConsentMgtDAOTestData.SAMPLE_CONSENT_ID), 0);
+    }
+
+    @Test (expectedExceptions = OBConsentDataDeletionException.class)
+    public void testDeleteConsentExpiryIndexEntriesSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.deleteConsentExpiryIndexEntries(mockedConnection,
+                Arrays.asList(ConsentMgtDAOTestData.SAMPLE_CONSENT_ID));
+    }
+
+    @Test
+    public void testChunkedRetentionDataSync() throws Exception {
+
+        ArrayList<String> consentIDs = new ArrayList<>();
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            for (int i = 0; i < 2; i++) {
+                String consentID = consentCoreDAO.storeConsentResource(connection,
+                        ConsentMgtDAOTestData.getSampleTestConsentResource()).getConsentID();
+                consentIDs.add(consentID);
+                AuthorizationResource authorizationResource = consentCoreDAO.storeAuthorizationResource(connection,
+                        ConsentMgtDAOTestData.getSampleTestAuthorizationResource(consentID));
+                consentCoreDAO.storeConsentMappingResource(connection, ConsentMgtDAOTestData
+                        .getSampleTestConsentMappingResource(authorizationResource.getAuthorizationID()));
+                consentCoreDAO.storeConsentAttributes(connection,
+                        ConsentMgtDAOTestData.getSampleTestConsentAttributesObject(consentID));
+                ConsentFile consentFile = ConsentMgtDAOTestData.getSampleConsentFileObject(ConsentMgtDAOTestData
+                        .SAMPLE_CONSENT_FILE);
+                consentFile.setConsentID(consentID);
+                consentCoreDAO.storeConsentFile(connection, consentFile);
+                consentCoreDAO.storeConsentStatusAuditRecord(connection, ConsentMgtDAOTestData
+                        .getSampleTestConsentStatusAuditRecord(consentID, ConsentMgtDAOTestData.SAMPLE_CURRENT_STATUS));
+            }
+            Collections.sort(consentIDs);
+            copyToRetentionTables(connection, consentIDs);
+
+            // consent IDs are paginated in the order of the consent ID
+            ArrayList<String> firstPage = consentCoreDAO.getListOfConsentIds(connection, true, null, 1);
+            Assert.assertEquals(firstPage, Collections.singletonList(consentIDs.get(0)));
+            ArrayList<String> secondPage = consentCoreDAO.getListOfConsentIds(connection, true, firstPage.get(0), 2);
+            Assert.assertEquals(secondPage, Collections.singletonList(consentIDs.get(1)));
+
+            ArrayList<DetailedConsentResource> detailedConsents =
+                    consentCoreDAO.getDetailedConsentResources(connection, consentIDs, true);
+            ArrayList<ConsentFile> consentFiles = consentCoreDAO.getConsentFiles(connection, consentIDs, true);
+            Assert.assertEquals(detailedConsents.size(), 2);
+            Assert.assertEquals(consentFiles.size(), 2);
+            for (DetailedConsentResource detailedConsent : detailedConsents) {
+                Assert.assertEquals(detailedConsent.getAuthorizationResources().size(), 1);
+                Assert.assertEquals(detailedConsent.getConsentMappingResources().size(), 1);
+                Assert.assertFalse(detailedConsent.getConsentAttributes().isEmpty());
+            }
+
+            // the data read from the retention tables is stored again after deleting the original data
+            Map<String, Long> indexEntries = new HashMap<>();
+            consentIDs.forEach(consentID -> indexEntries.put(consentID, 1000L));
+            Assert.assertTrue(consentCoreDAO.storeConsentExpiryIndexEntries(connection, indexEntries));
+            Assert.assertEquals(consentCoreDAO.bulkDeleteConsentData(connection, consentIDs, false), 2);
+            Assert.assertTrue(consentCoreDAO.getDetailedConsentResources(connection, consentIDs, false).isEmpty());
+            Assert.assertFalse(consentCoreDAO.getConsentExpiryIndexEntries(connection, Long.MAX_VALUE, 100).keySet()
+                    .stream().anyMatch(consentIDs::contains));
+            Assert.assertTrue(consentCoreDAO.storeDetailedConsentResources(connection, detailedConsents));
+            Assert.assertTrue(consentCoreDAO.storeConsentFiles(connection, consentFiles));
+            ArrayList<DetailedConsentResource> storedDetailedConsents =
+                    consentCoreDAO.getDetailedConsentResources(connection, consentIDs, false);
+            Assert.assertEquals(storedDetailedConsents.size(), 2);
+            Assert.assertEquals(storedDetailedConsents.get(0).getConsentMappingResources().size(), 1);
+            Assert.assertEquals(consentCoreDAO.getConsentFiles(connection, consentIDs, false).size(), 2);
+
+            Assert.assertEquals(consentCoreDAO.bulkDeleteConsentData(connection, consentIDs, true), 2);
+            Assert.assertTrue(consentCoreDAO.getListOfConsentIds(connection, true).isEmpty());
+        }
+    }
+
+    @Test
+    public void testRetentionSyncCheckpoint() throws Exception {
+
+        List<String> consentIDs = Arrays.asList(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            consentCoreDAO.storeRetentionSyncCheckpoint(connection, consentIDs);
+            Assert.assertTrue(consentCoreDAO.getRetentionSyncCheckpoint(connection).containsAll(consentIDs));
+            consentCoreDAO.deleteRetentionSyncCheckpoint(connection);
+            Assert.assertTrue(consentCoreDAO.getRetentionSyncCheckpoint(connection).isEmpty());
+        }
+    }
+
+    @Test (expectedExceptions = OBConsentDataRetrievalException.class)
+    public void testGetDetailedConsentResourcesSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.getDetailedConsentResources(mockedConnection,
+                Arrays.asList(ConsentMgtDAOTestData.SAMPLE_CONSENT_ID), true);
+    }
+
+    @Test (expectedExceptions = OBConsentDataInsertionException.class)
+    public void testStoreDetailedConsentResourcesSQLError() throws Exception {
+
+        DetailedConsentResource detailedConsent = new DetailedConsentResource();
+        detailedConsent.setConsentID(ConsentMgtDAOTestData.SAMPLE_CONSENT_ID);
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.storeDetailedConsentResources(mockedConnection, Arrays.asList(detailedConsent));
+    }
+
+    @Test (expectedExceptions = OBConsentDataDeletionException.class)
+    public void testBulkDeleteConsentDataSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.bulkDeleteConsentData(mockedConnection,
+                Arrays.asList(ConsentMgtDAOTestData.SAMPLE_CONSENT_ID), true);
+    }
+
+    @Test (expectedExceptions = OBConsentDataInsertionException.class)
+    public void testStoreRetentionSyncCheckpointSQLError() throws Exception {
+
+        Mockito.doThrow(SQLException.class).when(mockedConnection).prepareStatement(Mockito.anyString());
+        consentCoreDAO.storeRetentionSyncCheckpoint(mockedConnection,
+                Arrays.asList(ConsentMgtDAOTestData.SAMPLE_CONSENT_ID));
+    }
+
+    private void copyToRetentionTables(Connection connection, List<String> consentIDs) throws SQLException {
+
+        String consentIDCondition = " IN ('" + String.join("','", consentIDs) + "')";
+        String[] copyQueries = {
+                "INSERT INTO RET_OB_CONSENT SELECT * FROM OB_CONSENT WHERE CONSENT_ID" + consentIDCondition,
+                "INSERT INTO RET_OB_CONSENT_AUTH_RESOURCE SELECT * FROM OB_CONSENT_AUTH_RESOURCE WHERE CONSENT_ID" +
+                        consentIDCondition,
+                "INSERT INTO RET_OB_CONSENT_MAPPING SELECT * FROM OB_CONSENT_MAPPING WHERE AUTH_ID IN " +
+                        "(SELECT AUTH_ID FROM OB_CONSENT_AUTH_RESOURCE WHERE CONSENT_ID" + consentIDCondition + ")",
+                "INSERT INTO RET_OB_CONSENT_ATTRIBUTE SELECT * FROM OB_CONSENT_ATTRIBUTE WHERE CONSENT_ID" +
+                        consentIDCondition,
+                "INSERT INTO RET_OB_CONSENT_FILE SELECT * FROM OB_CONSENT_FILE WHERE CONSENT_ID" + consentIDCondition,
+                "INSERT INTO RET_OB_CONSENT_STATUS_AUDIT SELECT * FROM OB_CONSENT_STATUS_AUDIT WHERE CONSENT_ID" +
+                        consentIDCondition};
+        for (String copyQuery : copyQueries) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(copyQuery)) {
+                preparedStatement.executeUpdate();
+            }
+        }
+    }
 }
@@ -75,6 +75,15 @@ CREATE TABLE IF NOT EXISTS OB_CONSENT_HISTORY (
   PRIMARY KEY (TABLE_ID,RECORD_ID,HISTORY_ID)
 );
 
+CREATE TABLE IF NOT EXISTS OB_CONSENT_EXPIRY_INDEX (
+  CONSENT_ID        VARCHAR(255) NOT NULL,
+  EXPIRY_TIME       BIGINT NOT NULL,
+  PRIMARY KEY(CONSENT_ID),
+  CONSTRAINT FK_OB_CONSENT_EXPIRY_INDEX FOREIGN KEY (CONSENT_ID) REFERENCES OB_CONSENT (CONSENT_ID) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS IDX_OB_CONSENT_EXPIRY_TIME ON OB_CONSENT_EXPIRY_INDEX (EXPIRY_TIME);
+
 CREATE TABLE IF NOT EXISTS RET_OB_CONSENT (
   CONSENT_ID            VARCHAR(255) NOT NULL,
   RECEIPT               CLOB NOT NULL,
@@ -129,10 +138,15 @@ CREATE TABLE IF NOT EXISTS RET_OB_CONSENT_FILE (
   CONSTRAINT FK_RET_OB_CONSENT_FILE FOREIGN KEY (CONSENT_ID) REFERENCES RET_OB_CONSENT (CONSENT_ID)
 );
 
-CREATE TABLE IF NOT EXISTS OB_CONSENT_ATTRIBUTE (
+CREATE TABLE IF NOT EXISTS RET_OB_CONSENT_ATTRIBUTE (
   CONSENT_ID        VARCHAR(255) NOT NULL,
   ATT_KEY           VARCHAR(255) NOT NULL,
   ATT_VALUE         VARCHAR(255) NOT NULL,
   PRIMARY KEY(CONSENT_ID, ATT_KEY),
   CONSTRAINT FK_RET_OB_CONSENT_ATTRIBUTE FOREIGN KEY (CONSENT_ID) REFERENCES RET_OB_CONSENT (CONSENT_ID)
 );
+
+CREATE TABLE IF NOT EXISTS OB_RETENTION_SYNC_CHECKPOINT (
+  CONSENT_ID        VARCHAR(255) NOT NULL,
+  PRIMARY KEY(CONSENT_ID)
+);
@@ -505,6 +505,55 @@ public interface ConsentCoreService {
                                                               boolean fetchFromRetentionDatabase)
             throws ConsentManagementException;
 
+    /**
+     * This method is used to search a page of detailed consents with continuation token pagination. Unlike the
+     * offset based search, the consents of a page are read starting after the last consent of the previous page,
+     * hence the cost of reading a page does not depend on how deep the page is. The consents are ordered by the
+     * updated time and the consent ID in descending order. The search conditions are the same as the offset based
+     * search.
+     *
+     * @param consentIDs consent IDs optional list
+     * @param clientIDs client IDs optional list
+     * @param consentTypes consent types optional list
+     * @param consentStatuses consent statuses optional list
+     * @param userIDs user IDs optional list
+     * @param fromTime from time
+     * @param toTime to time
+     * @param continuationToken continuation token returned with the previous page, null or empty for the first page
+     * @param limit maximum number of consents in the page, which is capped at 1000
+     * @param fetchFromRetentionDatabase flag to enable fetch data from retention database.
+     * @return page of detailed consent resources along with the continuation token of the next page and the
+     *         effective limit
+     * @throws ConsentManagementException thrown if the continuation token is invalid or any error occur
+     */
+    ConsentSearchPage searchDetailedConsents(ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                                             ArrayList<String> consentTypes, ArrayList<String> consentStatuses,
+                                             ArrayList<String> userIDs, Long fromTime, Long toTime,
+                                             String continuationToken, int limit,
+                                             boolean fetchFromRetentionDatabase)
+            throws ConsentManagementException;
+
+    /**
+     * This method is used to count the consents matching the given lists of parameters, without reading the consents.
+     * The search conditions are the same as searchDetailedConsents.
+     *
+     * @param consentIDs consent IDs optional list
+     * @param clientIDs client IDs optional list
+     * @param consentTypes consent types optional list
+     * @param consentStatuses consent statuses optional list
+     * @param userIDs user IDs optional list
+     * @param fromTime from time
+     * @param toTime to time
+     * @param fetchFromRetentionDatabase flag to enable fetch data from retention database.
+     * @return number of matching consents
+     * @throws ConsentManagementException thrown if any error occur
+     */
+    int countDetailedConsents(ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                              ArrayList<String> consentTypes, ArrayList<String> consentStatuses,
+                              ArrayList<String> userIDs, Long fromTime, Long toTime,
+                              boolean fetchFromRetentionDatabase)
+            throws ConsentManagementException;
+
     /**
      * This method is used to bind user and accounts to the consent.
      *
@@ -602,6 +651,74 @@ public interface ConsentCoreService {
     ArrayList<DetailedConsentResource> getConsentsEligibleForExpiration(String statusesEligibleForExpiration)
             throws ConsentManagementException;
 
+    /**
+     * This method is used to fetch a page of consents which are expired at the given time. The expiry time attribute
+     * is compared in the database and the consents are ordered by the consent ID.
+     *
+     * @param statusesEligibleForExpiration comma separated statuses eligible for expiration
+     * @param expiryTime time in seconds to compare the expiry time attribute with
+     * @param lastConsentID last consent ID of the previous page, null to fetch the first page
+     * @param limit maximum number of consents to fetch
+     * @return list of expired consents with the basic consent data
+     * @throws ConsentManagementException thrown if any error occurs in the process
+     */
+    ArrayList<ConsentResource> getExpiredConsents(String statusesEligibleForExpiration, long expiryTime,
+                                                  String lastConsentID, int limit)
+            throws ConsentManagementException;
+
+    /**
+     * This method is used to update the status of a set of expired consents in a single transaction. Status updates,
+     * audit records and amendment history records are written using batch statements. Consents whose status was
+     * changed after they were read are skipped.
+     *
+     * @param expiredConsents expired consents returned by getExpiredConsents
+     * @param expiredConsentStatus status to set for the expired consents
+     * @param storeAmendmentHistory whether to store the previous status in the consent amendment history
+     * @return IDs of the updated consents
+     * @throws ConsentManagementException thrown if any error occurs in the process
+     */
+    ArrayList<String> updateExpiredConsentStatuses(ArrayList<ConsentResource> expiredConsents,
+                                                   String expiredConsentStatus, boolean storeAmendmentHistory)
+            throws ConsentManagementException;
+
+    /**
+     * This method is used to get the consent expiry index entries which are due on or before the given time.
+     *
+     * @param expiryTime upper bound of the expiry time in epoch seconds
+     * @param limit maximum number of entries to fetch
+     * @return map of consent IDs and expiry times ordered by the expiry time
+     * @throws ConsentManagementException thrown if any error occurs in the process
+     */
+    Map<String, Long> getConsentExpiryIndexEntries(long expiryTime, int limit) throws ConsentManagementException;
+
+    /**
+     * This method is used to get the given consents if their indexed expiry time is on or before the given time.
+     * Consents whose expiry time was amended to a later time are not returned.
+     *
+     * @param consentIDs consent IDs to check, at most 1000 IDs
+     * @param expiryTime the current time in epoch seconds
+     * @return list of expired consents with the basic consent data
+     * @throws ConsentManagementException thrown if any error occurs in the process
+     */
+    ArrayList<ConsentResource> getIndexedExpiredConsents(ArrayList<String> consentIDs, long expiryTime)
+            throws ConsentManagementException;
+
+    /**
+     * This method is used to remove the given consents from the consent expiry index.
+     *
+     * @param consentIDs consent IDs to remove
+     * @throws ConsentManagementException thrown if any error occurs in the process
+     */
+    void deleteConsentExpiryIndexEntries(ArrayList<String> consentIDs) throws ConsentManagementException;
+
+    /**
+     * This method is used to rebuild the consent expiry index from the expiry time attributes of the consents.
+     *
+     * @return number of indexed consents
+     * @throws ConsentManagementException thrown if any error occurs in the process
+     */
+    int rebuildConsentExpiryIndex() throws ConsentManagementException;
+
     /**
      * This method is used to update the status of an authorization resource by providing the authorization Id and
      * the new authorization status.
@@ -707,4 +824,29 @@ public interface ConsentCoreService {
      */
     ConsentFile getConsentFile(String consentId, boolean fetchFromRetentionDatabase) throws ConsentManagementException;
 
+    /**
+     * This method is used to stream the detailed consents for the given lists of parameters to a handler, one by
+     * one. The consents are read in pages of the given fetch size with keyset pagination on the updated time and the
+     * consent ID, hence only a page of consents is held in memory regardless of the size of the result. The
+     * consents are ordered by the updated time in descending order, the same as searchDetailedConsents.
+     *
+     * @param consentIDs consent IDs optional list
+     * @param clientIDs client IDs optional list
+     * @param consentTypes consent types optional list
+     * @param consentStatuses consent statuses optional list
+     * @param userIDs user IDs optional list
+     * @param fromTime from time
+     * @param toTime to time
+     * @param fetchFromRetentionDatabase flag to enable fetch data from retention database
+     * @param fetchSize number of consents read in a single page
+     * @param resultHandler handler which receives the consents
+     * @return number of consents passed to the handler
+     * @throws ConsentManagementException thrown if any error occur, or thrown by the handler
+     */
+    int streamDetailedConsents(ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                               ArrayList<String> consentTypes, ArrayList<String> consentStatuses,
+                               ArrayList<String> userIDs, Long fromTime, Long toTime,
+                               boolean fetchFromRetentionDatabase, int fetchSize,
+                               ConsentSearchResultHandler resultHandler)
+            throws ConsentManagementException;
 }
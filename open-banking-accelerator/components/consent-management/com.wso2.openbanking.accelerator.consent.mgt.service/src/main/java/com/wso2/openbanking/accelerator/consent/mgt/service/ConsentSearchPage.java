@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.mgt.service;
+
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
+
+import java.util.ArrayList;
+
+/**
+ * A page of a consent search read with continuation token pagination.
+ */
+public class ConsentSearchPage {
+
+    private final ArrayList<DetailedConsentResource> detailedConsents;
+    private final String continuationToken;
+    private final int limit;
+
+    public ConsentSearchPage(ArrayList<DetailedConsentResource> detailedConsents, String continuationToken,
+                             int limit) {
+
+        this.detailedConsents = detailedConsents;
+        this.continuationToken = continuationToken;
+        this.limit = limit;
+    }
+
+    public ArrayList<DetailedConsentResource> getDetailedConsents() {
+
+        return detailedConsents;
+    }
+
+    /**
+     * Get the opaque token to read the next page with. The token is null if this is the last page.
+     *
+     * @return continuation token of the next page
+     */
+    public String getContinuationToken() {
+
+        return continuationToken;
+    }
+
+    /**
+     * Get the maximum number of consents in the page, which may be lower than the requested limit since the page
+     * size is capped.
+     *
+     * @return effective limit of the page
+     */
+    public int getLimit() {
+
+        return limit;
+    }
+}
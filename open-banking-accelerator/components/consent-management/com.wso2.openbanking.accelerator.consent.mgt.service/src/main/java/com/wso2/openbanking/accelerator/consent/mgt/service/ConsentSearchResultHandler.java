@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.mgt.service;
+
+import com.wso2.openbanking.accelerator.common.exception.ConsentManagementException;
+import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
+
+/**
+ * Callback which receives the results of a streamed consent search one by one.
+ */
+public interface ConsentSearchResultHandler {
+
+    /**
+     * This method is invoked for each consent in the search result, in the order of the search.
+     *
+     * @param detailedConsentResource detailed consent resource
+     * @return true to continue the search, false to stop it
+     * @throws ConsentManagementException thrown to abort the search
+     */
+    boolean handle(DetailedConsentResource detailedConsentResource) throws ConsentManagementException;
+}
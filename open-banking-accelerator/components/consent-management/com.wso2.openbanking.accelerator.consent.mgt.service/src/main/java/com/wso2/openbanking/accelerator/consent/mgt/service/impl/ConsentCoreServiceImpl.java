@@ -40,6 +40,8 @@ import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentStatusAudi
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.persistence.ConsentStoreInitializer;
 import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentCoreService;
+import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentSearchPage;
+import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentSearchResultHandler;
 import com.wso2.openbanking.accelerator.consent.mgt.service.constants.ConsentCoreServiceConstants;
 import com.wso2.openbanking.accelerator.consent.mgt.service.internal.ConsentManagementDataHolder;
 import net.minidev.json.JSONObject;
@@ -63,13 +65,17 @@ import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +88,11 @@ import java.util.UUID;
 public class ConsentCoreServiceImpl implements ConsentCoreService {
 
     private static final Log log = LogFactory.getLog(ConsentCoreServiceImpl.class);
+    private static final int EXPIRY_INDEX_REBUILD_BATCH_SIZE = 1000;
+    // Oracle only allows 1000 values to be used in a SQL "IN" clause
+    private static final int MAX_CONSENT_SEARCH_PAGE_SIZE = 1000;
+    private static final char CONTINUATION_TOKEN_SEPARATOR = ':';
+    private static final String INVALID_CONTINUATION_TOKEN_ERROR_MSG = "Invalid continuation token";
 
     @Override
     public DetailedConsentResource createAuthorizableConsent(ConsentResource consentResource, String userID,
@@ -604,6 +615,7 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
                             consentID.replaceAll("[\r\n]", ""));
                 }
                 isConsentAttributesStored = consentCoreDAO.storeConsentAttributes(connection, consentAttributesObject);
+                storeConsentExpiryIndexEntry(connection, consentCoreDAO, consentID, consentAttributes);
                 DatabaseUtil.commitTransaction(connection);
             } catch (OBConsentDataInsertionException e) {
                 log.error(ConsentCoreServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
@@ -779,6 +791,10 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
                     log.debug("Deleting attributes for the consent ID: " + consentID.replaceAll("[\r\n]", ""));
                 }
                 consentCoreDAO.deleteConsentAttributes(connection, consentID, attributeKeysList);
+                if (OpenBankingConfigParser.getInstance().isConsentExpiryIndexEnabled() &&
+                        attributeKeysList.contains(ConsentMgtDAOConstants.CONSENT_EXPIRY_TIME_ATTRIBUTE)) {
+                    consentCoreDAO.deleteConsentExpiryIndexEntries(connection, Collections.singletonList(consentID));
+                }
 
                 // Commit transactions
                 DatabaseUtil.commitTransaction(connection);
@@ -1267,8 +1283,8 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
                 ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
 
                 log.debug("Searching detailed consents");
-                detailedConsentResources = consentCoreDAO.searchConsents(connection, consentIDs, clientIDs,
-                        consentTypes, consentStatuses, userIDs, fromTime, toTime, limit, offset);
+                detailedConsentResources = searchDetailedConsents(consentCoreDAO, connection, consentIDs,
+                        clientIDs, consentTypes, consentStatuses, userIDs, fromTime, toTime, limit, offset);
 
             } catch (OBConsentDataRetrievalException e) {
                 log.error("Error occurred while searching detailed consents", e);
@@ -1315,8 +1331,8 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
                 }
 
                 log.debug("Searching detailed consents");
-                detailedConsentResources = consentCoreDAO.searchConsents(connection, consentIDs, clientIDs,
-                        consentTypes, consentStatuses, userIDs, fromTime, toTime, limit, offset);
+                detailedConsentResources = searchDetailedConsents(consentCoreDAO, connection, consentIDs,
+                        clientIDs, consentTypes, consentStatuses, userIDs, fromTime, toTime, limit, offset);
 
             } catch (OBConsentDataRetrievalException e) {
                 log.error("Error occurred while searching detailed consents", e);
@@ -1333,6 +1349,243 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
         return detailedConsentResources;
     }
 
+    @Override
+    public ConsentSearchPage searchDetailedConsents(ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                                                    ArrayList<String> consentTypes,
+                                                    ArrayList<String> consentStatuses, ArrayList<String> userIDs,
+                                                    Long fromTime, Long toTime, String continuationToken,
+                                                    int limit, boolean fetchFromRetentionDatabase)
+            throws ConsentManagementException {
+
+        if (limit <= 0) {
+            log.error("Limit should be positive");
+            throw new ConsentManagementException("Cannot proceed since limit is not positive");
+        }
+        int pageSize = Math.min(MAX_CONSENT_SEARCH_PAGE_SIZE, limit);
+
+        Long lastUpdatedTime = null;
+        String lastConsentID = null;
+        if (StringUtils.isNotEmpty(continuationToken)) {
+            String decodedToken;
+            try {
+                decodedToken = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new ConsentManagementException(INVALID_CONTINUATION_TOKEN_ERROR_MSG, e);
+            }
+            int separatorIndex = decodedToken.indexOf(CONTINUATION_TOKEN_SEPARATOR);
+            try {
+                lastUpdatedTime = Long.parseLong(decodedToken.substring(0, Math.max(0, separatorIndex)));
+            } catch (NumberFormatException e) {
+                throw new ConsentManagementException(INVALID_CONTINUATION_TOKEN_ERROR_MSG, e);
+            }
+            lastConsentID = decodedToken.substring(separatorIndex + 1);
+        }
+
+        Connection connection;
+        ConsentCoreDAO consentCoreDAO;
+        if (fetchFromRetentionDatabase) {
+            connection = DatabaseUtil.getRetentionDBConnection();
+            consentCoreDAO = ConsentStoreInitializer.getInitializedConsentRetentionDAOImpl();
+        } else {
+            connection = DatabaseUtil.getDBConnection();
+            consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+        }
+
+        try {
+            log.debug("Searching a page of detailed consents");
+            // An additional consent is read to find whether there is a next page
+            LinkedHashMap<String, Long> consentUpdatedTimes = consentCoreDAO.searchConsentIDs(connection, consentIDs,
+                    clientIDs, consentTypes, consentStatuses, userIDs, fromTime, toTime, lastUpdatedTime,
+                    lastConsentID, pageSize + 1);
+
+            String nextContinuationToken = null;
+            if (consentUpdatedTimes.size() > pageSize) {
+                Iterator<Map.Entry<String, Long>> iterator = consentUpdatedTimes.entrySet().iterator();
+                Map.Entry<String, Long> lastConsent = null;
+                for (int i = 0; i < pageSize; i++) {
+                    lastConsent = iterator.next();
+                }
+                iterator.next();
+                iterator.remove();
+                nextContinuationToken = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        (lastConsent.getValue() + CONTINUATION_TOKEN_SEPARATOR + lastConsent.getKey())
+                                .getBytes(StandardCharsets.UTF_8));
+            }
+            ArrayList<DetailedConsentResource> detailedConsents =
+                    getDetailedConsentsInOrder(connection, consentCoreDAO, consentUpdatedTimes);
+
+            // Commit transactions
+            DatabaseUtil.commitTransaction(connection);
+            log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+            return new ConsentSearchPage(detailedConsents, nextContinuationToken, pageSize);
+        } catch (OBConsentDataRetrievalException e) {
+            log.error("Error occurred while searching detailed consents", e);
+            throw new ConsentManagementException("Error occurred while searching detailed consents", e);
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public int countDetailedConsents(ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                                     ArrayList<String> consentTypes, ArrayList<String> consentStatuses,
+                                     ArrayList<String> userIDs, Long fromTime, Long toTime,
+                                     boolean fetchFromRetentionDatabase)
+            throws ConsentManagementException {
+
+        Connection connection;
+        ConsentCoreDAO consentCoreDAO;
+        if (fetchFromRetentionDatabase) {
+            connection = DatabaseUtil.getRetentionDBConnection();
+            consentCoreDAO = ConsentStoreInitializer.getInitializedConsentRetentionDAOImpl();
+        } else {
+            connection = DatabaseUtil.getDBConnection();
+            consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+        }
+
+        try {
+            log.debug("Counting detailed consents");
+            int consentCount = consentCoreDAO.countConsents(connection, consentIDs, clientIDs, consentTypes,
+                    consentStatuses, userIDs, fromTime, toTime);
+
+            // Commit transactions
+            DatabaseUtil.commitTransaction(connection);
+            log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+            return consentCount;
+        } catch (OBConsentDataRetrievalException e) {
+            log.error("Error occurred while counting detailed consents", e);
+            throw new ConsentManagementException("Error occurred while counting detailed consents", e);
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public int streamDetailedConsents(ArrayList<String> consentIDs, ArrayList<String> clientIDs,
+                                      ArrayList<String> consentTypes, ArrayList<String> consentStatuses,
+                                      ArrayList<String> userIDs, Long fromTime, Long toTime,
+                                      boolean fetchFromRetentionDatabase, int fetchSize,
+                                      ConsentSearchResultHandler resultHandler)
+            throws ConsentManagementException {
+
+        if (fetchSize <= 0 || resultHandler == null) {
+            log.error("Fetch size should be positive and result handler should not be null");
+            throw new ConsentManagementException("Cannot proceed since fetch size is not positive or result " +
+                    "handler is missing");
+        }
+        int pageSize = Math.min(MAX_CONSENT_SEARCH_PAGE_SIZE, fetchSize);
+        int handledConsentCount = 0;
+
+        Connection connection;
+        ConsentCoreDAO consentCoreDAO;
+        if (fetchFromRetentionDatabase) {
+            connection = DatabaseUtil.getRetentionDBConnection();
+            consentCoreDAO = ConsentStoreInitializer.getInitializedConsentRetentionDAOImpl();
+        } else {
+            connection = DatabaseUtil.getDBConnection();
+            consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+        }
+
+        try {
+            log.debug("Streaming detailed consents");
+            Long lastUpdatedTime = null;
+            String lastConsentID = null;
+            boolean shouldContinue = true;
+            while (shouldContinue) {
+                LinkedHashMap<String, Long> consentUpdatedTimes = consentCoreDAO.searchConsentIDs(connection,
+                        consentIDs, clientIDs, consentTypes, consentStatuses, userIDs, fromTime, toTime,
+                        lastUpdatedTime, lastConsentID, pageSize);
+                if (consentUpdatedTimes.isEmpty()) {
+                    break;
+                }
+
+                for (DetailedConsentResource detailedConsent :
+                        getDetailedConsentsInOrder(connection, consentCoreDAO, consentUpdatedTimes)) {
+                    handledConsentCount++;
+                    if (!resultHandler.handle(detailedConsent)) {
+                        shouldContinue = false;
+                        break;
+                    }
+                }
+                // the page is continued from its last consent, even if the consent was deleted meanwhile
+                Map.Entry<String, Long> lastConsent = null;
+                for (Map.Entry<String, Long> consentUpdatedTime : consentUpdatedTimes.entrySet()) {
+                    lastConsent = consentUpdatedTime;
+                }
+                lastConsentID = lastConsent.getKey();
+                lastUpdatedTime = lastConsent.getValue();
+                shouldContinue = shouldContinue && consentUpdatedTimes.size() == pageSize;
+            }
+
+            // Commit transactions
+            DatabaseUtil.commitTransaction(connection);
+            log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+        } catch (OBConsentDataRetrievalException e) {
+            log.error("Error occurred while streaming detailed consents", e);
+            throw new ConsentManagementException("Error occurred while streaming detailed consents", e);
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+        return handledConsentCount;
+    }
+
+    /**
+     * Search detailed consents with the configured retrieval strategy. The consents are either read with a single
+     * query joining all the consent tables, or with a query per table for the IDs of the matching consents.
+     */
+    private ArrayList<DetailedConsentResource> searchDetailedConsents(ConsentCoreDAO consentCoreDAO,
+                                                                      Connection connection,
+                                                                      ArrayList<String> consentIDs,
+                                                                      ArrayList<String> clientIDs,
+                                                                      ArrayList<String> consentTypes,
+                                                                      ArrayList<String> consentStatuses,
+                                                                      ArrayList<String> userIDs, Long fromTime,
+                                                                      Long toTime, Integer limit, Integer offset)
+            throws OBConsentDataRetrievalException {
+
+        if (OpenBankingConfigParser.getInstance().isConsentSearchBatchedRetrievalEnabled()) {
+            return consentCoreDAO.searchConsentsWithBatchedQueries(connection, consentIDs, clientIDs, consentTypes,
+                    consentStatuses, userIDs, fromTime, toTime, limit, offset);
+        }
+        return consentCoreDAO.searchConsents(connection, consentIDs, clientIDs, consentTypes, consentStatuses,
+                userIDs, fromTime, toTime, limit, offset);
+    }
+
+    /**
+     * Read the details of a page of consents with a query per table, in the order of the page. Consents deleted after
+     * the page was read are skipped.
+     *
+     * @param connection          database connection
+     * @param consentCoreDAO      consent DAO
+     * @param consentUpdatedTimes page of consent IDs and updated times
+     * @return detailed consents in the order of the page
+     * @throws OBConsentDataRetrievalException thrown if a database error occurs
+     */
+    private ArrayList<DetailedConsentResource> getDetailedConsentsInOrder(
+            Connection connection, ConsentCoreDAO consentCoreDAO, LinkedHashMap<String, Long> consentUpdatedTimes)
+            throws OBConsentDataRetrievalException {
+
+        ArrayList<DetailedConsentResource> orderedDetailedConsents = new ArrayList<>();
+        if (consentUpdatedTimes.isEmpty()) {
+            return orderedDetailedConsents;
+        }
+        Map<String, DetailedConsentResource> detailedConsents = new HashMap<>();
+        for (DetailedConsentResource detailedConsent : consentCoreDAO.getDetailedConsentResources(connection,
+                new ArrayList<>(consentUpdatedTimes.keySet()), false)) {
+            detailedConsents.put(detailedConsent.getConsentID(), detailedConsent);
+        }
+        for (String consentID : consentUpdatedTimes.keySet()) {
+            DetailedConsentResource detailedConsent = detailedConsents.get(consentID);
+            if (detailedConsent != null) {
+                orderedDetailedConsents.add(detailedConsent);
+            }
+        }
+        return orderedDetailedConsents;
+    }
+
     @Override
     public boolean bindUserAccountsToConsent(ConsentResource consentResource, String userID,
                                              String authID, ArrayList<String> accountIDs,
@@ -1536,6 +1789,8 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
                         .getConsentID().replaceAll("[\r\n]", ""));
             }
             isConsentAttributesStored = consentCoreDAO.storeConsentAttributes(connection, consentAttributes);
+            storeConsentExpiryIndexEntry(connection, consentCoreDAO, consentID,
+                    consentAttributes.getConsentAttributes());
         }
 
         /* Create audit record, setting previous consent status as null since this is the first time the
@@ -1915,6 +2170,7 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
             log.debug("Storing consent attributes for the consent of ID: " + consentID.replaceAll("[\r\n]", ""));
         }
         consentCoreDAO.storeConsentAttributes(connection, consentAttributesObject);
+        storeConsentExpiryIndexEntry(connection, consentCoreDAO, consentID, consentAttributes);
     }
 
     private void processAdditionalConsentAmendmentData(Connection connection, ConsentCoreDAO consentCoreDAO,
@@ -2195,117 +2451,23 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
             ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
             ConsentCoreDAO consentRetentionDAO = ConsentStoreInitializer.getInitializedConsentRetentionDAOImpl();
 
+            if (OpenBankingConfigParser.getInstance().isRetentionDataChunkedSyncEnabled()) {
+                syncRetentionDatabaseInChunks(consentDBConnection, retentionDBConnection, consentCoreDAO,
+                        consentRetentionDAO);
+                return true;
+            }
+
             // Fetch list of consent_id's to sync from temporary retention tables in consent DB.
             ArrayList<String> listOfConsentIds = consentCoreDAO.getListOfConsentIds(consentDBConnection, true);
 
             // Fetch consent data from temporary retention tables in consent DB.
             log.debug("Fetching consent data from temporary retention tables in consent DB");
             for (String consentId : listOfConsentIds) {
-                Savepoint retentionDBSavepoint = retentionDBConnection.setSavepoint();
-                Savepoint consentDBSavepoint = consentDBConnection.setSavepoint();
-                try {
-                    // Fetching detailed consent.
-                    DetailedConsentResource detailedConsent =
-                            consentCoreDAO.getDetailedConsentResource(consentDBConnection, consentId, true);
-                    ConsentResource consentResource = new ConsentResource(detailedConsent.getConsentID(),
-                            detailedConsent.getClientID(), detailedConsent.getReceipt(),
-                            detailedConsent.getConsentType(), detailedConsent.getConsentFrequency(),
-                            detailedConsent.getValidityPeriod(), detailedConsent.isRecurringIndicator(),
-                            detailedConsent.getCurrentStatus(), detailedConsent.getCreatedTime(),
-                            detailedConsent.getUpdatedTime());
-
-                    ConsentFile consentFile = null;
-                    ArrayList<ConsentStatusAuditRecord> consentStatusAuditRecords = null;
-                    try {
-                        // Fetching consent file.
-                        consentFile = consentCoreDAO.getConsentFile(consentDBConnection, consentId, true);
-                    } catch (OBConsentDataRetrievalException e) {
-                        log.error(String.format("Error occurred fetching consent file for consent_id : %s , " +
-                                "Ignoring this as null consent file for given consent_id",
-                                consentId.replaceAll("[\r\n]", "")));
-                    }
-                    try {
-                        // Fetching consent audit records.
-                        ArrayList<String> consentIds = new ArrayList<>();
-                        consentIds.add(consentId);
-                        consentStatusAuditRecords =
-                                consentCoreDAO.getConsentStatusAuditRecordsByConsentId(consentDBConnection, consentIds,
-                                         null, null, true);
-                    } catch (OBConsentDataRetrievalException e) {
-                        log.error(String.format("Error occurred fetching consent audit records for consent_id : %s , " +
-                                "Ignoring this as null consent audit records for given consent_id",
-                                consentId.replaceAll("[\r\n]", "")));
-                    }
-
-                    // Inserting to retention datasource
-                    ConsentResource insertedConsentResources =
-                            consentRetentionDAO.storeConsentResource(retentionDBConnection, consentResource);
-                    if (insertedConsentResources == null) {
-                        throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
-                                DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent resource");
-                    }
-                    for (AuthorizationResource authResource : detailedConsent.getAuthorizationResources()) {
-                        if (authResource.getAuthorizationID() != null) {
-                            AuthorizationResource storeAuthorizationResource =
-                                    consentRetentionDAO.storeAuthorizationResource(retentionDBConnection, authResource);
-                            if (storeAuthorizationResource == null) {
-                                throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
-                                        DATA_INSERTION_ROLLBACK_ERROR_MSG + " for authorization resources");
-                            }
-                        }
-                    }
-                    for (ConsentMappingResource mappingResource : detailedConsent.getConsentMappingResources()) {
-                        ConsentMappingResource storeConsentMappingResource =
-                                consentRetentionDAO.storeConsentMappingResource(retentionDBConnection, mappingResource);
-                        if (storeConsentMappingResource == null) {
-                            throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
-                                    DATA_INSERTION_ROLLBACK_ERROR_MSG + " for mapping resources");
-                        }
-                    }
-                    if (!detailedConsent.getConsentAttributes().isEmpty()) {
-                        ConsentAttributes consentAttributes = new ConsentAttributes(consentId,
-                                detailedConsent.getConsentAttributes());
-                        if (!consentRetentionDAO.storeConsentAttributes(retentionDBConnection, consentAttributes)) {
-                            throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
-                                    DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent attributes");
-                        }
-                    }
-                    if (consentFile != null) {
-                        if (!consentRetentionDAO.storeConsentFile(retentionDBConnection, consentFile)) {
-                            throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
-                                    DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent file");
-                        }
-                    }
-                    if (consentStatusAuditRecords != null) {
-                        for (ConsentStatusAuditRecord auditRecords : consentStatusAuditRecords) {
-                            ConsentStatusAuditRecord storeConsentStatusAuditRecord = consentRetentionDAO
-                                    .storeConsentStatusAuditRecord(retentionDBConnection, auditRecords);
-                            if (storeConsentStatusAuditRecord == null) {
-                                throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
-                                        DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent audit records");
-                            }
-                        }
-                    }
-
-                    // Removing consent data from temporary retention table in consent database
-                    boolean consentDeleted = consentCoreDAO.deleteConsentData(consentDBConnection, consentId, true);
-                    if (!consentDeleted) {
-                        throw new OBConsentDataDeletionException(ConsentCoreServiceConstants.
-                                DATA_DELETE_ROLLBACK_ERROR_MSG + " for consent data deletion");
-                    }
-                    // Commit transactions
-                    DatabaseUtil.commitTransaction(retentionDBConnection);
-                    DatabaseUtil.commitTransaction(consentDBConnection);
-                    log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
-                } catch (OBConsentDataRetrievalException | OBConsentDataInsertionException |
-                        OBConsentDataDeletionException e) {
-                    log.error(ConsentCoreServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
-                    consentDBConnection.rollback(consentDBSavepoint);
-                    retentionDBConnection.rollback(retentionDBSavepoint);
-                }
+                syncPurgedConsent(consentId, consentDBConnection, retentionDBConnection, consentCoreDAO,
+                        consentRetentionDAO, false);
             }
             return true;
-        } catch (OBConsentDataRetrievalException | SQLException e) {
+        } catch (OBConsentDataRetrievalException | OBConsentDataDeletionException | SQLException e) {
             log.error(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
             throw new ConsentManagementException("Error occurred while syncing the retention data in consent " +
                     "database to retention database", e);
@@ -2316,6 +2478,227 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
         }
     }
 
+    /**
+     * Sync the retention data of a purged consent to the retention database, and delete it from the temporary
+     * retention tables in the consent database. Errors are logged and the changes of the consent are rolled back.
+     *
+     * @param consentId             consent ID
+     * @param consentDBConnection   consent database connection
+     * @param retentionDBConnection retention database connection
+     * @param consentCoreDAO        consent database DAO
+     * @param consentRetentionDAO   retention database DAO
+     * @param storeCheckpoint       whether to store the consent in the retention sync checkpoint
+     * @throws SQLException thrown if an error occurs when setting or rolling back to a savepoint
+     */
+    private void syncPurgedConsent(String consentId, Connection consentDBConnection,
+                                   Connection retentionDBConnection, ConsentCoreDAO consentCoreDAO,
+                                   ConsentCoreDAO consentRetentionDAO, boolean storeCheckpoint)
+            throws SQLException {
+
+        Savepoint retentionDBSavepoint = retentionDBConnection.setSavepoint();
+        Savepoint consentDBSavepoint = consentDBConnection.setSavepoint();
+        try {
+            // Fetching detailed consent.
+            DetailedConsentResource detailedConsent =
+                    consentCoreDAO.getDetailedConsentResource(consentDBConnection, consentId, true);
+            ConsentResource consentResource = new ConsentResource(detailedConsent.getConsentID(),
+                    detailedConsent.getClientID(), detailedConsent.getReceipt(),
+                    detailedConsent.getConsentType(), detailedConsent.getConsentFrequency(),
+                    detailedConsent.getValidityPeriod(), detailedConsent.isRecurringIndicator(),
+                    detailedConsent.getCurrentStatus(), detailedConsent.getCreatedTime(),
+                    detailedConsent.getUpdatedTime());
+
+            ConsentFile consentFile = null;
+            ArrayList<ConsentStatusAuditRecord> consentStatusAuditRecords = null;
+            try {
+                // Fetching consent file.
+                consentFile = consentCoreDAO.getConsentFile(consentDBConnection, consentId, true);
+            } catch (OBConsentDataRetrievalException e) {
+                log.error(String.format("Error occurred fetching consent file for consent_id : %s , " +
+                        "Ignoring this as null consent file for given consent_id",
+                        consentId.replaceAll("[\r\n]", "")));
+            }
+            try {
+                // Fetching consent audit records.
+                ArrayList<String> consentIds = new ArrayList<>();
+                consentIds.add(consentId);
+                consentStatusAuditRecords =
+                        consentCoreDAO.getConsentStatusAuditRecordsByConsentId(consentDBConnection, consentIds,
+                                 null, null, true);
+            } catch (OBConsentDataRetrievalException e) {
+                log.error(String.format("Error occurred fetching consent audit records for consent_id : %s , " +
+                        "Ignoring this as null consent audit records for given consent_id",
+                        consentId.replaceAll("[\r\n]", "")));
+            }
+
+            // Inserting to retention datasource
+            ConsentResource insertedConsentResources =
+                    consentRetentionDAO.storeConsentResource(retentionDBConnection, consentResource);
+            if (insertedConsentResources == null) {
+                throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
+                        DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent resource");
+            }
+            for (AuthorizationResource authResource : detailedConsent.getAuthorizationResources()) {
+                if (authResource.getAuthorizationID() != null) {
+                    AuthorizationResource storeAuthorizationResource =
+                            consentRetentionDAO.storeAuthorizationResource(retentionDBConnection, authResource);
+                    if (storeAuthorizationResource == null) {
+                        throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
+                                DATA_INSERTION_ROLLBACK_ERROR_MSG + " for authorization resources");
+                    }
+                }
+            }
+            for (ConsentMappingResource mappingResource : detailedConsent.getConsentMappingResources()) {
+                ConsentMappingResource storeConsentMappingResource =
+                        consentRetentionDAO.storeConsentMappingResource(retentionDBConnection, mappingResource);
+                if (storeConsentMappingResource == null) {
+                    throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
+                            DATA_INSERTION_ROLLBACK_ERROR_MSG + " for mapping resources");
+                }
+            }
+            if (!detailedConsent.getConsentAttributes().isEmpty()) {
+                ConsentAttributes consentAttributes = new ConsentAttributes(consentId,
+                        detailedConsent.getConsentAttributes());
+                if (!consentRetentionDAO.storeConsentAttributes(retentionDBConnection, consentAttributes)) {
+                    throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
+                            DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent attributes");
+                }
+            }
+            if (consentFile != null) {
+                if (!consentRetentionDAO.storeConsentFile(retentionDBConnection, consentFile)) {
+                    throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
+                            DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent file");
+                }
+            }
+            if (consentStatusAuditRecords != null) {
+                for (ConsentStatusAuditRecord auditRecords : consentStatusAuditRecords) {
+                    ConsentStatusAuditRecord storeConsentStatusAuditRecord = consentRetentionDAO
+                            .storeConsentStatusAuditRecord(retentionDBConnection, auditRecords);
+                    if (storeConsentStatusAuditRecord == null) {
+                        throw new OBConsentDataInsertionException(ConsentCoreServiceConstants.
+                                DATA_INSERTION_ROLLBACK_ERROR_MSG + " for consent audit records");
+                    }
+                }
+            }
+
+            if (storeCheckpoint) {
+                consentRetentionDAO.storeRetentionSyncCheckpoint(retentionDBConnection,
+                        Collections.singletonList(consentId));
+            }
+
+            // Removing consent data from temporary retention table in consent database
+            boolean consentDeleted = consentCoreDAO.deleteConsentData(consentDBConnection, consentId, true);
+            if (!consentDeleted) {
+                throw new OBConsentDataDeletionException(ConsentCoreServiceConstants.
+                        DATA_DELETE_ROLLBACK_ERROR_MSG + " for consent data deletion");
+            }
+            // Commit transactions
+            DatabaseUtil.commitTransaction(retentionDBConnection);
+            DatabaseUtil.commitTransaction(consentDBConnection);
+            log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+        } catch (OBConsentDataRetrievalException | OBConsentDataInsertionException |
+                OBConsentDataDeletionException e) {
+            log.error(ConsentCoreServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
+            consentDBConnection.rollback(consentDBSavepoint);
+            retentionDBConnection.rollback(retentionDBSavepoint);
+        }
+    }
+
+    /**
+     * Sync the retention data to the retention database in chunks of consents. The data of a chunk is read with a
+     * query per table, stored with batch statements and deleted from the temporary retention tables in bulk.
+     * The synced consent IDs are checkpointed in the retention database in the same transaction as the synced data,
+     * hence if the job is interrupted before the data is deleted from the consent database, the deletion is
+     * completed when the job resumes, instead of syncing the consents again.
+     *
+     * @param consentDBConnection   consent database connection
+     * @param retentionDBConnection retention database connection
+     * @param consentCoreDAO        consent database DAO
+     * @param consentRetentionDAO   retention database DAO
+     */
+    private void syncRetentionDatabaseInChunks(Connection consentDBConnection, Connection retentionDBConnection,
+                                               ConsentCoreDAO consentCoreDAO, ConsentCoreDAO consentRetentionDAO)
+            throws OBConsentDataRetrievalException, OBConsentDataDeletionException, SQLException {
+
+        // Oracle only allows 1000 values to be used in a SQL "IN" clause
+        int chunkSize = Math.min(1000, Math.max(1,
+                OpenBankingConfigParser.getInstance().getRetentionDataSyncChunkSize()));
+
+        // Complete the deletion of the consents synced before the job was interrupted
+        ArrayList<String> syncedConsentIds = consentRetentionDAO.getRetentionSyncCheckpoint(retentionDBConnection);
+        if (!syncedConsentIds.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Resuming retention data sync, deleting %d synced consents from temporary " +
+                        "retention tables", syncedConsentIds.size()));
+            }
+            for (int fromIndex = 0; fromIndex < syncedConsentIds.size(); fromIndex += chunkSize) {
+                consentCoreDAO.bulkDeleteConsentData(consentDBConnection, syncedConsentIds.subList(fromIndex,
+                        Math.min(fromIndex + chunkSize, syncedConsentIds.size())), true);
+            }
+            DatabaseUtil.commitTransaction(consentDBConnection);
+            clearRetentionSyncCheckpoint(retentionDBConnection, consentRetentionDAO);
+        }
+
+        String lastConsentId = null;
+        while (true) {
+            ArrayList<String> consentIds = consentCoreDAO.getListOfConsentIds(consentDBConnection, true,
+                    lastConsentId, chunkSize);
+            if (consentIds.isEmpty()) {
+                break;
+            }
+            lastConsentId = consentIds.get(consentIds.size() - 1);
+
+            ArrayList<String> syncedChunkConsentIds = new ArrayList<>();
+            try {
+                ArrayList<DetailedConsentResource> detailedConsents =
+                        consentCoreDAO.getDetailedConsentResources(consentDBConnection, consentIds, true);
+                ArrayList<ConsentFile> consentFiles =
+                        consentCoreDAO.getConsentFiles(consentDBConnection, consentIds, true);
+                ArrayList<ConsentStatusAuditRecord> consentStatusAuditRecords = consentCoreDAO
+                        .getConsentStatusAuditRecordsByConsentId(consentDBConnection, consentIds, null, null, true);
+                for (DetailedConsentResource detailedConsent : detailedConsents) {
+                    syncedChunkConsentIds.add(detailedConsent.getConsentID());
+                }
+
+                // Inserting to retention datasource along with the checkpoint
+                consentRetentionDAO.storeDetailedConsentResources(retentionDBConnection, detailedConsents);
+                consentRetentionDAO.storeConsentFiles(retentionDBConnection, consentFiles);
+                consentRetentionDAO.storeConsentStatusAuditRecords(retentionDBConnection, consentStatusAuditRecords);
+                consentRetentionDAO.storeRetentionSyncCheckpoint(retentionDBConnection, syncedChunkConsentIds);
+                DatabaseUtil.commitTransaction(retentionDBConnection);
+            } catch (OBConsentDataRetrievalException | OBConsentDataInsertionException e) {
+                log.error(String.format("Error occurred while syncing retention data of %d consents starting from " +
+                        "consent_id : %s. Syncing the consents one at a time", consentIds.size(),
+                        consentIds.get(0).replaceAll("[\r\n]", "")), e);
+                DatabaseUtil.rollbackTransaction(consentDBConnection);
+                DatabaseUtil.rollbackTransaction(retentionDBConnection);
+                // A consent which cannot be synced is left in the temporary retention tables
+                for (String consentId : consentIds) {
+                    syncPurgedConsent(consentId, consentDBConnection, retentionDBConnection, consentCoreDAO,
+                            consentRetentionDAO, true);
+                }
+                clearRetentionSyncCheckpoint(retentionDBConnection, consentRetentionDAO);
+                continue;
+            }
+
+            // Removing consent data from temporary retention tables in consent database. If the deletion fails, the
+            // checkpoint is kept, and the deletion is completed in the next run of the job.
+            consentCoreDAO.bulkDeleteConsentData(consentDBConnection, syncedChunkConsentIds, true);
+            DatabaseUtil.commitTransaction(consentDBConnection);
+            clearRetentionSyncCheckpoint(retentionDBConnection, consentRetentionDAO);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Synced retention data of %d consents", syncedChunkConsentIds.size()));
+            }
+        }
+    }
+
+    private void clearRetentionSyncCheckpoint(Connection retentionDBConnection, ConsentCoreDAO consentRetentionDAO)
+            throws OBConsentDataDeletionException {
+
+        consentRetentionDAO.deleteRetentionSyncCheckpoint(retentionDBConnection);
+        DatabaseUtil.commitTransaction(retentionDBConnection);
+    }
+
     @Override
     public ArrayList<ConsentStatusAuditRecord> getConsentStatusAuditRecords(ArrayList<String> consentIDs,
                                                                             Integer limit, Integer offset,
@@ -2724,6 +3107,336 @@ public class ConsentCoreServiceImpl implements ConsentCoreService {
         }
     }
 
+    @Override
+    public ArrayList<ConsentResource> getExpiredConsents(String statusesEligibleForExpiration, long expiryTime,
+                                                         String lastConsentID, int limit)
+            throws ConsentManagementException {
+
+        if (StringUtils.isBlank(statusesEligibleForExpiration) || limit <= 0) {
+            log.error("Statuses eligible for expiration or limit is invalid. Cannot proceed.");
+            throw new ConsentManagementException("Cannot proceed without valid statuses eligible for expiration " +
+                    "and limit.");
+        }
+
+        Connection connection = DatabaseUtil.getDBConnection();
+        try {
+            ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+            try {
+                log.debug("Retrieving a page of expired consents.");
+                ArrayList<ConsentResource> expiredConsents = consentCoreDAO.getExpiredConsents(connection,
+                        statusesEligibleForExpiration, expiryTime, lastConsentID, limit);
+                DatabaseUtil.commitTransaction(connection);
+                log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+                return expiredConsents;
+            } catch (OBConsentDataRetrievalException e) {
+                log.error(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+            }
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public ArrayList<String> updateExpiredConsentStatuses(ArrayList<ConsentResource> expiredConsents,
+                                                          String expiredConsentStatus, boolean storeAmendmentHistory)
+            throws ConsentManagementException {
+
+        if (StringUtils.isBlank(expiredConsentStatus)) {
+            log.error("Expired consent status is missing. Cannot proceed.");
+            throw new ConsentManagementException("Cannot proceed without expired consent status.");
+        }
+        if (CollectionUtils.isEmpty(expiredConsents)) {
+            return new ArrayList<>();
+        }
+
+        Connection connection = DatabaseUtil.getDBConnection();
+        ArrayList<String> updatedConsentIDs;
+        Map<String, ArrayList<AuthorizationResource>> authResourcesMap;
+        String auditMessage = "Consent status updated to " + expiredConsentStatus;
+
+        try {
+            ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+            try {
+                long updatedTime = System.currentTimeMillis() / 1000;
+                updatedConsentIDs = consentCoreDAO.updateConsentStatuses(connection, expiredConsents,
+                        expiredConsentStatus, updatedTime);
+                authResourcesMap = consentCoreDAO.getAuthorizationResourcesByConsentIds(connection,
+                        updatedConsentIDs);
+
+                ArrayList<ConsentStatusAuditRecord> auditRecords = new ArrayList<>();
+                ArrayList<ConsentHistoryResource> historyResources = new ArrayList<>();
+                for (ConsentResource expiredConsent : getUpdatedConsents(expiredConsents, updatedConsentIDs)) {
+                    String consentID = expiredConsent.getConsentID();
+                    for (AuthorizationResource authResource : authResourcesMap.getOrDefault(consentID,
+                            new ArrayList<>())) {
+                        auditRecords.add(new ConsentStatusAuditRecord(consentID, expiredConsentStatus, updatedTime,
+                                auditMessage, StringUtils.defaultIfEmpty(authResource.getUserID(), null),
+                                expiredConsent.getCurrentStatus()));
+                    }
+                    if (storeAmendmentHistory) {
+                        // Only the previous status and updated time are changed in the basic consent data
+                        ConsentHistoryResource historyResource = new ConsentHistoryResource(consentID,
+                                String.valueOf(UUID.randomUUID()));
+                        historyResource.setTimestamp(updatedTime);
+                        historyResource.setReason(ConsentCoreServiceConstants.AMENDMENT_REASON_CONSENT_EXPIRATION);
+                        historyResource.getChangedAttributesJsonDataMap().put(ConsentMgtDAOConstants.UPDATED_TIME,
+                                String.valueOf(expiredConsent.getUpdatedTime()));
+                        historyResource.getChangedAttributesJsonDataMap().put(ConsentMgtDAOConstants.CURRENT_STATUS,
+                                expiredConsent.getCurrentStatus());
+                        historyResources.add(historyResource);
+                    }
+                }
+                consentCoreDAO.storeConsentStatusAuditRecords(connection, auditRecords);
+                consentCoreDAO.storeConsentAmendmentHistories(connection, historyResources,
+                        ConsentMgtDAOConstants.TYPE_CONSENT_BASIC_DATA);
+
+                // Commit transaction
+                DatabaseUtil.commitTransaction(connection);
+                log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+            } catch (OBConsentDataRetrievalException e) {
+                log.error(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+            } catch (OBConsentDataInsertionException e) {
+                log.error(ConsentCoreServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
+            } catch (OBConsentDataUpdationException e) {
+                log.error(ConsentCoreServiceConstants.DATA_UPDATE_ROLLBACK_ERROR_MSG, e);
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_UPDATE_ROLLBACK_ERROR_MSG, e);
+            }
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+
+        // Notify the state changes once the transaction is committed
+        for (ConsentResource expiredConsent : getUpdatedConsents(expiredConsents, updatedConsentIDs)) {
+            ArrayList<AuthorizationResource> authResources = authResourcesMap.getOrDefault(
+                    expiredConsent.getConsentID(), new ArrayList<>());
+            HashMap<String, Object> consentDataMap = new HashMap<>();
+            consentDataMap.put(ConsentCoreServiceConstants.DETAILED_CONSENT_RESOURCE,
+                    getExpiredDetailedConsentResource(expiredConsent, authResources));
+            for (AuthorizationResource authResource : authResources) {
+                try {
+                    ConsentStateChangeListenerImpl.getInstance().onStateChange(expiredConsent.getConsentID(),
+                            authResource.getUserID(), expiredConsentStatus, expiredConsent.getCurrentStatus(),
+                            auditMessage, expiredConsent.getClientID(), consentDataMap);
+                } catch (ConsentManagementException e) {
+                    log.error("Error occurred while publishing the state change of consent " +
+                            expiredConsent.getConsentID().replaceAll("[\r\n]", ""), e);
+                }
+            }
+        }
+        return updatedConsentIDs;
+    }
+
+    private List<ConsentResource> getUpdatedConsents(List<ConsentResource> consents, List<String> updatedConsentIDs) {
+
+        Set<String> updatedConsentIDSet = new HashSet<>(updatedConsentIDs);
+        List<ConsentResource> updatedConsents = new ArrayList<>();
+        for (ConsentResource consent : consents) {
+            if (updatedConsentIDSet.contains(consent.getConsentID())) {
+                updatedConsents.add(consent);
+            }
+        }
+        return updatedConsents;
+    }
+
+    /**
+     * Build the detailed consent resource published with the state change of an expired consent. Only the basic
+     * consent data and the authorization resources are available, since the receipt, attributes and account mappings
+     * are not read by the bulk expiry flow.
+     */
+    private DetailedConsentResource getExpiredDetailedConsentResource(ConsentResource expiredConsent,
+                                                                      ArrayList<AuthorizationResource> authResources) {
+
+        DetailedConsentResource detailedConsentResource = new DetailedConsentResource();
+        detailedConsentResource.setConsentID(expiredConsent.getConsentID());
+        detailedConsentResource.setClientID(expiredConsent.getClientID());
+        detailedConsentResource.setConsentType(expiredConsent.getConsentType());
+        detailedConsentResource.setCurrentStatus(expiredConsent.getCurrentStatus());
+        detailedConsentResource.setConsentFrequency(expiredConsent.getConsentFrequency());
+        detailedConsentResource.setValidityPeriod(expiredConsent.getValidityPeriod());
+        detailedConsentResource.setRecurringIndicator(expiredConsent.isRecurringIndicator());
+        detailedConsentResource.setCreatedTime(expiredConsent.getCreatedTime());
+        detailedConsentResource.setUpdatedTime(expiredConsent.getUpdatedTime());
+        detailedConsentResource.setConsentAttributes(new HashMap<>());
+        detailedConsentResource.setAuthorizationResources(authResources);
+        detailedConsentResource.setConsentMappingResources(new ArrayList<>());
+        return detailedConsentResource;
+    }
+
+    @Override
+    public Map<String, Long> getConsentExpiryIndexEntries(long expiryTime, int limit)
+            throws ConsentManagementException {
+
+        if (limit <= 0) {
+            log.error("Limit is invalid. Cannot proceed.");
+            throw new ConsentManagementException("Cannot proceed without a valid limit.");
+        }
+
+        Connection connection = DatabaseUtil.getDBConnection();
+        try {
+            ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+            try {
+                log.debug("Retrieving due consent expiry index entries.");
+                Map<String, Long> consentExpiryTimes = consentCoreDAO.getConsentExpiryIndexEntries(connection,
+                        expiryTime, limit);
+                DatabaseUtil.commitTransaction(connection);
+                log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+                return consentExpiryTimes;
+            } catch (OBConsentDataRetrievalException e) {
+                log.error(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+            }
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public ArrayList<ConsentResource> getIndexedExpiredConsents(ArrayList<String> consentIDs, long expiryTime)
+            throws ConsentManagementException {
+
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return new ArrayList<>();
+        }
+
+        Connection connection = DatabaseUtil.getDBConnection();
+        try {
+            ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+            try {
+                log.debug("Retrieving indexed expired consents.");
+                ArrayList<ConsentResource> expiredConsents = consentCoreDAO.getIndexedExpiredConsents(connection,
+                        consentIDs, expiryTime);
+                DatabaseUtil.commitTransaction(connection);
+                log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+                return expiredConsents;
+            } catch (OBConsentDataRetrievalException e) {
+                log.error(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+            }
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public void deleteConsentExpiryIndexEntries(ArrayList<String> consentIDs) throws ConsentManagementException {
+
+        if (CollectionUtils.isEmpty(consentIDs)) {
+            return;
+        }
+
+        Connection connection = DatabaseUtil.getDBConnection();
+        try {
+            ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+            try {
+                log.debug("Deleting consent expiry index entries.");
+                consentCoreDAO.deleteConsentExpiryIndexEntries(connection, consentIDs);
+                DatabaseUtil.commitTransaction(connection);
+                log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+            } catch (OBConsentDataDeletionException e) {
+                log.error(ConsentCoreServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
+            }
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public int rebuildConsentExpiryIndex() throws ConsentManagementException {
+
+        Connection connection = DatabaseUtil.getDBConnection();
+        try {
+            ConsentCoreDAO consentCoreDAO = ConsentStoreInitializer.getInitializedConsentCoreDAOImpl();
+            try {
+                log.debug("Rebuilding the consent expiry index from the consent attributes.");
+                consentCoreDAO.deleteAllConsentExpiryIndexEntries(connection);
+
+                // the expiry time attributes are read in pages using the last consent ID of the previous page
+                int indexedConsentCount = 0;
+                String lastConsentID = null;
+                Map<String, String> expiryTimeAttributes;
+                do {
+                    expiryTimeAttributes = consentCoreDAO.getConsentAttributesByName(connection,
+                            ConsentMgtDAOConstants.CONSENT_EXPIRY_TIME_ATTRIBUTE, lastConsentID,
+                            EXPIRY_INDEX_REBUILD_BATCH_SIZE);
+                    Map<String, Long> consentExpiryTimes = new HashMap<>();
+                    for (Map.Entry<String, String> expiryTimeAttribute : expiryTimeAttributes.entrySet()) {
+                        lastConsentID = expiryTimeAttribute.getKey();
+                        Long expiryTime = getIndexableExpiryTime(expiryTimeAttribute.getKey(),
+                                expiryTimeAttribute.getValue());
+                        if (expiryTime != null) {
+                            consentExpiryTimes.put(expiryTimeAttribute.getKey(), expiryTime);
+                        }
+                    }
+                    consentCoreDAO.storeConsentExpiryIndexEntries(connection, consentExpiryTimes);
+                    indexedConsentCount += consentExpiryTimes.size();
+                } while (expiryTimeAttributes.size() == EXPIRY_INDEX_REBUILD_BATCH_SIZE);
+
+                DatabaseUtil.commitTransaction(connection);
+                log.debug(ConsentCoreServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+                return indexedConsentCount;
+            } catch (OBConsentDataRetrievalException e) {
+                log.error(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
+            } catch (OBConsentDataInsertionException e) {
+                log.error(ConsentCoreServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
+            } catch (OBConsentDataDeletionException e) {
+                log.error(ConsentCoreServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new ConsentManagementException(ConsentCoreServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
+            }
+        } finally {
+            log.debug(ConsentCoreServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Index the expiry time of a consent if the expiry index is enabled and the expiry time attribute is among the
+     * stored attributes.
+     */
+    private void storeConsentExpiryIndexEntry(Connection connection, ConsentCoreDAO consentCoreDAO,
+                                              String consentID, Map<String, String> consentAttributes)
+            throws OBConsentDataInsertionException {
+
+        if (!OpenBankingConfigParser.getInstance().isConsentExpiryIndexEnabled() || consentAttributes == null ||
+                !consentAttributes.containsKey(ConsentMgtDAOConstants.CONSENT_EXPIRY_TIME_ATTRIBUTE)) {
+            return;
+        }
+        Long expiryTime = getIndexableExpiryTime(consentID,
+                consentAttributes.get(ConsentMgtDAOConstants.CONSENT_EXPIRY_TIME_ATTRIBUTE));
+        if (expiryTime != null) {
+            consentCoreDAO.storeConsentExpiryIndexEntries(connection,
+                    Collections.singletonMap(consentID, expiryTime));
+        }
+    }
+
+    private Long getIndexableExpiryTime(String consentID, String expiryTimeAttribute) {
+
+        try {
+            return Long.parseLong(StringUtils.trim(expiryTimeAttribute));
+        } catch (NumberFormatException e) {
+            log.warn("Expiry time of the consent " + consentID.replaceAll("[\r\n]", "") + " is not a valid " +
+                    "epoch time, hence it is not indexed");
+            return null;
+        }
+    }
+
     private void postStateChange(Connection connection, ConsentCoreDAO consentCoreDAO, String consentID,
                                  String userID, String newConsentStatus, String previousConsentStatus, String reason,
                                  String clientId, Map<String, Object> consentDataMap)
@@ -37,6 +37,7 @@ import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.ConsentStatusAuditRecord;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.persistence.ConsentStoreInitializer;
+import com.wso2.openbanking.accelerator.consent.mgt.service.ConsentSearchPage;
 import com.wso2.openbanking.accelerator.consent.mgt.service.constants.ConsentCoreServiceConstants;
 import com.wso2.openbanking.accelerator.consent.mgt.service.internal.ConsentManagementDataHolder;
 import com.wso2.openbanking.accelerator.consent.mgt.service.util.ConsentMgtServiceTestData;
@@ -60,8 +61,10 @@ import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 
 import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -1187,6 +1190,94 @@ public class OBConsentMgtCoreServiceTests {
                 12345L, 23456L, null, null, false);
     }
 
+    @Test
+    public void testStreamDetailedConsents() throws Exception {
+
+        DetailedConsentResource detailedConsentResource =
+                ConsentMgtServiceTestData.getSampleDetailedStoredTestConsentResource();
+        LinkedHashMap<String, Long> consentIDs = new LinkedHashMap<>();
+        consentIDs.put(detailedConsentResource.getConsentID(), detailedConsentResource.getUpdatedTime());
+
+        Mockito.doReturn(consentIDs).when(mockedConsentCoreDAO).searchConsentIDs(Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyInt());
+        Mockito.doReturn(new ArrayList<>(Collections.singletonList(detailedConsentResource)))
+                .when(mockedConsentCoreDAO)
+                .getDetailedConsentResources(Mockito.any(), Mockito.anyList(), Mockito.anyBoolean());
+
+        ArrayList<DetailedConsentResource> handledConsents = new ArrayList<>();
+        int handledConsentCount = consentCoreServiceImpl.streamDetailedConsents(null,
+                ConsentMgtServiceTestData.SAMPLE_CLIENT_IDS_LIST, null, null, null, null, null, false, 10,
+                handledConsents::add);
+
+        Assert.assertEquals(handledConsentCount, 1);
+        Assert.assertEquals(handledConsents.get(0).getConsentID(), detailedConsentResource.getConsentID());
+    }
+
+    @Test
+    public void testSearchConsentsWithContinuationToken() throws Exception {
+
+        DetailedConsentResource detailedConsentResource =
+                ConsentMgtServiceTestData.getSampleDetailedStoredTestConsentResource();
+        LinkedHashMap<String, Long> consentIDs = new LinkedHashMap<>();
+        consentIDs.put(detailedConsentResource.getConsentID(), detailedConsentResource.getUpdatedTime());
+        consentIDs.put(UUID.randomUUID().toString(), detailedConsentResource.getUpdatedTime());
+
+        Mockito.doReturn(consentIDs).when(mockedConsentCoreDAO).searchConsentIDs(Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyInt());
+        Mockito.doReturn(new ArrayList<>(Collections.singletonList(detailedConsentResource)))
+                .when(mockedConsentCoreDAO)
+                .getDetailedConsentResources(Mockito.any(), Mockito.anyList(), Mockito.anyBoolean());
+
+        ConsentSearchPage firstPage = consentCoreServiceImpl.searchDetailedConsents(null,
+                ConsentMgtServiceTestData.SAMPLE_CLIENT_IDS_LIST, null, null, null, null, null, "", 1, false);
+        Assert.assertEquals(firstPage.getDetailedConsents().size(), 1);
+        Assert.assertNotNull(firstPage.getContinuationToken());
+        Assert.assertEquals(firstPage.getLimit(), 1);
+
+        LinkedHashMap<String, Long> lastPageConsentIDs = new LinkedHashMap<>();
+        lastPageConsentIDs.put(detailedConsentResource.getConsentID(), detailedConsentResource.getUpdatedTime());
+        Mockito.doReturn(lastPageConsentIDs).when(mockedConsentCoreDAO).searchConsentIDs(Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+        ConsentSearchPage lastPage = consentCoreServiceImpl.searchDetailedConsents(null,
+                ConsentMgtServiceTestData.SAMPLE_CLIENT_IDS_LIST, null, null, null, null, null,
+                firstPage.getContinuationToken(), 5000, false);
+        Assert.assertEquals(lastPage.getDetailedConsents().size(), 1);
+        Assert.assertNull(lastPage.getContinuationToken());
+        // the page size is capped
+        Assert.assertEquals(lastPage.getLimit(), 1000);
+    }
+
+    @Test (expectedExceptions = ConsentManagementException.class)
+    public void testSearchConsentsWithInvalidContinuationToken() throws Exception {
+
+        consentCoreServiceImpl.searchDetailedConsents(null, ConsentMgtServiceTestData.SAMPLE_CLIENT_IDS_LIST,
+                null, null, null, null, null, "invalid-token", 10, false);
+    }
+
+    @Test
+    public void testCountDetailedConsents() throws Exception {
+
+        Mockito.doReturn(2).when(mockedConsentCoreDAO).countConsents(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+        Assert.assertEquals(consentCoreServiceImpl.countDetailedConsents(null,
+                ConsentMgtServiceTestData.SAMPLE_CLIENT_IDS_LIST, null, null, null, null, null, false), 2);
+    }
+
+    @Test (expectedExceptions = ConsentManagementException.class)
+    public void testStreamDetailedConsentsRetrieveError() throws Exception {
+
+        Mockito.doThrow(OBConsentDataRetrievalException.class).when(mockedConsentCoreDAO).searchConsentIDs(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+
+        consentCoreServiceImpl.streamDetailedConsents(null, ConsentMgtServiceTestData.SAMPLE_CLIENT_IDS_LIST,
+                null, null, null, null, null, false, 10, detailedConsent -> true);
+    }
+
     @Test (expectedExceptions = ConsentManagementException.class)
     public void testSearchConsentsRetrieveError() throws Exception {
 
@@ -2126,6 +2217,16 @@ public class OBConsentMgtCoreServiceTests {
                 ConsentMgtServiceTestData.SAMPLE_AUTHORIZATION_STATUS, null);
     }
 
+    private void mockChunkedRetentionDataSync() {
+
+        OpenBankingConfigParser openBankingConfigParserMock = Mockito.mock(OpenBankingConfigParser.class);
+        Mockito.when(openBankingConfigParserMock.isConsentDataRetentionEnabled()).thenReturn(true);
+        Mockito.when(openBankingConfigParserMock.isRetentionDataChunkedSyncEnabled()).thenReturn(true);
+        Mockito.when(openBankingConfigParserMock.getRetentionDataSyncChunkSize()).thenReturn(10);
+        PowerMockito.mockStatic(OpenBankingConfigParser.class);
+        PowerMockito.when(OpenBankingConfigParser.getInstance()).thenReturn(openBankingConfigParserMock);
+    }
+
     private void mockStaticClasses() throws ConsentManagementException, IdentityOAuth2Exception {
 
         PowerMockito.mockStatic(DatabaseUtil.class);
@@ -3052,6 +3153,78 @@ public class OBConsentMgtCoreServiceTests {
         consentCoreServiceImpl.syncRetentionDatabaseWithPurgedConsent();
     }
 
+    @Test
+    public void testSyncRetentionDatabaseWithPurgedConsentInChunks() throws Exception {
+
+        DetailedConsentResource detailedConsent =
+                ConsentMgtServiceTestData.getSampleDetailedStoredTestConsentResource();
+        ArrayList<String> consentIds = new ArrayList<>();
+        consentIds.add(detailedConsent.getConsentID());
+        ArrayList<DetailedConsentResource> detailedConsents = new ArrayList<>();
+        detailedConsents.add(detailedConsent);
+
+        mockChunkedRetentionDataSync();
+        Mockito.when(mockedConsentCoreDAO.getListOfConsentIds(Mockito.any(), Mockito.anyBoolean(), Mockito.any(),
+                Mockito.anyInt())).thenReturn(consentIds, new ArrayList<>());
+        Mockito.doReturn(detailedConsents).when(mockedConsentCoreDAO)
+                .getDetailedConsentResources(Mockito.any(), Mockito.anyList(), Mockito.anyBoolean());
+        Mockito.doReturn(true).when(mockedConsentCoreDAO)
+                .storeDetailedConsentResources(Mockito.any(), Mockito.anyList());
+
+        Assert.assertTrue(consentCoreServiceImpl.syncRetentionDatabaseWithPurgedConsent());
+        Mockito.verify(mockedConsentCoreDAO).bulkDeleteConsentData(Mockito.any(), Mockito.eq(consentIds),
+                Mockito.eq(true));
+    }
+
+    @Test
+    public void testSyncRetentionDatabaseWithPurgedConsentInChunksFallback() throws Exception {
+
+        DetailedConsentResource detailedConsent =
+                ConsentMgtServiceTestData.getSampleDetailedStoredTestConsentResource();
+        ArrayList<String> consentIds = new ArrayList<>();
+        consentIds.add(detailedConsent.getConsentID());
+
+        mockChunkedRetentionDataSync();
+        Mockito.when(mockedConsentCoreDAO.getListOfConsentIds(Mockito.any(), Mockito.anyBoolean(), Mockito.any(),
+                Mockito.anyInt())).thenReturn(consentIds, new ArrayList<>());
+        Mockito.doThrow(OBConsentDataRetrievalException.class).when(mockedConsentCoreDAO)
+                .getDetailedConsentResources(Mockito.any(), Mockito.anyList(), Mockito.anyBoolean());
+        Mockito.doReturn(detailedConsent).when(mockedConsentCoreDAO)
+                .getDetailedConsentResource(Mockito.any(), Mockito.anyString(), Mockito.anyBoolean());
+        Mockito.doReturn(new ConsentResource()).when(mockedConsentCoreDAO)
+                .storeConsentResource(Mockito.any(), any(ConsentResource.class));
+        Mockito.doReturn(new AuthorizationResource()).when(mockedConsentCoreDAO)
+                .storeAuthorizationResource(Mockito.any(), any(AuthorizationResource.class));
+        Mockito.doReturn(new ConsentMappingResource()).when(mockedConsentCoreDAO)
+                .storeConsentMappingResource(Mockito.any(), any(ConsentMappingResource.class));
+        Mockito.doReturn(true).when(mockedConsentCoreDAO)
+                .storeConsentAttributes(Mockito.any(), any(ConsentAttributes.class));
+        Mockito.doReturn(true).when(mockedConsentCoreDAO)
+                .deleteConsentData(Mockito.any(), Mockito.anyString(), Mockito.anyBoolean());
+
+        // consents of a failed chunk are synced one at a time
+        Assert.assertTrue(consentCoreServiceImpl.syncRetentionDatabaseWithPurgedConsent());
+        Mockito.verify(mockedConsentCoreDAO).storeRetentionSyncCheckpoint(Mockito.any(),
+                Mockito.eq(Collections.singletonList(detailedConsent.getConsentID())));
+    }
+
+    @Test
+    public void testSyncRetentionDatabaseWithPurgedConsentResumeFromCheckpoint() throws Exception {
+
+        ArrayList<String> syncedConsentIds = new ArrayList<>();
+        syncedConsentIds.add(UUID.randomUUID().toString());
+
+        mockChunkedRetentionDataSync();
+        Mockito.doReturn(syncedConsentIds).when(mockedConsentCoreDAO).getRetentionSyncCheckpoint(Mockito.any());
+        Mockito.when(mockedConsentCoreDAO.getListOfConsentIds(Mockito.any(), Mockito.anyBoolean(), Mockito.any(),
+                Mockito.anyInt())).thenReturn(new ArrayList<>());
+
+        // consents synced before the job was interrupted are deleted without syncing them again
+        Assert.assertTrue(consentCoreServiceImpl.syncRetentionDatabaseWithPurgedConsent());
+        Mockito.verify(mockedConsentCoreDAO).bulkDeleteConsentData(Mockito.any(), Mockito.eq(syncedConsentIds),
+                Mockito.eq(true));
+    }
+
     @Test
     public void testSyncRetentionDatabaseWithPurgedConsentFileGetError() throws Exception {
 
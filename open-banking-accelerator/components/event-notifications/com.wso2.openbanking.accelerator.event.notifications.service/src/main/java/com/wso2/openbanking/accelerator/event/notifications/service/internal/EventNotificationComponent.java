@@ -20,14 +20,15 @@ package com.wso2.openbanking.accelerator.event.notifications.service.internal;
 
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigurationService;
+import com.wso2.openbanking.accelerator.event.notifications.service.realtime.service.RealtimeEventNotificationDispatcher;
+import com.wso2.openbanking.accelerator.event.notifications.service.realtime.service.RealtimeEventNotificationHttpClient;
 import com.wso2.openbanking.accelerator.event.notifications.service.realtime.service.RealtimeEventNotificationLoaderService;
-import com.wso2.openbanking.accelerator.event.notifications.service.realtime.util.
-        activator.PeriodicalEventNotificationConsumerJobActivator;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -52,11 +53,19 @@ public class EventNotificationComponent {
         if (OpenBankingConfigParser.getInstance().isRealtimeEventNotificationEnabled()) {
             /*
              * Initialize the blocking queue for storing the realtime event notifications
-             * Initialize the quartz job for consuming the realtime event notifications
+             * Initialize the sender workers for consuming the realtime event notifications
              * Initialize the thread for producing the open state realtime event notifications
              */
             new Thread(new RealtimeEventNotificationLoaderService()).start();
-            new PeriodicalEventNotificationConsumerJobActivator().activate();
+            RealtimeEventNotificationDispatcher.getInstance().start();
+        }
+    }
+
+    @Deactivate
+    protected void deactivate(ComponentContext context) {
+        if (OpenBankingConfigParser.getInstance().isRealtimeEventNotificationEnabled()) {
+            RealtimeEventNotificationDispatcher.getInstance().shutdown();
+            RealtimeEventNotificationHttpClient.shutdown();
         }
     }
 
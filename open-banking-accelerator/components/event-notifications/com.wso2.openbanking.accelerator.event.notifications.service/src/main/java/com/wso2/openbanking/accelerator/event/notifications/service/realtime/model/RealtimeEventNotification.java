@@ -29,6 +29,7 @@ public class RealtimeEventNotification {
     private String callbackUrl = null;
     private String eventSET = null; // Security Event Token to hold the Event Notification Data
     private NotificationDTO notificationDTO = null;
+    private long queuedTime = 0; // Time in milliseconds the notification is put into the queue
 
     public void setCallbackUrl(String callbackUrl) {
         this.callbackUrl = callbackUrl;
@@ -42,6 +43,10 @@ public class RealtimeEventNotification {
         this.notificationDTO = notificationDTO;
     }
 
+    public void setQueuedTime(long queuedTime) {
+        this.queuedTime = queuedTime;
+    }
+
     public String getCallbackUrl() {
         return callbackUrl;
     }
@@ -56,4 +61,8 @@ public class RealtimeEventNotification {
         return notificationDTO.getNotificationId();
     }
 
+    public long getQueuedTime() {
+        return queuedTime;
+    }
+
 }
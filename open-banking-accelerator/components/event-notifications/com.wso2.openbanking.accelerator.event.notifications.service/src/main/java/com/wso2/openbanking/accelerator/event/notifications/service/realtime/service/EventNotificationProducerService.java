@@ -68,6 +68,7 @@ public class EventNotificationProducerService implements Runnable {
             realtimeEventNotification.setEventSET(eventNotificationGenerator.generateEventNotification(
                     Notification.getJsonNode(notification)));
 
+            realtimeEventNotification.setQueuedTime(System.currentTimeMillis());
             queue.put(realtimeEventNotification); // put the notification into the queue
         } catch (InterruptedException e) {
             log.error("Error when adding the Realtime Notification with notification ID " +
@@ -0,0 +1,646 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.event.notifications.service.realtime.service;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.event.notifications.service.exceptions.OBEventNotificationException;
+import com.wso2.openbanking.accelerator.event.notifications.service.internal.EventNotificationDataHolder;
+import com.wso2.openbanking.accelerator.event.notifications.service.realtime.model.RealtimeEventNotification;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Dispatcher of the realtime event notifications to the TPP callback URLs.
+ * 1) A fixed set of long-lived sender workers continuously drain the realtime event notification queue, instead
+ *    of creating a thread pool per scheduled run. The work queue of the workers is bounded, hence the
+ *    notifications wait in the notification queue while the workers are behind.
+ * 2) The notifications are sent with the shared non-blocking client. A worker only starts an attempt, and the
+ *    outcome is handed back to the workers once the TPP responds, hence the attempts are in flight concurrently
+ *    without a thread per request.
+ * 3) The failed attempts are put into a delay queue until their backoff time elapses, hence the backoff does not
+ *    occupy a worker. The retries follow the configured backoff function and maximum retries, and the retrying
+ *    time of a notification is bounded by the circuit breaker open timeout.
+ * 4) Each callback host and port has a circuit breaker, which opens after consecutive failed attempts to the
+ *    host. While it is open, the attempts to the host are deferred without calling it, and a single trial attempt
+ *    closes it again once its open timeout elapses. The hosts without pending notifications are evicted
+ *    periodically, unless their circuit breaker is open.
+ * 5) The number of notifications in flight to a callback host and port is limited, and the attempts over the
+ *    limit are deferred, so that a slow TPP cannot occupy the whole connection pool.
+ * 6) The queue depths, in-flight attempts, open circuits, delivery latency, retries and outcomes are exposed for
+ *    monitoring. The delivery latency is measured from the time the notification is put into the notification
+ *    queue.
+ */
+public class RealtimeEventNotificationDispatcher {
+
+    private static final Log log = LogFactory.getLog(RealtimeEventNotificationDispatcher.class);
+    private static final long HOST_LIMIT_DEFER_TIME = 100;
+    private static final long HOST_EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final int WORK_QUEUE_CAPACITY_PER_WORKER = 64;
+
+    private static volatile RealtimeEventNotificationDispatcher instance;
+
+    private final BlockingQueue<RealtimeEventNotification> notificationQueue;
+    private final BlockingQueue<DeliveryTask> workQueue;
+    private final DelayQueue<DeliveryTask> retryQueue = new DelayQueue<>();
+    private final Map<String, CallbackHost> callbackHosts = new ConcurrentHashMap<>();
+    private final Function<RealtimeEventNotification, RealtimeEventNotificationSenderService> senderFactory;
+    private final int workerCount;
+    private final int maxRetries;
+    private final long initialBackoffTime;
+    private final String backoffFunction;
+    private final long circuitBreakerOpenTimeout;
+    private final int maxConcurrentRequestsPerHost;
+    private final int hostFailureThreshold;
+    private final long hostOpenTimeout;
+    private final LongSupplier clock;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    private volatile long nextHostEvictionTime;
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong deferredCount = new AtomicLong();
+    private final AtomicLong totalDeliveryLatency = new AtomicLong();
+    private final AtomicLong maxDeliveryLatency = new AtomicLong();
+
+    /**
+     * Initialize the dispatcher.
+     *
+     * @param notificationQueue queue of the realtime event notifications to send
+     * @param senderFactory     factory of the senders of the notifications
+     * @param configParser      open banking configurations
+     * @param clock             supplier of the current time in milliseconds
+     */
+    RealtimeEventNotificationDispatcher(BlockingQueue<RealtimeEventNotification> notificationQueue,
+                                        Function<RealtimeEventNotification,
+                                                RealtimeEventNotificationSenderService> senderFactory,
+                                        OpenBankingConfigParser configParser, LongSupplier clock) {
+
+        this.notificationQueue = notificationQueue;
+        this.senderFactory = senderFactory;
+        this.workerCount = Math.max(1, configParser.getEventNotificationThreadpoolSize());
+        this.workQueue = new LinkedBlockingQueue<>(workerCount * WORK_QUEUE_CAPACITY_PER_WORKER);
+        this.maxRetries = configParser.getRealtimeEventNotificationMaxRetries();
+        this.initialBackoffTime = TimeUnit.SECONDS.toMillis(
+                configParser.getRealtimeEventNotificationInitialBackoffTimeInSeconds());
+        this.backoffFunction = configParser.getRealtimeEventNotificationBackoffFunction();
+        this.circuitBreakerOpenTimeout = TimeUnit.SECONDS.toMillis(
+                configParser.getRealtimeEventNotificationCircuitBreakerOpenTimeoutInSeconds());
+        this.maxConcurrentRequestsPerHost = Math.max(1,
+                configParser.getRealtimeEventNotificationMaxConcurrentRequestsPerHost());
+        this.hostFailureThreshold = Math.max(1,
+                configParser.getRealtimeEventNotificationHostCircuitBreakerFailureThreshold());
+        this.hostOpenTimeout = TimeUnit.SECONDS.toMillis(
+                configParser.getRealtimeEventNotificationHostCircuitBreakerOpenTimeoutInSeconds());
+        this.clock = clock;
+    }
+
+    /**
+     * Get an instance of the RealtimeEventNotificationDispatcher. It implements a double checked locking
+     * initialization.
+     *
+     * @return RealtimeEventNotificationDispatcher instance
+     */
+    public static RealtimeEventNotificationDispatcher getInstance() {
+
+        if (instance == null) {
+            synchronized (RealtimeEventNotificationDispatcher.class) {
+                if (instance == null) {
+                    instance = new RealtimeEventNotificationDispatcher(
+                            EventNotificationDataHolder.getInstance().getRealtimeEventNotificationQueue(),
+                            notification -> new RealtimeEventNotificationSenderService(
+                                    notification.getCallbackUrl(), notification.getJsonPayload(),
+                                    notification.getNotificationId()),
+                            OpenBankingConfigParser.getInstance(), System::currentTimeMillis);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start the sender workers, the consumer of the notification queue and the retry scheduler.
+     */
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            startThread("ob-realtime-event-notification-sender-" + i, this::send);
+        }
+        startThread("ob-realtime-event-notification-consumer", this::consume);
+        startThread("ob-realtime-event-notification-retry", this::retry);
+        log.info("Realtime event notification dispatcher started with " + workerCount + " sender workers");
+    }
+
+    /**
+     * Stop the dispatcher. The notifications which are not sent remain in the open state in the database.
+     */
+    public synchronized void shutdown() {
+
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        threads.clear();
+    }
+
+    /**
+     * Get the number of notifications waiting to be sent.
+     *
+     * @return number of queued notifications
+     */
+    public int getQueueDepth() {
+
+        return notificationQueue.size() + workQueue.size();
+    }
+
+    /**
+     * Get the number of notifications waiting for their backoff time to elapse.
+     *
+     * @return number of notifications waiting to be retried
+     */
+    public int getRetryQueueDepth() {
+
+        return retryQueue.size();
+    }
+
+    /**
+     * Get the number of attempts waiting for the response of the TPP.
+     *
+     * @return number of in-flight attempts
+     */
+    public int getInFlightCount() {
+
+        return inFlightCount.get();
+    }
+
+    /**
+     * Get the number of callback hosts of which the circuit breaker is open.
+     *
+     * @return number of open circuits
+     */
+    public int getOpenCircuitCount() {
+
+        long currentTime = clock.getAsLong();
+        int openCircuitCount = 0;
+        for (CallbackHost callbackHost : callbackHosts.values()) {
+            if (callbackHost.isOpen(currentTime)) {
+                openCircuitCount++;
+            }
+        }
+        return openCircuitCount;
+    }
+
+    /**
+     * Get the number of callback hosts being tracked.
+     *
+     * @return number of callback hosts
+     */
+    int getCallbackHostCount() {
+
+        return callbackHosts.size();
+    }
+
+    /**
+     * Get the number of notifications sent successfully.
+     *
+     * @return number of delivered notifications
+     */
+    public long getDeliveredCount() {
+
+        return deliveredCount.get();
+    }
+
+    /**
+     * Get the number of notifications marked as failed after the retries.
+     *
+     * @return number of failed notifications
+     */
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    /**
+     * Get the number of retries scheduled after the failed attempts.
+     *
+     * @return number of retries
+     */
+    public long getRetryCount() {
+
+        return retryCount.get();
+    }
+
+    /**
+     * Get the number of attempts deferred as their callback host is at the concurrency limit.
+     *
+     * @return number of deferred attempts
+     */
+    public long getDeferredCount() {
+
+        return deferredCount.get();
+    }
+
+    /**
+     * Get the average time in milliseconds from queueing a notification to delivering it.
+     *
+     * @return average delivery latency
+     */
+    public long getAverageDeliveryLatency() {
+
+        long delivered = deliveredCount.get();
+        return delivered == 0 ? 0 : totalDeliveryLatency.get() / delivered;
+    }
+
+    /**
+     * Get the maximum time in milliseconds from queueing a notification to delivering it.
+     *
+     * @return maximum delivery latency
+     */
+    public long getMaxDeliveryLatency() {
+
+        return maxDeliveryLatency.get();
+    }
+
+    /**
+     * Start the attempts of the queued notifications and the due retries, and handle the completed attempts in
+     * the calling thread, until there are none left.
+     *
+     * @return number of started attempts
+     */
+    int processQueued() {
+
+        int attemptCount = 0;
+        RealtimeEventNotification notification;
+        while ((notification = notificationQueue.poll()) != null) {
+            if (process(createTask(notification))) {
+                attemptCount++;
+            }
+        }
+        DeliveryTask task;
+        while ((task = retryQueue.poll()) != null) {
+            if (process(task)) {
+                attemptCount++;
+            }
+        }
+        while ((task = workQueue.poll()) != null) {
+            if (process(task)) {
+                attemptCount++;
+            }
+        }
+        return attemptCount;
+    }
+
+    /**
+     * Get the backoff time in milliseconds before a retry.
+     *
+     * @param retry retry number, starting from 1
+     * @return backoff time
+     */
+    long getBackoffTime(int retry) {
+
+        switch (backoffFunction) {
+            case "CONSTANT":
+                // Retries will happen in constant time frames
+                return initialBackoffTime;
+            case "LINEAR":
+                // Backoff time will be doubled after each retry
+                return (long) (initialBackoffTime * Math.pow(2, retry - 1));
+            case "EX":
+                // Backoff time will be increased exponentially
+                return (long) (initialBackoffTime * Math.exp(retry - 1));
+            default:
+                throw new IllegalArgumentException(
+                        "Invalid backoff function for the realtime event notification retry policy: "
+                                + backoffFunction);
+        }
+    }
+
+    private void startThread(String name, Runnable runnable) {
+
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    private void send() {
+
+        while (running) {
+            try {
+                process(workQueue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void consume() {
+
+        while (running) {
+            try {
+                RealtimeEventNotification notification = notificationQueue.take();
+                workQueue.put(createTask(notification));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error while consuming notifications from the event notification queue", e);
+            }
+        }
+    }
+
+    private void retry() {
+
+        while (running) {
+            try {
+                workQueue.put(retryQueue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private DeliveryTask createTask(RealtimeEventNotification notification) {
+
+        RealtimeEventNotificationSenderService sender = senderFactory.apply(notification);
+        String host;
+        try {
+            host = URI.create(sender.getCallbackUrl()).getAuthority();
+        } catch (IllegalArgumentException e) {
+            host = null;
+        }
+        long currentTime = clock.getAsLong();
+        long queuedTime = notification.getQueuedTime() > 0 ? notification.getQueuedTime() : currentTime;
+        if (currentTime >= nextHostEvictionTime) {
+            nextHostEvictionTime = currentTime + HOST_EVICTION_INTERVAL;
+            evictIdleHosts(currentTime);
+        }
+        // the task is counted within the update of the entry, so that the host is not evicted in between
+        CallbackHost callbackHost = callbackHosts.compute(host != null ? host : String.valueOf(sender.getCallbackUrl()),
+                (key, currentHost) -> {
+                    CallbackHost taskHost = currentHost != null ? currentHost : new CallbackHost();
+                    taskHost.pendingTasks.incrementAndGet();
+                    return taskHost;
+                });
+        return new DeliveryTask(sender, callbackHost, queuedTime);
+    }
+
+    /**
+     * Remove the callback hosts without pending notifications, unless their circuit breaker is open.
+     */
+    private void evictIdleHosts(long currentTime) {
+
+        for (String host : callbackHosts.keySet()) {
+            callbackHosts.computeIfPresent(host, (key, callbackHost) ->
+                    callbackHost.pendingTasks.get() == 0 && !callbackHost.isOpen(currentTime) ? null : callbackHost);
+        }
+    }
+
+    /**
+     * Start an attempt of the task, or handle the outcome of its completed attempt.
+     *
+     * @return true if an attempt is started
+     */
+    private boolean process(DeliveryTask task) {
+
+        if (task.delivered != null) {
+            complete(task);
+            return false;
+        }
+        long currentTime = clock.getAsLong();
+        if (task.startTime == 0) {
+            task.startTime = currentTime;
+        }
+        long waitTime = HOST_LIMIT_DEFER_TIME;
+        if (task.callbackHost.permits.tryAcquire()) {
+            waitTime = task.callbackHost.getWaitTime(currentTime);
+            if (waitTime > 0) {
+                task.callbackHost.permits.release();
+            }
+        }
+        if (waitTime > 0) {
+            if (currentTime - task.startTime > circuitBreakerOpenTimeout) {
+                fail(task);
+                return false;
+            }
+            // the attempt is deferred without occupying the worker until the host can be called
+            deferredCount.incrementAndGet();
+            schedule(task, waitTime);
+            return false;
+        }
+
+        inFlightCount.incrementAndGet();
+        CompletableFuture<Boolean> attempt;
+        try {
+            attempt = task.sender.sendAsync();
+        } catch (RuntimeException e) {
+            log.error("Failed to send the Real-time event notification with notificationId: "
+                    + task.sender.getNotificationId(), e);
+            attempt = CompletableFuture.completedFuture(false);
+        }
+        // the outcome is handed back to the workers to keep the status updates off the I/O dispatcher threads
+        attempt.whenComplete((delivered, e) -> {
+            inFlightCount.decrementAndGet();
+            task.callbackHost.permits.release();
+            task.callbackHost.recordOutcome(Boolean.TRUE.equals(delivered), clock.getAsLong());
+            task.delivered = Boolean.TRUE.equals(delivered);
+            if (!workQueue.offer(task)) {
+                // the outcome is not dropped when the work queue is full, it is handed over by the retry scheduler
+                schedule(task, 0);
+            }
+        });
+        return true;
+    }
+
+    private void complete(DeliveryTask task) {
+
+        boolean delivered = task.delivered;
+        task.delivered = null;
+        long currentTime = clock.getAsLong();
+        if (delivered) {
+            long latency = currentTime - task.queuedTime;
+            deliveredCount.incrementAndGet();
+            totalDeliveryLatency.addAndGet(latency);
+            maxDeliveryLatency.accumulateAndGet(latency, Math::max);
+            task.callbackHost.pendingTasks.decrementAndGet();
+            try {
+                task.sender.markDelivered();
+            } catch (OBEventNotificationException | RuntimeException e) {
+                log.error("Failed to update the status of the Real-time event notification with notificationId: "
+                        + task.sender.getNotificationId(), e);
+            }
+            return;
+        }
+
+        task.retry++;
+        // The retrying is stopped if the retrying time exceeds the configured circuit breaker timeout.
+        if (task.retry > maxRetries || currentTime - task.startTime > circuitBreakerOpenTimeout) {
+            if (log.isDebugEnabled()) {
+                log.debug("Retries exhausted or circuit breaker open for the realtime event notification with " +
+                        "notificationId: " + task.sender.getNotificationId());
+            }
+            fail(task);
+            return;
+        }
+        long backoffTime;
+        try {
+            backoffTime = getBackoffTime(task.retry);
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            fail(task);
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("HTTP request Retry #" + task.retry + " of the notification " +
+                    task.sender.getNotificationId() + " is scheduled after " + backoffTime + " ms");
+        }
+        retryCount.incrementAndGet();
+        schedule(task, backoffTime);
+    }
+
+    private void schedule(DeliveryTask task, long delay) {
+
+        task.dueTime = clock.getAsLong() + delay;
+        retryQueue.offer(task);
+    }
+
+    private void fail(DeliveryTask task) {
+
+        failedCount.incrementAndGet();
+        task.callbackHost.pendingTasks.decrementAndGet();
+        try {
+            task.sender.markFailed();
+        } catch (OBEventNotificationException | RuntimeException e) {
+            log.error("Failed to update the status of the Real-time event notification with notificationId: "
+                    + task.sender.getNotificationId(), e);
+        }
+    }
+
+    /**
+     * Callback host along with its concurrency limit and circuit breaker.
+     */
+    private class CallbackHost {
+
+        private final Semaphore permits = new Semaphore(maxConcurrentRequestsPerHost);
+        private final AtomicInteger pendingTasks = new AtomicInteger();
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean trialInFlight;
+
+        /**
+         * Get the time in milliseconds to wait before calling the host. Once the open timeout elapses, a single
+         * trial attempt is let through.
+         */
+        synchronized long getWaitTime(long currentTime) {
+
+            if (openUntil == 0) {
+                return 0;
+            }
+            if (currentTime < openUntil) {
+                return openUntil - currentTime;
+            }
+            if (trialInFlight) {
+                return HOST_LIMIT_DEFER_TIME;
+            }
+            trialInFlight = true;
+            return 0;
+        }
+
+        synchronized void recordOutcome(boolean delivered, long currentTime) {
+
+            trialInFlight = false;
+            if (delivered) {
+                consecutiveFailures = 0;
+                openUntil = 0;
+                return;
+            }
+            consecutiveFailures++;
+            if (consecutiveFailures >= hostFailureThreshold) {
+                if (openUntil == 0) {
+                    log.warn("Circuit breaker is opened for a realtime event notification callback host after " +
+                            consecutiveFailures + " consecutive failed attempts");
+                }
+                openUntil = currentTime + hostOpenTimeout;
+            }
+        }
+
+        synchronized boolean isOpen(long currentTime) {
+
+            return openUntil != 0 && currentTime < openUntil;
+        }
+    }
+
+    /**
+     * Delivery of a notification along with its retry state.
+     */
+    private class DeliveryTask implements Delayed {
+
+        private final RealtimeEventNotificationSenderService sender;
+        private final CallbackHost callbackHost;
+        private final long queuedTime;
+        private long startTime;
+        private int retry;
+        private volatile Boolean delivered;
+        private volatile long dueTime;
+
+        DeliveryTask(RealtimeEventNotificationSenderService sender, CallbackHost callbackHost, long queuedTime) {
+
+            this.sender = sender;
+            this.callbackHost = callbackHost;
+            this.queuedTime = queuedTime;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+
+            return unit.convert(dueTime - clock.getAsLong(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+
+            return Long.compare(dueTime, ((DeliveryTask) other).dueTime);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.event.notifications.service.realtime.service;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
+import com.wso2.openbanking.accelerator.common.util.Generated;
+import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared non-blocking https client to send the realtime event notifications.
+ * 1) A single client is shared by all the notifications, instead of building a SSL context and a connection pool
+ *    per notification. The requests are multiplexed over a small number of I/O dispatcher threads, hence the
+ *    notifications are sent concurrently without a thread per request.
+ * 2) The connections are kept alive and reused per callback host, bounded by the maximum concurrent requests
+ *    per host and the maximum connections of the HTTP connection pool.
+ * 3) Idle and expired connections are evicted periodically by a single eviction thread.
+ */
+@Generated(message = "Ignoring because the client requires the server trust store")
+public class RealtimeEventNotificationHttpClient {
+
+    private static final Log log = LogFactory.getLog(RealtimeEventNotificationHttpClient.class);
+
+    private static volatile RealtimeEventNotificationHttpClient instance;
+
+    private final PoolingNHttpClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpClient;
+    private final ScheduledExecutorService evictionExecutor;
+
+    private RealtimeEventNotificationHttpClient() throws OpenBankingException {
+
+        OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
+        int timeout = (int) TimeUnit.SECONDS.toMillis(configParser.getRealtimeEventNotificationTimeoutInSeconds());
+        Registry<SchemeIOSessionStrategy> sessionStrategyRegistry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register(HTTPClientUtils.HTTP_PROTOCOL, NoopIOSessionStrategy.INSTANCE)
+                .register(HTTPClientUtils.HTTPS_PROTOCOL, new SSLIOSessionStrategy(HTTPClientUtils.getSSLContext(),
+                        HTTPClientUtils.getSupportedHttpProtocols(), null, HTTPClientUtils.getX509HostnameVerifier()))
+                .build();
+        try {
+            IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                    .setConnectTimeout(timeout)
+                    .setSoTimeout(timeout)
+                    .setSoKeepAlive(true)
+                    .build();
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig), sessionStrategyRegistry);
+        } catch (IOReactorException e) {
+            throw new OpenBankingException("Unable to create the I/O reactor of the realtime event notification " +
+                    "client", e);
+        }
+        connectionManager.setMaxTotal(configParser.getConnectionPoolMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(Math.max(1,
+                configParser.getRealtimeEventNotificationMaxConcurrentRequestsPerHost()));
+
+        httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(timeout)
+                        .setConnectionRequestTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .build())
+                .build();
+        httpClient.start();
+
+        int evictionInterval = Math.max(1, configParser.getConnectionPoolEvictionInterval());
+        int idleConnectionTimeout = configParser.getConnectionPoolIdleConnectionTimeout();
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ob-realtime-event-notification-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictionExecutor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleConnectionTimeout, TimeUnit.SECONDS);
+        }, evictionInterval, evictionInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get an instance of the RealtimeEventNotificationHttpClient. It implements a double checked locking
+     * initialization.
+     *
+     * @return RealtimeEventNotificationHttpClient instance
+     * @throws OpenBankingException when the client cannot be created
+     */
+    public static RealtimeEventNotificationHttpClient getInstance() throws OpenBankingException {
+
+        if (instance == null) {
+            synchronized (RealtimeEventNotificationHttpClient.class) {
+                if (instance == null) {
+                    instance = new RealtimeEventNotificationHttpClient();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Created the shared realtime event notification https client");
+                    }
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the shared non-blocking https client. Since the client is shared, the callers should not close it.
+     *
+     * @return started async https client
+     */
+    public CloseableHttpAsyncClient getClient() {
+
+        return httpClient;
+    }
+
+    /**
+     * Get the statistics of the connection pool.
+     *
+     * @return leased, pending, available and maximum connection counts
+     */
+    public PoolStats getPoolStats() {
+
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Close the shared client along with its connections and stop the eviction thread.
+     */
+    public static synchronized void shutdown() {
+
+        RealtimeEventNotificationHttpClient client = instance;
+        instance = null;
+        if (client == null) {
+            return;
+        }
+        client.evictionExecutor.shutdownNow();
+        try {
+            client.httpClient.close();
+        } catch (IOException e) {
+            log.error("Error while closing the realtime event notification https client", e);
+        }
+    }
+}
@@ -73,6 +73,7 @@ public class RealtimeEventNotificationLoaderService implements Runnable {
                 realtimeEventNotification.setEventSET(eventNotificationGenerator.generateEventNotification(
                         Notification.getJsonNode(responseNotification)));
                 realtimeEventNotification.setNotificationDTO(notificationDTO);
+                realtimeEventNotification.setQueuedTime(System.currentTimeMillis());
                 queue.put(realtimeEventNotification); // put the notification into the queue
             }
         } catch (InterruptedException e) {
@@ -18,11 +18,8 @@
 
 package com.wso2.openbanking.accelerator.event.notifications.service.realtime.service;
 
-import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
-import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
 import com.wso2.openbanking.accelerator.event.notifications.service.constants.EventNotificationConstants;
-import com.wso2.openbanking.accelerator.event.notifications.service.dao.AggregatedPollingDAO;
 import com.wso2.openbanking.accelerator.event.notifications.service.exceptions.OBEventNotificationException;
 import com.wso2.openbanking.accelerator.event.notifications.service.internal.EventNotificationComponent;
 import com.wso2.openbanking.accelerator.event.notifications.service.persistence.EventPollingStoreInitializer;
@@ -31,36 +28,29 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
 
-import java.io.IOException;
 import java.net.URI;
-import java.time.Duration;
-import java.time.LocalTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This method is used to send the HTTP requests to the TPP provided callback URL.
- * Exponential backoff and Circuit breaker based retry policy is used to retry failed POST requests.
+ * The requests are sent with the shared non-blocking client, hence an attempt does not occupy a thread until the
+ * TPP responds. The failed attempts are retried by the RealtimeEventNotificationDispatcher according to the
+ * configured backoff function and circuit breakers.
  */
 public class RealtimeEventNotificationSenderService implements Runnable {
 
     private static final Log log = LogFactory.getLog(EventNotificationComponent.class);
 
-    private static final OpenBankingConfigParser configParser = OpenBankingConfigParser.getInstance();
-    private static final int MAX_RETRIES = configParser.getRealtimeEventNotificationMaxRetries();
-    private static final int INITIAL_BACKOFF_TIME_IN_SECONDS =
-            configParser.getRealtimeEventNotificationInitialBackoffTimeInSeconds();
-    private static final String BACKOFF_FUNCTION = configParser.getRealtimeEventNotificationBackoffFunction();
-    private static final int CIRCUIT_BREAKER_OPEN_TIMEOUT_IN_SECONDS =
-            configParser.getRealtimeEventNotificationCircuitBreakerOpenTimeoutInSeconds();
-    private static final int TIMEOUT_IN_SECONDS = configParser.getRealtimeEventNotificationTimeoutInSeconds();
-
-    private CloseableHttpClient httpClient;
+    private CloseableHttpAsyncClient httpClient;
     private RealtimeEventNotificationRequestGenerator httpRequestGenerator;
     private String notificationId;
     private String callbackUrl;
@@ -69,7 +59,7 @@ public class RealtimeEventNotificationSenderService implements Runnable {
     public RealtimeEventNotificationSenderService(String callbackUrl, String payloadJson,
                                                   String notificationId) {
         try {
-            this.httpClient = HTTPClientUtils.getRealtimeEventNotificationHttpsClient();
+            this.httpClient = RealtimeEventNotificationHttpClient.getInstance().getClient();
         } catch (OpenBankingException e) {
             log.error("Failed to initialize the HTTP client for the realtime event notification", e);
         }
@@ -79,117 +69,110 @@ public class RealtimeEventNotificationSenderService implements Runnable {
         this.payloadJson = payloadJson;
     }
 
+    /**
+     * Send the notification once, and update its status as ACK if it is sent or as ERROR if it is not sent.
+     */
     public void run() {
         try {
-            postWithRetry();
-        } catch (OBEventNotificationException e) {
+            if (sendAsync().get()) {
+                markDelivered();
+            } else {
+                markFailed();
+            }
+        } catch (OBEventNotificationException | ExecutionException e) {
             log.error("Failed to send the Real-time event notification with notificationId: "
                     + notificationId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * This method is used to send the HTTP requests to the TPP provided callback URL.
-     * Exponential backoff and Circuit breaker based retry policy is used to retry failed POST requests.
+     * This method is used to send the HTTP request to the TPP provided callback URL once, without waiting for
+     * the response.
      *
-     * @throws OBEventNotificationException
+     * @return future completed with true if the notification is sent successfully
      */
-    private void postWithRetry() throws OBEventNotificationException {
-        AggregatedPollingDAO aggregatedPollingDAO =
-                EventPollingStoreInitializer.getAggregatedPollingDAO();
-        int retryCount = 0;
-        long backoffTimeMs = INITIAL_BACKOFF_TIME_IN_SECONDS * 1000L;
-        boolean circuitBreakerOpen = false;
-        LocalTime startTime = LocalTime.now();
-
-        while (retryCount <= MAX_RETRIES && !circuitBreakerOpen) {
-            try {
-                // This if closure will execute only if the initial POST request is failed.
-                // This includes the retry policy and will execute according to the configurations.
-                if (retryCount > 0) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("HTTP request Retry #" + retryCount + " - waiting for "
-                                + backoffTimeMs + " ms before trying again");
-                    }
-                    Thread.sleep(backoffTimeMs);
-
-                    switch (BACKOFF_FUNCTION) {
-                        case "CONSTANT":
-                            // Backoff time will not be changed
-                            // Retries will happen in constant time frames
-                            break;
-                        case "LINEAR":
-                            // Backoff time will be doubled after each retry
-                            // nextWaitingTime = 2 x previousWaitingTime
-                            backoffTimeMs *= 2;
-                            break;
-                        case "EX":
-                            // Backoff time will be increased exponentially
-                            // nextWaitingTime = startWaitingTime x e^(retryCount)
-                            backoffTimeMs = (long)
-                                    (INITIAL_BACKOFF_TIME_IN_SECONDS
-                                            * 1000 * Math.exp(retryCount));
-                            break;
-                        default:
-                            log.error("Invalid backoff function for the realtime event notification retry policy: "
-                                    + BACKOFF_FUNCTION);
-                            throw new IllegalArgumentException(
-                                    "Invalid backoff function for the realtime event notification retry policy: "
-                                            + BACKOFF_FUNCTION);
-                    }
-                }
-
-                HttpPost httpPost = new HttpPost(URI.create(callbackUrl));
-
-                for (Map.Entry<String, String> entry : httpRequestGenerator.getAdditionalHeaders().entrySet()) {
-                    String headerName = entry.getKey();
-                    String headerValue = entry.getValue();
-                    httpPost.setHeader(headerName, headerValue);
-                }
+    public CompletableFuture<Boolean> sendAsync() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (httpClient == null) {
+            result.complete(false);
+            return result;
+        }
+        HttpPost httpPost;
+        try {
+            httpPost = new HttpPost(URI.create(callbackUrl));
+        } catch (IllegalArgumentException e) {
+            log.error("Real-time event notification with notificationId: " + notificationId
+                    + " sent failed" + e);
+            result.complete(false);
+            return result;
+        }
 
-                httpPost.setEntity(new StringEntity(payloadJson, ContentType.APPLICATION_JSON));
-                RequestConfig requestConfig = RequestConfig.custom()
-                        .setConnectTimeout(TIMEOUT_IN_SECONDS * 1000)
-                        .setConnectionRequestTimeout(TIMEOUT_IN_SECONDS * 1000)
-                        .setSocketTimeout(TIMEOUT_IN_SECONDS * 1000)
-                        .build();
-                httpPost.setConfig(requestConfig);
+        for (Map.Entry<String, String> entry : httpRequestGenerator.getAdditionalHeaders().entrySet()) {
+            String headerName = entry.getKey();
+            String headerValue = entry.getValue();
+            httpPost.setHeader(headerName, headerValue);
+        }
+        httpPost.setEntity(new StringEntity(payloadJson, ContentType.APPLICATION_JSON));
 
-                HttpResponse response = httpClient.execute(httpPost);
+        httpClient.execute(httpPost, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
                 int statusCode = response.getStatusLine().getStatusCode();
-                if (statusCode == HttpStatus.SC_OK) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Real-time event notification with notificationId: " + notificationId
-                                + " sent successfully");
-                    }
-                    aggregatedPollingDAO.updateNotificationStatusById(notificationId, EventNotificationConstants.ACK);
-                    return;
-                } else {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Real-time event notification with notificationId: " + notificationId
-                                + " sent failed with status code: " + statusCode);
-                    }
+                // the buffered response is consumed to keep the connection alive for reuse
+                EntityUtils.consumeQuietly(response.getEntity());
+                if (log.isDebugEnabled()) {
+                    log.debug("Real-time event notification with notificationId: " + notificationId
+                            + " sent with status code: " + statusCode);
                 }
-            } catch (IOException | InterruptedException e) {
+                result.complete(statusCode == HttpStatus.SC_OK);
+            }
+
+            @Override
+            public void failed(Exception e) {
                 log.error("Real-time event notification with notificationId: " + notificationId
                         + " sent failed" + e);
+                result.complete(false);
             }
 
-            // Circuit breaker will be opened if the retrying time exceeds the configured circuit breaker timeout.
-            if (Duration.between(startTime, LocalTime.now()).toMillis()
-                    > CIRCUIT_BREAKER_OPEN_TIMEOUT_IN_SECONDS * 1000) {
-                circuitBreakerOpen = true;
-                if (log.isDebugEnabled()) {
-                    log.debug("Circuit breaker open for the realtime event notification with notificationId: "
-                            + notificationId);
-                }
+            @Override
+            public void cancelled() {
+                result.complete(false);
             }
-            retryCount++;
+        });
+        return result;
+    }
+
+    /**
+     * Update the notification status as ACK, once it is sent successfully.
+     *
+     * @throws OBEventNotificationException if the notification status cannot be updated
+     */
+    public void markDelivered() throws OBEventNotificationException {
+        if (log.isDebugEnabled()) {
+            log.debug("Real-time event notification with notificationId: " + notificationId
+                    + " sent successfully");
         }
+        EventPollingStoreInitializer.getAggregatedPollingDAO()
+                .updateNotificationStatusById(notificationId, EventNotificationConstants.ACK);
+    }
 
-        // If the circuit breaker is opened or the maximum retry count is exceeded,
-        // the notification status will be updated as ERROR.
-        aggregatedPollingDAO.updateNotificationStatusById(notificationId, EventNotificationConstants.ERROR);
+    /**
+     * Update the notification status as ERROR, once the retries are exhausted or the retry timeout elapses.
+     *
+     * @throws OBEventNotificationException if the notification status cannot be updated
+     */
+    public void markFailed() throws OBEventNotificationException {
+        EventPollingStoreInitializer.getAggregatedPollingDAO()
+                .updateNotificationStatusById(notificationId, EventNotificationConstants.ERROR);
+    }
+
+    public String getNotificationId() {
+        return notificationId;
+    }
 
+    public String getCallbackUrl() {
+        return callbackUrl;
     }
 }
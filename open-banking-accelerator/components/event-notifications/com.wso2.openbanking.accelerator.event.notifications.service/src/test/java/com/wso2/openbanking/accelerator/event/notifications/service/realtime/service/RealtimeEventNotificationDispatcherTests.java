@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.event.notifications.service.realtime.service;
+
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.event.notifications.service.constants.EventNotificationTestConstants;
+import com.wso2.openbanking.accelerator.event.notifications.service.realtime.model.RealtimeEventNotification;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for RealtimeEventNotificationDispatcher.
+ */
+public class RealtimeEventNotificationDispatcherTests {
+
+    private static final String OTHER_CALLBACK_URL = "https://localhost:8081/callback";
+    private static final long INITIAL_BACKOFF_TIME = TimeUnit.SECONDS.toMillis(1);
+    private static final long HOST_OPEN_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private AtomicLong clock;
+    private LinkedBlockingQueue<RealtimeEventNotification> notificationQueue;
+    private Map<String, RealtimeEventNotificationSenderService> senders;
+    private OpenBankingConfigParser configParser;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(1000000);
+        notificationQueue = new LinkedBlockingQueue<>();
+        senders = new HashMap<>();
+        configParser = Mockito.mock(OpenBankingConfigParser.class);
+        Mockito.when(configParser.getEventNotificationThreadpoolSize()).thenReturn(2);
+        Mockito.when(configParser.getRealtimeEventNotificationMaxRetries()).thenReturn(2);
+        Mockito.when(configParser.getRealtimeEventNotificationInitialBackoffTimeInSeconds()).thenReturn(1);
+        Mockito.when(configParser.getRealtimeEventNotificationBackoffFunction()).thenReturn("LINEAR");
+        Mockito.when(configParser.getRealtimeEventNotificationCircuitBreakerOpenTimeoutInSeconds()).thenReturn(600);
+        Mockito.when(configParser.getRealtimeEventNotificationMaxConcurrentRequestsPerHost()).thenReturn(1);
+        Mockito.when(configParser.getRealtimeEventNotificationHostCircuitBreakerFailureThreshold()).thenReturn(5);
+        Mockito.when(configParser.getRealtimeEventNotificationHostCircuitBreakerOpenTimeoutInSeconds())
+                .thenReturn(30);
+    }
+
+    @Test(description = "when the notification is sent, then record the delivery without retries")
+    public void testNotificationIsDelivered() throws Exception {
+
+        RealtimeEventNotificationSenderService sender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, true);
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+        Assert.assertEquals(dispatcher.getQueueDepth(), 1);
+
+        Mockito.when(sender.sendAsync()).then(invocation -> CompletableFuture.completedFuture(clock.addAndGet(5) > 0));
+        Assert.assertEquals(dispatcher.processQueued(), 1);
+
+        Mockito.verify(sender, Mockito.times(1)).sendAsync();
+        Mockito.verify(sender, Mockito.times(1)).markDelivered();
+        Mockito.verify(sender, Mockito.never()).markFailed();
+        Assert.assertEquals(dispatcher.getQueueDepth(), 0);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 1);
+        Assert.assertEquals(dispatcher.getRetryCount(), 0);
+        Assert.assertEquals(dispatcher.getMaxDeliveryLatency(), 5);
+    }
+
+    @Test(description = "when the notification waits in the queue, then include the wait in the delivery latency")
+    public void testDeliveryLatencyIncludesQueueWait() throws Exception {
+
+        RealtimeEventNotificationSenderService sender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, true);
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+        clock.addAndGet(20);
+
+        Mockito.when(sender.sendAsync()).then(invocation -> CompletableFuture.completedFuture(clock.addAndGet(5) > 0));
+        Assert.assertEquals(dispatcher.processQueued(), 1);
+
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 1);
+        Assert.assertEquals(dispatcher.getMaxDeliveryLatency(), 25);
+    }
+
+    @Test(description = "when the notification is not sent, then retry it after the backoff time without waiting")
+    public void testFailedNotificationIsRetriedAfterBackoff() throws Exception {
+
+        RealtimeEventNotificationSenderService sender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, false);
+        Mockito.when(sender.sendAsync()).thenReturn(CompletableFuture.completedFuture(false),
+                CompletableFuture.completedFuture(true));
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+
+        dispatcher.processQueued();
+        Assert.assertEquals(dispatcher.getRetryQueueDepth(), 1);
+        Assert.assertEquals(dispatcher.getRetryCount(), 1);
+
+        clock.addAndGet(INITIAL_BACKOFF_TIME - 1);
+        Assert.assertEquals(dispatcher.processQueued(), 0);
+
+        clock.addAndGet(1);
+        Assert.assertEquals(dispatcher.processQueued(), 1);
+        Mockito.verify(sender, Mockito.times(2)).sendAsync();
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 1);
+        Assert.assertEquals(dispatcher.getAverageDeliveryLatency(), INITIAL_BACKOFF_TIME);
+    }
+
+    @Test(description = "when the retries are exhausted, then mark the notification as failed")
+    public void testNotificationIsFailedAfterMaxRetries() throws Exception {
+
+        RealtimeEventNotificationSenderService sender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, false);
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+
+        dispatcher.processQueued();
+        clock.addAndGet(INITIAL_BACKOFF_TIME);
+        dispatcher.processQueued();
+        clock.addAndGet(2 * INITIAL_BACKOFF_TIME);
+        dispatcher.processQueued();
+
+        Mockito.verify(sender, Mockito.times(3)).sendAsync();
+        Mockito.verify(sender, Mockito.times(1)).markFailed();
+        Assert.assertEquals(dispatcher.getRetryCount(), 2);
+        Assert.assertEquals(dispatcher.getFailedCount(), 1);
+        Assert.assertEquals(dispatcher.getRetryQueueDepth(), 0);
+    }
+
+    @Test(description = "when the circuit breaker open timeout elapses, then stop retrying the notification")
+    public void testCircuitBreakerStopsRetries() throws Exception {
+
+        Mockito.when(configParser.getRealtimeEventNotificationCircuitBreakerOpenTimeoutInSeconds()).thenReturn(0);
+        RealtimeEventNotificationSenderService sender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, false);
+        Mockito.when(sender.sendAsync()).then(invocation -> CompletableFuture.completedFuture(clock.addAndGet(1) < 0));
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+
+        dispatcher.processQueued();
+
+        Mockito.verify(sender, Mockito.times(1)).markFailed();
+        Assert.assertEquals(dispatcher.getRetryCount(), 0);
+    }
+
+    @Test(description = "when the callback host is at its concurrency limit, then defer the attempt")
+    public void testConcurrentRequestsPerHostAreLimited() throws Exception {
+
+        RealtimeEventNotificationSenderService firstSender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, true);
+        RealtimeEventNotificationSenderService secondSender = addNotification(
+                EventNotificationTestConstants.SAMPLE_CALLBACK_URL + "?second", true);
+        RealtimeEventNotificationSenderService otherHostSender = addNotification(OTHER_CALLBACK_URL, true);
+        // the first notification stays in flight until the TPP responds
+        CompletableFuture<Boolean> firstAttempt = new CompletableFuture<>();
+        Mockito.when(firstSender.sendAsync()).thenReturn(firstAttempt);
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+
+        Assert.assertEquals(dispatcher.processQueued(), 2);
+        Mockito.verify(secondSender, Mockito.never()).sendAsync();
+        Mockito.verify(otherHostSender, Mockito.times(1)).sendAsync();
+        Assert.assertEquals(dispatcher.getInFlightCount(), 1);
+        Assert.assertEquals(dispatcher.getDeferredCount(), 1);
+        Assert.assertEquals(dispatcher.getRetryQueueDepth(), 1);
+
+        firstAttempt.complete(true);
+        clock.addAndGet(100);
+        Assert.assertEquals(dispatcher.processQueued(), 1);
+        Mockito.verify(secondSender, Mockito.times(1)).sendAsync();
+        Assert.assertEquals(dispatcher.getInFlightCount(), 0);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 3);
+        Assert.assertEquals(dispatcher.getRetryCount(), 0);
+    }
+
+    @Test(description = "when the attempts to a callback host fail consecutively, then open its circuit breaker")
+    public void testHostCircuitBreakerIsOpened() throws Exception {
+
+        Mockito.when(configParser.getRealtimeEventNotificationMaxConcurrentRequestsPerHost()).thenReturn(5);
+        Mockito.when(configParser.getRealtimeEventNotificationHostCircuitBreakerFailureThreshold()).thenReturn(2);
+        RealtimeEventNotificationSenderService firstSender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, false);
+        RealtimeEventNotificationSenderService secondSender = addNotification(
+                EventNotificationTestConstants.SAMPLE_CALLBACK_URL + "?second", false);
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+
+        Assert.assertEquals(dispatcher.processQueued(), 2);
+        Assert.assertEquals(dispatcher.getOpenCircuitCount(), 1);
+
+        // the retries are deferred without calling the host until the open timeout elapses
+        RealtimeEventNotificationSenderService thirdSender = addNotification(
+                EventNotificationTestConstants.SAMPLE_CALLBACK_URL + "?third", true);
+        clock.addAndGet(INITIAL_BACKOFF_TIME);
+        Assert.assertEquals(dispatcher.processQueued(), 0);
+        Mockito.verify(thirdSender, Mockito.never()).sendAsync();
+        Assert.assertEquals(dispatcher.getDeferredCount(), 3);
+
+        // a single trial attempt is let through once the open timeout elapses, and its success closes the circuit
+        CompletableFuture<Boolean> trialAttempt = new CompletableFuture<>();
+        Mockito.when(firstSender.sendAsync()).thenReturn(trialAttempt);
+        Mockito.when(secondSender.sendAsync()).thenReturn(trialAttempt);
+        Mockito.when(thirdSender.sendAsync()).thenReturn(trialAttempt);
+        clock.addAndGet(HOST_OPEN_TIMEOUT);
+        Assert.assertEquals(dispatcher.processQueued(), 1);
+        Assert.assertEquals(dispatcher.getInFlightCount(), 1);
+
+        trialAttempt.complete(true);
+        Assert.assertEquals(dispatcher.getOpenCircuitCount(), 0);
+
+        clock.addAndGet(100);
+        Assert.assertEquals(dispatcher.processQueued(), 2);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 3);
+        Assert.assertEquals(dispatcher.getFailedCount(), 0);
+    }
+
+    @Test(description = "when a callback host has no pending notifications, then evict it unless its circuit is open")
+    public void testIdleHostsAreEvicted() throws Exception {
+
+        Mockito.when(configParser.getRealtimeEventNotificationMaxRetries()).thenReturn(0);
+        Mockito.when(configParser.getRealtimeEventNotificationHostCircuitBreakerFailureThreshold()).thenReturn(1);
+        Mockito.when(configParser.getRealtimeEventNotificationHostCircuitBreakerOpenTimeoutInSeconds())
+                .thenReturn(120);
+        addNotification(EventNotificationTestConstants.SAMPLE_CALLBACK_URL, true);
+        addNotification(OTHER_CALLBACK_URL, false);
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+
+        Assert.assertEquals(dispatcher.processQueued(), 2);
+        Assert.assertEquals(dispatcher.getCallbackHostCount(), 2);
+        Assert.assertEquals(dispatcher.getFailedCount(), 1);
+
+        // the host of the failed notification is kept while its circuit is open
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(1));
+        addNotification(EventNotificationTestConstants.SAMPLE_CALLBACK_URL, true);
+        Assert.assertEquals(dispatcher.processQueued(), 1);
+        Assert.assertEquals(dispatcher.getCallbackHostCount(), 2);
+        Assert.assertEquals(dispatcher.getOpenCircuitCount(), 1);
+
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(1));
+        addNotification(EventNotificationTestConstants.SAMPLE_CALLBACK_URL, true);
+        Assert.assertEquals(dispatcher.processQueued(), 1);
+        Assert.assertEquals(dispatcher.getCallbackHostCount(), 1);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 3);
+    }
+
+    @Test(description = "when the backoff function is configured, then calculate the backoff time of each retry")
+    public void testBackoffTime() {
+
+        Assert.assertEquals(createDispatcher().getBackoffTime(3), 4 * INITIAL_BACKOFF_TIME);
+
+        Mockito.when(configParser.getRealtimeEventNotificationBackoffFunction()).thenReturn("CONSTANT");
+        Assert.assertEquals(createDispatcher().getBackoffTime(3), INITIAL_BACKOFF_TIME);
+
+        Mockito.when(configParser.getRealtimeEventNotificationBackoffFunction()).thenReturn("EX");
+        Assert.assertEquals(createDispatcher().getBackoffTime(1), INITIAL_BACKOFF_TIME);
+        Assert.assertEquals(createDispatcher().getBackoffTime(2), (long) (INITIAL_BACKOFF_TIME * Math.E));
+    }
+
+    @Test(description = "when the backoff function is invalid, then mark the notification as failed on failure",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidBackoffFunction() throws Exception {
+
+        Mockito.when(configParser.getRealtimeEventNotificationBackoffFunction()).thenReturn("INVALID");
+        RealtimeEventNotificationSenderService sender = addNotification(EventNotificationTestConstants
+                .SAMPLE_CALLBACK_URL, false);
+        RealtimeEventNotificationDispatcher dispatcher = createDispatcher();
+
+        dispatcher.processQueued();
+        Mockito.verify(sender, Mockito.times(1)).markFailed();
+        dispatcher.getBackoffTime(1);
+    }
+
+    private RealtimeEventNotificationDispatcher createDispatcher() {
+
+        return new RealtimeEventNotificationDispatcher(notificationQueue,
+                notification -> senders.get(notification.getCallbackUrl()), configParser, clock::get);
+    }
+
+    private RealtimeEventNotificationSenderService addNotification(String callbackUrl, boolean delivered)
+            throws Exception {
+
+        RealtimeEventNotificationSenderService sender = addSender(callbackUrl, delivered);
+        notificationQueue.add(getNotification(callbackUrl));
+        return sender;
+    }
+
+    private RealtimeEventNotificationSenderService addSender(String callbackUrl, boolean delivered)
+            throws Exception {
+
+        RealtimeEventNotificationSenderService sender = Mockito.mock(RealtimeEventNotificationSenderService.class);
+        Mockito.when(sender.sendAsync()).thenReturn(CompletableFuture.completedFuture(delivered));
+        Mockito.when(sender.getCallbackUrl()).thenReturn(callbackUrl);
+        Mockito.when(sender.getNotificationId()).thenReturn(EventNotificationTestConstants.SAMPLE_NOTIFICATION_ID);
+        senders.put(callbackUrl, sender);
+        return sender;
+    }
+
+    private RealtimeEventNotification getNotification(String callbackUrl) {
+
+        RealtimeEventNotification notification = new RealtimeEventNotification();
+        notification.setCallbackUrl(callbackUrl);
+        notification.setQueuedTime(clock.get());
+        return notification;
+    }
+}
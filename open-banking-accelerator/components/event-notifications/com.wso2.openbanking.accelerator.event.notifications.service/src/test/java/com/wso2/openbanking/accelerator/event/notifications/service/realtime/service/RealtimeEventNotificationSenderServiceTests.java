@@ -20,17 +20,17 @@ package com.wso2.openbanking.accelerator.event.notifications.service.realtime.se
 
 import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
 import com.wso2.openbanking.accelerator.common.exception.OpenBankingException;
-import com.wso2.openbanking.accelerator.common.util.HTTPClientUtils;
 import com.wso2.openbanking.accelerator.event.notifications.service.constants.EventNotificationConstants;
 import com.wso2.openbanking.accelerator.event.notifications.service.constants.EventNotificationTestConstants;
 import com.wso2.openbanking.accelerator.event.notifications.service.dao.AggregatedPollingDAOImpl;
 import com.wso2.openbanking.accelerator.event.notifications.service.persistence.EventPollingStoreInitializer;
 import com.wso2.openbanking.accelerator.event.notifications.service.util.EventNotificationServiceUtil;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -39,20 +39,19 @@ import org.powermock.modules.testng.PowerMockTestCase;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.doReturn;
 
 /**
  * Test class for RealtimeEventNotificationSenderService.
  */
 @PowerMockIgnore("jdk.internal.reflect.*")
-@PrepareForTest({OpenBankingConfigParser.class, HTTPClientUtils.class, CloseableHttpClient.class, HttpPost.class,
-        AggregatedPollingDAOImpl.class, EventPollingStoreInitializer.class, CloseableHttpResponse.class,
-        StatusLine.class, EventNotificationServiceUtil.class, DefaultRealtimeEventNotificationRequestGenerator.class})
+@PrepareForTest({OpenBankingConfigParser.class, RealtimeEventNotificationHttpClient.class,
+        CloseableHttpAsyncClient.class, HttpPost.class, AggregatedPollingDAOImpl.class,
+        EventPollingStoreInitializer.class, HttpResponse.class, StatusLine.class, EventNotificationServiceUtil.class,
+        DefaultRealtimeEventNotificationRequestGenerator.class})
 public class RealtimeEventNotificationSenderServiceTests extends PowerMockTestCase {
     private static final int MAX_RETRIES = 1;
     private static final int INITIAL_BACKOFF_TIME_IN_SECONDS = 1;
@@ -75,7 +74,7 @@ public class RealtimeEventNotificationSenderServiceTests extends PowerMockTestCa
     }
 
     @Test
-    public void testRunBad() throws OpenBankingException, IOException {
+    public void testRunBad() throws OpenBankingException {
         AggregatedPollingDAOImpl aggregatedPollingDAOMock = Mockito.mock(AggregatedPollingDAOImpl.class);
         Mockito.when(aggregatedPollingDAOMock.updateNotificationStatusById(EventNotificationTestConstants
                 .SAMPLE_NOTIFICATION_ID, EventNotificationConstants.ACK)).thenReturn(true);
@@ -90,15 +89,12 @@ public class RealtimeEventNotificationSenderServiceTests extends PowerMockTestCa
         PowerMockito.when(EventNotificationServiceUtil.getRealtimeEventNotificationRequestGenerator())
                 .thenReturn(mockRequestGenerator);
 
-        CloseableHttpResponse mockResponse = Mockito.mock(CloseableHttpResponse.class);
+        HttpResponse mockResponse = Mockito.mock(HttpResponse.class);
         StatusLine mockSL = Mockito.mock(StatusLine.class);
         Mockito.when(mockResponse.getStatusLine()).thenReturn(mockSL);
         Mockito.when(mockSL.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
 
-        CloseableHttpClient httpClientMock = Mockito.mock(CloseableHttpClient.class);
-        doReturn(mockResponse).when(httpClientMock).execute(any());
-        PowerMockito.mockStatic(HTTPClientUtils.class);
-        PowerMockito.when(HTTPClientUtils.getRealtimeEventNotificationHttpsClient()).thenReturn(httpClientMock);
+        mockHttpClient(mockResponse);
 
         new Thread(new RealtimeEventNotificationSenderService(EventNotificationTestConstants.SAMPLE_CALLBACK_URL,
                 EventNotificationTestConstants.SAMPLE_NOTIFICATION_PAYLOAD,
@@ -106,7 +102,7 @@ public class RealtimeEventNotificationSenderServiceTests extends PowerMockTestCa
     }
 
     @Test
-    public void testRun() throws OpenBankingException, IOException {
+    public void testRun() throws OpenBankingException {
         AggregatedPollingDAOImpl aggregatedPollingDAOMock = Mockito.mock(AggregatedPollingDAOImpl.class);
         Mockito.when(aggregatedPollingDAOMock.updateNotificationStatusById(EventNotificationTestConstants
                 .SAMPLE_NOTIFICATION_ID, EventNotificationConstants.ACK)).thenReturn(true);
@@ -121,18 +117,28 @@ public class RealtimeEventNotificationSenderServiceTests extends PowerMockTestCa
         PowerMockito.when(EventNotificationServiceUtil.getRealtimeEventNotificationRequestGenerator())
                 .thenReturn(mockRequestGenerator);
 
-        CloseableHttpResponse mockResponse = Mockito.mock(CloseableHttpResponse.class);
+        HttpResponse mockResponse = Mockito.mock(HttpResponse.class);
         StatusLine mockSL = Mockito.mock(StatusLine.class);
         Mockito.when(mockResponse.getStatusLine()).thenReturn(mockSL);
         Mockito.when(mockSL.getStatusCode()).thenReturn(HttpStatus.SC_OK);
 
-        CloseableHttpClient httpClientMock = Mockito.mock(CloseableHttpClient.class);
-        doReturn(mockResponse).when(httpClientMock).execute(any());
-        PowerMockito.mockStatic(HTTPClientUtils.class);
-        PowerMockito.when(HTTPClientUtils.getRealtimeEventNotificationHttpsClient()).thenReturn(httpClientMock);
+        mockHttpClient(mockResponse);
 
         new Thread(new RealtimeEventNotificationSenderService(EventNotificationTestConstants.SAMPLE_CALLBACK_URL,
                 EventNotificationTestConstants.SAMPLE_NOTIFICATION_PAYLOAD,
                 EventNotificationTestConstants.SAMPLE_NOTIFICATION_ID)).start();
     }
+
+    private void mockHttpClient(HttpResponse mockResponse) throws OpenBankingException {
+        CloseableHttpAsyncClient httpClientMock = Mockito.mock(CloseableHttpAsyncClient.class);
+        Mockito.when(httpClientMock.execute(any(HttpPost.class), any(FutureCallback.class))).then(invocation -> {
+            ((FutureCallback<HttpResponse>) invocation.getArguments()[1]).completed(mockResponse);
+            return null;
+        });
+        RealtimeEventNotificationHttpClient realtimeHttpClientMock =
+                Mockito.mock(RealtimeEventNotificationHttpClient.class);
+        Mockito.when(realtimeHttpClientMock.getClient()).thenReturn(httpClientMock);
+        PowerMockito.mockStatic(RealtimeEventNotificationHttpClient.class);
+        PowerMockito.when(RealtimeEventNotificationHttpClient.getInstance()).thenReturn(realtimeHttpClientMock);
+    }
 }
@@ -25,6 +25,7 @@ import com.wso2.openbanking.accelerator.throttler.dao.model.ThrottleDataModel;
 
 import java.sql.Connection;
 import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * DAO class for throttle data.
@@ -62,6 +63,40 @@ public interface OBThrottlerDAO {
                                          Timestamp currentTimestamp, Timestamp unlockTimestamp, int occurrences)
             throws OBThrottlerDataUpdationException;
 
+    /**
+     * Record an occurrence of the throttle parameter in a single statement where the database supports it. The
+     * record is inserted with one occurrence if it does not exist, and the occurrences are restarted if the record
+     * is already unlocked.
+     *
+     * @param connection connection object
+     * @param throttleGroup - throttle group
+     * @param throttleParam - throttle parameter
+     * @param currentTimestamp - current timestamp
+     * @param unlockTimestamp - unlock timestamp
+     * @return - ThrottleDataModel with the updated occurrences
+     * @throws OBThrottlerDataUpdationException - OBThrottlerDataUpdationException
+     */
+    ThrottleDataModel incrementThrottleData(Connection connection, String throttleGroup, String throttleParam,
+                                            Timestamp currentTimestamp, Timestamp unlockTimestamp)
+            throws OBThrottlerDataUpdationException;
+
+    /**
+     * Save throttle data in a single statement where the database supports it. The record is inserted if it does not
+     * exist, otherwise the existing record is overwritten.
+     *
+     * @param connection connection object
+     * @param throttleGroup - throttle group
+     * @param throttleParam - throttle parameter
+     * @param currentTimestamp - current timestamp
+     * @param unlockTimestamp - unlock timestamp
+     * @param occurrences - number of occurrences of the parameter
+     * @return - ThrottleDataModel
+     * @throws OBThrottlerDataUpdationException - OBThrottlerDataUpdationException
+     */
+    ThrottleDataModel saveThrottleData(Connection connection, String throttleGroup, String throttleParam,
+                                       Timestamp currentTimestamp, Timestamp unlockTimestamp, int occurrences)
+            throws OBThrottlerDataUpdationException;
+
     /**
      * Retrieve throttle data.
      *
@@ -96,4 +131,26 @@ public interface OBThrottlerDAO {
      */
     boolean isThrottleDataExists(Connection connection, String throttleGroup, String throttleParam)
             throws OBThrottlerDataRetrievalException;
+
+    /**
+     * Remove the throttle data which are unlocked before the given timestamp.
+     *
+     * @param connection connection object
+     * @param currentTimestamp - current timestamp
+     * @return - number of removed records
+     * @throws OBThrottlerDataDeletionException - OBThrottlerDataDeletionException
+     */
+    int deleteExpiredThrottleData(Connection connection, Timestamp currentTimestamp)
+            throws OBThrottlerDataDeletionException;
+
+    /**
+     * Retrieve the throttle data which are locked at the given timestamp.
+     *
+     * @param connection connection object
+     * @param currentTimestamp - current timestamp
+     * @return - list of ThrottleDataModel
+     * @throws OBThrottlerDataRetrievalException - OBThrottlerDataRetrievalException
+     */
+    List<ThrottleDataModel> getLockedThrottleData(Connection connection, Timestamp currentTimestamp)
+            throws OBThrottlerDataRetrievalException;
 }
@@ -23,6 +23,8 @@ package com.wso2.openbanking.accelerator.throttler.dao.constants;
 public class OBThrottlerDAOConstants {
 
     public static final int FIRST_OCCURRENCE = 1;
+    public static final String THROTTLE_GROUP = "THROTTLE_GROUP";
+    public static final String THROTTLE_PARAM = "THROTTLE_PARAM";
     public static final String LAST_UPDATE_TIMESTAMP = "LAST_UPDATE_TIMESTAMP";
     public static final String UNLOCK_TIMESTAMP = "UNLOCK_TIMESTAMP";
     public static final String OCCURRENCES = "OCCURRENCES";
@@ -37,5 +39,13 @@ public class OBThrottlerDAOConstants {
             "throttle data result set retrieval";
     public static final String THROTTLE_DATA_DELETE_ERROR_MSG = "Error occurred while deleting throttle data " +
             "from the database";
+    public static final String THROTTLE_DATA_INCREMENT_ERROR_MSG = "Error occurred while incrementing the throttle " +
+            "data occurrences in the database";
+    public static final String THROTTLE_DATA_SAVE_ERROR_MSG = "Error occurred while saving throttle data in the " +
+            "database";
+    public static final String EXPIRED_THROTTLE_DATA_DELETE_ERROR_MSG = "Error occurred while deleting expired " +
+            "throttle data from the database";
+    public static final String LOCKED_THROTTLE_DATA_RETRIEVE_ERROR_MSG = "Error occurred while retrieving locked " +
+            "throttle data from the database";
     public static final String NO_RECORDS_FOUND_ERROR_MSG = "No records are found for the given inputs";
 }
@@ -33,6 +33,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Implementation of OBThrottlerDAO.
@@ -129,6 +131,129 @@ public class OBThrottlerDAOImpl implements OBThrottlerDAO {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ThrottleDataModel incrementThrottleData(Connection connection, String throttleGroup, String throttleParam,
+                                                   Timestamp currentTimestamp, Timestamp unlockTimestamp)
+            throws OBThrottlerDataUpdationException {
+
+        String upsertThrottleDataSql = sqlStatements.upsertThrottleData();
+        int occurrences = 0;
+
+        try {
+            if (upsertThrottleDataSql != null) {
+                try (PreparedStatement upsertPreparedStatement = connection.prepareStatement(upsertThrottleDataSql)) {
+                    //Set prepared statement parameters
+                    upsertPreparedStatement.setString(1, throttleGroup);
+                    upsertPreparedStatement.setString(2, throttleParam);
+                    upsertPreparedStatement.setTimestamp(3, currentTimestamp);
+                    upsertPreparedStatement.setTimestamp(4, unlockTimestamp);
+                    if (upsertPreparedStatement.execute()) {
+                        //the statement returns the updated occurrences
+                        try (ResultSet resultSet = upsertPreparedStatement.getResultSet()) {
+                            if (resultSet.next()) {
+                                occurrences = resultSet.getInt(1);
+                            }
+                        }
+                    }
+                }
+            } else {
+                int rowCount;
+                try (PreparedStatement incrementPreparedStatement = connection
+                        .prepareStatement(sqlStatements.incrementThrottleData())) {
+                    //Set prepared statement parameters
+                    incrementPreparedStatement.setTimestamp(1, currentTimestamp);
+                    incrementPreparedStatement.setTimestamp(2, currentTimestamp);
+                    incrementPreparedStatement.setTimestamp(3, unlockTimestamp);
+                    incrementPreparedStatement.setString(4, throttleGroup);
+                    incrementPreparedStatement.setString(5, throttleParam);
+                    rowCount = incrementPreparedStatement.executeUpdate();
+                }
+                if (rowCount == 0) {
+                    return storeThrottleData(connection, throttleGroup, throttleParam, currentTimestamp,
+                            unlockTimestamp);
+                }
+            }
+            if (occurrences == 0) {
+                //the record is locked by the update, hence the occurrences are read within the same transaction
+                occurrences = getThrottleData(connection, throttleGroup, throttleParam).getOccurrences();
+            }
+        } catch (SQLException | OBThrottlerDataInsertionException | OBThrottlerDataRetrievalException e) {
+            log.error(OBThrottlerDAOConstants.THROTTLE_DATA_INCREMENT_ERROR_MSG);
+            throw new OBThrottlerDataUpdationException(OBThrottlerDAOConstants.THROTTLE_DATA_INCREMENT_ERROR_MSG, e);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(
+                    "Incremented ThrottleGroup: '%s', ThrottleParam: '%s', CurrentTimestamp: '%s', " +
+                            "UnlockTimestamp: '%s', Occurrences: %d", throttleGroup, throttleParam,
+                    currentTimestamp, unlockTimestamp, occurrences).replaceAll("[\r\n]", ""));
+        }
+        return new ThrottleDataModel(throttleGroup, throttleParam, currentTimestamp, unlockTimestamp, occurrences);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ThrottleDataModel saveThrottleData(Connection connection, String throttleGroup, String throttleParam,
+                                              Timestamp currentTimestamp, Timestamp unlockTimestamp, int occurrences)
+            throws OBThrottlerDataUpdationException {
+
+        String saveThrottleDataSql = sqlStatements.saveThrottleData();
+
+        try {
+            if (saveThrottleDataSql != null) {
+                try (PreparedStatement savePreparedStatement = connection.prepareStatement(saveThrottleDataSql)) {
+                    //Set prepared statement parameters
+                    savePreparedStatement.setString(1, throttleGroup);
+                    savePreparedStatement.setString(2, throttleParam);
+                    savePreparedStatement.setTimestamp(3, currentTimestamp);
+                    savePreparedStatement.setTimestamp(4, unlockTimestamp);
+                    savePreparedStatement.setInt(5, occurrences);
+                    savePreparedStatement.executeUpdate();
+                }
+            } else {
+                int rowCount;
+                try (PreparedStatement updatePreparedStatement = connection
+                        .prepareStatement(sqlStatements.updateThrottleData())) {
+                    //Set prepared statement parameters
+                    updatePreparedStatement.setTimestamp(1, currentTimestamp);
+                    updatePreparedStatement.setTimestamp(2, unlockTimestamp);
+                    updatePreparedStatement.setInt(3, occurrences);
+                    updatePreparedStatement.setString(4, throttleGroup);
+                    updatePreparedStatement.setString(5, throttleParam);
+                    rowCount = updatePreparedStatement.executeUpdate();
+                }
+                if (rowCount == 0) {
+                    try (PreparedStatement storePreparedStatement = connection
+                            .prepareStatement(sqlStatements.storeThrottleData())) {
+                        //Set prepared statement parameters
+                        storePreparedStatement.setString(1, throttleGroup);
+                        storePreparedStatement.setString(2, throttleParam);
+                        storePreparedStatement.setTimestamp(3, currentTimestamp);
+                        storePreparedStatement.setTimestamp(4, unlockTimestamp);
+                        storePreparedStatement.setInt(5, occurrences);
+                        storePreparedStatement.executeUpdate();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error(OBThrottlerDAOConstants.THROTTLE_DATA_SAVE_ERROR_MSG);
+            throw new OBThrottlerDataUpdationException(OBThrottlerDAOConstants.THROTTLE_DATA_SAVE_ERROR_MSG, e);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(
+                    "Saved ThrottleGroup: '%s', ThrottleParam: '%s', CurrentTimestamp: '%s', " +
+                            "UnlockTimestamp: '%s', Occurrences: %d", throttleGroup, throttleParam,
+                    currentTimestamp, unlockTimestamp, occurrences).replaceAll("[\r\n]", ""));
+        }
+        return new ThrottleDataModel(throttleGroup, throttleParam, currentTimestamp, unlockTimestamp, occurrences);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -229,4 +354,68 @@ public class OBThrottlerDAOImpl implements OBThrottlerDAO {
         }
         return throttleDataExists;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteExpiredThrottleData(Connection connection, Timestamp currentTimestamp)
+            throws OBThrottlerDataDeletionException {
+
+        String removeExpiredThrottleDataSql = sqlStatements.removeExpiredThrottleData();
+        int rowCount;
+
+        //remove expired data from database
+        try (PreparedStatement removePreparedStatement = connection.prepareStatement(removeExpiredThrottleDataSql)) {
+            removePreparedStatement.setTimestamp(1, currentTimestamp);
+            rowCount = removePreparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            log.error(OBThrottlerDAOConstants.EXPIRED_THROTTLE_DATA_DELETE_ERROR_MSG);
+            throw new OBThrottlerDataDeletionException(
+                    OBThrottlerDAOConstants.EXPIRED_THROTTLE_DATA_DELETE_ERROR_MSG, e);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Removed %d expired throttle data records", rowCount));
+        }
+        return rowCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ThrottleDataModel> getLockedThrottleData(Connection connection, Timestamp currentTimestamp)
+            throws OBThrottlerDataRetrievalException {
+
+        List<ThrottleDataModel> lockedThrottleData = new ArrayList<>();
+        String sql = sqlStatements.retrieveLockedThrottleData();
+
+        //retrieve locked data from database
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setTimestamp(1, currentTimestamp);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    lockedThrottleData.add(new ThrottleDataModel(
+                            resultSet.getString(OBThrottlerDAOConstants.THROTTLE_GROUP),
+                            resultSet.getString(OBThrottlerDAOConstants.THROTTLE_PARAM),
+                            resultSet.getTimestamp(OBThrottlerDAOConstants.LAST_UPDATE_TIMESTAMP),
+                            resultSet.getTimestamp(OBThrottlerDAOConstants.UNLOCK_TIMESTAMP),
+                            resultSet.getInt(OBThrottlerDAOConstants.OCCURRENCES)));
+                }
+            } catch (SQLException e) {
+                throw new OBThrottlerDataRetrievalException(
+                        OBThrottlerDAOConstants.THROTTLE_DATA_RESULT_SET_RETRIEVE_ERROR_MSG, e);
+            }
+        } catch (SQLException e) {
+            log.error(OBThrottlerDAOConstants.LOCKED_THROTTLE_DATA_RETRIEVE_ERROR_MSG);
+            throw new OBThrottlerDataRetrievalException(
+                    OBThrottlerDAOConstants.LOCKED_THROTTLE_DATA_RETRIEVE_ERROR_MSG, e);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Retrieved %d locked throttle data records", lockedThrottleData.size()));
+        }
+        return lockedThrottleData;
+    }
 }
@@ -21,7 +21,11 @@ import com.wso2.openbanking.accelerator.common.exception.OBThrottlerException;
 import com.wso2.openbanking.accelerator.common.persistence.JDBCPersistenceManager;
 import com.wso2.openbanking.accelerator.throttler.dao.OBThrottlerDAO;
 import com.wso2.openbanking.accelerator.throttler.dao.impl.OBThrottlerDAOImpl;
+import com.wso2.openbanking.accelerator.throttler.dao.queries.MSSQLOBThrottlerSQLStatements;
+import com.wso2.openbanking.accelerator.throttler.dao.queries.MySQLOBThrottlerSQLStatements;
 import com.wso2.openbanking.accelerator.throttler.dao.queries.OBThrottlerSQLStatements;
+import com.wso2.openbanking.accelerator.throttler.dao.queries.OracleOBThrottlerSQLStatements;
+import com.wso2.openbanking.accelerator.throttler.dao.queries.PostgreSQLOBThrottlerSQLStatements;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -34,6 +38,10 @@ import java.sql.SQLException;
 public class DataStoreInitializerFactory {
 
     private static final Log log = LogFactory.getLog(DataStoreInitializerFactory.class);
+    private static final String MYSQL = "MySQL";
+    private static final String POSTGRE = "PostgreSQL";
+    private static final String MSSQL = "Microsoft";
+    private static final String ORACLE = "Oracle";
 
     public OBThrottlerDAO initializeDataStore() throws OBThrottlerException {
 
@@ -43,7 +51,16 @@ public class DataStoreInitializerFactory {
             if (log.isDebugEnabled()) {
                 log.debug("Initiated OBThrottlerDAO with " + driverName.replaceAll("[\r\n]", ""));
             }
-            // returning default queries for all database types
+            if (driverName.contains(MYSQL)) {
+                return new OBThrottlerDAOImpl(new MySQLOBThrottlerSQLStatements());
+            } else if (driverName.contains(POSTGRE)) {
+                return new OBThrottlerDAOImpl(new PostgreSQLOBThrottlerSQLStatements());
+            } else if (driverName.contains(MSSQL)) {
+                return new OBThrottlerDAOImpl(new MSSQLOBThrottlerSQLStatements());
+            } else if (driverName.contains(ORACLE)) {
+                return new OBThrottlerDAOImpl(new OracleOBThrottlerSQLStatements());
+            }
+            // returning default queries for the other database types
             return new OBThrottlerDAOImpl(new OBThrottlerSQLStatements());
 
         } catch (SQLException e) {
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.wso2.openbanking.accelerator.throttler.dao.queries;
+
+/**
+ * MSSQL specific SQL Statements required for OB Throttler.
+ */
+public class MSSQLOBThrottlerSQLStatements extends OBThrottlerSQLStatements {
+
+    @Override
+    public String upsertThrottleData() {
+
+        return "MERGE INTO OB_THROTTLE_DATA WITH (HOLDLOCK) AS T USING (SELECT ? AS THROTTLE_GROUP, " +
+                "? AS THROTTLE_PARAM, ? AS LAST_UPDATE_TIMESTAMP, ? AS UNLOCK_TIMESTAMP) AS S " +
+                "ON T.THROTTLE_GROUP = S.THROTTLE_GROUP AND T.THROTTLE_PARAM = S.THROTTLE_PARAM " +
+                "WHEN MATCHED THEN UPDATE SET T.OCCURRENCES = CASE WHEN T.UNLOCK_TIMESTAMP > " +
+                "S.LAST_UPDATE_TIMESTAMP THEN T.OCCURRENCES + 1 ELSE 1 END, " +
+                "T.LAST_UPDATE_TIMESTAMP = S.LAST_UPDATE_TIMESTAMP, T.UNLOCK_TIMESTAMP = S.UNLOCK_TIMESTAMP " +
+                "WHEN NOT MATCHED THEN INSERT (THROTTLE_GROUP, THROTTLE_PARAM, LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP, OCCURRENCES) VALUES (S.THROTTLE_GROUP, S.THROTTLE_PARAM, " +
+                "S.LAST_UPDATE_TIMESTAMP, S.UNLOCK_TIMESTAMP, 1) OUTPUT INSERTED.OCCURRENCES;";
+    }
+
+    @Override
+    public String saveThrottleData() {
+
+        return "MERGE INTO OB_THROTTLE_DATA WITH (HOLDLOCK) AS T USING (SELECT ? AS THROTTLE_GROUP, " +
+                "? AS THROTTLE_PARAM, ? AS LAST_UPDATE_TIMESTAMP, ? AS UNLOCK_TIMESTAMP, ? AS OCCURRENCES) AS S " +
+                "ON T.THROTTLE_GROUP = S.THROTTLE_GROUP AND T.THROTTLE_PARAM = S.THROTTLE_PARAM " +
+                "WHEN MATCHED THEN UPDATE SET T.LAST_UPDATE_TIMESTAMP = S.LAST_UPDATE_TIMESTAMP, " +
+                "T.UNLOCK_TIMESTAMP = S.UNLOCK_TIMESTAMP, T.OCCURRENCES = S.OCCURRENCES " +
+                "WHEN NOT MATCHED THEN INSERT (THROTTLE_GROUP, THROTTLE_PARAM, LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP, OCCURRENCES) VALUES (S.THROTTLE_GROUP, S.THROTTLE_PARAM, " +
+                "S.LAST_UPDATE_TIMESTAMP, S.UNLOCK_TIMESTAMP, S.OCCURRENCES);";
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.wso2.openbanking.accelerator.throttler.dao.queries;
+
+/**
+ * MySQL specific SQL Statements required for OB Throttler.
+ */
+public class MySQLOBThrottlerSQLStatements extends OBThrottlerSQLStatements {
+
+    @Override
+    public String upsertThrottleData() {
+
+        return "INSERT INTO OB_THROTTLE_DATA (THROTTLE_GROUP, THROTTLE_PARAM, LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP, OCCURRENCES) VALUES (?, ?, ?, ?, 1) ON DUPLICATE KEY UPDATE " +
+                "OCCURRENCES = CASE WHEN UNLOCK_TIMESTAMP > VALUES(LAST_UPDATE_TIMESTAMP) THEN OCCURRENCES + 1 " +
+                "ELSE 1 END, LAST_UPDATE_TIMESTAMP = VALUES(LAST_UPDATE_TIMESTAMP), " +
+                "UNLOCK_TIMESTAMP = VALUES(UNLOCK_TIMESTAMP)";
+    }
+
+    @Override
+    public String saveThrottleData() {
+
+        return "INSERT INTO OB_THROTTLE_DATA (THROTTLE_GROUP, THROTTLE_PARAM, LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP, OCCURRENCES) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "LAST_UPDATE_TIMESTAMP = VALUES(LAST_UPDATE_TIMESTAMP), UNLOCK_TIMESTAMP = VALUES(UNLOCK_TIMESTAMP), " +
+                "OCCURRENCES = VALUES(OCCURRENCES)";
+    }
+}
@@ -19,6 +19,9 @@ package com.wso2.openbanking.accelerator.throttler.dao.queries;
 
 /**
  * SQL Statements required for OB Throttler.
+ * <p>
+ * The default statements are used for the databases without a single statement upsert, such as H2. The database
+ * specific statements are in the subclasses.
  */
 public class OBThrottlerSQLStatements {
 
@@ -48,4 +51,50 @@ public class OBThrottlerSQLStatements {
 
         return "SELECT COUNT(1) FROM OB_THROTTLE_DATA WHERE THROTTLE_GROUP = ? AND THROTTLE_PARAM = ?";
     }
+
+    /**
+     * Increment the occurrences of an existing record, restarting the count if the record is already unlocked.
+     * Parameters: current timestamp, current timestamp, unlock timestamp, throttle group, throttle parameter.
+     *
+     * @return the update statement
+     */
+    public String incrementThrottleData() {
+
+        return "UPDATE OB_THROTTLE_DATA SET OCCURRENCES = CASE WHEN UNLOCK_TIMESTAMP > ? THEN OCCURRENCES + 1 " +
+                "ELSE 1 END, LAST_UPDATE_TIMESTAMP = ?, UNLOCK_TIMESTAMP = ? " +
+                "WHERE THROTTLE_GROUP = ? AND THROTTLE_PARAM = ?";
+    }
+
+    /**
+     * Insert a record with one occurrence, or increment the occurrences of the existing record in the same
+     * statement, restarting the count if the record is already unlocked. Parameters: throttle group,
+     * throttle parameter, current timestamp, unlock timestamp. The statement may return the new occurrences.
+     *
+     * @return the upsert statement, or null if the database does not support a single statement upsert
+     */
+    public String upsertThrottleData() {
+
+        return null;
+    }
+
+    /**
+     * Insert a record, or overwrite the existing record in the same statement. Parameters: throttle group,
+     * throttle parameter, last update timestamp, unlock timestamp, occurrences.
+     *
+     * @return the upsert statement, or null if the database does not support a single statement upsert
+     */
+    public String saveThrottleData() {
+
+        return null;
+    }
+
+    public String removeExpiredThrottleData() {
+
+        return "DELETE FROM OB_THROTTLE_DATA WHERE UNLOCK_TIMESTAMP < ?";
+    }
+
+    public String retrieveLockedThrottleData() {
+
+        return "SELECT * FROM OB_THROTTLE_DATA WHERE UNLOCK_TIMESTAMP > ?";
+    }
 }
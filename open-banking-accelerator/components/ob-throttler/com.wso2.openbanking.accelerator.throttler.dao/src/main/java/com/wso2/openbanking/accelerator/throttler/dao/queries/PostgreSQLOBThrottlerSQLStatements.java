@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.wso2.openbanking.accelerator.throttler.dao.queries;
+
+/**
+ * PostgreSQL specific SQL Statements required for OB Throttler.
+ */
+public class PostgreSQLOBThrottlerSQLStatements extends OBThrottlerSQLStatements {
+
+    @Override
+    public String upsertThrottleData() {
+
+        return "INSERT INTO OB_THROTTLE_DATA (THROTTLE_GROUP, THROTTLE_PARAM, LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP, OCCURRENCES) VALUES (?, ?, ?, ?, 1) ON CONFLICT (THROTTLE_GROUP, THROTTLE_PARAM) " +
+                "DO UPDATE SET OCCURRENCES = CASE WHEN OB_THROTTLE_DATA.UNLOCK_TIMESTAMP > " +
+                "EXCLUDED.LAST_UPDATE_TIMESTAMP THEN OB_THROTTLE_DATA.OCCURRENCES + 1 ELSE 1 END, " +
+                "LAST_UPDATE_TIMESTAMP = EXCLUDED.LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP = EXCLUDED.UNLOCK_TIMESTAMP RETURNING OCCURRENCES";
+    }
+
+    @Override
+    public String saveThrottleData() {
+
+        return "INSERT INTO OB_THROTTLE_DATA (THROTTLE_GROUP, THROTTLE_PARAM, LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP, OCCURRENCES) VALUES (?, ?, ?, ?, ?) ON CONFLICT (THROTTLE_GROUP, THROTTLE_PARAM) " +
+                "DO UPDATE SET LAST_UPDATE_TIMESTAMP = EXCLUDED.LAST_UPDATE_TIMESTAMP, " +
+                "UNLOCK_TIMESTAMP = EXCLUDED.UNLOCK_TIMESTAMP, OCCURRENCES = EXCLUDED.OCCURRENCES";
+    }
+}
@@ -23,7 +23,9 @@ import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataI
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataRetrievalException;
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataUpdationException;
 import com.wso2.openbanking.accelerator.throttler.dao.model.ThrottleDataModel;
+import com.wso2.openbanking.accelerator.throttler.dao.queries.MySQLOBThrottlerSQLStatements;
 import com.wso2.openbanking.accelerator.throttler.dao.queries.OBThrottlerSQLStatements;
+import com.wso2.openbanking.accelerator.throttler.dao.queries.PostgreSQLOBThrottlerSQLStatements;
 import com.wso2.openbanking.accelerator.throttler.dao.util.OBThrottlerDAOTestData;
 import com.wso2.openbanking.accelerator.throttler.dao.util.OBThrottlerDAOUtils;
 import org.mockito.Mockito;
@@ -37,6 +39,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Test for Open Banking throttler DAO.
@@ -272,4 +276,175 @@ public class OBThrottlerDAOTests {
         obThrottlerDAO.deleteThrottleData(mockedConnection, OBThrottlerDAOTestData.THROTTLE_GROUP,
                 OBThrottlerDAOTestData.THROTTLE_PARAM);
     }
+
+    //increment and purge tests
+    @Test
+    public void testIncrementThrottleData() throws Exception {
+
+        String throttleParam = "user-ip-192.168.1.2";
+        Timestamp unlockTimestamp = new Timestamp(OBThrottlerDAOTestData.CURRENT_TIMESTAMP.getTime() + 1000L);
+
+        try (Connection connection = OBThrottlerDAOUtils.getConnection(DB_NAME)) {
+
+            Assert.assertEquals(obThrottlerDAO.incrementThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                    throttleParam, OBThrottlerDAOTestData.CURRENT_TIMESTAMP, unlockTimestamp).getOccurrences(), 1);
+            Assert.assertEquals(obThrottlerDAO.incrementThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                    throttleParam, OBThrottlerDAOTestData.CURRENT_TIMESTAMP, unlockTimestamp).getOccurrences(), 2);
+
+            //the occurrences restart once the record is unlocked
+            ThrottleDataModel throttleDataModel = obThrottlerDAO.incrementThrottleData(connection,
+                    OBThrottlerDAOTestData.THROTTLE_GROUP, throttleParam, unlockTimestamp,
+                    new Timestamp(unlockTimestamp.getTime() + 1000L));
+            Assert.assertEquals(throttleDataModel.getOccurrences(), 1);
+            Assert.assertEquals(obThrottlerDAO.getThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                    throttleParam).getOccurrences(), 1);
+        }
+    }
+
+    @Test
+    public void testIncrementThrottleDataWithUpsert() throws Exception {
+
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.doReturn(preparedStatement).when(connection).prepareStatement(Mockito.anyString());
+        Mockito.doReturn(true).when(preparedStatement).execute();
+        Mockito.doReturn(resultSet).when(preparedStatement).getResultSet();
+        Mockito.doReturn(true).when(resultSet).next();
+        Mockito.doReturn(4).when(resultSet).getInt(1);
+
+        ThrottleDataModel throttleDataModel = new OBThrottlerDAOImpl(new PostgreSQLOBThrottlerSQLStatements())
+                .incrementThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                        OBThrottlerDAOTestData.THROTTLE_PARAM, OBThrottlerDAOTestData.CURRENT_TIMESTAMP,
+                        OBThrottlerDAOTestData.UNLOCK_TIMESTAMP);
+
+        Assert.assertEquals(throttleDataModel.getOccurrences(), 4);
+        //the occurrences are returned by the upsert, hence no other statement is prepared
+        Mockito.verify(connection, Mockito.times(1)).prepareStatement(Mockito.anyString());
+        Mockito.verify(preparedStatement, Mockito.never()).executeQuery();
+    }
+
+    @Test(expectedExceptions = OBThrottlerDataUpdationException.class)
+    public void testIncrementThrottleDataSQLError() throws Exception {
+
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.doThrow(SQLException.class).when(connection).prepareStatement(Mockito.anyString());
+        obThrottlerDAO.incrementThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                OBThrottlerDAOTestData.THROTTLE_PARAM, OBThrottlerDAOTestData.CURRENT_TIMESTAMP,
+                OBThrottlerDAOTestData.UNLOCK_TIMESTAMP);
+    }
+
+    @Test
+    public void testSaveThrottleData() throws Exception {
+
+        String throttleParam = "user-ip-192.168.1.4";
+
+        try (Connection connection = OBThrottlerDAOUtils.getConnection(DB_NAME)) {
+
+            obThrottlerDAO.saveThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP, throttleParam,
+                    OBThrottlerDAOTestData.CURRENT_TIMESTAMP, OBThrottlerDAOTestData.UNLOCK_TIMESTAMP, 3);
+            Assert.assertEquals(obThrottlerDAO.getThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                    throttleParam).getOccurrences(), 3);
+
+            //the existing record is overwritten
+            obThrottlerDAO.saveThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP, throttleParam,
+                    OBThrottlerDAOTestData.CURRENT_TIMESTAMP, OBThrottlerDAOTestData.UNLOCK_TIMESTAMP, 5);
+            ThrottleDataModel throttleDataModel = obThrottlerDAO.getThrottleData(connection,
+                    OBThrottlerDAOTestData.THROTTLE_GROUP, throttleParam);
+            Assert.assertEquals(throttleDataModel.getOccurrences(), 5);
+            Assert.assertEquals(throttleDataModel.getUnlockTimestamp(), OBThrottlerDAOTestData.UNLOCK_TIMESTAMP);
+        }
+    }
+
+    @Test
+    public void testSaveThrottleDataWithUpsert() throws Exception {
+
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.doReturn(preparedStatement).when(connection).prepareStatement(Mockito.anyString());
+
+        ThrottleDataModel throttleDataModel = new OBThrottlerDAOImpl(new MySQLOBThrottlerSQLStatements())
+                .saveThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                        OBThrottlerDAOTestData.THROTTLE_PARAM, OBThrottlerDAOTestData.CURRENT_TIMESTAMP,
+                        OBThrottlerDAOTestData.UNLOCK_TIMESTAMP, 2);
+
+        Assert.assertEquals(throttleDataModel.getOccurrences(), 2);
+        //the record is saved by the upsert, hence no other statement is prepared
+        Mockito.verify(connection, Mockito.times(1)).prepareStatement(Mockito.anyString());
+        Mockito.verify(preparedStatement).setInt(5, 2);
+    }
+
+    @Test(expectedExceptions = OBThrottlerDataUpdationException.class)
+    public void testSaveThrottleDataSQLError() throws Exception {
+
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.doThrow(SQLException.class).when(connection).prepareStatement(Mockito.anyString());
+        obThrottlerDAO.saveThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                OBThrottlerDAOTestData.THROTTLE_PARAM, OBThrottlerDAOTestData.CURRENT_TIMESTAMP,
+                OBThrottlerDAOTestData.UNLOCK_TIMESTAMP, 1);
+    }
+
+    @Test
+    public void testDeleteExpiredThrottleData() throws Exception {
+
+        String throttleParam = "user-ip-192.168.1.3";
+        Timestamp lastUpdateTimestamp = new Timestamp(OBThrottlerDAOTestData.CURRENT_TIMESTAMP.getTime() - 2000L);
+        Timestamp expiredUnlockTimestamp = new Timestamp(OBThrottlerDAOTestData.CURRENT_TIMESTAMP.getTime() - 1000L);
+
+        try (Connection connection = OBThrottlerDAOUtils.getConnection(DB_NAME)) {
+
+            obThrottlerDAO.storeThrottleData(connection, OBThrottlerDAOTestData.THROTTLE_GROUP, throttleParam,
+                    lastUpdateTimestamp, expiredUnlockTimestamp);
+
+            Assert.assertTrue(obThrottlerDAO.deleteExpiredThrottleData(connection,
+                    OBThrottlerDAOTestData.CURRENT_TIMESTAMP) >= 1);
+            Assert.assertFalse(obThrottlerDAO.isThrottleDataExists(connection, OBThrottlerDAOTestData.THROTTLE_GROUP,
+                    throttleParam));
+        }
+    }
+
+    @Test(expectedExceptions = OBThrottlerDataDeletionException.class)
+    public void testDeleteExpiredThrottleDataSQLError() throws Exception {
+
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.doThrow(SQLException.class).when(connection).prepareStatement(Mockito.anyString());
+        obThrottlerDAO.deleteExpiredThrottleData(connection, OBThrottlerDAOTestData.CURRENT_TIMESTAMP);
+    }
+
+    @Test
+    public void testGetLockedThrottleData() throws Exception {
+
+        String throttleGroup = "OBLockedThrottleGroup";
+        Timestamp lastUpdateTimestamp = new Timestamp(OBThrottlerDAOTestData.CURRENT_TIMESTAMP.getTime() - 2000L);
+        Timestamp expiredUnlockTimestamp = new Timestamp(OBThrottlerDAOTestData.CURRENT_TIMESTAMP.getTime() - 1000L);
+
+        try (Connection connection = OBThrottlerDAOUtils.getConnection(DB_NAME)) {
+
+            obThrottlerDAO.storeThrottleData(connection, throttleGroup, "locked-user", lastUpdateTimestamp,
+                    OBThrottlerDAOTestData.UNLOCK_TIMESTAMP);
+            obThrottlerDAO.storeThrottleData(connection, throttleGroup, "unlocked-user", lastUpdateTimestamp,
+                    expiredUnlockTimestamp);
+
+            List<ThrottleDataModel> lockedThrottleData = new ArrayList<>();
+            for (ThrottleDataModel throttleDataModel : obThrottlerDAO.getLockedThrottleData(connection,
+                    OBThrottlerDAOTestData.CURRENT_TIMESTAMP)) {
+                if (throttleGroup.equals(throttleDataModel.getThrottleGroup())) {
+                    lockedThrottleData.add(throttleDataModel);
+                }
+            }
+            Assert.assertEquals(lockedThrottleData.size(), 1);
+            Assert.assertEquals(lockedThrottleData.get(0).getThrottleParam(), "locked-user");
+            Assert.assertEquals(lockedThrottleData.get(0).getUnlockTimestamp(),
+                    OBThrottlerDAOTestData.UNLOCK_TIMESTAMP);
+            Assert.assertEquals(lockedThrottleData.get(0).getOccurrences(), 1);
+        }
+    }
+
+    @Test(expectedExceptions = OBThrottlerDataRetrievalException.class)
+    public void testGetLockedThrottleDataSQLError() throws Exception {
+
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.doThrow(SQLException.class).when(connection).prepareStatement(Mockito.anyString());
+        obThrottlerDAO.getLockedThrottleData(connection, OBThrottlerDAOTestData.CURRENT_TIMESTAMP);
+    }
 }
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.wso2.openbanking.accelerator.throttler.service;
+
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedEntryFunction;
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedMember;
+import com.wso2.openbanking.accelerator.throttler.service.OBThrottleEngine.ThrottleKey;
+import com.wso2.openbanking.accelerator.throttler.service.OBThrottleEngine.ThrottleState;
+import com.wso2.openbanking.accelerator.throttler.service.constants.OBThrottlerServiceConstants;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Store keeping the throttle states in a distributed map of the open banking cluster.
+ * <p>
+ * The occurrences are applied by entry functions on the member owning the state, hence the increment and the check
+ * of the limit are atomic across the nodes without locking. Each state is kept with a time to live until the
+ * parameter is unlocked and the occurrences are drained, so that the expired states are removed by the cluster.
+ */
+class DistributedThrottleStateStore implements OBThrottleEngine.ThrottleStateStore {
+
+    private final OpenBankingDistributedMember distributedMember;
+
+    DistributedThrottleStateStore(OpenBankingDistributedMember distributedMember) {
+
+        this.distributedMember = distributedMember;
+    }
+
+    @Override
+    public ThrottleState update(ThrottleKey throttleKey, OpenBankingDistributedEntryFunction<ThrottleState> function) {
+
+        return distributedMember.executeOnEntry(OBThrottlerServiceConstants.THROTTLE_STATE_MAP, getKey(throttleKey),
+                function);
+    }
+
+    @Override
+    public ThrottleState get(ThrottleKey throttleKey) {
+
+        return distributedMember.getEntry(OBThrottlerServiceConstants.THROTTLE_STATE_MAP, getKey(throttleKey));
+    }
+
+    @Override
+    public ThrottleState remove(ThrottleKey throttleKey) {
+
+        return distributedMember.removeEntry(OBThrottlerServiceConstants.THROTTLE_STATE_MAP, getKey(throttleKey));
+    }
+
+    @Override
+    public List<ThrottleState> removeExpired(long currentTime) {
+
+        // the expired states are removed by the cluster according to their time to live
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int size() {
+
+        return distributedMember.getEntryCount(OBThrottlerServiceConstants.THROTTLE_STATE_MAP);
+    }
+
+    /**
+     * Get the key of the distributed map, which prefixes the throttle group with its length to keep the keys of
+     * different groups and parameters distinct.
+     *
+     * @param throttleKey key of the throttle state
+     * @return key of the distributed map
+     */
+    private static String getKey(ThrottleKey throttleKey) {
+
+        return throttleKey.getThrottleGroup().length() + ":" + throttleKey.getThrottleGroup() +
+                throttleKey.getThrottleParam();
+    }
+}
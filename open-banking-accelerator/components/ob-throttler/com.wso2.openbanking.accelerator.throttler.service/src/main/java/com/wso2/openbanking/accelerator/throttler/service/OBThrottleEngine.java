@@ -0,0 +1,701 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.wso2.openbanking.accelerator.throttler.service;
+
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedCacheConstants;
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedEntryFunction;
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedMember;
+import com.wso2.openbanking.accelerator.common.exception.OBThrottlerException;
+import com.wso2.openbanking.accelerator.common.util.DatabaseUtil;
+import com.wso2.openbanking.accelerator.throttler.dao.OBThrottlerDAO;
+import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataDeletionException;
+import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataRetrievalException;
+import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataUpdationException;
+import com.wso2.openbanking.accelerator.throttler.dao.model.ThrottleDataModel;
+import com.wso2.openbanking.accelerator.throttler.dao.persistence.DataStoreInitializer;
+import com.wso2.openbanking.accelerator.throttler.service.constants.OBThrottlerServiceConstants;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory throttle engine for OB Throttler.
+ * <p>
+ * The occurrences of a parameter are counted with the generic cell rate algorithm (GCRA), which allows the
+ * throttle limit of occurrences within a sliding window of the throttle time period. Once the limit is exceeded,
+ * the parameter is locked for the throttle time period. The state of each parameter is kept in a concurrent map
+ * and updated atomically per parameter, so that the throttle checks are memory lookups. The states are not shared
+ * with the other nodes, hence the throttle limit applies per node, and a cluster of N nodes allows up to N times
+ * the limit.
+ * <p>
+ * In the distributed mode, the states are kept in a distributed map of the open banking cluster instead, and
+ * updated by entry functions applied on the member owning the state, so that the throttling is consistent across
+ * the nodes. The states expire from the distributed map once the parameter is unlocked and the occurrences are
+ * drained.
+ * <p>
+ * Optionally, the state changes are written behind to the throttle database in batches, coalescing the changes of
+ * the same parameter between flushes. The locked parameters are loaded back from the database when the engine is
+ * created, so that the locks outlive a restart. The occurrences of the parameters which are not locked are not
+ * restored.
+ */
+public class OBThrottleEngine {
+
+    private static final Log log = LogFactory.getLog(OBThrottleEngine.class);
+
+    private final ThrottleStateStore throttleStateStore;
+    private final Map<ThrottleKey, ThrottleState> pendingWrites = new ConcurrentHashMap<>();
+    private final ThrottleDataWriter throttleDataWriter;
+    private final int batchSize;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Writer of the throttle states to the persistent store.
+     */
+    interface ThrottleDataWriter {
+
+        void write(List<ThrottleState> throttleStates) throws OBThrottlerException;
+    }
+
+    /**
+     * Reader of the locked throttle states from the persistent store.
+     */
+    interface ThrottleDataReader {
+
+        List<ThrottleState> read(long currentTime) throws OBThrottlerException;
+    }
+
+    /**
+     * Store of the throttle states.
+     */
+    interface ThrottleStateStore {
+
+        ThrottleState update(ThrottleKey throttleKey, OpenBankingDistributedEntryFunction<ThrottleState> function);
+
+        ThrottleState get(ThrottleKey throttleKey);
+
+        ThrottleState remove(ThrottleKey throttleKey);
+
+        List<ThrottleState> removeExpired(long currentTime);
+
+        int size();
+    }
+
+    /**
+     * Initialize the engine keeping the throttle states in memory.
+     *
+     * @param throttleDataWriter writer of the throttle states, null to keep the throttle states only in memory
+     * @param batchSize          maximum number of throttle states written at once
+     * @param sweepInterval      interval in milliseconds to sweep the expired states, 0 to sweep only on demand
+     * @param flushInterval      interval in milliseconds to write the changed states, 0 to flush only on demand
+     * @param clock              supplier of the current time in milliseconds
+     */
+    OBThrottleEngine(ThrottleDataWriter throttleDataWriter, int batchSize, long sweepInterval, long flushInterval,
+                     LongSupplier clock) {
+
+        this(new InMemoryThrottleStateStore(clock), throttleDataWriter, batchSize, sweepInterval, flushInterval,
+                clock);
+    }
+
+    /**
+     * Initialize the engine.
+     *
+     * @param throttleStateStore store of the throttle states
+     * @param throttleDataWriter writer of the throttle states, null to keep the throttle states only in memory
+     * @param batchSize          maximum number of throttle states written at once
+     * @param sweepInterval      interval in milliseconds to sweep the expired states, 0 to sweep only on demand
+     * @param flushInterval      interval in milliseconds to write the changed states, 0 to flush only on demand
+     * @param clock              supplier of the current time in milliseconds
+     */
+    OBThrottleEngine(ThrottleStateStore throttleStateStore, ThrottleDataWriter throttleDataWriter, int batchSize,
+                     long sweepInterval, long flushInterval, LongSupplier clock) {
+
+        this.throttleStateStore = throttleStateStore;
+        this.throttleDataWriter = throttleDataWriter;
+        this.batchSize = Math.max(1, batchSize);
+        this.clock = clock;
+        if (sweepInterval > 0 || (throttleDataWriter != null && flushInterval > 0)) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ob-throttle-engine");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (sweepInterval > 0) {
+                scheduler.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+            }
+            if (throttleDataWriter != null && flushInterval > 0) {
+                scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+            }
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Create the engine from the open banking configuration.
+     *
+     * @param configuration open banking configuration
+     * @return OBThrottleEngine instance
+     */
+    public static OBThrottleEngine fromConfiguration(Map<String, Object> configuration) {
+
+        boolean isWriteBehindEnabled = Boolean.parseBoolean((String) configuration
+                .get(OBThrottlerServiceConstants.WRITE_BEHIND_ENABLED));
+        ThrottleStateStore throttleStateStore = isDistributedModeEnabled(configuration) ?
+                new DistributedThrottleStateStore(OpenBankingDistributedMember.of()) :
+                new InMemoryThrottleStateStore(System::currentTimeMillis);
+        DAOThrottleDataStore throttleDataStore = isWriteBehindEnabled ? new DAOThrottleDataStore() : null;
+        OBThrottleEngine throttleEngine = new OBThrottleEngine(throttleStateStore, throttleDataStore,
+                (int) getConfig(configuration, OBThrottlerServiceConstants.WRITE_BEHIND_BATCH_SIZE, 500),
+                TimeUnit.SECONDS.toMillis(getConfig(configuration,
+                        OBThrottlerServiceConstants.THROTTLE_ENGINE_SWEEP_INTERVAL, 60)),
+                TimeUnit.SECONDS.toMillis(getConfig(configuration,
+                        OBThrottlerServiceConstants.WRITE_BEHIND_FLUSH_INTERVAL, 5)),
+                System::currentTimeMillis);
+        if (throttleDataStore != null) {
+            throttleEngine.load(throttleDataStore);
+        }
+        return throttleEngine;
+    }
+
+    /**
+     * Check whether the throttle states are configured to be kept in the distributed map of the open banking
+     * cluster. The distributed mode is off when the distributed cache is disabled.
+     *
+     * @param configuration open banking configuration
+     * @return true if the distributed mode is enabled
+     */
+    public static boolean isDistributedModeEnabled(Map<String, Object> configuration) {
+
+        return Boolean.parseBoolean((String) configuration
+                .get(OBThrottlerServiceConstants.THROTTLE_ENGINE_DISTRIBUTED)) && Boolean.parseBoolean(
+                String.valueOf(configuration.get(OpenBankingDistributedCacheConstants.ENABLED)));
+    }
+
+    /**
+     * Load the locked throttle states from the persistent store. A state already kept in the store, such as a state
+     * kept by the other nodes of the cluster, is not replaced. The loaded states are not written back.
+     *
+     * @param throttleDataReader reader of the persisted throttle states
+     * @return number of loaded throttle states
+     */
+    int load(ThrottleDataReader throttleDataReader) {
+
+        List<ThrottleState> lockedStates;
+        try {
+            lockedStates = throttleDataReader.read(clock.getAsLong());
+        } catch (OBThrottlerException | RuntimeException e) {
+            log.error(OBThrottlerServiceConstants.DATA_LOAD_ERROR_MSG, e);
+            return 0;
+        }
+        for (ThrottleState lockedState : lockedStates) {
+            throttleStateStore.update(new ThrottleKey(lockedState.throttleGroup, lockedState.throttleParam),
+                    new ThrottleStateRestoration(lockedState));
+        }
+        log.info(String.format("Loaded %d locked throttle states", lockedStates.size()));
+        return lockedStates.size();
+    }
+
+    /**
+     * Record an occurrence of the given parameter.
+     *
+     * @param throttleGroup      - throttle group
+     * @param throttleParam      - throttle parameter
+     * @param throttleLimit      - allowed number of occurrences within the throttle time period
+     * @param throttleTimePeriod - time period that the parameter is throttled (seconds)
+     * @return the updated throttle state of the parameter
+     */
+    public ThrottleState recordOccurrence(String throttleGroup, String throttleParam, int throttleLimit,
+                                          int throttleTimePeriod) {
+
+        ThrottleKey throttleKey = new ThrottleKey(throttleGroup, throttleParam);
+        ThrottleState throttleState = throttleStateStore.update(throttleKey, new ThrottleOccurrence(throttleGroup,
+                throttleParam, throttleLimit, TimeUnit.SECONDS.toMillis(throttleTimePeriod)));
+        queueWrite(throttleKey, throttleState);
+        return throttleState;
+    }
+
+    /**
+     * Check if the given parameter is throttled.
+     *
+     * @param throttleGroup - throttle group
+     * @param throttleParam - throttle parameter
+     * @return - boolean
+     */
+    public boolean isThrottled(String throttleGroup, String throttleParam) {
+
+        ThrottleState throttleState = throttleStateStore.get(new ThrottleKey(throttleGroup, throttleParam));
+        return throttleState != null && throttleState.unlockTime > clock.getAsLong();
+    }
+
+    /**
+     * Remove the throttle state of the given parameter on a successful attempt.
+     *
+     * @param throttleGroup - throttle group
+     * @param throttleParam - throttle parameter
+     */
+    public void reset(String throttleGroup, String throttleParam) {
+
+        ThrottleKey throttleKey = new ThrottleKey(throttleGroup, throttleParam);
+        ThrottleState removedState = throttleStateStore.remove(throttleKey);
+        if (removedState != null) {
+            queueWrite(throttleKey, removedState.deleted());
+        }
+    }
+
+    /**
+     * Remove the throttle states which are expired.
+     *
+     * @return number of removed throttle states
+     */
+    public int sweep() {
+
+        List<ThrottleState> removedStates = throttleStateStore.removeExpired(clock.getAsLong());
+        for (ThrottleState removedState : removedStates) {
+            queueWrite(new ThrottleKey(removedState.throttleGroup, removedState.throttleParam),
+                    removedState.deleted());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Swept %d expired throttle states. Throttle states: %d", removedStates.size(),
+                    throttleStateStore.size()));
+        }
+        return removedStates.size();
+    }
+
+    /**
+     * Write the changed throttle states to the persistent store in batches. The states of a failed batch are
+     * retried in the next flush, unless they are changed again in the meantime.
+     *
+     * @return number of written throttle states
+     */
+    public int flush() {
+
+        if (throttleDataWriter == null) {
+            return 0;
+        }
+        int writtenCount = 0;
+        while (!pendingWrites.isEmpty()) {
+            List<ThrottleState> batch = new ArrayList<>();
+            Iterator<Map.Entry<ThrottleKey, ThrottleState>> iterator = pendingWrites.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                Map.Entry<ThrottleKey, ThrottleState> entry = iterator.next();
+                if (pendingWrites.remove(entry.getKey(), entry.getValue())) {
+                    batch.add(entry.getValue());
+                }
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                throttleDataWriter.write(batch);
+                writtenCount += batch.size();
+            } catch (OBThrottlerException | RuntimeException e) {
+                log.error(OBThrottlerServiceConstants.DATA_WRITE_BEHIND_ERROR_MSG, e);
+                for (ThrottleState throttleState : batch) {
+                    pendingWrites.putIfAbsent(new ThrottleKey(throttleState.throttleGroup,
+                            throttleState.throttleParam), throttleState);
+                }
+                break;
+            }
+        }
+        return writtenCount;
+    }
+
+    /**
+     * Get the number of throttle states kept in memory.
+     *
+     * @return number of throttle states
+     */
+    public int getSize() {
+
+        return throttleStateStore.size();
+    }
+
+    /**
+     * Get the number of throttle states waiting to be written.
+     *
+     * @return number of pending writes
+     */
+    public int getPendingWriteCount() {
+
+        return pendingWrites.size();
+    }
+
+    /**
+     * Stop the scheduled tasks and write the pending throttle states.
+     */
+    public void shutdown() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flush();
+    }
+
+    private void queueWrite(ThrottleKey throttleKey, ThrottleState throttleState) {
+
+        if (throttleDataWriter != null) {
+            pendingWrites.put(throttleKey, throttleState);
+        }
+    }
+
+    private static long getConfig(Map<String, Object> configuration, String key, long defaultValue) {
+
+        Object value = configuration.get(key);
+        return value == null ? defaultValue : Long.parseLong(value.toString());
+    }
+
+    /**
+     * Throttle state of a parameter.
+     */
+    public static final class ThrottleState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String throttleGroup;
+        private final String throttleParam;
+        private final long lastUpdateTime;
+        private final long theoreticalArrivalTime;
+        private final long unlockTime;
+        private final int occurrences;
+        private final boolean deleted;
+
+        ThrottleState(String throttleGroup, String throttleParam, long lastUpdateTime, long theoreticalArrivalTime,
+                      long unlockTime, int occurrences) {
+
+            this(throttleGroup, throttleParam, lastUpdateTime, theoreticalArrivalTime, unlockTime, occurrences,
+                    false);
+        }
+
+        private ThrottleState(String throttleGroup, String throttleParam, long lastUpdateTime,
+                              long theoreticalArrivalTime, long unlockTime, int occurrences, boolean deleted) {
+
+            this.throttleGroup = throttleGroup;
+            this.throttleParam = throttleParam;
+            this.lastUpdateTime = lastUpdateTime;
+            this.theoreticalArrivalTime = theoreticalArrivalTime;
+            this.unlockTime = unlockTime;
+            this.occurrences = occurrences;
+            this.deleted = deleted;
+        }
+
+        public String getThrottleGroup() {
+
+            return throttleGroup;
+        }
+
+        public String getThrottleParam() {
+
+            return throttleParam;
+        }
+
+        public long getLastUpdateTime() {
+
+            return lastUpdateTime;
+        }
+
+        public long getTheoreticalArrivalTime() {
+
+            return theoreticalArrivalTime;
+        }
+
+        public long getUnlockTime() {
+
+            return unlockTime;
+        }
+
+        public int getOccurrences() {
+
+            return occurrences;
+        }
+
+        public boolean isDeleted() {
+
+            return deleted;
+        }
+
+        /**
+         * Get the time the state is no longer relevant, which is when the parameter is unlocked and the occurrences
+         * are drained.
+         *
+         * @return expiry time in milliseconds
+         */
+        public long getExpiryTime() {
+
+            return Math.max(unlockTime, theoreticalArrivalTime);
+        }
+
+        boolean isExpired(long currentTime) {
+
+            return getExpiryTime() <= currentTime;
+        }
+
+        ThrottleState deleted() {
+
+            return new ThrottleState(throttleGroup, throttleParam, lastUpdateTime, theoreticalArrivalTime,
+                    unlockTime, occurrences, true);
+        }
+    }
+
+    /**
+     * Occurrence of a parameter, which updates its throttle state.
+     */
+    static final class ThrottleOccurrence implements OpenBankingDistributedEntryFunction<ThrottleState> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String throttleGroup;
+        private final String throttleParam;
+        private final long timePeriod;
+        private final long emissionInterval;
+        private final long burstTolerance;
+
+        ThrottleOccurrence(String throttleGroup, String throttleParam, int throttleLimit, long timePeriod) {
+
+            this.throttleGroup = throttleGroup;
+            this.throttleParam = throttleParam;
+            this.timePeriod = timePeriod;
+            this.emissionInterval = timePeriod / Math.max(1, throttleLimit);
+            this.burstTolerance = emissionInterval * Math.max(0, throttleLimit);
+        }
+
+        @Override
+        public ThrottleState apply(ThrottleState currentState, long currentTime) {
+
+            if (currentState == null || currentState.isExpired(currentTime)) {
+                currentState = new ThrottleState(throttleGroup, throttleParam, currentTime, currentTime, 0, 0);
+            }
+            long arrivalTime = Math.max(currentState.theoreticalArrivalTime, currentTime) + emissionInterval;
+            long unlockTime = currentState.unlockTime;
+            if (arrivalTime - currentTime > burstTolerance) {
+                // the limit is exceeded, hence the occurrence does not advance the theoretical arrival time
+                arrivalTime = Math.max(currentState.theoreticalArrivalTime, currentTime);
+                unlockTime = currentTime + timePeriod;
+            }
+            return new ThrottleState(throttleGroup, throttleParam, currentTime, arrivalTime, unlockTime,
+                    currentState.occurrences + 1);
+        }
+
+        @Override
+        public long getTimeToLive(ThrottleState newState, long currentTime) {
+
+            return Math.max(1, newState.getExpiryTime() - currentTime);
+        }
+    }
+
+    /**
+     * Restoration of a persisted throttle state, which keeps the current state unless it is expired.
+     */
+    static final class ThrottleStateRestoration implements OpenBankingDistributedEntryFunction<ThrottleState> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ThrottleState restoredState;
+
+        ThrottleStateRestoration(ThrottleState restoredState) {
+
+            this.restoredState = restoredState;
+        }
+
+        @Override
+        public ThrottleState apply(ThrottleState currentState, long currentTime) {
+
+            return currentState == null || currentState.isExpired(currentTime) ? restoredState : currentState;
+        }
+
+        @Override
+        public long getTimeToLive(ThrottleState newState, long currentTime) {
+
+            return Math.max(1, newState.getExpiryTime() - currentTime);
+        }
+    }
+
+    /**
+     * Key of a throttle state, composed of the throttle group and the throttle parameter.
+     */
+    static final class ThrottleKey {
+
+        private final String throttleGroup;
+        private final String throttleParam;
+
+        ThrottleKey(String throttleGroup, String throttleParam) {
+
+            this.throttleGroup = throttleGroup;
+            this.throttleParam = throttleParam;
+        }
+
+        String getThrottleGroup() {
+
+            return throttleGroup;
+        }
+
+        String getThrottleParam() {
+
+            return throttleParam;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ThrottleKey)) {
+                return false;
+            }
+            ThrottleKey that = (ThrottleKey) o;
+            return Objects.equals(throttleGroup, that.throttleGroup) &&
+                    Objects.equals(throttleParam, that.throttleParam);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(throttleGroup, throttleParam);
+        }
+    }
+
+    /**
+     * Store keeping the throttle states in a concurrent map, which locks only the bin of a parameter on updates.
+     */
+    private static class InMemoryThrottleStateStore implements ThrottleStateStore {
+
+        private final Map<ThrottleKey, ThrottleState> throttleStates = new ConcurrentHashMap<>();
+        private final LongSupplier clock;
+
+        InMemoryThrottleStateStore(LongSupplier clock) {
+
+            this.clock = clock;
+        }
+
+        @Override
+        public ThrottleState update(ThrottleKey throttleKey,
+                                    OpenBankingDistributedEntryFunction<ThrottleState> function) {
+
+            return throttleStates.compute(throttleKey, (key, currentState) ->
+                    function.apply(currentState, clock.getAsLong()));
+        }
+
+        @Override
+        public ThrottleState get(ThrottleKey throttleKey) {
+
+            return throttleStates.get(throttleKey);
+        }
+
+        @Override
+        public ThrottleState remove(ThrottleKey throttleKey) {
+
+            return throttleStates.remove(throttleKey);
+        }
+
+        @Override
+        public List<ThrottleState> removeExpired(long currentTime) {
+
+            List<ThrottleState> removedStates = new ArrayList<>();
+            Iterator<Map.Entry<ThrottleKey, ThrottleState>> iterator = throttleStates.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<ThrottleKey, ThrottleState> entry = iterator.next();
+                if (entry.getValue().isExpired(currentTime) &&
+                        throttleStates.remove(entry.getKey(), entry.getValue())) {
+                    removedStates.add(entry.getValue());
+                }
+            }
+            return removedStates;
+        }
+
+        @Override
+        public int size() {
+
+            return throttleStates.size();
+        }
+    }
+
+    /**
+     * Store of the throttle states in the OB_THROTTLE_DATA table. The states are written in a single transaction per
+     * batch, with one upsert per state. The unlock timestamp of a parameter which is not locked is its last update
+     * timestamp, hence only the locked parameters are read back.
+     */
+    private static class DAOThrottleDataStore implements ThrottleDataWriter, ThrottleDataReader {
+
+        @Override
+        public void write(List<ThrottleState> throttleStates) throws OBThrottlerException {
+
+            OBThrottlerDAO obThrottlerDAO = DataStoreInitializer.initializeOBThrottlerDAO();
+            Connection connection = DatabaseUtil.getDBConnection();
+            try {
+                for (ThrottleState throttleState : throttleStates) {
+                    String throttleGroup = throttleState.getThrottleGroup();
+                    String throttleParam = throttleState.getThrottleParam();
+                    if (throttleState.isDeleted()) {
+                        obThrottlerDAO.deleteThrottleData(connection, throttleGroup, throttleParam);
+                        continue;
+                    }
+                    Timestamp lastUpdateTimestamp = new Timestamp(throttleState.getLastUpdateTime());
+                    Timestamp unlockTimestamp = new Timestamp(Math.max(throttleState.getUnlockTime(),
+                            throttleState.getLastUpdateTime()));
+                    obThrottlerDAO.saveThrottleData(connection, throttleGroup, throttleParam, lastUpdateTimestamp,
+                            unlockTimestamp, throttleState.getOccurrences());
+                }
+                DatabaseUtil.commitTransaction(connection);
+                log.debug(OBThrottlerServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+            } catch (OBThrottlerDataUpdationException | OBThrottlerDataDeletionException e) {
+                DatabaseUtil.rollbackTransaction(connection);
+                throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_WRITE_BEHIND_ERROR_MSG, e);
+            } finally {
+                log.debug(OBThrottlerServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+                DatabaseUtil.closeConnection(connection);
+            }
+        }
+
+        @Override
+        public List<ThrottleState> read(long currentTime) throws OBThrottlerException {
+
+            OBThrottlerDAO obThrottlerDAO = DataStoreInitializer.initializeOBThrottlerDAO();
+            Connection connection = DatabaseUtil.getDBConnection();
+            try {
+                List<ThrottleState> lockedStates = new ArrayList<>();
+                for (ThrottleDataModel throttleDataModel : obThrottlerDAO.getLockedThrottleData(connection,
+                        new Timestamp(currentTime))) {
+                    long unlockTime = throttleDataModel.getUnlockTimestamp().getTime();
+                    lockedStates.add(new ThrottleState(throttleDataModel.getThrottleGroup(),
+                            throttleDataModel.getThrottleParam(), throttleDataModel.getLastUpdateTimestamp().getTime(),
+                            unlockTime, unlockTime, throttleDataModel.getOccurrences()));
+                }
+                return lockedStates;
+            } catch (OBThrottlerDataRetrievalException e) {
+                throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_LOAD_ERROR_MSG, e);
+            } finally {
+                log.debug(OBThrottlerServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+                DatabaseUtil.closeConnection(connection);
+            }
+        }
+    }
+}
@@ -21,7 +21,6 @@ import com.wso2.openbanking.accelerator.common.exception.OBThrottlerException;
 import com.wso2.openbanking.accelerator.common.util.DatabaseUtil;
 import com.wso2.openbanking.accelerator.throttler.dao.OBThrottlerDAO;
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataDeletionException;
-import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataInsertionException;
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataRetrievalException;
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataUpdationException;
 import com.wso2.openbanking.accelerator.throttler.dao.model.ThrottleDataModel;
@@ -33,8 +32,8 @@ import org.apache.commons.logging.LogFactory;
 import java.sql.Connection;
 import java.sql.Timestamp;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service class for OB Throttler.
@@ -42,12 +41,17 @@ import java.util.Map;
  * Contains methods required to throttle the occurrence of a given parameter.
  * The parameters can be separated into groups by 'throttleGroup' attribute, which will
  * allow throttling same parameter values in different groups.
+ * <p>
+ * When the throttle engine is set, the occurrences are counted in memory by the engine instead of the database.
+ * Otherwise each occurrence is recorded by a single increment statement, and the expired records are removed from
+ * the database in bulk by the scheduled purge.
  */
 public class OBThrottleService {
 
     private static Log log = LogFactory.getLog(OBThrottleService.class);
-    protected Map<String, Map<String, Timestamp>> throttleDataMap = new HashMap<>();
+    protected Map<String, Map<String, Timestamp>> throttleDataMap = new ConcurrentHashMap<>();
     private static OBThrottleService instance = null;
+    private volatile OBThrottleEngine throttleEngine;
 
     // private constructor
     private OBThrottleService() {
@@ -64,6 +68,24 @@ public class OBThrottleService {
         return instance;
     }
 
+    /**
+     * @return the throttle engine, or null if the occurrences are counted in the database
+     */
+    public OBThrottleEngine getThrottleEngine() {
+
+        return throttleEngine;
+    }
+
+    /**
+     * Set the throttle engine to count the occurrences in memory.
+     *
+     * @param throttleEngine - throttle engine, null to count the occurrences in the database
+     */
+    public void setThrottleEngine(OBThrottleEngine throttleEngine) {
+
+        this.throttleEngine = throttleEngine;
+    }
+
     /**
      * Update throttle database and throttleDataMap.
      *
@@ -76,8 +98,13 @@ public class OBThrottleService {
     public void updateThrottleData(String throttleGroup, String throttleParam, int throttleLimit,
                                    int throttleTimePeriod) throws OBThrottlerException {
 
+        OBThrottleEngine engine = throttleEngine;
+        if (engine != null) {
+            engine.recordOccurrence(throttleGroup, throttleParam, throttleLimit, throttleTimePeriod);
+            return;
+        }
+
         ThrottleDataModel throttleDataModel;
-        ThrottleDataModel existingThrottleDataModel;
         OBThrottlerDAO obThrottlerDAO = DataStoreInitializer.initializeOBThrottlerDAO();
         Timestamp currentTimestamp = new Timestamp(new Date().getTime());
         Timestamp unlockTimestamp = new Timestamp(currentTimestamp.getTime() + (1000L * throttleTimePeriod));
@@ -85,41 +112,20 @@ public class OBThrottleService {
         Connection connection = DatabaseUtil.getDBConnection();
 
         try {
-            //remove expired data from database by checking throttle status
-            getThrottleStatus(connection, throttleGroup, throttleParam, obThrottlerDAO);
-            //check if throttle group and parameter exists. Add new record if not.
-
-            if (obThrottlerDAO.isThrottleDataExists(connection, throttleGroup, throttleParam)) {
-                existingThrottleDataModel = obThrottlerDAO.getThrottleData(connection, throttleGroup, throttleParam);
-                //increment Occurrences
-                int updatedOccurrences = existingThrottleDataModel.getOccurrences() + 1;
-                throttleDataModel = obThrottlerDAO.updateThrottleData(connection, throttleGroup, throttleParam,
-                        currentTimestamp, unlockTimestamp, updatedOccurrences);
-            } else {
-                throttleDataModel = obThrottlerDAO.storeThrottleData(connection, throttleGroup, throttleParam,
-                        currentTimestamp, unlockTimestamp);
-            }
+            //remove expired parameter from throttle data map by checking throttle status
+            getThrottleStatus(throttleGroup, throttleParam);
+            //increment occurrences, adding the record if not exists. The occurrences of an expired record restart.
+            throttleDataModel = obThrottlerDAO.incrementThrottleData(connection, throttleGroup, throttleParam,
+                    currentTimestamp, unlockTimestamp);
             DatabaseUtil.commitTransaction(connection);
             log.debug(OBThrottlerServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
             if (throttleDataModel.getOccurrences() > throttleLimit) {
                 updateThrottleDataMap(throttleGroup, throttleParam, throttleDataModel.getUnlockTimestamp());
             }
-        } catch (OBThrottlerDataInsertionException e) {
-            log.error(OBThrottlerServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
-            DatabaseUtil.rollbackTransaction(connection);
-            throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_INSERTION_ROLLBACK_ERROR_MSG, e);
         } catch (OBThrottlerDataUpdationException e) {
             log.error(OBThrottlerServiceConstants.DATA_UPDATE_ROLLBACK_ERROR_MSG, e);
             DatabaseUtil.rollbackTransaction(connection);
             throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_UPDATE_ROLLBACK_ERROR_MSG, e);
-        } catch (OBThrottlerDataRetrievalException e) {
-            log.error(OBThrottlerServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
-            DatabaseUtil.rollbackTransaction(connection);
-            throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_RETRIEVE_ERROR_MSG, e);
-        } catch (OBThrottlerDataDeletionException e) {
-            log.error(OBThrottlerServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
-            DatabaseUtil.rollbackTransaction(connection);
-            throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
         } finally {
             log.debug(OBThrottlerServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
             DatabaseUtil.closeConnection(connection);
@@ -132,26 +138,15 @@ public class OBThrottleService {
      * @param throttleGroup - throttle group
      * @param throttleParam - throttle parameter
      * @return - boolean
-     * @throws OBThrottlerException - OBThrottlerDataDeletionException
+     * @throws OBThrottlerException - OBThrottlerException
      */
     public boolean isThrottled(String throttleGroup, String throttleParam) throws OBThrottlerException {
 
-        Connection connection = DatabaseUtil.getDBConnection();
-        OBThrottlerDAO obThrottlerDAO = DataStoreInitializer.initializeOBThrottlerDAO();
-
-        try {
-            boolean throttleStatus = getThrottleStatus(connection, throttleGroup, throttleParam, obThrottlerDAO);
-            DatabaseUtil.commitTransaction(connection);
-            log.debug(OBThrottlerServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
-            return throttleStatus;
-        } catch (OBThrottlerDataDeletionException e) {
-            log.error(OBThrottlerServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
-            DatabaseUtil.rollbackTransaction(connection);
-            throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
-        } finally {
-            log.debug(OBThrottlerServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
-            DatabaseUtil.closeConnection(connection);
+        OBThrottleEngine engine = throttleEngine;
+        if (engine != null) {
+            return engine.isThrottled(throttleGroup, throttleParam);
         }
+        return getThrottleStatus(throttleGroup, throttleParam);
     }
 
     /**
@@ -163,6 +158,12 @@ public class OBThrottleService {
      */
     public void deleteRecordOnSuccessAttempt(String throttleGroup, String throttleParam) throws OBThrottlerException {
 
+        OBThrottleEngine engine = throttleEngine;
+        if (engine != null) {
+            engine.reset(throttleGroup, throttleParam);
+            return;
+        }
+
         Connection connection = DatabaseUtil.getDBConnection();
         OBThrottlerDAO obThrottlerDAO = DataStoreInitializer.initializeOBThrottlerDAO();
 
@@ -186,16 +187,41 @@ public class OBThrottleService {
     }
 
     /**
-     * Check if the given parameter is throttled. This method is overloaded.
+     * Remove the throttle data records which are already unlocked from the database.
+     *
+     * @return - number of removed records
+     * @throws OBThrottlerException - OBThrottlerException
+     */
+    public int purgeExpiredThrottleData() throws OBThrottlerException {
+
+        Connection connection = DatabaseUtil.getDBConnection();
+        OBThrottlerDAO obThrottlerDAO = DataStoreInitializer.initializeOBThrottlerDAO();
+
+        try {
+            int removedCount = obThrottlerDAO.deleteExpiredThrottleData(connection,
+                    new Timestamp(new Date().getTime()));
+            DatabaseUtil.commitTransaction(connection);
+            log.debug(OBThrottlerServiceConstants.TRANSACTION_COMMITTED_LOG_MSG);
+            return removedCount;
+        } catch (OBThrottlerDataDeletionException e) {
+            log.error(OBThrottlerServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
+            DatabaseUtil.rollbackTransaction(connection);
+            throw new OBThrottlerException(OBThrottlerServiceConstants.DATA_DELETE_ROLLBACK_ERROR_MSG, e);
+        } finally {
+            log.debug(OBThrottlerServiceConstants.DATABASE_CONNECTION_CLOSE_LOG_MSG);
+            DatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Check if the given parameter is throttled. The expired parameters are removed from the throttle data map,
+     * and their records are removed from the database by the scheduled purge.
      *
-     * @param connection connection object
      * @param throttleGroup - throttle group
      * @param throttleParam - throttle parameter
      * @return - boolean
-     * @throws OBThrottlerDataDeletionException - OBThrottlerDataDeletionException
      */
-    private boolean getThrottleStatus(Connection connection, String throttleGroup, String throttleParam,
-                               OBThrottlerDAO obThrottlerDAO) throws OBThrottlerDataDeletionException {
+    private boolean getThrottleStatus(String throttleGroup, String throttleParam) {
 
         Map<String, Timestamp> throttleParamMap;
         if (throttleDataMap.containsKey(throttleGroup)) {
@@ -209,9 +235,6 @@ public class OBThrottleService {
                 } else {
                     //remove throttle parameter from throttle data map if expired
                     throttleParamMap.remove(throttleParam);
-                    throttleDataMap.put(throttleGroup, throttleParamMap);
-                    //remove from database
-                    obThrottlerDAO.deleteThrottleData(connection, throttleGroup, throttleParam);
                     return false;
                 }
             } else {
@@ -231,15 +254,8 @@ public class OBThrottleService {
      */
     protected void updateThrottleDataMap(String throttleGroup, String throttleParam, Timestamp unlockTimestamp) {
 
-        Map<String, Timestamp> throttleParamMap;
-        //check if throttle group already exists
-        if (throttleDataMap.containsKey(throttleGroup)) {
-            throttleParamMap = throttleDataMap.get(throttleGroup);
-        } else {
-            throttleParamMap = new HashMap<>();
-        }
-        //put parameter and unlockTimestamp to the throttle data map
-        throttleParamMap.put(throttleParam, unlockTimestamp);
-        throttleDataMap.put(throttleGroup, throttleParamMap);
+        //put parameter and unlockTimestamp to the throttle data map, adding the throttle group if not exists
+        throttleDataMap.computeIfAbsent(throttleGroup, group -> new ConcurrentHashMap<>())
+                .put(throttleParam, unlockTimestamp);
     }
 }
@@ -32,4 +32,17 @@ public class OBThrottlerServiceConstants {
     public static final String DATA_RETRIEVE_ERROR_MSG = "Error occurred while retrieving data";
     public static final String DATA_DELETE_ROLLBACK_ERROR_MSG = "Error occurred while deleting data. Rolling " +
             "back the transaction";
+    public static final String DATA_WRITE_BEHIND_ERROR_MSG = "Error occurred while writing the throttle data. " +
+            "Retrying in the next flush";
+    public static final String DATA_LOAD_ERROR_MSG = "Error occurred while loading the locked throttle data";
+
+    public static final String THROTTLE_ENGINE_ENABLED = "Throttler.Engine.Enabled";
+    public static final String THROTTLE_ENGINE_SWEEP_INTERVAL = "Throttler.Engine.SweepInterval";
+    public static final String THROTTLE_ENGINE_DISTRIBUTED = "Throttler.Engine.Distributed";
+    public static final String THROTTLE_STATE_MAP = "OB_THROTTLE_STATE";
+    public static final String WRITE_BEHIND_ENABLED = "Throttler.WriteBehind.Enabled";
+    public static final String WRITE_BEHIND_FLUSH_INTERVAL = "Throttler.WriteBehind.FlushInterval";
+    public static final String WRITE_BEHIND_BATCH_SIZE = "Throttler.WriteBehind.BatchSize";
+    public static final String PURGE_ENABLED = "Throttler.Purge.Enabled";
+    public static final String PURGE_INTERVAL = "Throttler.Purge.Interval";
 }
@@ -17,7 +17,12 @@
  */
 package com.wso2.openbanking.accelerator.throttler.service.internal;
 
+import com.wso2.openbanking.accelerator.common.config.OpenBankingConfigParser;
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedCacheConstants;
+import com.wso2.openbanking.accelerator.common.exception.OBThrottlerException;
+import com.wso2.openbanking.accelerator.throttler.service.OBThrottleEngine;
 import com.wso2.openbanking.accelerator.throttler.service.OBThrottleService;
+import com.wso2.openbanking.accelerator.throttler.service.constants.OBThrottlerServiceConstants;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.ComponentContext;
@@ -30,6 +35,11 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.user.core.service.RealmService;
 
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * OBThrottler component.
  */
@@ -40,6 +50,9 @@ import org.wso2.carbon.user.core.service.RealmService;
 public class OBThrottlerServiceComponent {
 
     private static final Log log = LogFactory.getLog(OBThrottlerServiceComponent.class);
+    private static final long DEFAULT_PURGE_INTERVAL = 300;
+
+    private ScheduledExecutorService purgeScheduler;
 
     public static RealmService getRealmService() {
         return (RealmService) PrivilegedCarbonContext.getThreadLocalCarbonContext()
@@ -64,6 +77,23 @@ public class OBThrottlerServiceComponent {
 
         try {
             OBThrottleService obThrottleService = OBThrottleService.getInstance();
+            Map<String, Object> configuration = OpenBankingConfigParser.getInstance().getConfiguration();
+            boolean isDistributedModeConfigured = Boolean.parseBoolean((String) configuration
+                    .get(OBThrottlerServiceConstants.THROTTLE_ENGINE_DISTRIBUTED));
+            if (isDistributedModeConfigured && !OBThrottleEngine.isDistributedModeEnabled(configuration)) {
+                log.warn("Distributed cache is disabled, hence the throttle data is kept in the database");
+            } else if (isDistributedModeConfigured || Boolean.parseBoolean((String) configuration
+                    .get(OBThrottlerServiceConstants.THROTTLE_ENGINE_ENABLED))) {
+                obThrottleService.setThrottleEngine(OBThrottleEngine.fromConfiguration(configuration));
+                log.debug("OB throttle engine is enabled");
+                if (!isDistributedModeConfigured && Boolean.parseBoolean(String.valueOf(configuration
+                        .get(OpenBankingDistributedCacheConstants.ENABLED)))) {
+                    log.warn("OB throttle engine keeps the throttle states in the memory of each node of the " +
+                            "cluster, hence each node allows the throttle limit separately. Enable the distributed " +
+                            "mode of the throttle engine to apply the throttle limit across the cluster");
+                }
+            }
+            schedulePurge(obThrottleService, configuration);
             ctxt.getBundleContext().registerService(OBThrottleService.class.getName(),
                     obThrottleService, null);
             log.debug("OBThrottleService bundle is activated");
@@ -76,9 +106,51 @@ public class OBThrottlerServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
 
+        if (purgeScheduler != null) {
+            purgeScheduler.shutdownNow();
+            purgeScheduler = null;
+        }
+        OBThrottleEngine throttleEngine = OBThrottleService.getInstance().getThrottleEngine();
+        if (throttleEngine != null) {
+            throttleEngine.shutdown();
+            OBThrottleService.getInstance().setThrottleEngine(null);
+        }
         log.debug("OBThrottleService bundle is deactivated");
     }
 
+    /**
+     * Schedule the bulk removal of the expired throttle data records, unless it is disabled in the configuration.
+     *
+     * @param obThrottleService - throttle service
+     * @param configuration     - open banking configuration
+     */
+    private void schedulePurge(OBThrottleService obThrottleService, Map<String, Object> configuration) {
+
+        Object purgeEnabled = configuration.get(OBThrottlerServiceConstants.PURGE_ENABLED);
+        if (purgeEnabled != null && !Boolean.parseBoolean(purgeEnabled.toString())) {
+            return;
+        }
+        Object purgeIntervalConfig = configuration.get(OBThrottlerServiceConstants.PURGE_INTERVAL);
+        long purgeInterval = purgeIntervalConfig == null ? DEFAULT_PURGE_INTERVAL :
+                Math.max(1, Long.parseLong(purgeIntervalConfig.toString()));
+        purgeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ob-throttle-data-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purgeScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                int removedCount = obThrottleService.purgeExpiredThrottleData();
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Purged %d expired throttle data records", removedCount));
+                }
+            } catch (OBThrottlerException | RuntimeException e) {
+                log.error("Error occurred while purging the expired throttle data", e);
+            }
+        }, purgeInterval, purgeInterval, TimeUnit.SECONDS);
+        log.debug("Scheduled the purge of the expired throttle data");
+    }
+
     protected void unsetRealmService(RealmService realmService) {
 
         log.debug("UnSetting the Realm Service");
@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.wso2.openbanking.accelerator.throttler.service;
+
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedCacheConstants;
+import com.wso2.openbanking.accelerator.common.distributed.caching.OpenBankingDistributedEntryFunction;
+import com.wso2.openbanking.accelerator.common.exception.OBThrottlerException;
+import com.wso2.openbanking.accelerator.throttler.service.constants.OBThrottlerServiceConstants;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test for Open banking throttle engine.
+ */
+public class OBThrottleEngineTests {
+
+    private static final String THROTTLE_GROUP = "OBIdentifierAuthenticator";
+    private static final String THROTTLE_PARAM = "admin@wso2.com";
+    private static final int THROTTLE_LIMIT = 3;
+    private static final int THROTTLE_TIME_PERIOD = 300;
+
+    private AtomicLong clock;
+    private List<OBThrottleEngine.ThrottleState> writtenStates;
+    private AtomicBoolean writerFailing;
+    private OBThrottleEngine throttleEngine;
+
+    @BeforeMethod
+    public void init() {
+
+        clock = new AtomicLong(1000000);
+        writtenStates = new ArrayList<>();
+        writerFailing = new AtomicBoolean();
+        throttleEngine = new OBThrottleEngine(throttleStates -> {
+            if (writerFailing.get()) {
+                throw new OBThrottlerException("Database is not reachable");
+            }
+            writtenStates.addAll(throttleStates);
+        }, 2, 0, 0, clock::get);
+    }
+
+    @Test(description = "when the occurrences exceed the limit, then throttle the parameter for the time period")
+    public void testParamIsThrottledAfterLimit() {
+
+        for (int i = 0; i < THROTTLE_LIMIT; i++) {
+            throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+            Assert.assertFalse(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+        }
+        OBThrottleEngine.ThrottleState throttleState = throttleEngine.recordOccurrence(THROTTLE_GROUP,
+                THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+
+        Assert.assertTrue(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+        Assert.assertFalse(throttleEngine.isThrottled("OtherGroup", THROTTLE_PARAM));
+        Assert.assertEquals(throttleState.getOccurrences(), THROTTLE_LIMIT + 1);
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(THROTTLE_TIME_PERIOD));
+        Assert.assertFalse(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+    }
+
+    @Test(description = "when the occurrences are spread over the sliding window, then do not throttle the parameter")
+    public void testSpreadOccurrencesAreNotThrottled() {
+
+        long emissionInterval = TimeUnit.SECONDS.toMillis(THROTTLE_TIME_PERIOD) / THROTTLE_LIMIT;
+        for (int i = 0; i < THROTTLE_LIMIT * 3; i++) {
+            throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+            clock.addAndGet(emissionInterval);
+        }
+        Assert.assertFalse(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+    }
+
+    @Test(description = "when the limit does not divide the time period, then throttle after the limit")
+    public void testLimitIsExactForUnevenEmissionInterval() {
+
+        for (int i = 0; i < 7; i++) {
+            throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, 7, 10);
+        }
+        Assert.assertFalse(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+        throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, 7, 10);
+        Assert.assertTrue(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+    }
+
+    @Test(description = "when the attempt is successful, then reset the parameter")
+    public void testResetRemovesThrottleState() {
+
+        for (int i = 0; i <= THROTTLE_LIMIT; i++) {
+            throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        }
+        throttleEngine.reset(THROTTLE_GROUP, THROTTLE_PARAM);
+
+        Assert.assertFalse(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+        Assert.assertEquals(throttleEngine.getSize(), 0);
+    }
+
+    @Test(description = "when the throttle state is expired, then sweep it")
+    public void testExpiredStateIsSwept() {
+
+        throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        Assert.assertEquals(throttleEngine.sweep(), 0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(THROTTLE_TIME_PERIOD) / THROTTLE_LIMIT);
+        Assert.assertEquals(throttleEngine.sweep(), 1);
+        Assert.assertEquals(throttleEngine.getSize(), 0);
+    }
+
+    @Test(description = "when the occurrences are recorded concurrently, then count each of them")
+    public void testConcurrentOccurrencesAreCounted() throws Exception {
+
+        int threadCount = 8;
+        int occurrencesPerThread = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < occurrencesPerThread; j++) {
+                    throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, 100000,
+                            THROTTLE_TIME_PERIOD);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        OBThrottleEngine.ThrottleState throttleState = throttleEngine.recordOccurrence(THROTTLE_GROUP,
+                THROTTLE_PARAM, 100000, THROTTLE_TIME_PERIOD);
+        Assert.assertEquals(throttleState.getOccurrences(), threadCount * occurrencesPerThread + 1);
+    }
+
+    @Test(description = "when the states are flushed, then write the latest state of each parameter in batches")
+    public void testWriteBehindCoalescesChanges() {
+
+        for (int i = 0; i < THROTTLE_LIMIT; i++) {
+            throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        }
+        throttleEngine.recordOccurrence(THROTTLE_GROUP, "user1", THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        throttleEngine.recordOccurrence(THROTTLE_GROUP, "user2", THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        throttleEngine.reset(THROTTLE_GROUP, "user2");
+
+        Assert.assertEquals(throttleEngine.getPendingWriteCount(), 3);
+        Assert.assertEquals(throttleEngine.flush(), 3);
+        Assert.assertEquals(writtenStates.size(), 3);
+        for (OBThrottleEngine.ThrottleState throttleState : writtenStates) {
+            if (THROTTLE_PARAM.equals(throttleState.getThrottleParam())) {
+                Assert.assertEquals(throttleState.getOccurrences(), THROTTLE_LIMIT);
+            }
+            Assert.assertEquals(throttleState.isDeleted(), "user2".equals(throttleState.getThrottleParam()));
+        }
+        Assert.assertEquals(throttleEngine.getPendingWriteCount(), 0);
+    }
+
+    @Test(description = "when the write fails, then retry the states in the next flush")
+    public void testFailedWriteIsRetried() {
+
+        throttleEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        writerFailing.set(true);
+        Assert.assertEquals(throttleEngine.flush(), 0);
+        Assert.assertEquals(throttleEngine.getPendingWriteCount(), 1);
+
+        writerFailing.set(false);
+        Assert.assertEquals(throttleEngine.flush(), 1);
+        Assert.assertEquals(writtenStates.get(0).getThrottleParam(), THROTTLE_PARAM);
+    }
+
+    @Test(description = "when the engine is started, then load the persisted locks without replacing the states")
+    public void testLockedStatesAreLoaded() {
+
+        long unlockTime = clock.get() + TimeUnit.SECONDS.toMillis(THROTTLE_TIME_PERIOD);
+        throttleEngine.recordOccurrence(THROTTLE_GROUP, "user1", THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        List<OBThrottleEngine.ThrottleState> lockedStates = new ArrayList<>();
+        lockedStates.add(new OBThrottleEngine.ThrottleState(THROTTLE_GROUP, THROTTLE_PARAM, clock.get(),
+                unlockTime, unlockTime, THROTTLE_LIMIT + 1));
+        lockedStates.add(new OBThrottleEngine.ThrottleState(THROTTLE_GROUP, "user1", clock.get(), unlockTime,
+                unlockTime, THROTTLE_LIMIT + 1));
+
+        Assert.assertEquals(throttleEngine.load(currentTime -> lockedStates), 2);
+        Assert.assertTrue(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+        Assert.assertFalse(throttleEngine.isThrottled(THROTTLE_GROUP, "user1"));
+        Assert.assertEquals(throttleEngine.getPendingWriteCount(), 1);
+
+        clock.set(unlockTime);
+        Assert.assertFalse(throttleEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+        Assert.assertEquals(throttleEngine.load(currentTime -> {
+            throw new OBThrottlerException("Database is not reachable");
+        }), 0);
+    }
+
+    @Test(description = "when the occurrences are applied on the owner of the state, then throttle after the limit")
+    public void testOccurrencesAreAppliedAsSerializedFunctions() {
+
+        Map<String, OBThrottleEngine.ThrottleState> distributedMap = new HashMap<>();
+        Map<String, Long> timeToLives = new HashMap<>();
+        OBThrottleEngine distributedEngine = new OBThrottleEngine(new OBThrottleEngine.ThrottleStateStore() {
+
+            @Override
+            public OBThrottleEngine.ThrottleState update(OBThrottleEngine.ThrottleKey throttleKey,
+                    OpenBankingDistributedEntryFunction<OBThrottleEngine.ThrottleState> function) {
+
+                OpenBankingDistributedEntryFunction<OBThrottleEngine.ThrottleState> remoteFunction =
+                        copy(function);
+                OBThrottleEngine.ThrottleState newState = remoteFunction.apply(
+                        distributedMap.get(throttleKey.getThrottleParam()), clock.get());
+                distributedMap.put(throttleKey.getThrottleParam(), newState);
+                timeToLives.put(throttleKey.getThrottleParam(), remoteFunction.getTimeToLive(newState, clock.get()));
+                return copy(newState);
+            }
+
+            @Override
+            public OBThrottleEngine.ThrottleState get(OBThrottleEngine.ThrottleKey throttleKey) {
+
+                return distributedMap.get(throttleKey.getThrottleParam());
+            }
+
+            @Override
+            public OBThrottleEngine.ThrottleState remove(OBThrottleEngine.ThrottleKey throttleKey) {
+
+                return distributedMap.remove(throttleKey.getThrottleParam());
+            }
+
+            @Override
+            public List<OBThrottleEngine.ThrottleState> removeExpired(long currentTime) {
+
+                return new ArrayList<>();
+            }
+
+            @Override
+            public int size() {
+
+                return distributedMap.size();
+            }
+        }, null, 1, 0, 0, clock::get);
+
+        for (int i = 0; i <= THROTTLE_LIMIT; i++) {
+            distributedEngine.recordOccurrence(THROTTLE_GROUP, THROTTLE_PARAM, THROTTLE_LIMIT, THROTTLE_TIME_PERIOD);
+        }
+
+        Assert.assertTrue(distributedEngine.isThrottled(THROTTLE_GROUP, THROTTLE_PARAM));
+        Assert.assertEquals(distributedMap.get(THROTTLE_PARAM).getOccurrences(), THROTTLE_LIMIT + 1);
+        Assert.assertEquals((long) timeToLives.get(THROTTLE_PARAM),
+                distributedMap.get(THROTTLE_PARAM).getExpiryTime() - clock.get());
+    }
+
+    @Test(description = "when the distributed cache is disabled, then the distributed mode is off")
+    public void testDistributedModeRequiresDistributedCache() {
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(OBThrottlerServiceConstants.THROTTLE_ENGINE_DISTRIBUTED, "true");
+        Assert.assertFalse(OBThrottleEngine.isDistributedModeEnabled(configuration));
+
+        configuration.put(OpenBankingDistributedCacheConstants.ENABLED, "true");
+        Assert.assertTrue(OBThrottleEngine.isDistributedModeEnabled(configuration));
+
+        configuration.put(OBThrottlerServiceConstants.THROTTLE_ENGINE_DISTRIBUTED, "false");
+        Assert.assertFalse(OBThrottleEngine.isDistributedModeEnabled(configuration));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T object) {
+
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+                objectOutputStream.writeObject(object);
+            }
+            try (ObjectInputStream objectInputStream = new ObjectInputStream(
+                    new ByteArrayInputStream(outputStream.toByteArray()))) {
+                return (T) objectInputStream.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to serialize " + object, e);
+        }
+    }
+}
@@ -21,10 +21,8 @@ import com.wso2.openbanking.accelerator.common.exception.OBThrottlerException;
 import com.wso2.openbanking.accelerator.common.util.DatabaseUtil;
 import com.wso2.openbanking.accelerator.throttler.dao.OBThrottlerDAO;
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataDeletionException;
-import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataInsertionException;
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataRetrievalException;
 import com.wso2.openbanking.accelerator.throttler.dao.exception.OBThrottlerDataUpdationException;
-import com.wso2.openbanking.accelerator.throttler.dao.model.ThrottleDataModel;
 import com.wso2.openbanking.accelerator.throttler.dao.persistence.DataStoreInitializer;
 import com.wso2.openbanking.accelerator.throttler.service.util.OBThrottleServiceTestData;
 import org.mockito.Mockito;
@@ -52,7 +50,6 @@ public class OBThrottleServiceTests {
     private OBThrottleService obThrottleService;
     private OBThrottlerDAO mockedOBThrottlerDAO;
     private Connection mockedConnection;
-    private ThrottleDataModel throttleDataModel;
 
     @BeforeClass
     public void initTest() {
@@ -60,7 +57,6 @@ public class OBThrottleServiceTests {
         obThrottleService = OBThrottleService.getInstance();
         mockedOBThrottlerDAO = Mockito.mock(OBThrottlerDAO.class);
         mockedConnection  = Mockito.mock(Connection.class);
-        throttleDataModel = Mockito.mock(ThrottleDataModel.class);
     }
 
     @BeforeMethod
@@ -164,95 +160,62 @@ public class OBThrottleServiceTests {
     @Test
     public void testUpdateThrottleData() throws Exception {
 
-        Mockito.doReturn(true).when(mockedOBThrottlerDAO).isThrottleDataExists(Mockito.anyObject(),
-                Mockito.anyString(), Mockito.anyString());
+        Mockito.reset(mockedOBThrottlerDAO);
         Mockito.doReturn(OBThrottleServiceTestData.getSampleTestThrottleData()).when(mockedOBThrottlerDAO)
-                .getThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData()).when(mockedOBThrottlerDAO)
-                .updateThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString(), Mockito.anyObject(),
-                        Mockito.anyObject(), Mockito.anyInt());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData().getOccurrences())
-                .when(throttleDataModel).getOccurrences();
+                .incrementThrottleData(Mockito.anyObject(), Mockito.anyString(), Mockito.anyString(),
+                        Mockito.anyObject(), Mockito.anyObject());
 
-        obThrottleService.updateThrottleData(OBThrottleServiceTestData.THROTTLE_GROUP,
-                OBThrottleServiceTestData.THROTTLE_SECOND_PARAM, 3, 180);
+        obThrottleService.updateThrottleData(OBThrottleServiceTestData.THROTTLE_GROUP_BASIC_AUTH,
+                OBThrottleServiceTestData.THROTTLE_PARAM, 3, 180);
 
+        Mockito.verify(mockedOBThrottlerDAO, Mockito.never()).getThrottleData(Mockito.anyObject(),
+                Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(mockedOBThrottlerDAO, Mockito.never()).isThrottleDataExists(Mockito.anyObject(),
+                Mockito.anyString(), Mockito.anyString());
     }
 
     @Test
-    public void testStoreThrottleData() throws Exception {
+    public void testUpdateThrottleDataExceedingLimit() throws Exception {
 
-        Mockito.doReturn(false).when(mockedOBThrottlerDAO).isThrottleDataExists(Mockito.anyObject(),
-                Mockito.anyString(), Mockito.anyString());
         Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData()).when(mockedOBThrottlerDAO)
-                .storeThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString(), Mockito.anyObject(),
-                        Mockito.anyObject());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData().getOccurrences())
-                .when(throttleDataModel).getOccurrences();
+                .incrementThrottleData(Mockito.anyObject(), Mockito.anyString(), Mockito.anyString(),
+                        Mockito.anyObject(), Mockito.anyObject());
 
         obThrottleService.updateThrottleData(OBThrottleServiceTestData.THROTTLE_GROUP,
                 OBThrottleServiceTestData.THROTTLE_SECOND_PARAM, 3, 180);
 
+        Assert.assertTrue(obThrottleService.isThrottled(OBThrottleServiceTestData.THROTTLE_GROUP,
+                OBThrottleServiceTestData.THROTTLE_SECOND_PARAM));
     }
 
     @Test(expectedExceptions = OBThrottlerException.class)
-    public void testStoreThrottleDataError() throws Exception {
+    public void testUpdateThrottleDataError() throws Exception {
 
-        Mockito.doReturn(false).when(mockedOBThrottlerDAO).isThrottleDataExists(Mockito.anyObject(),
-                Mockito.anyString(), Mockito.anyString());
-        Mockito.doThrow(OBThrottlerDataInsertionException.class).when(mockedOBThrottlerDAO)
-                .storeThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString(), Mockito.anyObject(),
-                        Mockito.anyObject());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData().getOccurrences())
-                .when(throttleDataModel).getOccurrences();
+        Mockito.doThrow(OBThrottlerDataUpdationException.class).when(mockedOBThrottlerDAO)
+                .incrementThrottleData(Mockito.anyObject(), Mockito.anyString(), Mockito.anyString(),
+                        Mockito.anyObject(), Mockito.anyObject());
 
         obThrottleService.updateThrottleData(OBThrottleServiceTestData.THROTTLE_GROUP,
                 OBThrottleServiceTestData.THROTTLE_SECOND_PARAM, 3, 180);
 
     }
 
-    @Test(expectedExceptions = OBThrottlerException.class)
-    public void testUpdateThrottleDataError() throws Exception {
-
-        Mockito.doReturn(true).when(mockedOBThrottlerDAO).isThrottleDataExists(Mockito.anyObject(),
-                Mockito.anyString(), Mockito.anyString());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleTestThrottleData()).when(mockedOBThrottlerDAO)
-                .getThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString());
-        Mockito.doThrow(OBThrottlerDataUpdationException.class).when(mockedOBThrottlerDAO)
-                .updateThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString(), Mockito.anyObject(),
-                        Mockito.anyObject(), Mockito.anyInt());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData().getOccurrences())
-                .when(throttleDataModel).getOccurrences();
+    @Test
+    public void testPurgeExpiredThrottleData() throws Exception {
 
-        obThrottleService.updateThrottleData(OBThrottleServiceTestData.THROTTLE_GROUP,
-                OBThrottleServiceTestData.THROTTLE_SECOND_PARAM, 3, 180);
+        Mockito.doReturn(2).when(mockedOBThrottlerDAO).deleteExpiredThrottleData(Mockito.anyObject(),
+                Mockito.anyObject());
 
+        Assert.assertEquals(obThrottleService.purgeExpiredThrottleData(), 2);
     }
 
     @Test(expectedExceptions = OBThrottlerException.class)
-    public void testRetrievalThrottleDataError() throws Exception {
-
-        Mockito.doReturn(true).when(mockedOBThrottlerDAO).isThrottleDataExists(Mockito.anyObject(),
-                Mockito.anyString(), Mockito.anyString());
-        Mockito.doThrow(OBThrottlerDataRetrievalException.class).when(mockedOBThrottlerDAO)
-                .getThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData()).when(mockedOBThrottlerDAO)
-                .updateThrottleData(Mockito.anyObject(),
-                        Mockito.anyString(), Mockito.anyString(), Mockito.anyObject(),
-                        Mockito.anyObject(), Mockito.anyInt());
-        Mockito.doReturn(OBThrottleServiceTestData.getSampleUpdateTestThrottleData().getOccurrences())
-                .when(throttleDataModel).getOccurrences();
+    public void testPurgeExpiredThrottleDataError() throws Exception {
 
-        obThrottleService.updateThrottleData(OBThrottleServiceTestData.THROTTLE_GROUP,
-                OBThrottleServiceTestData.THROTTLE_SECOND_PARAM, 3, 180);
+        Mockito.doThrow(OBThrottlerDataDeletionException.class).when(mockedOBThrottlerDAO)
+                .deleteExpiredThrottleData(Mockito.anyObject(), Mockito.anyObject());
 
+        obThrottleService.purgeExpiredThrottleData();
     }
 
     @Test
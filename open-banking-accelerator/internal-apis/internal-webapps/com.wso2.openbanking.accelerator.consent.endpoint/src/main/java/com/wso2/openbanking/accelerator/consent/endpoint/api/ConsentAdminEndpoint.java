@@ -39,6 +39,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 /**
@@ -94,6 +95,23 @@ public class ConsentAdminEndpoint {
         return sendResponse(consentAdminData);
     }
 
+    /**
+     * Export consent search results. Consents are written to the response as they are read, as a JSON object per line.
+     */
+    @GET
+    @Path("/search/export")
+    @Consumes({"application/x-www-form-urlencoded"})
+    @Produces({"application/x-ndjson; charset=utf-8"})
+    public Response searchExport(@Context HttpServletRequest request, @Context HttpServletResponse response,
+                                 @Context UriInfo uriInfo) {
+
+        ConsentAdminData consentAdminData = new ConsentAdminData(ConsentExtensionUtils.getHeaders(request),
+                uriInfo.getQueryParameters(), uriInfo.getAbsolutePath().getPath(), request, response);
+        StreamingOutput searchResults = outputStream ->
+                consentAdminHandler.handleSearchExport(consentAdminData, outputStream);
+        return Response.ok(searchResults).build();
+    }
+
 
     /**
      * Search consent status audit records.
@@ -32,6 +32,7 @@ import com.wso2.openbanking.accelerator.consent.extensions.validate.model.Consen
 import com.wso2.openbanking.accelerator.consent.extensions.validate.model.ConsentValidator;
 import com.wso2.openbanking.accelerator.consent.mgt.dao.models.DetailedConsentResource;
 import com.wso2.openbanking.accelerator.consent.mgt.service.impl.ConsentCoreServiceImpl;
+import com.wso2.openbanking.accelerator.identity.util.IdentityCommonConstants;
 import com.wso2.openbanking.accelerator.identity.util.IdentityCommonUtil;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import net.minidev.json.JSONObject;
@@ -42,6 +43,7 @@ import org.apache.commons.logging.LogFactory;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -71,6 +73,7 @@ public class ConsentValidationEndpoint {
 
     private static final Log log = LogFactory.getLog(ConsentValidationEndpoint.class);
     private static final ConsentCoreServiceImpl consentCoreService = new ConsentCoreServiceImpl();
+    private static final String JSON_CONTENT_TYPE = "application/json";
 
     private static ConsentValidator consentValidator = null;
     private static String requestSignatureAlias;
@@ -102,38 +105,43 @@ public class ConsentValidationEndpoint {
      */
     @POST
     @Path("/")
-    @Consumes({"application/jwt; charset=utf-8"})
+    @Consumes({"application/jwt; charset=utf-8", "application/json; charset=utf-8"})
     @Produces({"application/json; charset=utf-8"})
     public Response validate(@Context HttpServletRequest request, @Context HttpServletResponse response) {
 
         String payload = ConsentUtils.getStringPayload(request);
         JSONObject requestData;
-        Object requestDataObj;
 
         if (IdentityCommonUtil.getConsentJWTPayloadValidatorConfigEnabled()) {
-            try {
-                IdentityCommonUtil.validateJWTSignatureWithPublicKey(payload, requestSignatureAlias);
-                requestData = JWTUtils.decodeRequestJWT(payload, "body");
-            } catch (OpenBankingException e) {
-                log.error("Error while validating JWT signature", e);
-                throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, "Error while validating JWT " +
-                        "signature");
-            } catch (ParseException e) {
-                log.error("Error while decoding validation JWT", e);
-                throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, "Error while decoding validation JWT");
-            }
-        } else {
-            try {
-                requestDataObj = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(payload);
-            } catch (net.minidev.json.parser.ParseException e) {
-                log.error("Unable to parse the request payload", e);
-                throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, "Unable to parse the request payload");
-            }
-            if (!(requestDataObj instanceof JSONObject)) {
-                throw new ConsentException(ResponseStatus.BAD_REQUEST, "Payload is not a JSON object");
+            if (isJSONRequest(request)) {
+                // unsigned requests are accepted only from the gateways authenticated with the trusted certificate
+                validateGatewayCertificate(request);
+                requestData = parseRequestPayload(payload);
             } else {
-                requestData = (JSONObject) requestDataObj;
+                try {
+                    if (IdentityCommonUtil.isHMACSignedJWT(payload)) {
+                        // requests of the gateways configured with the HMAC channel are signed with the shared secret
+                        String secret = IdentityCommonUtil.getConsentValidationHMACSecret();
+                        if (secret == null || !IdentityCommonUtil.validateJWTSignatureWithSecret(payload, secret)) {
+                            throw new ConsentException(ResponseStatus.UNAUTHORIZED,
+                                    "Invalid validation JWT signature");
+                        }
+                    } else {
+                        IdentityCommonUtil.validateJWTSignatureWithPublicKey(payload, requestSignatureAlias);
+                    }
+                    requestData = JWTUtils.decodeRequestJWT(payload, "body");
+                } catch (OpenBankingException e) {
+                    log.error("Error while validating JWT signature", e);
+                    throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, "Error while validating JWT " +
+                            "signature");
+                } catch (ParseException e) {
+                    log.error("Error while decoding validation JWT", e);
+                    throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR,
+                            "Error while decoding validation JWT");
+                }
             }
+        } else {
+            requestData = parseRequestPayload(payload);
         }
 
         JSONObject requestHeaders = (JSONObject) requestData.get("headers");
@@ -197,4 +205,45 @@ public class ConsentValidationEndpoint {
         }
         return Response.status(HttpServletResponse.SC_OK).entity(responsePayload).build();
     }
+
+    private static boolean isJSONRequest(HttpServletRequest request) {
+
+        return request.getContentType() != null && request.getContentType().toLowerCase(Locale.ROOT)
+                .startsWith(JSON_CONTENT_TYPE);
+    }
+
+    /**
+     * Validate whether the client certificate of the request is the trusted gateway certificate.
+     *
+     * @param request validation request
+     */
+    private static void validateGatewayCertificate(HttpServletRequest request) {
+
+        try {
+            if (!IdentityCommonUtil.isTrustedGatewayCertificate(
+                    request.getAttribute(IdentityCommonConstants.JAVAX_SERVLET_REQUEST_CERTIFICATE))) {
+                throw new ConsentException(ResponseStatus.UNAUTHORIZED, "Client certificate is not trusted to " +
+                        "send unsigned validation requests");
+            }
+        } catch (OpenBankingException e) {
+            log.error("Error while validating the client certificate", e);
+            throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, "Error while validating the client " +
+                    "certificate");
+        }
+    }
+
+    private static JSONObject parseRequestPayload(String payload) {
+
+        Object requestDataObj;
+        try {
+            requestDataObj = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(payload);
+        } catch (net.minidev.json.parser.ParseException e) {
+            log.error("Unable to parse the request payload", e);
+            throw new ConsentException(ResponseStatus.INTERNAL_SERVER_ERROR, "Unable to parse the request payload");
+        }
+        if (!(requestDataObj instanceof JSONObject)) {
+            throw new ConsentException(ResponseStatus.BAD_REQUEST, "Payload is not a JSON object");
+        }
+        return (JSONObject) requestDataObj;
+    }
 }
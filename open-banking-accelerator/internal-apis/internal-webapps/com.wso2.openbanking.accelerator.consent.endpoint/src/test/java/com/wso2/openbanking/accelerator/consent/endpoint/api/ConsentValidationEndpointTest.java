@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2023, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.wso2.openbanking.accelerator.consent.endpoint.api;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.wso2.openbanking.accelerator.consent.extensions.common.ConsentException;
+import com.wso2.openbanking.accelerator.consent.extensions.common.ResponseStatus;
+import com.wso2.openbanking.accelerator.identity.internal.IdentityExtensionsDataHolder;
+import com.wso2.openbanking.accelerator.identity.util.IdentityCommonConstants;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Test for the channel authentication of the consent validation endpoint. The authenticated requests are expected to
+ * fail only at the consent id check, since the test payloads do not have a consent id.
+ */
+public class ConsentValidationEndpointTest {
+
+    private static final String TRUSTED_GATEWAY_CERT_ALIAS = "gateway";
+    private static final String HMAC_SECRET = "consent-validation-shared-secret-for-tests";
+    private static final String PAYLOAD = "{\"headers\":{},\"electedResource\":\"/accounts\"}";
+
+    private X509Certificate trustedGatewayCertificate;
+    private Map<String, Object> configurations;
+    private ConsentValidationEndpoint consentValidationEndpoint;
+
+    @BeforeClass
+    public void initClass() throws Exception {
+
+        trustedGatewayCertificate = Mockito.mock(X509Certificate.class);
+        KeyStore trustStore = KeyStore.getInstance("JKS");
+        trustStore.load(null, null);
+        trustStore.setCertificateEntry(TRUSTED_GATEWAY_CERT_ALIAS, trustedGatewayCertificate);
+        IdentityExtensionsDataHolder.getInstance().setTrustStore(trustStore);
+        consentValidationEndpoint = new ConsentValidationEndpoint();
+    }
+
+    @BeforeMethod
+    public void initMethod() {
+
+        configurations = new HashMap<>();
+        configurations.put(IdentityCommonConstants.CONSENT_JWT_PAYLOAD_VALIDATION, "true");
+        configurations.put(IdentityCommonConstants.CONSENT_VALIDATION_TRUSTED_GATEWAY_CERT_ALIAS,
+                TRUSTED_GATEWAY_CERT_ALIAS);
+        configurations.put(IdentityCommonConstants.CONSENT_VALIDATION_HMAC_SECRET, HMAC_SECRET);
+        IdentityExtensionsDataHolder.getInstance().setConfigurationMap(configurations);
+    }
+
+    @Test(description = "when the unsigned request has the trusted gateway certificate, then accept the request")
+    public void testTrustedGatewayCertificateIsAccepted() throws Exception {
+
+        HttpServletRequest request = getRequest("application/json", PAYLOAD, trustedGatewayCertificate);
+
+        Assert.assertEquals(getResponseStatus(request), ResponseStatus.BAD_REQUEST);
+    }
+
+    @Test(description = "when the unsigned request has an untrusted certificate, then reject the request")
+    public void testUntrustedGatewayCertificateIsRejected() throws Exception {
+
+        HttpServletRequest request = getRequest("application/json", PAYLOAD, Mockito.mock(X509Certificate.class));
+
+        Assert.assertEquals(getResponseStatus(request), ResponseStatus.UNAUTHORIZED);
+    }
+
+    @Test(description = "when the unsigned request does not have a certificate, then reject the request")
+    public void testMissingGatewayCertificateIsRejected() throws Exception {
+
+        HttpServletRequest request = getRequest("application/json", PAYLOAD, null);
+
+        Assert.assertEquals(getResponseStatus(request), ResponseStatus.UNAUTHORIZED);
+    }
+
+    @Test(description = "when the request is signed with the shared secret, then accept the request")
+    public void testValidHMACSignatureIsAccepted() throws Exception {
+
+        HttpServletRequest request = getRequest("application/jwt", signWithSecret(PAYLOAD, HMAC_SECRET), null);
+
+        Assert.assertEquals(getResponseStatus(request), ResponseStatus.BAD_REQUEST);
+    }
+
+    @Test(description = "when the request is signed with another secret, then reject the request")
+    public void testInvalidHMACSignatureIsRejected() throws Exception {
+
+        HttpServletRequest request = getRequest("application/jwt",
+                signWithSecret(PAYLOAD, "another-consent-validation-hmac-secret"), null);
+
+        Assert.assertEquals(getResponseStatus(request), ResponseStatus.UNAUTHORIZED);
+    }
+
+    @Test(description = "when the configured secret is too short for HS256, then reject the request")
+    public void testShortHMACSecretIsRejected() throws Exception {
+
+        configurations.put(IdentityCommonConstants.CONSENT_VALIDATION_HMAC_SECRET, "short-secret");
+        HttpServletRequest request = getRequest("application/jwt", signWithSecret(PAYLOAD, HMAC_SECRET), null);
+
+        Assert.assertEquals(getResponseStatus(request), ResponseStatus.UNAUTHORIZED);
+    }
+
+    private ResponseStatus getResponseStatus(HttpServletRequest request) {
+
+        try {
+            consentValidationEndpoint.validate(request, Mockito.mock(HttpServletResponse.class));
+        } catch (ConsentException e) {
+            return e.getStatus();
+        }
+        Assert.fail("Validation request without a consent id is accepted");
+        return null;
+    }
+
+    private HttpServletRequest getRequest(String contentType, String body, X509Certificate certificate)
+            throws Exception {
+
+        ServletInputStream inputStream = Mockito.mock(ServletInputStream.class, AdditionalAnswers.delegatesTo(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))));
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getContentType()).thenReturn(contentType);
+        Mockito.when(request.getInputStream()).thenReturn(inputStream);
+        Mockito.when(request.getAttribute(IdentityCommonConstants.JAVAX_SERVLET_REQUEST_CERTIFICATE))
+                .thenReturn(certificate != null ? new X509Certificate[]{certificate} : null);
+        return request;
+    }
+
+    private static String signWithSecret(String payload, String secret) throws Exception {
+
+        JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS256), new Payload(payload));
+        jwsObject.sign(new MACSigner(secret.getBytes(StandardCharsets.UTF_8)));
+        return jwsObject.serialize();
+    }
+}